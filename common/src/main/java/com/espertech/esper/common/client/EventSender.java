@@ -10,6 +10,8 @@
  */
 package com.espertech.esper.common.client;
 
+import java.util.Collection;
+
 /**
  * Returns a facility to process event objects that are of a known type.
  * <p>
@@ -28,6 +30,22 @@ public interface EventSender {
      */
     void sendEvent(Object theEvent) throws EPException;
 
+    /**
+     * Processes a batch of event objects, in the order provided by the collection.
+     * <p>
+     * Equivalent to calling {@link #sendEvent(Object)} for each event object, however the runtime may amortize
+     * the per-event cost of obtaining thread-local state, the event processing lock and dispatching to listeners.
+     * All event objects are checked and wrapped before any of them is processed.
+     *
+     * @param events to process
+     * @throws EPException if a runtime error occured.
+     */
+    default void sendEvents(Collection<?> events) throws EPException {
+        for (Object theEvent : events) {
+            sendEvent(theEvent);
+        }
+    }
+
     /**
      * Route the event object back to the event stream processing runtime for internal dispatching,
      * to avoid the possibility of a stack overflow due to nested calls to sendEvent.
@@ -121,7 +121,20 @@ public enum HintEnum {
     /**
      * For use with named window to silent-delete.
      */
-    SILENT_DELETE("SILENT_DELETE", false, false, false);
+    SILENT_DELETE("SILENT_DELETE", false, false, false),
+
+    /**
+     * For use with time windows, and with length windows that receive a remove stream, to keep window contents
+     * in compact chunked arrays with primitive timestamps rather than one object per event, for large windows.
+     * Removing events for a remove stream received by the window takes a scan of the window.
+     */
+    COMPACT_WINDOW("COMPACT_WINDOW", false, false, false),
+
+    /**
+     * For use with create-window for object-array event types, to keep rows column-wise with primitive columns
+     * for integer, long and double properties.
+     */
+    COLUMNAR_STORE("COLUMNAR_STORE", false, false, false);
 
     private final String value;
     private final boolean acceptsParameters;
@@ -30,4 +30,12 @@ public @interface JsonSchema {
      * @return class name
      */
     String className() default "";
+
+    /**
+     * Flag indicating whether events keep the JSON document and decode property values when first read (true, lazy)
+     * or whether events are fully parsed when sent (the default, false).
+     * Applies only to schemas that have string, boolean and numeric properties only.
+     * @return lazy flag
+     */
+    boolean lazy() default false;
 }
@@ -0,0 +1,68 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.configuration.common;
+
+import java.io.Serializable;
+
+/**
+ * Refresh-ahead cache settings: entries are reloaded in the background once they reach the refresh age,
+ * and are evicted when they reach the maximum age or when the total weight of entries exceeds the maximum weight.
+ */
+public class ConfigurationCommonCacheRefreshAhead implements ConfigurationCommonCache, Serializable {
+    private double maxAgeSeconds;
+    private double refreshAfterSeconds;
+    private long maxWeight;
+    private static final long serialVersionUID = -2683519740365862371L;
+
+    /**
+     * Ctor.
+     *
+     * @param maxAgeSeconds       is the maximum age in seconds
+     * @param refreshAfterSeconds is the age in seconds after which an entry gets reloaded upon access
+     * @param maxWeight           is the maximum total weight, i.e. number of entries plus number of rows, or zero for no bound
+     */
+    public ConfigurationCommonCacheRefreshAhead(double maxAgeSeconds, double refreshAfterSeconds, long maxWeight) {
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.refreshAfterSeconds = refreshAfterSeconds;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns the maximum age in seconds.
+     *
+     * @return number of seconds
+     */
+    public double getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    /**
+     * Returns the age in seconds after which an entry gets reloaded upon access.
+     *
+     * @return number of seconds
+     */
+    public double getRefreshAfterSeconds() {
+        return refreshAfterSeconds;
+    }
+
+    /**
+     * Returns the maximum total weight, i.e. number of entries plus number of rows, or zero for no bound.
+     *
+     * @return maximum weight
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public String toString() {
+        return "RefreshAheadCacheDesc maxAgeSeconds=" + maxAgeSeconds + " refreshAfterSeconds=" + refreshAfterSeconds + " maxWeight=" + maxWeight;
+    }
+}
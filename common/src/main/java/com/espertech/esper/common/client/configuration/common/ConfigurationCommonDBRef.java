@@ -224,6 +224,18 @@ public class ConfigurationCommonDBRef implements Serializable {
         dataCacheDesc = new ConfigurationCommonCacheExpiryTime(maxAgeSeconds, purgeIntervalSeconds, cacheReferenceType);
     }
 
+    /**
+     * Configures a refresh-ahead cache that reloads query results in the background once they reach the refresh age
+     * and that evicts least-recently-used entries when the total weight exceeds the maximum weight.
+     *
+     * @param maxAgeSeconds       is the maximum number of seconds before a result is considered stale (also known as time-to-live)
+     * @param refreshAfterSeconds is the number of seconds after which a result gets reloaded when accessed
+     * @param maxWeight           is the maximum total weight, i.e. number of entries plus number of rows, or zero for no bound
+     */
+    public void setRefreshAheadCache(double maxAgeSeconds, double refreshAfterSeconds, long maxWeight) {
+        dataCacheDesc = new ConfigurationCommonCacheRefreshAhead(maxAgeSeconds, refreshAfterSeconds, maxWeight);
+    }
+
     /**
      * Return a query result data cache descriptor.
      *
@@ -221,6 +221,11 @@ public class ConfigurationCommonParser {
             } else if (subElement.getNodeName().equals("lru-cache")) {
                 String size = getRequiredAttribute(subElement, "size");
                 configDBRef.setLRUCache(Integer.parseInt(size));
+            } else if (subElement.getNodeName().equals("refresh-ahead-cache")) {
+                String maxAge = getRequiredAttribute(subElement, "max-age-seconds");
+                String refreshAfter = getRequiredAttribute(subElement, "refresh-after-seconds");
+                String maxWeight = getOptionalAttribute(subElement, "max-weight");
+                configDBRef.setRefreshAheadCache(Double.parseDouble(maxAge), Double.parseDouble(refreshAfter), maxWeight == null ? 0 : Long.parseLong(maxWeight));
             }
         }
     }
@@ -517,6 +522,11 @@ public class ConfigurationCommonParser {
             } else if (subElement.getNodeName().equals("lru-cache")) {
                 String size = getRequiredAttribute(subElement, "size");
                 configMethodRef.setLRUCache(Integer.parseInt(size));
+            } else if (subElement.getNodeName().equals("refresh-ahead-cache")) {
+                String maxAge = getRequiredAttribute(subElement, "max-age-seconds");
+                String refreshAfter = getRequiredAttribute(subElement, "refresh-after-seconds");
+                String maxWeight = getOptionalAttribute(subElement, "max-weight");
+                configMethodRef.setRefreshAheadCache(Double.parseDouble(maxAge), Double.parseDouble(refreshAfter), maxWeight == null ? 0 : Long.parseLong(maxWeight));
             }
         }
     }
@@ -354,6 +354,11 @@ public class ConfigurationCompilerParser {
             configuration.getSerde().setEnableSerializationFallback(Boolean.parseBoolean(text));
         }
 
+        text = getOptionalAttribute(parentElement, "enable-event-wire-serde");
+        if (text != null) {
+            configuration.getSerde().setEnableEventWireSerde(Boolean.parseBoolean(text));
+        }
+
         DOMElementIterator nodeIterator = new DOMElementIterator(parentElement.getChildNodes());
         while (nodeIterator.hasNext()) {
             Element subElement = nodeIterator.next();
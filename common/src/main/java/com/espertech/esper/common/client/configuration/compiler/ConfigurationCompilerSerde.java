@@ -24,6 +24,7 @@ public class ConfigurationCompilerSerde implements Serializable {
     private boolean enableSerializable = false;
     private boolean enableExternalizable = false;
     private boolean enableSerializationFallback = false;
+    private boolean enableEventWireSerde = false;
     private List<String> serdeProviderFactories = new ArrayList<>(2);
 
     /**
@@ -128,5 +129,24 @@ public class ConfigurationCompilerSerde implements Serializable {
     public void setEnableSerializationFallback(boolean enableSerializationFallback) {
         this.enableSerializationFallback = enableSerializationFallback;
     }
-}
 
+    /**
+     * Returns indicator whether the compiler generates, for each event type declared by create-schema, a binary serde
+     * for exchanging events of the type between runtimes, see {@link com.espertech.esper.common.client.serde.EventWireSerde}.
+     *
+     * @return indicator
+     */
+    public boolean isEnableEventWireSerde() {
+        return enableEventWireSerde;
+    }
+
+    /**
+     * Sets indicator whether the compiler generates, for each event type declared by create-schema, a binary serde
+     * for exchanging events of the type between runtimes, see {@link com.espertech.esper.common.client.serde.EventWireSerde}.
+     *
+     * @param enableEventWireSerde indicator
+     */
+    public void setEnableEventWireSerde(boolean enableEventWireSerde) {
+        this.enableEventWireSerde = enableEventWireSerde;
+    }
+}
@@ -11,6 +11,7 @@
 package com.espertech.esper.common.client.configuration.runtime;
 
 import com.espertech.esper.common.client.util.FilterServiceProfile;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
 
 import java.io.Serializable;
 
@@ -25,7 +26,11 @@ public class ConfigurationRuntimeExecution implements Serializable {
     private boolean fairlock;
     private boolean disableLocking;
     private FilterServiceProfile filterServiceProfile = FilterServiceProfile.READMOSTLY;
+    private SchedulingServiceProfile schedulingServiceProfile = SchedulingServiceProfile.SORTEDMAP;
     private int declaredExprValueCacheSize = 1;
+    private int tableLockStripes;
+    private boolean concurrentIndexes;
+    private boolean compactIndexes;
 
     /**
      * Ctor - sets up defaults.
@@ -113,6 +118,24 @@ public class ConfigurationRuntimeExecution implements Serializable {
         this.filterServiceProfile = filterServiceProfile;
     }
 
+    /**
+     * Returns the scheduling service profile for tuning schedule operations.
+     *
+     * @return scheduling service profile
+     */
+    public SchedulingServiceProfile getSchedulingServiceProfile() {
+        return schedulingServiceProfile;
+    }
+
+    /**
+     * Set the scheduling service profile for tuning schedule operations.
+     *
+     * @param schedulingServiceProfile scheduling service profile
+     */
+    public void setSchedulingServiceProfile(SchedulingServiceProfile schedulingServiceProfile) {
+        this.schedulingServiceProfile = schedulingServiceProfile;
+    }
+
     /**
      * Returns the cache size for declared expression values
      *
@@ -150,4 +173,90 @@ public class ConfigurationRuntimeExecution implements Serializable {
     public void setPrecedenceEnabled(boolean precedenceEnabled) {
         this.precedenceEnabled = precedenceEnabled;
     }
+
+    /**
+     * Returns the number of row lock stripes for tables that have a primary key, or zero (the default) for a single table-level lock.
+     * <p>
+     * When greater than zero, into-table aggregation and keyed table access lock only the row of the primary key,
+     * by means of a lock stripe selected by the hash of the primary key, and writers to different rows proceed concurrently.
+     * Writers are statements or context partitions: the events that a single statement aggregates into the table remain
+     * serialized by the statement lock, so row locking applies when multiple statements or context partitions write to the table.
+     * All other table access, such as iteration, on-merge, on-update, on-delete, fire-and-forget queries,
+     * subqueries and joins, waits for row changes in progress and thereby observes a consistent table. Such access shares
+     * the table when reading and obtains exclusive access to the table when the statement writes to tables.
+     *
+     * @return number of row lock stripes, or zero for table-level locking
+     */
+    public int getTableLockStripes() {
+        return tableLockStripes;
+    }
+
+    /**
+     * Sets the number of row lock stripes for tables that have a primary key, or zero (the default) for a single table-level lock.
+     * <p>
+     * When greater than zero, into-table aggregation and keyed table access lock only the row of the primary key,
+     * by means of a lock stripe selected by the hash of the primary key, and writers to different rows proceed concurrently.
+     * Writers are statements or context partitions: the events that a single statement aggregates into the table remain
+     * serialized by the statement lock, so row locking applies when multiple statements or context partitions write to the table.
+     * All other table access, such as iteration, on-merge, on-update, on-delete, fire-and-forget queries,
+     * subqueries and joins, waits for row changes in progress and thereby observes a consistent table. Such access shares
+     * the table when reading and obtains exclusive access to the table when the statement writes to tables.
+     *
+     * @param tableLockStripes number of row lock stripes, or zero for table-level locking
+     */
+    public void setTableLockStripes(int tableLockStripes) {
+        this.tableLockStripes = tableLockStripes;
+    }
+
+    /**
+     * Returns indicator whether hash and btree indexes allow lookups concurrent with changes, the default is false.
+     * <p>
+     * When enabled, the runtime uses a concurrent hash map for hash indexes and a concurrent skip list for btree indexes,
+     * with concurrent value sets, so that lookups may proceed while the index is changed.
+     * Subqueries against a named window do not obtain the named window lock when all indexes they probe are concurrent.
+     * Index changes remain serialized by the named window lock. Such subqueries copy the events found by the lookup.
+     *
+     * @return concurrent indexes indicator
+     */
+    public boolean isConcurrentIndexes() {
+        return concurrentIndexes;
+    }
+
+    /**
+     * Sets indicator whether hash and btree indexes allow lookups concurrent with changes, the default is false.
+     * <p>
+     * When enabled, the runtime uses a concurrent hash map for hash indexes and a concurrent skip list for btree indexes,
+     * with concurrent value sets, so that lookups may proceed while the index is changed.
+     * Subqueries against a named window do not obtain the named window lock when all indexes they probe are concurrent.
+     * Index changes remain serialized by the named window lock. Such subqueries copy the events found by the lookup.
+     *
+     * @param concurrentIndexes concurrent indexes indicator
+     */
+    public void setConcurrentIndexes(boolean concurrentIndexes) {
+        this.concurrentIndexes = concurrentIndexes;
+    }
+
+    /**
+     * Returns indicator whether non-unique hash indexes are compact, the default is false.
+     * <p>
+     * When enabled, non-unique hash indexes keep a single event per key in a singleton set and keep long keys unboxed,
+     * using less memory for indexes that have mostly one event per key. Concurrent indexes are not compact.
+     *
+     * @return compact indexes indicator
+     */
+    public boolean isCompactIndexes() {
+        return compactIndexes;
+    }
+
+    /**
+     * Sets indicator whether non-unique hash indexes are compact, the default is false.
+     * <p>
+     * When enabled, non-unique hash indexes keep a single event per key in a singleton set and keep long keys unboxed,
+     * using less memory for indexes that have mostly one event per key. Concurrent indexes are not compact.
+     *
+     * @param compactIndexes compact indexes indicator
+     */
+    public void setCompactIndexes(boolean compactIndexes) {
+        this.compactIndexes = compactIndexes;
+    }
 }
@@ -12,6 +12,7 @@ package com.espertech.esper.common.client.configuration.runtime;
 
 import com.espertech.esper.common.client.configuration.ConfigurationException;
 import com.espertech.esper.common.client.util.FilterServiceProfile;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
 import com.espertech.esper.common.client.util.Locking;
 import com.espertech.esper.common.client.util.TimeSourceType;
 import com.espertech.esper.common.client.util.UndeployRethrowPolicy;
@@ -87,10 +88,31 @@ public class ConfigurationRuntimeParser {
             runtime.getExecution().setFilterServiceProfile(profile);
         }
 
+        String schedulingServiceProfileStr = getOptionalAttribute(parentElement, "scheduling-service-profile");
+        if (schedulingServiceProfileStr != null) {
+            SchedulingServiceProfile profile = SchedulingServiceProfile.valueOf(schedulingServiceProfileStr.toUpperCase(Locale.ENGLISH));
+            runtime.getExecution().setSchedulingServiceProfile(profile);
+        }
+
         String declExprValueCacheSizeStr = getOptionalAttribute(parentElement, "declared-expr-value-cache-size");
         if (declExprValueCacheSizeStr != null) {
             runtime.getExecution().setDeclaredExprValueCacheSize(Integer.parseInt(declExprValueCacheSizeStr));
         }
+
+        String tableLockStripesStr = getOptionalAttribute(parentElement, "table-lock-stripes");
+        if (tableLockStripesStr != null) {
+            runtime.getExecution().setTableLockStripes(Integer.parseInt(tableLockStripesStr));
+        }
+
+        String concurrentIndexesStr = getOptionalAttribute(parentElement, "concurrent-indexes");
+        if (concurrentIndexesStr != null) {
+            runtime.getExecution().setConcurrentIndexes(Boolean.parseBoolean(concurrentIndexesStr));
+        }
+
+        String compactIndexesStr = getOptionalAttribute(parentElement, "compact-indexes");
+        if (compactIndexesStr != null) {
+            runtime.getExecution().setCompactIndexes(Boolean.parseBoolean(compactIndexesStr));
+        }
     }
 
     private static void handleExpression(ConfigurationRuntime runtime, Element element) {
@@ -314,6 +336,11 @@ public class ConfigurationRuntimeParser {
                     runtime.getThreading().setNamedWindowConsumerDispatchLocking(
                             Locking.valueOf(value.toUpperCase(Locale.ENGLISH)));
                 }
+
+                if (subElement.getAttributes().getNamedItem("parallelism") != null) {
+                    String value = subElement.getAttributes().getNamedItem("parallelism").getTextContent();
+                    runtime.getThreading().setNamedWindowConsumerDispatchParallelism(Integer.parseInt(value));
+                }
             }
             if (subElement.getNodeName().equals("internal-timer")) {
                 String enabledText = getRequiredAttribute(subElement, "enabled");
@@ -328,12 +355,22 @@ public class ConfigurationRuntimeParser {
                 runtime.getThreading().setThreadPoolInbound(result.isEnabled());
                 runtime.getThreading().setThreadPoolInboundNumThreads(result.getNumThreads());
                 runtime.getThreading().setThreadPoolInboundCapacity(result.getCapacity());
+                runtime.getThreading().setThreadPoolInboundPartitionProperty(getOptionalAttribute(subElement, "partition-property"));
+                runtime.getThreading().setThreadPoolInboundPartitionContext(getOptionalAttribute(subElement, "partition-context"));
+                String virtualThreads = getOptionalAttribute(subElement, "virtual-threads");
+                if (virtualThreads != null) {
+                    runtime.getThreading().setThreadPoolInboundVirtualThreads(Boolean.parseBoolean(virtualThreads));
+                }
             }
             if (subElement.getNodeName().equals("threadpool-outbound")) {
                 ThreadPoolConfig result = parseThreadPoolConfig(subElement);
                 runtime.getThreading().setThreadPoolOutbound(result.isEnabled());
                 runtime.getThreading().setThreadPoolOutboundNumThreads(result.getNumThreads());
                 runtime.getThreading().setThreadPoolOutboundCapacity(result.getCapacity());
+                String virtualThreads = getOptionalAttribute(subElement, "virtual-threads");
+                if (virtualThreads != null) {
+                    runtime.getThreading().setThreadPoolOutboundVirtualThreads(Boolean.parseBoolean(virtualThreads));
+                }
             }
             if (subElement.getNodeName().equals("threadpool-timerexec")) {
                 ThreadPoolConfig result = parseThreadPoolConfig(subElement);
@@ -347,6 +384,22 @@ public class ConfigurationRuntimeParser {
                 runtime.getThreading().setThreadPoolRouteExecNumThreads(result.getNumThreads());
                 runtime.getThreading().setThreadPoolRouteExecCapacity(result.getCapacity());
             }
+            if (subElement.getNodeName().equals("threadpool-historical")) {
+                ThreadPoolConfig result = parseThreadPoolConfig(subElement);
+                runtime.getThreading().setThreadPoolHistorical(result.isEnabled());
+                runtime.getThreading().setThreadPoolHistoricalNumThreads(result.getNumThreads());
+                String maxInFlight = getOptionalAttribute(subElement, "max-in-flight");
+                if (maxInFlight != null) {
+                    runtime.getThreading().setThreadPoolHistoricalMaxInFlight(Integer.parseInt(maxInFlight));
+                }
+                String timeout = getOptionalAttribute(subElement, "timeout-msec");
+                if (timeout != null) {
+                    runtime.getThreading().setThreadPoolHistoricalTimeout(Long.parseLong(timeout));
+                }
+                if (result.getCapacity() != null) {
+                    runtime.getThreading().setThreadPoolHistoricalCapacity(result.getCapacity());
+                }
+            }
         }
     }
 
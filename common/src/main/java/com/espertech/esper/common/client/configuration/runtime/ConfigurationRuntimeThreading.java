@@ -31,6 +31,7 @@ public class ConfigurationRuntimeThreading implements Serializable {
     private boolean isNamedWindowConsumerDispatchPreserveOrder;
     private long namedWindowConsumerDispatchTimeout;
     private Locking namedWindowConsumerDispatchLocking;
+    private int namedWindowConsumerDispatchParallelism;
 
     private long internalTimerMsecResolution;
     private boolean internalTimerEnabled;
@@ -47,6 +48,15 @@ public class ConfigurationRuntimeThreading implements Serializable {
     private Integer threadPoolInboundCapacity;
     private Integer threadPoolRouteExecCapacity;
     private Integer threadPoolOutboundCapacity;
+    private String threadPoolInboundPartitionProperty;
+    private String threadPoolInboundPartitionContext;
+    private boolean threadPoolInboundVirtualThreads;
+    private boolean threadPoolOutboundVirtualThreads;
+    private boolean isThreadPoolHistorical;
+    private int threadPoolHistoricalNumThreads;
+    private int threadPoolHistoricalMaxInFlight;
+    private long threadPoolHistoricalTimeout;
+    private Integer threadPoolHistoricalCapacity;
 
     private boolean runtimeFairlock;
 
@@ -78,6 +88,12 @@ public class ConfigurationRuntimeThreading implements Serializable {
         threadPoolInboundNumThreads = 2;
         threadPoolRouteExecNumThreads = 2;
         threadPoolOutboundNumThreads = 2;
+
+        isThreadPoolHistorical = false;
+        threadPoolHistoricalNumThreads = 2;
+        threadPoolHistoricalMaxInFlight = 1000;
+        threadPoolHistoricalTimeout = 10000;
+        threadPoolHistoricalCapacity = 1000;
     }
 
     /**
@@ -427,6 +443,218 @@ public class ConfigurationRuntimeThreading implements Serializable {
         this.threadPoolInboundCapacity = capacity;
     }
 
+    /**
+     * Returns the event property name that assigns inbound events to inbound threads, or null if none defined (default).
+     * <p>
+     * When defined, each inbound thread drains its own lock-free ring buffer and events are assigned to a thread
+     * by the hash of the property value, preserving the order of events that have the same property value.
+     * Events of event types that do not have the property are assigned by event type name.
+     *
+     * @return property name or null if none defined
+     */
+    public String getThreadPoolInboundPartitionProperty() {
+        return threadPoolInboundPartitionProperty;
+    }
+
+    /**
+     * Sets the event property name that assigns inbound events to inbound threads, or null if none defined (default).
+     * <p>
+     * When defined, each inbound thread drains its own lock-free ring buffer and events are assigned to a thread
+     * by the hash of the property value, preserving the order of events that have the same property value.
+     * Events of event types that do not have the property are assigned by event type name.
+     * <p>
+     * The inbound capacity, when provided, is the capacity of each ring buffer.
+     *
+     * @param propertyName property name or null if none defined
+     */
+    public void setThreadPoolInboundPartitionProperty(String propertyName) {
+        this.threadPoolInboundPartitionProperty = propertyName;
+    }
+
+    /**
+     * Returns the name of the hash-segmented context that assigns inbound events to inbound threads, or null if none defined (default).
+     * <p>
+     * When defined, each inbound thread drains its own lock-free ring buffer and events are assigned to a thread
+     * by the hash bucket that the context computes for the event, so that all events of a context partition are
+     * processed by the same thread and context partitions are evaluated in parallel.
+     * Events of event types that the context does not list, and events sent when the context is not deployed,
+     * are assigned by the partition property, if defined, or else by event type name.
+     *
+     * @return context name or null if none defined
+     */
+    public String getThreadPoolInboundPartitionContext() {
+        return threadPoolInboundPartitionContext;
+    }
+
+    /**
+     * Sets the name of the hash-segmented context that assigns inbound events to inbound threads, or null if none defined (default).
+     * <p>
+     * When defined, each inbound thread drains its own lock-free ring buffer and events are assigned to a thread
+     * by the hash bucket that the context computes for the event, so that all events of a context partition are
+     * processed by the same thread and context partitions are evaluated in parallel.
+     * Events of event types that the context does not list, and events sent when the context is not deployed,
+     * are assigned by the partition property, if defined, or else by event type name.
+     *
+     * @param contextName context name or null if none defined
+     */
+    public void setThreadPoolInboundPartitionContext(String contextName) {
+        this.threadPoolInboundPartitionContext = contextName;
+    }
+
+    /**
+     * Returns true to execute each inbound unit of work on a new virtual thread (false by default).
+     *
+     * @return indicator
+     * @see #setThreadPoolInboundVirtualThreads(boolean)
+     */
+    public boolean isThreadPoolInboundVirtualThreads() {
+        return threadPoolInboundVirtualThreads;
+    }
+
+    /**
+     * Set to true to execute each inbound unit of work on a new virtual thread (false by default).
+     * <p>
+     * The number of inbound threads becomes the maximum number of concurrently executing units and the sending
+     * thread waits when that number is reached. The inbound capacity does not apply.
+     * Not applicable when an inbound partition property is defined.
+     * When the JVM does not provide virtual threads, units execute on new platform threads instead.
+     *
+     * @param virtualThreads indicator
+     */
+    public void setThreadPoolInboundVirtualThreads(boolean virtualThreads) {
+        this.threadPoolInboundVirtualThreads = virtualThreads;
+    }
+
+    /**
+     * Returns true to deliver each outbound unit of work on a new virtual thread (false by default).
+     *
+     * @return indicator
+     * @see #setThreadPoolOutboundVirtualThreads(boolean)
+     */
+    public boolean isThreadPoolOutboundVirtualThreads() {
+        return threadPoolOutboundVirtualThreads;
+    }
+
+    /**
+     * Set to true to deliver each outbound unit of work on a new virtual thread (false by default),
+     * suited for listeners and subscribers that perform blocking I/O.
+     * <p>
+     * The number of outbound threads becomes the maximum number of concurrently executing deliveries and the
+     * processing thread waits when that number is reached. The outbound capacity does not apply.
+     * When the JVM does not provide virtual threads, deliveries execute on new platform threads instead.
+     *
+     * @param virtualThreads indicator
+     */
+    public void setThreadPoolOutboundVirtualThreads(boolean virtualThreads) {
+        this.threadPoolOutboundVirtualThreads = virtualThreads;
+    }
+
+    /**
+     * Returns true for asynchronous polling of historical data in joins, the default is false for polling
+     * by the event-processing thread.
+     *
+     * @return indicator whether historical polling threading is enabled
+     * @see #setThreadPoolHistorical(boolean)
+     */
+    public boolean isThreadPoolHistorical() {
+        return isThreadPoolHistorical;
+    }
+
+    /**
+     * Set to true for asynchronous polling of historical data in joins, the default is false for polling
+     * by the event-processing thread.
+     * <p>
+     * When enabled, for a join of a stream to a single SQL query or method invocation, an event of the stream for which
+     * the historical data is not cached does not wait for the poll. The poll is executed by a thread pool instead and
+     * the statement produces output for the event when the poll completes. Output for such events may therefore
+     * come later than output for events that arrive later. Polling for other uses of historical data, such as
+     * iteration, remains synchronous.
+     *
+     * @param threadPoolHistorical indicator whether historical polling threading is enabled
+     */
+    public void setThreadPoolHistorical(boolean threadPoolHistorical) {
+        isThreadPoolHistorical = threadPoolHistorical;
+    }
+
+    /**
+     * Returns the number of threads in the thread pool for asynchronous polling of historical data.
+     *
+     * @return number of threads
+     */
+    public int getThreadPoolHistoricalNumThreads() {
+        return threadPoolHistoricalNumThreads;
+    }
+
+    /**
+     * Sets the number of threads in the thread pool for asynchronous polling of historical data.
+     *
+     * @param num number of threads
+     */
+    public void setThreadPoolHistoricalNumThreads(int num) {
+        this.threadPoolHistoricalNumThreads = num;
+    }
+
+    /**
+     * Returns the maximum number of distinct keys that a statement may be polling asynchronously, the default is 1000.
+     *
+     * @return maximum number of keys
+     * @see #setThreadPoolHistoricalMaxInFlight(int)
+     */
+    public int getThreadPoolHistoricalMaxInFlight() {
+        return threadPoolHistoricalMaxInFlight;
+    }
+
+    /**
+     * Sets the maximum number of distinct keys that a statement may be polling asynchronously, the default is 1000.
+     * When a statement reaches the maximum, the event-processing thread polls synchronously for further keys.
+     *
+     * @param maxInFlight maximum number of keys
+     */
+    public void setThreadPoolHistoricalMaxInFlight(int maxInFlight) {
+        this.threadPoolHistoricalMaxInFlight = maxInFlight;
+    }
+
+    /**
+     * Returns the timeout in milliseconds for an asynchronous poll of historical data, the default is 10000.
+     *
+     * @return timeout in milliseconds
+     * @see #setThreadPoolHistoricalTimeout(long)
+     */
+    public long getThreadPoolHistoricalTimeout() {
+        return threadPoolHistoricalTimeout;
+    }
+
+    /**
+     * Sets the timeout in milliseconds for an asynchronous poll of historical data, the default is 10000.
+     * When a poll times out, the runtime reports the timeout to the exception handler and joins the
+     * waiting events to an empty poll result, which is not cached.
+     *
+     * @param timeout timeout in milliseconds
+     */
+    public void setThreadPoolHistoricalTimeout(long timeout) {
+        this.threadPoolHistoricalTimeout = timeout;
+    }
+
+    /**
+     * Returns the capacity of the historical polling queue, or null if none defined (the unbounded case), the default is 1000.
+     *
+     * @return capacity or null if none defined
+     * @see #setThreadPoolHistoricalCapacity(Integer)
+     */
+    public Integer getThreadPoolHistoricalCapacity() {
+        return threadPoolHistoricalCapacity;
+    }
+
+    /**
+     * Sets the capacity of the historical polling queue, or null if none defined (the unbounded case), the default is 1000.
+     * When the queue is full, the runtime polls on the thread that would have submitted the poll.
+     *
+     * @param capacity capacity or null if none defined
+     */
+    public void setThreadPoolHistoricalCapacity(Integer capacity) {
+        this.threadPoolHistoricalCapacity = capacity;
+    }
+
     /**
      * Returns the capacity of the route execution queue, or null if none defined (the unbounded case, default).
      *
@@ -547,4 +775,32 @@ public class ConfigurationRuntimeThreading implements Serializable {
         this.namedWindowConsumerDispatchLocking = namedWindowConsumerDispatchLocking;
     }
 
+    /**
+     * Returns the number of threads that process named window consumer statements in parallel, or zero
+     * to process consumer statements sequentially on the dispatching thread (zero by default).
+     *
+     * @return parallelism
+     * @see #setNamedWindowConsumerDispatchParallelism(int)
+     */
+    public int getNamedWindowConsumerDispatchParallelism() {
+        return namedWindowConsumerDispatchParallelism;
+    }
+
+    /**
+     * Sets the number of threads that process named window consumer statements in parallel, or zero
+     * to process consumer statements sequentially on the dispatching thread (zero by default).
+     * <p>
+     * When a positive number, a named window result that goes to multiple consumer statements is processed by
+     * a fork-join pool of the given size, one task per consumer statement, and the dispatching thread waits
+     * for all consumer statements to complete. Each consumer statement receives its results in order.
+     * Listener dispatch and events inserted by consumer statements remain with the dispatching thread
+     * and follow the order of consumer statements.
+     * Not applicable when prioritized execution is enabled.
+     *
+     * @param parallelism number of threads or zero for sequential processing
+     */
+    public void setNamedWindowConsumerDispatchParallelism(int parallelism) {
+        this.namedWindowConsumerDispatchParallelism = parallelism;
+    }
+
 }
@@ -26,4 +26,19 @@ public interface EventSenderJson extends EventSender {
      * @throws com.espertech.esper.common.client.EPException when parsing the document failed
      */
     Object parse(String json);
+
+    /**
+     * Parses a UTF-8 encoded JSON document returning the event object.
+     * <p>
+     *     For event types that have only string, boolean and number properties the document is parsed directly
+     *     from the bytes without first decoding it into a string.
+     * </p>
+     *
+     * @param json   UTF-8 encoded document
+     * @param offset offset of the document in the array
+     * @param length length of the document in bytes
+     * @return event object
+     * @throws com.espertech.esper.common.client.EPException when parsing the document failed
+     */
+    Object parse(byte[] json, int offset, int length);
 }
@@ -12,6 +12,7 @@ package com.espertech.esper.common.client.metric;
 
 import com.espertech.esper.common.client.configuration.ConfigurationException;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -92,4 +93,31 @@ public interface EPMetricsService {
      * @return runtime metrio
      */
     RuntimeMetric getRuntimeMetric();
+
+    /**
+     * Returns the current metrics for each lane of partitioned inbound threading.
+     * <p>
+     *     Returns an empty list unless inbound threading is enabled with a partition property.
+     * </p>
+     * @return lane metrics
+     */
+    List<InboundLaneMetric> getInboundLaneMetrics();
+
+    /**
+     * Returns the current metrics for parallel named window consumer dispatch.
+     * <p>
+     *     Returns null unless named window consumer dispatch parallelism is configured.
+     * </p>
+     * @return named window dispatch metric or null
+     */
+    NamedWindowDispatchMetric getNamedWindowDispatchMetric();
+
+    /**
+     * Returns the current metrics for refresh-ahead caches of historical streams, one metric per statement and historical stream.
+     * <p>
+     *     Returns an empty list unless a database or method invocation reference is configured with a refresh-ahead cache.
+     * </p>
+     * @return historical data cache metrics
+     */
+    List<HistoricalDataCacheMetric> getHistoricalDataCacheMetrics();
 }
@@ -0,0 +1,160 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.metric;
+
+/**
+ * Reports instrumentation values for the refresh-ahead caches of a historical stream of a statement,
+ * summed over the context partitions of the statement.
+ */
+public class HistoricalDataCacheMetric extends MetricEvent {
+    private static final long serialVersionUID = -4218035541290817726L;
+    private final String deploymentId;
+    private final String statementName;
+    private final int streamNumber;
+    private final long size;
+    private final long weight;
+    private final long hitCount;
+    private final long missCount;
+    private final long loadCount;
+    private final long loadNanosTotal;
+    private final long refreshCount;
+    private final long evictionCount;
+
+    /**
+     * Ctor.
+     *
+     * @param runtimeURI     runtime URI
+     * @param deploymentId   deployment id
+     * @param statementName  statement name
+     * @param streamNumber   stream number of the historical stream
+     * @param size           number of entries
+     * @param weight         total weight of entries
+     * @param hitCount       number of lookups that found an entry
+     * @param missCount      number of lookups that did not find an entry or found an expired entry
+     * @param loadCount      number of keys polled
+     * @param loadNanosTotal total nanoseconds polling
+     * @param refreshCount   number of entries reloaded ahead of expiry
+     * @param evictionCount  number of entries evicted for exceeding the maximum weight
+     */
+    public HistoricalDataCacheMetric(String runtimeURI, String deploymentId, String statementName, int streamNumber, long size, long weight, long hitCount, long missCount, long loadCount, long loadNanosTotal, long refreshCount, long evictionCount) {
+        super(runtimeURI);
+        this.deploymentId = deploymentId;
+        this.statementName = statementName;
+        this.streamNumber = streamNumber;
+        this.size = size;
+        this.weight = weight;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadCount = loadCount;
+        this.loadNanosTotal = loadNanosTotal;
+        this.refreshCount = refreshCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Returns the deployment id.
+     *
+     * @return deployment id
+     */
+    public String getDeploymentId() {
+        return deploymentId;
+    }
+
+    /**
+     * Returns the statement name.
+     *
+     * @return statement name
+     */
+    public String getStatementName() {
+        return statementName;
+    }
+
+    /**
+     * Returns the stream number of the historical stream.
+     *
+     * @return stream number
+     */
+    public int getStreamNumber() {
+        return streamNumber;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return size
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the total weight of entries, i.e. number of entries plus number of rows.
+     *
+     * @return weight
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns the number of lookups that found an entry, cumulative.
+     *
+     * @return hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that did not find an entry or found an expired entry, cumulative.
+     *
+     * @return miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of keys polled, cumulative.
+     *
+     * @return load count
+     */
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Returns the total nanoseconds polling, cumulative.
+     *
+     * @return total load time
+     */
+    public long getLoadNanosTotal() {
+        return loadNanosTotal;
+    }
+
+    /**
+     * Returns the number of entries reloaded ahead of expiry, cumulative.
+     *
+     * @return refresh count
+     */
+    public long getRefreshCount() {
+        return refreshCount;
+    }
+
+    /**
+     * Returns the number of entries evicted for exceeding the maximum weight, cumulative.
+     *
+     * @return eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.metric;
+
+/**
+ * Reports instrumentation values for a lane of partitioned inbound threading.
+ */
+public class InboundLaneMetric extends MetricEvent {
+    private static final long serialVersionUID = -1617290356434883466L;
+    private final int laneNum;
+    private final int capacity;
+    private final long queueDepth;
+    private final long processedCount;
+    private final long latencyNanosTotal;
+    private final long latencyNanosMax;
+
+    /**
+     * Ctor.
+     *
+     * @param runtimeURI        runtime URI
+     * @param laneNum           lane number starting at zero
+     * @param capacity          capacity of the lane
+     * @param queueDepth        number of events waiting in the lane
+     * @param processedCount    number of events taken from the lane
+     * @param latencyNanosTotal total nanoseconds events spent waiting in the lane
+     * @param latencyNanosMax   maximum nanoseconds an event spent waiting in the lane
+     */
+    public InboundLaneMetric(String runtimeURI, int laneNum, int capacity, long queueDepth, long processedCount, long latencyNanosTotal, long latencyNanosMax) {
+        super(runtimeURI);
+        this.laneNum = laneNum;
+        this.capacity = capacity;
+        this.queueDepth = queueDepth;
+        this.processedCount = processedCount;
+        this.latencyNanosTotal = latencyNanosTotal;
+        this.latencyNanosMax = latencyNanosMax;
+    }
+
+    /**
+     * Returns the lane number starting at zero.
+     *
+     * @return lane number
+     */
+    public int getLaneNum() {
+        return laneNum;
+    }
+
+    /**
+     * Returns the capacity of the lane.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of events waiting in the lane.
+     *
+     * @return queue depth
+     */
+    public long getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Returns the number of events taken from the lane since runtime initialization, cumulative.
+     *
+     * @return processed count
+     */
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    /**
+     * Returns the total nanoseconds that events spent waiting in the lane, cumulative.
+     *
+     * @return total latency
+     */
+    public long getLatencyNanosTotal() {
+        return latencyNanosTotal;
+    }
+
+    /**
+     * Returns the maximum nanoseconds that an event spent waiting in the lane.
+     *
+     * @return maximum latency
+     */
+    public long getLatencyNanosMax() {
+        return latencyNanosMax;
+    }
+}
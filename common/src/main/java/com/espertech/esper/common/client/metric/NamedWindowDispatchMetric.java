@@ -0,0 +1,87 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.metric;
+
+/**
+ * Reports instrumentation values for parallel named window consumer dispatch.
+ */
+public class NamedWindowDispatchMetric extends MetricEvent {
+    private static final long serialVersionUID = 2791386520867095126L;
+    private final int parallelism;
+    private final long fanOutCount;
+    private final long statementCount;
+    private final long latencyNanosTotal;
+    private final long latencyNanosMax;
+
+    /**
+     * Ctor.
+     *
+     * @param runtimeURI        runtime URI
+     * @param parallelism       number of threads that process consumer statements
+     * @param fanOutCount       number of dispatches that processed consumer statements in parallel
+     * @param statementCount    number of consumer statements processed by such dispatches
+     * @param latencyNanosTotal total nanoseconds from start of fan-out until all consumer statements completed
+     * @param latencyNanosMax   maximum nanoseconds from start of fan-out until all consumer statements completed
+     */
+    public NamedWindowDispatchMetric(String runtimeURI, int parallelism, long fanOutCount, long statementCount, long latencyNanosTotal, long latencyNanosMax) {
+        super(runtimeURI);
+        this.parallelism = parallelism;
+        this.fanOutCount = fanOutCount;
+        this.statementCount = statementCount;
+        this.latencyNanosTotal = latencyNanosTotal;
+        this.latencyNanosMax = latencyNanosMax;
+    }
+
+    /**
+     * Returns the number of threads that process consumer statements.
+     *
+     * @return parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns the number of dispatches that processed consumer statements in parallel, cumulative.
+     *
+     * @return fan-out count
+     */
+    public long getFanOutCount() {
+        return fanOutCount;
+    }
+
+    /**
+     * Returns the number of consumer statements processed by dispatches that processed consumer statements in parallel, cumulative.
+     *
+     * @return statement count
+     */
+    public long getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * Returns the total nanoseconds from start of fan-out until all consumer statements completed, cumulative.
+     *
+     * @return total latency
+     */
+    public long getLatencyNanosTotal() {
+        return latencyNanosTotal;
+    }
+
+    /**
+     * Returns the maximum nanoseconds from start of fan-out until all consumer statements completed.
+     *
+     * @return maximum latency
+     */
+    public long getLatencyNanosMax() {
+        return latencyNanosMax;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.serde;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary serde for exchanging events of an event type between runtimes, for example by means of a socket or a message bus.
+ * <p>
+ * The compiler generates the serde for event types declared by create-schema when enabled by
+ * {@link com.espertech.esper.common.client.configuration.compiler.ConfigurationCompilerSerde#setEnableEventWireSerde(boolean)}.
+ * <p>
+ * Each event is preceded by a header that carries the format version and the fingerprint of the event type schema,
+ * i.e. of the event type name and the property names and types.
+ * Reading an event that was written for a different schema fails with an exception.
+ * <p>
+ * The serde does not write the event type name. Reading returns the underlying event object, which
+ * can be sent into a runtime using the {@link com.espertech.esper.common.client.EventSender} for the event type.
+ */
+public interface EventWireSerde {
+    /**
+     * Returns the event type.
+     *
+     * @return event type
+     */
+    EventType getEventType();
+
+    /**
+     * Returns the fingerprint of the event type schema.
+     *
+     * @return fingerprint
+     */
+    int getSchemaFingerprint();
+
+    /**
+     * Writes the event to the output.
+     *
+     * @param event  event of the event type
+     * @param output output
+     * @throws IOException when the output cannot be written
+     */
+    void write(EventBean event, DataOutput output) throws IOException;
+
+    /**
+     * Writes the underlying event object to the output.
+     *
+     * @param underlying underlying event object of the event type, for example the Map for Map-type events
+     * @param output     output
+     * @throws IOException when the output cannot be written
+     */
+    void writeUnderlying(Object underlying, DataOutput output) throws IOException;
+
+    /**
+     * Reads an event from the input and returns the underlying event object.
+     *
+     * @param input input
+     * @return underlying event object
+     * @throws IOException when the input cannot be read or the header does not match the schema
+     */
+    Object read(DataInput input) throws IOException;
+
+    /**
+     * Returns the event as bytes.
+     *
+     * @param event event of the event type
+     * @return bytes
+     */
+    byte[] toBytes(EventBean event);
+
+    /**
+     * Reads an event from the bytes and returns the underlying event object.
+     *
+     * @param bytes  bytes
+     * @param offset offset of the event
+     * @param length number of bytes of the event
+     * @return underlying event object
+     */
+    Object fromBytes(byte[] bytes, int offset, int length);
+}
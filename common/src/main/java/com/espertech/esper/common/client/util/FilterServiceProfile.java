@@ -22,5 +22,11 @@ public enum FilterServiceProfile {
     /**
      * For very dynamic filters that come and go in a highly threaded environment.
      */
-    READWRITE
+    READWRITE,
+
+    /**
+     * For high event rates across many threads: event evaluation does not lock, filter add and remove are serialized
+     * and change index structures that allow concurrent reads.
+     */
+    LOCKFREE
 }
@@ -0,0 +1,343 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import com.espertech.esper.common.client.EventBean;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * First-in first-out store of events kept in fixed-size chunks of arrays, with timestamps (if any) kept
+ * in a parallel primitive long array per chunk. Compared to a collection of one holder object per event,
+ * the store allocates two arrays per chunk and no object per event.
+ * <p>
+ * Removal of an event other than the oldest event leaves a tombstone (null) in the event array, which
+ * is reclaimed when the chunk expires. Removal finds the event by scanning from the newest event to the
+ * oldest event, as there is no reverse index.
+ * <p>
+ * When constructed as timed, events must be added using {@link #add(long, EventBean)} with ascending
+ * timestamps. When constructed as untimed, events are added using {@link #offer(EventBean)}.
+ */
+public final class CompactEventWindow extends AbstractQueue<EventBean> {
+    /**
+     * Default number of events per chunk.
+     */
+    public final static int DEFAULT_CHUNK_SIZE = 1024;
+
+    private final boolean timed;
+    private final int chunkSize;
+    private final ArrayDeque<Chunk> chunks = new ArrayDeque<>();
+    private Chunk spare;
+    private int size;
+    private int tombstones;
+
+    /**
+     * Ctor.
+     *
+     * @param timed true to keep a timestamp per event
+     */
+    public CompactEventWindow(boolean timed) {
+        this(timed, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param timed     true to keep a timestamp per event
+     * @param chunkSize number of events per chunk
+     */
+    public CompactEventWindow(boolean timed, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Invalid chunk size " + chunkSize);
+        }
+        this.timed = timed;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Adds an event for the given timestamp, the timestamp must not be less than the timestamp of the last event added.
+     *
+     * @param timestamp timestamp
+     * @param bean      event
+     */
+    public void add(long timestamp, EventBean bean) {
+        if (!timed) {
+            throw new UnsupportedOperationException("Window does not keep timestamps");
+        }
+        Chunk chunk = appendChunk();
+        chunk.timestamps[chunk.tail] = timestamp;
+        chunk.events[chunk.tail++] = bean;
+        size++;
+    }
+
+    public boolean offer(EventBean bean) {
+        if (bean == null) {
+            throw new NullPointerException();
+        }
+        if (timed) {
+            throw new UnsupportedOperationException("Window requires a timestamp");
+        }
+        Chunk chunk = appendChunk();
+        chunk.events[chunk.tail++] = bean;
+        size++;
+        return true;
+    }
+
+    public EventBean poll() {
+        while (!chunks.isEmpty()) {
+            Chunk chunk = chunks.getFirst();
+            while (chunk.head < chunk.tail) {
+                EventBean bean = chunk.events[chunk.head];
+                chunk.events[chunk.head++] = null;
+                if (bean != null) {
+                    size--;
+                    if (chunk.head == chunk.tail) {
+                        releaseFirst();
+                    }
+                    return bean;
+                }
+                tombstones--;
+            }
+            releaseFirst();
+        }
+        return null;
+    }
+
+    public EventBean peek() {
+        for (Chunk chunk : chunks) {
+            for (int i = chunk.head; i < chunk.tail; i++) {
+                if (chunk.events[i] != null) {
+                    return chunk.events[i];
+                }
+            }
+        }
+        return null;
+    }
+
+    public boolean remove(Object o) {
+        if (o == null || size == 0) {
+            return false;
+        }
+        Iterator<Chunk> it = chunks.descendingIterator();
+        while (it.hasNext()) {
+            Chunk chunk = it.next();
+            for (int i = chunk.tail - 1; i >= chunk.head; i--) {
+                EventBean bean = chunk.events[i];
+                if (bean != null && (bean == o || bean.equals(o))) {
+                    chunk.events[i] = null;
+                    size--;
+                    tombstones++;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes and returns events that have a timestamp less than the timestamp passed in.
+     *
+     * @param expireBefore is the timestamp from which on to keep events in the window
+     * @return events expired and removed from the window, or null if none expired
+     */
+    public ArrayDeque<EventBean> expireEvents(long expireBefore) {
+        if (!timed) {
+            throw new UnsupportedOperationException("Window does not keep timestamps");
+        }
+        ArrayDeque<EventBean> result = null;
+        while (!chunks.isEmpty()) {
+            Chunk chunk = chunks.getFirst();
+            while (chunk.head < chunk.tail && chunk.timestamps[chunk.head] < expireBefore) {
+                EventBean bean = chunk.events[chunk.head];
+                chunk.events[chunk.head++] = null;
+                if (bean != null) {
+                    if (result == null) {
+                        result = new ArrayDeque<>();
+                    }
+                    result.add(bean);
+                    size--;
+                } else {
+                    tombstones--;
+                }
+            }
+            if (chunk.head < chunk.tail) {
+                break;
+            }
+            releaseFirst();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the timestamp of the oldest event, or null if the window is empty.
+     *
+     * @return oldest timestamp or null
+     */
+    public Long getOldestTimestamp() {
+        if (!timed) {
+            throw new UnsupportedOperationException("Window does not keep timestamps");
+        }
+        for (Chunk chunk : chunks) {
+            for (int i = chunk.head; i < chunk.tail; i++) {
+                if (chunk.events[i] != null) {
+                    return chunk.timestamps[i];
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adjust timestamps.
+     *
+     * @param delta delta to adjust for
+     */
+    public void adjust(long delta) {
+        if (!timed) {
+            throw new UnsupportedOperationException("Window does not keep timestamps");
+        }
+        for (Chunk chunk : chunks) {
+            for (int i = chunk.head; i < chunk.tail; i++) {
+                chunk.timestamps[i] += delta;
+            }
+        }
+    }
+
+    public Iterator<EventBean> iterator() {
+        return new CompactEventWindowIterator();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        chunks.clear();
+        size = 0;
+        tombstones = 0;
+    }
+
+    /**
+     * Returns the number of removed events that still occupy a slot, for testing purposes.
+     *
+     * @return tombstone count
+     */
+    public int getTombstoneCount() {
+        return tombstones;
+    }
+
+    /**
+     * Returns the number of chunks, for testing purposes.
+     *
+     * @return chunk count
+     */
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    private Chunk appendChunk() {
+        Chunk last = chunks.peekLast();
+        if (last != null && last.tail < chunkSize) {
+            return last;
+        }
+        Chunk chunk = spare;
+        if (chunk != null) {
+            spare = null;
+        } else {
+            chunk = new Chunk(timed ? new long[chunkSize] : null, new EventBean[chunkSize]);
+        }
+        chunks.addLast(chunk);
+        return chunk;
+    }
+
+    private void releaseFirst() {
+        Chunk chunk = chunks.removeFirst();
+        chunk.head = 0;
+        chunk.tail = 0;
+        spare = chunk;
+    }
+
+    private final static class Chunk {
+        private final long[] timestamps;
+        private final EventBean[] events;
+        private int head;
+        private int tail;
+
+        private Chunk(long[] timestamps, EventBean[] events) {
+            this.timestamps = timestamps;
+            this.events = events;
+        }
+    }
+
+    private final class CompactEventWindowIterator implements Iterator<EventBean> {
+        private final Iterator<Chunk> chunkIterator = chunks.iterator();
+        private Chunk chunk;
+        private int index;
+        private Chunk lastChunk;
+        private int lastIndex = -1;
+
+        private CompactEventWindowIterator() {
+            advance();
+        }
+
+        public boolean hasNext() {
+            return chunk != null;
+        }
+
+        public EventBean next() {
+            if (chunk == null) {
+                throw new NoSuchElementException();
+            }
+            EventBean bean = chunk.events[index];
+            lastChunk = chunk;
+            lastIndex = index;
+            index++;
+            advance();
+            return bean;
+        }
+
+        public void remove() {
+            if (lastIndex == -1) {
+                throw new IllegalStateException();
+            }
+            lastChunk.events[lastIndex] = null;
+            lastIndex = -1;
+            size--;
+            tombstones++;
+        }
+
+        private void advance() {
+            while (true) {
+                if (chunk != null) {
+                    while (index < chunk.tail) {
+                        if (chunk.events[index] != null) {
+                            return;
+                        }
+                        index++;
+                    }
+                }
+                if (!chunkIterator.hasNext()) {
+                    chunk = null;
+                    return;
+                }
+                chunk = chunkIterator.next();
+                index = chunk.head;
+            }
+        }
+    }
+}
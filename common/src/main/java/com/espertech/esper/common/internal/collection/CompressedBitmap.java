@@ -0,0 +1,464 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed bitmap of non-negative int values.
+ * <p>
+ * Values are split into chunks by their upper 16 bits. A chunk that holds up to 4096 values keeps
+ * the lower 16 bits of its values in a sorted array, a chunk that holds more values keeps them in a fixed-size
+ * bitmap of 65536 bits. Sparse bitmaps therefore use about 2 bytes per value and dense bitmaps at most 1 bit per value,
+ * and intersections and unions work chunk-by-chunk on words or sorted arrays.
+ * <p>
+ * Not thread-safe.
+ */
+public class CompressedBitmap {
+    private static final int ARRAY_MAX_SIZE = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    /**
+     * Ctor.
+     */
+    public CompressedBitmap() {
+        this.keys = new char[4];
+        this.containers = new Container[4];
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value to add, non-negative
+     */
+    public void add(int value) {
+        char high = (char) (value >>> 16);
+        int index = findChunk(high);
+        if (index >= 0) {
+            containers[index] = containers[index].add((char) value);
+            return;
+        }
+        insertChunk(-index - 1, high, new ArrayContainer().add((char) value));
+    }
+
+    /**
+     * Removes a value, not an error if the value is not in the bitmap.
+     *
+     * @param value to remove
+     */
+    public void remove(int value) {
+        int index = findChunk((char) (value >>> 16));
+        if (index < 0) {
+            return;
+        }
+        Container container = containers[index].remove((char) value);
+        if (container.getCardinality() == 0) {
+            removeChunk(index);
+        } else {
+            containers[index] = container;
+        }
+    }
+
+    /**
+     * Returns true when the value is in the bitmap.
+     *
+     * @param value to check
+     * @return indicator
+     */
+    public boolean contains(int value) {
+        int index = findChunk((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return cardinality
+     */
+    public int getCardinality() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += containers[i].getCardinality();
+        }
+        return count;
+    }
+
+    /**
+     * Returns true when there are no values.
+     *
+     * @return indicator
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all values.
+     */
+    public void clear() {
+        Arrays.fill(containers, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Passes each value in ascending order to the consumer.
+     *
+     * @param consumer consumer
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    /**
+     * Returns the values in ascending order.
+     *
+     * @return values
+     */
+    public int[] toArray() {
+        int[] values = new int[getCardinality()];
+        int[] count = new int[1];
+        forEach(value -> values[count[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Returns a new bitmap that holds the values that are in both bitmaps.
+     *
+     * @param one first
+     * @param two second
+     * @return intersection
+     */
+    public static CompressedBitmap and(CompressedBitmap one, CompressedBitmap two) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < one.size && j < two.size) {
+            if (one.keys[i] < two.keys[j]) {
+                i++;
+            } else if (one.keys[i] > two.keys[j]) {
+                j++;
+            } else {
+                Container container = one.containers[i].and(two.containers[j]);
+                if (container.getCardinality() > 0) {
+                    result.appendChunk(one.keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new bitmap that holds the values that are in either bitmap.
+     *
+     * @param one first
+     * @param two second
+     * @return union
+     */
+    public static CompressedBitmap or(CompressedBitmap one, CompressedBitmap two) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < one.size || j < two.size) {
+            if (j == two.size || (i < one.size && one.keys[i] < two.keys[j])) {
+                result.appendChunk(one.keys[i], one.containers[i].copy());
+                i++;
+            } else if (i == one.size || one.keys[i] > two.keys[j]) {
+                result.appendChunk(two.keys[j], two.containers[j].copy());
+                j++;
+            } else {
+                result.appendChunk(one.keys[i], one.containers[i].or(two.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    private int findChunk(char high) {
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    private void insertChunk(int index, char high, Container container) {
+        ensureCapacity();
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = high;
+        containers[index] = container;
+        size++;
+    }
+
+    private void appendChunk(char high, Container container) {
+        ensureCapacity();
+        keys[size] = high;
+        containers[size] = container;
+        size++;
+    }
+
+    private void removeChunk(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    private void ensureCapacity() {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+    }
+
+    private static abstract class Container {
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int getCardinality();
+
+        abstract void forEach(int base, IntConsumer consumer);
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract Container copy();
+    }
+
+    private static class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this.values = new char[4];
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX_SIZE) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX_SIZE, cardinality * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        int getCardinality() {
+            return cardinality;
+        }
+
+        void forEach(int base, IntConsumer consumer) {
+            for (int i = 0; i < cardinality; i++) {
+                consumer.accept(base | values[i]);
+            }
+        }
+
+        Container and(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            if (other instanceof BitmapContainer) {
+                BitmapContainer bitmap = (BitmapContainer) other;
+                for (int i = 0; i < cardinality; i++) {
+                    if (bitmap.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+                return new ArrayContainer(result, count);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < array.cardinality) {
+                if (values[i] < array.values[j]) {
+                    i++;
+                } else if (values[i] > array.values[j]) {
+                    j++;
+                } else {
+                    result[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            if (cardinality + array.cardinality > ARRAY_MAX_SIZE) {
+                return toBitmap().or(array);
+            }
+            char[] result = new char[cardinality + array.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    result[count++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    result[count++] = array.values[j++];
+                } else {
+                    result[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(1, cardinality)), cardinality);
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer(new long[BITMAP_WORDS], 0);
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        Container add(char value) {
+            long before = words[value >>> 6];
+            long after = before | (1L << value);
+            if (before != after) {
+                words[value >>> 6] = after;
+                cardinality++;
+            }
+            return this;
+        }
+
+        Container remove(char value) {
+            long before = words[value >>> 6];
+            long after = before & ~(1L << value);
+            if (before == after) {
+                return this;
+            }
+            words[value >>> 6] = after;
+            cardinality--;
+            if (cardinality <= ARRAY_MAX_SIZE / 2) {
+                return toArray();
+            }
+            return this;
+        }
+
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        int getCardinality() {
+            return cardinality;
+        }
+
+        void forEach(int base, IntConsumer consumer) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    consumer.accept(base | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] result = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] & otherWords[i];
+                count += Long.bitCount(result[i]);
+            }
+            BitmapContainer bitmap = new BitmapContainer(result, count);
+            return count > ARRAY_MAX_SIZE ? bitmap : bitmap.toArray();
+        }
+
+        Container or(Container other) {
+            long[] result = Arrays.copyOf(words, BITMAP_WORDS);
+            if (other instanceof ArrayContainer) {
+                BitmapContainer bitmap = new BitmapContainer(result, cardinality);
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.cardinality; i++) {
+                    bitmap.add(array.values[i]);
+                }
+                return bitmap;
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] |= otherWords[i];
+                count += Long.bitCount(result[i]);
+            }
+            return new BitmapContainer(result, count);
+        }
+
+        Container copy() {
+            return new BitmapContainer(Arrays.copyOf(words, BITMAP_WORDS), cardinality);
+        }
+
+        private ArrayContainer toArray() {
+            char[] values = new char[Math.max(1, cardinality)];
+            int[] count = new int[1];
+            forEach(0, value -> values[count[0]++] = (char) value);
+            return new ArrayContainer(values, cardinality);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Hash map keyed by primitive long, based on open addressing with linear probing.
+ * <p>
+ * Keys are not boxed and lookups do not call hashCode or equals. Null values are not allowed.
+ * Not thread-safe.
+ *
+ * @param <V> value type
+ */
+public class LongHashMap<V> {
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    /**
+     * Ctor.
+     */
+    public LongHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param expectedSize number of entries to size the table for
+     */
+    public LongHashMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Returns the value for the key or null if not found.
+     *
+     * @param key key
+     * @return value or null
+     */
+    public V get(long key) {
+        int slot = hash(key) & mask;
+        while (true) {
+            Object value = values[slot];
+            if (value == null) {
+                return null;
+            }
+            if (keys[slot] == key) {
+                return (V) value;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns indicator whether the key exists.
+     *
+     * @param key key
+     * @return true for key found
+     */
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associate the value with the key, replacing any existing value.
+     *
+     * @param key   key
+     * @param value value, cannot be null
+     * @return prior value or null if none
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        int slot = hash(key) & mask;
+        while (true) {
+            Object existing = values[slot];
+            if (existing == null) {
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                if (size * 2 > values.length) {
+                    rehash(values.length << 1);
+                }
+                return null;
+            }
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return (V) existing;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Remove the key.
+     *
+     * @param key key
+     * @return removed value or null if not found
+     */
+    public V remove(long key) {
+        int slot = hash(key) & mask;
+        while (true) {
+            Object existing = values[slot];
+            if (existing == null) {
+                return null;
+            }
+            if (keys[slot] == key) {
+                shiftBack(slot);
+                size--;
+                return (V) existing;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true for no entries.
+     *
+     * @return empty indicator
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Visit all entries, in no particular order. The visitor must not modify the map.
+     *
+     * @param visitor visitor
+     */
+    public void visit(LongHashMapVisitor<V> visitor) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                visitor.visit(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator over all values, in no particular order. The map must not be modified while iterating.
+     *
+     * @return value iterator
+     */
+    public Iterator<V> valueIterator() {
+        return new Iterator<V>() {
+            private int index = advance(0);
+
+            public boolean hasNext() {
+                return index < values.length;
+            }
+
+            public V next() {
+                if (index >= values.length) {
+                    throw new NoSuchElementException();
+                }
+                V value = (V) values[index];
+                index = advance(index + 1);
+                return value;
+            }
+
+            private int advance(int from) {
+                while (from < values.length && values[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+        };
+    }
+
+    public interface LongHashMapVisitor<V> {
+        void visit(long key, V value);
+    }
+
+    // Removal for linear probing without tombstones: move any following entries of the same probe chain
+    // into the freed slot so that lookups never stop early.
+    private void shiftBack(int slot) {
+        int free = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & mask;
+            if (values[current] == null) {
+                break;
+            }
+            int home = hash(keys[current]) & mask;
+            boolean movable = free <= current ? (home <= free || home > current) : (home <= free && home > current);
+            if (movable) {
+                keys[free] = keys[current];
+                values[free] = values[current];
+                free = current;
+            }
+        }
+        values[free] = null;
+        keys[free] = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            int slot = hash(oldKeys[i]) & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
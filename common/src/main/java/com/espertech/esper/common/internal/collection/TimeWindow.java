@@ -26,7 +26,7 @@ import java.util.*;
  * It is assumed that the timestamp passed to the add method is ascending. The window is backed by a
  * collection reflecting the timestamp order rather then any sorted map or linked hash map for performance reasons.
  */
-public final class TimeWindow implements Iterable {
+public final class TimeWindow implements TimeWindowStore {
     private ArrayDeque<TimeWindowPair> window;
     private Map<EventBean, TimeWindowPair> reverseIndex;
     private int size;
@@ -0,0 +1,77 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.view.core.DataWindowViewFactory;
+import com.espertech.esper.common.internal.view.core.ViewDataVisitor;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Time window store that keeps events and timestamps in chunked arrays, see {@link CompactEventWindow}.
+ * Does not allocate an object per event or per timestamp and does not keep a reverse index,
+ * so that removal of an event for a remove stream scans the window.
+ */
+public final class TimeWindowCompact implements TimeWindowStore {
+    private final CompactEventWindow window = new CompactEventWindow(true);
+    private final boolean isSupportRemoveStream;
+
+    /**
+     * Ctor.
+     *
+     * @param isSupportRemoveStream true to indicate the time window should support removal of events
+     *                              in the window based on the remove stream events received, or false to not accomodate removal at all
+     */
+    public TimeWindowCompact(boolean isSupportRemoveStream) {
+        this.isSupportRemoveStream = isSupportRemoveStream;
+    }
+
+    public void adjust(long delta) {
+        window.adjust(delta);
+    }
+
+    public void add(long timestamp, EventBean bean) {
+        window.add(timestamp, bean);
+    }
+
+    public void remove(EventBean theEvent) {
+        if (!isSupportRemoveStream) {
+            throw new UnsupportedOperationException("Time window does not accept event removal");
+        }
+        window.remove(theEvent);
+    }
+
+    public ArrayDeque<EventBean> expireEvents(long expireBefore) {
+        return window.expireEvents(expireBefore);
+    }
+
+    public Long getOldestTimestamp() {
+        return window.getOldestTimestamp();
+    }
+
+    public boolean isEmpty() {
+        return window.isEmpty();
+    }
+
+    public Iterator<EventBean> iterator() {
+        return window.iterator();
+    }
+
+    public CompactEventWindow getWindow() {
+        return window;
+    }
+
+    public void visitView(ViewDataVisitor viewDataVisitor, DataWindowViewFactory viewFactory) {
+        viewDataVisitor.visitPrimary(window, true, viewFactory.getViewName(), window.size());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.view.core.DataWindowViewFactory;
+import com.espertech.esper.common.internal.view.core.ViewDataVisitor;
+
+import java.util.ArrayDeque;
+
+/**
+ * Store for events per timestamp for use by time windows, see {@link TimeWindow} and {@link TimeWindowCompact}.
+ */
+public interface TimeWindowStore extends Iterable<EventBean> {
+    /**
+     * Adds event to the time window for the specified timestamp.
+     *
+     * @param timestamp - the time slot for the event
+     * @param bean      - event to add
+     */
+    void add(long timestamp, EventBean bean);
+
+    /**
+     * Removes the event from the window, if remove stream handling is enabled.
+     *
+     * @param theEvent to remove
+     */
+    void remove(EventBean theEvent);
+
+    /**
+     * Return and remove events in time-slots earlier (less) then the timestamp passed in,
+     * returning the list of events expired.
+     *
+     * @param expireBefore is the timestamp from which on to keep events in the window
+     * @return a list of events expired and removed from the window, or null if none expired
+     */
+    ArrayDeque<EventBean> expireEvents(long expireBefore);
+
+    /**
+     * Returns the oldest timestamp in the collection if there is at least one entry,
+     * else it returns null if the window is empty.
+     *
+     * @return null if empty, oldest timestamp if not empty
+     */
+    Long getOldestTimestamp();
+
+    /**
+     * Returns true if the window is currently empty.
+     *
+     * @return true if empty, false if not
+     */
+    boolean isEmpty();
+
+    void visitView(ViewDataVisitor viewDataVisitor, DataWindowViewFactory viewFactory);
+}
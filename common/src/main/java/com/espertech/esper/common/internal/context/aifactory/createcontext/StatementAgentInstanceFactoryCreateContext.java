@@ -56,6 +56,8 @@ public class StatementAgentInstanceFactoryCreateContext implements StatementAgen
     }
 
     public void statementCreate(StatementContext statementContext) {
+        CopyOnWriteArrayList<ContextStateListener> internalListeners = statementContext.getContextManagementService().getInternalListeners();
+        ContextStateEventUtil.dispatchContext(internalListeners, () -> new ContextStateEventContextCreated(statementContext.getRuntimeURI(), statementContext.getDeploymentId(), contextName), ContextStateListener::onContextCreated);
         CopyOnWriteArrayList<ContextStateListener> listeners = statementContext.getContextManagementService().getListeners();
         ContextStateEventUtil.dispatchContext(listeners, () -> new ContextStateEventContextCreated(statementContext.getRuntimeURI(), statementContext.getDeploymentId(), contextName), ContextStateListener::onContextCreated);
     }
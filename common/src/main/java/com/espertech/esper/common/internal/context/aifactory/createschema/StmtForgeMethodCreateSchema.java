@@ -34,6 +34,7 @@ import com.espertech.esper.common.internal.event.core.EventTypeForgablesPair;
 import com.espertech.esper.common.internal.event.core.EventTypeUtility;
 import com.espertech.esper.common.internal.event.variant.VariantEventType;
 import com.espertech.esper.common.internal.event.variant.VariantSpec;
+import com.espertech.esper.common.internal.serde.compiletime.eventtype.SerdeEventTypeUtility;
 
 import java.util.*;
 
@@ -73,6 +74,10 @@ public class StmtForgeMethodCreateSchema implements StmtForgeMethod {
         for (StmtClassForgeableFactory additional : eventTypeForgablesPair.getAdditionalForgeables()) {
             forgeables.add(additional.make(packageScope, classPostfix));
         }
+        List<StmtClassForgeableFactory> wireSerdeForgeables = SerdeEventTypeUtility.planWire(eventTypeForgablesPair.getEventType(), base.getStatementRawInfo(), services.getSerdeEventTypeRegistry());
+        for (StmtClassForgeableFactory additional : wireSerdeForgeables) {
+            forgeables.add(additional.make(packageScope, classPostfix));
+        }
         forgeables.add(aiFactoryForgeable);
         forgeables.add(stmtProvider);
         return new StmtForgeMethodResult(forgeables, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), packageScope, services.getStateMgmtSettingsProvider().newCharge());
@@ -42,6 +42,7 @@ public class StatementAgentInstanceFactoryCreateTable implements StatementAgentI
     private MultiKeyFromObjectArray primaryKeyObjectArrayTransform;
     private MultiKeyFromMultiKey primaryKeyIntoTableTransform;
     private DataInputOutputSerde[] propertyForges;
+    private boolean targetHA;
 
     private Table table;
 
@@ -85,6 +86,19 @@ public class StatementAgentInstanceFactoryCreateTable implements StatementAgentI
         this.propertyForges = propertyForges;
     }
 
+    public void setTargetHA(boolean targetHA) {
+        this.targetHA = targetHA;
+    }
+
+    /**
+     * Returns the indicator whether the module was compiled for HA, i.e. whether the aggregation serde is implemented.
+     *
+     * @return indicator
+     */
+    public boolean isTargetHA() {
+        return targetHA;
+    }
+
     public void ready(StatementContext statementContext, ModuleIncidentals moduleIncidentals, boolean recovery) {
         table = statementContext.getTableManagementService().getTable(statementContext.getDeploymentId(), tableName);
         if (table == null) {
@@ -79,6 +79,7 @@ public class StatementAgentInstanceFactoryCreateTableForge {
             .exprDotMethod(ref("saiff"), "setPrimaryKeyGetter", primaryKeyGetter)
             .exprDotMethod(ref("saiff"), "setPrimaryKeySerde", plan.getPrimaryKeyMultikeyClasses().getExprMKSerde(method, classScope))
             .exprDotMethod(ref("saiff"), "setPropertyForges", DataInputOutputSerdeForge.codegenArray(plan.getInternalEventTypePropertySerdes(), method, classScope, exprDotMethod(symbols.getAddInitSvc(method), EPStatementInitServices.GETEVENTTYPERESOLVER)))
+            .exprDotMethod(ref("saiff"), "setTargetHA", constant(isTargetHA))
             .exprDotMethod(ref("saiff"), "setPrimaryKeyObjectArrayTransform", fafTransform)
             .exprDotMethod(ref("saiff"), "setPrimaryKeyIntoTableTransform", intoTableTransform)
             .exprDotMethod(symbols.getAddInitSvc(method), "addReadyCallback", ref("saiff"))
@@ -36,6 +36,7 @@ import com.espertech.esper.common.internal.epl.resultset.select.core.SelectSubsc
 import com.espertech.esper.common.internal.epl.streamtype.StreamTypeService;
 import com.espertech.esper.common.internal.epl.streamtype.StreamTypeServiceImpl;
 import com.espertech.esper.common.internal.epl.virtualdw.VirtualDWViewFactoryForge;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
 import com.espertech.esper.common.internal.fabric.FabricCharge;
 import com.espertech.esper.common.internal.schedule.ScheduleHandleTracked;
 import com.espertech.esper.common.internal.view.core.*;
@@ -137,7 +138,8 @@ public class StmtForgeMethodCreateWindow implements StmtForgeMethod {
         boolean isBatchingDataWindow = determineBatchingDataWindow(viewForges);
         boolean virtualDataWindow = viewForges.get(0) instanceof VirtualDWViewFactoryForge;
         boolean isEnableIndexShare = virtualDataWindow || HintEnum.ENABLE_WINDOW_SUBQUERY_INDEXSHARE.getHint(base.getStatementSpec().getAnnotations()) != null;
-        NamedWindowMetaData metaData = new NamedWindowMetaData(namedWindowType, base.getModuleName(), base.getContextName(), uniqueKeyProArray, isBatchingDataWindow, isEnableIndexShare, compileResult.getAsEventType(), virtualDataWindow);
+        boolean columnarStore = HintEnum.COLUMNAR_STORE.getHint(base.getStatementSpec().getAnnotations()) != null && namedWindowType instanceof ObjectArrayEventType && !isBatchingDataWindow && !virtualDataWindow;
+        NamedWindowMetaData metaData = new NamedWindowMetaData(namedWindowType, base.getModuleName(), base.getContextName(), uniqueKeyProArray, isBatchingDataWindow, isEnableIndexShare, compileResult.getAsEventType(), virtualDataWindow, columnarStore);
         services.getNamedWindowCompileTimeRegistry().newNamedWindow(metaData);
 
         // fabric named window descriptor
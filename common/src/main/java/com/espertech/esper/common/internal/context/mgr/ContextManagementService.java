@@ -32,5 +32,12 @@ public interface ContextManagementService {
 
     CopyOnWriteArrayList<ContextStateListener> getListeners();
 
+    /**
+     * Returns the listeners that the runtime registers for its own use, which the context partition administrative API does not expose.
+     *
+     * @return internal listeners
+     */
+    CopyOnWriteArrayList<ContextStateListener> getInternalListeners();
+
     Map<String, ContextDeployment> getDeployments();
 }
@@ -25,6 +25,7 @@ public class ContextManagementServiceImpl implements ContextManagementService {
     private static final Logger log = LoggerFactory.getLogger(ContextManagementServiceImpl.class);
 
     private final CopyOnWriteArrayList<ContextStateListener> listeners = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<ContextStateListener> internalListeners = new CopyOnWriteArrayList<>();
     private final Map<String, ContextDeployment> deployments = new HashMap<>();
 
     public void addContext(ContextDefinition contextDefinition, EPStatementInitServices services) {
@@ -72,6 +73,7 @@ public class ContextManagementServiceImpl implements ContextManagementService {
         if (deployment.getContextCount() == 0) {
             deployments.remove(deploymentIdCreateContext);
         }
+        ContextStateEventUtil.dispatchContext(internalListeners, () -> new ContextStateEventContextDestroyed(runtimeURI, deploymentIdCreateContext, contextName), ContextStateListener::onContextDestroyed);
         ContextStateEventUtil.dispatchContext(listeners, () -> new ContextStateEventContextDestroyed(runtimeURI, deploymentIdCreateContext, contextName), ContextStateListener::onContextDestroyed);
     }
 
@@ -79,6 +81,10 @@ public class ContextManagementServiceImpl implements ContextManagementService {
         return listeners;
     }
 
+    public CopyOnWriteArrayList<ContextStateListener> getInternalListeners() {
+        return internalListeners;
+    }
+
     public Map<String, ContextDeployment> getDeployments() {
         return deployments;
     }
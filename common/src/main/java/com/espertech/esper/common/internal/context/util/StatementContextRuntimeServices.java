@@ -24,6 +24,7 @@ import com.espertech.esper.common.internal.epl.dataflow.filtersvcadapter.DataFlo
 import com.espertech.esper.common.internal.epl.enummethod.cache.ExpressionResultCacheService;
 import com.espertech.esper.common.internal.epl.historical.database.connection.DatabaseConfigServiceRuntime;
 import com.espertech.esper.common.internal.epl.historical.datacache.HistoricalDataCacheFactory;
+import com.espertech.esper.common.internal.epl.historical.execstrategy.HistoricalPollAsyncService;
 import com.espertech.esper.common.internal.epl.index.base.EventTableIndexService;
 import com.espertech.esper.common.internal.epl.namedwindow.consume.NamedWindowConsumerManagementService;
 import com.espertech.esper.common.internal.epl.namedwindow.core.NamedWindowManagementService;
@@ -85,6 +86,7 @@ public class StatementContextRuntimeServices {
     private final FilterSharedBoolExprRepository filterSharedBoolExprRepository;
     private final FilterSharedLookupableRepository filterSharedLookupableRepository;
     private final HistoricalDataCacheFactory historicalDataCacheFactory;
+    private final HistoricalPollAsyncService historicalPollAsyncService;
     private final InternalEventRouter internalEventRouter;
     private final MetricReportingService metricReportingService;
     private final NamedWindowConsumerManagementService namedWindowConsumerManagementService;
@@ -102,7 +104,7 @@ public class StatementContextRuntimeServices {
     private final ViewFactoryService viewFactoryService;
     private final ViewServicePreviousFactory viewServicePreviousFactory;
 
-    public StatementContextRuntimeServices(Configuration configSnapshot, ContextManagementService contextManagementService, PathRegistry<String, ContextMetaData> contextPathRegistry, ContextServiceFactory contextServiceFactory, DatabaseConfigServiceRuntime databaseConfigService, DataFlowFilterServiceAdapter dataFlowFilterServiceAdapter, EPDataFlowServiceImpl dataflowService, String runtimeURI, Context runtimeEnvContext, ClasspathImportServiceRuntime classpathImportServiceRuntime, RuntimeSettingsService runtimeSettingsService, RuntimeExtensionServices runtimeExtensionServices, Object epRuntime, EPRenderEventService epRuntimeRenderEvent, EventServiceSendEventCommon eventServiceSendEventInternal, EPRuntimeEventProcessWrapped epRuntimeEventProcessWrapped, EventBeanService eventBeanService, EventBeanTypedEventFactory eventBeanTypedEventFactory, EventTableIndexService eventTableIndexService, EventTypeAvroHandler eventTypeAvroHandler, PathRegistry<String, EventType> eventTypePathRegistry, EventTypeRepositoryImpl eventTypeRepositoryPreconfigured, EventTypeResolvingBeanFactory eventTypeResolvingBeanFactory, ManagedReadWriteLock eventProcessingRWLock, ExceptionHandlingService exceptionHandlingService, ExpressionResultCacheService expressionResultCacheService, FilterBooleanExpressionFactory filterBooleanExpressionFactory, FilterSharedBoolExprRepository filterSharedBoolExprRepository, FilterSharedLookupableRepository filterSharedLookupableRepository, HistoricalDataCacheFactory historicalDataCacheFactory, InternalEventRouter internalEventRouter, MetricReportingService metricReportingService, NamedWindowConsumerManagementService namedWindowConsumerManagementService, NamedWindowManagementService namedWindowManagementService, PathRegistry<String, ContextMetaData> pathContextRegistry, PathRegistry<String, NamedWindowMetaData> pathNamedWindowRegistry, RowRecogStateRepoFactory rowRecogStateRepoFactory, ResultSetProcessorHelperFactory resultSetProcessorHelperFactory, SchedulingService schedulingService, StatementAgentInstanceLockFactory statementAgentInstanceLockFactory, StatementResourceHolderBuilder statementResourceHolderBuilder, TableExprEvaluatorContext tableExprEvaluatorContext, TableManagementService tableManagementService, VariableManagementService variableManagementService, ViewFactoryService viewFactoryService, ViewServicePreviousFactory viewServicePreviousFactory) {
+    public StatementContextRuntimeServices(Configuration configSnapshot, ContextManagementService contextManagementService, PathRegistry<String, ContextMetaData> contextPathRegistry, ContextServiceFactory contextServiceFactory, DatabaseConfigServiceRuntime databaseConfigService, DataFlowFilterServiceAdapter dataFlowFilterServiceAdapter, EPDataFlowServiceImpl dataflowService, String runtimeURI, Context runtimeEnvContext, ClasspathImportServiceRuntime classpathImportServiceRuntime, RuntimeSettingsService runtimeSettingsService, RuntimeExtensionServices runtimeExtensionServices, Object epRuntime, EPRenderEventService epRuntimeRenderEvent, EventServiceSendEventCommon eventServiceSendEventInternal, EPRuntimeEventProcessWrapped epRuntimeEventProcessWrapped, EventBeanService eventBeanService, EventBeanTypedEventFactory eventBeanTypedEventFactory, EventTableIndexService eventTableIndexService, EventTypeAvroHandler eventTypeAvroHandler, PathRegistry<String, EventType> eventTypePathRegistry, EventTypeRepositoryImpl eventTypeRepositoryPreconfigured, EventTypeResolvingBeanFactory eventTypeResolvingBeanFactory, ManagedReadWriteLock eventProcessingRWLock, ExceptionHandlingService exceptionHandlingService, ExpressionResultCacheService expressionResultCacheService, FilterBooleanExpressionFactory filterBooleanExpressionFactory, FilterSharedBoolExprRepository filterSharedBoolExprRepository, FilterSharedLookupableRepository filterSharedLookupableRepository, HistoricalDataCacheFactory historicalDataCacheFactory, HistoricalPollAsyncService historicalPollAsyncService, InternalEventRouter internalEventRouter, MetricReportingService metricReportingService, NamedWindowConsumerManagementService namedWindowConsumerManagementService, NamedWindowManagementService namedWindowManagementService, PathRegistry<String, ContextMetaData> pathContextRegistry, PathRegistry<String, NamedWindowMetaData> pathNamedWindowRegistry, RowRecogStateRepoFactory rowRecogStateRepoFactory, ResultSetProcessorHelperFactory resultSetProcessorHelperFactory, SchedulingService schedulingService, StatementAgentInstanceLockFactory statementAgentInstanceLockFactory, StatementResourceHolderBuilder statementResourceHolderBuilder, TableExprEvaluatorContext tableExprEvaluatorContext, TableManagementService tableManagementService, VariableManagementService variableManagementService, ViewFactoryService viewFactoryService, ViewServicePreviousFactory viewServicePreviousFactory) {
         this.configSnapshot = configSnapshot;
         this.contextManagementService = contextManagementService;
         this.contextPathRegistry = contextPathRegistry;
@@ -133,6 +135,7 @@ public class StatementContextRuntimeServices {
         this.filterSharedBoolExprRepository = filterSharedBoolExprRepository;
         this.filterSharedLookupableRepository = filterSharedLookupableRepository;
         this.historicalDataCacheFactory = historicalDataCacheFactory;
+        this.historicalPollAsyncService = historicalPollAsyncService;
         this.internalEventRouter = internalEventRouter;
         this.metricReportingService = metricReportingService;
         this.namedWindowConsumerManagementService = namedWindowConsumerManagementService;
@@ -182,6 +185,7 @@ public class StatementContextRuntimeServices {
         this.filterSharedBoolExprRepository = null;
         this.filterSharedLookupableRepository = null;
         this.historicalDataCacheFactory = null;
+        this.historicalPollAsyncService = null;
         this.internalEventRouter = null;
         this.metricReportingService = null;
         this.namedWindowConsumerManagementService = null;
@@ -292,6 +296,10 @@ public class StatementContextRuntimeServices {
         return historicalDataCacheFactory;
     }
 
+    public HistoricalPollAsyncService getHistoricalPollAsyncService() {
+        return historicalPollAsyncService;
+    }
+
     public InternalEventRouter getInternalEventRouter() {
         return internalEventRouter;
     }
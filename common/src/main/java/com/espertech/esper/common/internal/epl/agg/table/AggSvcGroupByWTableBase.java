@@ -18,6 +18,7 @@ import com.espertech.esper.common.internal.epl.table.core.TableColumnMethodPairE
 import com.espertech.esper.common.internal.epl.table.core.TableEvalLockUtil;
 import com.espertech.esper.common.internal.epl.table.core.TableInstance;
 import com.espertech.esper.common.internal.epl.table.core.TableInstanceGrouped;
+import com.espertech.esper.common.internal.epl.table.core.TableRowStripedLock;
 import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
 import com.espertech.esper.common.internal.metrics.instrumentation.InstrumentationCommon;
 
@@ -31,7 +32,9 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService, Agg
     protected final TableColumnMethodPairEval[] methodPairs;
     private final AggregationMultiFunctionAgent[] accessAgents;
     private final int[] accessColumnsZeroOffset;
+    private final TableRowStripedLock rowLock;
 
+    // guarded by the statement lock, the row lock applies to the table only
     protected AggregationRow currentAggregationRow;
     protected Object currentGroupKey;
 
@@ -40,6 +43,7 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService, Agg
         this.methodPairs = methodPairs;
         this.accessAgents = accessAgents;
         this.accessColumnsZeroOffset = accessColumnsZeroOffset;
+        this.rowLock = tableInstance.getRowStripedLock();
     }
 
     public abstract void applyEnterInternal(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext);
@@ -47,14 +51,18 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService, Agg
     public abstract void applyLeaveInternal(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext);
 
     public void applyEnter(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext) {
-        // acquire tableInstance-level write lock
-        TableEvalLockUtil.obtainLockUnless(tableInstance.getTableLevelRWLock().writeLock(), exprEvaluatorContext);
+        // acquire tableInstance-level write lock, unless locking rows
+        if (rowLock == null) {
+            TableEvalLockUtil.obtainLockUnless(tableInstance.getTableLevelRWLock().writeLock(), exprEvaluatorContext);
+        }
         applyEnterInternal(eventsPerStream, groupByKey, exprEvaluatorContext);
     }
 
     public void applyLeave(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext) {
-        // acquire tableInstance-level write lock
-        TableEvalLockUtil.obtainLockUnless(tableInstance.getTableLevelRWLock().writeLock(), exprEvaluatorContext);
+        // acquire tableInstance-level write lock, unless locking rows
+        if (rowLock == null) {
+            TableEvalLockUtil.obtainLockUnless(tableInstance.getTableLevelRWLock().writeLock(), exprEvaluatorContext);
+        }
         applyLeaveInternal(eventsPerStream, groupByKey, exprEvaluatorContext);
     }
 
@@ -70,7 +78,7 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService, Agg
 
     public void setCurrentAccess(Object groupByKeyUntransformed, int agentInstanceId, AggregationGroupByRollupLevel rollupLevel) {
         Object groupByKey = tableInstance.getTable().getPrimaryKeyIntoTableTransform().from(groupByKeyUntransformed);
-        ObjectArrayBackedEventBean bean = tableInstance.getRowForGroupKey(groupByKey);
+        ObjectArrayBackedEventBean bean = getRowForTableKey(groupByKey);
         if (bean != null) {
             currentAggregationRow = (AggregationRow) bean.getProperties()[0];
         } else {
@@ -116,6 +124,9 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService, Agg
     }
 
     public Collection<Object> getGroupKeys(ExprEvaluatorContext exprEvaluatorContext) {
+        if (rowLock != null) {
+            TableEvalLockUtil.obtainLockUnless(tableInstance.getTableLevelRWLock().writeLock(), exprEvaluatorContext);
+        }
         return tableInstance.getGroupKeys();
     }
 
@@ -138,8 +149,32 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService, Agg
         throw new UnsupportedOperationException();
     }
 
+    protected ObjectArrayBackedEventBean getRowForTableKey(Object tableKey) {
+        if (rowLock == null) {
+            return tableInstance.getRowForGroupKey(tableKey);
+        }
+        rowLock.lockRowRead(tableKey);
+        try {
+            return tableInstance.getRowForGroupKey(tableKey);
+        } finally {
+            rowLock.unlockRowRead(tableKey);
+        }
+    }
+
     protected void applyEnterTableKey(EventBean[] eventsPerStream, Object tableKey, ExprEvaluatorContext exprEvaluatorContext) {
-        ObjectArrayBackedEventBean bean = tableInstance.getCreateRowIntoTable(tableKey, exprEvaluatorContext);
+        if (rowLock == null) {
+            applyEnterRow(eventsPerStream, tableKey, tableInstance.getCreateRowIntoTable(tableKey, exprEvaluatorContext), exprEvaluatorContext);
+            return;
+        }
+        ObjectArrayBackedEventBean bean = rowLock.lockRowWriteCreateIfAbsent(tableInstance, tableKey, exprEvaluatorContext);
+        try {
+            applyEnterRow(eventsPerStream, tableKey, bean, exprEvaluatorContext);
+        } finally {
+            rowLock.unlockRowWrite(tableKey);
+        }
+    }
+
+    private void applyEnterRow(EventBean[] eventsPerStream, Object tableKey, ObjectArrayBackedEventBean bean, ExprEvaluatorContext exprEvaluatorContext) {
         currentAggregationRow = (AggregationRow) bean.getProperties()[0];
 
         InstrumentationCommon instrumentationCommon = exprEvaluatorContext.getInstrumentationProvider();
@@ -165,7 +200,19 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService, Agg
     }
 
     protected void applyLeaveTableKey(EventBean[] eventsPerStream, Object tableKey, ExprEvaluatorContext exprEvaluatorContext) {
-        ObjectArrayBackedEventBean bean = tableInstance.getCreateRowIntoTable(tableKey, exprEvaluatorContext);
+        if (rowLock == null) {
+            applyLeaveRow(eventsPerStream, tableKey, tableInstance.getCreateRowIntoTable(tableKey, exprEvaluatorContext), exprEvaluatorContext);
+            return;
+        }
+        ObjectArrayBackedEventBean bean = rowLock.lockRowWriteCreateIfAbsent(tableInstance, tableKey, exprEvaluatorContext);
+        try {
+            applyLeaveRow(eventsPerStream, tableKey, bean, exprEvaluatorContext);
+        } finally {
+            rowLock.unlockRowWrite(tableKey);
+        }
+    }
+
+    private void applyLeaveRow(EventBean[] eventsPerStream, Object tableKey, ObjectArrayBackedEventBean bean, ExprEvaluatorContext exprEvaluatorContext) {
         currentAggregationRow = (AggregationRow) bean.getProperties()[0];
 
         InstrumentationCommon instrumentationCommon = exprEvaluatorContext.getInstrumentationProvider();
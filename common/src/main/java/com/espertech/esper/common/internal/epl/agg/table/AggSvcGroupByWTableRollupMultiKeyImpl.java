@@ -58,7 +58,7 @@ public class AggSvcGroupByWTableRollupMultiKeyImpl extends AggSvcGroupByWTableBa
     public void setCurrentAccess(Object groupByKey, int agentInstanceId, AggregationGroupByRollupLevel rollupLevel) {
         Object[] key = rollupLevel.computeMultiKey(groupByKey, numKeys);
         Object tableKey = tableInstance.getTable().getPrimaryKeyObjectArrayTransform().from(key);
-        ObjectArrayBackedEventBean bean = tableInstance.getRowForGroupKey(tableKey);
+        ObjectArrayBackedEventBean bean = getRowForTableKey(tableKey);
 
         if (bean != null) {
             currentAggregationRow = (AggregationRow) bean.getProperties()[0];
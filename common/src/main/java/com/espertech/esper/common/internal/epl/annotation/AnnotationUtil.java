@@ -466,7 +466,7 @@ public class AnnotationUtil {
             return newInstance(AnnotationBusEventType.EPTYPE);
         } else if (annotation instanceof JsonSchema) {
             JsonSchema jsonSchema = (JsonSchema) annotation;
-            return newInstance(AnnotationJsonSchema.EPTYPE, constant(jsonSchema.dynamic()), constant(jsonSchema.className()));
+            return newInstance(AnnotationJsonSchema.EPTYPE, constant(jsonSchema.dynamic()), constant(jsonSchema.className()), constant(jsonSchema.lazy()));
         } else if (annotation instanceof JsonSchemaField) {
             JsonSchemaField field = (JsonSchemaField) annotation;
             return newInstance(AnnotationJsonSchemaField.EPTYPE, constant(field.name()), constant(field.adapter()));
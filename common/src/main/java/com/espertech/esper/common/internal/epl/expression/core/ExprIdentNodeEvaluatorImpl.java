@@ -23,6 +23,7 @@ import com.espertech.esper.common.internal.bytecodemodel.model.expression.Codege
 import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRef;
 import com.espertech.esper.common.internal.epl.expression.codegen.CodegenLegoCast;
 import com.espertech.esper.common.internal.epl.expression.codegen.ExprForgeCodegenSymbol;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEntryPropertyGetter;
 import com.espertech.esper.common.internal.event.core.EventPropertyGetterSPI;
 import com.espertech.esper.common.internal.event.core.EventTypeSPI;
 import com.espertech.esper.common.internal.event.core.WrapperEventType;
@@ -38,6 +39,7 @@ public class ExprIdentNodeEvaluatorImpl implements ExprIdentNodeEvaluator {
     private final EventTypeSPI eventType;
     private boolean optionalEvent;
     private boolean audit;
+    private boolean columnarStore;
 
     public ExprIdentNodeEvaluatorImpl(int streamNum, EventPropertyGetterSPI propertyGetter, EPType returnType, ExprIdentNode identNode, EventTypeSPI eventType, boolean optionalEvent, boolean audit) {
         this.streamNum = streamNum;
@@ -53,6 +55,10 @@ public class ExprIdentNodeEvaluatorImpl implements ExprIdentNodeEvaluator {
         this.optionalEvent = optionalEvent;
     }
 
+    public void setColumnarStore(boolean columnarStore) {
+        this.columnarStore = columnarStore;
+    }
+
     public Object evaluate(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext exprEvaluatorContext) {
         EventBean event = eventsPerStream[streamNum];
         if (event == null) {
@@ -83,6 +89,17 @@ public class ExprIdentNodeEvaluatorImpl implements ExprIdentNodeEvaluator {
         }
 
         EPTypeClass castTargetType = getCodegenReturnType(requiredType);
+        if (columnarStore && !optionalEvent && propertyGetter instanceof ObjectArrayEntryPropertyGetter) {
+            // read from the row of the columnar store without assembling the underlying array
+            ObjectArrayEntryPropertyGetter getter = (ObjectArrayEntryPropertyGetter) propertyGetter;
+            CodegenExpression event = arrayAtIndex(exprSymbol.getAddEPS(codegenMethodScope), constant(streamNum));
+            CodegenExpression primitive = getter.eventBeanGetColumnarPrimitiveCodegen(castTargetType, event);
+            if (primitive != null) {
+                return primitive;
+            }
+            return CodegenLegoCast.castSafeFromObjectType(castTargetType, getter.eventBeanGetColumnarCodegen(event));
+        }
+
         boolean useUnderlying = exprSymbol.isAllowUnderlyingReferences() && !identNode.getResolvedPropertyName().contains("?") && !(eventType instanceof WrapperEventType) && !(eventType instanceof VariantEventType);
         if (useUnderlying && !optionalEvent) {
             CodegenExpressionRef underlying = exprSymbol.getAddRequiredUnderlying(codegenMethodScope, streamNum, eventType, false);
@@ -14,6 +14,7 @@ import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.FragmentEventType;
 import com.espertech.esper.common.client.PropertyAccessException;
 import com.espertech.esper.common.client.annotation.AuditEnum;
+import com.espertech.esper.common.client.meta.EventTypeTypeClass;
 import com.espertech.esper.common.client.type.EPType;
 import com.espertech.esper.common.client.type.EPTypeClass;
 import com.espertech.esper.common.client.type.EPTypeNull;
@@ -26,6 +27,7 @@ import com.espertech.esper.common.internal.compile.stage3.StatementCompileTimeSe
 import com.espertech.esper.common.internal.context.compile.ContextCompileTimeDescriptor;
 import com.espertech.esper.common.internal.epl.expression.codegen.ExprForgeCodegenSymbol;
 import com.espertech.esper.common.internal.epl.expression.table.ExprTableIdentNode;
+import com.espertech.esper.common.internal.epl.namedwindow.path.NamedWindowMetaData;
 import com.espertech.esper.common.internal.epl.streamtype.PropertyResolutionDescriptor;
 import com.espertech.esper.common.internal.epl.streamtype.StreamTypeService;
 import com.espertech.esper.common.internal.epl.table.compiletime.TableCompileTimeUtil;
@@ -216,7 +218,13 @@ public class ExprIdentNodeImpl extends ExprNodeBase implements ExprIdentNode, Ex
         boolean audit = AuditEnum.PROPERTY.getAudit(validationContext.getAnnotations()) != null;
         EPType propertyTypeUnboxed = eventType.getPropertyEPType(propertyInfoPair.getFirst().getPropertyName());
         EPType propertyType = JavaClassHelper.getBoxedType(propertyTypeUnboxed);
-        evaluator = new ExprIdentNodeEvaluatorImpl(streamNum, propertyGetter, propertyType, this, (EventTypeSPI) eventType, validationContext.getStreamTypeService().isOptionalStreams(), audit);
+        ExprIdentNodeEvaluatorImpl evaluatorImpl = new ExprIdentNodeEvaluatorImpl(streamNum, propertyGetter, propertyType, this, (EventTypeSPI) eventType, validationContext.getStreamTypeService().isOptionalStreams(), audit);
+        if (eventType.getMetadata().getTypeClass() == EventTypeTypeClass.NAMED_WINDOW) {
+            // rows of a named window with a columnar store are read from the columns
+            NamedWindowMetaData namedWindow = validationContext.getStatementCompileTimeService().getNamedWindowCompileTimeResolver().resolve(eventType.getName());
+            evaluatorImpl.setColumnarStore(namedWindow != null && namedWindow.isColumnarStore());
+        }
+        evaluator = evaluatorImpl;
 
         // if running in a context, take the property value from context
         if (validationContext.getContextDescriptor() != null && !validationContext.isFilterExpression()) {
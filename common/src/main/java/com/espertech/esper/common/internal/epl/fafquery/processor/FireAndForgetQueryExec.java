@@ -18,6 +18,7 @@ import com.espertech.esper.common.internal.collection.Pair;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.epl.index.advanced.index.bitmap.EventTableBitmap;
 import com.espertech.esper.common.internal.epl.index.advanced.index.quadtree.EventTableQuadTree;
 import com.espertech.esper.common.internal.epl.index.advanced.index.service.EventAdvancedIndexProvisionRuntime;
 import com.espertech.esper.common.internal.epl.index.base.EventTable;
@@ -91,6 +92,12 @@ public class FireAndForgetQueryExec {
         // find index that matches the needs
         tablePair = findIndex(keyNamesAvailable, rangeNamesAvailable, indexRepository, virtualDataWindow, annotations);
 
+        // bitmap index lookup, when a bitmap index covers more equals- and in-predicates than the index found
+        NullableObject<Collection<EventBean>> bitmapResult = snapshotBitmapIndex(queryGraphValue, tablePair, indexRepository, virtualDataWindow, annotations, agentInstanceContext, objectName);
+        if (bitmapResult != null) {
+            return bitmapResult.getObject();
+        }
+
         // regular index lookup
         if (tablePair != null) {
             return snapshotIndex(keysAvailable, rangesAvailable, tablePair, virtualDataWindow, annotations, agentInstanceContext, objectName);
@@ -156,6 +163,69 @@ public class FireAndForgetQueryExec {
         return new NullableObject<Collection<EventBean>>(events);
     }
 
+    private static NullableObject<Collection<EventBean>> snapshotBitmapIndex(QueryGraphValue queryGraphValue, Pair<IndexMultiKey, EventTableAndNamePair> tablePair, EventTableIndexRepository indexRepository, VirtualDWView virtualDataWindow, Annotation[] annotations, AgentInstanceContext agentInstanceContext, String objectName) {
+        if (virtualDataWindow != null || IndexHint.getIndexHint(annotations) != null) {
+            return null;
+        }
+        QueryGraphValuePairHashKeyIndex keysAvailable = queryGraphValue.getHashKeyProps();
+        QueryGraphValuePairInKWSingleIdx inkwSingles = queryGraphValue.getInKeywordSingles();
+        if (keysAvailable.getIndexed().length == 0 && inkwSingles.getIndexed().length == 0) {
+            return null;
+        }
+
+        // find the bitmap index that covers the most predicates
+        EventTableBitmap table = null;
+        String indexName = null;
+        String[] indexedProperties = null;
+        int numCovered = 0;
+        for (Map.Entry<IndexMultiKey, EventTableIndexRepositoryEntry> entry : indexRepository.getTableIndexesRefCount().entrySet()) {
+            if (!(entry.getValue().getTable() instanceof EventTableBitmap)) {
+                continue;
+            }
+            String[] properties = entry.getKey().getAdvancedIndexDesc().getIndexedProperties();
+            int count = 0;
+            for (String property : properties) {
+                if (CollectionUtil.findItem(keysAvailable.getIndexed(), property) != -1 || CollectionUtil.findItem(inkwSingles.getIndexed(), property) != -1) {
+                    count++;
+                }
+            }
+            if (count > numCovered) {
+                table = (EventTableBitmap) entry.getValue().getTable();
+                indexName = entry.getValue().getOptionalIndexName();
+                indexedProperties = properties;
+                numCovered = count;
+            }
+        }
+        if (table == null) {
+            return null;
+        }
+        if (tablePair != null && tablePair.getFirst().getHashIndexedProps().length + tablePair.getFirst().getRangeIndexedProps().length >= numCovered) {
+            return null;
+        }
+
+        queryPlanReport(indexName, table, annotations, agentInstanceContext, objectName);
+
+        // determine lookup values per column, an equals-predicate takes precedence over an in-predicate for the same property
+        Object[][] valuesPerColumn = new Object[indexedProperties.length][];
+        for (int col = 0; col < indexedProperties.length; col++) {
+            int keyNum = CollectionUtil.findItem(keysAvailable.getIndexed(), indexedProperties[col]);
+            if (keyNum != -1) {
+                valuesPerColumn[col] = new Object[]{keysAvailable.getKeys().get(keyNum).getKeyExpr().evaluate(null, true, agentInstanceContext)};
+                continue;
+            }
+            int inkwNum = CollectionUtil.findItem(inkwSingles.getIndexed(), indexedProperties[col]);
+            if (inkwNum != -1) {
+                ExprEvaluator[] keyExprs = inkwSingles.getKey().get(inkwNum).getKeyExprs();
+                Object[] values = new Object[keyExprs.length];
+                for (int i = 0; i < keyExprs.length; i++) {
+                    values[i] = keyExprs[i].evaluate(null, true, agentInstanceContext);
+                }
+                valuesPerColumn[col] = values;
+            }
+        }
+        return new NullableObject<>(table.lookup(valuesPerColumn));
+    }
+
     private static Collection<EventBean> snapshotIndex(QueryGraphValuePairHashKeyIndex keysAvailable, QueryGraphValuePairRangeIndex rangesAvailable, Pair<IndexMultiKey, EventTableAndNamePair> tablePair, VirtualDWView virtualDataWindow, Annotation[] annotations, AgentInstanceContext agentInstanceContext, String objectName) {
 
         // report plan
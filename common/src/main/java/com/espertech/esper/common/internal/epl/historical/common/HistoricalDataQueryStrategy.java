@@ -35,6 +35,7 @@ public class HistoricalDataQueryStrategy implements QueryStrategy {
     private final ExprEvaluator outerJoinCompareNode;
     private final HistoricalIndexLookupStrategy indexLookupStrategy;
     private final PollResultIndexingStrategy pollResultIndexingStrategy;
+    private final HistoricalPollDeferral deferral;
 
     /**
      * Ctor.
@@ -48,6 +49,7 @@ public class HistoricalDataQueryStrategy implements QueryStrategy {
      *                                   to only those rows that match filter criteria
      * @param pollResultIndexingStrategy the strategy for indexing poll-results such that a
      *                                   strategy can use the index instead of a full table scan to resolve rows
+     * @param deferral                   deferral for polling asynchronously for new data, or null to always poll synchronously
      */
     public HistoricalDataQueryStrategy(int myStreamNumber,
                                        int historicalStreamNumber,
@@ -55,7 +57,8 @@ public class HistoricalDataQueryStrategy implements QueryStrategy {
                                        boolean isOuterJoin,
                                        ExprEvaluator outerJoinCompareNode,
                                        HistoricalIndexLookupStrategy indexLookupStrategy,
-                                       PollResultIndexingStrategy pollResultIndexingStrategy) {
+                                       PollResultIndexingStrategy pollResultIndexingStrategy,
+                                       HistoricalPollDeferral deferral) {
         this.myStreamNumber = myStreamNumber;
         this.historicalStreamNumber = historicalStreamNumber;
         this.historicalEventViewable = historicalEventViewable;
@@ -67,9 +70,18 @@ public class HistoricalDataQueryStrategy implements QueryStrategy {
 
         this.indexLookupStrategy = indexLookupStrategy;
         this.pollResultIndexingStrategy = pollResultIndexingStrategy;
+        this.deferral = deferral;
     }
 
     public void lookup(EventBean[] lookupEvents, Set<MultiKeyArrayOfKeys<EventBean>> joinSet, ExprEvaluatorContext exprEvaluatorContext) {
+        lookupInternal(lookupEvents, joinSet, exprEvaluatorContext, null);
+    }
+
+    public void lookupNewData(EventBean[] lookupEvents, Set<MultiKeyArrayOfKeys<EventBean>> joinSet, ExprEvaluatorContext exprEvaluatorContext) {
+        lookupInternal(lookupEvents, joinSet, exprEvaluatorContext, deferral);
+    }
+
+    private void lookupInternal(EventBean[] lookupEvents, Set<MultiKeyArrayOfKeys<EventBean>> joinSet, ExprEvaluatorContext exprEvaluatorContext, HistoricalPollDeferral deferral) {
         EventBean[][] lookupRows;
 
         // If looking up a single event, reuse the buffered array
@@ -85,10 +97,21 @@ public class HistoricalDataQueryStrategy implements QueryStrategy {
             }
         }
 
-        EventTable[][] indexPerLookupRow = historicalEventViewable.poll(lookupRows, pollResultIndexingStrategy, exprEvaluatorContext);
+        EventTable[][] indexPerLookupRow;
+        if (deferral == null) {
+            indexPerLookupRow = historicalEventViewable.poll(lookupRows, pollResultIndexingStrategy, exprEvaluatorContext);
+        } else {
+            indexPerLookupRow = historicalEventViewable.pollDeferred(lookupRows, pollResultIndexingStrategy, exprEvaluatorContext, deferral);
+        }
 
         int count = 0;
         for (EventTable[] index : indexPerLookupRow) {
+            // A deferred row is joined when the poll completes
+            if (index == null) {
+                count++;
+                continue;
+            }
+
             // Using the index, determine a subset of the whole indexed table to process, unless
             // the strategy is a full table scan
             Iterator<EventBean> subsetIter = indexLookupStrategy.lookup(lookupEvents[count], index, exprEvaluatorContext);
@@ -40,6 +40,20 @@ public interface HistoricalEventViewable extends Viewable, AgentInstanceMgmtCall
      */
     public EventTable[][] poll(EventBean[][] lookupEventsPerStream, PollResultIndexingStrategy indexingStrategy, ExprEvaluatorContext exprEvaluatorContext);
 
+    /**
+     * Poll for stored historical or reference data, same as {@link #poll(EventBean[][], PollResultIndexingStrategy, ExprEvaluatorContext)},
+     * however rows with keys that are not cached may be deferred and polled asynchronously.
+     * A deferred row has a null value in the result. The deferral receives deferred rows when the poll completes,
+     * and a subsequent call to this method for these rows provides the poll results.
+     *
+     * @param lookupEventsPerStream is the events per stream
+     * @param indexingStrategy      the strategy to use for converting poll results into a indexed table for fast lookup
+     * @param exprEvaluatorContext  context for expression evalauation
+     * @param deferral              deferral
+     * @return array of lists with one list for each event-per-stream row, or null for a deferred row
+     */
+    public EventTable[][] pollDeferred(EventBean[][] lookupEventsPerStream, PollResultIndexingStrategy indexingStrategy, ExprEvaluatorContext exprEvaluatorContext, HistoricalPollDeferral deferral);
+
     /**
      * Returns true if the parameters expressions to the historical require other stream's data,
      * or false if there are no parameters or all parameter expressions are only contants and variables without
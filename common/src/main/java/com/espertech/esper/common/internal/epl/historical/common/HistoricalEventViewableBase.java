@@ -13,10 +13,12 @@ package com.espertech.esper.common.internal.epl.historical.common;
 import com.espertech.esper.common.client.EPException;
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.hook.exception.ExceptionHandlerExceptionType;
 import com.espertech.esper.common.internal.collection.IterablesArrayIterator;
 import com.espertech.esper.common.internal.context.util.AgentInstanceStopServices;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.common.internal.epl.historical.datacache.HistoricalDataCache;
+import com.espertech.esper.common.internal.epl.historical.execstrategy.HistoricalPollAsyncWork;
 import com.espertech.esper.common.internal.epl.historical.execstrategy.PollExecStrategy;
 import com.espertech.esper.common.internal.epl.historical.indexingstrategy.PollResultIndexingStrategy;
 import com.espertech.esper.common.internal.epl.historical.indexingstrategy.UnindexedEventTableList;
@@ -24,8 +26,14 @@ import com.espertech.esper.common.internal.epl.index.base.EventTable;
 import com.espertech.esper.common.internal.view.core.View;
 import com.espertech.esper.common.internal.view.core.Viewable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Implements a poller viewable that uses a polling strategy, a cache and
@@ -38,6 +46,21 @@ public abstract class HistoricalEventViewableBase implements Viewable, Historica
     protected HistoricalDataCache dataCache;
     protected View child;
 
+    // keys polled asynchronously and keys with poll results not yet consumed, guarded by the agent instance lock
+    private Map<Object, DeferredKey> deferredKeys;
+    private Map<Object, DeferredKey> completedKeys;
+
+    // keys awaiting submission while an asynchronous poll is in flight, guarded by the queue lock
+    private final Object asyncQueueLock = new Object();
+    private LinkedHashMap<Object, DeferredKey> asyncQueue = new LinkedHashMap<>();
+    private boolean asyncInFlight;
+
+    // strategy for asynchronous polls, so that the event-processing thread does not wait for an asynchronous poll
+    private volatile PollExecStrategy asyncPollExecStrategy;
+
+    // strategy for refresh-ahead reloads, so that the event-processing thread does not wait for a reload
+    private volatile PollExecStrategy refreshPollExecStrategy;
+
     protected static final EventBean[][] NULL_ROWS;
 
     static {
@@ -53,6 +76,14 @@ public abstract class HistoricalEventViewableBase implements Viewable, Historica
 
     public void stop(AgentInstanceStopServices services) {
         pollExecStrategy.destroy();
+        PollExecStrategy asyncStrategy = asyncPollExecStrategy;
+        if (asyncStrategy != null) {
+            asyncStrategy.destroy();
+        }
+        PollExecStrategy refreshStrategy = refreshPollExecStrategy;
+        if (refreshStrategy != null) {
+            refreshStrategy.destroy();
+        }
         dataCache.destroy();
     }
 
@@ -71,27 +102,51 @@ public abstract class HistoricalEventViewableBase implements Viewable, Historica
     };
 
     public EventTable[][] poll(EventBean[][] lookupEventsPerStream, PollResultIndexingStrategy indexingStrategy, ExprEvaluatorContext exprEvaluatorContext) {
+        return pollInternal(lookupEventsPerStream, indexingStrategy, exprEvaluatorContext, null);
+    }
+
+    public EventTable[][] pollDeferred(EventBean[][] lookupEventsPerStream, PollResultIndexingStrategy indexingStrategy, ExprEvaluatorContext exprEvaluatorContext, HistoricalPollDeferral deferral) {
+        return pollInternal(lookupEventsPerStream, indexingStrategy, exprEvaluatorContext, deferral);
+    }
+
+    private EventTable[][] pollInternal(EventBean[][] lookupEventsPerStream, PollResultIndexingStrategy indexingStrategy, ExprEvaluatorContext exprEvaluatorContext, HistoricalPollDeferral deferral) {
         HistoricalDataCache localDataCache = factory.getDataCacheThreadLocal().get();
-        boolean strategyStarted = false;
 
         EventTable[][] resultPerInputRow = new EventTable[lookupEventsPerStream.length][];
 
+        // index the results of completed asynchronous polls, for use by the deferred rows
+        Map<Object, EventTable[]> completedTables = null;
+        if (deferral != null && completedKeys != null) {
+            completedTables = indexCompleted(indexingStrategy, localDataCache);
+        }
+        LinkedHashMap<Object, DeferredKey> submitKeys = null;
+        LinkedHashMap<Object, Object> refreshKeys = null;
+
+        // keys not found in cache, distinct when keyed, and the deferred key of each deferred row
+        boolean keyed = localDataCache != null || dataCache.isActive() || deferral != null;
+        MissedKeys missed = null;
+        DeferredKey[] deferredPerRow = null;
+
         // Get input parameters for each row
         EventBean[] eventsPerStream;
         for (int row = 0; row < lookupEventsPerStream.length; row++) {
             // Build lookup keys
             eventsPerStream = lookupEventsPerStream[row];
             Object lookupValue = factory.evaluator.evaluate(eventsPerStream, true, exprEvaluatorContext);
+            Object cacheMultiKey = null;
+            if (keyed) {
+                cacheMultiKey = factory.lookupValueToMultiKey.transform(lookupValue);
+            }
 
             EventTable[] result = null;
 
-            // try the threadlocal iteration cache, if set
-            Object cacheMultiKey = null;
-            if (localDataCache != null || dataCache.isActive()) {
-                cacheMultiKey = factory.lookupValueToMultiKey.transform(lookupValue);
+            // try the results of completed asynchronous polls
+            if (completedTables != null) {
+                result = completedTables.get(cacheMultiKey);
             }
 
-            if (localDataCache != null) {
+            // try the threadlocal iteration cache, if set
+            if (result == null && localDataCache != null) {
                 EventTable[] tables = localDataCache.getCached(cacheMultiKey);
                 result = tables;
             }
@@ -104,6 +159,12 @@ public abstract class HistoricalEventViewableBase implements Viewable, Historica
                     if (localDataCache != null) {
                         localDataCache.put(cacheMultiKey, multi);
                     }
+                    if (dataCache.isRefreshDue(cacheMultiKey)) {
+                        if (refreshKeys == null) {
+                            refreshKeys = new LinkedHashMap<>();
+                        }
+                        refreshKeys.put(cacheMultiKey, lookupValue);
+                    }
                 }
             }
 
@@ -111,43 +172,323 @@ public abstract class HistoricalEventViewableBase implements Viewable, Historica
             if (result != null) {
                 // found in cache
                 resultPerInputRow[row] = result;
-            } else {
-                // not found in cache, get from actual polling (db query)
-                try {
-                    if (!strategyStarted) {
-                        pollExecStrategy.start();
-                        strategyStarted = true;
+                continue;
+            }
+
+            // not found in cache, defer the row when polling asynchronously and the statement is within its in-flight limit
+            if (deferral != null) {
+                DeferredKey deferred = deferredKeys == null ? null : deferredKeys.get(cacheMultiKey);
+                if (deferred == null && (deferredKeys == null || deferredKeys.size() < deferral.getAsyncService().getMaxInFlight())) {
+                    if (deferredKeys == null) {
+                        deferredKeys = new HashMap<>();
+                    }
+                    if (submitKeys == null) {
+                        submitKeys = new LinkedHashMap<>();
+                    }
+                    deferred = new DeferredKey(cacheMultiKey, lookupValue);
+                    deferredKeys.put(cacheMultiKey, deferred);
+                    submitKeys.put(cacheMultiKey, deferred);
+                }
+                if (deferred != null) {
+                    deferred.rows.add(eventsPerStream.clone());
+                    if (deferredPerRow == null) {
+                        deferredPerRow = new DeferredKey[lookupEventsPerStream.length];
+                    }
+                    deferredPerRow[row] = deferred;
+                    continue;
+                }
+            }
+
+            // not found in cache, remember the key for polling
+            if (missed == null) {
+                missed = new MissedKeys(keyed, lookupEventsPerStream.length);
+            }
+            missed.add(row, cacheMultiKey, lookupValue);
+        }
+
+        if (submitKeys != null && !submitAsync(submitKeys, deferral)) {
+            // the thread pool did not accept the poll, poll the rows deferred by this lookup synchronously instead
+            for (int row = 0; row < lookupEventsPerStream.length; row++) {
+                DeferredKey deferred = deferredPerRow[row];
+                if (deferred != null && submitKeys.get(deferred.cacheMultiKey) == deferred) {
+                    if (missed == null) {
+                        missed = new MissedKeys(keyed, lookupEventsPerStream.length);
                     }
+                    missed.add(row, deferred.cacheMultiKey, deferred.lookupValue);
+                }
+            }
+            for (Object key : submitKeys.keySet()) {
+                deferredKeys.remove(key);
+            }
+        }
+        if (refreshKeys != null) {
+            refreshAhead(refreshKeys, indexingStrategy);
+        }
+
+        if (missed == null) {
+            return resultPerInputRow;
+        }
+
+        // get from actual polling (db query)
+        EventTable[][] tablesPerKey = new EventTable[missed.lookupValues.size()][];
+        synchronized (pollExecStrategy) {
+            pollIndex(missed, tablesPerKey, indexingStrategy, localDataCache);
+        }
+
+        // assign to rows
+        for (int row = 0; row < lookupEventsPerStream.length; row++) {
+            if (missed.keyPerRow[row] != 0) {
+                resultPerInputRow[row] = tablesPerKey[missed.keyPerRow[row] - 1];
+            }
+        }
 
-                    // Poll using the polling execution strategy and lookup values
-                    List<EventBean> pollResult = pollExecStrategy.poll(lookupValue, this.exprEvaluatorContext);
+        return resultPerInputRow;
+    }
 
-                    // index the result, if required, using an indexing strategy
-                    EventTable[] indexTable = indexingStrategy.index(pollResult, dataCache.isActive(), this.exprEvaluatorContext);
+    private void pollIndex(MissedKeys missed, EventTable[][] tablesPerKey, PollResultIndexingStrategy indexingStrategy, HistoricalDataCache localDataCache) {
+        pollExecStrategy.start();
+        try {
+            List<List<EventBean>> pollResults = pollTimed(pollExecStrategy, missed.lookupValues);
 
-                    // assign to row
-                    resultPerInputRow[row] = indexTable;
+            for (int position = 0; position < tablesPerKey.length; position++) {
+                // index the result, if required, using an indexing strategy
+                EventTable[] indexTable = indexingStrategy.index(pollResults.get(position), dataCache.isActive(), this.exprEvaluatorContext);
+                tablesPerKey[position] = indexTable;
 
-                    // save in cache
-                    dataCache.put(cacheMultiKey, indexTable);
+                // save in cache
+                Object cacheMultiKey = missed.cacheKeys.get(position);
+                dataCache.put(cacheMultiKey, indexTable);
 
-                    if (localDataCache != null) {
-                        localDataCache.put(cacheMultiKey, indexTable);
+                if (localDataCache != null) {
+                    localDataCache.put(cacheMultiKey, indexTable);
+                }
+            }
+        } catch (EPException ex) {
+            pollExecStrategy.done();
+            throw ex;
+        }
+        pollExecStrategy.done();
+    }
+
+    /**
+     * Returns a new poll strategy that does not share a connection or lock with the strategy of the event-processing thread.
+     *
+     * @return strategy
+     */
+    protected abstract PollExecStrategy makePollExecStrategy();
+
+    private List<List<EventBean>> pollTimed(PollExecStrategy strategy, List<Object> lookupValues) {
+        long start = System.nanoTime();
+        List<List<EventBean>> pollResults = new ArrayList<>(lookupValues.size());
+        for (Object lookupValue : lookupValues) {
+            pollResults.add(strategy.poll(lookupValue, this.exprEvaluatorContext));
+        }
+        dataCache.polled(lookupValues.size(), System.nanoTime() - start);
+        return pollResults;
+    }
+
+    private void refreshAhead(LinkedHashMap<Object, Object> refreshKeys, PollResultIndexingStrategy indexingStrategy) {
+        dataCache.refresh(refreshKeys.keySet(), new HistoricalPollAsyncWork() {
+            public List<List<EventBean>> poll() {
+                List<Object> lookupValues = new ArrayList<>(refreshKeys.values());
+                // reloads may run concurrently with each other, they share one strategy that is separate from the event-processing thread's strategy
+                PollExecStrategy strategy = getRefreshPollExecStrategy();
+                synchronized (strategy) {
+                    strategy.start();
+                    try {
+                        return pollTimed(strategy, lookupValues);
+                    } finally {
+                        strategy.done();
+                    }
+                }
+            }
+
+            public void completed(List<List<EventBean>> results) {
+                // a failed reload leaves the entries to expire, or to be reloaded upon a later access
+                if (results == null) {
+                    return;
+                }
+                int index = 0;
+                for (Object key : refreshKeys.keySet()) {
+                    dataCache.put(key, indexingStrategy.index(results.get(index++), true, exprEvaluatorContext));
+                }
+            }
+
+            public void cancel() {
+                PollExecStrategy strategy = refreshPollExecStrategy;
+                if (strategy != null) {
+                    strategy.cancel();
+                }
+            }
+        });
+    }
+
+    private Map<Object, EventTable[]> indexCompleted(PollResultIndexingStrategy indexingStrategy, HistoricalDataCache localDataCache) {
+        Map<Object, EventTable[]> completedTables = new HashMap<>();
+        for (Map.Entry<Object, DeferredKey> entry : completedKeys.entrySet()) {
+            DeferredKey completed = entry.getValue();
+            EventTable[] indexTable = indexingStrategy.index(completed.result, dataCache.isActive(), this.exprEvaluatorContext);
+            completedTables.put(entry.getKey(), indexTable);
+
+            // save in cache unless the poll failed or timed out
+            if (!completed.failed) {
+                dataCache.put(entry.getKey(), indexTable);
+                if (localDataCache != null) {
+                    localDataCache.put(entry.getKey(), indexTable);
+                }
+            }
+        }
+        completedKeys = null;
+        return completedTables;
+    }
+
+    /**
+     * Queues the keys and, unless a poll is in flight, submits them for polling. Invoked while holding the agent instance lock.
+     *
+     * @param keys     keys deferred by a lookup
+     * @param deferral deferral
+     * @return false if the thread pool did not accept the poll, in which case the keys are no longer queued and the caller polls synchronously
+     */
+    private boolean submitAsync(LinkedHashMap<Object, DeferredKey> keys, HistoricalPollDeferral deferral) {
+        synchronized (asyncQueueLock) {
+            asyncQueue.putAll(keys);
+            if (asyncInFlight) {
+                return true;
+            }
+            asyncInFlight = true;
+        }
+        return submitAsyncQueued(deferral) == null;
+    }
+
+    /**
+     * Submits the queued keys for polling, or clears the in-flight indicator when there are none.
+     *
+     * @param deferral deferral
+     * @return null when submitted or when there are no queued keys, or the keys that the thread pool did not accept
+     */
+    private LinkedHashMap<Object, DeferredKey> submitAsyncQueued(HistoricalPollDeferral deferral) {
+        final LinkedHashMap<Object, DeferredKey> batch;
+        synchronized (asyncQueueLock) {
+            if (asyncQueue.isEmpty()) {
+                asyncInFlight = false;
+                return null;
+            }
+            batch = asyncQueue;
+            asyncQueue = new LinkedHashMap<>();
+        }
+
+        // one poll in flight per agent instance, keys deferred in the meantime make up the next poll that the completion submits
+        try {
+            deferral.getAsyncService().submit(deferral.getAgentInstanceHandle(), new HistoricalPollAsyncWork() {
+                public List<List<EventBean>> poll() {
+                    List<Object> lookupValues = new ArrayList<>(batch.size());
+                    for (DeferredKey deferred : batch.values()) {
+                        lookupValues.add(deferred.lookupValue);
+                    }
+                    // asynchronous polls use their own strategy, not holding the lock of the event-processing thread's strategy
+                    PollExecStrategy strategy = getAsyncPollExecStrategy(deferral);
+                    synchronized (strategy) {
+                        strategy.start();
+                        try {
+                            return pollTimed(strategy, lookupValues);
+                        } finally {
+                            strategy.done();
+                        }
                     }
-                } catch (EPException ex) {
-                    if (strategyStarted) {
-                        pollExecStrategy.done();
+                }
+
+                public void completed(List<List<EventBean>> results) {
+                    completeAsync(batch, results, deferral);
+                }
+
+                public void cancel() {
+                    PollExecStrategy strategy = asyncPollExecStrategy;
+                    if (strategy != null) {
+                        strategy.cancel();
                     }
-                    throw ex;
                 }
+            });
+        } catch (RejectedExecutionException ex) {
+            synchronized (asyncQueueLock) {
+                asyncInFlight = false;
             }
+            return batch;
         }
+        return null;
+    }
 
-        if (strategyStarted) {
-            pollExecStrategy.done();
+    private synchronized PollExecStrategy getRefreshPollExecStrategy() {
+        if (refreshPollExecStrategy == null) {
+            refreshPollExecStrategy = makePollExecStrategy();
         }
+        return refreshPollExecStrategy;
+    }
 
-        return resultPerInputRow;
+    private synchronized PollExecStrategy getAsyncPollExecStrategy(HistoricalPollDeferral deferral) {
+        if (asyncPollExecStrategy == null) {
+            PollExecStrategy strategy = makePollExecStrategy();
+            strategy.setPollTimeout(deferral.getAsyncService().getTimeoutMSec());
+            asyncPollExecStrategy = strategy;
+        }
+        return asyncPollExecStrategy;
+    }
+
+    private void completeAsync(LinkedHashMap<Object, DeferredKey> batch, List<List<EventBean>> results, HistoricalPollDeferral deferral) {
+        List<EventBean[]> rows = new ArrayList<>();
+        try {
+            completeBatch(batch, results, rows);
+
+            // submit the keys deferred while the poll was in flight, polling synchronously when the thread pool does not accept them
+            LinkedHashMap<Object, DeferredKey> rejected = submitAsyncQueued(deferral);
+            if (rejected != null) {
+                List<Object> lookupValues = new ArrayList<>(rejected.size());
+                for (DeferredKey deferred : rejected.values()) {
+                    lookupValues.add(deferred.lookupValue);
+                }
+                List<List<EventBean>> rejectedResults = null;
+                try {
+                    synchronized (pollExecStrategy) {
+                        pollExecStrategy.start();
+                        try {
+                            rejectedResults = pollTimed(pollExecStrategy, lookupValues);
+                        } finally {
+                            pollExecStrategy.done();
+                        }
+                    }
+                } catch (RuntimeException ex) {
+                    exprEvaluatorContext.getExceptionHandlingService().handleException(ex, deferral.getAgentInstanceHandle(), ExceptionHandlerExceptionType.PROCESS, null);
+                }
+                completeBatch(rejected, rejectedResults, rows);
+            }
+        } finally {
+            if (!rows.isEmpty()) {
+                deferral.deferredCompleted(rows);
+            }
+        }
+    }
+
+    private void completeBatch(LinkedHashMap<Object, DeferredKey> batch, List<List<EventBean>> results, List<EventBean[]> rows) {
+        int index = 0;
+        for (Map.Entry<Object, DeferredKey> entry : batch.entrySet()) {
+            DeferredKey deferred = entry.getValue();
+            if (results != null) {
+                deferred.result = results.get(index);
+            } else {
+                deferred.result = Collections.emptyList();
+                deferred.failed = true;
+            }
+            index++;
+
+            if (deferredKeys == null || deferredKeys.get(entry.getKey()) != deferred) {
+                continue;
+            }
+            deferredKeys.remove(entry.getKey());
+            if (completedKeys == null) {
+                completedKeys = new HashMap<>();
+            }
+            completedKeys.put(entry.getKey(), deferred);
+            rows.addAll(deferred.rows);
+        }
     }
 
     public EventType getEventType() {
@@ -170,4 +511,48 @@ public abstract class HistoricalEventViewableBase implements Viewable, Historica
     public HistoricalDataCache getOptionalDataCache() {
         return dataCache;
     }
+
+    private static class DeferredKey {
+        private final Object cacheMultiKey;
+        private final Object lookupValue;
+        private final List<EventBean[]> rows = new ArrayList<>(2);
+        private List<EventBean> result;
+        private boolean failed;
+
+        private DeferredKey(Object cacheMultiKey, Object lookupValue) {
+            this.cacheMultiKey = cacheMultiKey;
+            this.lookupValue = lookupValue;
+        }
+    }
+
+    /**
+     * Keys not found in cache and, for each row not found in cache, the position of its key plus one.
+     * When keyed, rows that have the same key share the same poll.
+     */
+    private static class MissedKeys {
+        private final boolean keyed;
+        private final Map<Object, Integer> positions;
+        private final List<Object> cacheKeys = new ArrayList<>();
+        private final List<Object> lookupValues = new ArrayList<>();
+        private final int[] keyPerRow;
+
+        private MissedKeys(boolean keyed, int numRows) {
+            this.keyed = keyed;
+            this.positions = keyed ? new HashMap<>() : null;
+            this.keyPerRow = new int[numRows];
+        }
+
+        private void add(int row, Object cacheMultiKey, Object lookupValue) {
+            Integer position = keyed ? positions.get(cacheMultiKey) : null;
+            if (position == null) {
+                position = lookupValues.size();
+                if (keyed) {
+                    positions.put(cacheMultiKey, position);
+                }
+                cacheKeys.add(cacheMultiKey);
+                lookupValues.add(lookupValue);
+            }
+            keyPerRow[row] = position + 1;
+        }
+    }
 }
@@ -0,0 +1,43 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.historical.common;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
+import com.espertech.esper.common.internal.epl.historical.execstrategy.HistoricalPollAsyncService;
+
+import java.util.List;
+
+/**
+ * Allows a historical poll to defer lookup rows whose keys are not cached, polling such keys asynchronously.
+ */
+public interface HistoricalPollDeferral {
+    /**
+     * Returns the service for asynchronous polls.
+     *
+     * @return service
+     */
+    HistoricalPollAsyncService getAsyncService();
+
+    /**
+     * Returns the handle of the agent instance that is polling.
+     *
+     * @return handle
+     */
+    EPStatementAgentInstanceHandle getAgentInstanceHandle();
+
+    /**
+     * Receives the deferred lookup rows once poll results for these rows are available, invoked while holding the agent instance lock.
+     *
+     * @param lookupRows events per stream for each deferred row
+     */
+    void deferredCompleted(List<EventBean[]> lookupRows);
+}
@@ -17,9 +17,11 @@ import com.espertech.esper.common.internal.epl.historical.database.connection.Da
 import com.espertech.esper.common.internal.epl.historical.execstrategy.PollExecStrategy;
 
 public class HistoricalEventViewableDatabase extends HistoricalEventViewableBase {
+    private final AgentInstanceContext agentInstanceContext;
 
     public HistoricalEventViewableDatabase(HistoricalEventViewableDatabaseFactory factory, PollExecStrategy pollExecStrategy, AgentInstanceContext agentInstanceContext) {
         super(factory, pollExecStrategy, agentInstanceContext);
+        this.agentInstanceContext = agentInstanceContext;
         try {
             this.dataCache = agentInstanceContext.getDatabaseConfigService().getDataCache(factory.databaseName,
                     agentInstanceContext, factory.getStreamNumber(), factory.getScheduleCallbackId());
@@ -27,4 +29,8 @@ public class HistoricalEventViewableDatabase extends HistoricalEventViewableBase
             throw new EPException("Failed to obtain cache: " + e.getMessage(), e);
         }
     }
+
+    protected PollExecStrategy makePollExecStrategy() {
+        return ((HistoricalEventViewableDatabaseFactory) factory).makePollExecStrategy(agentInstanceContext);
+    }
 }
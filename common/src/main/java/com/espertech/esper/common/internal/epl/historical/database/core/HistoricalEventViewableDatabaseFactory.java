@@ -52,9 +52,18 @@ public class HistoricalEventViewableDatabaseFactory extends HistoricalEventViewa
     }
 
     public HistoricalEventViewable activate(AgentInstanceContext agentInstanceContext) {
+        return new HistoricalEventViewableDatabase(this, makePollExecStrategy(agentInstanceContext), agentInstanceContext);
+    }
+
+    /**
+     * Returns a new poll strategy with its own connection cache.
+     *
+     * @param agentInstanceContext agent instance context
+     * @return strategy
+     */
+    public PollExecStrategyDBQuery makePollExecStrategy(AgentInstanceContext agentInstanceContext) {
         ConnectionCache connectionCache = init(agentInstanceContext.getDatabaseConfigService(), agentInstanceContext.getConfigSnapshot());
-        PollExecStrategyDBQuery pollExecStrategy = new PollExecStrategyDBQuery(this, agentInstanceContext, connectionCache);
-        return new HistoricalEventViewableDatabase(this, pollExecStrategy, agentInstanceContext);
+        return new PollExecStrategyDBQuery(this, agentInstanceContext, connectionCache);
     }
 
     public PollExecStrategyDBQuery activateFireAndForget(ExprEvaluatorContext exprEvaluatorContext, StatementContextRuntimeServices services) {
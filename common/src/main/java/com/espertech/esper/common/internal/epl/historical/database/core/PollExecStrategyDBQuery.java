@@ -32,12 +32,14 @@ import java.util.*;
  * Viewable providing historical data from a database.
  */
 public class PollExecStrategyDBQuery implements PollExecStrategy {
+    private static final Logger log = LoggerFactory.getLogger(PollExecStrategyDBQuery.class);
     private static final Logger JDBC_PERF_LOG = LoggerFactory.getLogger(AuditPath.JDBC_LOG);
 
     private final HistoricalEventViewableDatabaseFactory factory;
     private final ExprEvaluatorContext exprEvaluatorContext;
     private final ConnectionCache connectionCache;
-    private Pair<Connection, PreparedStatement> resources;
+    private volatile Pair<Connection, PreparedStatement> resources;
+    private int queryTimeoutSec;
 
     public PollExecStrategyDBQuery(HistoricalEventViewableDatabaseFactory factory, ExprEvaluatorContext exprEvaluatorContext, ConnectionCache connectionCache) {
         this.factory = factory;
@@ -57,6 +59,22 @@ public class PollExecStrategyDBQuery implements PollExecStrategy {
         connectionCache.destroy();
     }
 
+    public void setPollTimeout(long timeoutMSec) {
+        queryTimeoutSec = (int) Math.max(1, (timeoutMSec + 999) / 1000);
+    }
+
+    public void cancel() {
+        Pair<Connection, PreparedStatement> current = resources;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.getSecond().cancel();
+        } catch (SQLException ex) {
+            log.warn("Error cancelling statement '" + factory.preparedStatementText + "': " + ex.getMessage(), ex);
+        }
+    }
+
     public List<EventBean> poll(Object lookupValues, ExprEvaluatorContext exprEvaluatorContext) {
         List<EventBean> result;
         try {
@@ -111,6 +129,14 @@ public class PollExecStrategyDBQuery implements PollExecStrategy {
             count++;
         }
 
+        if (queryTimeoutSec > 0) {
+            try {
+                preparedStatement.setQueryTimeout(queryTimeoutSec);
+            } catch (SQLException ex) {
+                throw new EPException("Error setting query timeout for statement '" + factory.preparedStatementText + '\'', ex);
+            }
+        }
+
         // execute
         ResultSet resultSet;
         if (hasJDBCLogging) {
@@ -10,8 +10,11 @@
  */
 package com.espertech.esper.common.internal.epl.historical.datacache;
 
+import com.espertech.esper.common.internal.epl.historical.execstrategy.HistoricalPollAsyncWork;
 import com.espertech.esper.common.internal.epl.index.base.EventTable;
 
+import java.util.Collection;
+
 /**
  * Implementations serve as caches for historical or reference data retrieved
  * via lookup keys consisting or one or more rows represented by a list of events.
@@ -47,4 +50,35 @@ public interface HistoricalDataCache {
     public boolean isActive();
 
     void destroy();
+
+    /**
+     * Returns true if the entry for the key, as found by the last call to get, is due to be reloaded ahead of its expiry.
+     * Returns true only once for an entry, i.e. until the entry is put again.
+     *
+     * @param methodParams is the keys to the cache entry
+     * @return true for reload
+     */
+    default boolean isRefreshDue(Object methodParams) {
+        return false;
+    }
+
+    /**
+     * Reloads entries that are due to be reloaded, the work puts the reloaded rows.
+     * Entries whose reload fails become due for reload again.
+     *
+     * @param methodParams keys of the entries to reload
+     * @param work         reload work
+     */
+    default void refresh(Collection<Object> methodParams, HistoricalPollAsyncWork work) {
+        work.completed(work.poll());
+    }
+
+    /**
+     * Receives the number of keys polled and the nanoseconds polling, for caches that keep statistics.
+     *
+     * @param numKeys   number of keys
+     * @param pollNanos nanoseconds
+     */
+    default void polled(int numKeys, long pollNanos) {
+    }
 }
@@ -13,12 +13,32 @@ package com.espertech.esper.common.internal.epl.historical.datacache;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonCache;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonCacheExpiryTime;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonCacheLRU;
+import com.espertech.esper.common.client.configuration.common.ConfigurationCommonCacheRefreshAhead;
+import com.espertech.esper.common.client.metric.HistoricalDataCacheMetric;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Factory for data caches for use caching database query results and method invocation results.
  */
 public class HistoricalDataCacheFactory {
+    private static final Logger log = LoggerFactory.getLogger(HistoricalDataCacheFactory.class);
+
+    private final Set<HistoricalDataCacheRefreshAheadImpl> refreshAheadCaches = ConcurrentHashMap.newKeySet();
+    private ExecutorService refreshExecutor;
 
     /**
      * Creates a cache implementation for the strategy as defined by the cache descriptor.
@@ -47,9 +67,90 @@ public class HistoricalDataCacheFactory {
             return makeTimeCache(expCache, agentInstanceContext, streamNum, scheduleCallbackId);
         }
 
+        if (cacheDesc instanceof ConfigurationCommonCacheRefreshAhead) {
+            HistoricalDataCacheRefreshAheadImpl cache = new HistoricalDataCacheRefreshAheadImpl((ConfigurationCommonCacheRefreshAhead) cacheDesc, agentInstanceContext, streamNum, this);
+            refreshAheadCaches.add(cache);
+            return cache;
+        }
+
         throw new IllegalStateException("Cache implementation class not configured");
     }
 
+    /**
+     * Returns the metrics of refresh-ahead caches, summed per statement and historical stream.
+     *
+     * @param runtimeURI runtime URI
+     * @return metrics
+     */
+    public List<HistoricalDataCacheMetric> getRefreshAheadMetrics(String runtimeURI) {
+        Map<List<Object>, HistoricalDataCacheStatistics> totals = new LinkedHashMap<>();
+        for (HistoricalDataCacheRefreshAheadImpl cache : refreshAheadCaches) {
+            AgentInstanceContext agentInstanceContext = cache.getAgentInstanceContext();
+            List<Object> key = new ArrayList<>(3);
+            key.add(agentInstanceContext.getDeploymentId());
+            key.add(agentInstanceContext.getStatementName());
+            key.add(cache.getStreamNumber());
+            HistoricalDataCacheStatistics statistics = cache.getStatistics();
+            HistoricalDataCacheStatistics total = totals.get(key);
+            if (total == null) {
+                totals.put(key, statistics);
+            } else {
+                total.add(statistics);
+            }
+        }
+
+        List<HistoricalDataCacheMetric> metrics = new ArrayList<>(totals.size());
+        for (Map.Entry<List<Object>, HistoricalDataCacheStatistics> entry : totals.entrySet()) {
+            HistoricalDataCacheStatistics total = entry.getValue();
+            metrics.add(new HistoricalDataCacheMetric(runtimeURI, (String) entry.getKey().get(0), (String) entry.getKey().get(1), (Integer) entry.getKey().get(2),
+                total.getSize(), total.getWeight(), total.getHitCount(), total.getMissCount(), total.getLoadCount(), total.getLoadNanosTotal(), total.getRefreshCount(), total.getEvictionCount()));
+        }
+        return metrics;
+    }
+
+    void removeRefreshAheadCache(HistoricalDataCacheRefreshAheadImpl cache) {
+        refreshAheadCaches.remove(cache);
+    }
+
+    /**
+     * Returns the executor for reloads of refresh-ahead caches when the historical thread pool is not configured,
+     * created upon first use.
+     *
+     * @return executor
+     */
+    synchronized ExecutorService getRefreshExecutor() {
+        if (refreshExecutor == null) {
+            ThreadFactory threadFactory = new ThreadFactory() {
+                AtomicInteger count = new AtomicInteger(0);
+
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r);
+                    t.setName("com.espertech.esper.HistoricalRefresh-" + count.getAndIncrement());
+                    t.setDaemon(true);
+                    return t;
+                }
+            };
+            refreshExecutor = Executors.newSingleThreadExecutor(threadFactory);
+        }
+        return refreshExecutor;
+    }
+
+    /**
+     * Stops the refresh executor, if any.
+     */
+    public synchronized void destroy() {
+        if (refreshExecutor == null) {
+            return;
+        }
+        refreshExecutor.shutdownNow();
+        try {
+            refreshExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            log.error("Interrupted", e);
+        }
+        refreshExecutor = null;
+    }
+
     protected HistoricalDataCache makeTimeCache(ConfigurationCommonCacheExpiryTime expCache, AgentInstanceContext agentInstanceContext, int streamNum, int scheduleCallbackId) {
         return new HistoricalDataCacheExpiringImpl(expCache.getMaxAgeSeconds(), expCache.getPurgeIntervalSeconds(), expCache.getCacheReferenceType(),
                 agentInstanceContext, agentInstanceContext.getScheduleBucket().allocateSlot());
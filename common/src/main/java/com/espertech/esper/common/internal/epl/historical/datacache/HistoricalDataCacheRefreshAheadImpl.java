@@ -0,0 +1,256 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.historical.datacache;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.common.ConfigurationCommonCacheRefreshAhead;
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.context.util.StatementAgentInstanceLock;
+import com.espertech.esper.common.internal.context.util.StatementContextRuntimeServices;
+import com.espertech.esper.common.internal.epl.historical.execstrategy.HistoricalPollAsyncService;
+import com.espertech.esper.common.internal.epl.historical.execstrategy.HistoricalPollAsyncWork;
+import com.espertech.esper.common.internal.epl.index.base.EventTable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Implements a refresh-ahead cache: an entry that is accessed once it reached the refresh age gets reloaded while
+ * the cache continues to return the current rows, so that frequently-accessed entries do not expire.
+ * Entries that reach the maximum age are considered stale and are removed upon access.
+ * <p>
+ * When the total weight of entries, i.e. number of entries plus number of rows, exceeds the maximum weight,
+ * the cache evicts least-recently-used entries.
+ * <p>
+ * Reloads take place on the historical thread pool, when configured, or otherwise on the refresh thread of the runtime.
+ * An entry whose reload fails becomes due for reload again.
+ */
+public class HistoricalDataCacheRefreshAheadImpl implements HistoricalDataCache {
+    private static final Logger log = LoggerFactory.getLogger(HistoricalDataCacheRefreshAheadImpl.class);
+
+    private final long maxAgeMSec;
+    private final long refreshAfterMSec;
+    private final long maxWeight;
+    private final AgentInstanceContext agentInstanceContext;
+    private final int streamNumber;
+    private final HistoricalPollAsyncService asyncService;
+    private final HistoricalDataCacheFactory factory;
+    private final LinkedHashMap<Object, Item> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long loadCount;
+    private long loadNanosTotal;
+    private long refreshCount;
+    private long evictionCount;
+
+    /**
+     * Ctor.
+     *
+     * @param cacheDesc            cache settings
+     * @param agentInstanceContext agent instance context
+     * @param streamNumber         stream number
+     * @param factory              factory keeping track of caches for reporting metrics
+     */
+    public HistoricalDataCacheRefreshAheadImpl(ConfigurationCommonCacheRefreshAhead cacheDesc, AgentInstanceContext agentInstanceContext, int streamNumber, HistoricalDataCacheFactory factory) {
+        this.maxAgeMSec = agentInstanceContext.getTimeAbacus().deltaForSecondsDouble(cacheDesc.getMaxAgeSeconds());
+        this.refreshAfterMSec = agentInstanceContext.getTimeAbacus().deltaForSecondsDouble(cacheDesc.getRefreshAfterSeconds());
+        this.maxWeight = cacheDesc.getMaxWeight();
+        this.agentInstanceContext = agentInstanceContext;
+        this.streamNumber = streamNumber;
+        this.factory = factory;
+        StatementContextRuntimeServices runtimeServices = agentInstanceContext.getStatementContext().getStatementContextRuntimeServices();
+        this.asyncService = runtimeServices == null ? null : runtimeServices.getHistoricalPollAsyncService();
+    }
+
+    public synchronized EventTable[] getCached(Object methodParams) {
+        Item item = cache.get(methodParams);
+        if (item == null) {
+            missCount++;
+            return null;
+        }
+
+        long now = agentInstanceContext.getSchedulingService().getTime();
+        if ((now - item.time) > maxAgeMSec) {
+            cache.remove(methodParams);
+            weight -= item.weight;
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        return item.data;
+    }
+
+    public synchronized boolean isRefreshDue(Object methodParams) {
+        Item item = cache.get(methodParams);
+        if (item == null || item.refreshing) {
+            return false;
+        }
+        long now = agentInstanceContext.getSchedulingService().getTime();
+        if ((now - item.time) <= refreshAfterMSec) {
+            return false;
+        }
+        item.refreshing = true;
+        refreshCount++;
+        return true;
+    }
+
+    public void refresh(Collection<Object> methodParams, HistoricalPollAsyncWork work) {
+        HistoricalPollAsyncWork refreshWork = new HistoricalPollAsyncWork() {
+            public List<List<EventBean>> poll() {
+                return work.poll();
+            }
+
+            public void completed(List<List<EventBean>> results) {
+                try {
+                    work.completed(results);
+                } finally {
+                    refreshed(methodParams);
+                }
+            }
+
+            public void cancel() {
+                work.cancel();
+            }
+        };
+
+        if (asyncService != null) {
+            try {
+                asyncService.submit(agentInstanceContext.getEpStatementAgentInstanceHandle(), refreshWork);
+                return;
+            } catch (RejectedExecutionException ex) {
+                // the historical thread pool is saturated, reload on the refresh thread instead
+            }
+        }
+
+        factory.getRefreshExecutor().execute(() -> {
+            List<List<EventBean>> results = null;
+            try {
+                results = refreshWork.poll();
+            } catch (RuntimeException ex) {
+                log.warn("Failed to reload historical data for statement '" + agentInstanceContext.getStatementName() + "': " + ex.getMessage(), ex);
+            }
+            StatementAgentInstanceLock lock = agentInstanceContext.getAgentInstanceLock();
+            lock.acquireWriteLock();
+            try {
+                if (!agentInstanceContext.getEpStatementAgentInstanceHandle().isDestroyed()) {
+                    refreshWork.completed(results);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Failed to complete reload of historical data for statement '" + agentInstanceContext.getStatementName() + "': " + ex.getMessage(), ex);
+            } finally {
+                lock.releaseWriteLock();
+            }
+        });
+    }
+
+    public synchronized void put(Object methodParams, EventTable[] rows) {
+        Item item = new Item(rows, agentInstanceContext.getSchedulingService().getTime(), weigh(rows));
+        Item existing = cache.put(methodParams, item);
+        if (existing != null) {
+            weight -= existing.weight;
+        }
+        weight += item.weight;
+
+        if (maxWeight > 0) {
+            // evict least-recently-used entries, retaining the entry just put
+            Iterator<Item> it = cache.values().iterator();
+            while (weight > maxWeight && cache.size() > 1) {
+                Item eldest = it.next();
+                it.remove();
+                weight -= eldest.weight;
+                evictionCount++;
+            }
+        }
+    }
+
+    private synchronized void refreshed(Collection<Object> methodParams) {
+        // entries that were put by the reload are new and not refreshing, entries that were not reloaded become due again
+        for (Object key : methodParams) {
+            Item item = cache.get(key);
+            if (item != null) {
+                item.refreshing = false;
+            }
+        }
+    }
+
+    public synchronized void polled(int numKeys, long pollNanos) {
+        loadCount += numKeys;
+        loadNanosTotal += pollNanos;
+    }
+
+    public boolean isActive() {
+        return true;
+    }
+
+    public void destroy() {
+        factory.removeRefreshAheadCache(this);
+    }
+
+    /**
+     * Returns the agent instance context.
+     *
+     * @return agent instance context
+     */
+    public AgentInstanceContext getAgentInstanceContext() {
+        return agentInstanceContext;
+    }
+
+    /**
+     * Returns the stream number.
+     *
+     * @return stream number
+     */
+    public int getStreamNumber() {
+        return streamNumber;
+    }
+
+    /**
+     * Returns the current statistics.
+     *
+     * @return statistics
+     */
+    public synchronized HistoricalDataCacheStatistics getStatistics() {
+        return new HistoricalDataCacheStatistics(cache.size(), weight, hitCount, missCount, loadCount, loadNanosTotal, refreshCount, evictionCount);
+    }
+
+    private static long weigh(EventTable[] rows) {
+        long weight = 1;
+        if (rows != null && rows.length > 0 && rows[0] != null) {
+            Integer numberOfEvents = rows[0].getNumberOfEvents();
+            if (numberOfEvents != null) {
+                weight += numberOfEvents;
+            }
+        }
+        return weight;
+    }
+
+    private static class Item {
+        private final EventTable[] data;
+        private final long time;
+        private final long weight;
+        private boolean refreshing;
+
+        private Item(EventTable[] data, long time, long weight) {
+            this.data = data;
+            this.time = time;
+            this.weight = weight;
+        }
+    }
+}
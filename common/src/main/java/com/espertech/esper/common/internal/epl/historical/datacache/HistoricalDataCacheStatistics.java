@@ -0,0 +1,96 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.historical.datacache;
+
+/**
+ * Point-in-time statistics of a refresh-ahead cache, summed across caches by {@link #add(HistoricalDataCacheStatistics)}.
+ */
+public class HistoricalDataCacheStatistics {
+    private long size;
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long loadCount;
+    private long loadNanosTotal;
+    private long refreshCount;
+    private long evictionCount;
+
+    /**
+     * Ctor.
+     *
+     * @param size           number of entries
+     * @param weight         total weight of entries
+     * @param hitCount       number of lookups that returned cached rows
+     * @param missCount      number of lookups that did not find an entry, or found a stale entry
+     * @param loadCount      number of keys polled
+     * @param loadNanosTotal total nanoseconds spent polling
+     * @param refreshCount   number of entries reloaded ahead of expiry
+     * @param evictionCount  number of entries evicted
+     */
+    public HistoricalDataCacheStatistics(long size, long weight, long hitCount, long missCount, long loadCount, long loadNanosTotal, long refreshCount, long evictionCount) {
+        this.size = size;
+        this.weight = weight;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadCount = loadCount;
+        this.loadNanosTotal = loadNanosTotal;
+        this.refreshCount = refreshCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Adds the values of the other statistics to these statistics.
+     *
+     * @param other statistics to add
+     */
+    public void add(HistoricalDataCacheStatistics other) {
+        size += other.size;
+        weight += other.weight;
+        hitCount += other.hitCount;
+        missCount += other.missCount;
+        loadCount += other.loadCount;
+        loadNanosTotal += other.loadNanosTotal;
+        refreshCount += other.refreshCount;
+        evictionCount += other.evictionCount;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    public long getLoadNanosTotal() {
+        return loadNanosTotal;
+    }
+
+    public long getRefreshCount() {
+        return refreshCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+}
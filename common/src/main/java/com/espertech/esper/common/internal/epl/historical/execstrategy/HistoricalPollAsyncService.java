@@ -0,0 +1,42 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.historical.execstrategy;
+
+import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
+
+/**
+ * Service for polling historical data asynchronously, i.e. by a thread pool rather than by the event-processing thread.
+ */
+public interface HistoricalPollAsyncService {
+    /**
+     * Returns the maximum number of distinct keys that a statement may have outstanding.
+     *
+     * @return maximum number of keys
+     */
+    int getMaxInFlight();
+
+    /**
+     * Returns the poll timeout in milliseconds.
+     *
+     * @return timeout
+     */
+    long getTimeoutMSec();
+
+    /**
+     * Submits the work for polling by a pool thread. Once the poll returns, fails or times out the service
+     * completes the work while holding the lock of the agent instance and then dispatches the agent instance's output.
+     *
+     * @param agentInstanceHandle agent instance handle
+     * @param work                work
+     * @throws java.util.concurrent.RejectedExecutionException when the thread pool does not accept the work, such as when its queue is full
+     */
+    void submit(EPStatementAgentInstanceHandle agentInstanceHandle, HistoricalPollAsyncWork work);
+}
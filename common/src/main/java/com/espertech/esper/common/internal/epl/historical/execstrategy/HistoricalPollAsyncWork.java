@@ -0,0 +1,41 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.historical.execstrategy;
+
+import com.espertech.esper.common.client.EventBean;
+
+import java.util.List;
+
+/**
+ * Work for an asynchronous poll of historical data.
+ */
+public interface HistoricalPollAsyncWork {
+    /**
+     * Poll, invoked by a pool thread.
+     *
+     * @return list of events per key
+     */
+    List<List<EventBean>> poll();
+
+    /**
+     * Complete the work, invoked while holding the agent instance lock.
+     *
+     * @param results list of events per key as returned by the poll, or null when the poll failed or timed out
+     */
+    void completed(List<List<EventBean>> results);
+
+    /**
+     * Cancels the poll when it did not complete in time, invoked by the timeout thread while the poll may still be in progress.
+     * The default implementation has no effect.
+     */
+    default void cancel() {
+    }
+}
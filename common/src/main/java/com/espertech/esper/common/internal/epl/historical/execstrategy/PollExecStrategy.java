@@ -35,6 +35,21 @@ public interface PollExecStrategy {
      */
     public List<EventBean> poll(Object lookupValues, ExprEvaluatorContext exprEvaluatorContext);
 
+    /**
+     * Sets the time after which the data source should abandon a poll, for use by strategies that poll on a thread
+     * other than the event-processing thread. The default implementation has no effect.
+     *
+     * @param timeoutMSec timeout in milliseconds
+     */
+    default void setPollTimeout(long timeoutMSec) {
+    }
+
+    /**
+     * Cancels a poll in progress, invoked by a thread other than the polling thread. The default implementation has no effect.
+     */
+    default void cancel() {
+    }
+
     /**
      * Indicate we are done polling and can release resources.
      */
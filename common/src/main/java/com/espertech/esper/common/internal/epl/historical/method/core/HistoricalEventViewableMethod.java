@@ -18,9 +18,11 @@ import com.espertech.esper.common.internal.epl.historical.common.HistoricalEvent
 import com.espertech.esper.common.internal.epl.historical.execstrategy.PollExecStrategy;
 
 public class HistoricalEventViewableMethod extends HistoricalEventViewableBase {
+    private final AgentInstanceContext agentInstanceContext;
 
     public HistoricalEventViewableMethod(HistoricalEventViewableMethodFactory factory, PollExecStrategy pollExecStrategy, AgentInstanceContext agentInstanceContext) {
         super(factory, pollExecStrategy, agentInstanceContext);
+        this.agentInstanceContext = agentInstanceContext;
 
         try {
             ConfigurationCommonMethodRef configCache = agentInstanceContext.getClasspathImportServiceRuntime().getConfigurationMethodRef(factory.getConfigurationName());
@@ -30,4 +32,8 @@ public class HistoricalEventViewableMethod extends HistoricalEventViewableBase {
             throw new EPException("Failed to obtain cache: " + t.getMessage(), t);
         }
     }
+
+    protected PollExecStrategy makePollExecStrategy() {
+        return ((HistoricalEventViewableMethodFactory) factory).makePollExecStrategy(agentInstanceContext);
+    }
 }
@@ -30,8 +30,17 @@ public class HistoricalEventViewableMethodFactory extends HistoricalEventViewabl
     }
 
     public HistoricalEventViewable activate(AgentInstanceContext agentInstanceContext) {
-        PollExecStrategyMethod strategy = new PollExecStrategyMethod(targetStrategy.make(agentInstanceContext), conversionStrategy);
-        return new HistoricalEventViewableMethod(this, strategy, agentInstanceContext);
+        return new HistoricalEventViewableMethod(this, makePollExecStrategy(agentInstanceContext), agentInstanceContext);
+    }
+
+    /**
+     * Returns a new poll strategy with its own method target.
+     *
+     * @param agentInstanceContext agent instance context
+     * @return strategy
+     */
+    public PollExecStrategyMethod makePollExecStrategy(AgentInstanceContext agentInstanceContext) {
+        return new PollExecStrategyMethod(targetStrategy.make(agentInstanceContext), conversionStrategy);
     }
 
     public String getConfigurationName() {
@@ -0,0 +1,38 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.advanced.index.bitmap;
+
+import com.espertech.esper.common.client.type.EPTypeClass;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.common.internal.epl.lookup.EventAdvancedIndexConfigStatement;
+
+public class AdvancedIndexConfigStatementBitmap implements EventAdvancedIndexConfigStatement {
+    public final static EPTypeClass EPTYPE = new EPTypeClass(AdvancedIndexConfigStatementBitmap.class);
+
+    private ExprEvaluator[] columnEvals;
+    private EPTypeClass[] columnTypes;
+
+    public ExprEvaluator[] getColumnEvals() {
+        return columnEvals;
+    }
+
+    public void setColumnEvals(ExprEvaluator[] columnEvals) {
+        this.columnEvals = columnEvals;
+    }
+
+    public EPTypeClass[] getColumnTypes() {
+        return columnTypes;
+    }
+
+    public void setColumnTypes(EPTypeClass[] columnTypes) {
+        this.columnTypes = columnTypes;
+    }
+}
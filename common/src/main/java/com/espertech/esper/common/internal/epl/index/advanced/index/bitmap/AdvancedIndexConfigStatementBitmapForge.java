@@ -0,0 +1,81 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.advanced.index.bitmap;
+
+import com.espertech.esper.common.client.type.EPType;
+import com.espertech.esper.common.client.type.EPTypeClass;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethodScope;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.common.internal.epl.expression.core.ExprForge;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNodeUtilityCodegen;
+import com.espertech.esper.common.internal.epl.lookup.EventAdvancedIndexConfigStatement;
+import com.espertech.esper.common.internal.epl.lookup.EventAdvancedIndexConfigStatementForge;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.*;
+
+public class AdvancedIndexConfigStatementBitmapForge implements EventAdvancedIndexConfigStatementForge {
+    private final ExprForge[] columnEvals;
+    private final EPTypeClass[] columnTypes;
+
+    public AdvancedIndexConfigStatementBitmapForge(ExprForge[] columnEvals, EPTypeClass[] columnTypes) {
+        this.columnEvals = columnEvals;
+        this.columnTypes = columnTypes;
+    }
+
+    public static AdvancedIndexConfigStatementBitmapForge make(ExprNode[] columns) {
+        ExprForge[] columnEvals = new ExprForge[columns.length];
+        EPTypeClass[] columnTypes = new EPTypeClass[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            columnEvals[i] = columns[i].getForge();
+            EPType type = JavaClassHelper.getBoxedType(columnEvals[i].getEvaluationType());
+            columnTypes[i] = type instanceof EPTypeClass ? (EPTypeClass) type : null;
+        }
+        return new AdvancedIndexConfigStatementBitmapForge(columnEvals, columnTypes);
+    }
+
+    public ExprForge[] getColumnEvals() {
+        return columnEvals;
+    }
+
+    public EPTypeClass[] getColumnTypes() {
+        return columnTypes;
+    }
+
+    public CodegenExpression codegenMake(CodegenMethodScope parent, CodegenClassScope classScope) {
+        CodegenMethod method = parent.makeChild(AdvancedIndexConfigStatementBitmap.EPTYPE, this.getClass(), classScope);
+        CodegenExpression[] types = new CodegenExpression[columnTypes.length];
+        for (int i = 0; i < columnTypes.length; i++) {
+            types[i] = constant(columnTypes[i]);
+        }
+        method.getBlock()
+                .declareVarNewInstance(AdvancedIndexConfigStatementBitmap.EPTYPE, "factory")
+                .exprDotMethod(ref("factory"), "setColumnEvals", ExprNodeUtilityCodegen.codegenEvaluators(columnEvals, method, this.getClass(), classScope))
+                .exprDotMethod(ref("factory"), "setColumnTypes", newArrayWithInit(EPTypeClass.EPTYPE, types))
+                .methodReturn(ref("factory"));
+        return localMethod(method);
+    }
+
+    public EventAdvancedIndexConfigStatement toRuntime() {
+        ExprEvaluator[] evaluators = new ExprEvaluator[columnEvals.length];
+        for (int i = 0; i < columnEvals.length; i++) {
+            evaluators[i] = columnEvals[i].getExprEvaluator();
+        }
+        AdvancedIndexConfigStatementBitmap cfg = new AdvancedIndexConfigStatementBitmap();
+        cfg.setColumnEvals(evaluators);
+        cfg.setColumnTypes(columnTypes);
+        return cfg;
+    }
+}
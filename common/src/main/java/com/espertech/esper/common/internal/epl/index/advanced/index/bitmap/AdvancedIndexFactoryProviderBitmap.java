@@ -0,0 +1,52 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.advanced.index.bitmap;
+
+import com.espertech.esper.common.internal.epl.expression.core.*;
+import com.espertech.esper.common.internal.epl.index.advanced.index.service.AdvancedIndexFactoryProvider;
+import com.espertech.esper.common.internal.epl.index.advanced.index.service.EventAdvancedIndexProvisionCompileTime;
+import com.espertech.esper.common.internal.epl.lookup.AdvancedIndexConfigContextPartition;
+import com.espertech.esper.common.internal.epl.lookup.AdvancedIndexDescWExpr;
+
+/**
+ * Provider for bitmap indexes, for use as follows:
+ * <pre>create index MyIndex on MyWindow((status, region, tier) bitmap)</pre>
+ * <p>
+ * A bitmap index keeps, for each indexed property, a compressed bitmap of rows per distinct value.
+ * Fire-and-forget queries combine the bitmaps of equals-predicates and in-predicates on the indexed properties.
+ * Suitable for low-cardinality properties.
+ */
+public class AdvancedIndexFactoryProviderBitmap implements AdvancedIndexFactoryProvider {
+    public final static String INDEXTYPE_NAME = "bitmap";
+
+    public EventAdvancedIndexProvisionCompileTime validateEventIndex(String indexName, String indexTypeName, ExprNode[] columns, ExprNode[] parameters) throws ExprValidationException {
+        if (columns.length == 0) {
+            throw new ExprValidationException("Index of type '" + indexTypeName + "' requires at least one expression as index column but received none");
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (!(columns[i] instanceof ExprIdentNode)) {
+                throw new ExprValidationException("Index of type '" + indexTypeName + "' requires event properties as index columns but received '" +
+                        ExprNodeUtilityPrint.toExpressionStringMinPrecedenceSafe(columns[i]) + "' for column " + i);
+            }
+        }
+        if (parameters != null && parameters.length > 0) {
+            throw new ExprValidationException("Index of type '" + indexTypeName + "' does not accept parameters but received " + parameters.length);
+        }
+
+        AdvancedIndexDescWExpr indexDesc = new AdvancedIndexDescWExpr(indexTypeName, columns);
+        AdvancedIndexConfigStatementBitmapForge indexStatementConfigs = AdvancedIndexConfigStatementBitmapForge.make(columns);
+        return new EventAdvancedIndexProvisionCompileTime(indexDesc, parameters, EventAdvancedIndexFactoryForgeBitmapForge.INSTANCE, indexStatementConfigs);
+    }
+
+    public AdvancedIndexConfigContextPartition validateConfigureFilterIndex(String indexName, String indexTypeName, ExprNode[] parameters, ExprValidationContext validationContext) throws ExprValidationException {
+        throw new ExprValidationException("Index of type '" + indexTypeName + "' is not supported for filter indexes");
+    }
+}
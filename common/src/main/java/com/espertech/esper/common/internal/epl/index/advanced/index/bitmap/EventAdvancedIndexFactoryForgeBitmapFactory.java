@@ -0,0 +1,43 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.advanced.index.bitmap;
+
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.index.advanced.index.service.EventAdvancedIndexProvisionRuntime;
+import com.espertech.esper.common.internal.epl.index.base.EventTable;
+import com.espertech.esper.common.internal.epl.index.base.EventTableOrganization;
+import com.espertech.esper.common.internal.epl.lookup.*;
+
+public class EventAdvancedIndexFactoryForgeBitmapFactory implements EventAdvancedIndexFactory {
+
+    public final static EventAdvancedIndexFactoryForgeBitmapFactory INSTANCE = new EventAdvancedIndexFactoryForgeBitmapFactory();
+
+    private EventAdvancedIndexFactoryForgeBitmapFactory() {
+    }
+
+    public EventAdvancedIndexFactoryForge getForge() {
+        return EventAdvancedIndexFactoryForgeBitmapForge.INSTANCE;
+    }
+
+    public AdvancedIndexConfigContextPartition configureContextPartition(ExprEvaluatorContext exprEvaluatorContext, EventType eventType, EventAdvancedIndexProvisionRuntime advancedIndexProvisionDesc, EventTableOrganization organization) {
+        return null; // no context-partition settings
+    }
+
+    public EventTable make(EventAdvancedIndexConfigStatement configStatement, AdvancedIndexConfigContextPartition configCP, EventTableOrganization organization) {
+        return new EventTableBitmap(organization, (AdvancedIndexConfigStatementBitmap) configStatement);
+    }
+
+    public EventAdvancedIndexConfigStatementForge toConfigStatement(ExprNode[] indexedExpr) {
+        return AdvancedIndexConfigStatementBitmapForge.make(indexedExpr);
+    }
+}
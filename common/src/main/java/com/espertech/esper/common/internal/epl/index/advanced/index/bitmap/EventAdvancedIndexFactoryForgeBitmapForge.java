@@ -0,0 +1,48 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.advanced.index.bitmap;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethodScope;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.index.advanced.index.quadtree.SubordTableLookupStrategyFactoryQuadTreeForge;
+import com.espertech.esper.common.internal.epl.lookup.EventAdvancedIndexFactory;
+import com.espertech.esper.common.internal.epl.lookup.EventAdvancedIndexFactoryForge;
+
+import java.util.Map;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.publicConstValue;
+
+public class EventAdvancedIndexFactoryForgeBitmapForge implements EventAdvancedIndexFactoryForge {
+
+    public final static EventAdvancedIndexFactoryForgeBitmapForge INSTANCE = new EventAdvancedIndexFactoryForgeBitmapForge();
+
+    private EventAdvancedIndexFactoryForgeBitmapForge() {
+    }
+
+    public boolean providesIndexForOperation(String operationName) {
+        // bitmap indexes serve equals- and in-predicates of fire-and-forget queries only, and do not provide settings-application operations
+        return false;
+    }
+
+    public SubordTableLookupStrategyFactoryQuadTreeForge getSubordinateLookupStrategy(String operationName, Map<Integer, ExprNode> expressions, boolean isNWOnTrigger, int numOuterstreams) {
+        throw new UnsupportedOperationException("Bitmap index does not provide operation '" + operationName + "'");
+    }
+
+    public CodegenExpression codegenMake(CodegenMethodScope parent, CodegenClassScope classScope) {
+        return publicConstValue(EventAdvancedIndexFactoryForgeBitmapFactory.class, "INSTANCE");
+    }
+
+    public EventAdvancedIndexFactory getRuntimeFactory() {
+        return EventAdvancedIndexFactoryForgeBitmapFactory.INSTANCE;
+    }
+}
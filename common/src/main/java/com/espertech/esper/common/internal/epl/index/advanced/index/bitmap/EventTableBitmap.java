@@ -0,0 +1,236 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.advanced.index.bitmap;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.type.EPTypeClass;
+import com.espertech.esper.common.internal.collection.CompressedBitmap;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.epl.index.base.EventTable;
+import com.espertech.esper.common.internal.epl.index.base.EventTableOrganization;
+import com.espertech.esper.common.internal.epl.index.base.EventTableOrganizationType;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+import java.util.*;
+
+/**
+ * Bitmap index: each event is assigned a row number and, for each indexed column, each distinct value
+ * has a compressed bitmap of the row numbers of the events that have that value.
+ * <p>
+ * Lookups take a set of values per column, union the bitmaps of the values within a column and intersect the
+ * bitmaps across columns, smallest first.
+ * <p>
+ * Row numbers of removed events are reused. Lookups may therefore return a superset of the matching events when
+ * the value of an indexed property changed while the event was in the index, so callers must re-apply the predicates.
+ */
+public class EventTableBitmap implements EventTable {
+    private final EventTableOrganization organization;
+    private final AdvancedIndexConfigStatementBitmap config;
+    private final EventBean[] eventsPerStream = new EventBean[1];
+    private final Map<Object, CompressedBitmap>[] valueBitmaps;
+    private final Map<EventBean, Integer> rowNums = new HashMap<>();
+    private EventBean[] rows = new EventBean[16];
+    private int rowsUsed;
+    private int[] freeRowNums = new int[16];
+    private int numFreeRowNums;
+
+    public EventTableBitmap(EventTableOrganization organization, AdvancedIndexConfigStatementBitmap config) {
+        this.organization = new EventTableOrganization(organization.getIndexName(), organization.isUnique(), false, organization.getStreamNum(), organization.getExpressions(), EventTableOrganizationType.BITMAP);
+        this.config = config;
+        this.valueBitmaps = new Map[config.getColumnEvals().length];
+        for (int i = 0; i < valueBitmaps.length; i++) {
+            valueBitmaps[i] = new HashMap<>();
+        }
+    }
+
+    /**
+     * Returns the events that, for each column that has lookup values, have one of the lookup values.
+     *
+     * @param valuesPerColumn lookup values per column, or null for a column that is not constrained
+     * @return events, in row order
+     */
+    public Collection<EventBean> lookup(Object[][] valuesPerColumn) {
+        List<CompressedBitmap> columnBitmaps = new ArrayList<>(valuesPerColumn.length);
+        for (int col = 0; col < valuesPerColumn.length; col++) {
+            if (valuesPerColumn[col] == null) {
+                continue;
+            }
+            CompressedBitmap bitmap = null;
+            for (Object value : valuesPerColumn[col]) {
+                if (value == null) {
+                    continue; // equals-null is never true
+                }
+                CompressedBitmap valueBitmap = valueBitmaps[col].get(coerce(value, config.getColumnTypes()[col]));
+                if (valueBitmap != null) {
+                    bitmap = bitmap == null ? valueBitmap : CompressedBitmap.or(bitmap, valueBitmap);
+                }
+            }
+            if (bitmap == null) {
+                return Collections.emptyList();
+            }
+            columnBitmaps.add(bitmap);
+        }
+        if (columnBitmaps.isEmpty()) {
+            throw new IllegalArgumentException("No lookup values provided for any column");
+        }
+
+        columnBitmaps.sort(Comparator.comparingInt(CompressedBitmap::getCardinality));
+        CompressedBitmap result = columnBitmaps.get(0);
+        for (int i = 1; i < columnBitmaps.size() && !result.isEmpty(); i++) {
+            result = CompressedBitmap.and(result, columnBitmaps.get(i));
+        }
+
+        List<EventBean> events = new ArrayList<>(result.getCardinality());
+        result.forEach(rowNum -> {
+            EventBean event = rows[rowNum];
+            if (event != null) {
+                events.add(event);
+            }
+        });
+        return events;
+    }
+
+    public void addRemove(EventBean[] newData, EventBean[] oldData, ExprEvaluatorContext exprEvaluatorContext) {
+        exprEvaluatorContext.getInstrumentationProvider().qIndexAddRemove(this, newData, oldData);
+
+        if (newData != null) {
+            add(newData, exprEvaluatorContext);
+        }
+        if (oldData != null) {
+            remove(oldData, exprEvaluatorContext);
+        }
+
+        exprEvaluatorContext.getInstrumentationProvider().aIndexAddRemove();
+    }
+
+    public void add(EventBean[] events, ExprEvaluatorContext exprEvaluatorContext) {
+        for (EventBean added : events) {
+            add(added, exprEvaluatorContext);
+        }
+    }
+
+    public void remove(EventBean[] events, ExprEvaluatorContext exprEvaluatorContext) {
+        for (EventBean removed : events) {
+            remove(removed, exprEvaluatorContext);
+        }
+    }
+
+    public void add(EventBean event, ExprEvaluatorContext exprEvaluatorContext) {
+        if (rowNums.containsKey(event)) {
+            return;
+        }
+        int rowNum = allocateRowNum();
+        rows[rowNum] = event;
+        rowNums.put(event, rowNum);
+
+        eventsPerStream[0] = event;
+        ExprEvaluator[] evaluators = config.getColumnEvals();
+        for (int col = 0; col < evaluators.length; col++) {
+            Object value = evaluators[col].evaluate(eventsPerStream, true, exprEvaluatorContext);
+            valueBitmaps[col].computeIfAbsent(value, key -> new CompressedBitmap()).add(rowNum);
+        }
+    }
+
+    public void remove(EventBean event, ExprEvaluatorContext exprEvaluatorContext) {
+        // Not an error if the event is not found, its possible that an old-data event is artificial (such as for statistics) and
+        // thus did not correspond to a new-data event raised earlier.
+        Integer rowNum = rowNums.remove(event);
+        if (rowNum == null) {
+            return;
+        }
+
+        eventsPerStream[0] = event;
+        ExprEvaluator[] evaluators = config.getColumnEvals();
+        for (int col = 0; col < evaluators.length; col++) {
+            Object value = evaluators[col].evaluate(eventsPerStream, false, exprEvaluatorContext);
+            CompressedBitmap bitmap = valueBitmaps[col].get(value);
+            if (bitmap != null) {
+                bitmap.remove(rowNum);
+                if (bitmap.isEmpty()) {
+                    valueBitmaps[col].remove(value);
+                }
+            }
+        }
+
+        rows[rowNum] = null;
+        if (numFreeRowNums == freeRowNums.length) {
+            freeRowNums = Arrays.copyOf(freeRowNums, numFreeRowNums * 2);
+        }
+        freeRowNums[numFreeRowNums++] = rowNum;
+    }
+
+    public Iterator<EventBean> iterator() {
+        return rowNums.keySet().iterator();
+    }
+
+    public boolean isEmpty() {
+        return rowNums.isEmpty();
+    }
+
+    public void clear() {
+        rowNums.clear();
+        for (Map<Object, CompressedBitmap> bitmaps : valueBitmaps) {
+            bitmaps.clear();
+        }
+        rows = new EventBean[16];
+        rowsUsed = 0;
+        numFreeRowNums = 0;
+    }
+
+    public void destroy() {
+        clear();
+    }
+
+    public String toQueryPlan() {
+        return this.getClass().getSimpleName() + " columns=" + Arrays.toString(organization.getExpressions());
+    }
+
+    public Class getProviderClass() {
+        return EventTableBitmap.class;
+    }
+
+    public Integer getNumberOfEvents() {
+        return rowNums.size();
+    }
+
+    public int getNumKeys() {
+        return -1;
+    }
+
+    public Object getIndex() {
+        return valueBitmaps;
+    }
+
+    public EventTableOrganization getOrganization() {
+        return organization;
+    }
+
+    private int allocateRowNum() {
+        if (numFreeRowNums > 0) {
+            return freeRowNums[--numFreeRowNums];
+        }
+        if (rowsUsed == rows.length) {
+            rows = Arrays.copyOf(rows, rowsUsed * 2);
+        }
+        return rowsUsed++;
+    }
+
+    private static Object coerce(Object value, EPTypeClass columnType) {
+        if (columnType == null || value.getClass() == columnType.getType()) {
+            return value;
+        }
+        if (value instanceof Number && JavaClassHelper.isNumeric(columnType)) {
+            return JavaClassHelper.coerceBoxed((Number) value, columnType.getType());
+        }
+        return value;
+    }
+}
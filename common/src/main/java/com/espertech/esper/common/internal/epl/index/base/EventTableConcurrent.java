@@ -0,0 +1,19 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.base;
+
+/**
+ * Marker for an index that allows lookups concurrent with changes to the index.
+ * <p>
+ * Changes to the index must still be serialized by the owner of the index, such as by the lock of the named window or table.
+ */
+public interface EventTableConcurrent extends EventTable {
+}
@@ -26,14 +26,36 @@ import com.espertech.esper.common.client.util.StateMgmtSetting;
 
 public class EventTableIndexServiceImpl implements EventTableIndexService {
 
-    public final static EventTableIndexServiceImpl INSTANCE = new EventTableIndexServiceImpl();
+    public final static EventTableIndexServiceImpl INSTANCE = new EventTableIndexServiceImpl(false);
+    public final static EventTableIndexServiceImpl INSTANCE_CONCURRENT = new EventTableIndexServiceImpl(true);
+
+    private final boolean concurrentIndexes;
+    private final boolean compactIndexes;
+
+    /**
+     * Ctor.
+     * @param concurrentIndexes indicator whether hash and btree indexes allow lookups concurrent with changes
+     */
+    public EventTableIndexServiceImpl(boolean concurrentIndexes) {
+        this(concurrentIndexes, false);
+    }
+
+    /**
+     * Ctor.
+     * @param concurrentIndexes indicator whether hash and btree indexes allow lookups concurrent with changes
+     * @param compactIndexes    indicator whether non-unique hash indexes keep single events and long keys compactly
+     */
+    public EventTableIndexServiceImpl(boolean concurrentIndexes, boolean compactIndexes) {
+        this.concurrentIndexes = concurrentIndexes;
+        this.compactIndexes = compactIndexes;
+    }
 
     public boolean allowInitIndex(boolean isRecoveringResilient) {
         return true;
     }
 
     public EventTableFactory createHashedOnly(int indexedStreamNum, EventType eventType, String[] indexProps, MultiKeyFromObjectArray transformFireAndForget, DataInputOutputSerde keySerde, boolean unique, String optionalIndexName, EventPropertyValueGetter getter, DataInputOutputSerde optionalValueSerde, boolean isFireAndForget, StateMgmtSetting stateMgmtSettings) {
-        return new PropertyHashedEventTableFactory(indexedStreamNum, indexProps, unique, optionalIndexName, getter, transformFireAndForget);
+        return new PropertyHashedEventTableFactory(indexedStreamNum, indexProps, unique, optionalIndexName, getter, transformFireAndForget, concurrentIndexes, compactIndexes);
     }
 
     public EventTableFactory createUnindexed(int indexedStreamNum, EventType eventType, DataInputOutputSerde optionalValueSerde, boolean isFireAndForget, StateMgmtSetting stateMgmtSettings) {
@@ -41,7 +63,7 @@ public class EventTableIndexServiceImpl implements EventTableIndexService {
     }
 
     public EventTableFactory createSorted(int indexedStreamNum, EventType eventType, String indexedProp, EPTypeClass indexType, EventPropertyValueGetter getter, DataInputOutputSerde serde, DataInputOutputSerde optionalValueSerde, boolean isFireAndForget, StateMgmtSetting stateMgmtSettings) {
-        return new PropertySortedEventTableFactory(indexedStreamNum, indexedProp, getter, indexType);
+        return new PropertySortedEventTableFactory(indexedStreamNum, indexedProp, getter, indexType, concurrentIndexes);
     }
 
     public EventTableFactory createComposite(int indexedStreamNum, EventType eventType, String[] indexProps, EPTypeClass[] indexCoercionTypes, EventPropertyValueGetter indexGetter, MultiKeyFromObjectArray transformFireAndForget, DataInputOutputSerde keySerde, String[] rangeProps, EPTypeClass[] rangeCoercionTypes, EventPropertyValueGetter[] rangeGetters, DataInputOutputSerde[] rangeSerdes, DataInputOutputSerde optionalValueSerde, boolean isFireAndForget) {
@@ -49,7 +71,7 @@ public class EventTableIndexServiceImpl implements EventTableIndexService {
     }
 
     public EventTableFactory createInArray(int streamNum, EventType eventType, String[] propertyNames, EPTypeClass[] indexTypes, DataInputOutputSerde[] indexSerdes, boolean unique, EventPropertyValueGetter[] getters, boolean isFireAndForget, StateMgmtSetting stateMgmtSettings) {
-        return new PropertyHashedArrayFactory(streamNum, propertyNames, unique, null, getters);
+        return new PropertyHashedArrayFactory(streamNum, propertyNames, unique, null, getters, compactIndexes);
     }
 
     public EventTableFactory createCustom(String indexName, int indexedStreamNum, EventType eventType, boolean unique, EventAdvancedIndexProvisionRuntime advancedIndexProvisionDesc) {
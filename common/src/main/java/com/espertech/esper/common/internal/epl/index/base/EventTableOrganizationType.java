@@ -17,5 +17,6 @@ public enum EventTableOrganizationType {
     COMPOSITE,
     MULTIINDEX,
     APPLICATION,
-    VDW
+    VDW,
+    BITMAP
 }
@@ -10,14 +10,36 @@
  */
 package com.espertech.esper.common.internal.epl.index.base;
 
+import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventPropertyValueGetter;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.serde.DataInputOutputSerde;
 import com.espertech.esper.common.client.type.EPTypeClass;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.common.internal.epl.join.queryplan.QueryPlanIndexItem;
 
+import java.util.ArrayList;
+
 public class EventTableUtil {
+    /**
+     * Fill a new index/table instance with existing events. Events are added as a single array so that
+     * indexes may bulk-load them, such as the sorted index sorting the events by key.
+     *
+     * @param table                new index to fill
+     * @param prefilledEvents      existing events
+     * @param exprEvaluatorContext context
+     */
+    public static void fillIndex(EventTable table, Iterable<EventBean> prefilledEvents, ExprEvaluatorContext exprEvaluatorContext) {
+        ArrayList<EventBean> events = new ArrayList<>();
+        for (EventBean prefilledEvent : prefilledEvents) {
+            events.add(prefilledEvent);
+        }
+        if (!events.isEmpty()) {
+            table.add(events.toArray(new EventBean[0]), exprEvaluatorContext);
+        }
+    }
+
     /**
      * Build an index/table instance using the event properties for the event type.
      *
@@ -27,14 +27,26 @@ public class PropertyHashedEventTableFactory implements EventTableFactory {
     protected final String optionalIndexName;
     protected final EventPropertyValueGetter propertyGetter;
     protected final MultiKeyFromObjectArray multiKeyTransform;
+    protected final boolean concurrent;
+    protected final boolean compact;
 
     public PropertyHashedEventTableFactory(int streamNum, String[] propertyNames, boolean unique, String optionalIndexName, EventPropertyValueGetter propertyGetter, MultiKeyFromObjectArray multiKeyTransform) {
+        this(streamNum, propertyNames, unique, optionalIndexName, propertyGetter, multiKeyTransform, false);
+    }
+
+    public PropertyHashedEventTableFactory(int streamNum, String[] propertyNames, boolean unique, String optionalIndexName, EventPropertyValueGetter propertyGetter, MultiKeyFromObjectArray multiKeyTransform, boolean concurrent) {
+        this(streamNum, propertyNames, unique, optionalIndexName, propertyGetter, multiKeyTransform, concurrent, false);
+    }
+
+    public PropertyHashedEventTableFactory(int streamNum, String[] propertyNames, boolean unique, String optionalIndexName, EventPropertyValueGetter propertyGetter, MultiKeyFromObjectArray multiKeyTransform, boolean concurrent, boolean compact) {
         this.streamNum = streamNum;
         this.propertyNames = propertyNames;
         this.unique = unique;
         this.optionalIndexName = optionalIndexName;
         this.propertyGetter = propertyGetter;
         this.multiKeyTransform = multiKeyTransform;
+        this.concurrent = concurrent;
+        this.compact = compact;
 
         if (propertyGetter == null) {
             throw new IllegalArgumentException("Property-getter is null");
@@ -42,18 +54,24 @@ public class PropertyHashedEventTableFactory implements EventTableFactory {
     }
 
     public EventTable[] makeEventTables(ExprEvaluatorContext exprEvaluatorContext, Integer subqueryNumber) {
+        if (concurrent) {
+            return new EventTable[]{unique ? new PropertyHashedEventTableUniqueConcurrent(this) : new PropertyHashedEventTableUnadornedConcurrent(this)};
+        }
         if (unique) {
             return new EventTable[]{new PropertyHashedEventTableUnique(this)};
         } else {
-            return new EventTable[]{new PropertyHashedEventTableUnadorned(this)};
+            return new EventTable[]{compact ? new PropertyHashedEventTableUnadornedCompact(this) : new PropertyHashedEventTableUnadorned(this)};
         }
     }
 
     public Class getEventTableClass() {
+        if (concurrent) {
+            return unique ? PropertyHashedEventTableUniqueConcurrent.class : PropertyHashedEventTableUnadornedConcurrent.class;
+        }
         if (unique) {
             return PropertyHashedEventTableUnique.class;
         } else {
-            return PropertyHashedEventTableUnadorned.class;
+            return compact ? PropertyHashedEventTableUnadornedCompact.class : PropertyHashedEventTableUnadorned.class;
         }
     }
 
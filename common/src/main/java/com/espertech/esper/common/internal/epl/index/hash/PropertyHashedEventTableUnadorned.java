@@ -19,8 +19,12 @@ public class PropertyHashedEventTableUnadorned extends PropertyHashedEventTable
     protected final Map<Object, Set<EventBean>> propertyIndex;
 
     public PropertyHashedEventTableUnadorned(PropertyHashedEventTableFactory factory) {
+        this(factory, new HashMap<>());
+    }
+
+    protected PropertyHashedEventTableUnadorned(PropertyHashedEventTableFactory factory, Map<Object, Set<EventBean>> propertyIndex) {
         super(factory);
-        propertyIndex = new HashMap<>();
+        this.propertyIndex = propertyIndex;
     }
 
     /**
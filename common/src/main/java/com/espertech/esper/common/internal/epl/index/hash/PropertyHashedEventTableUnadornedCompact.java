@@ -0,0 +1,192 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.hash;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.LongHashMap;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+
+import java.util.*;
+
+/**
+ * Non-unique hash index that keeps a single event per key in an immutable singleton set and only allocates
+ * a modifiable set of events for a key when a second event with the same key arrives.
+ * <p>
+ * Keys of type {@link Long} are kept in a primitive-long-keyed open-addressing map, so that the key is not boxed
+ * in the index and lookups do not hash or compare boxed keys. Since {@link Long#equals(Object)} only equals other
+ * {@link Long} values, all other keys, including null and multi-keys, are kept in a regular HashMap.
+ * <p>
+ * Each bucket is either a singleton set or a set of events of size two or more.
+ */
+public class PropertyHashedEventTableUnadornedCompact extends PropertyHashedEventTable {
+    private final LongHashMap<Set<EventBean>> longKeyed;
+    private final Map<Object, Set<EventBean>> otherKeyed;
+
+    public PropertyHashedEventTableUnadornedCompact(PropertyHashedEventTableFactory factory) {
+        super(factory);
+        this.longKeyed = new LongHashMap<>();
+        this.otherKeyed = new HashMap<>();
+    }
+
+    /**
+     * Returns the set of events that have the same property value as the given event.
+     *
+     * @param key to compare against
+     * @return set of events with property value, or null if none found (never returns zero-sized set)
+     */
+    public Set<EventBean> lookup(Object key) {
+        return getBucket(key);
+    }
+
+    /**
+     * Same as lookup except always returns a copy of the set
+     * @param key key
+     * @return copy
+     */
+    public Set<EventBean> lookupFAF(Object key) {
+        Set<EventBean> bucket = getBucket(key);
+        if (bucket == null) {
+            return null;
+        }
+        return new LinkedHashSet<>(bucket);
+    }
+
+    public void add(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
+        Object key = getKey(theEvent);
+        Set<EventBean> bucket = getBucket(key);
+        if (bucket == null) {
+            putBucket(key, Collections.singleton(theEvent));
+        } else if (bucket.size() == 1) {
+            if (bucket.contains(theEvent)) {
+                return;
+            }
+            Set<EventBean> events = new LinkedHashSet<>(4);
+            events.addAll(bucket);
+            events.add(theEvent);
+            putBucket(key, events);
+        } else {
+            bucket.add(theEvent);
+        }
+    }
+
+    public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
+        Object key = getKey(theEvent);
+        Set<EventBean> bucket = getBucket(key);
+        if (bucket == null) {
+            return;
+        }
+
+        // Not an error if the event is not found, its possible that an old-data event is artificial (such as for statistics) and
+        // thus did not correspond to a new-data event raised earlier.
+        if (bucket.size() == 1) {
+            if (bucket.contains(theEvent)) {
+                removeBucket(key);
+            }
+            return;
+        }
+
+        if (!bucket.remove(theEvent)) {
+            return;
+        }
+        if (bucket.size() == 1) {
+            putBucket(key, Collections.singleton(bucket.iterator().next()));
+        }
+    }
+
+    public boolean isEmpty() {
+        return longKeyed.isEmpty() && otherKeyed.isEmpty();
+    }
+
+    public Iterator<EventBean> iterator() {
+        return new BucketIterator(longKeyed.valueIterator(), otherKeyed.values().iterator());
+    }
+
+    public void clear() {
+        longKeyed.clear();
+        otherKeyed.clear();
+    }
+
+    public void destroy() {
+        clear();
+    }
+
+    public Integer getNumberOfEvents() {
+        return null;
+    }
+
+    public int getNumKeys() {
+        return longKeyed.size() + otherKeyed.size();
+    }
+
+    /**
+     * Returns a map of key to set of events. As long keys are not kept boxed, the map is a copy.
+     *
+     * @return map of key to set of events
+     */
+    public Object getIndex() {
+        Map<Object, Set<EventBean>> index = new HashMap<>(otherKeyed);
+        longKeyed.visit((key, bucket) -> index.put(key, bucket));
+        return index;
+    }
+
+    public Class<?> getProviderClass() {
+        return PropertyHashedEventTable.class;
+    }
+
+    private Set<EventBean> getBucket(Object key) {
+        if (key instanceof Long) {
+            return longKeyed.get((Long) key);
+        }
+        return otherKeyed.get(key);
+    }
+
+    private void putBucket(Object key, Set<EventBean> bucket) {
+        if (key instanceof Long) {
+            longKeyed.put((Long) key, bucket);
+        } else {
+            otherKeyed.put(key, bucket);
+        }
+    }
+
+    private void removeBucket(Object key) {
+        if (key instanceof Long) {
+            longKeyed.remove((Long) key);
+        } else {
+            otherKeyed.remove(key);
+        }
+    }
+
+    private static class BucketIterator implements Iterator<EventBean> {
+        private final Iterator<Set<EventBean>> first;
+        private final Iterator<Set<EventBean>> second;
+        private Iterator<EventBean> current;
+
+        BucketIterator(Iterator<Set<EventBean>> first, Iterator<Set<EventBean>> second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        public boolean hasNext() {
+            if (current != null && current.hasNext()) {
+                return true;
+            }
+            return first.hasNext() || second.hasNext();
+        }
+
+        public EventBean next() {
+            if (current != null && current.hasNext()) {
+                return current.next();
+            }
+            current = first.hasNext() ? first.next().iterator() : second.next().iterator();
+            return current.next();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.hash;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.epl.index.base.EventTableConcurrent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Non-unique hash index that allows lookups concurrent with changes.
+ * <p>
+ * Each key holds a concurrent set of events, the iterator of which is weakly consistent, so that a set returned by a lookup
+ * can be iterated while events are added or removed. Adding and removing an event does not copy the set.
+ * Lookups that do not hold the lock copy the result, see {@link com.espertech.esper.common.internal.epl.lookup.SubordIndexedTableLookupStrategyConcurrent}.
+ */
+public class PropertyHashedEventTableUnadornedConcurrent extends PropertyHashedEventTableUnadorned implements EventTableConcurrent {
+    private final static Object NULL_KEY = new Object();
+
+    public PropertyHashedEventTableUnadornedConcurrent(PropertyHashedEventTableFactory factory) {
+        super(factory, new ConcurrentHashMap<>());
+    }
+
+    public Set<EventBean> lookup(Object key) {
+        return super.lookup(toIndexKey(key));
+    }
+
+    public Set<EventBean> lookupFAF(Object key) {
+        return super.lookupFAF(toIndexKey(key));
+    }
+
+    public void add(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
+        Object key = getKey(theEvent);
+        Set<EventBean> events = propertyIndex.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet());
+        events.add(theEvent);
+    }
+
+    protected Object getKey(EventBean theEvent) {
+        return toIndexKey(super.getKey(theEvent));
+    }
+
+    /**
+     * Returns the key to use with a concurrent map, which does not allow null keys.
+     *
+     * @param key key
+     * @return key or null-key marker
+     */
+    static Object toIndexKey(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+}
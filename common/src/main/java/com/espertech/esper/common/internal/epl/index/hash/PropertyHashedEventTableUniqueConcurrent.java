@@ -0,0 +1,35 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.hash;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.epl.index.base.EventTableConcurrent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unique hash index that allows lookups concurrent with changes.
+ */
+public class PropertyHashedEventTableUniqueConcurrent extends PropertyHashedEventTableUnique implements EventTableConcurrent {
+
+    public PropertyHashedEventTableUniqueConcurrent(PropertyHashedEventTableFactory factory) {
+        super(factory, new ConcurrentHashMap<>());
+    }
+
+    public Set<EventBean> lookup(Object key) {
+        return super.lookup(PropertyHashedEventTableUnadornedConcurrent.toIndexKey(key));
+    }
+
+    protected Object getKey(EventBean theEvent) {
+        return PropertyHashedEventTableUnadornedConcurrent.toIndexKey(super.getKey(theEvent));
+    }
+}
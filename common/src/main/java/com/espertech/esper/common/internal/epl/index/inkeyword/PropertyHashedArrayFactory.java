@@ -17,6 +17,7 @@ import com.espertech.esper.common.internal.epl.index.base.EventTableFactory;
 import com.espertech.esper.common.internal.epl.index.hash.PropertyHashedEventTable;
 import com.espertech.esper.common.internal.epl.index.hash.PropertyHashedEventTableFactory;
 import com.espertech.esper.common.internal.epl.index.hash.PropertyHashedEventTableUnadorned;
+import com.espertech.esper.common.internal.epl.index.hash.PropertyHashedEventTableUnadornedCompact;
 import com.espertech.esper.common.internal.epl.index.hash.PropertyHashedEventTableUnique;
 
 import java.util.Arrays;
@@ -28,16 +29,22 @@ public class PropertyHashedArrayFactory implements EventTableFactory {
     protected final String optionalIndexName;
     protected final EventPropertyValueGetter[] propertyGetters;
     protected final PropertyHashedEventTableFactory[] factories;
+    protected final boolean compact;
 
     public PropertyHashedArrayFactory(int streamNum, String[] propertyNames, boolean unique, String optionalIndexName, EventPropertyValueGetter[] propertyGetters) {
+        this(streamNum, propertyNames, unique, optionalIndexName, propertyGetters, false);
+    }
+
+    public PropertyHashedArrayFactory(int streamNum, String[] propertyNames, boolean unique, String optionalIndexName, EventPropertyValueGetter[] propertyGetters, boolean compact) {
         this.streamNum = streamNum;
         this.propertyNames = propertyNames;
         this.unique = unique;
         this.optionalIndexName = optionalIndexName;
         this.propertyGetters = propertyGetters;
+        this.compact = compact;
         this.factories = new PropertyHashedEventTableFactory[propertyGetters.length];
         for (int i = 0; i < factories.length; i++) {
-            factories[i] = new PropertyHashedEventTableFactory(streamNum, new String[]{propertyNames[i]}, unique, null, propertyGetters[i], null);
+            factories[i] = new PropertyHashedEventTableFactory(streamNum, new String[]{propertyNames[i]}, unique, null, propertyGetters[i], null, false, compact);
         }
     }
 
@@ -49,7 +56,7 @@ public class PropertyHashedArrayFactory implements EventTableFactory {
             }
         } else {
             for (int i = 0; i < tables.length; i++) {
-                tables[i] = new PropertyHashedEventTableUnadorned(factories[i]);
+                tables[i] = compact ? new PropertyHashedEventTableUnadornedCompact(factories[i]) : new PropertyHashedEventTableUnadorned(factories[i]);
             }
         }
         return tables;
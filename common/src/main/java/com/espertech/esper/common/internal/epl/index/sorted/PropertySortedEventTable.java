@@ -119,63 +119,67 @@ public abstract class PropertySortedEventTable implements EventTable {
     }
 
     protected static Set<EventBean> normalize(SortedMap<Object, Set<EventBean>> submap) {
-        if (submap.size() == 0) {
+        Iterator<Set<EventBean>> it = submap.values().iterator();
+        if (!it.hasNext()) {
             return null;
         }
-        if (submap.size() == 1) {
-            return submap.get(submap.firstKey());
+        Set<EventBean> first = it.next();
+        if (!it.hasNext()) {
+            return first;
         }
-        Set<EventBean> result = new LinkedHashSet<EventBean>();
-        for (Map.Entry<Object, Set<EventBean>> entry : submap.entrySet()) {
-            result.addAll(entry.getValue());
+        Set<EventBean> result = new LinkedHashSet<EventBean>(first);
+        while (it.hasNext()) {
+            result.addAll(it.next());
         }
         return result;
     }
 
     protected static Collection<EventBean> normalizeCollection(SortedMap<Object, Set<EventBean>> submap) {
-        if (submap.size() == 0) {
+        Iterator<Set<EventBean>> it = submap.values().iterator();
+        if (!it.hasNext()) {
             return null;
         }
-        if (submap.size() == 1) {
-            return submap.get(submap.firstKey());
+        Set<EventBean> first = it.next();
+        if (!it.hasNext()) {
+            return first;
         }
-        Deque<EventBean> result = new ArrayDeque<EventBean>();
-        for (Map.Entry<Object, Set<EventBean>> entry : submap.entrySet()) {
-            result.addAll(entry.getValue());
+        Deque<EventBean> result = new ArrayDeque<EventBean>(first);
+        while (it.hasNext()) {
+            result.addAll(it.next());
         }
         return result;
     }
 
     protected static Collection<EventBean> normalizeCollection(SortedMap<Object, Set<EventBean>> submapOne, SortedMap<Object, Set<EventBean>> submapTwo) {
-        if (submapOne.size() == 0) {
+        if (submapOne.isEmpty()) {
             return normalizeCollection(submapTwo);
         }
-        if (submapTwo.size() == 0) {
+        if (submapTwo.isEmpty()) {
             return normalizeCollection(submapOne);
         }
         ArrayDeque<EventBean> result = new ArrayDeque<EventBean>();
-        for (Map.Entry<Object, Set<EventBean>> entry : submapOne.entrySet()) {
-            result.addAll(entry.getValue());
+        for (Set<EventBean> events : submapOne.values()) {
+            result.addAll(events);
         }
-        for (Map.Entry<Object, Set<EventBean>> entry : submapTwo.entrySet()) {
-            result.addAll(entry.getValue());
+        for (Set<EventBean> events : submapTwo.values()) {
+            result.addAll(events);
         }
         return result;
     }
 
     protected static Set<EventBean> normalize(SortedMap<Object, Set<EventBean>> submapOne, SortedMap<Object, Set<EventBean>> submapTwo) {
-        if (submapOne.size() == 0) {
+        if (submapOne.isEmpty()) {
             return normalize(submapTwo);
         }
-        if (submapTwo.size() == 0) {
+        if (submapTwo.isEmpty()) {
             return normalize(submapOne);
         }
         Set<EventBean> result = new LinkedHashSet<EventBean>();
-        for (Map.Entry<Object, Set<EventBean>> entry : submapOne.entrySet()) {
-            result.addAll(entry.getValue());
+        for (Set<EventBean> events : submapOne.values()) {
+            result.addAll(events);
         }
-        for (Map.Entry<Object, Set<EventBean>> entry : submapTwo.entrySet()) {
-            result.addAll(entry.getValue());
+        for (Set<EventBean> events : submapTwo.values()) {
+            result.addAll(events);
         }
         return result;
     }
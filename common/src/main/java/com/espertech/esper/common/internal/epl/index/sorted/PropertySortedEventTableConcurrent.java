@@ -0,0 +1,36 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.sorted;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.epl.index.base.EventTableConcurrent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted index backed by a skip list that allows lookups concurrent with changes.
+ * <p>
+ * Each key holds a concurrent set of events, the iterator of which is weakly consistent, so that a set returned by a lookup
+ * can be iterated while events are added or removed. Range lookups are weakly consistent.
+ * Lookups that do not hold the lock copy the result, see {@link com.espertech.esper.common.internal.epl.lookup.SubordIndexedTableLookupStrategyConcurrent}.
+ */
+public class PropertySortedEventTableConcurrent extends PropertySortedEventTableImpl implements EventTableConcurrent {
+
+    public PropertySortedEventTableConcurrent(PropertySortedEventTableFactory factory) {
+        super(factory, new ConcurrentSkipListMap<>(), ConcurrentHashMap.newKeySet());
+    }
+
+    protected Set<EventBean> makeValueSet() {
+        return ConcurrentHashMap.newKeySet();
+    }
+}
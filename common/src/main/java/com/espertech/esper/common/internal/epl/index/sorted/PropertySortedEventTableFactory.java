@@ -27,15 +27,24 @@ public class PropertySortedEventTableFactory implements EventTableFactory {
     protected final String propertyName;
     protected final EventPropertyValueGetter propertyGetter;
     protected final EPTypeClass valueType;
+    protected final boolean concurrent;
 
     public PropertySortedEventTableFactory(int streamNum, String propertyName, EventPropertyValueGetter propertyGetter, EPTypeClass valueType) {
+        this(streamNum, propertyName, propertyGetter, valueType, false);
+    }
+
+    public PropertySortedEventTableFactory(int streamNum, String propertyName, EventPropertyValueGetter propertyGetter, EPTypeClass valueType, boolean concurrent) {
         this.streamNum = streamNum;
         this.propertyName = propertyName;
         this.propertyGetter = propertyGetter;
         this.valueType = valueType;
+        this.concurrent = concurrent;
     }
 
     public EventTable[] makeEventTables(ExprEvaluatorContext exprEvaluatorContext, Integer subqueryNumber) {
+        if (concurrent) {
+            return new EventTable[]{new PropertySortedEventTableConcurrent(this)};
+        }
         return new EventTable[]{new PropertySortedEventTableImpl(this)};
     }
 
@@ -27,12 +27,17 @@ import java.util.*;
  * with Object keys that store the property values.
  */
 public class PropertySortedEventTableImpl extends PropertySortedEventTable {
+    /**
+     * Minimum number of events added at once for the index to sort the events by key before adding them.
+     */
+    protected final static int BULK_ADD_MIN_EVENTS = 1024;
+
     /**
      * Index table.
      */
-    protected final TreeMap<Object, Set<EventBean>> propertyIndex;
+    protected final NavigableMap<Object, Set<EventBean>> propertyIndex;
 
-    protected final HashSet<EventBean> nullKeyedValues;
+    protected final Set<EventBean> nullKeyedValues;
 
     protected Object coerce(Object value) {
         if (value != null && factory.valueType != null && !value.getClass().equals(factory.valueType.getType())) {
@@ -44,9 +49,13 @@ public class PropertySortedEventTableImpl extends PropertySortedEventTable {
     }
 
     public PropertySortedEventTableImpl(PropertySortedEventTableFactory factory) {
+        this(factory, new TreeMap<>(), new LinkedHashSet<>());
+    }
+
+    protected PropertySortedEventTableImpl(PropertySortedEventTableFactory factory, NavigableMap<Object, Set<EventBean>> propertyIndex, Set<EventBean> nullKeyedValues) {
         super(factory);
-        propertyIndex = new TreeMap<>();
-        nullKeyedValues = new LinkedHashSet<>();
+        this.propertyIndex = propertyIndex;
+        this.nullKeyedValues = nullKeyedValues;
     }
 
     /**
@@ -203,10 +212,211 @@ public class PropertySortedEventTableImpl extends PropertySortedEventTable {
             return;
         }
 
-        Set<EventBean> events = propertyIndex.computeIfAbsent(key, k -> new LinkedHashSet<>());
+        Set<EventBean> events = propertyIndex.computeIfAbsent(key, k -> makeValueSet());
         events.add(theEvent);
     }
 
+    public void add(EventBean[] events, ExprEvaluatorContext exprEvaluatorContext) {
+        if (events == null) {
+            return;
+        }
+        if (events.length < BULK_ADD_MIN_EVENTS) {
+            super.add(events, exprEvaluatorContext);
+            return;
+        }
+        addBulk(events);
+    }
+
+    /**
+     * Returns a new set for holding the events of a key.
+     *
+     * @return set
+     */
+    protected Set<EventBean> makeValueSet() {
+        return new LinkedHashSet<>();
+    }
+
+    /**
+     * Adds many events at once: extracts the keys, sorts the events by key using a parallel stable sort
+     * and adds each run of equal keys at once. When the index is empty and backed by a TreeMap, the tree
+     * is built in a single pass from the sorted runs rather than by inserting each key.
+     * The order of events per key is the same as when adding the events one by one.
+     *
+     * @param events events to add
+     */
+    protected void addBulk(EventBean[] events) {
+        KeyedEvent[] keyed = new KeyedEvent[events.length];
+        int count = 0;
+        for (EventBean theEvent : events) {
+            Object key = coerce(getIndexedValue(theEvent));
+            if (key == null) {
+                nullKeyedValues.add(theEvent);
+            } else {
+                keyed[count++] = new KeyedEvent(key, theEvent);
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        Arrays.parallelSort(keyed, 0, count, KeyedEvent.COMPARATOR);
+
+        boolean build = propertyIndex.isEmpty() && propertyIndex instanceof TreeMap;
+        Object[] runKeys = build ? new Object[count] : null;
+        Set<EventBean>[] runValues = build ? new Set[count] : null;
+        int numRuns = 0;
+        int start = 0;
+        while (start < count) {
+            Object key = keyed[start].key;
+            int end = start + 1;
+            while (end < count && KeyedEvent.COMPARATOR.compare(keyed[start], keyed[end]) == 0) {
+                end++;
+            }
+            Set<EventBean> values = build ? makeValueSet() : propertyIndex.computeIfAbsent(key, k -> makeValueSet());
+            for (int i = start; i < end; i++) {
+                values.add(keyed[i].event);
+            }
+            if (build) {
+                runKeys[numRuns] = key;
+                runValues[numRuns] = values;
+                numRuns++;
+            }
+            start = end;
+        }
+        if (build) {
+            // putAll into an empty TreeMap from a sorted map with the same comparator builds the tree in linear time
+            propertyIndex.putAll(new SortedRuns(runKeys, runValues, numRuns));
+        }
+    }
+
+    private static class KeyedEvent {
+        private final static Comparator<KeyedEvent> COMPARATOR = (o1, o2) -> ((Comparable) o1.key).compareTo(o2.key);
+
+        private final Object key;
+        private final EventBean event;
+
+        KeyedEvent(Object key, EventBean event) {
+            this.key = key;
+            this.event = event;
+        }
+    }
+
+    /**
+     * Read-only sorted map of distinct keys in ascending natural order, for building a tree from sorted runs.
+     * Sub-maps are views of a range of the same runs.
+     */
+    static class SortedRuns extends AbstractMap<Object, Set<EventBean>> implements SortedMap<Object, Set<EventBean>> {
+        private final Object[] keys;
+        private final Set<EventBean>[] values;
+        private final int from;
+        private final int to;
+
+        SortedRuns(Object[] keys, Set<EventBean>[] values, int size) {
+            this(keys, values, 0, size);
+        }
+
+        private SortedRuns(Object[] keys, Set<EventBean>[] values, int from, int to) {
+            this.keys = keys;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        public Set<Entry<Object, Set<EventBean>>> entrySet() {
+            return new AbstractSet<Entry<Object, Set<EventBean>>>() {
+                public Iterator<Entry<Object, Set<EventBean>>> iterator() {
+                    return new Iterator<Entry<Object, Set<EventBean>>>() {
+                        private int index = from;
+
+                        public boolean hasNext() {
+                            return index < to;
+                        }
+
+                        public Entry<Object, Set<EventBean>> next() {
+                            if (index >= to) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<Object, Set<EventBean>> entry = new SimpleImmutableEntry<>(keys[index], values[index]);
+                            index++;
+                            return entry;
+                        }
+                    };
+                }
+
+                public int size() {
+                    return to - from;
+                }
+            };
+        }
+
+        public int size() {
+            return to - from;
+        }
+
+        public boolean containsKey(Object key) {
+            int index = lowerBound(key);
+            return index < to && compare(keys[index], key) == 0;
+        }
+
+        public Set<EventBean> get(Object key) {
+            int index = lowerBound(key);
+            return index < to && compare(keys[index], key) == 0 ? values[index] : null;
+        }
+
+        public Comparator<? super Object> comparator() {
+            return null;
+        }
+
+        public Object firstKey() {
+            if (from == to) {
+                throw new NoSuchElementException();
+            }
+            return keys[from];
+        }
+
+        public Object lastKey() {
+            if (from == to) {
+                throw new NoSuchElementException();
+            }
+            return keys[to - 1];
+        }
+
+        public SortedMap<Object, Set<EventBean>> subMap(Object fromKey, Object toKey) {
+            if (compare(fromKey, toKey) > 0) {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            return new SortedRuns(keys, values, lowerBound(fromKey), lowerBound(toKey));
+        }
+
+        public SortedMap<Object, Set<EventBean>> headMap(Object toKey) {
+            return new SortedRuns(keys, values, from, lowerBound(toKey));
+        }
+
+        public SortedMap<Object, Set<EventBean>> tailMap(Object fromKey) {
+            return new SortedRuns(keys, values, lowerBound(fromKey), to);
+        }
+
+        /**
+         * Returns the index of the first key of the range that is not less than the key, or the end of the range.
+         */
+        private int lowerBound(Object key) {
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(keys[mid], key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static int compare(Object first, Object second) {
+            return ((Comparable) first).compareTo(second);
+        }
+    }
+
     public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
         Object key = getIndexedValue(theEvent);
 
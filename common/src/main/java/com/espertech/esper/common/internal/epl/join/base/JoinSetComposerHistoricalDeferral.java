@@ -0,0 +1,66 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.join.base;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
+import com.espertech.esper.common.internal.context.util.EPStatementDispatch;
+import com.espertech.esper.common.internal.epl.historical.common.HistoricalPollDeferral;
+import com.espertech.esper.common.internal.epl.historical.execstrategy.HistoricalPollAsyncService;
+import com.espertech.esper.common.internal.event.core.FlushedEventBuffer;
+
+import java.util.List;
+
+/**
+ * Deferral for a stream that is joined to a historical stream: when the asynchronous poll completes, the deferred
+ * events of the stream are handed to the join dispatchable of the agent instance as new data of the stream.
+ */
+public class JoinSetComposerHistoricalDeferral implements HistoricalPollDeferral {
+    private final int streamNum;
+    private final HistoricalPollAsyncService asyncService;
+    private final AgentInstanceContext agentInstanceContext;
+
+    /**
+     * Ctor.
+     *
+     * @param streamNum            stream number of the stream that looks up from the historical stream
+     * @param asyncService         service for asynchronous polls
+     * @param agentInstanceContext agent instance context
+     */
+    public JoinSetComposerHistoricalDeferral(int streamNum, HistoricalPollAsyncService asyncService, AgentInstanceContext agentInstanceContext) {
+        this.streamNum = streamNum;
+        this.asyncService = asyncService;
+        this.agentInstanceContext = agentInstanceContext;
+    }
+
+    public HistoricalPollAsyncService getAsyncService() {
+        return asyncService;
+    }
+
+    public EPStatementAgentInstanceHandle getAgentInstanceHandle() {
+        return agentInstanceContext.getEpStatementAgentInstanceHandle();
+    }
+
+    public void deferredCompleted(List<EventBean[]> lookupRows) {
+        EPStatementDispatch dispatchable = agentInstanceContext.getEpStatementAgentInstanceHandle().getOptionalDispatchable();
+        if (!(dispatchable instanceof JoinExecStrategyDispatchable)) {
+            return;
+        }
+        EventBean[] events = new EventBean[lookupRows.size()];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = lookupRows.get(i)[streamNum];
+        }
+        FlushedEventBuffer buffer = new FlushedEventBuffer();
+        buffer.add(events);
+        ((JoinExecStrategyDispatchable) dispatchable).newData(streamNum, buffer, null);
+    }
+}
@@ -122,7 +122,7 @@ public class JoinSetComposerHistoricalImpl implements JoinSetComposer {
         for (int i = 0; i < newDataPerStream.length; i++) {
             if (newDataPerStream[i] != null) {
                 instrumentationCommon.qJoinCompositionQueryStrategy(true, i, newDataPerStream[i]);
-                queryStrategies[i].lookup(newDataPerStream[i], newResults, exprEvaluatorContext);
+                queryStrategies[i].lookupNewData(newDataPerStream[i], newResults, exprEvaluatorContext);
                 instrumentationCommon.aJoinCompositionQueryStrategy();
             }
         }
@@ -15,6 +15,8 @@ import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.common.internal.epl.historical.common.HistoricalDataQueryStrategy;
 import com.espertech.esper.common.internal.epl.historical.common.HistoricalEventViewable;
+import com.espertech.esper.common.internal.epl.historical.common.HistoricalPollDeferral;
+import com.espertech.esper.common.internal.epl.historical.execstrategy.HistoricalPollAsyncService;
 import com.espertech.esper.common.internal.epl.historical.indexingstrategy.PollResultIndexingStrategy;
 import com.espertech.esper.common.internal.epl.historical.indexingstrategy.PollResultIndexingStrategyNoIndex;
 import com.espertech.esper.common.internal.epl.historical.lookupstrategy.HistoricalIndexLookupStrategy;
@@ -36,15 +38,24 @@ public class JoinSetComposerPrototypeHistorical2Stream extends JoinSetComposerPr
     public JoinSetComposerDesc create(Viewable[] streamViews, boolean isFireAndForget, AgentInstanceContext agentInstanceContext, boolean isRecoveringResilient) {
         QueryStrategy[] queryStrategies = new QueryStrategy[streamTypes.length];
 
+        // when configured, new data of the stream looks up from the historical stream asynchronously
+        HistoricalPollDeferral deferral = null;
+        if (!isFireAndForget && agentInstanceContext.getStatementContext().getStatementContextRuntimeServices() != null) {
+            HistoricalPollAsyncService asyncService = agentInstanceContext.getStatementContext().getStatementContextRuntimeServices().getHistoricalPollAsyncService();
+            if (asyncService != null) {
+                deferral = new JoinSetComposerHistoricalDeferral(streamNum, asyncService, agentInstanceContext);
+            }
+        }
+
         HistoricalEventViewable viewable = (HistoricalEventViewable) streamViews[polledNum];
         queryStrategies[streamNum] = new HistoricalDataQueryStrategy(streamNum, polledNum, viewable, outerJoinPerStream[streamNum], outerJoinEqualsEval,
-                lookupStrategy, indexingStrategy);
+                lookupStrategy, indexingStrategy, deferral);
 
         // for strictly historical joins, create a query strategy for the non-subordinate historical view
         if (isAllHistoricalNoSubordinate) {
             viewable = (HistoricalEventViewable) streamViews[streamNum];
             queryStrategies[polledNum] = new HistoricalDataQueryStrategy(polledNum, streamNum, viewable, outerJoinPerStream[polledNum], outerJoinEqualsEval,
-                    HistoricalIndexLookupStrategyNoIndex.INSTANCE, PollResultIndexingStrategyNoIndex.INSTANCE);
+                    HistoricalIndexLookupStrategyNoIndex.INSTANCE, PollResultIndexingStrategyNoIndex.INSTANCE, null);
         }
 
         boolean allowIndexInit = agentInstanceContext.getEventTableIndexService().allowInitIndex(isRecoveringResilient);
@@ -28,4 +28,17 @@ public interface QueryStrategy {
      * @param exprEvaluatorContext expression evaluation context
      */
     public void lookup(EventBean[] lookupEvents, Set<MultiKeyArrayOfKeys<EventBean>> joinSet, ExprEvaluatorContext exprEvaluatorContext);
+
+    /**
+     * Look up events of the new data of the stream returning tuples of joined events.
+     * A strategy may defer the lookup for some events and provide the tuples for such events later.
+     * The default implementation performs the same lookup as {@link #lookup(EventBean[], Set, ExprEvaluatorContext)}.
+     *
+     * @param lookupEvents         - events to use to perform the join
+     * @param joinSet              - result join tuples of events
+     * @param exprEvaluatorContext expression evaluation context
+     */
+    default void lookupNewData(EventBean[] lookupEvents, Set<MultiKeyArrayOfKeys<EventBean>> joinSet, ExprEvaluatorContext exprEvaluatorContext) {
+        lookup(lookupEvents, joinSet, exprEvaluatorContext);
+    }
 }
@@ -160,11 +160,7 @@ public class EventTableIndexRepository {
 
         try {
             // fill table since its new
-            EventBean[] events = new EventBean[1];
-            for (EventBean prefilledEvent : prefilledEvents) {
-                events[0] = prefilledEvent;
-                table.add(events, agentInstanceContext);
-            }
+            EventTableUtil.fillIndex(table, prefilledEvents, agentInstanceContext);
         } catch (Throwable t) {
             table.destroy();
             throw t;
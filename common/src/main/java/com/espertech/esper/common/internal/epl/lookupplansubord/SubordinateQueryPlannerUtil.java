@@ -187,11 +187,7 @@ public class SubordinateQueryPlannerUtil {
 
                 // fill table since its new
                 if (!isRecoveringResilient) {
-                    EventBean[] events = new EventBean[1];
-                    for (EventBean prefilledEvent : contents) {
-                        events[0] = prefilledEvent;
-                        table.add(events, agentInstanceContext);
-                    }
+                    EventTableUtil.fillIndex(table, contents, agentInstanceContext);
                 }
 
                 indexRepository.addIndex(desc.getIndexMultiKey(), new EventTableIndexRepositoryEntry(null, null, table));
@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.common.internal.epl.namedwindow.consume;
 
+import com.espertech.esper.common.client.metric.NamedWindowDispatchMetric;
 import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
 
 import java.util.List;
@@ -32,10 +33,28 @@ public interface NamedWindowDispatchService {
     /**
      * Dispatch events of the insert and remove stream of named windows to consumers, as part of the
      * main event processing or dispatch loop.
+     * <p>
+     * When consumer statements are processed in parallel, the thread work of each consumer statement
+     * moves to the current thread, in the order of consumer statements.
      *
+     * @param threadWork for moving thread work produced by consumer statements
      * @return send events to consuming statements
      */
-    boolean dispatch();
+    boolean dispatch(NamedWindowDispatchThreadWork threadWork);
+
+    /**
+     * Returns indicator whether the current thread has named window results waiting for dispatch.
+     *
+     * @return indicator
+     */
+    boolean hasDispatches();
+
+    /**
+     * Returns metrics for parallel processing of consumer statements.
+     *
+     * @return metric or null if consumer statements are processed sequentially
+     */
+    NamedWindowDispatchMetric getMetric();
 
     /**
      * Destroy service.
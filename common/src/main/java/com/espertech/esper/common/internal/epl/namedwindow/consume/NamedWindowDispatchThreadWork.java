@@ -0,0 +1,31 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.consume;
+
+/**
+ * Moves work that is bound to a thread, such as statement results waiting for listener dispatch and events routed
+ * by insert-into, from a thread that processes named window consumers in parallel to the thread that dispatches.
+ */
+public interface NamedWindowDispatchThreadWork {
+    /**
+     * Removes and returns the work of the current thread.
+     *
+     * @return work or null if the current thread has no work
+     */
+    Object removeThreadWork();
+
+    /**
+     * Adds work, as removed from another thread, to the work of the current thread.
+     *
+     * @param work work
+     */
+    void addThreadWork(Object work);
+}
@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.common.internal.epl.namedwindow.core;
 
+import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
 import com.espertech.esper.common.internal.epl.join.lookup.IndexMultiKey;
 
@@ -52,6 +53,21 @@ public class NamedWindowInstance {
         return tailViewInstance.getNumberOfEvents();
     }
 
+    /**
+     * Loads events into the data window and the indexes of the named window, without producing output and
+     * without dispatching to consuming statements.
+     *
+     * @param events events to load
+     */
+    public void load(EventBean[] events) {
+        tailViewInstance.setLoading(true);
+        try {
+            rootViewInstance.update(events, null);
+        } finally {
+            tailViewInstance.setLoading(false);
+        }
+    }
+
     public void removeExplicitIndex(String indexName, String moduleName) {
         rootViewInstance.getIndexRepository().removeExplicitIndex(indexName, moduleName);
     }
@@ -40,4 +40,8 @@ public class NamedWindowRootView {
     public boolean isVirtualDataWindow() {
         return namedWindowMetaData.isVirtualDataWindow();
     }
+
+    public boolean isColumnarStore() {
+        return namedWindowMetaData.isColumnarStore();
+    }
 }
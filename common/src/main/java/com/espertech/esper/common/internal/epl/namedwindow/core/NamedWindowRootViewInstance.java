@@ -26,6 +26,8 @@ import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexM
 import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexRepository;
 import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexRepositoryEntry;
 import com.espertech.esper.common.internal.epl.virtualdw.VirtualDWView;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayColumnarStore;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
 import com.espertech.esper.common.internal.util.CollectionUtil;
 import com.espertech.esper.common.internal.view.core.ViewSupport;
 import com.espertech.esper.common.internal.view.core.Viewable;
@@ -46,6 +48,8 @@ public class NamedWindowRootViewInstance extends ViewSupport {
 
     private final EventTableIndexRepository indexRepository;
 
+    private final ObjectArrayColumnarStore columnarStore;
+
     private Iterable<EventBean> dataWindowContents;
 
     public NamedWindowRootViewInstance(NamedWindowRootView rootView, AgentInstanceContext agentInstanceContext, EventTableIndexMetadata eventTableIndexMetadata) {
@@ -59,6 +63,12 @@ public class NamedWindowRootViewInstance extends ViewSupport {
                 indexRepository.addIndex(entry.getKey(), new EventTableIndexRepositoryEntry(entry.getValue().getOptionalIndexName(), entry.getValue().getOptionalIndexModuleName(), index));
             }
         }
+
+        if (rootView.isColumnarStore()) {
+            columnarStore = new ObjectArrayColumnarStore((ObjectArrayEventType) rootView.getEventType());
+        } else {
+            columnarStore = null;
+        }
     }
 
     public AgentInstanceContext getAgentInstanceContext() {
@@ -91,6 +101,9 @@ public class NamedWindowRootViewInstance extends ViewSupport {
         for (EventTable table : indexRepository.getTables()) {
             table.remove(oldData, agentInstanceContext);
         }
+        if (columnarStore != null) {
+            columnarStore.removeAll(oldData);
+        }
     }
 
     /**
@@ -102,10 +115,18 @@ public class NamedWindowRootViewInstance extends ViewSupport {
         for (EventTable table : indexRepository.getTables()) {
             table.add(newData, agentInstanceContext);
         }
+        if (columnarStore != null) {
+            columnarStore.retain(newData);
+        }
     }
 
     // Called by deletion strategy and also the insert-into for new events only
     public void update(EventBean[] newData, EventBean[] oldData) {
+        // Store new events column-wise, the row events replace the new events in a copy of the array
+        if (columnarStore != null && newData != null) {
+            newData = columnarStore.addAll(newData);
+        }
+
         // Update indexes for fast deletion, if there are any
         if (rootView.isChildBatching()) {
             for (EventTable table : indexRepository.getTables()) {
@@ -115,6 +136,11 @@ public class NamedWindowRootViewInstance extends ViewSupport {
 
         // Update child views
         child.update(newData, oldData);
+
+        // Release rows that the data window did not keep
+        if (columnarStore != null && newData != null) {
+            columnarStore.removeNotRetained(newData);
+        }
     }
 
     public void setParent(Viewable parent) {
@@ -182,6 +208,10 @@ public class NamedWindowRootViewInstance extends ViewSupport {
         return indexRepository;
     }
 
+    public ObjectArrayColumnarStore getColumnarStore() {
+        return columnarStore;
+    }
+
     public boolean isVirtualDataWindow() {
         return child instanceof VirtualDWView;
     }
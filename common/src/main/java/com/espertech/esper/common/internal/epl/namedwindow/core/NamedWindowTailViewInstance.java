@@ -45,6 +45,7 @@ public class NamedWindowTailViewInstance extends ViewSupport implements Iterable
 
     private volatile Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> consumersInContext;  // handles as copy-on-write
     private volatile long numberOfEvents;
+    private boolean loading;
 
     public NamedWindowTailViewInstance(NamedWindowRootViewInstance rootViewInstance, NamedWindowTailView tailView, NamedWindow namedWindow, AgentInstanceContext agentInstanceContext) {
         this.rootViewInstance = rootViewInstance;
@@ -70,6 +71,11 @@ public class NamedWindowTailViewInstance extends ViewSupport implements Iterable
             numberOfEvents += newData.length;
         }
 
+        // Events loaded from a snapshot are not output and not dispatched to consuming statements
+        if (loading) {
+            return;
+        }
+
         // Post to child views, only if there are listeners or subscribers
         if (tailView.getStatementResultService().isMakeNatural() || tailView.getStatementResultService().isMakeSynthetic()) {
             child.update(newData, oldData);
@@ -304,6 +310,15 @@ public class NamedWindowTailViewInstance extends ViewSupport implements Iterable
         return numberOfEvents;
     }
 
+    /**
+     * Sets the indicator whether events are currently loaded from a snapshot.
+     *
+     * @param loading loading indicator
+     */
+    public void setLoading(boolean loading) {
+        this.loading = loading;
+    }
+
     public NamedWindowTailView getTailView() {
         return tailView;
     }
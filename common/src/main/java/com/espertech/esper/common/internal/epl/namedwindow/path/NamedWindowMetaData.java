@@ -39,9 +39,10 @@ public class NamedWindowMetaData implements Copyable<NamedWindowMetaData> {
     private final boolean isEnableIndexShare;
     private final EventType optionalEventTypeAs;
     private final boolean virtualDataWindow;
+    private final boolean columnarStore;
     private final EventTableIndexMetadata indexMetadata;
 
-    public NamedWindowMetaData(EventType eventType, String namedWindowModuleName, String contextName, String[] uniqueness, boolean isChildBatching, boolean isEnableIndexShare, EventType optionalEventTypeAs, boolean virtualDataWindow) {
+    public NamedWindowMetaData(EventType eventType, String namedWindowModuleName, String contextName, String[] uniqueness, boolean isChildBatching, boolean isEnableIndexShare, EventType optionalEventTypeAs, boolean virtualDataWindow, boolean columnarStore) {
         this.eventType = eventType;
         this.namedWindowModuleName = namedWindowModuleName;
         this.contextName = contextName;
@@ -51,9 +52,10 @@ public class NamedWindowMetaData implements Copyable<NamedWindowMetaData> {
         this.optionalEventTypeAs = optionalEventTypeAs;
         this.indexMetadata = new EventTableIndexMetadata();
         this.virtualDataWindow = virtualDataWindow;
+        this.columnarStore = columnarStore;
     }
 
-    public NamedWindowMetaData(EventType eventType, String namedWindowModuleName, String contextName, String[] uniqueness, boolean isChildBatching, boolean isEnableIndexShare, EventType optionalEventTypeAs, boolean virtualDataWindow, EventTableIndexMetadata indexMetadata) {
+    public NamedWindowMetaData(EventType eventType, String namedWindowModuleName, String contextName, String[] uniqueness, boolean isChildBatching, boolean isEnableIndexShare, EventType optionalEventTypeAs, boolean virtualDataWindow, boolean columnarStore, EventTableIndexMetadata indexMetadata) {
         this.eventType = eventType;
         this.namedWindowModuleName = namedWindowModuleName;
         this.contextName = contextName;
@@ -62,11 +64,12 @@ public class NamedWindowMetaData implements Copyable<NamedWindowMetaData> {
         this.isEnableIndexShare = isEnableIndexShare;
         this.optionalEventTypeAs = optionalEventTypeAs;
         this.virtualDataWindow = virtualDataWindow;
+        this.columnarStore = columnarStore;
         this.indexMetadata = indexMetadata;
     }
 
     public NamedWindowMetaData copy() {
-        return new NamedWindowMetaData(eventType, namedWindowModuleName, contextName, uniqueness, isChildBatching, isEnableIndexShare, optionalEventTypeAs, virtualDataWindow, indexMetadata.copy());
+        return new NamedWindowMetaData(eventType, namedWindowModuleName, contextName, uniqueness, isChildBatching, isEnableIndexShare, optionalEventTypeAs, virtualDataWindow, columnarStore, indexMetadata.copy());
     }
 
     public EventType getEventType() {
@@ -85,7 +88,7 @@ public class NamedWindowMetaData implements Copyable<NamedWindowMetaData> {
         return newInstance(NamedWindowMetaData.EPTYPE, EventTypeUtility.resolveTypeCodegen(eventType, addInitSvc), constant(namedWindowModuleName), constant(contextName), constant(uniqueness),
             constant(isChildBatching), constant(isEnableIndexShare),
             optionalEventTypeAs == null ? constantNull() : EventTypeUtility.resolveTypeCodegen(optionalEventTypeAs, addInitSvc),
-            constant(virtualDataWindow));
+            constant(virtualDataWindow), constant(columnarStore));
     }
 
     public Set<String> getUniquenessAsSet() {
@@ -119,6 +122,10 @@ public class NamedWindowMetaData implements Copyable<NamedWindowMetaData> {
         return virtualDataWindow;
     }
 
+    public boolean isColumnarStore() {
+        return columnarStore;
+    }
+
     public String getNamedWindowModuleName() {
         return namedWindowModuleName;
     }
@@ -19,6 +19,7 @@ import com.espertech.esper.common.internal.epl.agg.core.AggregationServiceFactor
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.common.internal.epl.index.base.EventTable;
+import com.espertech.esper.common.internal.epl.index.base.EventTableConcurrent;
 import com.espertech.esper.common.internal.epl.lookup.*;
 import com.espertech.esper.common.internal.epl.lookupplansubord.SubordinateQueryPlanDesc;
 import com.espertech.esper.common.internal.epl.namedwindow.core.NamedWindow;
@@ -104,11 +105,17 @@ public class SubSelectStrategyFactoryIndexShare implements SubSelectStrategyFact
                 subqueryLookup = new SubordFullTableScanLookupStrategyLocking(instance.getRootViewInstance().getDataWindowContents(), exprEvaluatorContext.getAgentInstanceLock());
             } else {
                 EventTable[] indexes = new EventTable[queryPlan.getIndexDescs().length];
+                boolean allConcurrent = true;
                 for (int i = 0; i < indexes.length; i++) {
                     indexes[i] = instance.getRootViewInstance().getIndexRepository().getIndexByDesc(queryPlan.getIndexDescs()[i].getIndexMultiKey());
+                    allConcurrent &= indexes[i] instanceof EventTableConcurrent;
                 }
                 subqueryLookup = queryPlan.getLookupStrategyFactory().makeStrategy(indexes, exprEvaluatorContext, instance.getRootViewInstance().getVirtualDataWindow());
-                subqueryLookup = new SubordIndexedTableLookupStrategyLocking(subqueryLookup, instance.getTailViewInstance().getAgentInstanceContext().getAgentInstanceLock());
+                if (allConcurrent && instance.getRootViewInstance().getVirtualDataWindow() == null) {
+                    subqueryLookup = new SubordIndexedTableLookupStrategyConcurrent(subqueryLookup);
+                } else {
+                    subqueryLookup = new SubordIndexedTableLookupStrategyLocking(subqueryLookup, instance.getTailViewInstance().getAgentInstanceContext().getAgentInstanceLock());
+                }
             }
         } else {
             TableInstance instance = table.getTableInstance(exprEvaluatorContext.getAgentInstanceId());
@@ -27,4 +27,11 @@ public interface TableInstanceGrouped extends TableInstance {
     Collection<Object> getGroupKeysMayMultiKey();
 
     Table getTable();
+
+    /**
+     * Returns the row-level lock, or null when the table uses table-level locking.
+     *
+     * @return row-level lock or null
+     */
+    TableRowStripedLock getRowStripedLock();
 }
@@ -22,19 +22,30 @@ import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexR
 import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
 
 import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
 
 public class TableInstanceGroupedImpl extends TableInstanceGroupedBase implements TableInstanceGrouped {
 
     private final Map<Object, ObjectArrayBackedEventBean> rows;
+    private final TableRowStripedLock rowStripedLock;
 
-    public TableInstanceGroupedImpl(Table table, AgentInstanceContext agentInstanceContext) {
+    public TableInstanceGroupedImpl(Table table, AgentInstanceContext agentInstanceContext, int numLockStripes) {
         super(table, agentInstanceContext);
+        this.rowStripedLock = numLockStripes > 0 ? new TableRowStripedLock(tableLevelRWLock, numLockStripes) : null;
 
         PropertyHashedEventTableUnique eventTable = (PropertyHashedEventTableUnique) table.getPrimaryIndexFactory().makeEventTables(agentInstanceContext, null)[0];
         rows = (Map<Object, ObjectArrayBackedEventBean>) (Map) eventTable.getPropertyIndex();
         indexRepository.addIndex(table.getMetaData().getKeyIndexMultiKey(), new EventTableIndexRepositoryEntry(table.getMetaData().getTableName(), table.getMetaData().getTableModuleName(), eventTable));
     }
 
+    public ReadWriteLock getTableLevelRWLock() {
+        return rowStripedLock == null ? tableLevelRWLock : rowStripedLock.getTableRWLock();
+    }
+
+    public TableRowStripedLock getRowStripedLock() {
+        return rowStripedLock;
+    }
+
     public long size() {
         return rows.size();
     }
@@ -33,6 +33,7 @@ public class TableManagementServiceImpl extends TableManagementServiceBase {
         if (!table.getMetaData().isKeyed()) {
             return new TableInstanceUngroupedImpl(table, agentInstanceContext);
         }
-        return new TableInstanceGroupedImpl(table, agentInstanceContext);
+        int numLockStripes = agentInstanceContext.getRuntimeSettingsService().getConfigurationRuntime().getExecution().getTableLockStripes();
+        return new TableInstanceGroupedImpl(table, agentInstanceContext, numLockStripes);
     }
 }
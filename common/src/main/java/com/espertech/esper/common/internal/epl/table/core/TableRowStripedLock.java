@@ -0,0 +1,323 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.table.core;
+
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Row-level locking for a table that has a primary key.
+ * <p>
+ * A row operation holds the shared lock of the table and the lock stripe selected by the hash of the primary key,
+ * for the duration of the operation only, so that operations on rows of different stripes proceed concurrently.
+ * Changing a row obtains the stripe write lock and reading a row by key obtains the stripe read lock.
+ * Creating a row obtains the exclusive lock of the table.
+ * <p>
+ * Row operations of the same statement, or of the same context partition, remain serialized by the statement lock
+ * since the statement keeps the current row and group key for each event. Concurrency therefore applies between
+ * statements and between context partitions that write to or read from the table.
+ * <p>
+ * All other table access obtains the table-level read-write lock and holds it until the statement completes,
+ * as with table-level locking. Its read lock is the shared lock of the table plus the read lock of each stripe,
+ * so that readers proceed concurrently with each other and observe a consistent table. Its write lock is the
+ * exclusive lock of the table.
+ * <p>
+ * Table access that is nested within a row operation of the same thread, such as a subquery or table-access
+ * expression evaluated while aggregating into a row, cannot wait for exclusive access without deadlocking.
+ * Such access proceeds under the locks that the thread holds and may observe rows of other writers being changed.
+ */
+public class TableRowStripedLock {
+    private final static int SHARED = 0;
+    private final static int EXCLUSIVE = 1;
+
+    private final ReentrantReadWriteLock tableLock;
+    private final ReentrantReadWriteLock[] stripes;
+    private final int mask;
+    private final ReadWriteLock tableRWLock;
+    private final ThreadLocal<int[]> nestedAcquisitions = ThreadLocal.withInitial(() -> new int[2]);
+
+    /**
+     * Ctor.
+     *
+     * @param tableLock  table lock
+     * @param numStripes number of stripes, rounded up to a power of two
+     */
+    public TableRowStripedLock(ReentrantReadWriteLock tableLock, int numStripes) {
+        if (numStripes < 1) {
+            throw new IllegalArgumentException("Invalid number of stripes " + numStripes);
+        }
+        int size = Integer.highestOneBit(numStripes);
+        if (size < numStripes) {
+            size <<= 1;
+        }
+        this.tableLock = tableLock;
+        this.stripes = new ReentrantReadWriteLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantReadWriteLock(tableLock.isFair());
+        }
+        this.mask = size - 1;
+        this.tableRWLock = new TableRWLock(new SharedReadLock(), new ExclusiveLock());
+    }
+
+    /**
+     * Returns the read-write lock for table access other than row operations.
+     *
+     * @return lock
+     */
+    public ReadWriteLock getTableRWLock() {
+        return tableRWLock;
+    }
+
+    /**
+     * Locks the row of the primary key for reading.
+     *
+     * @param groupKey primary key
+     */
+    public void lockRowRead(Object groupKey) {
+        tableLock.readLock().lock();
+        ReentrantReadWriteLock stripe = getStripe(groupKey);
+        if (isNestedOtherStripe(stripe)) {
+            return;
+        }
+        stripe.readLock().lock();
+    }
+
+    /**
+     * Unlocks the row of the primary key after reading.
+     *
+     * @param groupKey primary key
+     */
+    public void unlockRowRead(Object groupKey) {
+        ReentrantReadWriteLock stripe = getStripe(groupKey);
+        if (stripe.getReadHoldCount() > 0) {
+            stripe.readLock().unlock();
+        }
+        tableLock.readLock().unlock();
+    }
+
+    /**
+     * Locks the row of the primary key for changing the row, creating the row if it does not exist.
+     *
+     * @param instance             table instance
+     * @param groupKey             primary key
+     * @param exprEvaluatorContext evaluation context
+     * @return row
+     */
+    public ObjectArrayBackedEventBean lockRowWriteCreateIfAbsent(TableInstanceGrouped instance, Object groupKey, ExprEvaluatorContext exprEvaluatorContext) {
+        if (isNested()) {
+            // into-table aggregation does not nest, since statements that write to tables use the exclusive lock for other access
+            throw new IllegalStateException("Changing a row is not supported while the same thread holds another row or shared access to the table");
+        }
+        tableLock.readLock().lock();
+        ObjectArrayBackedEventBean row = instance.getRowForGroupKey(groupKey);
+        if (row == null && !tableLock.isWriteLockedByCurrentThread()) {
+            tableLock.readLock().unlock();
+            tableLock.writeLock().lock();
+            try {
+                row = instance.getCreateRowIntoTable(groupKey, exprEvaluatorContext);
+                tableLock.readLock().lock();
+            } finally {
+                tableLock.writeLock().unlock();
+            }
+        } else if (row == null) {
+            row = instance.getCreateRowIntoTable(groupKey, exprEvaluatorContext);
+        }
+        getStripe(groupKey).writeLock().lock();
+        return row;
+    }
+
+    /**
+     * Unlocks the row of the primary key after changing the row.
+     *
+     * @param groupKey primary key
+     */
+    public void unlockRowWrite(Object groupKey) {
+        getStripe(groupKey).writeLock().unlock();
+        tableLock.readLock().unlock();
+    }
+
+    /**
+     * Returns the number of stripes.
+     *
+     * @return stripes
+     */
+    public int getNumStripes() {
+        return stripes.length;
+    }
+
+    private ReentrantReadWriteLock getStripe(Object groupKey) {
+        int hash = groupKey == null ? 0 : groupKey.hashCode();
+        hash = hash ^ (hash >>> 16);
+        return stripes[hash & mask];
+    }
+
+    private boolean isNestedOtherStripe(ReentrantReadWriteLock stripe) {
+        // the thread holds another row or the table shared: waiting for another stripe could deadlock with a thread doing the reverse
+        return tableLock.getReadHoldCount() > 1 && !tableLock.isWriteLockedByCurrentThread()
+            && !stripe.isWriteLockedByCurrentThread() && stripe.getReadHoldCount() == 0;
+    }
+
+    private boolean isNested() {
+        return tableLock.getReadHoldCount() > 0 && !tableLock.isWriteLockedByCurrentThread();
+    }
+
+    private boolean lockNested(int lockNum) {
+        if (!isNested()) {
+            return false;
+        }
+        nestedAcquisitions.get()[lockNum]++;
+        return true;
+    }
+
+    private boolean unlockNested(int lockNum) {
+        int[] counts = nestedAcquisitions.get();
+        if (counts[lockNum] == 0) {
+            return false;
+        }
+        counts[lockNum]--;
+        return true;
+    }
+
+    private static class TableRWLock implements ReadWriteLock {
+        private final Lock readLock;
+        private final Lock writeLock;
+
+        private TableRWLock(Lock readLock, Lock writeLock) {
+            this.readLock = readLock;
+            this.writeLock = writeLock;
+        }
+
+        public Lock readLock() {
+            return readLock;
+        }
+
+        public Lock writeLock() {
+            return writeLock;
+        }
+    }
+
+    private class SharedReadLock implements Lock {
+        public void lock() {
+            if (lockNested(SHARED)) {
+                return;
+            }
+            tableLock.readLock().lock();
+            for (ReentrantReadWriteLock stripe : stripes) {
+                stripe.readLock().lock();
+            }
+        }
+
+        public void lockInterruptibly() throws InterruptedException {
+            if (lockNested(SHARED)) {
+                return;
+            }
+            tableLock.readLock().lockInterruptibly();
+            int locked = 0;
+            try {
+                for (ReentrantReadWriteLock stripe : stripes) {
+                    stripe.readLock().lockInterruptibly();
+                    locked++;
+                }
+            } catch (InterruptedException ex) {
+                unlockStripes(locked);
+                throw ex;
+            }
+        }
+
+        public boolean tryLock() {
+            if (lockNested(SHARED)) {
+                return true;
+            }
+            if (!tableLock.readLock().tryLock()) {
+                return false;
+            }
+            for (int i = 0; i < stripes.length; i++) {
+                if (!stripes[i].readLock().tryLock()) {
+                    unlockStripes(i);
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            throw new UnsupportedOperationException("Timed lock is not supported by row-level table locking");
+        }
+
+        public void unlock() {
+            if (unlockNested(SHARED)) {
+                return;
+            }
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].readLock().unlock();
+            }
+            tableLock.readLock().unlock();
+        }
+
+        public Condition newCondition() {
+            throw new UnsupportedOperationException("Conditions are not supported by row-level table locking");
+        }
+
+        private void unlockStripes(int numLocked) {
+            for (int i = numLocked - 1; i >= 0; i--) {
+                stripes[i].readLock().unlock();
+            }
+            tableLock.readLock().unlock();
+        }
+    }
+
+    private class ExclusiveLock implements Lock {
+        public void lock() {
+            if (lockNested(EXCLUSIVE)) {
+                return;
+            }
+            tableLock.writeLock().lock();
+        }
+
+        public void lockInterruptibly() throws InterruptedException {
+            if (lockNested(EXCLUSIVE)) {
+                return;
+            }
+            tableLock.writeLock().lockInterruptibly();
+        }
+
+        public boolean tryLock() {
+            if (lockNested(EXCLUSIVE)) {
+                return true;
+            }
+            return tableLock.writeLock().tryLock();
+        }
+
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            if (lockNested(EXCLUSIVE)) {
+                return true;
+            }
+            return tableLock.writeLock().tryLock(time, unit);
+        }
+
+        public void unlock() {
+            if (unlockNested(EXCLUSIVE)) {
+                return;
+            }
+            tableLock.writeLock().unlock();
+        }
+
+        public Condition newCondition() {
+            return tableLock.writeLock().newCondition();
+        }
+    }
+}
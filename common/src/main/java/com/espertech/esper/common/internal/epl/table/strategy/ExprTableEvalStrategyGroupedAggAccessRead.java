@@ -11,7 +11,6 @@
 package com.espertech.esper.common.internal.epl.table.strategy;
 
 import com.espertech.esper.common.client.EventBean;
-import com.espertech.esper.common.internal.epl.agg.core.AggregationRow;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 
 import java.util.Collection;
@@ -23,23 +22,19 @@ public class ExprTableEvalStrategyGroupedAggAccessRead extends ExprTableEvalStra
     }
 
     public Object evaluate(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext exprEvaluatorContext) {
-        AggregationRow aggs = getAggregationRow(eventsPerStream, isNewData, exprEvaluatorContext);
-        return aggs == null ? null : factory.getAggregationMethod().getValue(factory.getAggColumnNum(), aggs, eventsPerStream, isNewData, exprEvaluatorContext);
+        return evaluateAggregationRow(eventsPerStream, isNewData, exprEvaluatorContext, aggs -> factory.getAggregationMethod().getValue(factory.getAggColumnNum(), aggs, eventsPerStream, isNewData, exprEvaluatorContext));
     }
 
     public Collection<EventBean> evaluateGetROCollectionEvents(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        AggregationRow aggs = getAggregationRow(eventsPerStream, isNewData, context);
-        return aggs == null ? null : factory.getAggregationMethod().getValueCollectionEvents(factory.getAggColumnNum(), aggs, eventsPerStream, isNewData, context);
+        return evaluateAggregationRow(eventsPerStream, isNewData, context, aggs -> factory.getAggregationMethod().getValueCollectionEvents(factory.getAggColumnNum(), aggs, eventsPerStream, isNewData, context));
     }
 
     public EventBean evaluateGetEventBean(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        AggregationRow aggs = getAggregationRow(eventsPerStream, isNewData, context);
-        return aggs == null ? null : factory.getAggregationMethod().getValueEventBean(factory.getAggColumnNum(), aggs, eventsPerStream, isNewData, context);
+        return evaluateAggregationRow(eventsPerStream, isNewData, context, aggs -> factory.getAggregationMethod().getValueEventBean(factory.getAggColumnNum(), aggs, eventsPerStream, isNewData, context));
     }
 
     public Collection evaluateGetROCollectionScalar(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        AggregationRow aggs = getAggregationRow(eventsPerStream, isNewData, context);
-        return aggs == null ? null : factory.getAggregationMethod().getValueCollectionScalar(factory.getAggColumnNum(), aggs, eventsPerStream, isNewData, context);
+        return evaluateAggregationRow(eventsPerStream, isNewData, context, aggs -> factory.getAggregationMethod().getValueCollectionScalar(factory.getAggColumnNum(), aggs, eventsPerStream, isNewData, context));
     }
 
     public Object[] evaluateTypableSingle(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
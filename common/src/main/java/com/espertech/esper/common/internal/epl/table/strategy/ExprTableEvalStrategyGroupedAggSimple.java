@@ -11,7 +11,6 @@
 package com.espertech.esper.common.internal.epl.table.strategy;
 
 import com.espertech.esper.common.client.EventBean;
-import com.espertech.esper.common.internal.epl.agg.core.AggregationRow;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 
 import java.util.Collection;
@@ -23,13 +22,11 @@ public class ExprTableEvalStrategyGroupedAggSimple extends ExprTableEvalStrategy
     }
 
     public Object evaluate(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext exprEvaluatorContext) {
-        AggregationRow aggs = getAggregationRow(eventsPerStream, isNewData, exprEvaluatorContext);
-        return aggs == null ? null : aggs.getValue(factory.getAggColumnNum(), eventsPerStream, isNewData, exprEvaluatorContext);
+        return evaluateAggregationRow(eventsPerStream, isNewData, exprEvaluatorContext, aggs -> aggs.getValue(factory.getAggColumnNum(), eventsPerStream, isNewData, exprEvaluatorContext));
     }
 
     public Collection<EventBean> evaluateGetROCollectionEvents(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        AggregationRow aggs = getAggregationRow(eventsPerStream, isNewData, context);
-        return aggs == null ? null : aggs.getCollectionOfEvents(factory.getAggColumnNum(), eventsPerStream, isNewData, context);
+        return evaluateAggregationRow(eventsPerStream, isNewData, context, aggs -> aggs.getCollectionOfEvents(factory.getAggColumnNum(), eventsPerStream, isNewData, context));
     }
 
     public EventBean evaluateGetEventBean(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
@@ -15,8 +15,11 @@ import com.espertech.esper.common.internal.epl.agg.core.AggregationRow;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.common.internal.epl.table.core.TableEvalLockUtil;
 import com.espertech.esper.common.internal.epl.table.core.TableInstanceGrouped;
+import com.espertech.esper.common.internal.epl.table.core.TableRowStripedLock;
 import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
 
+import java.util.function.Function;
+
 public abstract class ExprTableEvalStrategyGroupedBase implements ExprTableEvalStrategy {
 
     private final TableAndLockProviderGrouped provider;
@@ -42,12 +45,44 @@ public abstract class ExprTableEvalStrategyGroupedBase implements ExprTableEvalS
     }
 
     protected ObjectArrayBackedEventBean getRow(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        return evaluateRow(eventsPerStream, isNewData, context, row -> row);
+    }
+
+    /**
+     * Evaluates the function against the row of the primary key, returning null when there is no row.
+     * With row-level locking the function executes while holding the row lock.
+     *
+     * @param eventsPerStream events
+     * @param isNewData       new-data flag
+     * @param context         evaluation context
+     * @param function        function to evaluate against the row
+     * @param <T>             result type
+     * @return result or null when there is no row
+     */
+    protected <T> T evaluateRow(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context, Function<ObjectArrayBackedEventBean, T> function) {
         Object groupKey = factory.getGroupKeyEval().evaluate(eventsPerStream, isNewData, context);
         TableAndLockGrouped tableAndLockGrouped = provider.get();
-        TableEvalLockUtil.obtainLockUnless(tableAndLockGrouped.getLock(), context);
+        TableRowStripedLock rowLock = tableAndLockGrouped.getRowLock();
+        if (rowLock == null) {
+            TableEvalLockUtil.obtainLockUnless(tableAndLockGrouped.getLock(), context);
+        }
         if (groupKey instanceof Object[]) {
             groupKey = tableAndLockGrouped.getGrouped().getTable().getPrimaryKeyObjectArrayTransform().from((Object[]) groupKey);
         }
-        return tableAndLockGrouped.getGrouped().getRowForGroupKey(groupKey);
+        if (rowLock == null) {
+            ObjectArrayBackedEventBean row = tableAndLockGrouped.getGrouped().getRowForGroupKey(groupKey);
+            return row == null ? null : function.apply(row);
+        }
+        rowLock.lockRowRead(groupKey);
+        try {
+            ObjectArrayBackedEventBean row = tableAndLockGrouped.getGrouped().getRowForGroupKey(groupKey);
+            return row == null ? null : function.apply(row);
+        } finally {
+            rowLock.unlockRowRead(groupKey);
+        }
+    }
+
+    protected <T> T evaluateAggregationRow(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context, Function<AggregationRow, T> function) {
+        return evaluateRow(eventsPerStream, isNewData, context, row -> function.apply(ExprTableEvalStrategyUtil.getRow(row)));
     }
 }
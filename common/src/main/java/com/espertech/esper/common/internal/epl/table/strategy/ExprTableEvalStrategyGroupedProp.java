@@ -12,7 +12,6 @@ package com.espertech.esper.common.internal.epl.table.strategy;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
-import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
 
 import java.util.Collection;
 
@@ -23,35 +22,19 @@ public class ExprTableEvalStrategyGroupedProp extends ExprTableEvalStrategyGroup
     }
 
     public Object evaluate(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext exprEvaluatorContext) {
-        ObjectArrayBackedEventBean row = getRow(eventsPerStream, isNewData, exprEvaluatorContext);
-        if (row == null) {
-            return null;
-        }
-        return row.getProperties()[factory.getPropertyIndex()];
+        return evaluateRow(eventsPerStream, isNewData, exprEvaluatorContext, row -> row.getProperties()[factory.getPropertyIndex()]);
     }
 
     public Collection<EventBean> evaluateGetROCollectionEvents(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        ObjectArrayBackedEventBean row = getRow(eventsPerStream, isNewData, context);
-        if (row == null) {
-            return null;
-        }
-        return factory.getOptionalEnumEval().evaluateEventGetROCollectionEvents(row, context);
+        return evaluateRow(eventsPerStream, isNewData, context, row -> factory.getOptionalEnumEval().evaluateEventGetROCollectionEvents(row, context));
     }
 
     public EventBean evaluateGetEventBean(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        ObjectArrayBackedEventBean row = getRow(eventsPerStream, isNewData, context);
-        if (row == null) {
-            return null;
-        }
-        return factory.getOptionalEnumEval().evaluateEventGetEventBean(row, context);
+        return evaluateRow(eventsPerStream, isNewData, context, row -> factory.getOptionalEnumEval().evaluateEventGetEventBean(row, context));
     }
 
     public Collection evaluateGetROCollectionScalar(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        ObjectArrayBackedEventBean row = getRow(eventsPerStream, isNewData, context);
-        if (row == null) {
-            return null;
-        }
-        return factory.getOptionalEnumEval().evaluateEventGetROCollectionScalar(row, context);
+        return evaluateRow(eventsPerStream, isNewData, context, row -> factory.getOptionalEnumEval().evaluateEventGetROCollectionScalar(row, context));
     }
 
     public Object[] evaluateTypableSingle(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
@@ -12,7 +12,6 @@ package com.espertech.esper.common.internal.epl.table.strategy;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
-import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
 
 import java.util.Collection;
 
@@ -23,19 +22,11 @@ public class ExprTableEvalStrategyGroupedTopLevel extends ExprTableEvalStrategyG
     }
 
     public Object evaluate(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext exprEvaluatorContext) {
-        ObjectArrayBackedEventBean row = getRow(eventsPerStream, isNewData, exprEvaluatorContext);
-        if (row == null) {
-            return null;
-        }
-        return ExprTableEvalStrategyUtil.evalMap(row, ExprTableEvalStrategyUtil.getRow(row), factory.getTable().getMetaData().getColumns(), eventsPerStream, isNewData, exprEvaluatorContext);
+        return evaluateRow(eventsPerStream, isNewData, exprEvaluatorContext, row -> ExprTableEvalStrategyUtil.evalMap(row, ExprTableEvalStrategyUtil.getRow(row), factory.getTable().getMetaData().getColumns(), eventsPerStream, isNewData, exprEvaluatorContext));
     }
 
     public Object[] evaluateTypableSingle(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        ObjectArrayBackedEventBean row = getRow(eventsPerStream, isNewData, context);
-        if (row == null) {
-            return null;
-        }
-        return ExprTableEvalStrategyUtil.evalTypable(row, ExprTableEvalStrategyUtil.getRow(row), factory.getTable().getMetaData().getColumns(), eventsPerStream, isNewData, context);
+        return evaluateRow(eventsPerStream, isNewData, context, row -> ExprTableEvalStrategyUtil.evalTypable(row, ExprTableEvalStrategyUtil.getRow(row), factory.getTable().getMetaData().getColumns(), eventsPerStream, isNewData, context));
     }
 
     public Collection<EventBean> evaluateGetROCollectionEvents(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
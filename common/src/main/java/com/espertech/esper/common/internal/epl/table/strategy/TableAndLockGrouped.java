@@ -11,16 +11,19 @@
 package com.espertech.esper.common.internal.epl.table.strategy;
 
 import com.espertech.esper.common.internal.epl.table.core.TableInstanceGrouped;
+import com.espertech.esper.common.internal.epl.table.core.TableRowStripedLock;
 
 import java.util.concurrent.locks.Lock;
 
 public class TableAndLockGrouped {
     private final Lock lock;
     private final TableInstanceGrouped grouped;
+    private final TableRowStripedLock rowLock;
 
     public TableAndLockGrouped(Lock lock, TableInstanceGrouped grouped) {
         this.lock = lock;
         this.grouped = grouped;
+        this.rowLock = grouped.getRowStripedLock();
     }
 
     public Lock getLock() {
@@ -30,4 +33,8 @@ public class TableAndLockGrouped {
     public TableInstanceGrouped getGrouped() {
         return grouped;
     }
+
+    public TableRowStripedLock getRowLock() {
+        return rowLock;
+    }
 }
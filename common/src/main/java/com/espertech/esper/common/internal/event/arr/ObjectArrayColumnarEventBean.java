@@ -0,0 +1,187 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.arr;
+
+import com.espertech.esper.common.client.EventPropertyGetter;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.PropertyAccessException;
+import com.espertech.esper.common.internal.event.core.EventBeanSPI;
+import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
+
+/**
+ * Event bean for a row of a {@link ObjectArrayColumnarStore}, reading property values from the columns of the store.
+ * The underlying object array is assembled from the columns upon each call to {@link #getUnderlying()}.
+ * Properties of integer, long and double type can be read without boxing using {@link #getIntProperty(int)},
+ * {@link #getLongProperty(int)} and {@link #getDoubleProperty(int)}.
+ * <p>
+ * After the row is removed from the store the event bean holds its own copy of the values. The copy is published
+ * through a volatile field and readers re-check it after reading from the store, so that a reader on another thread
+ * does not return a value of a row that reused the slot.
+ */
+public class ObjectArrayColumnarEventBean implements EventBeanSPI, ObjectArrayBackedEventBean {
+    private final ObjectArrayColumnarStore store;
+    private final int slot;
+    private volatile Object[] detached;
+    private boolean retained;
+
+    /**
+     * Ctor.
+     *
+     * @param store store
+     * @param slot  row slot
+     */
+    public ObjectArrayColumnarEventBean(ObjectArrayColumnarStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
+    }
+
+    /**
+     * Returns a property value by index.
+     *
+     * @param index property index
+     * @return value
+     */
+    public Object getProperty(int index) {
+        Object[] values = detached;
+        if (values != null) {
+            return values[index];
+        }
+        Object value = store.get(slot, index);
+        values = detached;
+        return values == null ? value : values[index];
+    }
+
+    /**
+     * Returns the value of a property of integer type without boxing.
+     *
+     * @param index property index
+     * @return value
+     * @throws NullPointerException if the value is null
+     */
+    public int getIntProperty(int index) {
+        Object[] values = detached;
+        if (values != null) {
+            return (Integer) values[index];
+        }
+        int value = store.getInt(slot, index);
+        values = detached;
+        return values == null ? value : (Integer) values[index];
+    }
+
+    /**
+     * Returns the value of a property of long type without boxing.
+     *
+     * @param index property index
+     * @return value
+     * @throws NullPointerException if the value is null
+     */
+    public long getLongProperty(int index) {
+        Object[] values = detached;
+        if (values != null) {
+            return (Long) values[index];
+        }
+        long value = store.getLong(slot, index);
+        values = detached;
+        return values == null ? value : (Long) values[index];
+    }
+
+    /**
+     * Returns the value of a property of double type without boxing.
+     *
+     * @param index property index
+     * @return value
+     * @throws NullPointerException if the value is null
+     */
+    public double getDoubleProperty(int index) {
+        Object[] values = detached;
+        if (values != null) {
+            return (Double) values[index];
+        }
+        double value = store.getDouble(slot, index);
+        values = detached;
+        return values == null ? value : (Double) values[index];
+    }
+
+    public Object[] getProperties() {
+        Object[] values = detached;
+        if (values != null) {
+            return values;
+        }
+        values = store.materialize(slot);
+        Object[] detachedValues = detached;
+        return detachedValues == null ? values : detachedValues;
+    }
+
+    public void setPropertyValues(Object[] values) {
+        if (detached != null) {
+            detached = values;
+        } else {
+            store.write(slot, values);
+        }
+    }
+
+    public void setUnderlying(Object underlying) {
+        setPropertyValues((Object[]) underlying);
+    }
+
+    public EventType getEventType() {
+        return store.getEventType();
+    }
+
+    public Object get(String property) throws PropertyAccessException {
+        EventPropertyGetter getter = store.getEventType().getGetter(property);
+        if (getter == null) {
+            throw new PropertyAccessException("Property named '" + property + "' is not a valid property name for this type");
+        }
+        return getter.get(this);
+    }
+
+    public Object getUnderlying() {
+        return getProperties();
+    }
+
+    public Object getFragment(String propertyExpression) throws PropertyAccessException {
+        EventPropertyGetter getter = store.getEventType().getGetter(propertyExpression);
+        if (getter == null) {
+            throw PropertyAccessException.notAValidProperty(propertyExpression);
+        }
+        return getter.getFragment(this);
+    }
+
+    /**
+     * Returns indicator whether the row was removed from the store.
+     *
+     * @return detached indicator
+     */
+    public boolean isDetached() {
+        return detached != null;
+    }
+
+    ObjectArrayColumnarStore getStore() {
+        return store;
+    }
+
+    int getSlot() {
+        return slot;
+    }
+
+    void detach(Object[] values) {
+        this.detached = values;
+    }
+
+    boolean isRetained() {
+        return retained;
+    }
+
+    void setRetained() {
+        this.retained = true;
+    }
+}
@@ -0,0 +1,447 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.arr;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.type.EPType;
+import com.espertech.esper.common.client.type.EPTypeClass;
+import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Column-wise store of rows of an object-array event type. Each property is kept in a column: properties
+ * of integer, long and double type in a primitive array with a null bitmap, all other properties in an object array.
+ * Each row is represented by a {@link ObjectArrayColumnarEventBean} that reads its values from the columns.
+ * <p>
+ * Rows that leave the store are detached, i.e. the event bean receives a copy of its values, so that the
+ * event bean remains valid for consumers after the slot of the row is reused.
+ * <p>
+ * Not thread-safe, the store relies on the same locking as the named window that holds it.
+ */
+public class ObjectArrayColumnarStore {
+    private final static int INITIAL_CAPACITY = 64;
+
+    private final ObjectArrayEventType eventType;
+    private final Column[] columns;
+    private int capacity;
+    private int highWater;
+    private int size;
+    private int[] freeSlots = new int[8];
+    private int freeCount;
+
+    /**
+     * Ctor.
+     *
+     * @param eventType object-array event type of rows
+     */
+    public ObjectArrayColumnarStore(ObjectArrayEventType eventType) {
+        this.eventType = eventType;
+        this.capacity = INITIAL_CAPACITY;
+        Map<String, Integer> indexes = eventType.getPropertiesIndexes();
+        this.columns = new Column[indexes.size()];
+        for (Map.Entry<String, Integer> entry : indexes.entrySet()) {
+            EPType type = eventType.getPropertyEPType(entry.getKey());
+            Class clazz = type instanceof EPTypeClass ? JavaClassHelper.getBoxedType(((EPTypeClass) type).getType()) : null;
+            Column column;
+            if (clazz == Integer.class) {
+                column = new ColumnInt(capacity);
+            } else if (clazz == Long.class) {
+                column = new ColumnLong(capacity);
+            } else if (clazz == Double.class) {
+                column = new ColumnDouble(capacity);
+            } else {
+                column = new ColumnObject(capacity);
+            }
+            columns[entry.getValue()] = column;
+        }
+    }
+
+    /**
+     * Adds a row and returns the event bean representing the row.
+     *
+     * @param values property values
+     * @return row event bean
+     */
+    public ObjectArrayColumnarEventBean add(Object[] values) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (highWater == capacity) {
+                capacity = capacity * 2;
+                for (Column column : columns) {
+                    column.grow(capacity);
+                }
+            }
+            slot = highWater++;
+        }
+        write(slot, values);
+        size++;
+        return new ObjectArrayColumnarEventBean(this, slot);
+    }
+
+    /**
+     * Adds rows for the new events and returns a copy of the array wherein the row event beans replace the new events.
+     * Events that are not object-array-backed, or that are already row event beans, remain unchanged.
+     * The array passed in is not modified.
+     *
+     * @param newData new events
+     * @return new events with row event beans
+     */
+    public EventBean[] addAll(EventBean[] newData) {
+        EventBean[] rows = null;
+        for (int i = 0; i < newData.length; i++) {
+            EventBean event = newData[i];
+            if (event instanceof ObjectArrayBackedEventBean && !(event instanceof ObjectArrayColumnarEventBean)) {
+                if (rows == null) {
+                    rows = Arrays.copyOf(newData, newData.length);
+                }
+                rows[i] = add(((ObjectArrayBackedEventBean) event).getProperties());
+            }
+        }
+        return rows == null ? newData : rows;
+    }
+
+    /**
+     * Marks the events as retained by the window.
+     *
+     * @param newData events retained
+     */
+    public void retain(EventBean[] newData) {
+        for (EventBean event : newData) {
+            if (event instanceof ObjectArrayColumnarEventBean) {
+                ((ObjectArrayColumnarEventBean) event).setRetained();
+            }
+        }
+    }
+
+    /**
+     * Removes rows for events that were added but not retained by the window.
+     *
+     * @param newData events added
+     */
+    public void removeNotRetained(EventBean[] newData) {
+        for (EventBean event : newData) {
+            if (event instanceof ObjectArrayColumnarEventBean && !((ObjectArrayColumnarEventBean) event).isRetained()) {
+                remove((ObjectArrayColumnarEventBean) event);
+            }
+        }
+    }
+
+    /**
+     * Removes rows for the events.
+     *
+     * @param oldData events removed
+     */
+    public void removeAll(EventBean[] oldData) {
+        for (EventBean event : oldData) {
+            if (event instanceof ObjectArrayColumnarEventBean) {
+                remove((ObjectArrayColumnarEventBean) event);
+            }
+        }
+    }
+
+    /**
+     * Removes the row, detaching the event bean. Has no effect if the event bean is already detached.
+     *
+     * @param bean row event bean
+     */
+    public void remove(ObjectArrayColumnarEventBean bean) {
+        if (bean.getStore() != this || bean.isDetached()) {
+            return;
+        }
+        int slot = bean.getSlot();
+        bean.detach(bean.getProperties());
+        for (Column column : columns) {
+            column.clear(slot);
+        }
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of slots allocated per column, for testing purposes.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns indicator whether the column for the property index keeps primitive values, for testing purposes.
+     *
+     * @param index property index
+     * @return primitive indicator
+     */
+    public boolean isPrimitiveColumn(int index) {
+        return !(columns[index] instanceof ColumnObject);
+    }
+
+    public ObjectArrayEventType getEventType() {
+        return eventType;
+    }
+
+    Object get(int slot, int index) {
+        return columns[index].get(slot);
+    }
+
+    int getInt(int slot, int index) {
+        return columns[index].getInt(slot);
+    }
+
+    long getLong(int slot, int index) {
+        return columns[index].getLong(slot);
+    }
+
+    double getDouble(int slot, int index) {
+        return columns[index].getDouble(slot);
+    }
+
+    Object[] materialize(int slot) {
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].get(slot);
+        }
+        return values;
+    }
+
+    void write(int slot, Object[] values) {
+        for (int i = 0; i < columns.length; i++) {
+            Object value = i < values.length ? values[i] : null;
+            if (!columns[i].set(slot, value)) {
+                // value of an unexpected type, keep values of the property as objects from now on
+                ColumnObject column = new ColumnObject(capacity);
+                for (int j = 0; j < highWater; j++) {
+                    column.set(j, columns[i].get(j));
+                }
+                column.set(slot, value);
+                columns[i] = column;
+            }
+        }
+    }
+
+    private abstract static class Column {
+        abstract Object get(int slot);
+
+        int getInt(int slot) {
+            return (Integer) get(slot);
+        }
+
+        long getLong(int slot) {
+            return (Long) get(slot);
+        }
+
+        double getDouble(int slot) {
+            return (Double) get(slot);
+        }
+
+        abstract boolean set(int slot, Object value);
+
+        abstract void clear(int slot);
+
+        abstract void grow(int capacity);
+    }
+
+    private abstract static class ColumnPrimitive extends Column {
+        private long[] nulls;
+
+        boolean isNull(int slot) {
+            return nulls != null && (nulls[slot >>> 6] & (1L << slot)) != 0;
+        }
+
+        void setNull(int slot, boolean isNull) {
+            if (isNull) {
+                if (nulls == null) {
+                    nulls = new long[(capacityInternal() >>> 6) + 1];
+                }
+                nulls[slot >>> 6] |= 1L << slot;
+            } else if (nulls != null) {
+                nulls[slot >>> 6] &= ~(1L << slot);
+            }
+        }
+
+        void clear(int slot) {
+            setNull(slot, false);
+        }
+
+        void checkNotNull(int slot) {
+            if (isNull(slot)) {
+                throw new NullPointerException("Null value for a property read as a primitive");
+            }
+        }
+
+        void growNulls(int capacity) {
+            if (nulls != null) {
+                nulls = Arrays.copyOf(nulls, (capacity >>> 6) + 1);
+            }
+        }
+
+        abstract int capacityInternal();
+    }
+
+    private final static class ColumnInt extends ColumnPrimitive {
+        private int[] values;
+
+        ColumnInt(int capacity) {
+            values = new int[capacity];
+        }
+
+        Object get(int slot) {
+            return isNull(slot) ? null : values[slot];
+        }
+
+        int getInt(int slot) {
+            checkNotNull(slot);
+            return values[slot];
+        }
+
+        boolean set(int slot, Object value) {
+            if (value == null) {
+                setNull(slot, true);
+                return true;
+            }
+            if (!(value instanceof Integer)) {
+                return false;
+            }
+            values[slot] = (Integer) value;
+            setNull(slot, false);
+            return true;
+        }
+
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+            growNulls(capacity);
+        }
+
+        int capacityInternal() {
+            return values.length;
+        }
+    }
+
+    private final static class ColumnLong extends ColumnPrimitive {
+        private long[] values;
+
+        ColumnLong(int capacity) {
+            values = new long[capacity];
+        }
+
+        Object get(int slot) {
+            return isNull(slot) ? null : values[slot];
+        }
+
+        long getLong(int slot) {
+            checkNotNull(slot);
+            return values[slot];
+        }
+
+        boolean set(int slot, Object value) {
+            if (value == null) {
+                setNull(slot, true);
+                return true;
+            }
+            if (!(value instanceof Long)) {
+                return false;
+            }
+            values[slot] = (Long) value;
+            setNull(slot, false);
+            return true;
+        }
+
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+            growNulls(capacity);
+        }
+
+        int capacityInternal() {
+            return values.length;
+        }
+    }
+
+    private final static class ColumnDouble extends ColumnPrimitive {
+        private double[] values;
+
+        ColumnDouble(int capacity) {
+            values = new double[capacity];
+        }
+
+        Object get(int slot) {
+            return isNull(slot) ? null : values[slot];
+        }
+
+        double getDouble(int slot) {
+            checkNotNull(slot);
+            return values[slot];
+        }
+
+        boolean set(int slot, Object value) {
+            if (value == null) {
+                setNull(slot, true);
+                return true;
+            }
+            if (!(value instanceof Double)) {
+                return false;
+            }
+            values[slot] = (Double) value;
+            setNull(slot, false);
+            return true;
+        }
+
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+            growNulls(capacity);
+        }
+
+        int capacityInternal() {
+            return values.length;
+        }
+    }
+
+    private final static class ColumnObject extends Column {
+        private Object[] values;
+
+        ColumnObject(int capacity) {
+            values = new Object[capacity];
+        }
+
+        Object get(int slot) {
+            return values[slot];
+        }
+
+        boolean set(int slot, Object value) {
+            values[slot] = value;
+            return true;
+        }
+
+        void clear(int slot) {
+            values[slot] = null;
+        }
+
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+}
@@ -12,6 +12,7 @@ package com.espertech.esper.common.internal.event.arr;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.PropertyAccessException;
+import com.espertech.esper.common.client.type.EPTypeClass;
 import com.espertech.esper.common.client.type.EPTypePremade;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethodScope;
@@ -76,6 +77,39 @@ public class ObjectArrayEntryPropertyGetter implements ObjectArrayEventPropertyG
         return underlyingGetCodegen(castUnderlying(EPTypePremade.OBJECTARRAY.getEPType(), beanExpression), codegenMethodScope, codegenClassScope);
     }
 
+    /**
+     * Returns the code to read the property from an event that may be a row of a columnar store.
+     *
+     * @param beanExpression event
+     * @return code
+     */
+    public CodegenExpression eventBeanGetColumnarCodegen(CodegenExpression beanExpression) {
+        return staticMethod(BaseNestableEventUtil.class, "getBNColumnarValueAtIndex", beanExpression, constant(propertyIndex));
+    }
+
+    /**
+     * Returns the code to read the property as a primitive value without boxing from an event that may be
+     * a row of a columnar store, or null if the type is not int, long or double.
+     *
+     * @param primitiveType  primitive type
+     * @param beanExpression event
+     * @return code or null
+     */
+    public CodegenExpression eventBeanGetColumnarPrimitiveCodegen(EPTypeClass primitiveType, CodegenExpression beanExpression) {
+        Class clazz = primitiveType.getType();
+        String methodName;
+        if (clazz == int.class) {
+            methodName = "getBNColumnarIntAtIndex";
+        } else if (clazz == long.class) {
+            methodName = "getBNColumnarLongAtIndex";
+        } else if (clazz == double.class) {
+            methodName = "getBNColumnarDoubleAtIndex";
+        } else {
+            return null;
+        }
+        return staticMethod(BaseNestableEventUtil.class, methodName, beanExpression, constant(propertyIndex));
+    }
+
     public CodegenExpression eventBeanExistsCodegen(CodegenExpression beanExpression, CodegenMethodScope codegenMethodScope, CodegenClassScope codegenClassScope) {
         return constantTrue();
     }
@@ -18,6 +18,7 @@ import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapp
 import com.espertech.esper.common.internal.statement.thread.ThreadingCommon;
 import com.espertech.esper.common.internal.util.JavaClassHelper;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -65,6 +66,22 @@ public class EventSenderBean implements EventSender {
         }
     }
 
+    public void sendEvents(Collection<?> events) {
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Object theEvent : events) {
+            eventBeans[count++] = getEventBean(theEvent);
+        }
+
+        if (threadingService.isInboundThreading()) {
+            for (EventBean eventBean : eventBeans) {
+                threadingService.submitInbound(eventBean, runtime);
+            }
+        } else {
+            runtime.processWrappedEvents(eventBeans);
+        }
+    }
+
     public void routeEvent(Object theEvent) throws EPException {
         EventBean eventBean = getEventBean(theEvent);
         runtime.routeEventBean(eventBean);
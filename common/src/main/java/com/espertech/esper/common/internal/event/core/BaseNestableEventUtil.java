@@ -22,6 +22,7 @@ import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethodScope;
 import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
 import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayColumnarEventBean;
 import com.espertech.esper.common.internal.event.arr.ObjectArrayEventPropertyGetter;
 import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
 import com.espertech.esper.common.internal.event.bean.core.BeanEventPropertyGetter;
@@ -158,6 +159,62 @@ public class BaseNestableEventUtil {
         return (Object[]) theEvent.getUnderlying();
     }
 
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param theEvent object-array-underlying event, possibly a row of a columnar store
+     * @param index    property index
+     * @return value
+     */
+    public static Object getBNColumnarValueAtIndex(EventBean theEvent, int index) {
+        if (theEvent instanceof ObjectArrayColumnarEventBean) {
+            return ((ObjectArrayColumnarEventBean) theEvent).getProperty(index);
+        }
+        return ((Object[]) theEvent.getUnderlying())[index];
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param theEvent object-array-underlying event, possibly a row of a columnar store
+     * @param index    property index
+     * @return value
+     */
+    public static int getBNColumnarIntAtIndex(EventBean theEvent, int index) {
+        if (theEvent instanceof ObjectArrayColumnarEventBean) {
+            return ((ObjectArrayColumnarEventBean) theEvent).getIntProperty(index);
+        }
+        return (Integer) ((Object[]) theEvent.getUnderlying())[index];
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param theEvent object-array-underlying event, possibly a row of a columnar store
+     * @param index    property index
+     * @return value
+     */
+    public static long getBNColumnarLongAtIndex(EventBean theEvent, int index) {
+        if (theEvent instanceof ObjectArrayColumnarEventBean) {
+            return ((ObjectArrayColumnarEventBean) theEvent).getLongProperty(index);
+        }
+        return (Long) ((Object[]) theEvent.getUnderlying())[index];
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param theEvent object-array-underlying event, possibly a row of a columnar store
+     * @param index    property index
+     * @return value
+     */
+    public static double getBNColumnarDoubleAtIndex(EventBean theEvent, int index) {
+        if (theEvent instanceof ObjectArrayColumnarEventBean) {
+            return ((ObjectArrayColumnarEventBean) theEvent).getDoubleProperty(index);
+        }
+        return (Double) ((Object[]) theEvent.getUnderlying())[index];
+    }
+
     /**
      * NOTE: Code-generation-invoked method, method name and parameter order matters
      *
@@ -27,4 +27,6 @@ public interface EventTypeResolvingBeanFactory {
     EventBean adapterForAvro(Object avroGenericDataDotRecord, String eventTypeName);
 
     EventBean adapterForJson(String json, String eventTypeName);
+
+    EventBean adapterForJson(byte[] json, int offset, int length, String eventTypeName);
 }
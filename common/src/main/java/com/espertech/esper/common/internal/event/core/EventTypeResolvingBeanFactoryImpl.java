@@ -25,6 +25,8 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Map;
 
 public class EventTypeResolvingBeanFactoryImpl implements EventTypeResolvingBeanFactory {
@@ -71,10 +73,26 @@ public class EventTypeResolvingBeanFactoryImpl implements EventTypeResolvingBean
         EventType type = eventTypeRepository.getTypeByName(eventTypeName);
         EventTypeUtility.validateTypeJson(eventTypeName, type);
         JsonEventType jsonEventType = (JsonEventType) type;
+        if (jsonEventType.getDetail().isLazy()) {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            return jsonEventType.makeLazyEventBean(bytes, 0, bytes.length);
+        }
         Object underlying = jsonEventType.parse(json);
         return new JsonEventBean(underlying, type);
     }
 
+    public EventBean adapterForJson(byte[] json, int offset, int length, String eventTypeName) {
+        EventType type = eventTypeRepository.getTypeByName(eventTypeName);
+        EventTypeUtility.validateTypeJson(eventTypeName, type);
+        JsonEventType jsonEventType = (JsonEventType) type;
+        if (jsonEventType.getDetail().isLazy()) {
+            // the caller may reuse the array
+            return jsonEventType.makeLazyEventBean(Arrays.copyOfRange(json, offset, offset + length), 0, length);
+        }
+        Object underlying = jsonEventType.parse(json, offset, length);
+        return new JsonEventBean(underlying, type);
+    }
+
     public static Node getXMLNodeFromDocument(org.w3c.dom.Node node) {
         org.w3c.dom.Node resultNode = node;
         if (node instanceof Document) {
@@ -18,10 +18,13 @@ import com.espertech.esper.common.internal.event.json.core.JsonEventType;
 import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
 import com.espertech.esper.common.internal.statement.thread.ThreadingCommon;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
 /**
  * Event sender for json-backed events.
  * <p>
- * Allows sending only event objects of type string, does not check contents. Any other event object generates an error.
+ * Allows sending only event objects of type string or UTF-8 encoded byte array, does not check contents. Any other event object generates an error.
  */
 public class EventSenderJsonImpl implements EventSenderJson {
     private final EPRuntimeEventProcessWrapped runtimeEventSender;
@@ -45,8 +48,7 @@ public class EventSenderJsonImpl implements EventSenderJson {
     }
 
     public void sendEvent(Object theEvent) {
-        Object underlying = getUnderlying(theEvent);
-        EventBean eventBean = eventBeanTypedEventFactory.adapterForTypedJson(underlying, eventType);
+        EventBean eventBean = getEventBean(theEvent);
 
         if (threadingService.isInboundThreading()) {
             threadingService.submitInbound(eventBean, runtimeEventSender);
@@ -55,8 +57,24 @@ public class EventSenderJsonImpl implements EventSenderJson {
         }
     }
 
+    public void sendEvents(Collection<?> events) {
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Object theEvent : events) {
+            eventBeans[count++] = getEventBean(theEvent);
+        }
+
+        if (threadingService.isInboundThreading()) {
+            for (EventBean eventBean : eventBeans) {
+                threadingService.submitInbound(eventBean, runtimeEventSender);
+            }
+        } else {
+            runtimeEventSender.processWrappedEvents(eventBeans);
+        }
+    }
+
     public void routeEvent(Object theEvent) {
-        EventBean eventBean = eventBeanTypedEventFactory.adapterForTypedJson(getUnderlying(theEvent), eventType);
+        EventBean eventBean = getEventBean(theEvent);
         runtimeEventSender.routeEventBean(eventBean);
     }
 
@@ -64,9 +82,29 @@ public class EventSenderJsonImpl implements EventSenderJson {
         return eventType.parse(json);
     }
 
+    public Object parse(byte[] json, int offset, int length) {
+        return eventType.parse(json, offset, length);
+    }
+
+    private EventBean getEventBean(Object theEvent) {
+        if (eventType.getDetail().isLazy()) {
+            if (theEvent instanceof String) {
+                byte[] bytes = ((String) theEvent).getBytes(StandardCharsets.UTF_8);
+                return eventType.makeLazyEventBean(bytes, 0, bytes.length);
+            } else if (theEvent instanceof byte[]) {
+                byte[] bytes = ((byte[]) theEvent).clone();
+                return eventType.makeLazyEventBean(bytes, 0, bytes.length);
+            }
+        }
+        return eventBeanTypedEventFactory.adapterForTypedJson(getUnderlying(theEvent), eventType);
+    }
+
     private Object getUnderlying(Object theEvent) {
         if (theEvent instanceof String) {
             return eventType.parse((String) theEvent);
+        } else if (theEvent instanceof byte[]) {
+            byte[] bytes = (byte[]) theEvent;
+            return eventType.parse(bytes, 0, bytes.length);
         } else if (theEvent == null || !(theEvent.getClass() == eventType.getUnderlyingType())) {
             throw new EPException("Unexpected event object of type '" + (theEvent == null ? "(null)" : theEvent.getClass().getName()) + "', expected a Json-formatted string-type value");
         }
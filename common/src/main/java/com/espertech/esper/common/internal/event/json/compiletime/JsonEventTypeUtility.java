@@ -36,7 +36,9 @@ import com.espertech.esper.common.internal.event.core.TypeBeanOrUnderlying;
 import com.espertech.esper.common.internal.event.json.core.EventTypeNestableGetterFactoryJson;
 import com.espertech.esper.common.internal.event.json.core.JsonEventType;
 import com.espertech.esper.common.internal.event.json.core.JsonEventTypeDetail;
+import com.espertech.esper.common.internal.event.json.parser.core.JsonUTF8DirectParser;
 import com.espertech.esper.common.internal.event.json.parser.delegates.endvalue.JsonEndValueForgeNull;
+import com.espertech.esper.common.internal.event.json.parser.delegates.endvalue.JsonEndValueForgeProvidedStringAdapter;
 import com.espertech.esper.common.internal.event.json.parser.forge.JsonForgeDesc;
 import com.espertech.esper.common.internal.event.json.parser.forge.JsonForgeFactoryBuiltinClassTyped;
 import com.espertech.esper.common.internal.event.json.parser.forge.JsonForgeFactoryEventTypeTyped;
@@ -163,7 +165,12 @@ public class JsonEventTypeUtility {
         String delegateFactoryClassNameFull = services.getPackageName() + "." + delegateFactoryClassNameSimple;
         String serdeClassNameFull = services.getPackageName() + "." + jsonClassNameSimple + "__" + metadata.getName() + "__Serde"; // include event type name as underlying-class may occur multiple times
 
-        JsonEventTypeDetail detail = new JsonEventTypeDetail(underlyingClassNameFull, optionalUnderlyingProvided == null ? null : optionalUnderlyingProvided.getType(), delegateClassNameFull, delegateFactoryClassNameFull, serdeClassNameFull, fieldDescriptors, dynamic, numFieldsSuperType);
+        boolean adaptedFields = optionalSuperType != null && optionalSuperType.getDetail().isAdaptedFields();
+        for (JsonForgeDesc forge : forges.values()) {
+            adaptedFields |= forge.getEndValueForge() instanceof JsonEndValueForgeProvidedStringAdapter;
+        }
+        boolean lazy = determineLazy(jsonSchema, optionalUnderlyingProvided, dynamic, optionalSuperType, adaptedFields, fieldDescriptors);
+        JsonEventTypeDetail detail = new JsonEventTypeDetail(underlyingClassNameFull, optionalUnderlyingProvided == null ? null : optionalUnderlyingProvided.getType(), delegateClassNameFull, delegateFactoryClassNameFull, serdeClassNameFull, fieldDescriptors, dynamic, numFieldsSuperType, adaptedFields, lazy);
         EventTypeNestableGetterFactoryJson getterFactoryJson = new EventTypeNestableGetterFactoryJson(detail);
 
         Class standIn = optionalUnderlyingProvided == null ? services.getCompilerServices().compileStandInClass(CodegenClassType.JSONEVENT, underlyingClassNameSimple, services.getServices())
@@ -290,6 +297,30 @@ public class JsonEventTypeUtility {
         return jsonSchema != null && jsonSchema.dynamic();
     }
 
+    private static boolean determineLazy(JsonSchema jsonSchema, EPTypeClass optionalUnderlyingProvided, boolean dynamic, JsonEventType optionalSuperType, boolean adaptedFields, Map<String, JsonUnderlyingField> fieldDescriptors) throws ExprValidationException {
+        if (jsonSchema == null || !jsonSchema.lazy()) {
+            return false;
+        }
+        if (optionalUnderlyingProvided != null) {
+            throw new ExprValidationException("The lazy flag is not supported when used with a provided JSON event class");
+        }
+        if (dynamic) {
+            throw new ExprValidationException("The lazy flag is not supported when used with the dynamic flag");
+        }
+        if (optionalSuperType != null) {
+            throw new ExprValidationException("The lazy flag is not supported when specifying a supertype");
+        }
+        if (adaptedFields) {
+            throw new ExprValidationException("The lazy flag is not supported when used with a Json schema field adapter");
+        }
+        for (Map.Entry<String, JsonUnderlyingField> entry : fieldDescriptors.entrySet()) {
+            if (!JsonUTF8DirectParser.isSupportedType(entry.getValue().getPropertyType())) {
+                throw new ExprValidationException("The lazy flag requires that all properties are of string, boolean or numeric type but property '" + entry.getKey() + "' has type '" + entry.getValue().getPropertyType().getTypeName() + "'");
+            }
+        }
+        return true;
+    }
+
     private static Map<String, Object> removeEventBeanTypes(Map<String, Object> properties) {
         LinkedHashMap<String, Object> verified = new LinkedHashMap<>();
         for (Map.Entry<String, Object> prop : properties.entrySet()) {
@@ -126,6 +126,9 @@ public class EventTypeNestableGetterFactoryJson implements EventTypeNestableGett
             }
             return new JsonGetterSimpleProvidedWFragmentSimple(field.getOptionalField(), nativeFragmentType, eventBeanTypedEventFactory);
         }
+        if (detail.isLazy()) {
+            return new JsonGetterSimpleSchemaLazy(field, detail.getUnderlyingClassName(), eventBeanTypedEventFactory);
+        }
         return new JsonGetterSimpleSchemaWFragment(field, detail.getUnderlyingClassName(), null, eventBeanTypedEventFactory);
     }
 
@@ -0,0 +1,127 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json.core;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.event.json.parser.core.JsonUTF8DirectParser;
+import com.espertech.esper.common.internal.event.json.parser.core.JsonUTF8LazyIndex;
+
+/**
+ * Event bean for a lazy Json event type that keeps the UTF-8 encoded document and decodes property values when first read.
+ * <p>
+ * Property getters of lazy types obtain the underlying using {@link #underlyingWithProperty(EventBean, int)}, which
+ * scans the document for member offsets when first called and decodes only the member of the property. Any other access
+ * to the underlying, using {@link #getUnderlying()}, decodes all remaining members first.
+ * <p>
+ * Decoding is synchronized as an event can be read by multiple threads. A document that is not well-formed results
+ * in an exception when a property is read.
+ */
+public class JsonEventBeanLazy extends JsonEventBean {
+    private final JsonUTF8DirectParser parser;
+    private JsonUTF8LazyIndex index;
+    private boolean[] decoded;
+    private volatile boolean complete;
+
+    /**
+     * Ctor.
+     *
+     * @param underlying underlying without any values assigned
+     * @param eventType  event type
+     * @param parser     parser of the type
+     * @param index      index for the document, the event bean retains the document
+     */
+    public JsonEventBeanLazy(Object underlying, EventType eventType, JsonUTF8DirectParser parser, JsonUTF8LazyIndex index) {
+        super(underlying, eventType);
+        this.parser = parser;
+        this.index = index;
+        this.decoded = new boolean[parser.getNumProperties()];
+    }
+
+    /**
+     * Returns the underlying of the event bean, decoding the value of the property number if not already decoded.
+     * Other properties of the underlying may not have been decoded.
+     *
+     * @param bean   event bean
+     * @param number property number
+     * @return underlying
+     */
+    public static Object underlyingWithProperty(EventBean bean, int number) {
+        if (bean instanceof JsonEventBeanLazy) {
+            return ((JsonEventBeanLazy) bean).getUnderlyingWithProperty(number);
+        }
+        return bean.getUnderlying();
+    }
+
+    public Object getUnderlying() {
+        if (!complete) {
+            decodeAll();
+        }
+        return super.getUnderlying();
+    }
+
+    public void setUnderlying(Object underlying) {
+        synchronized (this) {
+            super.setUnderlying(underlying);
+            index = null;
+            decoded = null;
+            complete = true;
+        }
+    }
+
+    /**
+     * Returns indicator whether all members have been decoded, for testing purposes.
+     *
+     * @return indicator
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns indicator whether the property was decoded, for testing purposes.
+     *
+     * @param number property number
+     * @return indicator
+     */
+    public synchronized boolean isDecoded(int number) {
+        return complete || decoded[number];
+    }
+
+    private Object getUnderlyingWithProperty(int number) {
+        if (!complete) {
+            synchronized (this) {
+                if (!complete && !decoded[number]) {
+                    parser.scan(index);
+                    parser.decode(index, number, super.getUnderlying());
+                    decoded[number] = true;
+                }
+            }
+        }
+        return super.getUnderlying();
+    }
+
+    private synchronized void decodeAll() {
+        if (complete) {
+            return;
+        }
+        parser.scan(index);
+        Object underlying = super.getUnderlying();
+        for (int i = 0; i < decoded.length; i++) {
+            if (!decoded[i]) {
+                parser.decode(index, i, underlying);
+            }
+        }
+        index = null;
+        decoded = null;
+        complete = true;
+    }
+}
@@ -25,6 +25,8 @@ import com.espertech.esper.common.internal.event.json.compiletime.JsonUnderlying
 import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateBase;
 import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateFactory;
 import com.espertech.esper.common.internal.event.json.parser.core.JsonHandlerDelegator;
+import com.espertech.esper.common.internal.event.json.parser.core.JsonUTF8DirectParser;
+import com.espertech.esper.common.internal.event.json.parser.core.JsonUTF8LazyIndex;
 import com.espertech.esper.common.internal.event.json.writer.*;
 import com.espertech.esper.common.internal.event.property.IndexedProperty;
 import com.espertech.esper.common.internal.event.property.MappedProperty;
@@ -33,6 +35,7 @@ import com.espertech.esper.common.internal.event.property.PropertyParser;
 import com.espertech.esper.common.internal.util.ClassHelperGenericType;
 import com.espertech.esper.common.internal.util.JavaClassHelper;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
@@ -45,6 +48,7 @@ public class JsonEventType extends BaseNestableEventType {
 
     private Class delegateType;
     private JsonDelegateFactory delegateFactory;
+    private JsonUTF8DirectParser directParser;
     private EPTypeClass underlyingType;
     protected EventPropertyDescriptor[] writablePropertyDescriptors;
     protected Map<String, Pair<EventPropertyDescriptor, JsonEventBeanPropertyWriter>> propertyWriters;
@@ -179,6 +183,7 @@ public class JsonEventType extends BaseNestableEventType {
             throw new EPException("Failed to find class: " + e.getMessage(), e);
         }
         this.delegateFactory = (JsonDelegateFactory) JavaClassHelper.instantiate(JsonDelegateFactory.class, delegateFactory);
+        this.directParser = JsonUTF8DirectParser.make(detail, this.delegateFactory);
     }
 
     public Object parse(String json) {
@@ -196,6 +201,53 @@ public class JsonEventType extends BaseNestableEventType {
         }
     }
 
+    /**
+     * Parses a UTF-8 encoded document. Flat types, i.e. types that have only string, boolean and number properties,
+     * are parsed directly from the bytes, all other types are parsed from the decoded string.
+     *
+     * @param json   UTF-8 encoded document
+     * @param offset offset of the document
+     * @param length length of the document in bytes
+     * @return underlying
+     */
+    public Object parse(byte[] json, int offset, int length) {
+        if (directParser == null) {
+            return parse(new String(json, offset, length, StandardCharsets.UTF_8));
+        }
+        try {
+            return directParser.parse(json, offset, length);
+        } catch (EPException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new EPException("Failed to parse Json: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Returns an event bean for a lazy type that decodes property values when first read.
+     *
+     * @param json   UTF-8 encoded document, retained by the event bean
+     * @param offset offset of the document
+     * @param length length of the document in bytes
+     * @return event bean
+     */
+    public JsonEventBeanLazy makeLazyEventBean(byte[] json, int offset, int length) {
+        if (!detail.isLazy() || directParser == null) {
+            throw new IllegalStateException("Json event type '" + getName() + "' is not a lazy type");
+        }
+        JsonUTF8LazyIndex index = new JsonUTF8LazyIndex(json, offset, length, directParser.getNumProperties());
+        return new JsonEventBeanLazy(delegateFactory.newUnderlying(), this, directParser, index);
+    }
+
+    /**
+     * Returns indicator whether UTF-8 encoded documents are parsed directly from the bytes.
+     *
+     * @return direct parsing indicator
+     */
+    public boolean isDirectParse() {
+        return directParser != null;
+    }
+
     public JsonEventTypeDetail getDetail() {
         return detail;
     }
@@ -34,11 +34,13 @@ public class JsonEventTypeDetail {
     private Map<String, JsonUnderlyingField> fieldDescriptors;
     private boolean dynamic;
     private int numFieldsSupertype;
+    private boolean adaptedFields;
+    private boolean lazy;
 
     public JsonEventTypeDetail() {
     }
 
-    public JsonEventTypeDetail(String underlyingClassName, Class optionalUnderlyingProvided, String delegateClassName, String delegateFactoryClassName, String serdeClassName, Map<String, JsonUnderlyingField> fieldDescriptors, boolean dynamic, int numFieldsSupertype) {
+    public JsonEventTypeDetail(String underlyingClassName, Class optionalUnderlyingProvided, String delegateClassName, String delegateFactoryClassName, String serdeClassName, Map<String, JsonUnderlyingField> fieldDescriptors, boolean dynamic, int numFieldsSupertype, boolean adaptedFields, boolean lazy) {
         this.underlyingClassName = underlyingClassName;
         this.optionalUnderlyingProvided = optionalUnderlyingProvided;
         this.delegateClassName = delegateClassName;
@@ -47,6 +49,8 @@ public class JsonEventTypeDetail {
         this.fieldDescriptors = fieldDescriptors;
         this.dynamic = dynamic;
         this.numFieldsSupertype = numFieldsSupertype;
+        this.adaptedFields = adaptedFields;
+        this.lazy = lazy;
     }
 
     public boolean isDynamic() {
@@ -101,10 +105,40 @@ public class JsonEventTypeDetail {
         this.dynamic = dynamic;
     }
 
+    public int getNumFieldsSupertype() {
+        return numFieldsSupertype;
+    }
+
     public void setNumFieldsSupertype(int numFieldsSupertype) {
         this.numFieldsSupertype = numFieldsSupertype;
     }
 
+    /**
+     * Returns indicator whether any field, including fields of the supertype, is parsed by a field adapter.
+     *
+     * @return adapted-fields indicator
+     */
+    public boolean isAdaptedFields() {
+        return adaptedFields;
+    }
+
+    public void setAdaptedFields(boolean adaptedFields) {
+        this.adaptedFields = adaptedFields;
+    }
+
+    /**
+     * Returns indicator whether events keep the document and decode property values when first read.
+     *
+     * @return lazy indicator
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
     public Class getOptionalUnderlyingProvided() {
         return optionalUnderlyingProvided;
     }
@@ -121,6 +155,8 @@ public class JsonEventTypeDetail {
                 .exprDotMethod(ref("detail"), "setFieldDescriptors", localMethod(makeFieldDescCodegen(method, classScope)))
                 .exprDotMethod(ref("detail"), "setDynamic", constant(dynamic))
                 .exprDotMethod(ref("detail"), "setNumFieldsSupertype", constant(numFieldsSupertype))
+                .exprDotMethod(ref("detail"), "setAdaptedFields", constant(adaptedFields))
+                .exprDotMethod(ref("detail"), "setLazy", constant(lazy))
                 .methodReturn(ref("detail"));
         return localMethod(method);
     }
@@ -0,0 +1,41 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json.getter.fromschema;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.PropertyAccessException;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethodScope;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
+import com.espertech.esper.common.internal.event.core.EventBeanTypedEventFactory;
+import com.espertech.esper.common.internal.event.json.compiletime.JsonUnderlyingField;
+import com.espertech.esper.common.internal.event.json.core.JsonEventBeanLazy;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.*;
+
+/**
+ * Property getter for Json underlying fields of lazy types, decoding only the value of the property.
+ */
+public class JsonGetterSimpleSchemaLazy extends JsonGetterSimpleSchemaWFragment {
+
+    public JsonGetterSimpleSchemaLazy(JsonUnderlyingField field, String underlyingClassName, EventBeanTypedEventFactory eventBeanTypedEventFactory) {
+        super(field, underlyingClassName, null, eventBeanTypedEventFactory);
+    }
+
+    public Object get(EventBean eventBean) throws PropertyAccessException {
+        return getJsonProp(JsonEventBeanLazy.underlyingWithProperty(eventBean, field.getPropertyNumber()));
+    }
+
+    public CodegenExpression eventBeanGetCodegen(CodegenExpression beanExpression, CodegenMethodScope codegenMethodScope, CodegenClassScope codegenClassScope) {
+        CodegenExpression underlying = staticMethod(JsonEventBeanLazy.class, "underlyingWithProperty", beanExpression, constant(field.getPropertyNumber()));
+        return underlyingGetCodegen(cast(underlyingClassName, underlying), codegenMethodScope, codegenClassScope);
+    }
+}
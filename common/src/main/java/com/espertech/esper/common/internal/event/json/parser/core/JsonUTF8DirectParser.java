@@ -0,0 +1,673 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json.parser.core;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.type.EPTypeClass;
+import com.espertech.esper.common.internal.event.json.compiletime.JsonUnderlyingField;
+import com.espertech.esper.common.internal.event.json.core.JsonEventTypeDetail;
+import com.espertech.esper.common.internal.event.json.parser.delegates.endvalue.*;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parser for UTF-8 encoded JSON documents of a flat JSON event type, i.e. a type that has only string, boolean and
+ * number properties. The parser reads the bytes directly, without first decoding the document into a string, and
+ * assigns values to the underlying object using the delegate factory.
+ * <p>
+ * Member names are matched against the UTF-8 bytes of the property names. Numbers are computed from the bytes
+ * without allocating a string when the value is exactly representable by the property type, all other values,
+ * including values that do not match the property type, are converted in the same way as the delegate converts them.
+ * <p>
+ * For lazy event types the parser also scans a document for the offsets of member values, see {@link JsonUTF8LazyIndex},
+ * and decodes the value of a single member at its offset.
+ * <p>
+ * The parser holds no state for a document and is thread-safe.
+ */
+public class JsonUTF8DirectParser {
+    private final static int KIND_STRING = 0;
+    private final static int KIND_BOOLEAN = 1;
+    private final static int KIND_INTEGER = 2;
+    private final static int KIND_LONG = 3;
+    private final static int KIND_DOUBLE = 4;
+    private final static int KIND_FLOAT = 5;
+    private final static int KIND_SHORT = 6;
+    private final static int KIND_BYTE = 7;
+
+    private final static double[] POWERS_OF_TEN_DOUBLE = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private final static Object UNASSIGNED = new Object();
+
+    private final static float[] POWERS_OF_TEN_FLOAT = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+    private final JsonDelegateFactory delegateFactory;
+    private final Member[] table;
+    private final int mask;
+    private final Map<String, Member> membersByName;
+    private final Member[] membersByNumber;
+
+    private JsonUTF8DirectParser(JsonDelegateFactory delegateFactory, Map<String, Member> membersByName) {
+        this.delegateFactory = delegateFactory;
+        this.membersByName = membersByName;
+        this.membersByNumber = new Member[membersByName.size()];
+        for (Member member : membersByName.values()) {
+            membersByNumber[member.number] = member;
+        }
+        int size = Integer.highestOneBit(Math.max(1, membersByName.size() * 2 - 1)) << 1;
+        this.table = new Member[size];
+        this.mask = size - 1;
+        for (Member member : membersByName.values()) {
+            int index = member.hash & mask;
+            while (table[index] != null) {
+                index = (index + 1) & mask;
+            }
+            table[index] = member;
+        }
+    }
+
+    /**
+     * Returns a parser for the type, or null if the type is not a flat type that the parser can handle.
+     *
+     * @param detail          type detail
+     * @param delegateFactory delegate factory of the type
+     * @return parser or null
+     */
+    public static JsonUTF8DirectParser make(JsonEventTypeDetail detail, JsonDelegateFactory delegateFactory) {
+        if (detail.isDynamic() || detail.isAdaptedFields() || detail.getNumFieldsSupertype() > 0) {
+            return null;
+        }
+        Map<String, Member> members = new HashMap<>();
+        for (Map.Entry<String, JsonUnderlyingField> entry : detail.getFieldDescriptors().entrySet()) {
+            int kind = getKind(entry.getValue().getPropertyType());
+            if (kind == -1) {
+                return null;
+            }
+            members.put(entry.getKey(), new Member(entry.getKey(), entry.getValue().getPropertyNumber(), kind));
+        }
+        return new JsonUTF8DirectParser(delegateFactory, members);
+    }
+
+    /**
+     * Returns indicator whether the parser can handle a property of the type.
+     *
+     * @param type property type
+     * @return indicator
+     */
+    public static boolean isSupportedType(EPTypeClass type) {
+        return getKind(type) != -1;
+    }
+
+    /**
+     * Returns the number of properties.
+     *
+     * @return number of properties
+     */
+    public int getNumProperties() {
+        return membersByNumber.length;
+    }
+
+    /**
+     * Parses the document and returns the underlying object.
+     *
+     * @param bytes  UTF-8 encoded document
+     * @param offset offset of the document
+     * @param length length of the document in bytes
+     * @return underlying
+     * @throws EPException when the document is not well-formed or a value cannot be converted
+     */
+    public Object parse(byte[] bytes, int offset, int length) {
+        Object und = delegateFactory.newUnderlying();
+        Cursor cursor = new Cursor(bytes, offset, offset + length);
+        cursor.skipWhiteSpace();
+        cursor.expect('{', "'{'");
+        cursor.skipWhiteSpace();
+        if (!cursor.consume('}')) {
+            do {
+                cursor.skipWhiteSpace();
+                Member member = readName(cursor);
+                cursor.skipWhiteSpace();
+                cursor.expect(':', "':'");
+                cursor.skipWhiteSpace();
+                if (member == null) {
+                    cursor.skipValue();
+                } else {
+                    Object value = readValue(cursor, member);
+                    if (value != UNASSIGNED) {
+                        delegateFactory.setValue(member.number, value, und);
+                    }
+                }
+                cursor.skipWhiteSpace();
+            } while (cursor.consume(','));
+            cursor.expect('}', "',' or '}'");
+        }
+        cursor.skipWhiteSpace();
+        if (cursor.pos < cursor.end) {
+            throw cursor.error("Unexpected character");
+        }
+        return und;
+    }
+
+    /**
+     * Scans the complete document of the index, recording the value offset of each member.
+     * For duplicate member names the last member is recorded, the same as when parsing the document.
+     *
+     * @param index index of the document
+     * @throws EPException when the document is not well-formed
+     */
+    public void scan(JsonUTF8LazyIndex index) {
+        if (index.isComplete()) {
+            return;
+        }
+        Cursor cursor = new Cursor(index.getBytes(), index.getStart(), index.getEnd());
+        cursor.skipWhiteSpace();
+        cursor.expect('{', "'{'");
+        cursor.skipWhiteSpace();
+        if (cursor.consume('}')) {
+            scanEnd(cursor, index);
+            return;
+        }
+        while (true) {
+            cursor.skipWhiteSpace();
+            Member member = readName(cursor);
+            cursor.skipWhiteSpace();
+            cursor.expect(':', "':'");
+            cursor.skipWhiteSpace();
+            if (member != null) {
+                index.setValueOffset(member.number, cursor.pos);
+            }
+            cursor.skipValue();
+            cursor.skipWhiteSpace();
+            if (!cursor.consume(',')) {
+                cursor.expect('}', "',' or '}'");
+                scanEnd(cursor, index);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Decodes the value of the member of the property number at the offset recorded by the index and assigns the value
+     * to the underlying. Has no effect if the index has no offset for the property.
+     *
+     * @param index  index of the document
+     * @param number property number
+     * @param und    underlying
+     * @throws EPException when the value is not well-formed or cannot be converted
+     */
+    public void decode(JsonUTF8LazyIndex index, int number, Object und) {
+        int offset = index.getValueOffset(number);
+        if (offset == -1) {
+            return;
+        }
+        Cursor cursor = new Cursor(index.getBytes(), index.getStart(), index.getEnd());
+        cursor.pos = offset;
+        Member member = membersByNumber[number];
+        Object value = readValue(cursor, member);
+        if (value != UNASSIGNED) {
+            delegateFactory.setValue(number, value, und);
+        }
+    }
+
+    private static void scanEnd(Cursor cursor, JsonUTF8LazyIndex index) {
+        cursor.skipWhiteSpace();
+        if (cursor.pos < cursor.end) {
+            throw cursor.error("Unexpected character");
+        }
+        index.setComplete();
+    }
+
+    private Member readName(Cursor cursor) {
+        cursor.expect('"', "name");
+        byte[] bytes = cursor.bytes;
+        int start = cursor.pos;
+        int hash = 0;
+        while (true) {
+            if (cursor.pos == cursor.end) {
+                throw cursor.error("Unexpected end of input");
+            }
+            byte b = bytes[cursor.pos];
+            if (b == '"') {
+                break;
+            }
+            if (b == '\\') {
+                // names with escapes are rare, decode and look up by name
+                cursor.pos = start;
+                return membersByName.get(cursor.readStringContent());
+            }
+            hash = 31 * hash + (b & 0xff);
+            cursor.pos++;
+        }
+        int length = cursor.pos - start;
+        cursor.pos++;
+        int index = hash & mask;
+        while (true) {
+            Member member = table[index];
+            if (member == null) {
+                return null;
+            }
+            if (member.hash == hash && member.matches(bytes, start, length)) {
+                return member;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private Object readValue(Cursor cursor, Member member) {
+        if (cursor.pos == cursor.end) {
+            throw cursor.error("Unexpected end of input");
+        }
+        byte b = cursor.bytes[cursor.pos];
+        if (b == '"') {
+            cursor.pos++;
+            String value = cursor.readStringContent();
+            return member.kind == KIND_STRING ? value : convert(member, null, value);
+        } else if (b == 't') {
+            cursor.expectLiteral("true");
+            return member.kind == KIND_BOOLEAN ? Boolean.TRUE : convert(member, Boolean.TRUE, "true");
+        } else if (b == 'f') {
+            cursor.expectLiteral("false");
+            return member.kind == KIND_BOOLEAN ? Boolean.FALSE : convert(member, Boolean.FALSE, "false");
+        } else if (b == 'n') {
+            cursor.expectLiteral("null");
+            return null;
+        } else if (b == '{' || b == '[') {
+            // not a value for a simple property, same as the delegate the value is not assigned
+            cursor.skipValue();
+            return UNASSIGNED;
+        }
+        return readNumber(cursor, member);
+    }
+
+    private Object readNumber(Cursor cursor, Member member) {
+        byte[] bytes = cursor.bytes;
+        int start = cursor.pos;
+        boolean negative = cursor.consume('-');
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+
+        if (cursor.pos == cursor.end || !isDigit(bytes[cursor.pos])) {
+            throw cursor.expected("digit");
+        }
+        boolean leadingZero = bytes[cursor.pos] == '0';
+        while (cursor.pos < cursor.end && isDigit(bytes[cursor.pos])) {
+            mantissa = mantissa * 10 + (bytes[cursor.pos++] - '0');
+            digits++;
+            if (leadingZero) {
+                break;
+            }
+        }
+        if (cursor.consume('.')) {
+            if (cursor.pos == cursor.end || !isDigit(bytes[cursor.pos])) {
+                throw cursor.expected("digit");
+            }
+            while (cursor.pos < cursor.end && isDigit(bytes[cursor.pos])) {
+                mantissa = mantissa * 10 + (bytes[cursor.pos++] - '0');
+                digits++;
+                fractionDigits++;
+            }
+        }
+        boolean exponent = false;
+        if (cursor.pos < cursor.end && (bytes[cursor.pos] == 'e' || bytes[cursor.pos] == 'E')) {
+            exponent = true;
+            cursor.pos++;
+            if (!cursor.consume('+')) {
+                cursor.consume('-');
+            }
+            if (cursor.pos == cursor.end || !isDigit(bytes[cursor.pos])) {
+                throw cursor.expected("digit");
+            }
+            while (cursor.pos < cursor.end && isDigit(bytes[cursor.pos])) {
+                cursor.pos++;
+            }
+        }
+
+        // the mantissa is exact for up to 18 digits
+        if (!exponent && digits <= 18) {
+            switch (member.kind) {
+                case KIND_INTEGER:
+                    if (fractionDigits == 0) {
+                        long value = negative ? -mantissa : mantissa;
+                        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                            return (int) value;
+                        }
+                    }
+                    break;
+                case KIND_LONG:
+                    if (fractionDigits == 0) {
+                        return negative ? -mantissa : mantissa;
+                    }
+                    break;
+                case KIND_SHORT:
+                    if (fractionDigits == 0) {
+                        long value = negative ? -mantissa : mantissa;
+                        if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                            return (short) value;
+                        }
+                    }
+                    break;
+                case KIND_BYTE:
+                    if (fractionDigits == 0) {
+                        long value = negative ? -mantissa : mantissa;
+                        if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                            return (byte) value;
+                        }
+                    }
+                    break;
+                case KIND_DOUBLE:
+                    // an exact mantissa divided by an exact power of ten is correctly rounded
+                    if (digits <= 15 && fractionDigits < POWERS_OF_TEN_DOUBLE.length) {
+                        double value = mantissa / POWERS_OF_TEN_DOUBLE[fractionDigits];
+                        return negative ? -value : value;
+                    }
+                    break;
+                case KIND_FLOAT:
+                    if (digits <= 7 && fractionDigits < POWERS_OF_TEN_FLOAT.length) {
+                        float value = mantissa / POWERS_OF_TEN_FLOAT[fractionDigits];
+                        return negative ? -value : value;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        String text = new String(bytes, start, cursor.pos - start, StandardCharsets.US_ASCII);
+        return convert(member, null, text);
+    }
+
+    private static Object convert(Member member, Object objectValue, String stringValue) {
+        switch (member.kind) {
+            case KIND_STRING:
+                return stringValue;
+            case KIND_BOOLEAN:
+                return JsonEndValueForgeBoolean.jsonToBoolean(objectValue, stringValue, member.name);
+            case KIND_INTEGER:
+                return JsonEndValueForgeInteger.jsonToInteger(stringValue, member.name);
+            case KIND_LONG:
+                return JsonEndValueForgeLong.jsonToLong(stringValue, member.name);
+            case KIND_DOUBLE:
+                return JsonEndValueForgeDouble.jsonToDouble(stringValue, member.name);
+            case KIND_FLOAT:
+                return JsonEndValueForgeFloat.jsonToFloat(stringValue, member.name);
+            case KIND_SHORT:
+                return JsonEndValueForgeShort.jsonToShort(stringValue, member.name);
+            case KIND_BYTE:
+                return JsonEndValueForgeByte.jsonToByte(stringValue, member.name);
+            default:
+                throw new IllegalStateException("Unrecognized kind " + member.kind);
+        }
+    }
+
+    private static int getKind(EPTypeClass type) {
+        Class clazz = JavaClassHelper.getBoxedType(type.getType());
+        if (clazz == String.class) {
+            return KIND_STRING;
+        } else if (clazz == Boolean.class) {
+            return KIND_BOOLEAN;
+        } else if (clazz == Integer.class) {
+            return KIND_INTEGER;
+        } else if (clazz == Long.class) {
+            return KIND_LONG;
+        } else if (clazz == Double.class) {
+            return KIND_DOUBLE;
+        } else if (clazz == Float.class) {
+            return KIND_FLOAT;
+        } else if (clazz == Short.class) {
+            return KIND_SHORT;
+        } else if (clazz == Byte.class) {
+            return KIND_BYTE;
+        }
+        return -1;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private final static class Member {
+        private final String name;
+        private final byte[] nameBytes;
+        private final int hash;
+        private final int number;
+        private final int kind;
+
+        private Member(String name, int number, int kind) {
+            this.name = name;
+            this.nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            this.number = number;
+            this.kind = kind;
+            int hash = 0;
+            for (byte b : nameBytes) {
+                hash = 31 * hash + (b & 0xff);
+            }
+            this.hash = hash;
+        }
+
+        private boolean matches(byte[] bytes, int start, int length) {
+            if (length != nameBytes.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (bytes[start + i] != nameBytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final static class Cursor {
+        private final byte[] bytes;
+        private final int start;
+        private final int end;
+        private int pos;
+
+        private Cursor(byte[] bytes, int start, int end) {
+            this.bytes = bytes;
+            this.start = start;
+            this.end = end;
+            this.pos = start;
+        }
+
+        private void skipWhiteSpace() {
+            while (pos < end) {
+                byte b = bytes[pos];
+                if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                    return;
+                }
+                pos++;
+            }
+        }
+
+        private boolean consume(char c) {
+            if (pos < end && bytes[pos] == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c, String expected) {
+            if (!consume(c)) {
+                throw expected(expected);
+            }
+        }
+
+        private void expectLiteral(String literal) {
+            for (int i = 0; i < literal.length(); i++) {
+                if (pos == end || bytes[pos] != literal.charAt(i)) {
+                    throw expected("'" + literal.charAt(i) + "'");
+                }
+                pos++;
+            }
+        }
+
+        /**
+         * Reads string content after the opening quote, up to and including the closing quote.
+         */
+        private String readStringContent() {
+            int chunkStart = pos;
+            StringBuilder builder = null;
+            while (true) {
+                if (pos == end) {
+                    throw error("Unexpected end of input");
+                }
+                byte b = bytes[pos];
+                if (b == '"') {
+                    String chunk = new String(bytes, chunkStart, pos - chunkStart, StandardCharsets.UTF_8);
+                    pos++;
+                    return builder == null ? chunk : builder.append(chunk).toString();
+                }
+                if (b == '\\') {
+                    if (builder == null) {
+                        builder = new StringBuilder();
+                    }
+                    builder.append(new String(bytes, chunkStart, pos - chunkStart, StandardCharsets.UTF_8));
+                    pos++;
+                    readEscape(builder);
+                    chunkStart = pos;
+                } else if (b >= 0 && b < 0x20) {
+                    throw expected("valid string character");
+                } else {
+                    pos++;
+                }
+            }
+        }
+
+        private void readEscape(StringBuilder builder) {
+            if (pos == end) {
+                throw error("Unexpected end of input");
+            }
+            byte b = bytes[pos++];
+            switch (b) {
+                case '"':
+                case '/':
+                case '\\':
+                    builder.append((char) b);
+                    break;
+                case 'b':
+                    builder.append('\b');
+                    break;
+                case 'f':
+                    builder.append('\f');
+                    break;
+                case 'n':
+                    builder.append('\n');
+                    break;
+                case 'r':
+                    builder.append('\r');
+                    break;
+                case 't':
+                    builder.append('\t');
+                    break;
+                case 'u':
+                    int value = 0;
+                    for (int i = 0; i < 4; i++) {
+                        if (pos == end) {
+                            throw error("Unexpected end of input");
+                        }
+                        int digit = Character.digit(bytes[pos++], 16);
+                        if (digit == -1) {
+                            throw expected("hexadecimal digit");
+                        }
+                        value = value * 16 + digit;
+                    }
+                    builder.append((char) value);
+                    break;
+                default:
+                    pos--;
+                    throw expected("valid escape sequence");
+            }
+        }
+
+        private void skipValue() {
+            if (pos == end) {
+                throw error("Unexpected end of input");
+            }
+            byte b = bytes[pos];
+            if (b == '"') {
+                pos++;
+                skipStringContent();
+            } else if (b == '{') {
+                pos++;
+                skipWhiteSpace();
+                if (consume('}')) {
+                    return;
+                }
+                do {
+                    skipWhiteSpace();
+                    expect('"', "name");
+                    skipStringContent();
+                    skipWhiteSpace();
+                    expect(':', "':'");
+                    skipWhiteSpace();
+                    skipValue();
+                    skipWhiteSpace();
+                } while (consume(','));
+                expect('}', "',' or '}'");
+            } else if (b == '[') {
+                pos++;
+                skipWhiteSpace();
+                if (consume(']')) {
+                    return;
+                }
+                do {
+                    skipWhiteSpace();
+                    skipValue();
+                    skipWhiteSpace();
+                } while (consume(','));
+                expect(']', "',' or ']'");
+            } else if (b == 't') {
+                expectLiteral("true");
+            } else if (b == 'f') {
+                expectLiteral("false");
+            } else if (b == 'n') {
+                expectLiteral("null");
+            } else if (b == '-' || isDigit(b)) {
+                pos++;
+                while (pos < end && (isDigit(bytes[pos]) || bytes[pos] == '.' || bytes[pos] == 'e' || bytes[pos] == 'E' || bytes[pos] == '+' || bytes[pos] == '-')) {
+                    pos++;
+                }
+            } else {
+                throw expected("value");
+            }
+        }
+
+        private void skipStringContent() {
+            while (true) {
+                if (pos == end) {
+                    throw error("Unexpected end of input");
+                }
+                byte b = bytes[pos++];
+                if (b == '"') {
+                    return;
+                }
+                if (b == '\\') {
+                    pos++;
+                }
+            }
+        }
+
+        private EPException expected(String expected) {
+            if (pos >= end) {
+                return error("Unexpected end of input");
+            }
+            return error("Expected " + expected);
+        }
+
+        private EPException error(String message) {
+            return new EPException("Failed to parse Json: " + message + " at offset " + (pos - start));
+        }
+    }
+}
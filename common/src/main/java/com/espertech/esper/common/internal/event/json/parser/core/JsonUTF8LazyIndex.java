@@ -0,0 +1,83 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json.parser.core;
+
+import java.util.Arrays;
+
+/**
+ * Sparse index of a UTF-8 encoded JSON document that holds, per property number, the offset of the member value.
+ * The index is populated by {@link JsonUTF8DirectParser#scan(JsonUTF8LazyIndex)}. For duplicate member names the index
+ * keeps the last member.
+ * <p>
+ * Not thread-safe.
+ */
+public class JsonUTF8LazyIndex {
+    private final byte[] bytes;
+    private final int start;
+    private final int end;
+    private final int[] valueOffsets;
+    private boolean complete;
+
+    /**
+     * Ctor.
+     *
+     * @param bytes         UTF-8 encoded document, not copied
+     * @param offset        offset of the document
+     * @param length        length of the document in bytes
+     * @param numProperties number of properties
+     */
+    public JsonUTF8LazyIndex(byte[] bytes, int offset, int length, int numProperties) {
+        this.bytes = bytes;
+        this.start = offset;
+        this.end = offset + length;
+        this.valueOffsets = new int[numProperties];
+        Arrays.fill(valueOffsets, -1);
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns the offset of the member value for the property number, or -1 if the member was not found.
+     *
+     * @param number property number
+     * @return offset or -1
+     */
+    public int getValueOffset(int number) {
+        return valueOffsets[number];
+    }
+
+    /**
+     * Returns indicator whether the whole document was scanned.
+     *
+     * @return complete indicator
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    void setValueOffset(int number, int offset) {
+        valueOffsets[number] = offset;
+    }
+
+    void setComplete() {
+        this.complete = true;
+    }
+}
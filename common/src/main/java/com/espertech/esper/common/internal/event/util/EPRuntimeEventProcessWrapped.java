@@ -23,6 +23,13 @@ public interface EPRuntimeEventProcessWrapped {
      */
     public void processWrappedEvent(EventBean eventBean);
 
+    /**
+     * For processing a batch of known events, in order.
+     *
+     * @param eventBeans events wrapped by event beans providing the event metadata
+     */
+    public void processWrappedEvents(EventBean[] eventBeans);
+
     /**
      * For processing a routed event.
      *
@@ -12,6 +12,7 @@ package com.espertech.esper.common.internal.serde.compiletime.eventtype;
 
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.internal.serde.compiletime.resolve.DataInputOutputSerdeForge;
+import com.espertech.esper.common.internal.serde.compiletime.resolve.SerdeCompileTimeResolver;
 
 import java.util.Map;
 
@@ -19,4 +20,5 @@ public interface SerdeEventTypeCompileTimeRegistry {
     boolean isTargetHA();
     void addSerdeFor(EventType eventType, DataInputOutputSerdeForge forge);
     Map<EventType, DataInputOutputSerdeForge> getEventTypes();
+    SerdeCompileTimeResolver getWireSerdeResolver();
 }
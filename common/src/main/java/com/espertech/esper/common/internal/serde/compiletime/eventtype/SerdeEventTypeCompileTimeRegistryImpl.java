@@ -12,6 +12,7 @@ package com.espertech.esper.common.internal.serde.compiletime.eventtype;
 
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.internal.serde.compiletime.resolve.DataInputOutputSerdeForge;
+import com.espertech.esper.common.internal.serde.compiletime.resolve.SerdeCompileTimeResolver;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -19,11 +20,13 @@ import java.util.Map;
 
 public class SerdeEventTypeCompileTimeRegistryImpl implements SerdeEventTypeCompileTimeRegistry {
     private final boolean isTargetHA;
+    private final SerdeCompileTimeResolver wireSerdeResolver;
     private final Map<EventType, DataInputOutputSerdeForge> eventTypes;
 
-    public SerdeEventTypeCompileTimeRegistryImpl(boolean isTargetHA) {
+    public SerdeEventTypeCompileTimeRegistryImpl(boolean isTargetHA, SerdeCompileTimeResolver wireSerdeResolver) {
         this.isTargetHA = isTargetHA;
-        this.eventTypes = isTargetHA ? new HashMap<>() : Collections.emptyMap();
+        this.wireSerdeResolver = wireSerdeResolver;
+        this.eventTypes = isTargetHA || wireSerdeResolver != null ? new HashMap<>() : Collections.emptyMap();
     }
 
     public boolean isTargetHA() {
@@ -31,7 +34,7 @@ public class SerdeEventTypeCompileTimeRegistryImpl implements SerdeEventTypeComp
     }
 
     public void addSerdeFor(EventType eventType, DataInputOutputSerdeForge forge) {
-        if (isTargetHA) {
+        if (isTargetHA || wireSerdeResolver != null) {
             eventTypes.put(eventType, forge);
         }
     }
@@ -39,4 +42,8 @@ public class SerdeEventTypeCompileTimeRegistryImpl implements SerdeEventTypeComp
     public Map<EventType, DataInputOutputSerdeForge> getEventTypes() {
         return eventTypes;
     }
+
+    public SerdeCompileTimeResolver getWireSerdeResolver() {
+        return wireSerdeResolver;
+    }
 }
@@ -10,16 +10,19 @@
  */
 package com.espertech.esper.common.internal.serde.compiletime.eventtype;
 
+import com.espertech.esper.common.client.EPException;
 import com.espertech.esper.common.client.EventPropertyDescriptor;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.FragmentEventType;
 import com.espertech.esper.common.client.meta.EventTypeTypeClass;
 import com.espertech.esper.common.client.serde.DataInputOutputSerde;
+import com.espertech.esper.common.client.type.EPTypeClass;
 import com.espertech.esper.common.client.util.StatementType;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenPackageScope;
 import com.espertech.esper.common.internal.compile.stage2.StatementRawInfo;
 import com.espertech.esper.common.internal.compile.stage3.StmtClassForgeable;
 import com.espertech.esper.common.internal.compile.stage3.StmtClassForgeableFactory;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
 import com.espertech.esper.common.internal.event.avro.AvroSchemaEventType;
 import com.espertech.esper.common.internal.event.bean.core.BeanEventType;
 import com.espertech.esper.common.internal.event.core.BaseNestableEventType;
@@ -27,15 +30,19 @@ import com.espertech.esper.common.internal.event.core.WrapperEventType;
 import com.espertech.esper.common.internal.event.json.core.JsonEventType;
 import com.espertech.esper.common.internal.event.variant.VariantEventType;
 import com.espertech.esper.common.internal.event.xml.BaseXMLEventType;
+import com.espertech.esper.common.internal.serde.compiletime.resolve.DataInputOutputSerdeException;
 import com.espertech.esper.common.internal.serde.compiletime.resolve.DataInputOutputSerdeForge;
 import com.espertech.esper.common.internal.serde.compiletime.resolve.DataInputOutputSerdeForgeOfForges;
 import com.espertech.esper.common.internal.serde.compiletime.resolve.SerdeCompileTimeResolver;
 import com.espertech.esper.common.internal.statemgmtsettings.StateMgmtSettingsProvider;
 
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static com.espertech.esper.common.internal.bytecodemodel.core.CodeGenerationIDGenerator.generateClassNameUUID;
 import static com.espertech.esper.common.internal.bytecodemodel.core.CodeGenerationIDGenerator.generateClassNameWithUUID;
@@ -60,6 +67,37 @@ public class SerdeEventTypeUtility {
         return forgeables;
     }
 
+    public static List<StmtClassForgeableFactory> planWire(EventType eventType, StatementRawInfo raw, SerdeEventTypeCompileTimeRegistry registry) throws ExprValidationException {
+        SerdeCompileTimeResolver resolver = registry.getWireSerdeResolver();
+        if (resolver == null || registry.getEventTypes().containsKey(eventType)) {
+            return Collections.emptyList();
+        }
+
+        SerdeAndForgeables pair;
+        try {
+            if (eventType instanceof BeanEventType) {
+                pair = planBeanWire((BeanEventType) eventType, raw, resolver);
+            } else if (eventType instanceof BaseNestableEventType) {
+                BaseNestableEventType nestable = (BaseNestableEventType) eventType;
+                for (Map.Entry<String, Object> property : nestable.getTypes().entrySet()) {
+                    SerdeEventPropertyDesc desc = forgeForEventProperty(eventType, property.getKey(), property.getValue(), raw, resolver);
+                    if (!desc.getNestedTypes().isEmpty()) {
+                        throw new DataInputOutputSerdeException("Property '" + property.getKey() + "' is an event-typed property and is not supported");
+                    }
+                }
+                pair = planBaseNestable(nestable, raw, resolver);
+            } else {
+                // variant, Avro and XML types have their own wire format
+                return Collections.emptyList();
+            }
+        } catch (DataInputOutputSerdeException | EPException ex) {
+            throw new ExprValidationException("Failed to determine wire serde for event type '" + eventType.getName() + "': " + ex.getMessage(), ex);
+        }
+
+        registry.addSerdeFor(eventType, pair.forge);
+        return pair.additionalForgeables;
+    }
+
     private static void planRecursive(List<StmtClassForgeableFactory> additionalForgeables, EventType eventType, StatementRawInfo raw, SerdeEventTypeCompileTimeRegistry registry, SerdeCompileTimeResolver resolver, StateMgmtSettingsProvider stateMgmtSettingsProvider) {
         if (!registry.isTargetHA()) {
             return;
@@ -144,6 +182,53 @@ public class SerdeEventTypeUtility {
         return new SerdeAndForgeables(forge, Collections.emptyList());
     }
 
+    private static SerdeAndForgeables planBeanWire(BeanEventType eventType, StatementRawInfo raw, SerdeCompileTimeResolver resolver) {
+        // beans that have a public default constructor and a setter for each readable property are written property-by-property,
+        // other beans use the serde as provided or configured so that no property value is lost
+        Class clazz = eventType.getUnderlyingType();
+        EventPropertyDescriptor[] writables = eventType.getWriteableProperties();
+        boolean hasDefaultCtor;
+        try {
+            hasDefaultCtor = Modifier.isPublic(clazz.getConstructor().getModifiers());
+        } catch (NoSuchMethodException ex) {
+            hasDefaultCtor = false;
+        }
+        if (!hasDefaultCtor || writables.length == 0 || Modifier.isAbstract(clazz.getModifiers()) || !Modifier.isPublic(clazz.getModifiers())) {
+            return planBean(eventType, raw, resolver, null);
+        }
+
+        Set<String> writableNames = new HashSet<>();
+        for (EventPropertyDescriptor writable : writables) {
+            if (eventType.getGetterSPI(writable.getPropertyName()) == null || !(writable.getPropertyEPType() instanceof EPTypeClass)) {
+                return planBean(eventType, raw, resolver, null);
+            }
+            writableNames.add(writable.getPropertyName());
+        }
+        for (EventPropertyDescriptor readable : eventType.getPropertyDescriptors()) {
+            if (!readable.isRequiresIndex() && !readable.isRequiresMapkey() && !writableNames.contains(readable.getPropertyName())) {
+                return planBean(eventType, raw, resolver, null);
+            }
+        }
+
+        List<EventPropertyDescriptor> properties = new ArrayList<>(writables.length);
+        List<DataInputOutputSerdeForge> forges = new ArrayList<>(writables.length);
+        for (EventPropertyDescriptor writable : writables) {
+            properties.add(writable);
+            forges.add(resolver.serdeForEventProperty((EPTypeClass) writable.getPropertyEPType(), eventType.getName(), writable.getPropertyName(), raw));
+        }
+        EventPropertyDescriptor[] propertiesArray = properties.toArray(new EventPropertyDescriptor[0]);
+        DataInputOutputSerdeForge[] forgesArray = forges.toArray(new DataInputOutputSerdeForge[0]);
+
+        String className = generateClassNameWithUUID(DataInputOutputSerde.class, eventType.getMetadata().getName(), generateClassNameUUID());
+        StmtClassForgeableFactory forgeable = new StmtClassForgeableFactory() {
+            public StmtClassForgeable make(CodegenPackageScope packageScope, String classPostfix) {
+                return new StmtClassForgeableBeanEventTypeSerde(className, packageScope, eventType, propertiesArray, forgesArray);
+            }
+        };
+        DataInputOutputSerdeForgeOfForges forge = new DataInputOutputSerdeForgeOfForges(className, forgesArray);
+        return new SerdeAndForgeables(forge, Collections.singletonList(forgeable));
+    }
+
     private static class SerdeAndForgeables {
         private final DataInputOutputSerdeForge forge;
         private final List<StmtClassForgeableFactory> additionalForgeables;
@@ -0,0 +1,129 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.serde.compiletime.eventtype;
+
+import com.espertech.esper.common.client.EventPropertyDescriptor;
+import com.espertech.esper.common.client.serde.DataInputOutputSerde;
+import com.espertech.esper.common.client.serde.EventBeanCollatedWriter;
+import com.espertech.esper.common.client.type.EPTypeClass;
+import com.espertech.esper.common.client.type.EPTypePremade;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenPackageScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenSymbolProviderEmpty;
+import com.espertech.esper.common.internal.bytecodemodel.core.*;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
+import com.espertech.esper.common.internal.bytecodemodel.util.CodegenStackGenerator;
+import com.espertech.esper.common.internal.compile.stage3.StmtClassForgeable;
+import com.espertech.esper.common.internal.compile.stage3.StmtClassForgeableType;
+import com.espertech.esper.common.internal.event.bean.core.BeanEventPropertyWriter;
+import com.espertech.esper.common.internal.event.bean.core.BeanEventType;
+import com.espertech.esper.common.internal.event.core.EventPropertyGetterSPI;
+import com.espertech.esper.common.internal.event.path.EventTypeResolver;
+import com.espertech.esper.common.internal.serde.compiletime.resolve.DataInputOutputSerdeForge;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.*;
+
+/**
+ * Serde for a bean event type that writes the writable properties of the bean one-by-one
+ * and that reads by instantiating the bean using the default constructor and invoking the setters.
+ */
+public class StmtClassForgeableBeanEventTypeSerde implements StmtClassForgeable {
+
+    private static final String OBJECT_NAME = "obj";
+    private static final String OUTPUT_NAME = "output";
+    private static final String INPUT_NAME = "input";
+    private static final String UNITKEY_NAME = "unitKey";
+    private static final String WRITER_NAME = "writer";
+
+    private final String className;
+    private final CodegenPackageScope packageScope;
+    private final BeanEventType eventType;
+    private final EventPropertyDescriptor[] properties;
+    private final DataInputOutputSerdeForge[] forges;
+
+    public StmtClassForgeableBeanEventTypeSerde(String className, CodegenPackageScope packageScope, BeanEventType eventType, EventPropertyDescriptor[] properties, DataInputOutputSerdeForge[] forges) {
+        this.className = className;
+        this.packageScope = packageScope;
+        this.eventType = eventType;
+        this.properties = properties;
+        this.forges = forges;
+    }
+
+    public CodegenClass forge(boolean includeDebugSymbols, boolean fireAndForget) {
+        CodegenClassMethods methods = new CodegenClassMethods();
+        CodegenClassScope classScope = new CodegenClassScope(includeDebugSymbols, packageScope, className);
+
+        CodegenMethod writeMethod = CodegenMethod.makeParentNode(EPTypePremade.VOID.getEPType(), StmtClassForgeableBeanEventTypeSerde.class, CodegenSymbolProviderEmpty.INSTANCE, classScope)
+                .addParam(EPTypePremade.OBJECT.getEPType(), OBJECT_NAME)
+                .addParam(EPTypePremade.DATAOUTPUT.getEPType(), OUTPUT_NAME)
+                .addParam(EPTypePremade.BYTEPRIMITIVEARRAY.getEPType(), UNITKEY_NAME)
+                .addParam(EventBeanCollatedWriter.EPTYPE, WRITER_NAME)
+                .addThrown(EPTypePremade.IOEXCEPTION.getEPType());
+        makeWriteMethod(writeMethod, classScope);
+        CodegenStackGenerator.recursiveBuildStack(writeMethod, "write", methods);
+
+        CodegenMethod readMethod = CodegenMethod.makeParentNode(EPTypePremade.OBJECT.getEPType(), StmtClassForgeableBeanEventTypeSerde.class, CodegenSymbolProviderEmpty.INSTANCE, classScope)
+                .addParam(EPTypePremade.DATAINPUT.getEPType(), INPUT_NAME)
+                .addParam(EPTypePremade.BYTEPRIMITIVEARRAY.getEPType(), UNITKEY_NAME)
+                .addThrown(EPTypePremade.IOEXCEPTION.getEPType());
+        makeReadMethod(readMethod, classScope);
+        CodegenStackGenerator.recursiveBuildStack(readMethod, "read", methods);
+
+        List<CodegenTypedParam> members = new ArrayList<>();
+        for (int i = 0; i < forges.length; i++) {
+            members.add(new CodegenTypedParam(forges[i].forgeClassName(), "s" + i));
+        }
+
+        List<CodegenTypedParam> ctorParams = Collections.singletonList(new CodegenTypedParam(EventTypeResolver.EPTYPE, "resolver", false));
+        CodegenCtor providerCtor = new CodegenCtor(this.getClass(), includeDebugSymbols, ctorParams);
+        for (int i = 0; i < forges.length; i++) {
+            providerCtor.getBlock().assignRef("s" + i, forges[i].codegen(providerCtor, classScope, ref("resolver")));
+        }
+
+        return new CodegenClass(CodegenClassType.EVENTSERDE, DataInputOutputSerde.EPTYPE, className, classScope, members, providerCtor, methods, Collections.emptyList());
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public StmtClassForgeableType getForgeableType() {
+        return StmtClassForgeableType.MULTIKEY;
+    }
+
+    private void makeWriteMethod(CodegenMethod writeMethod, CodegenClassScope classScope) {
+        EPTypeClass underlyingType = eventType.getUnderlyingEPType();
+        writeMethod.getBlock().declareVar(underlyingType, "bean", cast(underlyingType, ref(OBJECT_NAME)));
+        for (int i = 0; i < properties.length; i++) {
+            EventPropertyGetterSPI getter = eventType.getGetterSPI(properties[i].getPropertyName());
+            CodegenExpression get = getter.underlyingGetCodegen(ref("bean"), writeMethod, classScope);
+            writeMethod.getBlock().exprDotMethod(ref("s" + i), "write", get, ref(OUTPUT_NAME), ref(UNITKEY_NAME), ref(WRITER_NAME));
+        }
+    }
+
+    private void makeReadMethod(CodegenMethod readMethod, CodegenClassScope classScope) {
+        EPTypeClass underlyingType = eventType.getUnderlyingEPType();
+        readMethod.getBlock().declareVar(underlyingType, "bean", newInstance(underlyingType));
+        for (int i = 0; i < properties.length; i++) {
+            EPTypeClass propertyType = (EPTypeClass) properties[i].getPropertyEPType();
+            CodegenExpression read = cast(JavaClassHelper.getBoxedType(propertyType), exprDotMethod(ref("s" + i), "read", ref(INPUT_NAME), ref(UNITKEY_NAME)));
+            BeanEventPropertyWriter writer = eventType.getWriter(properties[i].getPropertyName());
+            readMethod.getBlock().expression(writer.writeCodegen(read, ref("bean"), null, readMethod, classScope));
+        }
+        readMethod.getBlock().methodReturn(ref("bean"));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.serde.runtime.event;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyDescriptor;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.serde.DataInputOutputSerde;
+import com.espertech.esper.common.client.serde.EventWireSerde;
+import com.espertech.esper.common.internal.serde.serdeset.builtin.FastByteArrayInputStream;
+import com.espertech.esper.common.internal.serde.serdeset.builtin.FastByteArrayOutputStream;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.zip.CRC32;
+
+/**
+ * Wire serde that writes a header consisting of the format version and schema fingerprint, followed by the event
+ * as written by the generated serde for the underlying event object.
+ */
+public class EventWireSerdeImpl implements EventWireSerde {
+    /**
+     * Version of the wire format.
+     */
+    public final static byte FORMAT_VERSION = 1;
+
+    private final EventType eventType;
+    private final DataInputOutputSerde underlyingSerde;
+    private final int schemaFingerprint;
+
+    /**
+     * Ctor.
+     *
+     * @param eventType       event type
+     * @param underlyingSerde serde for the underlying event object
+     */
+    public EventWireSerdeImpl(EventType eventType, DataInputOutputSerde underlyingSerde) {
+        this.eventType = eventType;
+        this.underlyingSerde = underlyingSerde;
+        this.schemaFingerprint = computeSchemaFingerprint(eventType);
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public int getSchemaFingerprint() {
+        return schemaFingerprint;
+    }
+
+    public void write(EventBean event, DataOutput output) throws IOException {
+        if (event.getEventType() != eventType) {
+            throw new EPException("Event of type '" + event.getEventType().getName() + "' cannot be written using the wire serde for event type '" + eventType.getName() + "'");
+        }
+        writeUnderlying(event.getUnderlying(), output);
+    }
+
+    public void writeUnderlying(Object underlying, DataOutput output) throws IOException {
+        output.writeByte(FORMAT_VERSION);
+        output.writeInt(schemaFingerprint);
+        underlyingSerde.write(underlying, output, null, null);
+    }
+
+    public Object read(DataInput input) throws IOException {
+        byte version = input.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unrecognized wire format version " + version + " for event type '" + eventType.getName() + "', expected version " + FORMAT_VERSION);
+        }
+        int fingerprint = input.readInt();
+        if (fingerprint != schemaFingerprint) {
+            throw new IOException("Schema fingerprint " + fingerprint + " does not match the schema fingerprint " + schemaFingerprint + " of event type '" + eventType.getName() + "'");
+        }
+        return underlyingSerde.read(input, null);
+    }
+
+    public byte[] toBytes(EventBean event) {
+        FastByteArrayOutputStream bytes = new FastByteArrayOutputStream();
+        try {
+            write(event, new DataOutputStream(bytes));
+        } catch (IOException ex) {
+            throw new EPException("Failed to write event of type '" + eventType.getName() + "': " + ex.getMessage(), ex);
+        }
+        return bytes.getByteArrayFast();
+    }
+
+    public Object fromBytes(byte[] bytes, int offset, int length) {
+        try {
+            return read(new DataInputStream(new FastByteArrayInputStream(bytes, offset, length)));
+        } catch (IOException ex) {
+            throw new EPException("Failed to read event of type '" + eventType.getName() + "': " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the event type name and the property names and types.
+     *
+     * @param eventType event type
+     * @return fingerprint
+     */
+    public static int computeSchemaFingerprint(EventType eventType) {
+        EventPropertyDescriptor[] descriptors = eventType.getPropertyDescriptors().clone();
+        Arrays.sort(descriptors, Comparator.comparing(EventPropertyDescriptor::getPropertyName));
+        StringBuilder schema = new StringBuilder();
+        schema.append(eventType.getName());
+        for (EventPropertyDescriptor descriptor : descriptors) {
+            schema.append(';').append(descriptor.getPropertyName()).append(':').append(descriptor.getPropertyEPType());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(schema.toString().getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+}
@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.serde.runtime.eventtype;
 
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.serde.DataInputOutputSerde;
 import com.espertech.esper.common.internal.event.bean.service.BeanEventTypeFactoryPrivate;
 import com.espertech.esper.common.internal.event.path.EventTypeCollectedSerde;
 
@@ -20,4 +21,5 @@ import java.util.Map;
 public interface EventTypeSerdeRepository {
     void addSerdes(String deploymentId, List<EventTypeCollectedSerde> serdes, Map<String, EventType> moduleEventTypes, BeanEventTypeFactoryPrivate beanEventTypeFactory);
     void removeSerdes(String deploymentId);
+    DataInputOutputSerde getUnderlyingSerde(EventType eventType);
 }
@@ -11,22 +11,48 @@
 package com.espertech.esper.common.internal.serde.runtime.eventtype;
 
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.serde.DataInputOutputSerde;
 import com.espertech.esper.common.internal.event.bean.service.BeanEventTypeFactoryPrivate;
 import com.espertech.esper.common.internal.event.path.EventTypeCollectedSerde;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Retains the serdes that modules provide for their event types, for use as wire serdes.
+ */
 public class EventTypeSerdeRepositoryDefault implements EventTypeSerdeRepository {
-
-    public final static EventTypeSerdeRepositoryDefault INSTANCE = new EventTypeSerdeRepositoryDefault();
-
-    private EventTypeSerdeRepositoryDefault() {
-    }
+    private final Map<EventType, DataInputOutputSerde> serdes = new ConcurrentHashMap<>();
+    private final Map<String, List<EventType>> deploymentTypes = new ConcurrentHashMap<>();
 
     public void addSerdes(String deploymentId, List<EventTypeCollectedSerde> serdes, Map<String, EventType> moduleEventTypes, BeanEventTypeFactoryPrivate beanEventTypeFactory) {
+        if (serdes.isEmpty()) {
+            return;
+        }
+        List<EventType> types = new ArrayList<>(serdes.size());
+        for (EventTypeCollectedSerde serde : serdes) {
+            EventType eventType = moduleEventTypes.get(serde.getMetadata().getName());
+            if (eventType == null) {
+                continue;
+            }
+            this.serdes.put(eventType, serde.getUnderlyingSerde());
+            types.add(eventType);
+        }
+        deploymentTypes.put(deploymentId, types);
     }
 
     public void removeSerdes(String deploymentId) {
+        List<EventType> types = deploymentTypes.remove(deploymentId);
+        if (types != null) {
+            for (EventType eventType : types) {
+                serdes.remove(eventType);
+            }
+        }
+    }
+
+    public DataInputOutputSerde getUnderlyingSerde(EventType eventType) {
+        return serdes.get(eventType);
     }
 }
@@ -25,6 +25,7 @@ import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
 import com.espertech.esper.common.internal.epl.expression.core.MinMaxTypeEnum;
 import com.espertech.esper.common.internal.epl.expression.funcs.ExprEventIdentityEqualsNode;
 import com.espertech.esper.common.internal.epl.expression.time.abacus.TimeAbacus;
+import com.espertech.esper.common.internal.epl.index.advanced.index.bitmap.AdvancedIndexFactoryProviderBitmap;
 import com.espertech.esper.common.internal.epl.index.advanced.index.quadtree.AdvancedIndexFactoryProviderMXCIFQuadTree;
 import com.espertech.esper.common.internal.epl.index.advanced.index.quadtree.AdvancedIndexFactoryProviderPointRegionQuadTree;
 import com.espertech.esper.common.internal.epl.index.advanced.index.service.AdvancedIndexFactoryProvider;
@@ -57,6 +58,7 @@ public class ClasspathImportServiceCompileTimeImpl extends ClasspathImportServic
         this.sortUsingCollator = sortUsingCollator;
         this.advancedIndexProviders.put("pointregionquadtree", new AdvancedIndexFactoryProviderPointRegionQuadTree());
         this.advancedIndexProviders.put("mxcifquadtree", new AdvancedIndexFactoryProviderMXCIFQuadTree());
+        this.advancedIndexProviders.put(AdvancedIndexFactoryProviderBitmap.INDEXTYPE_NAME, new AdvancedIndexFactoryProviderBitmap());
         this.dateTimeMethods = new HashMap<>();
         this.enumMethods = new HashMap<>();
     }
@@ -20,10 +20,12 @@ public class AnnotationJsonSchema implements JsonSchema {
 
     private final boolean dynamic;
     private final String className;
+    private final boolean lazy;
 
-    public AnnotationJsonSchema(boolean dynamic, String className) {
+    public AnnotationJsonSchema(boolean dynamic, String className, boolean lazy) {
         this.dynamic = dynamic;
         this.className = className;
+        this.lazy = lazy;
     }
 
     public boolean dynamic() {
@@ -34,6 +36,10 @@ public class AnnotationJsonSchema implements JsonSchema {
         return className;
     }
 
+    public boolean lazy() {
+        return lazy;
+    }
+
     public Class<? extends Annotation> annotationType() {
         return JsonSchema.class;
     }
@@ -24,6 +24,7 @@ public class LengthWindowViewFactory implements ViewFactory, DataWindowViewWithP
 
     protected ExprEvaluator size;
     protected EventType eventType;
+    protected boolean compact;
 
     public void setSize(ExprEvaluator size) {
         this.size = size;
@@ -33,6 +34,10 @@ public class LengthWindowViewFactory implements ViewFactory, DataWindowViewWithP
         this.eventType = eventType;
     }
 
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
     public void init(ViewFactoryContext viewFactoryContext, EPStatementInitServices services) {
     }
 
@@ -50,6 +55,10 @@ public class LengthWindowViewFactory implements ViewFactory, DataWindowViewWithP
         return new RandomAccessByIndexGetter();
     }
 
+    public boolean isCompact() {
+        return compact;
+    }
+
     public EventType getEventType() {
         return eventType;
     }
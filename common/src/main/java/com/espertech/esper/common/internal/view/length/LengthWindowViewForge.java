@@ -12,6 +12,7 @@ package com.espertech.esper.common.internal.view.length;
 
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.annotation.AppliesTo;
+import com.espertech.esper.common.client.annotation.HintEnum;
 import com.espertech.esper.common.client.type.EPTypeClass;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
@@ -25,14 +26,17 @@ import com.espertech.esper.common.internal.view.util.ViewForgeSupport;
 
 import java.util.List;
 
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.constant;
 import static com.espertech.esper.common.internal.epl.expression.core.ExprNodeUtilityCodegen.codegenEvaluator;
 
 public class LengthWindowViewForge extends ViewFactoryForgeBase implements DataWindowViewForge, DataWindowViewForgeWithPrevious {
 
     private ExprForge sizeForge;
+    private boolean compact;
 
     public void setViewParameters(List<ExprNode> parameters, ViewForgeEnv viewForgeEnv, int streamNumber) throws ViewParameterException {
         sizeForge = ViewForgeSupport.validateSizeSingleParam(getViewName(), parameters, viewForgeEnv, streamNumber);
+        compact = HintEnum.COMPACT_WINDOW.getHint(viewForgeEnv.getAnnotations()) != null;
     }
 
     public void attachValidate(EventType parentEventType, ViewForgeEnv viewForgeEnv) throws ViewParameterException {
@@ -54,6 +58,9 @@ public class LengthWindowViewForge extends ViewFactoryForgeBase implements DataW
     public void assign(CodegenMethod method, CodegenExpressionRef factory, SAIFFInitializeSymbol symbols, CodegenClassScope classScope) {
         CodegenExpressionNewAnonymousClass sizeEval = codegenEvaluator(sizeForge, method, this.getClass(), classScope);
         method.getBlock().exprDotMethod(factory, "setSize", sizeEval);
+        if (compact) {
+            method.getBlock().exprDotMethod(factory, "setCompact", constant(true));
+        }
     }
 
     public AppliesTo appliesTo() {
@@ -12,21 +12,26 @@ package com.espertech.esper.common.internal.view.length;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.collection.CompactEventWindow;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
 import com.espertech.esper.common.internal.view.core.*;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 
 /**
  * This view is a moving window extending the specified number of elements into the past,
  * allowing in addition to remove events efficiently for remove-stream events received by the view.
+ * <p>
+ * When compact, the window keeps events in a {@link CompactEventWindow} rather than a linked hash set,
+ * and removing events for remove-stream events received by the view takes a scan of the window.
  */
 public class LengthWindowViewRStream extends ViewSupport implements DataWindowView {
     private final AgentInstanceContext agentInstanceContext;
     private final LengthWindowViewFactory lengthWindowViewFactory;
     private final int size;
-    private LinkedHashSet<EventBean> indexedEvents;
+    private final Collection<EventBean> indexedEvents;
 
     /**
      * Constructor creates a moving window extending the specified number of elements into the past.
@@ -43,7 +48,7 @@ public class LengthWindowViewRStream extends ViewSupport implements DataWindowVi
         this.agentInstanceContext = agentInstanceContext.getAgentInstanceContext();
         this.lengthWindowViewFactory = lengthWindowViewFactory;
         this.size = size;
-        indexedEvents = new LinkedHashSet<EventBean>();
+        indexedEvents = lengthWindowViewFactory.isCompact() ? new CompactEventWindow(false) : new LinkedHashSet<EventBean>();
     }
 
     /**
@@ -95,12 +100,22 @@ public class LengthWindowViewRStream extends ViewSupport implements DataWindowVi
         int expiredCount = indexedEvents.size() - size;
         if (expiredCount > 0) {
             expiredArr = new EventBean[expiredCount];
-            Iterator<EventBean> it = indexedEvents.iterator();
-            for (int i = 0; i < expiredCount; i++) {
-                expiredArr[i] = it.next();
+            if (indexedEvents instanceof CompactEventWindow) {
+                // polling removes the oldest events and reclaims the slots of events removed before
+                CompactEventWindow compactEvents = (CompactEventWindow) indexedEvents;
+                for (int i = 0; i < expiredCount; i++) {
+                    expiredArr[i] = compactEvents.poll();
+                }
+            } else {
+                Iterator<EventBean> it = indexedEvents.iterator();
+                for (int i = 0; i < expiredCount; i++) {
+                    expiredArr[i] = it.next();
+                }
+                for (EventBean anExpired : expiredArr) {
+                    indexedEvents.remove(anExpired);
+                }
             }
             for (EventBean anExpired : expiredArr) {
-                indexedEvents.remove(anExpired);
                 internalHandleExpired(anExpired);
             }
         }
@@ -13,6 +13,8 @@ package com.espertech.esper.common.internal.view.timewin;
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.internal.collection.TimeWindow;
+import com.espertech.esper.common.internal.collection.TimeWindowCompact;
+import com.espertech.esper.common.internal.collection.TimeWindowStore;
 import com.espertech.esper.common.internal.collection.ViewUpdatedCollection;
 import com.espertech.esper.common.internal.context.util.*;
 import com.espertech.esper.common.internal.epl.expression.time.eval.TimePeriodProvide;
@@ -36,7 +38,7 @@ import java.util.Iterator;
  */
 public class TimeWindowView extends ViewSupport implements DataWindowView, AgentInstanceMgmtCallback {
     private final TimeWindowViewFactory timeWindowViewFactory;
-    private final TimeWindow timeWindow;
+    private final TimeWindowStore timeWindow;
     private final ViewUpdatedCollection viewUpdatedCollection;
     private final AgentInstanceContext agentInstanceContext;
     private final EPStatementHandleCallbackSchedule handle;
@@ -47,7 +49,11 @@ public class TimeWindowView extends ViewSupport implements DataWindowView, Agent
         this.agentInstanceContext = agentInstanceContext.getAgentInstanceContext();
         this.timeWindowViewFactory = timeWindowViewFactory;
         this.viewUpdatedCollection = viewUpdatedCollection;
-        this.timeWindow = new TimeWindow(agentInstanceContext.isRemoveStream());
+        if (timeWindowViewFactory.isCompact()) {
+            this.timeWindow = new TimeWindowCompact(agentInstanceContext.isRemoveStream());
+        } else {
+            this.timeWindow = new TimeWindow(agentInstanceContext.isRemoveStream());
+        }
         this.scheduleSlot = agentInstanceContext.getStatementContext().getScheduleBucket().allocateSlot();
         this.timePeriodProvide = timePeriodProvide;
 
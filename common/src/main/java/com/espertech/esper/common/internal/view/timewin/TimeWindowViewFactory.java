@@ -29,6 +29,7 @@ public class TimeWindowViewFactory implements DataWindowViewFactory, DataWindowV
     protected TimePeriodCompute timePeriodCompute;
     protected int scheduleCallbackId;
     protected EventType eventType;
+    protected boolean compact;
 
     public void setTimePeriodCompute(TimePeriodCompute timePeriodCompute) {
         this.timePeriodCompute = timePeriodCompute;
@@ -42,6 +43,10 @@ public class TimeWindowViewFactory implements DataWindowViewFactory, DataWindowV
         this.eventType = eventType;
     }
 
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
     public void init(ViewFactoryContext viewFactoryContext, EPStatementInitServices services) {
     }
 
@@ -59,6 +64,10 @@ public class TimeWindowViewFactory implements DataWindowViewFactory, DataWindowV
         return scheduleCallbackId;
     }
 
+    public boolean isCompact() {
+        return compact;
+    }
+
     public EventType getEventType() {
         return eventType;
     }
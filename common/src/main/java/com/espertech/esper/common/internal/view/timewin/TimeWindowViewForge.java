@@ -12,6 +12,7 @@ package com.espertech.esper.common.internal.view.timewin;
 
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.annotation.AppliesTo;
+import com.espertech.esper.common.client.annotation.HintEnum;
 import com.espertech.esper.common.client.type.EPTypeClass;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
@@ -32,12 +33,14 @@ import static com.espertech.esper.common.internal.bytecodemodel.model.expression
 public class TimeWindowViewForge extends ViewFactoryForgeBase implements DataWindowViewForge, DataWindowViewForgeWithPrevious, ScheduleHandleCallbackProvider {
     protected TimePeriodComputeForge timePeriodComputeForge;
     private int scheduleCallbackId = -1;
+    private boolean compact;
 
     public void setViewParameters(List<ExprNode> parameters, ViewForgeEnv viewForgeEnv, int streamNumber) throws ViewParameterException {
         if (parameters.size() != 1) {
             throw new ViewParameterException(getViewParamMessage());
         }
         timePeriodComputeForge = ViewFactoryTimePeriodHelper.validateAndEvaluateTimeDeltaFactory(getViewName(), parameters.get(0), getViewParamMessage(), 0, viewForgeEnv);
+        compact = HintEnum.COMPACT_WINDOW.getHint(viewForgeEnv.getAnnotations()) != null;
     }
 
     protected void attachValidate(EventType parentEventType, ViewForgeEnv viewForgeEnv) throws ViewParameterException {
@@ -60,6 +63,9 @@ public class TimeWindowViewForge extends ViewFactoryForgeBase implements DataWin
                 .declareVar(TimePeriodCompute.EPTYPE, "eval", timePeriodComputeForge.makeEvaluator(method, classScope))
                 .exprDotMethod(factory, "setTimePeriodCompute", ref("eval"))
                 .exprDotMethod(factory, "setScheduleCallbackId", constant(scheduleCallbackId));
+        if (compact) {
+            method.getBlock().exprDotMethod(factory, "setCompact", constant(true));
+        }
     }
 
     public String getViewName() {
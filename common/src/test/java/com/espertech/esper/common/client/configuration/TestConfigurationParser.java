@@ -101,6 +101,7 @@ public class TestConfigurationParser extends TestCase {
         assertFalse(compiler.getSerde().isEnableExternalizable());
         assertFalse(compiler.getSerde().isEnableSerializable());
         assertFalse(compiler.getSerde().isEnableSerializationFallback());
+        assertFalse(compiler.getSerde().isEnableEventWireSerde());
         assertTrue(compiler.getSerde().getSerdeProviderFactories().isEmpty());
 
         ConfigurationRuntime runtime = config.getRuntime();
@@ -121,6 +122,10 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(2, runtime.getThreading().getThreadPoolRouteExecNumThreads());
         assertEquals(2, runtime.getThreading().getThreadPoolTimerExecNumThreads());
         assertNull(runtime.getThreading().getThreadPoolInboundCapacity());
+        assertNull(runtime.getThreading().getThreadPoolInboundPartitionProperty());
+        assertNull(runtime.getThreading().getThreadPoolInboundPartitionContext());
+        assertFalse(runtime.getThreading().isThreadPoolInboundVirtualThreads());
+        assertFalse(runtime.getThreading().isThreadPoolOutboundVirtualThreads());
         assertNull(runtime.getThreading().getThreadPoolOutboundCapacity());
         assertNull(runtime.getThreading().getThreadPoolRouteExecCapacity());
         assertNull(runtime.getThreading().getThreadPoolTimerExecCapacity());
@@ -129,6 +134,12 @@ public class TestConfigurationParser extends TestCase {
         assertTrue(runtime.getThreading().isNamedWindowConsumerDispatchPreserveOrder());
         assertEquals(Long.MAX_VALUE, runtime.getThreading().getNamedWindowConsumerDispatchTimeout());
         assertEquals(Locking.SPIN, runtime.getThreading().getNamedWindowConsumerDispatchLocking());
+        assertEquals(0, runtime.getThreading().getNamedWindowConsumerDispatchParallelism());
+        assertFalse(runtime.getThreading().isThreadPoolHistorical());
+        assertEquals(2, runtime.getThreading().getThreadPoolHistoricalNumThreads());
+        assertEquals(1000, runtime.getThreading().getThreadPoolHistoricalMaxInFlight());
+        assertEquals(10000, runtime.getThreading().getThreadPoolHistoricalTimeout());
+        assertEquals(1000, (int) runtime.getThreading().getThreadPoolHistoricalCapacity());
         assertFalse(runtime.getLogging().isEnableExecutionDebug());
         assertTrue(runtime.getLogging().isEnableTimerDebug());
         assertNull(runtime.getLogging().getAuditPattern());
@@ -143,7 +154,11 @@ public class TestConfigurationParser extends TestCase {
         assertFalse(runtime.getExecution().isPrecedenceEnabled());
         assertFalse(runtime.getExecution().isDisableLocking());
         assertEquals(FilterServiceProfile.READMOSTLY, runtime.getExecution().getFilterServiceProfile());
+        assertEquals(SchedulingServiceProfile.SORTEDMAP, runtime.getExecution().getSchedulingServiceProfile());
         assertEquals(1, runtime.getExecution().getDeclaredExprValueCacheSize());
+        assertEquals(0, runtime.getExecution().getTableLockStripes());
+        assertFalse(runtime.getExecution().isConcurrentIndexes());
+        assertFalse(runtime.getExecution().isCompactIndexes());
         assertTrue(runtime.getExpression().isSelfSubselectPreeval());
         assertEquals(TimeZone.getDefault(), runtime.getExpression().getTimeZone());
         assertNull(runtime.getExceptionHandling().getHandlerFactories());
@@ -327,6 +342,10 @@ public class TestConfigurationParser extends TestCase {
         assertEquals("mypassword", dsFactory.getProperties().getProperty("password"));
         assertEquals("com.mysql.jdbc.Driver", dsFactory.getProperties().getProperty("driverClassName"));
         assertEquals("2", dsFactory.getProperties().getProperty("initialSize"));
+        ConfigurationCommonCacheRefreshAhead refreshCache = (ConfigurationCommonCacheRefreshAhead) configDBRef.getDataCacheDesc();
+        assertEquals(10.0, refreshCache.getMaxAgeSeconds());
+        assertEquals(5.0, refreshCache.getRefreshAfterSeconds());
+        assertEquals(0, refreshCache.getMaxWeight());
 
         assertEquals(PropertyResolutionStyle.DISTINCT_CASE_INSENSITIVE, common.getEventMeta().getClassPropertyResolutionStyle());
         assertEquals(AccessorStyle.PUBLIC, common.getEventMeta().getDefaultAccessorStyle());
@@ -357,7 +376,7 @@ public class TestConfigurationParser extends TestCase {
         assertTrue(variable.isConstant());
 
         // method references
-        assertEquals(2, common.getMethodInvocationReferences().size());
+        assertEquals(3, common.getMethodInvocationReferences().size());
         ConfigurationCommonMethodRef methodRef = common.getMethodInvocationReferences().get("abc");
         expCache = (ConfigurationCommonCacheExpiryTime) methodRef.getDataCacheDesc();
         assertEquals(91.0, expCache.getMaxAgeSeconds());
@@ -368,6 +387,12 @@ public class TestConfigurationParser extends TestCase {
         lruCache = (ConfigurationCommonCacheLRU) methodRef.getDataCacheDesc();
         assertEquals(20, lruCache.getSize());
 
+        methodRef = common.getMethodInvocationReferences().get("ghi");
+        refreshCache = (ConfigurationCommonCacheRefreshAhead) methodRef.getDataCacheDesc();
+        assertEquals(30.0, refreshCache.getMaxAgeSeconds());
+        assertEquals(20.5, refreshCache.getRefreshAfterSeconds());
+        assertEquals(1000, refreshCache.getMaxWeight());
+
         // variance types
         assertEquals(1, common.getVariantStreams().size());
         ConfigurationCommonVariantStream configVStream = common.getVariantStreams().get("MyVariantStream");
@@ -532,6 +557,7 @@ public class TestConfigurationParser extends TestCase {
         assertTrue(compiler.getSerde().isEnableExternalizable());
         assertTrue(compiler.getSerde().isEnableSerializable());
         assertTrue(compiler.getSerde().isEnableSerializationFallback());
+        assertTrue(compiler.getSerde().isEnableEventWireSerde());
         List<String> serdeProviderFactories = compiler.getSerde().getSerdeProviderFactories();
         assertEquals(2, serdeProviderFactories.size());
         assertEquals("a.b.c.MySerdeProviderFactoryOne", serdeProviderFactories.get(0));
@@ -549,6 +575,7 @@ public class TestConfigurationParser extends TestCase {
         assertFalse(runtime.getThreading().isNamedWindowConsumerDispatchPreserveOrder());
         assertEquals(4000, runtime.getThreading().getNamedWindowConsumerDispatchTimeout());
         assertEquals(Locking.SUSPEND, runtime.getThreading().getNamedWindowConsumerDispatchLocking());
+        assertEquals(6, runtime.getThreading().getNamedWindowConsumerDispatchParallelism());
 
         assertFalse(runtime.getThreading().isListenerDispatchPreserveOrder());
         assertEquals(2000, runtime.getThreading().getListenerDispatchTimeout());
@@ -562,9 +589,18 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(3, runtime.getThreading().getThreadPoolTimerExecNumThreads());
         assertEquals(4, runtime.getThreading().getThreadPoolRouteExecNumThreads());
         assertEquals(1000, (int) runtime.getThreading().getThreadPoolInboundCapacity());
+        assertEquals("symbol", runtime.getThreading().getThreadPoolInboundPartitionProperty());
+        assertEquals("SegmentedBySymbol", runtime.getThreading().getThreadPoolInboundPartitionContext());
+        assertFalse(runtime.getThreading().isThreadPoolInboundVirtualThreads());
+        assertTrue(runtime.getThreading().isThreadPoolOutboundVirtualThreads());
         assertEquals(1500, (int) runtime.getThreading().getThreadPoolOutboundCapacity());
         assertNull(runtime.getThreading().getThreadPoolTimerExecCapacity());
         assertEquals(2000, (int) runtime.getThreading().getThreadPoolRouteExecCapacity());
+        assertTrue(runtime.getThreading().isThreadPoolHistorical());
+        assertEquals(5, runtime.getThreading().getThreadPoolHistoricalNumThreads());
+        assertEquals(50, runtime.getThreading().getThreadPoolHistoricalMaxInFlight());
+        assertEquals(6000, runtime.getThreading().getThreadPoolHistoricalTimeout());
+        assertEquals(200, (int) runtime.getThreading().getThreadPoolHistoricalCapacity());
         assertTrue(runtime.getThreading().isRuntimeFairlock());
 
         assertFalse(runtime.getThreading().isInternalTimerEnabled());
@@ -601,7 +637,11 @@ public class TestConfigurationParser extends TestCase {
         assertTrue(runtime.getExecution().isFairlock());
         assertTrue(runtime.getExecution().isDisableLocking());
         assertEquals(FilterServiceProfile.READWRITE, runtime.getExecution().getFilterServiceProfile());
+        assertEquals(SchedulingServiceProfile.TIMINGWHEEL, runtime.getExecution().getSchedulingServiceProfile());
         assertEquals(101, runtime.getExecution().getDeclaredExprValueCacheSize());
+        assertEquals(32, runtime.getExecution().getTableLockStripes());
+        assertTrue(runtime.getExecution().isConcurrentIndexes());
+        assertTrue(runtime.getExecution().isCompactIndexes());
 
         ConfigurationRuntimeMetricsReporting metrics = runtime.getMetricsReporting();
         assertTrue(metrics.isEnableMetricsReporting());
@@ -0,0 +1,196 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+public class TestCompactEventWindow extends TestCase {
+    private final EventBean[] beans = new EventBean[6];
+
+    public void setUp() {
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = createBean();
+        }
+    }
+
+    public void testTimedAddRemoveExpire() {
+        CompactEventWindow window = new CompactEventWindow(true, 2);
+        assertNull(window.getOldestTimestamp());
+        assertTrue(window.isEmpty());
+
+        window.add(19, beans[0]);
+        window.add(19, beans[1]);
+        window.add(20, beans[2]);
+        window.add(20, beans[3]);
+        window.add(21, beans[4]);
+        window.add(22, beans[5]);
+        assertEquals(3, window.getChunkCount());
+        assertEquals(6, window.size());
+        assertEquals(19L, (long) window.getOldestTimestamp());
+
+        assertTrue(window.remove(beans[4]));
+        assertTrue(window.remove(beans[0]));
+        assertFalse(window.remove(beans[0]));
+        assertEquals(2, window.getTombstoneCount());
+        assertEquals(4, window.size());
+        assertEquals(19L, (long) window.getOldestTimestamp());
+        assertIterator(window, beans[1], beans[2], beans[3], beans[5]);
+
+        assertNull(window.expireEvents(19));
+
+        ArrayDeque<EventBean> expired = window.expireEvents(20);
+        assertEquals(1, expired.size());
+        assertSame(beans[1], expired.getFirst());
+        assertEquals(2, window.getChunkCount());
+        assertEquals(1, window.getTombstoneCount());
+        assertEquals(20L, (long) window.getOldestTimestamp());
+
+        expired = window.expireEvents(22);
+        assertEquals(2, expired.size());
+        assertSame(beans[2], expired.poll());
+        assertSame(beans[3], expired.poll());
+        assertEquals(0, window.getTombstoneCount());
+        assertEquals(22L, (long) window.getOldestTimestamp());
+
+        window.adjust(10);
+        assertEquals(32L, (long) window.getOldestTimestamp());
+        assertNull(window.expireEvents(32));
+        expired = window.expireEvents(33);
+        assertSame(beans[5], expired.poll());
+        assertTrue(window.isEmpty());
+        assertEquals(0, window.getChunkCount());
+        assertNull(window.getOldestTimestamp());
+        assertNull(window.expireEvents(100));
+    }
+
+    public void testUntimedQueue() {
+        CompactEventWindow window = new CompactEventWindow(false, 2);
+        assertNull(window.poll());
+        assertNull(window.peek());
+
+        for (EventBean bean : beans) {
+            window.add(bean);
+        }
+        assertEquals(6, window.size());
+        assertSame(beans[0], window.peek());
+
+        // remove via iterator leaves tombstones that poll skips
+        Iterator<EventBean> it = window.iterator();
+        assertSame(beans[0], it.next());
+        it.remove();
+        assertSame(beans[1], it.next());
+        assertSame(beans[2], it.next());
+        it.remove();
+        try {
+            it.remove();
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        assertEquals(4, window.size());
+        assertSame(beans[1], window.peek());
+        assertIterator(window, beans[1], beans[3], beans[4], beans[5]);
+
+        assertSame(beans[1], window.poll());
+        assertSame(beans[3], window.poll());
+        assertEquals(0, window.getTombstoneCount());
+        assertEquals(2, window.size());
+
+        window.add(beans[0]);
+        assertIterator(window, beans[4], beans[5], beans[0]);
+        assertSame(beans[4], window.poll());
+        assertSame(beans[5], window.poll());
+        assertSame(beans[0], window.poll());
+        assertNull(window.poll());
+        assertTrue(window.isEmpty());
+
+        try {
+            window.add(1, beans[0]);
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            // expected
+        }
+    }
+
+    public void testTimeWindowCompact() {
+        TimeWindowCompact window = new TimeWindowCompact(false);
+        window.add(1, beans[0]);
+        window.add(2, beans[1]);
+        assertEquals(1L, (long) window.getOldestTimestamp());
+        try {
+            window.remove(beans[0]);
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            // expected
+        }
+        assertSame(beans[0], window.expireEvents(2).poll());
+        assertFalse(window.isEmpty());
+        assertSame(beans[1], window.iterator().next());
+    }
+
+    public void testExpiryPerformance() {
+        int windowSize = 100000;
+        int numEvents = 1000000;
+        EventBean[] events = new EventBean[windowSize];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = SupportEventBeanFactory.createObject(new SupportBean("a" + i, i));
+        }
+
+        TimeWindow window = new TimeWindow(true);
+        long start = System.nanoTime();
+        for (int i = 0; i < numEvents; i++) {
+            window.add(i, events[i % windowSize]);
+            window.expireEvents(i - windowSize + 1);
+        }
+        long deltaDefault = (System.nanoTime() - start) / 1000000;
+        assertEquals(windowSize, count(window));
+
+        TimeWindowCompact compact = new TimeWindowCompact(true);
+        start = System.nanoTime();
+        for (int i = 0; i < numEvents; i++) {
+            compact.add(i, events[i % windowSize]);
+            compact.expireEvents(i - windowSize + 1);
+        }
+        long deltaCompact = (System.nanoTime() - start) / 1000000;
+        assertEquals(windowSize, compact.getWindow().size());
+
+        log.info(".testExpiryPerformance window of " + windowSize + " events, " + numEvents + " events added and expired: " +
+            "default took " + deltaDefault + " msec, compact took " + deltaCompact + " msec");
+        assertTrue("Delta is " + deltaCompact, deltaCompact < 5000);
+    }
+
+    private static void assertIterator(CompactEventWindow window, EventBean... expected) {
+        EPAssertionUtil.assertEqualsExactOrder(expected, window.iterator());
+    }
+
+    private static int count(Iterable<EventBean> iterable) {
+        int count = 0;
+        for (EventBean ignored : iterable) {
+            count++;
+        }
+        return count;
+    }
+
+    private EventBean createBean() {
+        return SupportEventBeanFactory.createObject(new SupportBean());
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(TestCompactEventWindow.class);
+}
@@ -0,0 +1,122 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestCompressedBitmap extends TestCase {
+
+    public void testAddRemoveContains() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        assertTrue(bitmap.isEmpty());
+        assertEquals(0, bitmap.getCardinality());
+
+        bitmap.add(5);
+        bitmap.add(5);
+        bitmap.add(70000);
+        bitmap.add(1);
+        assertEquals(3, bitmap.getCardinality());
+        assertTrue(bitmap.contains(5));
+        assertTrue(bitmap.contains(70000));
+        assertFalse(bitmap.contains(6));
+        assertFalse(bitmap.contains(65541));
+        assertTrue(Arrays.equals(new int[]{1, 5, 70000}, bitmap.toArray()));
+
+        bitmap.remove(5);
+        bitmap.remove(99);
+        bitmap.remove(200000);
+        assertTrue(Arrays.equals(new int[]{1, 70000}, bitmap.toArray()));
+
+        bitmap.remove(70000);
+        bitmap.remove(1);
+        assertTrue(bitmap.isEmpty());
+
+        bitmap.add(3);
+        bitmap.clear();
+        assertTrue(bitmap.isEmpty());
+        assertEquals(0, bitmap.toArray().length);
+    }
+
+    public void testDenseChunk() {
+        // more than 4096 values in a chunk switches to a bitmap, and back to a sorted array when values are removed
+        CompressedBitmap bitmap = new CompressedBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 30000; i += 3) {
+            bitmap.add(i);
+            expected.add(i);
+        }
+        assertEquals(expected, toSet(bitmap));
+        for (int i = 0; i < 30000; i += 2) {
+            bitmap.remove(i);
+            expected.remove(i);
+        }
+        assertEquals(expected.size(), bitmap.getCardinality());
+        assertEquals(expected, toSet(bitmap));
+        for (Integer value : new ArrayList<>(expected)) {
+            bitmap.remove(value);
+        }
+        assertTrue(bitmap.isEmpty());
+    }
+
+    public void testAndOrCompareSets() {
+        Random random = new Random(1);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Integer> one = new TreeSet<>();
+            TreeSet<Integer> two = new TreeSet<>();
+            CompressedBitmap bitmapOne = makeRandom(random, one);
+            CompressedBitmap bitmapTwo = makeRandom(random, two);
+            assertEquals(one, toSet(bitmapOne));
+            assertEquals(two, toSet(bitmapTwo));
+
+            TreeSet<Integer> intersection = new TreeSet<>(one);
+            intersection.retainAll(two);
+            CompressedBitmap and = CompressedBitmap.and(bitmapOne, bitmapTwo);
+            assertEquals(intersection, toSet(and));
+            assertEquals(intersection.size(), and.getCardinality());
+
+            TreeSet<Integer> union = new TreeSet<>(one);
+            union.addAll(two);
+            CompressedBitmap or = CompressedBitmap.or(bitmapOne, bitmapTwo);
+            assertEquals(union, toSet(or));
+            assertEquals(union.size(), or.getCardinality());
+
+            // results are copies
+            or.add(Integer.MAX_VALUE);
+            and.clear();
+            assertEquals(one, toSet(bitmapOne));
+            assertEquals(two, toSet(bitmapTwo));
+        }
+    }
+
+    private static CompressedBitmap makeRandom(Random random, Set<Integer> values) {
+        // mix of sparse and dense chunks
+        CompressedBitmap bitmap = new CompressedBitmap();
+        int numChunks = 1 + random.nextInt(4);
+        for (int chunk = 0; chunk < numChunks; chunk++) {
+            int base = random.nextInt(8) << 16;
+            int numValues = random.nextBoolean() ? random.nextInt(100) : 4000 + random.nextInt(20000);
+            for (int i = 0; i < numValues; i++) {
+                int value = base | random.nextInt(65536);
+                bitmap.add(value);
+                values.add(value);
+            }
+        }
+        return bitmap;
+    }
+
+    private static TreeSet<Integer> toSet(CompressedBitmap bitmap) {
+        TreeSet<Integer> values = new TreeSet<>();
+        bitmap.forEach(values::add);
+        return values;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestLongHashMap extends TestCase {
+    private LongHashMap<String> map;
+
+    public void setUp() {
+        map = new LongHashMap<>();
+    }
+
+    public void testPutGetRemove() {
+        assertTrue(map.isEmpty());
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(-1, "minus one"));
+        assertNull(map.put(Long.MAX_VALUE, "max"));
+        assertEquals("zero", map.put(0, "ZERO"));
+        assertEquals(3, map.size());
+
+        assertEquals("ZERO", map.get(0));
+        assertEquals("minus one", map.get(-1));
+        assertEquals("max", map.get(Long.MAX_VALUE));
+        assertNull(map.get(1));
+        assertTrue(map.containsKey(-1));
+        assertFalse(map.containsKey(Long.MIN_VALUE));
+
+        assertEquals("minus one", map.remove(-1));
+        assertNull(map.remove(-1));
+        assertNull(map.get(-1));
+        assertEquals(2, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0));
+
+        try {
+            map.put(1, null);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    public void testVisit() {
+        for (long i = 0; i < 100; i++) {
+            map.put(i * 1000, Long.toString(i));
+        }
+        final Map<Long, String> visited = new HashMap<>();
+        map.visit((key, value) -> visited.put(key, value));
+        assertEquals(100, visited.size());
+        assertEquals("42", visited.get(42000L));
+    }
+
+    public void testValueIterator() {
+        assertFalse(map.valueIterator().hasNext());
+        for (long i = 0; i < 100; i++) {
+            map.put(i * 1000, Long.toString(i));
+        }
+        Set<String> values = new HashSet<>();
+        for (Iterator<String> it = map.valueIterator(); it.hasNext(); ) {
+            assertTrue(values.add(it.next()));
+        }
+        assertEquals(100, values.size());
+        assertTrue(values.contains("42"));
+
+        Iterator<String> it = new LongHashMap<String>().valueIterator();
+        try {
+            it.next();
+            fail();
+        } catch (NoSuchElementException ex) {
+            // expected
+        }
+    }
+
+    public void testCompareHashMap() {
+        Random random = new Random(1);
+        Map<Long, String> expected = new HashMap<>();
+        LongHashMap<String> actual = new LongHashMap<>(4);
+        for (int i = 0; i < 100000; i++) {
+            // narrow key range so that removal frequently hits probe chains
+            long key = random.nextInt(2000) - 1000;
+            int op = random.nextInt(3);
+            if (op == 0) {
+                assertEquals(expected.remove(key), actual.remove(key));
+            } else {
+                String value = Integer.toString(i);
+                assertEquals(expected.put(key, value), actual.put(key, value));
+            }
+            assertEquals(expected.size(), actual.size());
+            long probe = random.nextInt(2000) - 1000;
+            assertEquals(expected.get(probe), actual.get(probe));
+        }
+        for (Map.Entry<Long, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+    }
+}
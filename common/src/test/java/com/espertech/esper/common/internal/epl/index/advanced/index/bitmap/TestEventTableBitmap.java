@@ -0,0 +1,138 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.advanced.index.bitmap;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.type.EPTypeClass;
+import com.espertech.esper.common.client.type.EPTypePremade;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.common.internal.epl.index.base.EventTableOrganization;
+import com.espertech.esper.common.internal.epl.index.base.EventTableOrganizationType;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestEventTableBitmap extends TestCase {
+    private final static ExprEvaluator EVAL_STRING = (eventsPerStream, isNewData, context) -> ((SupportBean) eventsPerStream[0].getUnderlying()).getTheString();
+    private final static ExprEvaluator EVAL_INT = (eventsPerStream, isNewData, context) -> ((SupportBean) eventsPerStream[0].getUnderlying()).getIntPrimitive();
+    private final static ExprEvaluator EVAL_LONG = (eventsPerStream, isNewData, context) -> ((SupportBean) eventsPerStream[0].getUnderlying()).getLongBoxed();
+
+    private EventTableBitmap index;
+
+    public void setUp() {
+        AdvancedIndexConfigStatementBitmap config = new AdvancedIndexConfigStatementBitmap();
+        config.setColumnEvals(new ExprEvaluator[]{EVAL_STRING, EVAL_INT, EVAL_LONG});
+        config.setColumnTypes(new EPTypeClass[]{EPTypePremade.STRING.getEPType(), EPTypePremade.INTEGERBOXED.getEPType(), EPTypePremade.LONGBOXED.getEPType()});
+        EventTableOrganization organization = new EventTableOrganization("MyIndex", false, false, 0, new String[]{"theString", "intPrimitive", "longBoxed"}, EventTableOrganizationType.APPLICATION);
+        index = new EventTableBitmap(organization, config);
+    }
+
+    public void testAddRemoveLookup() {
+        assertEquals(EventTableOrganizationType.BITMAP, index.getOrganization().getType());
+        assertTrue(index.isEmpty());
+
+        EventBean e1 = makeEvent("A", 1, 10L);
+        EventBean e2 = makeEvent("A", 2, 10L);
+        EventBean e3 = makeEvent("B", 1, 20L);
+        EventBean e4 = makeEvent("B", 2, null);
+        index.add(new EventBean[]{e1, e2, e3, e4}, null);
+        index.add(e1, null);
+        assertEquals(4, (int) index.getNumberOfEvents());
+
+        assertLookup(new Object[][]{{"A"}, null, null}, e1, e2);
+        assertLookup(new Object[][]{{"A"}, {1}, null}, e1);
+        assertLookup(new Object[][]{{"A", "B"}, {2}, null}, e2, e4);
+        assertLookup(new Object[][]{null, {1, 2}, {10L, 20L}}, e1, e2, e3);
+        assertLookup(new Object[][]{{"C"}, null, null});
+        assertLookup(new Object[][]{{"A"}, {3}, null});
+        assertLookup(new Object[][]{null, null, {null}});
+        assertLookup(new Object[][]{null, null, new Object[0]});
+
+        // lookup values are coerced to the column type
+        assertLookup(new Object[][]{null, {1L}, {10}}, e1);
+
+        index.remove(e1, null);
+        index.remove(makeEvent("A", 1, 10L), null);
+        assertLookup(new Object[][]{{"A"}, null, null}, e2);
+        assertLookup(new Object[][]{null, {1}, null}, e3);
+
+        // removed row numbers are reused
+        EventBean e5 = makeEvent("A", 1, 30L);
+        index.add(e5, null);
+        assertLookup(new Object[][]{{"A"}, {1}, null}, e5);
+        assertEquals(new HashSet<>(Arrays.asList(e2, e3, e4, e5)), toSet(index.iterator()));
+
+        index.remove(new EventBean[]{e2, e3, e4, e5}, null);
+        assertTrue(index.isEmpty());
+        assertLookup(new Object[][]{{"A"}, null, null});
+
+        index.add(e1, null);
+        index.clear();
+        assertTrue(index.isEmpty());
+        assertLookup(new Object[][]{{"A"}, null, null});
+    }
+
+    public void testCompareScan() {
+        Random random = new Random(1);
+        List<EventBean> events = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            events.add(makeEvent("S" + random.nextInt(5), random.nextInt(10), (long) random.nextInt(3)));
+        }
+        index.add(events.toArray(new EventBean[0]), null);
+        for (int i = 0; i < events.size(); i += 3) {
+            index.remove(events.get(i), null);
+        }
+        for (int i = 0; i < events.size(); i += 6) {
+            index.add(events.get(i), null);
+        }
+        Set<EventBean> contained = toSet(index.iterator());
+
+        for (int i = 0; i < 200; i++) {
+            Object[] strings = random.nextBoolean() ? null : new Object[]{"S" + random.nextInt(5), "S" + random.nextInt(5)};
+            Object[] ints = random.nextBoolean() ? null : new Object[]{random.nextInt(10)};
+            Object[] longs = strings != null || ints != null ? null : new Object[]{(long) random.nextInt(3)};
+            Set<EventBean> expected = new HashSet<>();
+            for (EventBean event : contained) {
+                SupportBean bean = (SupportBean) event.getUnderlying();
+                if (matches(strings, bean.getTheString()) && matches(ints, bean.getIntPrimitive()) && matches(longs, bean.getLongBoxed())) {
+                    expected.add(event);
+                }
+            }
+            Collection<EventBean> result = index.lookup(new Object[][]{strings, ints, longs});
+            assertEquals(expected.size(), result.size());
+            assertEquals(expected, new HashSet<>(result));
+        }
+    }
+
+    private void assertLookup(Object[][] valuesPerColumn, EventBean... expected) {
+        Collection<EventBean> result = index.lookup(valuesPerColumn);
+        assertEquals(expected.length, result.size());
+        assertEquals(new HashSet<>(Arrays.asList(expected)), new HashSet<>(result));
+    }
+
+    private static boolean matches(Object[] values, Object value) {
+        return values == null || Arrays.asList(values).contains(value);
+    }
+
+    private static Set<EventBean> toSet(Iterator<EventBean> iterator) {
+        Set<EventBean> events = new HashSet<>();
+        iterator.forEachRemaining(events::add);
+        return events;
+    }
+
+    private static EventBean makeEvent(String theString, int intPrimitive, Long longBoxed) {
+        SupportBean bean = new SupportBean(theString, intPrimitive);
+        bean.setLongBoxed(longBoxed);
+        return SupportEventBeanFactory.createObject(bean);
+    }
+}
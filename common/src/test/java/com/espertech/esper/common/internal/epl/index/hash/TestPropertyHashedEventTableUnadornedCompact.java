@@ -0,0 +1,141 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.hash;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyValueGetter;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestPropertyHashedEventTableUnadornedCompact extends TestCase {
+    // keys are the long-boxed value when not null, otherwise the string value, so that both maps of the index are used
+    private final static EventPropertyValueGetter GETTER = eventBean -> {
+        SupportBean bean = (SupportBean) eventBean.getUnderlying();
+        return bean.getLongBoxed() != null ? bean.getLongBoxed() : bean.getTheString();
+    };
+
+    private PropertyHashedEventTableFactory factory;
+
+    public void setUp() {
+        factory = new PropertyHashedEventTableFactory(0, new String[]{"longBoxed"}, false, null, GETTER, null);
+    }
+
+    public void testAddRemoveLookup() {
+        PropertyHashedEventTableUnadornedCompact index = new PropertyHashedEventTableUnadornedCompact(factory);
+        assertTrue(index.isEmpty());
+
+        EventBean e1 = makeEvent("E1", 10L);
+        EventBean e2 = makeEvent("E2", 10L);
+        EventBean e3 = makeEvent("E3", 20L);
+        EventBean e4 = makeEvent("E4", null);
+        EventBean e5 = makeEvent(null, null);
+
+        index.add(new EventBean[]{e1, e3, e4, e5}, null);
+        assertFalse(index.isEmpty());
+        assertEquals(4, index.getNumKeys());
+        assertEquals(Collections.singleton(e1), index.lookup(10L));
+        assertEquals(Collections.singleton(e3), index.lookup(20L));
+        assertEquals(Collections.singleton(e4), index.lookup("E4"));
+        assertEquals(Collections.singleton(e5), index.lookup(null));
+        assertNull(index.lookup(30L));
+        assertNull(index.lookup(10));
+        assertSame(index.lookup(20L), index.lookup(20L));
+
+        // second event for a key inflates the bucket, adding the same event again does not
+        index.add(e2, null);
+        index.add(e2, null);
+        assertEquals(new HashSet<>(Arrays.asList(e1, e2)), index.lookup(10L));
+        assertEquals(4, index.getNumKeys());
+        assertIterator(index, e1, e2, e3, e4, e5);
+
+        Map<Object, Set<EventBean>> map = (Map<Object, Set<EventBean>>) index.getIndex();
+        assertEquals(4, map.size());
+        assertEquals(new HashSet<>(Arrays.asList(e1, e2)), map.get(10L));
+        assertEquals(Collections.singleton(e4), map.get("E4"));
+        assertEquals(Collections.singleton(e5), map.get(null));
+
+        Set<EventBean> copy = index.lookupFAF(10L);
+        index.remove(e1, null);
+        assertEquals(2, copy.size());
+        assertEquals(Collections.singleton(e2), index.lookup(10L));
+
+        // removing an event that is not in the index is not an error
+        index.remove(makeEvent("E6", 10L), null);
+        index.remove(makeEvent("E7", 99L), null);
+        assertEquals(Collections.singleton(e2), index.lookup(10L));
+
+        index.remove(new EventBean[]{e2, e3, e4}, null);
+        assertEquals(1, index.getNumKeys());
+        assertIterator(index, e5);
+
+        index.clear();
+        assertTrue(index.isEmpty());
+        assertFalse(index.iterator().hasNext());
+    }
+
+    public void testFactoryCompactOptIn() {
+        assertEquals(PropertyHashedEventTableUnadorned.class, factory.getEventTableClass());
+        assertTrue(factory.makeEventTables(null, null)[0] instanceof PropertyHashedEventTableUnadorned);
+
+        PropertyHashedEventTableFactory compact = new PropertyHashedEventTableFactory(0, new String[]{"longBoxed"}, false, null, GETTER, null, false, true);
+        assertEquals(PropertyHashedEventTableUnadornedCompact.class, compact.getEventTableClass());
+        assertTrue(compact.makeEventTables(null, null)[0] instanceof PropertyHashedEventTableUnadornedCompact);
+    }
+
+    public void testCompareUnadorned() {
+        Random random = new Random(1);
+        PropertyHashedEventTableUnadorned expected = new PropertyHashedEventTableUnadorned(factory);
+        PropertyHashedEventTableUnadornedCompact actual = new PropertyHashedEventTableUnadornedCompact(factory);
+        List<EventBean> events = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int keyNum = random.nextInt(300);
+            events.add(keyNum % 3 == 0 ? makeEvent("S" + keyNum, null) : makeEvent("E" + i, (long) keyNum));
+        }
+
+        for (int i = 0; i < 50000; i++) {
+            EventBean event = events.get(random.nextInt(events.size()));
+            if (random.nextBoolean()) {
+                expected.add(event, null);
+                actual.add(event, null);
+            } else {
+                expected.remove(event, null);
+                actual.remove(event, null);
+            }
+            Object key = GETTER.get(events.get(random.nextInt(events.size())));
+            assertEquals(expected.lookup(key), actual.lookup(key));
+            assertEquals(expected.getNumKeys(), actual.getNumKeys());
+        }
+
+        Set<EventBean> expectedAll = new HashSet<>();
+        expected.iterator().forEachRemaining(expectedAll::add);
+        Set<EventBean> actualAll = new HashSet<>();
+        actual.iterator().forEachRemaining(actualAll::add);
+        assertEquals(expectedAll, actualAll);
+    }
+
+    private static void assertIterator(PropertyHashedEventTable index, EventBean... expected) {
+        List<EventBean> values = new ArrayList<>();
+        for (Iterator<EventBean> it = index.iterator(); it.hasNext(); ) {
+            values.add(it.next());
+        }
+        assertEquals(expected.length, values.size());
+        assertEquals(new HashSet<>(Arrays.asList(expected)), new HashSet<>(values));
+    }
+
+    private static EventBean makeEvent(String theString, Long longBoxed) {
+        SupportBean bean = new SupportBean(theString, 0);
+        bean.setLongBoxed(longBoxed);
+        return SupportEventBeanFactory.createObject(bean);
+    }
+}
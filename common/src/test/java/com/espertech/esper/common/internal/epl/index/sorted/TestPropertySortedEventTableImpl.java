@@ -0,0 +1,120 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.sorted;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyValueGetter;
+import com.espertech.esper.common.client.type.EPTypePremade;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestPropertySortedEventTableImpl extends TestCase {
+    private final static EventPropertyValueGetter GETTER = eventBean -> ((SupportBean) eventBean.getUnderlying()).getLongBoxed();
+
+    private PropertySortedEventTableFactory factory;
+
+    public void setUp() {
+        factory = new PropertySortedEventTableFactory(0, "longBoxed", GETTER, EPTypePremade.LONGBOXED.getEPType());
+    }
+
+    public void testSortedRunsSameAsTreeMap() {
+        int size = 10;
+        Object[] keys = new Object[size];
+        Set<EventBean>[] values = new Set[size];
+        TreeMap<Object, Set<EventBean>> expected = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            keys[i] = i * 2L;
+            values[i] = Collections.singleton(makeEvent(i * 2L));
+            expected.put(keys[i], values[i]);
+        }
+        PropertySortedEventTableImpl.SortedRuns runs = new PropertySortedEventTableImpl.SortedRuns(keys, values, size);
+        assertEquals(expected, runs);
+        assertEquals(expected, new TreeMap<>(runs));
+
+        for (long low = -1; low <= size * 2; low++) {
+            assertSortedMap(expected.headMap(low), runs.headMap(low));
+            assertSortedMap(expected.tailMap(low), runs.tailMap(low));
+            assertEquals(expected.get(low), runs.get(low));
+            for (long high = low; high <= size * 2; high++) {
+                assertSortedMap(expected.subMap(low, high), runs.subMap(low, high));
+                if (high > low + 1) {
+                    assertSortedMap(expected.subMap(low, high).headMap(high - 1), runs.subMap(low, high).headMap(high - 1));
+                    assertSortedMap(expected.subMap(low, high).tailMap(low + 1), runs.subMap(low, high).tailMap(low + 1));
+                }
+            }
+        }
+    }
+
+    public void testBulkAddCompareOneByOne() {
+        Random random = new Random(1);
+        for (int round = 0; round < 20; round++) {
+            int numEvents = PropertySortedEventTableImpl.BULK_ADD_MIN_EVENTS + random.nextInt(5000);
+            EventBean[] events = new EventBean[numEvents];
+            for (int i = 0; i < numEvents; i++) {
+                events[i] = makeEvent(random.nextInt(10) == 0 ? null : (long) random.nextInt(numEvents / 3));
+            }
+            EventBean[] prefilled = Arrays.copyOf(events, numEvents / 4);
+
+            // bulk-add into an empty index, and bulk-add into an index that already has events
+            for (boolean prefill : new boolean[]{false, true}) {
+                PropertySortedEventTableImpl expected = new PropertySortedEventTableImpl(factory);
+                PropertySortedEventTableImpl actual = new PropertySortedEventTableImpl(factory);
+                if (prefill) {
+                    for (EventBean event : prefilled) {
+                        expected.add(event, null);
+                    }
+                    actual.add(prefilled, null);
+                }
+                for (EventBean event : events) {
+                    expected.add(event, null);
+                }
+                actual.add(events, null);
+                assertIndexesEqual(expected, actual);
+
+                for (EventBean event : events) {
+                    if (random.nextBoolean()) {
+                        expected.remove(event, null);
+                        actual.remove(event, null);
+                    }
+                }
+                assertIndexesEqual(expected, actual);
+            }
+        }
+    }
+
+    private static void assertSortedMap(SortedMap<Object, Set<EventBean>> expected, SortedMap<Object, Set<EventBean>> actual) {
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.entrySet()));
+        assertEquals(expected.isEmpty() ? null : expected.firstKey(), actual.isEmpty() ? null : actual.firstKey());
+        assertEquals(expected.isEmpty() ? null : expected.lastKey(), actual.isEmpty() ? null : actual.lastKey());
+    }
+
+    private static void assertIndexesEqual(PropertySortedEventTableImpl expected, PropertySortedEventTableImpl actual) {
+        assertEquals(expected.getNumKeys(), actual.getNumKeys());
+        assertEquals(toList(expected.iterator()), toList(actual.iterator()));
+        assertEquals(new ArrayList<>(expected.lookupRange(5L, true, 50L, false, false)), new ArrayList<>(actual.lookupRange(5L, true, 50L, false, false)));
+        assertEquals(new ArrayList<>(expected.lookupGreater(100L)), new ArrayList<>(actual.lookupGreater(100L)));
+    }
+
+    private static List<EventBean> toList(Iterator<EventBean> iterator) {
+        List<EventBean> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    private static EventBean makeEvent(Long longBoxed) {
+        SupportBean bean = new SupportBean();
+        bean.setLongBoxed(longBoxed);
+        return SupportEventBeanFactory.createObject(bean);
+    }
+}
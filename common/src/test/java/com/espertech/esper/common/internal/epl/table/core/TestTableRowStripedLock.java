@@ -0,0 +1,126 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.table.core;
+
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventBean;
+import junit.framework.TestCase;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class TestTableRowStripedLock extends TestCase {
+    // "K0" and "K1" have hash codes that differ in the low bits and thus map to different stripes
+    private TableRowStripedLock lock;
+    private TableInstanceGrouped instance;
+    private ExecutorService executor;
+
+    public void setUp() {
+        lock = new TableRowStripedLock(new ReentrantReadWriteLock(), 16);
+        // each row exists
+        ObjectArrayEventBean row = new ObjectArrayEventBean(new Object[0], null);
+        instance = (TableInstanceGrouped) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{TableInstanceGrouped.class},
+            (proxy, method, args) -> method.getName().equals("getRowForGroupKey") ? row : null);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    public void testRowWritersOverlap() throws Exception {
+        lock.lockRowWriteCreateIfAbsent(instance, "K0", null);
+
+        // another row proceeds
+        assertCompletes(executor.submit(() -> {
+            lock.lockRowWriteCreateIfAbsent(instance, "K1", null);
+            lock.unlockRowWrite("K1");
+        }));
+
+        // the same row waits
+        Future<?> sameRow = executor.submit(() -> {
+            lock.lockRowWriteCreateIfAbsent(instance, "K0", null);
+            lock.unlockRowWrite("K0");
+        });
+        assertWaits(sameRow);
+        lock.unlockRowWrite("K0");
+        assertCompletes(sameRow);
+    }
+
+    public void testReadersShareTable() throws Exception {
+        lock.getTableRWLock().readLock().lock();
+
+        // readers share the table, rows are read by key
+        assertTrue(executor.submit(() -> {
+            boolean locked = lock.getTableRWLock().readLock().tryLock();
+            lock.getTableRWLock().readLock().unlock();
+            lock.lockRowRead("K0");
+            lock.unlockRowRead("K0");
+            return locked;
+        }).get(5, TimeUnit.SECONDS));
+
+        // exclusive access and row changes wait for readers
+        assertFalse(executor.submit(() -> lock.getTableRWLock().writeLock().tryLock()).get(5, TimeUnit.SECONDS));
+        Future<?> rowChange = executor.submit(() -> {
+            lock.lockRowWriteCreateIfAbsent(instance, "K1", null);
+            lock.unlockRowWrite("K1");
+        });
+        assertWaits(rowChange);
+        lock.getTableRWLock().readLock().unlock();
+        assertCompletes(rowChange);
+    }
+
+    public void testReaderWaitsForRowChange() throws Exception {
+        lock.lockRowWriteCreateIfAbsent(instance, "K1", null);
+        Future<?> reader = executor.submit(() -> {
+            lock.getTableRWLock().readLock().lock();
+            lock.getTableRWLock().readLock().unlock();
+        });
+        assertWaits(reader);
+        lock.unlockRowWrite("K1");
+        assertCompletes(reader);
+    }
+
+    public void testTableAccessNestedInRowChange() throws Exception {
+        lock.lockRowWriteCreateIfAbsent(instance, "K0", null);
+
+        // table access within a row change proceeds under the locks held
+        lock.getTableRWLock().writeLock().lock();
+        lock.getTableRWLock().readLock().lock();
+        lock.lockRowRead("K1");
+        lock.unlockRowRead("K1");
+        lock.lockRowRead("K0");
+        lock.unlockRowRead("K0");
+        lock.unlockRowWrite("K0");
+        lock.getTableRWLock().readLock().unlock();
+        lock.getTableRWLock().writeLock().unlock();
+
+        // all locks are released
+        assertTrue(executor.submit(() -> {
+            boolean locked = lock.getTableRWLock().writeLock().tryLock();
+            lock.getTableRWLock().writeLock().unlock();
+            return locked;
+        }).get(5, TimeUnit.SECONDS));
+    }
+
+    private static void assertWaits(Future<?> future) throws Exception {
+        try {
+            future.get(200, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (TimeoutException ex) {
+            // expected
+        }
+    }
+
+    private static void assertCompletes(Future<?> future) throws Exception {
+        future.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.arr;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.meta.EventTypeApplicationType;
+import com.espertech.esper.common.client.meta.EventTypeIdPair;
+import com.espertech.esper.common.client.meta.EventTypeMetadata;
+import com.espertech.esper.common.client.meta.EventTypeTypeClass;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.client.util.EventTypeBusModifier;
+import com.espertech.esper.common.client.util.NameAccessModifier;
+import com.espertech.esper.common.internal.event.core.BaseNestableEventUtil;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventTypeFactory;
+import com.espertech.esper.common.internal.util.ClassHelperGenericType;
+import junit.framework.TestCase;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TestObjectArrayColumnarStore extends TestCase {
+    private ObjectArrayEventType eventType;
+
+    public void setUp() {
+        Map<String, Object> typeRep = new LinkedHashMap<>();
+        typeRep.put("name", ClassHelperGenericType.getClassEPType(String.class));
+        typeRep.put("count", ClassHelperGenericType.getClassEPType(Integer.class));
+        typeRep.put("total", ClassHelperGenericType.getClassEPType(long.class));
+        typeRep.put("price", ClassHelperGenericType.getClassEPType(Double.class));
+        EventTypeMetadata metadata = new EventTypeMetadata("MyType", null, EventTypeTypeClass.STREAM, EventTypeApplicationType.OBJECTARR, NameAccessModifier.PROTECTED, EventTypeBusModifier.NONBUS, false, EventTypeIdPair.unassigned());
+        eventType = new ObjectArrayEventType(metadata, typeRep, null, null, null, null, SupportEventTypeFactory.BEAN_EVENT_TYPE_FACTORY);
+    }
+
+    public void testAddGetRemove() {
+        ObjectArrayColumnarStore store = new ObjectArrayColumnarStore(eventType);
+        assertFalse(store.isPrimitiveColumn(0));
+        assertTrue(store.isPrimitiveColumn(1));
+        assertTrue(store.isPrimitiveColumn(2));
+        assertTrue(store.isPrimitiveColumn(3));
+
+        ObjectArrayColumnarEventBean e1 = store.add(new Object[]{"E1", 10, 100L, 1.5d});
+        ObjectArrayColumnarEventBean e2 = store.add(new Object[]{"E2", null, 200L, null});
+        assertEquals(2, store.size());
+        assertSame(eventType, e1.getEventType());
+
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E1", 10, 100L, 1.5d}, (Object[]) e1.getUnderlying());
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E2", null, 200L, null}, e2.getProperties());
+        assertEquals(10, e1.get("count"));
+        assertNull(e2.get("count"));
+        assertEquals(200L, e2.get("total"));
+        assertEquals(1.5d, e1.get("price"));
+
+        // removal detaches the values and the slot is reused
+        store.remove(e1);
+        assertTrue(e1.isDetached());
+        assertEquals(1, store.size());
+        ObjectArrayColumnarEventBean e3 = store.add(new Object[]{"E3", 30, 300L, 3.5d});
+        assertEquals("E1", e1.get("name"));
+        assertEquals(10, e1.get("count"));
+        assertEquals(30, e3.get("count"));
+        assertEquals("E2", e2.get("name"));
+
+        store.remove(e1);
+        assertEquals(2, store.size());
+    }
+
+    public void testPrimitiveGettersAndMaterialize() {
+        ObjectArrayColumnarStore store = new ObjectArrayColumnarStore(eventType);
+        ObjectArrayColumnarEventBean e1 = store.add(new Object[]{"E1", 10, 100L, 1.5d});
+        assertEquals(10, e1.getIntProperty(1));
+        assertEquals(100L, e1.getLongProperty(2));
+        assertEquals(1.5d, e1.getDoubleProperty(3));
+        assertEquals(10, BaseNestableEventUtil.getBNColumnarIntAtIndex(e1, 1));
+        assertEquals(100L, BaseNestableEventUtil.getBNColumnarLongAtIndex(e1, 2));
+        assertEquals(1.5d, BaseNestableEventUtil.getBNColumnarDoubleAtIndex(new ObjectArrayEventBean(new Object[]{"E0", 1, 2L, 1.5d}, eventType), 3));
+
+        // the underlying array is assembled upon each call
+        Object[] underlying = e1.getProperties();
+        assertNotSame(underlying, e1.getUnderlying());
+        EPAssertionUtil.assertEqualsExactOrder(underlying, (Object[]) e1.getUnderlying());
+        e1.setPropertyValues(new Object[]{"E1", 11, 101L, 1.6d});
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{"E1", 11, 101L, 1.6d}, (Object[]) e1.getUnderlying());
+        assertEquals(11, e1.getIntProperty(1));
+
+        ObjectArrayColumnarEventBean e2 = store.add(new Object[]{"E2", null, 200L, null});
+        try {
+            e2.getIntProperty(1);
+            fail();
+        } catch (NullPointerException ex) {
+            // expected
+        }
+
+        // detached rows read from their copy
+        store.remove(e1);
+        assertSame(e1.getUnderlying(), e1.getUnderlying());
+        store.add(new Object[]{"E3", 30, 300L, 3.5d});
+        assertEquals(11, e1.getIntProperty(1));
+        assertEquals(101L, e1.getLongProperty(2));
+        assertEquals(1.6d, e1.getDoubleProperty(3));
+    }
+
+    public void testGrowAndNulls() {
+        ObjectArrayColumnarStore store = new ObjectArrayColumnarStore(eventType);
+        int numRows = 1000;
+        ObjectArrayColumnarEventBean[] beans = new ObjectArrayColumnarEventBean[numRows];
+        for (int i = 0; i < numRows; i++) {
+            beans[i] = store.add(new Object[]{"E" + i, i % 3 == 0 ? null : i, (long) i, i % 5 == 0 ? null : (double) i});
+        }
+        assertTrue(store.getCapacity() >= numRows);
+        for (int i = 0; i < numRows; i++) {
+            assertEquals("E" + i, beans[i].get("name"));
+            assertEquals(i % 3 == 0 ? null : i, beans[i].get("count"));
+            assertEquals((long) i, beans[i].get("total"));
+            assertEquals(i % 5 == 0 ? null : (double) i, beans[i].get("price"));
+        }
+    }
+
+    public void testUnexpectedValueType() {
+        ObjectArrayColumnarStore store = new ObjectArrayColumnarStore(eventType);
+        ObjectArrayColumnarEventBean e1 = store.add(new Object[]{"E1", 10, 100L, 1.5d});
+        ObjectArrayColumnarEventBean e2 = store.add(new Object[]{"E2", 20L, 200L, 2.5d});
+        assertFalse(store.isPrimitiveColumn(1));
+        assertEquals(10, e1.get("count"));
+        assertEquals(20L, e2.get("count"));
+
+        e1.setPropertyValues(new Object[]{"E1", 11, 101L, 1.6d});
+        assertEquals(11, e1.get("count"));
+        assertEquals(101L, e1.get("total"));
+    }
+
+    public void testAddAllRetain() {
+        ObjectArrayColumnarStore store = new ObjectArrayColumnarStore(eventType);
+        EventBean[] events = new EventBean[]{
+            new ObjectArrayEventBean(new Object[]{"E1", 1, 1L, 1d}, eventType),
+            new ObjectArrayEventBean(new Object[]{"E2", 2, 2L, 2d}, eventType)};
+        EventBean[] originals = events;
+        events = store.addAll(originals);
+        assertNotSame(originals, events);
+        assertFalse(originals[0] instanceof ObjectArrayColumnarEventBean);
+        assertTrue(events[0] instanceof ObjectArrayColumnarEventBean);
+        assertSame(events, store.addAll(events));
+        assertEquals("E2", events[1].get("name"));
+        assertEquals(2, store.size());
+
+        store.retain(new EventBean[]{events[1]});
+        store.removeNotRetained(events);
+        assertEquals(1, store.size());
+        assertTrue(((ObjectArrayColumnarEventBean) events[0]).isDetached());
+        assertFalse(((ObjectArrayColumnarEventBean) events[1]).isDetached());
+
+        store.removeAll(events);
+        assertEquals(0, store.size());
+        assertEquals("E2", events[1].get("name"));
+    }
+}
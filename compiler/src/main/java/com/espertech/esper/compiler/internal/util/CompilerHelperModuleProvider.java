@@ -491,7 +491,7 @@ public class CompilerHelperModuleProvider {
             initializeEventTypesMethod.getBlock().expression(localMethod(addType));
         }
 
-        if (compileTimeServices.getSerdeEventTypeRegistry().isTargetHA()) {
+        if (compileTimeServices.getSerdeEventTypeRegistry().isTargetHA() || compileTimeServices.getSerdeEventTypeRegistry().getWireSerdeResolver() != null) {
             for (Map.Entry<EventType, DataInputOutputSerdeForge> pair : compileTimeServices.getSerdeEventTypeRegistry().getEventTypes().entrySet()) {
                 CodegenMethod addSerde = registerEventTypeSerdeCodegen(pair.getKey(), pair.getValue(), initializeEventTypesMethod, classScope, symbolsEventTypeInit);
                 initializeEventTypesMethod.getBlock().expression(localMethod(addSerde));
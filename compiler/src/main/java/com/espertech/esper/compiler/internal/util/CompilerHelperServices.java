@@ -431,8 +431,12 @@ public class CompilerHelperServices {
 
         boolean targetHA = configuration.getClass().getName().endsWith("ConfigurationHA");
         StateMgmtSettingsProvider stateMgmtSettingsProvider = configuration.internalUseGetStmtMgmtProvider(options.getStateMgmtSetting());
-        SerdeEventTypeCompileTimeRegistry serdeEventTypeRegistry = new SerdeEventTypeCompileTimeRegistryImpl(targetHA);
         SerdeCompileTimeResolver serdeResolver = targetHA ? makeSerdeResolver(configuration.getCompiler().getSerde(), configuration.getCommon().getTransientConfiguration()) : SerdeCompileTimeResolverNonHA.INSTANCE;
+        SerdeCompileTimeResolver wireSerdeResolver = null;
+        if (configuration.getCompiler().getSerde().isEnableEventWireSerde()) {
+            wireSerdeResolver = targetHA ? serdeResolver : makeSerdeResolver(configuration.getCompiler().getSerde(), configuration.getCommon().getTransientConfiguration());
+        }
+        SerdeEventTypeCompileTimeRegistry serdeEventTypeRegistry = new SerdeEventTypeCompileTimeRegistryImpl(targetHA, wireSerdeResolver);
 
         CompilerAbstraction compilerAbstraction = CompilerAbstractionJanino.INSTANCE;
         if (arguments.getOptions() != null && arguments.getOptions().getCompilerHook() != null) {
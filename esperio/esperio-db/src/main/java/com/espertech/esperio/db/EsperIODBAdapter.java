@@ -23,6 +23,7 @@ import com.espertech.esper.compiler.client.EPCompilerProvider;
 import com.espertech.esper.runtime.client.EPDeployment;
 import com.espertech.esper.runtime.client.EPRuntimeProvider;
 import com.espertech.esper.runtime.client.EPUndeployException;
+import com.espertech.esper.runtime.client.UpdateListener;
 import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
 import com.espertech.esperio.db.config.*;
 import com.espertech.esperio.db.core.*;
@@ -34,16 +35,24 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class EsperIODBAdapter {
     private final static Logger log = LoggerFactory.getLogger(EsperIODBAdapter.class);
 
+    private final static double DEFAULT_BATCH_FLUSH_INTERVAL_SEC = 1;
+
     private final ConfigurationDBAdapter config;
     private final String runtimeURI;
     private List<String> deployments = new ArrayList<>();
 
     private DatabaseConfigServiceImpl databaseConfigSvc;
     private ExecutorServices executorFactory;
+    private ScheduledExecutorService batchFlushService;
+    private List<EsperIODBBatchUpdateListener> batchListeners = new ArrayList<>();
+    private List<PreparedStatementPool> statementPools = new ArrayList<>();
 
     /**
      * Quickstart constructor.
@@ -80,7 +89,7 @@ public class EsperIODBAdapter {
             RunnableUpsertFactory upsertFactory = getUpsertFactory(runtime, upsert, databaseConfigSvc);
 
             try {
-                EsperIODBUpdateListener subs = new EsperIODBUpdateListener(upsertFactory, executorFactory.getConfiguredExecutor(upsert.getExecutorName()));
+                UpdateListener subs = makeListener(upsertFactory, upsertFactory, upsert.getExecutorName(), upsert.getBatchSize(), upsert.getBatchFlushIntervalSec());
                 EPDeployment deployment = compileDeploySubscription(runtime, upsert.getStream(), upsertFactory.getContext().getName());
                 deployments.add(deployment.getDeploymentId());
                 deployment.getStatements()[0].addListener(subs);
@@ -94,7 +103,7 @@ public class EsperIODBAdapter {
             RunnableDMLFactory dmlFactory = getDMLFactory(runtime, dml, databaseConfigSvc);
 
             try {
-                EsperIODBUpdateListener subs = new EsperIODBUpdateListener(dmlFactory, executorFactory.getConfiguredExecutor(dml.getExecutorName()));
+                UpdateListener subs = makeListener(dmlFactory, dmlFactory, dml.getExecutorName(), dml.getBatchSize(), dml.getBatchFlushIntervalSec());
                 EPDeployment deployment = compileDeploySubscription(runtime, dml.getStream(), dmlFactory.getContext().getName());
                 deployments.add(deployment.getDeploymentId());
                 deployment.getStatements()[0].addListener(subs);
@@ -108,6 +117,43 @@ public class EsperIODBAdapter {
         }
     }
 
+    private UpdateListener makeListener(RunnableFactory runnableFactory, RunnableBatchFactory batchFactory, String executorName, Integer batchSize, Double batchFlushIntervalSec) {
+        java.util.concurrent.Executor executor = executorFactory.getConfiguredExecutor(executorName);
+        if (!isBatched(batchSize)) {
+            return new EsperIODBUpdateListener(runnableFactory, executor);
+        }
+
+        final EsperIODBBatchUpdateListener listener = new EsperIODBBatchUpdateListener(batchFactory, executor, batchSize);
+        batchListeners.add(listener);
+
+        double intervalSec = batchFlushIntervalSec == null ? DEFAULT_BATCH_FLUSH_INTERVAL_SEC : batchFlushIntervalSec;
+        if (intervalSec > 0) {
+            if (batchFlushService == null) {
+                batchFlushService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "com.espertech.esperio.db.BatchFlush-" + runtimeURI);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            long intervalMSec = Math.max(1, (long) (intervalSec * 1000));
+            batchFlushService.scheduleAtFixedRate(listener::flush, intervalMSec, intervalMSec, TimeUnit.MILLISECONDS);
+        }
+        return listener;
+    }
+
+    private static boolean isBatched(Integer batchSize) {
+        return batchSize != null && batchSize > 1;
+    }
+
+    private PreparedStatementPool makeStatementPool(Integer batchSize, DatabaseConnectionFactory connectionFactory, String... sql) {
+        if (!isBatched(batchSize)) {
+            return null;
+        }
+        PreparedStatementPool pool = new PreparedStatementPool(connectionFactory, sql);
+        statementPools.add(pool);
+        return pool;
+    }
+
     private EPDeployment compileDeploySubscription(EPRuntimeSPI runtime, String eventTypeName, String name) {
         try {
             String epl = "@name('" + name + "') select * from " + eventTypeName;
@@ -175,7 +221,8 @@ public class EsperIODBAdapter {
             MultiKeyMultiValueTable table = new MultiKeyMultiValueTable(upsert.getTableName(), keys, keyTypes,
                 values, valueTypes, handler);
 
-            RunnableUpsertContext context = new RunnableUpsertContext(upsertName, connectionFactory, table, keyGetters, valueGetters, upsert.getRetry(), upsert.getRetryIntervalSec());
+            PreparedStatementPool statementPool = makeStatementPool(upsert.getBatchSize(), connectionFactory, table.getUpdateSQL(), table.getInsertSQL());
+            RunnableUpsertContext context = new RunnableUpsertContext(upsertName, connectionFactory, table, keyGetters, valueGetters, upsert.getRetry(), upsert.getRetryIntervalSec(), statementPool);
             return new RunnableUpsertFactory(context);
         } catch (ConfigurationException ex) {
             throw ex;
@@ -213,7 +260,8 @@ public class EsperIODBAdapter {
 
             DMLStatement dmlStmt = new DMLStatement(handler, dmlQuery.getSql(), bindings);
 
-            RunnableDMLContext context = new RunnableDMLContext(dmlName, connectionFactory, dmlStmt, dmlQuery.getRetry(), dmlQuery.getRetryIntervalSec());
+            PreparedStatementPool statementPool = makeStatementPool(dmlQuery.getBatchSize(), connectionFactory, dmlQuery.getSql());
+            RunnableDMLContext context = new RunnableDMLContext(dmlName, connectionFactory, dmlStmt, dmlQuery.getRetry(), dmlQuery.getRetryIntervalSec(), statementPool);
             return new RunnableDMLFactory(context);
         } catch (ConfigurationException ex) {
             throw ex;
@@ -239,6 +287,18 @@ public class EsperIODBAdapter {
             }
         }
 
+        // write events of partial batches before the executors shut down
+        if (batchFlushService != null) {
+            batchFlushService.shutdownNow();
+        }
+        for (EsperIODBBatchUpdateListener listener : batchListeners) {
+            listener.flush();
+        }
+
         executorFactory.destroy();
+
+        for (PreparedStatementPool pool : statementPools) {
+            pool.destroy();
+        }
     }
 }
@@ -158,6 +158,8 @@ public class ConfigurationDBAdapterParser {
         String executorName = getOptionalAttribute(parentNode, "executor-name");
         String retry = getOptionalAttribute(parentNode, "retry");
         String retryInterval = getOptionalAttribute(parentNode, "retry-interval-sec");
+        String batchSize = getOptionalAttribute(parentNode, "batch-size");
+        String batchFlushInterval = getOptionalAttribute(parentNode, "batch-flush-interval-sec");
         List<BindingParameter> bindings = new ArrayList<BindingParameter>();
 
         String sql = null;
@@ -175,6 +177,8 @@ public class ConfigurationDBAdapterParser {
         dmlQuery.setExecutorName(executorName);
         dmlQuery.setRetry(retry == null ? null : Integer.parseInt(retry));
         dmlQuery.setRetryIntervalSec(retryInterval == null ? null : Double.parseDouble(retryInterval));
+        dmlQuery.setBatchSize(batchSize == null ? null : Integer.parseInt(batchSize));
+        dmlQuery.setBatchFlushIntervalSec(batchFlushInterval == null ? null : Double.parseDouble(batchFlushInterval));
         dmlQuery.setStream(stream);
         dmlQuery.setConnection(connection);
         dmlQuery.setSql(sql);
@@ -194,6 +198,8 @@ public class ConfigurationDBAdapterParser {
         String executorName = getOptionalAttribute(parentNode, "executor-name");
         String retry = getOptionalAttribute(parentNode, "retry");
         String retryInterval = getOptionalAttribute(parentNode, "retry-interval-sec");
+        String batchSize = getOptionalAttribute(parentNode, "batch-size");
+        String batchFlushInterval = getOptionalAttribute(parentNode, "batch-flush-interval-sec");
         String tableName = getRequiredAttribute(parentNode, "table-name");
         List<Column> keys = new ArrayList<Column>();
         List<Column> values = new ArrayList<Column>();
@@ -220,6 +226,8 @@ public class ConfigurationDBAdapterParser {
         upsertQuery.setKeys(keys);
         upsertQuery.setValues(values);
         upsertQuery.setRetryIntervalSec(retryInterval == null ? null : Double.parseDouble(retryInterval));
+        upsertQuery.setBatchSize(batchSize == null ? null : Integer.parseInt(batchSize));
+        upsertQuery.setBatchFlushIntervalSec(batchFlushInterval == null ? null : Double.parseDouble(batchFlushInterval));
         configuration.getUpsertQueries().add(upsertQuery);
     }
 
@@ -22,6 +22,8 @@ public class DMLQuery {
     private String executorName;
     private Integer retry;
     private Double retryIntervalSec;
+    private Integer batchSize;
+    private Double batchFlushIntervalSec;
     private List<BindingParameter> bindings;
 
     public DMLQuery() {
@@ -91,4 +93,20 @@ public class DMLQuery {
     public void setRetryIntervalSec(Double retryIntervalSec) {
         this.retryIntervalSec = retryIntervalSec;
     }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Double getBatchFlushIntervalSec() {
+        return batchFlushIntervalSec;
+    }
+
+    public void setBatchFlushIntervalSec(Double batchFlushIntervalSec) {
+        this.batchFlushIntervalSec = batchFlushIntervalSec;
+    }
 }
\ No newline at end of file
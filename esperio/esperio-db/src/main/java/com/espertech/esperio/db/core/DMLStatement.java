@@ -61,4 +61,39 @@ public class DMLStatement {
             }
         }
     }
+
+    /**
+     * Binds each event to the prepared statement and executes the events as a single batch.
+     *
+     * @param statement statement prepared for the DML SQL
+     * @param events    events to bind
+     */
+    public void executeBatch(PreparedStatement statement, EventBean[] events) {
+        try {
+            if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+                log.debug("Executing batch of " + events.length + " for '" + dmlSQL + ")");
+            }
+            for (EventBean eventBean : events) {
+                for (Map.Entry<Integer, BindingEntry> entry : bindings.entrySet()) {
+                    Object value = entry.getValue().getGetter().get(eventBean);
+                    statement.setObject(entry.getKey(), value);
+                }
+                statement.addBatch();
+            }
+
+            int[] rows = statement.executeBatch();
+            if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+                log.debug("Batch execution yielded " + rows.length + " results");
+            }
+        } catch (SQLException ex) {
+            String message = "Failed to invoke batch : " + dmlSQL + " :" + ex.getMessage();
+            log.error(message, ex);
+            storeExceptionHandler.handle(message, ex);
+            throw new StoreExceptionDBRel(message, ex);
+        }
+    }
+
+    public String getDmlSQL() {
+        return dmlSQL;
+    }
 }
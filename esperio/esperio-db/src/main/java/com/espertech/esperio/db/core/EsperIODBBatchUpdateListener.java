@@ -0,0 +1,89 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.db.core;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.UpdateListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Listener that accumulates events into batches, handing a batch to the executor when the batch size
+ * is reached or when flushed.
+ */
+public class EsperIODBBatchUpdateListener implements UpdateListener {
+    private final static Logger log = LoggerFactory.getLogger(EsperIODBBatchUpdateListener.class);
+
+    private final RunnableBatchFactory runnableFactory;
+    private final Executor executor;
+    private final int batchSize;
+    private List<EventBean> pending;
+
+    public EsperIODBBatchUpdateListener(RunnableBatchFactory runnableFactory, Executor executor, int batchSize) {
+        this.runnableFactory = runnableFactory;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.pending = new ArrayList<EventBean>(batchSize);
+    }
+
+    public void update(EventBean[] newEvents, EventBean[] oldEvents, EPStatement statement, EPRuntime runtime) {
+        if (newEvents == null) {
+            return;
+        }
+        for (EventBean event : newEvents) {
+            EventBean[] batch = null;
+            synchronized (this) {
+                pending.add(event);
+                if (pending.size() >= batchSize) {
+                    batch = drain();
+                }
+            }
+            if (batch != null) {
+                execute(batch);
+            }
+        }
+    }
+
+    /**
+     * Hands the events accumulated so far to the executor.
+     */
+    public void flush() {
+        EventBean[] batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = drain();
+        }
+        execute(batch);
+    }
+
+    private EventBean[] drain() {
+        EventBean[] batch = pending.toArray(new EventBean[pending.size()]);
+        pending = new ArrayList<EventBean>(batchSize);
+        return batch;
+    }
+
+    private void execute(EventBean[] batch) {
+        try {
+            Runnable runnable = runnableFactory.makeRunnable(batch);
+            executor.execute(runnable);
+        } catch (Throwable t) {
+            log.error("Error executing database action:" + t.getMessage(), t);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.util.List;
 
 public class MultiKeyMultiValueTable {
     private final static Logger log = LoggerFactory.getLogger(MultiKeyMultiValueTable.class);
+    private final static int EXISTS_BATCH_SIZE = 50;
     private final String tableName;
     private final String[] keyFieldNames;
     private final int[] keyTypes;    // java.sql.Types
@@ -276,6 +277,73 @@ public class MultiKeyMultiValueTable {
         }
     }
 
+    /**
+     * Determine for each of the keys whether the key exists, querying for up to {@link #EXISTS_BATCH_SIZE} keys at a time.
+     *
+     * @param connection db connection
+     * @param keys       key values per row
+     * @return indicator per row whether the row exists
+     * @throws StoreExceptionDBRel failed operation
+     */
+    public boolean[] isExistsKeyBatch(Connection connection, List<Object[]> keys) {
+        boolean[] exists = new boolean[keys.size()];
+        for (int start = 0; start < keys.size(); start += EXISTS_BATCH_SIZE) {
+            int end = Math.min(keys.size(), start + EXISTS_BATCH_SIZE);
+
+            // each branch of the union selects the position of its key, so key values need not be compared after reading
+            StringBuilder builder = new StringBuilder();
+            for (int row = start; row < end; row++) {
+                if (row > start) {
+                    builder.append(" union all ");
+                }
+                builder.append("select ");
+                builder.append(row - start);
+                builder.append(" from ");
+                builder.append(tableName);
+                builder.append(" where ");
+                String delimiter = "";
+                for (String keyField : keyFieldNames) {
+                    builder.append(delimiter);
+                    builder.append(keyField);
+                    builder.append("=?");
+                    delimiter = " and ";
+                }
+            }
+
+            String query = builder.toString();
+            PreparedStatement statement = null;
+            try {
+                if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+                    log.debug("Executing query '" + query + "' for " + (end - start) + " keys");
+                }
+                statement = connection.prepareStatement(query);
+                int index = 1;
+                for (int row = start; row < end; row++) {
+                    for (Object key : keys.get(row)) {
+                        statement.setObject(index, key);
+                        index++;
+                    }
+                }
+
+                ResultSet rs = statement.executeQuery();
+                while (rs.next()) {
+                    exists[start + rs.getInt(1)] = true;
+                }
+            } catch (SQLException ex) {
+                String message = "Failed to invoke : " + query + " :" + ex.getMessage();
+                log.error(message, ex);
+                storeExceptionHandler.handle(message, ex);
+                throw new StoreExceptionDBRel(message, ex);
+            } finally {
+                try {
+                    if (statement != null) statement.close();
+                } catch (SQLException e) {
+                }
+            }
+        }
+        return exists;
+    }
+
     private void runInsert(Connection connection, String query, Object[] keys, Object[] values) {
         PreparedStatement statement = null;
         try {
@@ -309,6 +377,87 @@ public class MultiKeyMultiValueTable {
         }
     }
 
+    /**
+     * Update rows as a single batch, returning the update count per row.
+     * An update count of zero indicates that the row was not found.
+     *
+     * @param statement statement prepared for the update SQL
+     * @param keys      key values per row
+     * @param values    column values per row
+     * @return update count per row, as returned by the driver
+     * @throws StoreExceptionDBRel failed operation
+     */
+    public int[] updateValueBatch(PreparedStatement statement, List<Object[]> keys, List<Object[]> values) {
+        try {
+            if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+                log.debug("Executing batch of " + keys.size() + " for query '" + updateSQL + "'");
+            }
+            for (int row = 0; row < keys.size(); row++) {
+                int index = 1;
+                for (Object value : values.get(row)) {
+                    statement.setObject(index, value);
+                    index++;
+                }
+                for (Object key : keys.get(row)) {
+                    statement.setObject(index, key);
+                    index++;
+                }
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        } catch (SQLException ex) {
+            String message = "Failed to invoke batch : " + updateSQL + " :" + ex.getMessage();
+            log.error(message, ex);
+            storeExceptionHandler.handle(message, ex);
+            throw new StoreExceptionDBRel(message, ex);
+        }
+    }
+
+    /**
+     * Insert rows as a single batch, indicating a unique-key contraint violation via StoreExceptionDBDuplicateRow.
+     *
+     * @param statement statement prepared for the insert SQL
+     * @param keys      key values per row
+     * @param values    column values per row
+     * @throws StoreExceptionDBRel when the insert failed, such as duplicate row
+     */
+    public void insertValueBatch(PreparedStatement statement, List<Object[]> keys, List<Object[]> values) {
+        try {
+            if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+                log.debug("Executing batch of " + keys.size() + " for query '" + insertSQL + "'");
+            }
+            for (int row = 0; row < keys.size(); row++) {
+                int index = 1;
+                for (Object key : keys.get(row)) {
+                    statement.setObject(index, key);
+                    index++;
+                }
+                for (Object value : values.get(row)) {
+                    statement.setObject(index, value);
+                    index++;
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException ex) {
+            String message = "Failed to invoke batch : " + insertSQL + " :" + ex.getMessage();
+            if ((ex.getSQLState() != null) && (ex.getSQLState().equals("23000"))) {
+                throw new StoreExceptionDBDuplicateRow(message, ex);
+            }
+            log.error(message, ex);
+            storeExceptionHandler.handle(message, ex);
+            throw new StoreExceptionDBRel(message, ex);
+        }
+    }
+
+    public String getInsertSQL() {
+        return insertSQL;
+    }
+
+    public String getUpdateSQL() {
+        return updateSQL;
+    }
+
     private boolean runUpdate(Connection connection, String query, Object[] keys, Object[] values) {
         PreparedStatement statement = null;
         try {
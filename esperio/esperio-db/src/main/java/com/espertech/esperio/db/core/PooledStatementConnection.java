@@ -0,0 +1,106 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.db.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Connection held by a {@link PreparedStatementPool} along with the statements prepared on the connection.
+ */
+public class PooledStatementConnection {
+    private final static Logger log = LoggerFactory.getLogger(PooledStatementConnection.class);
+
+    private final Connection connection;
+    private final String[] sql;
+    private final PreparedStatement[] statements;
+    private boolean restoreAutoCommit;
+
+    PooledStatementConnection(Connection connection, String[] sql) {
+        this.connection = connection;
+        this.sql = sql;
+        this.statements = new PreparedStatement[sql.length];
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Returns the prepared statement for the SQL by number, preparing the statement on first use.
+     *
+     * @param num number of SQL as provided to the pool
+     * @return prepared statement
+     * @throws SQLException when the statement could not be prepared
+     */
+    public PreparedStatement getStatement(int num) throws SQLException {
+        PreparedStatement statement = statements[num];
+        if (statement == null) {
+            statement = connection.prepareStatement(sql[num]);
+            statements[num] = statement;
+        }
+        return statement;
+    }
+
+    /**
+     * Starts a transaction, turning auto-commit off until the commit if the connection is auto-commit,
+     * so that a failed batch can be rolled back before it is retried.
+     *
+     * @throws SQLException when auto-commit could not be changed
+     */
+    public void begin() throws SQLException {
+        if (connection.getAutoCommit()) {
+            connection.setAutoCommit(false);
+            restoreAutoCommit = true;
+        }
+    }
+
+    /**
+     * Commits the transaction, restoring auto-commit if the transaction turned it off.
+     *
+     * @throws SQLException when the commit failed
+     */
+    public void commit() throws SQLException {
+        connection.commit();
+        if (restoreAutoCommit) {
+            connection.setAutoCommit(true);
+            restoreAutoCommit = false;
+        }
+    }
+
+    /**
+     * Rolls back the transaction. Failures are logged as the caller is handling the failure of the transaction.
+     */
+    public void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException ex) {
+            log.warn("Failed to roll back: " + ex.getMessage(), ex);
+        }
+    }
+
+    void close() {
+        for (PreparedStatement statement : statements) {
+            try {
+                if (statement != null) statement.close();
+            } catch (SQLException e) {
+            }
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.db.core;
+
+import com.espertech.esper.common.internal.epl.historical.database.connection.DatabaseConfigException;
+import com.espertech.esper.common.internal.epl.historical.database.connection.DatabaseConnectionFactory;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Pool of connections that keeps the prepared statements of each connection for reuse by subsequent batches.
+ * <p>
+ * A connection is taken from the pool for the duration of a batch. Connections that failed are discarded
+ * rather than returned, so that a retry obtains a new connection. The pool holds no more connections than
+ * the number of batches executing concurrently, i.e. the number of threads of the executor.
+ */
+public class PreparedStatementPool {
+    private final DatabaseConnectionFactory connectionFactory;
+    private final String[] sql;
+    private final ConcurrentLinkedQueue<PooledStatementConnection> idle = new ConcurrentLinkedQueue<PooledStatementConnection>();
+    private volatile boolean destroyed;
+
+    /**
+     * Ctor.
+     *
+     * @param connectionFactory connection factory
+     * @param sql               SQL of the statements to prepare on each connection
+     */
+    public PreparedStatementPool(DatabaseConnectionFactory connectionFactory, String[] sql) {
+        this.connectionFactory = connectionFactory;
+        this.sql = sql;
+    }
+
+    /**
+     * Returns an idle connection or a new connection if none are idle.
+     *
+     * @return connection
+     * @throws DatabaseConfigException when a new connection could not be obtained
+     */
+    public PooledStatementConnection acquire() throws DatabaseConfigException {
+        PooledStatementConnection connection = idle.poll();
+        if (connection != null) {
+            return connection;
+        }
+        return new PooledStatementConnection(connectionFactory.getConnection(), sql);
+    }
+
+    /**
+     * Returns a connection to the pool after successful use.
+     *
+     * @param connection to return
+     */
+    public void release(PooledStatementConnection connection) {
+        if (destroyed) {
+            connection.close();
+            return;
+        }
+        idle.add(connection);
+        if (destroyed && idle.remove(connection)) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Closes a connection that failed.
+     *
+     * @param connection to close
+     */
+    public void discard(PooledStatementConnection connection) {
+        connection.close();
+    }
+
+    public void destroy() {
+        destroyed = true;
+        PooledStatementConnection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.db.core;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.epl.historical.database.connection.DatabaseConfigException;
+import com.espertech.esper.common.internal.util.ExecutionPathDebugLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+
+/**
+ * Work unit executing the DML for a batch of events, using a pooled connection and prepared statement.
+ */
+public class RunnableDMLBatch implements Runnable {
+    private final static Logger log = LoggerFactory.getLogger(RunnableDMLBatch.class);
+
+    private final RunnableDMLContext context;
+    private final EventBean[] events;
+
+    public RunnableDMLBatch(RunnableDMLContext context, EventBean[] events) {
+        this.context = context;
+        this.events = events;
+    }
+
+    public void run() {
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled() && (ExecutionPathDebugLog.isTimerDebugEnabled))) {
+            log.debug("Executing DML work unit for batch of " + events.length + " events");
+        }
+
+        int retryMax = context.getRetry() == null ? 1 : context.getRetry();
+        int retryCount = 0;
+
+        while (true) {
+            try {
+                tryDML();
+                break;
+            } catch (Throwable t) {
+                log.error("Error in DML batch named '" + context.getName() + "' :" + t.getMessage(), t);
+                retryCount++;
+                if (retryCount >= retryMax) {
+                    log.warn("Failed DML batch named '" + context.getName() + "' of " + events.length + " events, retry count reached");
+                    break;
+                }
+                if ((context.getRetryWait() != null) && (context.getRetryWait() > 0)) {
+                    long interval = (long) (context.getRetryWait() * 1000);
+                    log.warn("Retry DML batch named '" + context.getName() + "', retry interval msec " + interval + " retry count " + retryCount + " max " + retryMax);
+                    try {
+                        Thread.sleep(interval);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                } else {
+                    log.warn("Retry DML batch named '" + context.getName() + "', retry count " + retryCount + " max " + retryMax);
+                }
+            }
+        }
+    }
+
+    private void tryDML() throws DatabaseConfigException, SQLException {
+        PreparedStatementPool pool = context.getStatementPool();
+        PooledStatementConnection connection = pool.acquire();
+        try {
+            // the batch is one transaction, so that a retry does not repeat rows that an earlier attempt wrote
+            connection.begin();
+            context.getDmlStatement().executeBatch(connection.getStatement(0), events);
+            connection.commit();
+        } catch (RuntimeException | SQLException ex) {
+            connection.rollback();
+            pool.discard(connection);
+            throw ex;
+        }
+        pool.release(connection);
+    }
+}
@@ -22,13 +22,19 @@ public class RunnableDMLContext {
     private final DMLStatement dmlStatement;
     private final Integer retry;
     private final Double retryWait;
+    private final PreparedStatementPool statementPool;
 
     public RunnableDMLContext(String name, DatabaseConnectionFactory connectionFactory, DMLStatement dmlStatement, Integer retry, Double retryWait) {
+        this(name, connectionFactory, dmlStatement, retry, retryWait, null);
+    }
+
+    public RunnableDMLContext(String name, DatabaseConnectionFactory connectionFactory, DMLStatement dmlStatement, Integer retry, Double retryWait, PreparedStatementPool statementPool) {
         this.name = name;
         this.connectionFactory = connectionFactory;
         this.dmlStatement = dmlStatement;
         this.retry = retry;
         this.retryWait = retryWait;
+        this.statementPool = statementPool;
     }
 
     public String getName() {
@@ -50,4 +56,8 @@ public class RunnableDMLContext {
     public Double getRetryWait() {
         return retryWait;
     }
+
+    public PreparedStatementPool getStatementPool() {
+        return statementPool;
+    }
 }
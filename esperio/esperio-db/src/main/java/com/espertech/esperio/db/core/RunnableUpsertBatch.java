@@ -0,0 +1,156 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.db.core;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.epl.historical.database.connection.DatabaseConfigException;
+import com.espertech.esper.common.internal.util.ExecutionPathDebugLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Work unit executing the upsert for a batch of events, using a pooled connection and prepared statements.
+ * <p>
+ * Events of the batch that have the same keys are reduced to the last such event. The updates execute as one batch,
+ * followed by one batch of inserts for the rows that the update did not find. When the driver does not report
+ * update counts, a query for the keys determines the rows that the update did not find.
+ * The batch executes as one transaction.
+ */
+public class RunnableUpsertBatch implements Runnable {
+    private final static Logger log = LoggerFactory.getLogger(RunnableUpsertBatch.class);
+
+    private final static int STATEMENT_UPDATE = 0;
+    private final static int STATEMENT_INSERT = 1;
+
+    private final RunnableUpsertContext context;
+    private final EventBean[] events;
+
+    public RunnableUpsertBatch(RunnableUpsertContext context, EventBean[] events) {
+        this.context = context;
+        this.events = events;
+    }
+
+    public void run() {
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled() && (ExecutionPathDebugLog.isTimerDebugEnabled))) {
+            log.debug("Executing upsert work unit for batch of " + events.length + " events");
+        }
+
+        int retryMax = context.getRetry() == null ? 1 : context.getRetry();
+        int retryCount = 0;
+
+        while (true) {
+            try {
+                tryUpsert();
+                break;
+            } catch (Throwable t) {
+                log.error("Error in upsert batch named '" + context.getName() + "' :" + t.getMessage(), t);
+                retryCount++;
+                if (retryCount >= retryMax) {
+                    log.warn("Failed upsert batch named '" + context.getName() + "' of " + events.length + " events, retry count reached");
+                    break;
+                }
+                if ((context.getRetryWait() != null) && (context.getRetryWait() > 0)) {
+                    long interval = (long) (context.getRetryWait() * 1000);
+                    log.warn("Retry upsert batch named '" + context.getName() + "', retry interval msec " + interval + " retry count " + retryCount + " max " + retryMax);
+                    try {
+                        Thread.sleep(interval);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                } else {
+                    log.warn("Retry upsert batch named '" + context.getName() + "', retry count " + retryCount + " max " + retryMax);
+                }
+            }
+        }
+    }
+
+    private void tryUpsert() throws DatabaseConfigException, SQLException {
+        // reduce to the last event per key, so the batch does not insert the same key twice
+        Map<List<Object>, Object[]> rows = new LinkedHashMap<List<Object>, Object[]>();
+        for (EventBean theEvent : events) {
+            Object[] keys = new Object[context.getKeyGetters().length];
+            for (int i = 0; i < context.getKeyGetters().length; i++) {
+                keys[i] = context.getKeyGetters()[i].get(theEvent);
+            }
+
+            Object[] values = new Object[context.getValueGetters().length];
+            for (int i = 0; i < context.getValueGetters().length; i++) {
+                values[i] = context.getValueGetters()[i].get(theEvent);
+            }
+            List<Object> key = Arrays.asList(keys);
+            rows.remove(key);
+            rows.put(key, values);
+        }
+
+        List<Object[]> keys = new ArrayList<Object[]>(rows.size());
+        List<Object[]> values = new ArrayList<Object[]>(rows.size());
+        for (Map.Entry<List<Object>, Object[]> entry : rows.entrySet()) {
+            keys.add(entry.getKey().toArray());
+            values.add(entry.getValue());
+        }
+
+        PreparedStatementPool pool = context.getStatementPool();
+        PooledStatementConnection connection = pool.acquire();
+        try {
+            connection.begin();
+            MultiKeyMultiValueTable table = context.getTable();
+            int[] counts = table.updateValueBatch(connection.getStatement(STATEMENT_UPDATE), keys, values);
+
+            List<Object[]> insertKeys = new ArrayList<Object[]>();
+            List<Object[]> insertValues = new ArrayList<Object[]>();
+            List<Integer> noInfoRows = null;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    insertKeys.add(keys.get(i));
+                    insertValues.add(values.get(i));
+                } else if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                    if (noInfoRows == null) {
+                        noInfoRows = new ArrayList<Integer>();
+                    }
+                    noInfoRows.add(i);
+                }
+            }
+
+            // driver does not report whether the rows were found, the update applied to the rows that exist
+            if (noInfoRows != null) {
+                List<Object[]> noInfoKeys = new ArrayList<Object[]>(noInfoRows.size());
+                for (int row : noInfoRows) {
+                    noInfoKeys.add(keys.get(row));
+                }
+                boolean[] exists = table.isExistsKeyBatch(connection.getConnection(), noInfoKeys);
+                for (int i = 0; i < exists.length; i++) {
+                    if (!exists[i]) {
+                        insertKeys.add(keys.get(noInfoRows.get(i)));
+                        insertValues.add(values.get(noInfoRows.get(i)));
+                    }
+                }
+            }
+
+            if (!insertKeys.isEmpty()) {
+                table.insertValueBatch(connection.getStatement(STATEMENT_INSERT), insertKeys, insertValues);
+            }
+            connection.commit();
+        } catch (RuntimeException | SQLException ex) {
+            connection.rollback();
+            pool.discard(connection);
+            throw ex;
+        }
+        pool.release(connection);
+    }
+}
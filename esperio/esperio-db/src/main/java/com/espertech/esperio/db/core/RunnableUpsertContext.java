@@ -25,8 +25,13 @@ public class RunnableUpsertContext {
     private final EventPropertyGetter[] valueGetters;
     private final Integer retry;
     private final Double retryWait;
+    private final PreparedStatementPool statementPool;
 
     public RunnableUpsertContext(String name, DatabaseConnectionFactory connectionFactory, MultiKeyMultiValueTable table, EventPropertyGetter[] keyGetters, EventPropertyGetter[] valueGetters, Integer retry, Double retryWait) {
+        this(name, connectionFactory, table, keyGetters, valueGetters, retry, retryWait, null);
+    }
+
+    public RunnableUpsertContext(String name, DatabaseConnectionFactory connectionFactory, MultiKeyMultiValueTable table, EventPropertyGetter[] keyGetters, EventPropertyGetter[] valueGetters, Integer retry, Double retryWait, PreparedStatementPool statementPool) {
         this.name = name;
         this.connectionFactory = connectionFactory;
         this.table = table;
@@ -34,6 +39,7 @@ public class RunnableUpsertContext {
         this.valueGetters = valueGetters;
         this.retry = retry;
         this.retryWait = retryWait;
+        this.statementPool = statementPool;
     }
 
     public String getName() {
@@ -63,4 +69,8 @@ public class RunnableUpsertContext {
     public Double getRetryWait() {
         return retryWait;
     }
+
+    public PreparedStatementPool getStatementPool() {
+        return statementPool;
+    }
 }
@@ -14,7 +14,7 @@ import com.espertech.esper.common.client.EventBean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class RunnableUpsertFactory implements RunnableFactory {
+public class RunnableUpsertFactory implements RunnableFactory, RunnableBatchFactory {
     private final static Logger log = LoggerFactory.getLogger(RunnableUpsertFactory.class);
 
     private final RunnableUpsertContext context;
@@ -30,4 +30,8 @@ public class RunnableUpsertFactory implements RunnableFactory {
     public Runnable makeRunnable(EventBean theEvent) {
         return new RunnableUpsert(context, theEvent);
     }
+
+    public Runnable makeRunnable(EventBean[] events) {
+        return new RunnableUpsertBatch(context, events);
+    }
 }
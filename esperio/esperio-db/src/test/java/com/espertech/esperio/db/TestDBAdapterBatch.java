@@ -0,0 +1,128 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.db;
+
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPRuntimeProvider;
+import com.espertech.esperio.db.config.BindingParameter;
+import com.espertech.esperio.db.config.Column;
+import com.espertech.esperio.db.config.ConfigurationDBAdapter;
+import com.espertech.esperio.db.config.DMLQuery;
+import com.espertech.esperio.db.config.Executor;
+import com.espertech.esperio.db.config.UpsertQuery;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+
+public class TestDBAdapterBatch extends TestCase {
+    private static final Logger log = LoggerFactory.getLogger(TestDBAdapterBatch.class);
+
+    private final static String RUNTIME_URI = "TestDBAdapterBatch";
+
+    private final static String TABLE_NAME = "mytestupsert";
+
+    public void setUp() throws Exception {
+        SupportDatabaseService.truncateTable(TABLE_NAME);
+    }
+
+    public void testDMLBatchThroughput() throws Exception {
+        int numEvents = 50000;
+
+        DMLQuery dmlQuery = new DMLQuery();
+        dmlQuery.setName("MyBatchInsert");
+        dmlQuery.setStream("SupportDBBean");
+        dmlQuery.setConnection("conn1");
+        dmlQuery.setSql("insert into mytestupsert(key1, key2, value1, value2) values (?, ?, ?, ?)");
+        dmlQuery.getBindings().add(new BindingParameter(1, "key1"));
+        dmlQuery.getBindings().add(new BindingParameter(2, "key2"));
+        dmlQuery.getBindings().add(new BindingParameter(3, "value1"));
+        dmlQuery.getBindings().add(new BindingParameter(4, "value2"));
+        dmlQuery.setExecutorName("queue1");
+        dmlQuery.setBatchSize(1000);
+        dmlQuery.setBatchFlushIntervalSec(0.1);
+
+        ConfigurationDBAdapter adapterConfig = new ConfigurationDBAdapter();
+        adapterConfig.getJdbcConnections().put("conn1", SupportDatabaseService.makeDBConfig());
+        adapterConfig.getDmlQueries().add(dmlQuery);
+        adapterConfig.getExecutors().put("queue1", new Executor(4));
+
+        EPRuntime runtime = makeRuntime();
+        EsperIODBAdapter dbAdapter = new EsperIODBAdapter(adapterConfig, RUNTIME_URI);
+        dbAdapter.start();
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < numEvents; i++) {
+            runtime.getEventService().sendEventBean(new SupportDBBean("A", i, "v" + i, (double) i), "SupportDBBean");
+        }
+        waitForRows(numEvents, 60000);
+        long delta = System.currentTimeMillis() - start;
+        log.info("Inserted " + numEvents + " rows in batches in " + delta + " msec, " + (numEvents * 1000L / Math.max(1, delta)) + " rows/sec");
+
+        dbAdapter.destroy();
+        runtime.destroy();
+    }
+
+    public void testUpsertBatch() throws Exception {
+        UpsertQuery upsertQuery = new UpsertQuery();
+        upsertQuery.setName("MyBatchUpsert");
+        upsertQuery.setStream("SupportDBBean");
+        upsertQuery.setConnection("conn1");
+        upsertQuery.getKeys().add(new Column("key1", "key1", "varchar"));
+        upsertQuery.getKeys().add(new Column("key2", "key2", "integer"));
+        upsertQuery.getValues().add(new Column("value1", "value1", "varchar"));
+        upsertQuery.getValues().add(new Column("value2", "value2", "double"));
+        upsertQuery.setTableName(TABLE_NAME);
+        upsertQuery.setBatchSize(3);
+        upsertQuery.setBatchFlushIntervalSec(0d);
+
+        ConfigurationDBAdapter adapterConfig = new ConfigurationDBAdapter();
+        adapterConfig.getJdbcConnections().put("conn1", SupportDatabaseService.makeDBConfig());
+        adapterConfig.getUpsertQueries().add(upsertQuery);
+
+        EPRuntime runtime = makeRuntime();
+        EsperIODBAdapter dbAdapter = new EsperIODBAdapter(adapterConfig, RUNTIME_URI);
+        dbAdapter.start();
+
+        // same key twice in the batch
+        runtime.getEventService().sendEventBean(new SupportDBBean("k1", 1, "a", 1d), "SupportDBBean");
+        runtime.getEventService().sendEventBean(new SupportDBBean("k2", 2, "b", 2d), "SupportDBBean");
+        assertEquals(0, SupportDatabaseService.readAll(TABLE_NAME).length);
+        runtime.getEventService().sendEventBean(new SupportDBBean("k1", 1, "c", 3d), "SupportDBBean");
+        EPAssertionUtil.assertEqualsAnyOrder(new Object[][]{{"k1", 1, "c", 3d}, {"k2", 2, "b", 2d}}, SupportDatabaseService.readAll(TABLE_NAME));
+
+        // partial batch written upon destroy
+        runtime.getEventService().sendEventBean(new SupportDBBean("k2", 2, "d", 4d), "SupportDBBean");
+        runtime.getEventService().sendEventBean(new SupportDBBean("k3", 3, "e", 5d), "SupportDBBean");
+        dbAdapter.destroy();
+        EPAssertionUtil.assertEqualsAnyOrder(new Object[][]{{"k1", 1, "c", 3d}, {"k2", 2, "d", 4d}, {"k3", 3, "e", 5d}}, SupportDatabaseService.readAll(TABLE_NAME));
+
+        runtime.destroy();
+    }
+
+    private EPRuntime makeRuntime() {
+        Configuration config = new Configuration();
+        config.getCommon().addEventType("SupportDBBean", SupportDBBean.class);
+        return EPRuntimeProvider.getRuntime(RUNTIME_URI, config);
+    }
+
+    private void waitForRows(int numRows, long timeoutMSec) throws SQLException, InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMSec;
+        while (SupportDatabaseService.readAll(TABLE_NAME).length < numRows) {
+            assertTrue("Timeout waiting for rows", System.currentTimeMillis() < deadline);
+            Thread.sleep(50);
+        }
+        assertEquals(numRows, SupportDatabaseService.readAll(TABLE_NAME).length);
+    }
+}
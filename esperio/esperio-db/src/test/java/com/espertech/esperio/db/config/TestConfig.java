@@ -80,6 +80,8 @@ public class TestConfig extends TestCase {
         assertEquals("queue1", dmlQuery.getExecutorName());
         assertEquals((int) 2, (int) dmlQuery.getRetry());
         assertEquals(1d, dmlQuery.getRetryIntervalSec());
+        assertNull(dmlQuery.getBatchSize());
+        assertNull(dmlQuery.getBatchFlushIntervalSec());
         assertEquals(3, dmlQuery.getBindings().size());
         BindingParameter binding = dmlQuery.getBindings().get(0);
         assertEquals(1, binding.getPosition());
@@ -96,6 +98,8 @@ public class TestConfig extends TestCase {
         assertEquals("queue1", upsertQuery.getExecutorName());
         assertEquals((int) 3, (int) upsertQuery.getRetry());
         assertNull(upsertQuery.getRetryIntervalSec());
+        assertEquals(100, (int) upsertQuery.getBatchSize());
+        assertEquals(0.5d, upsertQuery.getBatchFlushIntervalSec());
         assertEquals(2, upsertQuery.getKeys().size());
         Column col = upsertQuery.getKeys().get(0);
         assertEquals("eventProperty1", col.getProperty());
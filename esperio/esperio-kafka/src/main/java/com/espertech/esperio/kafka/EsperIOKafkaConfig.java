@@ -15,6 +15,9 @@ public class EsperIOKafkaConfig {
     public final static String INPUT_PROCESSOR_CONFIG = "esperio.kafka.input.processor";
     public final static String INPUT_TIMESTAMPEXTRACTOR_CONFIG = "esperio.kafka.input.timestampextractor";
     public final static String INPUT_EVENTTYPENAME = "esperio.kafka.input.eventtypename";
+    public final static String INPUT_LANES_CONFIG = "esperio.kafka.input.lanes";
+    public final static String INPUT_LANE_DESERIALIZER_CONFIG = "esperio.kafka.input.lanedeserializer";
     public final static String OUTPUT_FLOWCONTROLLER_CONFIG = "esperio.kafka.output.flowcontroller";
+    public final static String OUTPUT_WIRE_CONFIG = "esperio.kafka.output.wire";
     public final static String TOPICS_CONFIG = "esperio.kafka.topics";
 }
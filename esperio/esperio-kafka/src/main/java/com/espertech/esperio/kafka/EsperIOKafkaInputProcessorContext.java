@@ -11,24 +11,24 @@
 package com.espertech.esperio.kafka;
 
 import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
-import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.Consumer;
 
 import java.util.Properties;
 
 public class EsperIOKafkaInputProcessorContext {
-    private final KafkaConsumer consumer;
+    private final Consumer consumer;
     private final EPRuntimeSPI runtime;
     private final Properties properties;
     private final EsperIOKafkaInputAdapter adapter;
 
-    public EsperIOKafkaInputProcessorContext(KafkaConsumer consumer, EPRuntimeSPI runtime, Properties properties, EsperIOKafkaInputAdapter adapter) {
+    public EsperIOKafkaInputProcessorContext(Consumer consumer, EPRuntimeSPI runtime, Properties properties, EsperIOKafkaInputAdapter adapter) {
         this.consumer = consumer;
         this.runtime = runtime;
         this.properties = properties;
         this.adapter = adapter;
     }
 
-    public KafkaConsumer getConsumer() {
+    public Consumer getConsumer() {
         return consumer;
     }
 
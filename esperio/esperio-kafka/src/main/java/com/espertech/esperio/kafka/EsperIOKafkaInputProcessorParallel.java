@@ -0,0 +1,270 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.kafka;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventSender;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Input processor that processes the records of each poll result on multiple lanes.
+ * <p>
+ * Each partition is assigned to a lane by the hash of the partition, and each lane has a single thread, so that
+ * the records of a partition are processed in order while different partitions are processed in parallel.
+ * For each partition the processor sends consecutive records of the same value class as a batch, using
+ * an event sender that the processor obtains once per class. The event type name is the simple class name of
+ * the value, or the event type name provided by {@link EsperIOKafkaConfig#INPUT_EVENTTYPENAME} if configured.
+ * <p>
+ * The processor commits the offsets of each poll result after all lanes completed processing the poll result,
+ * therefore the consumer should be configured with auto-commit disabled. When processing the records of a partition fails,
+ * the processor seeks the partition to the first record not processed, so that the next poll returns the record again.
+ * <p>
+ * When {@link EsperIOKafkaConfig#INPUT_LANE_DESERIALIZER_CONFIG} provides a deserializer class, each lane
+ * deserializes values using its own instance of the deserializer, and the consumer should be configured with a
+ * byte array value deserializer.
+ * <p>
+ * The processor does not support a timestamp extractor, since it does not order records across partitions.
+ */
+public class EsperIOKafkaInputProcessorParallel implements EsperIOKafkaInputProcessor {
+
+    private final static Logger log = LoggerFactory.getLogger(EsperIOKafkaInputProcessorParallel.class);
+
+    private final Map<Class, EventSender> senders = new ConcurrentHashMap<>();
+
+    private EPRuntimeSPI runtime;
+    private Consumer<Object, Object> consumer;
+    private String eventTypeName;
+    private Lane[] lanes;
+
+    public void init(EsperIOKafkaInputProcessorContext context) {
+        this.runtime = context.getRuntime();
+        this.consumer = context.getConsumer();
+        Properties properties = context.getProperties();
+
+        if (properties.getProperty(EsperIOKafkaConfig.INPUT_TIMESTAMPEXTRACTOR_CONFIG) != null) {
+            throw new EPException("Processor does not support a timestamp extractor, please use " + EsperIOKafkaInputProcessorDefault.class.getSimpleName() + " instead");
+        }
+        eventTypeName = properties.getProperty(EsperIOKafkaConfig.INPUT_EVENTTYPENAME);
+
+        int numLanes = Runtime.getRuntime().availableProcessors();
+        String lanesValue = properties.getProperty(EsperIOKafkaConfig.INPUT_LANES_CONFIG);
+        if (lanesValue != null) {
+            try {
+                numLanes = Integer.parseInt(lanesValue.trim());
+            } catch (NumberFormatException ex) {
+                throw new EPException("Invalid value for '" + EsperIOKafkaConfig.INPUT_LANES_CONFIG + "', expected an integer value but received '" + lanesValue + "'");
+            }
+            if (numLanes < 1) {
+                throw new EPException("Invalid value for '" + EsperIOKafkaConfig.INPUT_LANES_CONFIG + "', expected a positive value but received " + numLanes);
+            }
+        }
+
+        if (!"false".equalsIgnoreCase(properties.getProperty(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG))) {
+            log.warn("Consumer auto-commit is enabled, offsets may be committed before the records are processed, please set '{}' to false", ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG);
+        }
+
+        String deserializerClassName = properties.getProperty(EsperIOKafkaConfig.INPUT_LANE_DESERIALIZER_CONFIG);
+        Map<String, Object> consumerConfigs = new HashMap<>();
+        for (String propertyName : properties.stringPropertyNames()) {
+            if (!propertyName.startsWith("esperio")) {
+                consumerConfigs.put(propertyName, properties.getProperty(propertyName));
+            }
+        }
+
+        lanes = new Lane[numLanes];
+        for (int i = 0; i < numLanes; i++) {
+            Deserializer<Object> deserializer = null;
+            if (deserializerClassName != null) {
+                deserializer = (Deserializer<Object>) JavaClassHelper.instantiate(Deserializer.class, deserializerClassName, runtime.getServicesContext().getClasspathImportServiceRuntime().getClassForNameProvider());
+                deserializer.configure(consumerConfigs, false);
+            }
+            ExecutorService executor = numLanes == 1 ? null : Executors.newSingleThreadExecutor(new EsperIOKafkaInputThreadFactory(runtime.getURI() + "__lane" + i));
+            lanes[i] = new Lane(executor, deserializer);
+        }
+    }
+
+    public void process(ConsumerRecords<Object, Object> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        Map<TopicPartition, Long> seeks = new ConcurrentHashMap<>();
+        if (lanes.length == 1) {
+            offsets.putAll(lanes[0].process(records, new ArrayList<>(records.partitions()), seeks));
+        } else {
+            // assign partitions to lanes
+            List<TopicPartition>[] partitionsPerLane = new List[lanes.length];
+            for (TopicPartition partition : records.partitions()) {
+                int lane = (partition.hashCode() & Integer.MAX_VALUE) % lanes.length;
+                if (partitionsPerLane[lane] == null) {
+                    partitionsPerLane[lane] = new ArrayList<>();
+                }
+                partitionsPerLane[lane].add(partition);
+            }
+
+            Future<Map<TopicPartition, OffsetAndMetadata>>[] futures = new Future[lanes.length];
+            for (int i = 0; i < lanes.length; i++) {
+                if (partitionsPerLane[i] != null) {
+                    final Lane lane = lanes[i];
+                    final List<TopicPartition> partitions = partitionsPerLane[i];
+                    futures[i] = lane.executor.submit(() -> lane.process(records, partitions, seeks));
+                }
+            }
+
+            for (int i = 0; i < lanes.length; i++) {
+                if (futures[i] == null) {
+                    continue;
+                }
+                try {
+                    offsets.putAll(futures[i].get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    log.error("Exception processing records: " + e.getCause().getMessage(), e.getCause());
+                    for (TopicPartition partition : partitionsPerLane[i]) {
+                        seeks.putIfAbsent(partition, records.records(partition).get(0).offset());
+                    }
+                }
+            }
+        }
+
+        // the consumer is not thread-safe, seek on the polling thread
+        for (Map.Entry<TopicPartition, Long> seek : seeks.entrySet()) {
+            try {
+                consumer.seek(seek.getKey(), seek.getValue());
+            } catch (RuntimeException ex) {
+                log.error("Exception seeking partition {} to offset {}: {}", seek.getKey(), seek.getValue(), ex.getMessage(), ex);
+            }
+        }
+
+        if (!offsets.isEmpty()) {
+            try {
+                consumer.commitSync(offsets);
+            } catch (RuntimeException ex) {
+                log.error("Exception committing offsets {}: {}", offsets, ex.getMessage(), ex);
+            }
+        }
+    }
+
+    public void close() {
+        for (Lane lane : lanes) {
+            if (lane.executor != null) {
+                lane.executor.shutdown();
+                try {
+                    lane.executor.awaitTermination(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (lane.deserializer != null) {
+                lane.deserializer.close();
+            }
+        }
+    }
+
+    private EventSender getSender(Class clazz) {
+        EventSender sender = senders.get(clazz);
+        if (sender == null) {
+            sender = runtime.getEventService().getEventSender(eventTypeName != null ? eventTypeName : clazz.getSimpleName());
+            senders.put(clazz, sender);
+        }
+        return sender;
+    }
+
+    private class Lane {
+        private final ExecutorService executor;
+        private final Deserializer<Object> deserializer;
+        private final List<Object> batch = new ArrayList<>();
+
+        private Lane(ExecutorService executor, Deserializer<Object> deserializer) {
+            this.executor = executor;
+            this.deserializer = deserializer;
+        }
+
+        private Map<TopicPartition, OffsetAndMetadata> process(ConsumerRecords<Object, Object> records, List<TopicPartition> partitions, Map<TopicPartition, Long> seeks) {
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            for (TopicPartition partition : partitions) {
+                long processed = -1;
+                long batchOffset = -1;
+                Class batchClass = null;
+                try {
+                    for (ConsumerRecord<Object, Object> record : records.records(partition)) {
+                        Object value = record.value();
+                        if (value != null && deserializer != null) {
+                            value = deserializer.deserialize(record.topic(), record.headers(), (byte[]) value);
+                        }
+                        if (value == null) {
+                            if (batch.isEmpty()) {
+                                processed = record.offset();
+                            }
+                            batchOffset = record.offset();
+                            continue;
+                        }
+                        if (batchClass != null && batchClass != value.getClass()) {
+                            send(batchClass);
+                            processed = batchOffset;
+                        }
+                        batchClass = value.getClass();
+                        batch.add(value);
+                        batchOffset = record.offset();
+                    }
+                    if (!batch.isEmpty()) {
+                        send(batchClass);
+                    }
+                    processed = batchOffset;
+                } catch (RuntimeException ex) {
+                    batch.clear();
+                    log.error("Exception processing records of partition {}: {}", partition, ex.getMessage(), ex);
+                    seeks.put(partition, processed != -1 ? processed + 1 : records.records(partition).get(0).offset());
+                }
+                if (processed != -1) {
+                    offsets.put(partition, new OffsetAndMetadata(processed + 1));
+                }
+            }
+            return offsets;
+        }
+
+        private void send(Class batchClass) {
+            if (log.isDebugEnabled()) {
+                log.debug("Sending batch of {} events of class {}", batch.size(), batchClass.getName());
+            }
+            try {
+                getSender(batchClass).sendEvents(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.kafka;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventSender;
+import com.espertech.esper.common.client.EventTypeException;
+import com.espertech.esper.common.client.serde.EventWireSerde;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+import com.espertech.esper.runtime.client.EPRuntime;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processor for byte array values that carry events written by the event wire serde of the configured event type,
+ * requires the "org.apache.kafka.common.serialization.ByteArrayDeserializer" value deserializer.
+ */
+public class EsperIOKafkaInputProcessorWire implements EsperIOKafkaInputProcessor {
+
+    private final static Logger log = LoggerFactory.getLogger(EsperIOKafkaInputProcessorWire.class);
+
+    private EPRuntime runtime;
+    private EsperIOKafkaInputTimestampExtractor timestampExtractor;
+    private String eventTypeName;
+    private EventWireSerde serde;
+    private EventSender sender;
+
+    public void init(EsperIOKafkaInputProcessorContext context) {
+        this.runtime = context.getRuntime();
+
+        String timestampExtractorClassName = context.getProperties().getProperty(EsperIOKafkaConfig.INPUT_TIMESTAMPEXTRACTOR_CONFIG);
+        if (timestampExtractorClassName != null) {
+            timestampExtractor = (EsperIOKafkaInputTimestampExtractor) JavaClassHelper.instantiate(EsperIOKafkaInputTimestampExtractor.class, timestampExtractorClassName, context.getRuntime().getServicesContext().getClasspathImportServiceRuntime().getClassForNameProvider());
+        }
+
+        eventTypeName = context.getProperties().getProperty(EsperIOKafkaConfig.INPUT_EVENTTYPENAME);
+        if (eventTypeName == null) {
+            throw new EPException("Processor requires configuring the event type name in '" + EsperIOKafkaConfig.INPUT_EVENTTYPENAME + "'");
+        }
+    }
+
+    public void process(ConsumerRecords<Object, Object> records) {
+        for (ConsumerRecord record : records) {
+
+            blockingCheckEventType();
+            if (serde == null) {
+                return;
+            }
+
+            if (timestampExtractor != null) {
+                long timestamp = timestampExtractor.extract(record);
+
+                if (log.isDebugEnabled()) {
+                    log.debug("Sending time span {}", timestamp);
+                }
+                runtime.getEventService().advanceTimeSpan(timestamp);
+            }
+
+            Object value = record.value();
+            if (value == null) {
+                continue;
+            }
+            if (!(value instanceof byte[])) {
+                log.error("Expected a byte array value but received a value of type " + value.getClass().getName() + ", please configure the byte array value deserializer");
+                continue;
+            }
+
+            byte[] bytes = (byte[]) value;
+            try {
+                sender.sendEvent(serde.fromBytes(bytes, 0, bytes.length));
+            } catch (EPException ex) {
+                log.error("Exception processing message: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private void blockingCheckEventType() {
+        while (serde == null) {
+            try {
+                serde = runtime.getEventService().getEventWireSerde(eventTypeName);
+                sender = runtime.getEventService().getEventSender(eventTypeName);
+                break;
+            } catch (EventTypeException ex) {
+                serde = null;
+                log.info("Waiting to find the wire serde for event type '" + eventTypeName + "': " + ex.getMessage() + ", waiting for 5 seconds");
+            }
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                log.error(e.getMessage(), e);
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    public void close() {
+
+    }
+}
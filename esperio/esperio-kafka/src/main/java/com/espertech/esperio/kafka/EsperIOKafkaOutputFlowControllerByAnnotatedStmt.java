@@ -11,7 +11,9 @@
 package com.espertech.esperio.kafka;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventTypeException;
 import com.espertech.esper.common.client.render.JSONEventRenderer;
+import com.espertech.esper.common.client.serde.EventWireSerde;
 import com.espertech.esper.common.internal.epl.annotation.AnnotationUtil;
 import com.espertech.esper.runtime.client.*;
 import org.apache.kafka.clients.producer.KafkaProducer;
@@ -31,6 +33,7 @@ public class EsperIOKafkaOutputFlowControllerByAnnotatedStmt implements EsperIOK
     private KafkaProducer producer;
     private EPRuntime runtime;
     private Set<String> topics = new LinkedHashSet<>();
+    private boolean wire;
 
     public void initialize(EsperIOKafkaOutputFlowControllerContext context) {
         this.runtime = context.getRuntime();
@@ -51,6 +54,9 @@ public class EsperIOKafkaOutputFlowControllerByAnnotatedStmt implements EsperIOK
             }
         }
 
+        // determine whether to send events using the event wire serde of the statement event type
+        wire = Boolean.parseBoolean(context.getProperties().getProperty(EsperIOKafkaConfig.OUTPUT_WIRE_CONFIG));
+
         // attach to existing statements
         String[] deploymentIds = context.getRuntime().getDeploymentService().getDeployments();
         for (String depoymentId : deploymentIds) {
@@ -84,7 +90,23 @@ public class EsperIOKafkaOutputFlowControllerByAnnotatedStmt implements EsperIOK
         if (annotation == null) {
             return;
         }
-        KafkaOutputDefaultListener listener = new KafkaOutputDefaultListener(runtime, statement, producer, topics);
+        UpdateListener listener;
+        if (wire) {
+            EventWireSerde serde;
+            try {
+                serde = runtime.getEventService().getEventWireSerde(statement.getEventType().getName());
+            } catch (EventTypeException ex) {
+                log.error("Failed to add Kafka-Output-Adapter listener to statement '{}': {}", statement.getName(), ex.getMessage());
+                return;
+            }
+            if (serde.getEventType() != statement.getEventType()) {
+                log.error("Failed to add Kafka-Output-Adapter listener to statement '{}': the statement does not select events of event type '{}'", statement.getName(), serde.getEventType().getName());
+                return;
+            }
+            listener = new KafkaOutputWireListener(serde, producer, topics);
+        } else {
+            listener = new KafkaOutputDefaultListener(runtime, statement, producer, topics);
+        }
         statement.addListener(listener);
         log.info("Added Kafka-Output-Adapter listener to statement '{}' topics {}", statement.getName(), topics.toString());
     }
@@ -94,7 +116,7 @@ public class EsperIOKafkaOutputFlowControllerByAnnotatedStmt implements EsperIOK
         UpdateListener found = null;
         while (listeners.hasNext()) {
             UpdateListener listener = listeners.next();
-            if (listener instanceof KafkaOutputDefaultListener) {
+            if (listener instanceof KafkaOutputDefaultListener || listener instanceof KafkaOutputWireListener) {
                 found = listener;
                 break;
             }
@@ -133,4 +155,29 @@ public class EsperIOKafkaOutputFlowControllerByAnnotatedStmt implements EsperIOK
             }
         }
     }
+
+    public static class KafkaOutputWireListener implements UpdateListener {
+
+        private final EventWireSerde serde;
+        private final KafkaProducer producer;
+        private final Set<String> topics;
+
+        public KafkaOutputWireListener(EventWireSerde serde, KafkaProducer producer, Set<String> topics) {
+            this.serde = serde;
+            this.producer = producer;
+            this.topics = topics;
+        }
+
+        public void update(EventBean[] newEvents, EventBean[] oldEvents, EPStatement statement, EPRuntime runtime) {
+            if (newEvents == null) {
+                return;
+            }
+            for (EventBean event : newEvents) {
+                byte[] bytes = serde.toBytes(event);
+                for (String topic : topics) {
+                    producer.send(new ProducerRecord(topic, bytes));
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,213 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.kafka;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.internal.util.SerializerUtil;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPRuntimeProvider;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import junit.framework.TestCase;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static com.espertech.esperio.kafka.SupportCompileUtil.compileDeploy;
+
+public class TestKafkaInputProcessorParallel extends TestCase {
+
+    private static final String TOPIC = "topic";
+    private static final int NUM_PARTITIONS = 4;
+    private static final int NUM_RECORDS = 25;
+
+    private EPRuntime runtime;
+    private List<SupportBean> received;
+
+    public void setUp() {
+        Configuration configuration = new Configuration();
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getCommon().addEventType(SupportBean.class);
+        runtime = EPRuntimeProvider.getRuntime(this.getClass().getSimpleName(), configuration);
+
+        received = Collections.synchronizedList(new ArrayList<>());
+        compileDeploy(runtime, "select * from SupportBean").getStatements()[0].addListener((newEvents, oldEvents, statement, rt) -> {
+            for (EventBean event : newEvents) {
+                received.add((SupportBean) event.getUnderlying());
+            }
+        });
+    }
+
+    public void tearDown() {
+        runtime.destroy();
+    }
+
+    public void testLanes() {
+        MockConsumer<Object, Object> consumer = makeConsumer();
+        for (int i = 0; i < NUM_RECORDS; i++) {
+            for (int p = 0; p < NUM_PARTITIONS; p++) {
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, p, i, null, new SupportBean("P" + p, i)));
+            }
+        }
+        consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, NUM_RECORDS, null, null));
+
+        EsperIOKafkaInputProcessorParallel processor = makeProcessor(consumer, null);
+        processor.process(consumer.poll(Duration.ZERO));
+
+        assertReceivedInPartitionOrder();
+        Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(getPartitions());
+        assertEquals(NUM_RECORDS + 1, committed.get(new TopicPartition(TOPIC, 0)).offset());
+        for (int p = 1; p < NUM_PARTITIONS; p++) {
+            assertEquals(NUM_RECORDS, committed.get(new TopicPartition(TOPIC, p)).offset());
+        }
+
+        processor.close();
+    }
+
+    public void testLaneDeserializer() {
+        MockConsumer<Object, Object> consumer = makeConsumer();
+        for (int i = 0; i < NUM_RECORDS; i++) {
+            for (int p = 0; p < NUM_PARTITIONS; p++) {
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, p, i, null, SerializerUtil.objectToByteArr(new SupportBean("P" + p, i))));
+            }
+        }
+
+        EsperIOKafkaInputProcessorParallel processor = makeProcessor(consumer, SupportBeanFromByteArrayDeserializer.class.getName());
+        processor.process(consumer.poll(Duration.ZERO));
+
+        assertReceivedInPartitionOrder();
+        for (OffsetAndMetadata offset : consumer.committed(getPartitions()).values()) {
+            assertEquals(NUM_RECORDS, offset.offset());
+        }
+
+        processor.close();
+    }
+
+    public void testUnknownTypeNotCommitted() {
+        MockConsumer<Object, Object> consumer = makeConsumer();
+        consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, 0, null, new SupportBean("P0", 0)));
+        consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, 1, null, "not an event"));
+        consumer.addRecord(new ConsumerRecord<>(TOPIC, 1, 0, null, new SupportBean("P1", 0)));
+
+        EsperIOKafkaInputProcessorParallel processor = makeProcessor(consumer, null);
+        processor.process(consumer.poll(Duration.ZERO));
+
+        assertEquals(2, received.size());
+        Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(getPartitions());
+        assertEquals(1, committed.get(new TopicPartition(TOPIC, 0)).offset());
+        assertEquals(1, committed.get(new TopicPartition(TOPIC, 1)).offset());
+
+        processor.close();
+    }
+
+    public void testFailedPartitionRedelivered() {
+        MockConsumer<Object, Object> consumer = makeConsumer();
+        TopicPartition partition = new TopicPartition(TOPIC, 0);
+        List<ConsumerRecord<Object, Object>> records = new ArrayList<>();
+        records.add(new ConsumerRecord<>(TOPIC, 0, 0, null, new SupportBean("P0", 0)));
+        records.add(new ConsumerRecord<>(TOPIC, 0, 1, null, "not an event"));
+        records.add(new ConsumerRecord<>(TOPIC, 0, 2, null, new SupportBean("P0", 2)));
+        records.forEach(consumer::addRecord);
+
+        EsperIOKafkaInputProcessorParallel processor = makeProcessor(consumer, null);
+        processor.process(consumer.poll(Duration.ZERO));
+        assertEquals(1, received.size());
+        assertEquals(1, consumer.position(partition));
+
+        // the next poll returns the records from the first record not processed
+        records.forEach(consumer::addRecord);
+        List<ConsumerRecord<Object, Object>> redelivered = consumer.poll(Duration.ZERO).records(partition);
+        assertEquals(2, redelivered.size());
+        assertEquals(1, redelivered.get(0).offset());
+        assertEquals(2, redelivered.get(1).offset());
+
+        processor.close();
+    }
+
+    public void testInvalid() {
+        Properties properties = makeProperties();
+        properties.put(EsperIOKafkaConfig.INPUT_TIMESTAMPEXTRACTOR_CONFIG, EsperIOKafkaInputTimestampExtractorConsumerRecord.class.getName());
+        tryInvalid(properties, "Processor does not support a timestamp extractor, please use EsperIOKafkaInputProcessorDefault instead");
+
+        properties = makeProperties();
+        properties.put(EsperIOKafkaConfig.INPUT_LANES_CONFIG, "0");
+        tryInvalid(properties, "Invalid value for 'esperio.kafka.input.lanes', expected a positive value but received 0");
+    }
+
+    private void tryInvalid(Properties properties, String message) {
+        try {
+            new EsperIOKafkaInputProcessorParallel().init(new EsperIOKafkaInputProcessorContext(makeConsumer(), (EPRuntimeSPI) runtime, properties, null));
+            fail();
+        } catch (EPException ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+
+    private void assertReceivedInPartitionOrder() {
+        assertEquals(NUM_PARTITIONS * NUM_RECORDS, received.size());
+        Map<String, Integer> last = new HashMap<>();
+        for (SupportBean bean : received) {
+            Integer previous = last.put(bean.getStringProp(), bean.getIntProp());
+            assertEquals(previous == null ? 0 : previous + 1, bean.getIntProp());
+        }
+    }
+
+    private EsperIOKafkaInputProcessorParallel makeProcessor(MockConsumer<Object, Object> consumer, String laneDeserializer) {
+        Properties properties = makeProperties();
+        if (laneDeserializer != null) {
+            properties.put(EsperIOKafkaConfig.INPUT_LANE_DESERIALIZER_CONFIG, laneDeserializer);
+        }
+        EsperIOKafkaInputProcessorParallel processor = new EsperIOKafkaInputProcessorParallel();
+        processor.init(new EsperIOKafkaInputProcessorContext(consumer, (EPRuntimeSPI) runtime, properties, null));
+        return processor;
+    }
+
+    private static Properties makeProperties() {
+        Properties properties = new Properties();
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        properties.put(EsperIOKafkaConfig.INPUT_LANES_CONFIG, "3");
+        return properties;
+    }
+
+    private static MockConsumer<Object, Object> makeConsumer() {
+        MockConsumer<Object, Object> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        Set<TopicPartition> partitions = getPartitions();
+        consumer.assign(partitions);
+        Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            beginningOffsets.put(partition, 0L);
+        }
+        consumer.updateBeginningOffsets(beginningOffsets);
+        return consumer;
+    }
+
+    private static Set<TopicPartition> getPartitions() {
+        Set<TopicPartition> partitions = new HashSet<>();
+        for (int p = 0; p < NUM_PARTITIONS; p++) {
+            partitions.add(new TopicPartition(TOPIC, p));
+        }
+        return partitions;
+    }
+}
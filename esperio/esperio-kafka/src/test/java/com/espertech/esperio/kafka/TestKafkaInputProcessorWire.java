@@ -0,0 +1,92 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.kafka;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.serde.EventWireSerde;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPRuntimeProvider;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import junit.framework.TestCase;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static com.espertech.esperio.kafka.SupportCompileUtil.compileDeploy;
+
+public class TestKafkaInputProcessorWire extends TestCase {
+
+    private static final String TOPIC = "topic";
+
+    private EPRuntime runtime;
+    private List<Object[]> received;
+
+    public void setUp() {
+        Configuration configuration = new Configuration();
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getCompiler().getSerde().setEnableEventWireSerde(true);
+        runtime = EPRuntimeProvider.getRuntime(this.getClass().getSimpleName(), configuration);
+
+        compileDeploy(runtime, "@public @buseventtype create objectarray schema MyEvent(id string, amount double)");
+        received = Collections.synchronizedList(new ArrayList<>());
+        compileDeploy(runtime, "select * from MyEvent").getStatements()[0].addListener((newEvents, oldEvents, statement, rt) -> {
+            for (EventBean event : newEvents) {
+                received.add((Object[]) event.getUnderlying());
+            }
+        });
+    }
+
+    public void tearDown() {
+        runtime.destroy();
+    }
+
+    public void testWire() {
+        EventWireSerde serde = runtime.getEventService().getEventWireSerde("MyEvent");
+        List<ConsumerRecord<Object, Object>> records = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            records.add(new ConsumerRecord<>(TOPIC, 0, i, null, toBytes(serde, new Object[]{"E" + i, i * 1.5d})));
+        }
+        records.add(new ConsumerRecord<>(TOPIC, 0, 10, null, "not bytes"));
+        records.add(new ConsumerRecord<>(TOPIC, 0, 11, null, new byte[]{1, 2, 3}));
+
+        Properties props = new Properties();
+        props.put(EsperIOKafkaConfig.INPUT_EVENTTYPENAME, "MyEvent");
+        EsperIOKafkaInputProcessorWire processor = new EsperIOKafkaInputProcessorWire();
+        processor.init(new EsperIOKafkaInputProcessorContext(null, (EPRuntimeSPI) runtime, props, null));
+        processor.process(new ConsumerRecords<>(Collections.singletonMap(new TopicPartition(TOPIC, 0), records)));
+
+        assertEquals(10, received.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("E" + i, received.get(i)[0]);
+            assertEquals(i * 1.5d, received.get(i)[1]);
+        }
+        processor.close();
+    }
+
+    private static byte[] toBytes(EventWireSerde serde, Object[] underlying) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try {
+            serde.writeUnderlying(underlying, new DataOutputStream(buffer));
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        return buffer.toByteArray();
+    }
+}
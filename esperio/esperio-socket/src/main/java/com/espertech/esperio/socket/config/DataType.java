@@ -14,5 +14,6 @@ public enum DataType {
     OBJECT,
     CSV,
     PROPERTY_ORDERED_CSV,
-    JSON
+    JSON,
+    WIRE
 }
@@ -11,7 +11,9 @@
 package com.espertech.esperio.socket.core;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventSender;
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.serde.EventWireSerde;
 import com.espertech.esper.common.client.type.EPTypeClass;
 import com.espertech.esper.common.client.type.EPTypeNull;
 import com.espertech.esper.common.internal.event.core.*;
@@ -40,6 +42,9 @@ public class WorkerThread extends Thread {
 
     private ObjectInputStream ois;
     private BufferedReader br;
+    private DataInputStream dis;
+    private Map<String, WireCacheEntry> wireCache;
+    private byte[] wireBuffer;
     private boolean isShutdown;
 
     public WorkerThread(String serviceName, EPRuntimeSPI runtime, EsperSocketServiceRunnable runnable, Socket socket, SocketConfig socketConfig) throws IOException {
@@ -60,6 +65,10 @@ public class WorkerThread extends Thread {
 
         if ((socketConfig.getDataType() == null) || (socketConfig.getDataType() == DataType.OBJECT)) {
             ois = new ObjectInputStream(socket.getInputStream());
+        } else if (socketConfig.getDataType() == DataType.WIRE) {
+            dis = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            wireCache = new HashMap<>();
+            wireBuffer = new byte[1024];
         } else {
             br = new BufferedReader(new InputStreamReader(socket.getInputStream()));
         }
@@ -77,6 +86,8 @@ public class WorkerThread extends Thread {
                 if (ois != null) {
                     Object object = ois.readObject();
                     handleObject(object);
+                } else if (dis != null) {
+                    handleWire();
                 } else {
                     String str = br.readLine();
 
@@ -122,6 +133,33 @@ public class WorkerThread extends Thread {
         }
     }
 
+    private void handleWire() throws IOException {
+        // each message is the event type name followed by the length-prefixed event as written by the event wire serde
+        String eventTypeName = dis.readUTF();
+        int length = dis.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid negative message length " + length);
+        }
+        if (length > wireBuffer.length) {
+            wireBuffer = new byte[Math.max(length, wireBuffer.length * 2)];
+        }
+        dis.readFully(wireBuffer, 0, length);
+
+        try {
+            WireCacheEntry cacheEntry = wireCache.get(eventTypeName);
+            if (cacheEntry == null) {
+                EventWireSerde serde = runtime.getEventService().getEventWireSerde(eventTypeName);
+                EventSender sender = runtime.getEventService().getEventSender(eventTypeName);
+                cacheEntry = new WireCacheEntry(serde, sender);
+                wireCache.put(eventTypeName, cacheEntry);
+            }
+            Object underlying = cacheEntry.serde.fromBytes(wireBuffer, 0, length);
+            cacheEntry.sender.sendEvent(underlying);
+        } catch (Throwable t) {
+            log.error("Unexpected exception encountered sending event of type '" + eventTypeName + "' service '" + serviceName + "' :" + t.getMessage(), t);
+        }
+    }
+
     private void handleString(String input) {
         if (input == null) {
             return;
@@ -261,4 +299,14 @@ public class WorkerThread extends Thread {
 
         return new WriterCacheEntry(eventBeanManufacturer, writableProperties, parsers);
     }
+
+    private static class WireCacheEntry {
+        private final EventWireSerde serde;
+        private final EventSender sender;
+
+        private WireCacheEntry(EventWireSerde serde, EventSender sender) {
+            this.serde = serde;
+            this.sender = sender;
+        }
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.client.serde.EventWireSerde;
+import com.espertech.esper.compiler.client.CompilerArguments;
+import com.espertech.esper.compiler.client.EPCompilerProvider;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPRuntimeProvider;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.scopetest.SupportUpdateListener;
+import com.espertech.esperio.socket.config.ConfigurationSocketAdapter;
+import com.espertech.esperio.socket.config.DataType;
+import com.espertech.esperio.socket.config.SocketConfig;
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.espertech.esperio.socket.SupportCompileUtil.compileDeploy;
+
+public class TestSocketAdapterWire extends TestCase {
+
+    public void testSendWire() throws Exception {
+        ConfigurationSocketAdapter adapterConfig = new ConfigurationSocketAdapter();
+        int port = 6802;
+        String runtimeURI = "TestSocketAdapterWire";
+
+        SocketConfig socket = new SocketConfig();
+        socket.setDataType(DataType.WIRE);
+        socket.setPort(port);
+        adapterConfig.getSockets().put("SocketService", socket);
+
+        EsperIOSocketAdapter adapter = new EsperIOSocketAdapter(adapterConfig, runtimeURI);
+
+        Configuration configuration = new Configuration();
+        configuration.getCompiler().getSerde().setEnableEventWireSerde(true);
+        EPRuntime runtime = EPRuntimeProvider.getRuntime(runtimeURI, configuration);
+
+        adapter.start();
+
+        CompilerArguments args = new CompilerArguments(runtime.getConfigurationDeepCopy());
+        EPCompiled compiled = EPCompilerProvider.getCompiler().compile("@public @buseventtype create map schema MyEvent(stringProp string, intProp int)", args);
+        runtime.getDeploymentService().deploy(compiled);
+        EPStatement stmt = compileDeploy(runtime, "select * from MyEvent").getStatements()[0];
+        SupportUpdateListener listener = new SupportUpdateListener();
+        stmt.addListener(listener);
+
+        EventWireSerde serde = runtime.getEventService().getEventWireSerde("MyEvent");
+        String[] fields = "stringProp,intProp".split(",");
+        Socket client = new Socket("localhost", port);
+        DataOutputStream out = new DataOutputStream(client.getOutputStream());
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> event = new HashMap<>();
+            event.put("stringProp", "E" + i);
+            event.put("intProp", i);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            serde.writeUnderlying(event, new DataOutputStream(buffer));
+            byte[] bytes = buffer.toByteArray();
+            out.writeUTF("MyEvent");
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        out.flush();
+        Thread.sleep(200);
+        EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), fields, new Object[][]{{"E0", 0}, {"E1", 1}, {"E2", 2}});
+
+        client.close();
+        adapter.destroy();
+        runtime.destroy();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventTypeException;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.client.serde.EventWireSerde;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportEnum;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ClientRuntimeEventWireSerde implements RegressionExecutionWithConfigure {
+
+    public void configure(Configuration configuration) {
+        configuration.getCompiler().getSerde().setEnableEventWireSerde(true);
+        configuration.getCompiler().getSerde().setEnableSerializable(true);
+        configuration.getCommon().addEventType("ConfiguredMapEvent", Collections.singletonMap("id", String.class));
+    }
+
+    public void run(RegressionEnvironment env) {
+        runAssertionRoundTrip(env);
+        runAssertionFingerprint(env);
+        runAssertionNotAvailable(env);
+        runAssertionInvalid(env);
+    }
+
+    private void runAssertionRoundTrip(RegressionEnvironment env) {
+        String[] fields = "id,amount".split(",");
+        String epl = "@public @buseventtype create map schema MapEvent(id string, amount double);\n" +
+            "@public @buseventtype create objectarray schema OAEvent(id string, amount double);\n" +
+            "@public @buseventtype create json schema JsonEvent(id string, amount double);\n" +
+            "@public @buseventtype create schema BeanEvent as " + SupportBean.class.getName() + ";\n" +
+            "@name('map') select * from MapEvent;\n" +
+            "@name('oa') select * from OAEvent;\n" +
+            "@name('json') select * from JsonEvent;\n" +
+            "@name('bean') select * from BeanEvent;\n";
+        env.compileDeploy(epl).addListener("map").addListener("oa").addListener("json").addListener("bean");
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", "M1");
+        map.put("amount", 10.5d);
+        env.sendEventMap(map, "MapEvent");
+        EventBean mapEvent = env.listener("map").assertOneGetNewAndReset();
+        assertRoundTrip(env, "MapEvent", mapEvent, "map", fields, new Object[]{"M1", 10.5d});
+
+        env.sendEventObjectArray(new Object[]{"O1", 20.5d}, "OAEvent");
+        EventBean oaEvent = env.listener("oa").assertOneGetNewAndReset();
+        assertRoundTrip(env, "OAEvent", oaEvent, "oa", fields, new Object[]{"O1", 20.5d});
+
+        env.sendEventJson("{\"id\": \"J1\", \"amount\": 30.5}", "JsonEvent");
+        EventBean jsonEvent = env.listener("json").assertOneGetNewAndReset();
+        assertRoundTrip(env, "JsonEvent", jsonEvent, "json", fields, new Object[]{"J1", 30.5d});
+
+        SupportBean bean = new SupportBean("B1", 40);
+        bean.setLongBoxed(41L);
+        bean.setDoublePrimitive(42.5d);
+        bean.setEnumValue(SupportEnum.ENUM_VALUE_2);
+        env.eventService().getEventSender("BeanEvent").sendEvent(bean);
+        EventBean beanEvent = env.listener("bean").assertOneGetNewAndReset();
+        assertRoundTrip(env, "BeanEvent", beanEvent, "bean", "theString,intPrimitive,longBoxed,doublePrimitive,intBoxed,enumValue".split(","), new Object[]{"B1", 40, 41L, 42.5d, null, SupportEnum.ENUM_VALUE_2});
+
+        // events of another type cannot be written
+        EventWireSerde serde = env.eventService().getEventWireSerde("MapEvent");
+        try {
+            serde.toBytes(oaEvent);
+            fail();
+        } catch (EPException ex) {
+            assertEquals("Event of type 'OAEvent' cannot be written using the wire serde for event type 'MapEvent'", ex.getMessage());
+        }
+
+        env.undeployAll();
+    }
+
+    private void runAssertionFingerprint(RegressionEnvironment env) {
+        env.compileDeploy("@public @buseventtype create map schema MyEvent(id string, amount double)");
+        EventWireSerde serdeOne = env.eventService().getEventWireSerde("MyEvent");
+        env.undeployAll();
+
+        // same schema yields the same fingerprint
+        env.compileDeploy("@public @buseventtype create map schema MyEvent(amount double, id string)");
+        assertEquals(serdeOne.getSchemaFingerprint(), env.eventService().getEventWireSerde("MyEvent").getSchemaFingerprint());
+        env.undeployAll();
+
+        // changed schema yields another fingerprint and rejects events written for the prior schema
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", "E1");
+        map.put("amount", 1d);
+        byte[] bytes = toBytes(serdeOne, map);
+
+        env.compileDeploy("@public @buseventtype create map schema MyEvent(id string, amount double, qty int)");
+        EventWireSerde serdeTwo = env.eventService().getEventWireSerde("MyEvent");
+        assertNotEquals(serdeOne.getSchemaFingerprint(), serdeTwo.getSchemaFingerprint());
+        try {
+            serdeTwo.fromBytes(bytes, 0, bytes.length);
+            fail();
+        } catch (EPException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().startsWith("Failed to read event of type 'MyEvent': Schema fingerprint " + serdeOne.getSchemaFingerprint() + " does not match the schema fingerprint " + serdeTwo.getSchemaFingerprint()));
+        }
+        env.undeployAll();
+    }
+
+    private void runAssertionNotAvailable(RegressionEnvironment env) {
+        try {
+            env.eventService().getEventWireSerde("ConfiguredMapEvent");
+            fail();
+        } catch (EventTypeException ex) {
+            assertEquals("A wire serde for event type named 'ConfiguredMapEvent' is not available, the event type must be declared by create-schema and compiled with event wire serdes enabled", ex.getMessage());
+        }
+
+        try {
+            env.eventService().getEventWireSerde("Dummy");
+            fail();
+        } catch (EventTypeException ex) {
+            assertEquals("Event type named 'Dummy' could not be found", ex.getMessage());
+        }
+    }
+
+    private void runAssertionInvalid(RegressionEnvironment env) {
+        RegressionPath path = new RegressionPath();
+        env.compileDeploy("@public create schema InnerEvent(id string)", path);
+        env.tryInvalidCompile(path, "create schema OuterEvent(nested InnerEvent)",
+            "Failed to determine wire serde for event type 'OuterEvent': Property 'nested' is an event-typed property and is not supported");
+        env.undeployAll();
+    }
+
+    private static void assertRoundTrip(RegressionEnvironment env, String eventTypeName, EventBean event, String statementName, String[] fields, Object[] expected) {
+        EventWireSerde serde = env.eventService().getEventWireSerde(eventTypeName);
+        assertSame(event.getEventType(), serde.getEventType());
+
+        byte[] bytes = serde.toBytes(event);
+        Object underlying = serde.fromBytes(bytes, 0, bytes.length);
+        assertNotSame(event.getUnderlying(), underlying);
+
+        env.eventService().getEventSender(eventTypeName).sendEvent(underlying);
+        EPAssertionUtil.assertProps(env.listener(statementName).assertOneGetNewAndReset(), fields, expected);
+    }
+
+    private static byte[] toBytes(EventWireSerde serde, Object underlying) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try {
+            serde.writeUnderlying(underlying, new DataOutputStream(buffer));
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventSender;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_A;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionFlag;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ClientRuntimeSendEventBatch {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ClientRuntimeSendEventBatchBean());
+        execs.add(new ClientRuntimeSendEventBatchInsertIntoOrder());
+        execs.add(new ClientRuntimeSendEventBatchMapAndObjectArray());
+        execs.add(new ClientRuntimeSendEventBatchEventSender());
+        execs.add(new ClientRuntimeSendEventBatchUnmatched());
+        return execs;
+    }
+
+    private static class ClientRuntimeSendEventBatchBean implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy("@name('s0') select theString from SupportBean(intPrimitive > 0)").addListener("s0");
+
+            env.eventService().sendEventBeanBatch(Collections.emptyList(), "SupportBean");
+            env.assertListenerNotInvoked("s0");
+
+            env.eventService().sendEventBeanBatch(Arrays.asList(new SupportBean("E1", 1), new SupportBean("E2", 0), new SupportBean("E3", 2)), "SupportBean");
+            env.assertListener("s0", listener -> EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), "theString".split(","), new Object[][]{{"E1"}, {"E3"}}));
+
+            env.undeployAll();
+        }
+
+        public EnumSet<RegressionFlag> flags() {
+            return EnumSet.of(RegressionFlag.RUNTIMEOPS);
+        }
+    }
+
+    private static class ClientRuntimeSendEventBatchInsertIntoOrder implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            // events inserted into a stream are processed before the next event of the batch
+            String epl = "insert into MyStream select theString from SupportBean;\n" +
+                "@name('s0') select theString, (select count(*) from MyStream#keepall) as cnt from SupportBean;\n";
+            env.compileDeploy(epl).addListener("s0");
+
+            env.eventService().sendEventBeanBatch(Arrays.asList(new SupportBean("E1", 1), new SupportBean("E2", 2), new SupportBean("E3", 3)), "SupportBean");
+            env.assertListener("s0", listener -> EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), "theString,cnt".split(","),
+                new Object[][]{{"E1", 0L}, {"E2", 1L}, {"E3", 2L}}));
+
+            env.undeployAll();
+        }
+
+        public EnumSet<RegressionFlag> flags() {
+            return EnumSet.of(RegressionFlag.RUNTIMEOPS);
+        }
+    }
+
+    private static class ClientRuntimeSendEventBatchMapAndObjectArray implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('map') select ident from " + ClientRuntimeListener.MAP_TYPENAME + ";\n" +
+                "@name('oa') select ident from " + ClientRuntimeListener.OA_TYPENAME + ";\n";
+            env.compileDeploy(epl).addListener("map").addListener("oa");
+
+            List<Map<String, Object>> maps = new ArrayList<>();
+            maps.add(Collections.singletonMap("ident", "M1"));
+            maps.add(Collections.singletonMap("ident", "M2"));
+            env.eventService().sendEventMapBatch(maps, ClientRuntimeListener.MAP_TYPENAME);
+            env.assertListener("map", listener -> EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), "ident".split(","), new Object[][]{{"M1"}, {"M2"}}));
+
+            List<Object[]> arrays = new ArrayList<>();
+            arrays.add(new Object[]{"O1"});
+            arrays.add(new Object[]{"O2"});
+            env.eventService().sendEventObjectArrayBatch(arrays, ClientRuntimeListener.OA_TYPENAME);
+            env.assertListener("oa", listener -> EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), "ident".split(","), new Object[][]{{"O1"}, {"O2"}}));
+
+            try {
+                env.eventService().sendEventMapBatch(Arrays.asList(Collections.singletonMap("ident", "M3"), null), ClientRuntimeListener.MAP_TYPENAME);
+                fail();
+            } catch (IllegalArgumentException ex) {
+                // expected
+            }
+
+            env.undeployAll();
+        }
+
+        public EnumSet<RegressionFlag> flags() {
+            return EnumSet.of(RegressionFlag.RUNTIMEOPS);
+        }
+    }
+
+    private static class ClientRuntimeSendEventBatchEventSender implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy("@name('s0') select theString from SupportBean").addListener("s0");
+            EventSender sender = env.eventService().getEventSender("SupportBean");
+
+            sender.sendEvents(Arrays.asList(new SupportBean("E1", 1), new SupportBean("E2", 2)));
+            env.assertListener("s0", listener -> {
+                EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), "theString".split(","), new Object[][]{{"E1"}, {"E2"}});
+                listener.reset();
+            });
+
+            // all events are checked before any is processed
+            try {
+                sender.sendEvents(Arrays.asList(new SupportBean("E3", 3), new SupportBean_A("A1")));
+                fail();
+            } catch (EPException ex) {
+                // expected
+            }
+            env.assertListenerNotInvoked("s0");
+
+            env.undeployAll();
+        }
+
+        public EnumSet<RegressionFlag> flags() {
+            return EnumSet.of(RegressionFlag.RUNTIMEOPS);
+        }
+    }
+
+    private static class ClientRuntimeSendEventBatchUnmatched implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            ClientRuntimeUnmatchedListener.MyUnmatchedListener listener = new ClientRuntimeUnmatchedListener.MyUnmatchedListener();
+            env.eventService().setUnmatchedListener(listener);
+            env.compileDeploy("@name('s0') select * from SupportBean(intPrimitive = 1)").addListener("s0");
+
+            env.eventService().sendEventBeanBatch(Arrays.asList(new SupportBean("E1", 0), new SupportBean("E2", 1), new SupportBean("E3", 0)), "SupportBean");
+            assertEquals(2, listener.getReceived().size());
+            assertEquals("E1", listener.getReceived().get(0).get("theString"));
+            assertEquals("E3", listener.getReceived().get(1).get("theString"));
+            env.assertEqualsNew("s0", "theString", "E2");
+
+            env.eventService().setUnmatchedListener(null);
+            env.undeployAll();
+        }
+
+        public EnumSet<RegressionFlag> flags() {
+            return EnumSet.of(RegressionFlag.RUNTIMEOPS);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventTypeException;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryResult;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.compiler.client.CompilerArguments;
+import com.espertech.esper.compiler.client.EPCompileException;
+import com.espertech.esper.compiler.client.EPCompilerProvider;
+import com.espertech.esper.runtime.client.EPDeployException;
+import com.espertech.esper.runtime.client.EPUndeployException;
+import com.espertech.esper.runtime.client.shard.EPShardedRuntime;
+import com.espertech.esper.runtime.client.shard.EPShardedRuntimeProvider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ClientRuntimeShardedRuntime {
+    private final static int NUM_SHARDS = 4;
+    private final static int NUM_KEYS = 20;
+    private final static int NUM_THREADS = 4;
+    private final static int NUM_EVENTS_PER_KEY = 50;
+
+    public void run(Configuration configuration) {
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getCommon().addEventType(SupportBean.class);
+        configuration.getCommon().addEventType(SupportBean_S0.class);
+        EPShardedRuntime sharded = EPShardedRuntimeProvider.getShardedRuntime(ClientRuntimeShardedRuntime.class.getSimpleName(), configuration, NUM_SHARDS);
+        assertEquals(NUM_SHARDS, sharded.getNumShards());
+        assertEquals(ClientRuntimeShardedRuntime.class.getSimpleName() + "-shard-1", sharded.getShard(1).getURI());
+        sharded.addShardKey("SupportBean", "theString");
+
+        String epl = "create json schema ShardJsonNested(k string);\n" +
+            "@public create window MyWindow#keepall as SupportBean;\n" +
+            "insert into MyWindow select * from SupportBean;\n" +
+            "@name('total') select theString, sum(intPrimitive) as total from SupportBean group by theString;\n" +
+            "@name('broadcast') select * from SupportBean_S0;\n" +
+            "@public @buseventtype create json schema ShardJsonEvent(k string, n ShardJsonNested);\n";
+        String deploymentId = deploy(sharded, compile(epl, configuration));
+
+        Map<String, Integer> totals = new HashMap<>();
+        List<Integer> broadcast = new ArrayList<>();
+        sharded.addListener(deploymentId, "total", (newEvents, oldEvents, statement, runtime) -> {
+            for (EventBean event : newEvents) {
+                totals.put((String) event.get("theString"), (Integer) event.get("total"));
+            }
+        });
+        sharded.addListener(deploymentId, "broadcast", (newEvents, oldEvents, statement, runtime) -> broadcast.add(newEvents.length));
+
+        // send from multiple threads, each key by one thread
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        for (int t = 0; t < NUM_THREADS; t++) {
+            final int thread = t;
+            executor.submit(() -> {
+                for (int i = 0; i < NUM_EVENTS_PER_KEY; i++) {
+                    for (int k = thread; k < NUM_KEYS; k += NUM_THREADS) {
+                        sharded.sendEventBean(new SupportBean("K" + k, 1), "SupportBean");
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        try {
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+
+        // each key is processed by one shard, so the total for each key counts all events of the key
+        assertEquals(NUM_KEYS, totals.size());
+        for (int k = 0; k < NUM_KEYS; k++) {
+            assertEquals(NUM_EVENTS_PER_KEY, (int) totals.get("K" + k));
+        }
+
+        // rows are held by the shard of the key
+        Set<Integer> shardsUsed = new HashSet<>();
+        for (int k = 0; k < NUM_KEYS; k++) {
+            int shard = sharded.getShardForEvent(new SupportBean("K" + k, 0), "SupportBean");
+            shardsUsed.add(shard);
+            EPCompiled query = compileQuery("select count(*) as cnt from MyWindow where theString = 'K" + k + "'", configuration, sharded);
+            assertEquals((long) NUM_EVENTS_PER_KEY, sharded.getShard(shard).getFireAndForgetService().executeQuery(query).getArray()[0].get("cnt"));
+        }
+        assertTrue(shardsUsed.size() > 1);
+
+        // fire-and-forget query gathers rows from all shards
+        EPFireAndForgetQueryResult result = sharded.executeQuery(compileQuery("select * from MyWindow", configuration, sharded));
+        assertEquals(NUM_KEYS * NUM_EVENTS_PER_KEY, result.getArray().length);
+        assertEquals("MyWindow", result.getEventType().getName());
+
+        // events of types without shard key go to all shards
+        assertEquals(-1, sharded.getShardForEvent(new SupportBean_S0(1), "SupportBean_S0"));
+        sharded.sendEventBean(new SupportBean_S0(1), "SupportBean_S0");
+        assertEquals(NUM_SHARDS, broadcast.size());
+
+        // hash code function
+        sharded.addShardKey("SupportBean", "intPrimitive", "hash_code");
+        assertEquals(3, sharded.getShardForEvent(new SupportBean("X", 7), "SupportBean"));
+
+        // for duplicate Json member names the last top-level member is the shard key, same as when parsing the event
+        sharded.addShardKey("ShardJsonEvent", "k");
+        String keyFirst = "K0";
+        String keyLast = "K1";
+        while (shardForJson(sharded, keyLast) == shardForJson(sharded, keyFirst)) {
+            keyLast = "K" + (Integer.parseInt(keyLast.substring(1)) + 1);
+        }
+        String json = "{\"k\": \"" + keyFirst + "\", \"n\": {\"k\": \"" + keyFirst + "\"}, \"k\": \"" + keyLast + "\"}";
+        assertEquals(shardForJson(sharded, keyLast), sharded.getShardForEvent(json, "ShardJsonEvent"));
+
+        // invalid
+        try {
+            sharded.addShardKey("SupportBean", "theString", "dummy");
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Invalid hash function 'dummy', expecting any of the following: consistent_hash_crc32, hash_code", ex.getMessage());
+        }
+        sharded.addShardKey("SupportBean", "dummy");
+        try {
+            sharded.sendEventBean(new SupportBean(), "SupportBean");
+            fail();
+        } catch (EventTypeException ex) {
+            assertEquals("Shard key property named 'dummy' is not a valid property of event type 'SupportBean'", ex.getMessage());
+        }
+        sharded.addShardKey("Dummy", "dummy");
+        try {
+            sharded.sendEventMap(new HashMap<>(), "Dummy");
+            fail();
+        } catch (EventTypeException ex) {
+            assertEquals("Event type named 'Dummy' could not be found", ex.getMessage());
+        }
+
+        try {
+            sharded.undeploy(deploymentId);
+        } catch (EPUndeployException e) {
+            throw new RuntimeException(e);
+        }
+        for (int i = 0; i < NUM_SHARDS; i++) {
+            assertEquals(0, sharded.getShard(i).getDeploymentService().getDeployments().length);
+        }
+        sharded.destroy();
+        assertTrue(sharded.getShard(0).isDestroyed());
+    }
+
+    private static int shardForJson(EPShardedRuntime sharded, String key) {
+        return sharded.getShardForEvent("{\"k\": \"" + key + "\"}", "ShardJsonEvent");
+    }
+
+    private static EPCompiled compile(String epl, Configuration configuration) {
+        try {
+            return EPCompilerProvider.getCompiler().compile(epl, new CompilerArguments(configuration));
+        } catch (EPCompileException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static EPCompiled compileQuery(String epl, Configuration configuration, EPShardedRuntime sharded) {
+        CompilerArguments args = new CompilerArguments(configuration);
+        args.getPath().add(sharded.getShard(0).getRuntimePath());
+        try {
+            return EPCompilerProvider.getCompiler().compileQuery(epl, args);
+        } catch (EPCompileException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String deploy(EPShardedRuntime sharded, EPCompiled compiled) {
+        try {
+            return sharded.deploy(compiled);
+        } catch (EPDeployException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.epl.namedwindow.core.NamedWindowInstance;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionFlag;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.regressionlib.support.util.SupportInfraUtil;
+import com.espertech.esper.runtime.client.EPSnapshotService;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ClientRuntimeSnapshot {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ClientRuntimeSnapshotNamedWindowAndTable());
+        execs.add(new ClientRuntimeSnapshotInvalid());
+        return execs;
+    }
+
+    private static class ClientRuntimeSnapshotNamedWindowAndTable implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('create') @public create window MyWindow#keepall as (id string, amount int, price double);\n" +
+                "@public create index MyWindowIdx on MyWindow(id);\n" +
+                "@public create map schema MyMapType as (id string, amount int);\n" +
+                "@public create window MyMapWindow#length(2) as MyMapType;\n" +
+                "@public create window MyBeanWindow#keepall as SupportBean;\n" +
+                "@name('table') @public create table MyTable(id string primary key, amount int, cnt count(*));\n" +
+                "insert into MyWindow select theString as id, intPrimitive as amount, doublePrimitive as price from SupportBean;\n" +
+                "insert into MyMapWindow select theString as id, intPrimitive as amount from SupportBean;\n" +
+                "insert into MyBeanWindow select * from SupportBean;\n" +
+                "on SupportBean merge MyTable where id = theString when not matched then insert select theString as id, intPrimitive as amount;\n" +
+                "into table MyTable select count(*) as cnt from SupportBean_S0 group by p00;\n" +
+                "@name('s0') select * from MyWindow;\n";
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy(epl, path);
+            EPCompiled compiled = path.getCompileds().get(0);
+
+            for (int i = 0; i < 3; i++) {
+                env.sendEventBean(makeBean("E" + i, i, i * 1.5));
+            }
+            env.sendEventBean(new SupportBean_S0(1, "E1"));
+
+            File file = makeFile();
+            try {
+                EPSnapshotService snapshotService = env.runtime().getSnapshotService();
+                long rows = snapshotService.snapshot(env.deploymentId("create"), file);
+                assertEquals(3 + 2 + 3 + 3, rows);
+
+                // redeploy and restore into empty named windows and tables
+                env.undeployAll();
+                env.deploy(compiled).addListener("s0");
+                rows = snapshotService.restore(env.deploymentId("create"), file);
+                assertEquals(3 + 2 + 3 + 3, rows);
+                env.assertListenerNotInvoked("s0");
+
+                String[] fields = "id,amount,price".split(",");
+                env.assertPropsPerRowIteratorAnyOrder("create", fields, new Object[][]{{"E0", 0, 0d}, {"E1", 1, 1.5d}, {"E2", 2, 3d}});
+                EventBean[] result = env.compileExecuteFAF("select * from MyWindow where id = 'E2'", path).getArray();
+                EPAssertionUtil.assertPropsPerRow(result, fields, new Object[][]{{"E2", 2, 3d}});
+                result = env.compileExecuteFAF("select * from MyMapWindow order by id", path).getArray();
+                EPAssertionUtil.assertPropsPerRow(result, "id,amount".split(","), new Object[][]{{"E1", 1}, {"E2", 2}});
+                result = env.compileExecuteFAF("select theString, intPrimitive from MyBeanWindow order by theString", path).getArray();
+                EPAssertionUtil.assertPropsPerRow(result, "theString,intPrimitive".split(","), new Object[][]{{"E0", 0}, {"E1", 1}, {"E2", 2}});
+
+                // the explicit index holds the restored rows
+                env.assertThat(() -> {
+                    NamedWindowInstance instance = SupportInfraUtil.getInstanceNoContextNW(env, "create", "MyWindow");
+                    assertEquals(3, instance.getRootViewInstance().getIndexRepository().getExplicitIndexByName("MyWindowIdx", null).getNumKeys());
+                    assertEquals(3, instance.getCountDataWindow());
+                });
+
+                // without table aggregation serdes the aggregation state starts from initial state
+                result = env.compileExecuteFAF("select id, amount, cnt from MyTable order by id", path).getArray();
+                EPAssertionUtil.assertPropsPerRow(result, "id,amount,cnt".split(","), new Object[][]{{"E0", 0, 0L}, {"E1", 1, 0L}, {"E2", 2, 0L}});
+
+                // processing continues on restored rows
+                env.sendEventBean(new SupportBean_S0(2, "E2"));
+                env.sendEventBean(makeBean("E3", 3, 4.5));
+                env.assertPropsNew("s0", fields, new Object[]{"E3", 3, 4.5d});
+                result = env.compileExecuteFAF("select id, cnt from MyTable where id = 'E2'", path).getArray();
+                EPAssertionUtil.assertPropsPerRow(result, "id,cnt".split(","), new Object[][]{{"E2", 1L}});
+                result = env.compileExecuteFAF("select id from MyMapWindow order by id", path).getArray();
+                EPAssertionUtil.assertPropsPerRow(result, "id".split(","), new Object[][]{{"E2"}, {"E3"}});
+
+                // restore requires empty named windows and tables
+                try {
+                    snapshotService.restore(env.deploymentId("create"), file);
+                    fail();
+                } catch (EPException ex) {
+                    assertEquals("Named window 'MyWindow' is not empty", ex.getMessage());
+                }
+            } finally {
+                file.delete();
+            }
+
+            env.undeployAll();
+        }
+
+        public EnumSet<RegressionFlag> flags() {
+            return EnumSet.of(RegressionFlag.RUNTIMEOPS);
+        }
+    }
+
+    private static class ClientRuntimeSnapshotInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            EPSnapshotService snapshotService = env.runtime().getSnapshotService();
+            File file = makeFile();
+            try {
+                try {
+                    snapshotService.snapshot("dummy", file);
+                    fail();
+                } catch (EPException ex) {
+                    assertEquals("Deployment 'dummy' not found", ex.getMessage());
+                }
+
+                String epl = "@name('ctx') create context MyContext partition by theString from SupportBean;\n" +
+                    "@name('create') context MyContext create window MyWindow#keepall as SupportBean;\n";
+                env.compileDeploy(epl);
+                try {
+                    snapshotService.snapshot(env.deploymentId("create"), file);
+                    fail();
+                } catch (EPException ex) {
+                    assertEquals("Snapshot of named window 'MyWindow' is not supported as the named window is associated to a context", ex.getMessage());
+                }
+                env.undeployAll();
+
+                // snapshot of a named window restored into a deployment without the named window
+                env.compileDeploy("@name('create') create window MyWindow#keepall as SupportBean");
+                snapshotService.snapshot(env.deploymentId("create"), file);
+                env.undeployAll();
+                env.compileDeploy("@name('create') create window MyOtherWindow#keepall as SupportBean");
+                String deploymentId = env.deploymentId("create");
+                try {
+                    snapshotService.restore(deploymentId, file);
+                    fail();
+                } catch (EPException ex) {
+                    assertEquals("Named window 'MyWindow' of the snapshot is not found in deployment '" + deploymentId + "'", ex.getMessage());
+                }
+                env.undeployAll();
+            } finally {
+                file.delete();
+            }
+        }
+
+        public EnumSet<RegressionFlag> flags() {
+            return EnumSet.of(RegressionFlag.RUNTIMEOPS, RegressionFlag.INVALIDITY);
+        }
+    }
+
+    private static SupportBean makeBean(String theString, int intPrimitive, double doublePrimitive) {
+        SupportBean bean = new SupportBean(theString, intPrimitive);
+        bean.setDoublePrimitive(doublePrimitive);
+        return bean;
+    }
+
+    private static File makeFile() {
+        try {
+            return File.createTempFile("esper-snapshot", ".bin");
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
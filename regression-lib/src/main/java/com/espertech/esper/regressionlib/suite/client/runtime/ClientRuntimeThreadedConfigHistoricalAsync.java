@@ -0,0 +1,199 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.regressionlib.framework.RegressionFlag;
+import com.espertech.esper.regressionlib.support.util.SupportExceptionHandlerFactory;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import com.espertech.esper.runtime.internal.kernel.thread.HistoricalPollAsyncServiceImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+public class ClientRuntimeThreadedConfigHistoricalAsync implements RegressionExecutionWithConfigure {
+    private final static int MAX_IN_FLIGHT = 10;
+    private final static long TIMEOUT_MSEC = 500;
+    private final static int NUM_THREADS = 2;
+    private final static int CAPACITY = 1;
+    private final static List<String> FETCHES = Collections.synchronizedList(new ArrayList<>());
+    private final static Set<String> FETCH_THREADS = ConcurrentHashMap.newKeySet();
+    private static volatile long fetchSleepMSec;
+
+    public void configure(Configuration configuration) {
+        SupportExceptionHandlerFactory.getFactoryContexts().clear();
+        SupportExceptionHandlerFactory.getHandlers().clear();
+        configuration.getRuntime().getExceptionHandling().getHandlerFactories().clear();
+        configuration.getRuntime().getExceptionHandling().addClass(SupportExceptionHandlerFactory.class);
+
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getRuntime().getThreading().setThreadPoolHistorical(true);
+        configuration.getRuntime().getThreading().setThreadPoolHistoricalNumThreads(NUM_THREADS);
+        configuration.getRuntime().getThreading().setThreadPoolHistoricalMaxInFlight(MAX_IN_FLIGHT);
+        configuration.getRuntime().getThreading().setThreadPoolHistoricalTimeout(TIMEOUT_MSEC);
+        configuration.getRuntime().getThreading().setThreadPoolHistoricalCapacity(CAPACITY);
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+        configuration.getCommon().addImport(ClientRuntimeThreadedConfigHistoricalAsync.class);
+    }
+
+    @Override
+    public boolean enableHATest() {
+        return false;
+    }
+
+    public void run(RegressionEnvironment env) {
+        HistoricalPollAsyncServiceImpl service = ((EPRuntimeSPI) env.runtime()).getServicesContext().getThreadingService().getHistoricalPollAsyncService();
+        assertEquals(MAX_IN_FLIGHT, service.getMaxInFlight());
+        assertEquals(TIMEOUT_MSEC, service.getTimeoutMSec());
+
+        runAssertionDeferred(env);
+        runAssertionSaturated(env);
+        runAssertionTimeout(env);
+    }
+
+    public EnumSet<RegressionFlag> flags() {
+        return EnumSet.of(RegressionFlag.RUNTIMEOPS);
+    }
+
+    public static SupportBean_S0 fetchSlow(String id) {
+        FETCHES.add(id);
+        FETCH_THREADS.add(Thread.currentThread().getName());
+        try {
+            Thread.sleep(fetchSleepMSec);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        return new SupportBean_S0(0, "|" + id + "|");
+    }
+
+    private static void runAssertionDeferred(RegressionEnvironment env) {
+        FETCHES.clear();
+        FETCH_THREADS.clear();
+        fetchSleepMSec = 200;
+        List<EventBean> received = deploy(env, "s0");
+
+        // sending does not wait for the poll, rows for the same key share the poll
+        long start = System.currentTimeMillis();
+        env.sendEventBean(new SupportBean("E1", 1));
+        env.sendEventBean(new SupportBean("E2", 2));
+        env.sendEventBean(new SupportBean("E1", 3));
+        assertTrue(System.currentTimeMillis() - start < fetchSleepMSec);
+        assertTrue(received.isEmpty());
+
+        awaitReceived(received, 3);
+        List<String> rows = new ArrayList<>();
+        synchronized (received) {
+            for (EventBean event : received) {
+                assertEquals("|" + event.get("c0") + "|", event.get("c2"));
+                rows.add(event.get("c0") + "/" + event.get("c1"));
+            }
+        }
+        Collections.sort(rows);
+        assertEquals("[E1/1, E1/3, E2/2]", rows.toString());
+        assertEquals(2, FETCHES.size());
+        for (String name : FETCH_THREADS) {
+            assertTrue(name, name.startsWith("com.espertech.esper.HistoricalPoll-"));
+        }
+
+        env.undeployAll();
+    }
+
+    private static void runAssertionSaturated(RegressionEnvironment env) {
+        FETCHES.clear();
+        FETCH_THREADS.clear();
+        fetchSleepMSec = 200;
+        int numStatements = NUM_THREADS + CAPACITY + 1;
+        List<List<EventBean>> received = new ArrayList<>();
+        for (int i = 0; i < numStatements; i++) {
+            received.add(deploy(env, "s" + i));
+        }
+
+        // the pool threads and the queue cannot take all polls, the sending thread polls for the statements that the pool rejects
+        env.sendEventBean(new SupportBean("E5", 5));
+        assertTrue(FETCH_THREADS.contains(Thread.currentThread().getName()));
+        int numJoinedWhenSent = 0;
+        for (List<EventBean> receivedStatement : received) {
+            numJoinedWhenSent += receivedStatement.size();
+        }
+        assertTrue(numJoinedWhenSent >= 1);
+
+        for (List<EventBean> receivedStatement : received) {
+            awaitReceived(receivedStatement, 1);
+        }
+        assertEquals(numStatements, FETCHES.size());
+
+        env.undeployAll();
+    }
+
+    private static void runAssertionTimeout(RegressionEnvironment env) {
+        fetchSleepMSec = TIMEOUT_MSEC * 3;
+        SupportExceptionHandlerFactory.SupportExceptionHandler handler = SupportExceptionHandlerFactory.getHandlers().get(SupportExceptionHandlerFactory.getHandlers().size() - 1);
+        handler.getContexts().clear();
+        List<EventBean> received = deploy(env, "s0");
+
+        // the inner join produces no row for an event that timed out, the exception handler receives the timeout
+        env.sendEventBean(new SupportBean("E3", 4));
+        long deadline = System.currentTimeMillis() + 10000;
+        while (handler.getContexts().isEmpty()) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            sleep(10);
+        }
+        assertEquals("s0", handler.getContexts().get(0).getStatementName());
+        assertTrue(handler.getContexts().get(0).getThrowable().getMessage().contains("did not complete within " + TIMEOUT_MSEC + " milliseconds"));
+        sleep(100);
+        assertTrue(received.isEmpty());
+
+        env.undeployAll();
+        fetchSleepMSec = 0;
+    }
+
+    private static List<EventBean> deploy(RegressionEnvironment env, String name) {
+        String epl = "@name('" + name + "') select s.theString as c0, s.intPrimitive as c1, m.p00 as c2 from SupportBean as s, " +
+            "method:ClientRuntimeThreadedConfigHistoricalAsync.fetchSlow(theString) as m";
+        env.compileDeploy(epl);
+        List<EventBean> received = Collections.synchronizedList(new ArrayList<>());
+        env.statement(name).addListener((newEvents, oldEvents, statement, runtime) -> {
+            if (newEvents != null) {
+                Collections.addAll(received, newEvents);
+            }
+        });
+        return received;
+    }
+
+    private static void awaitReceived(List<EventBean> received, int count) {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (received.size() < count) {
+            assertTrue("Received " + received.size(), System.currentTimeMillis() < deadline);
+            sleep(10);
+        }
+        sleep(50);
+        assertEquals(count, received.size());
+    }
+
+    private static void sleep(long msec) {
+        try {
+            Thread.sleep(msec);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
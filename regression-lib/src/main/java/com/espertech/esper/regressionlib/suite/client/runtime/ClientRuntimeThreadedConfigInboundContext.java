@@ -0,0 +1,169 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.internal.context.controller.hash.ContextControllerHashedGetterCRC32SingleForge;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.regressionlib.framework.RegressionFlag;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.UpdateListener;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import com.espertech.esper.runtime.internal.kernel.thread.InboundLaneContextRouter;
+import com.espertech.esper.runtime.internal.kernel.thread.ThreadingService;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ClientRuntimeThreadedConfigInboundContext implements RegressionExecutionWithConfigure {
+    private final static int NUM_THREADS = 4;
+    private final static int GRANULARITY = 16;
+    private final static int NUM_KEYS = 40;
+    private final static int NUM_EVENTS_PER_KEY = 250;
+
+    public void configure(Configuration configuration) {
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getRuntime().getThreading().setThreadPoolInbound(true);
+        configuration.getRuntime().getThreading().setThreadPoolInboundNumThreads(NUM_THREADS);
+        configuration.getRuntime().getThreading().setThreadPoolInboundPartitionContext("SegmentedByString");
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+        configuration.getCommon().addEventType("SupportBean_S0", SupportBean_S0.class);
+    }
+
+    public EnumSet<RegressionFlag> flags() {
+        return EnumSet.of(RegressionFlag.RUNTIMEOPS, RegressionFlag.MULTITHREADED);
+    }
+
+    public void run(RegressionEnvironment env) {
+        EPRuntimeSPI spi = (EPRuntimeSPI) env.runtime();
+        ThreadingService threadingService = spi.getServicesContext().getThreadingService();
+        InboundLaneContextRouter router = threadingService.getInboundLaneContextRouter();
+        assertEquals(NUM_THREADS, threadingService.getInboundLanes().length);
+
+        // the router is internal and not a listener visible to the application, removing application listeners retains the router
+        assertFalse(env.runtime().getContextPartitionService().getContextStateListeners().hasNext());
+        env.runtime().getContextPartitionService().removeContextStateListeners();
+
+        // not assigned by context before the context exists
+        assertEquals(-1, router.getBucket(makeBean(spi, "K0")));
+
+        String epl = "@public create context SegmentedByString coalesce by consistent_hash_crc32(theString) from SupportBean granularity " + GRANULARITY + ";\n" +
+            "@name('s0') context SegmentedByString select context.id as cpid, theString as key, count(*) as cnt, sum(intPrimitive) as total from SupportBean group by theString;\n" +
+            "@name('s1') select id from SupportBean_S0;\n";
+        env.compileDeploy(epl);
+        MyThreadCapturingListener listener = new MyThreadCapturingListener();
+        env.statement("s0").addListener(listener);
+        MyThreadCapturingListener listenerS0 = new MyThreadCapturingListener();
+        env.statement("s1").addListener(listenerS0);
+
+        for (int i = 0; i < NUM_KEYS; i++) {
+            String key = "K" + i;
+            assertEquals(ContextControllerHashedGetterCRC32SingleForge.stringToCRC32Hash(key, GRANULARITY), router.getBucket(makeBean(spi, key)));
+        }
+
+        // interleave keys so that all lanes receive submissions, and interleave an event type the context does not list
+        for (int i = 0; i < NUM_EVENTS_PER_KEY; i++) {
+            for (int key = 0; key < NUM_KEYS; key++) {
+                env.sendEventBean(new SupportBean("K" + key, i));
+            }
+            env.sendEventBean(new SupportBean_S0(i));
+        }
+
+        listener.waitFor(NUM_KEYS * NUM_EVENTS_PER_KEY);
+        listenerS0.waitFor(NUM_EVENTS_PER_KEY);
+        listener.assertSingleThreadPerPartition();
+
+        // all events of a key are evaluated in the same context partition by the same thread, in order
+        Map<Object, Object[]> lastPerKey = listener.getLastPerKey();
+        assertEquals(NUM_KEYS, lastPerKey.size());
+        long expectedTotal = (long) NUM_EVENTS_PER_KEY * (NUM_EVENTS_PER_KEY - 1) / 2;
+        for (Object[] last : lastPerKey.values()) {
+            assertEquals((long) NUM_EVENTS_PER_KEY, last[0]);
+            assertEquals((int) expectedTotal, last[1]);
+        }
+        assertTrue(listener.getThreads().size() > 1);
+
+        // not assigned by context after the context is destroyed
+        env.undeployAll();
+        assertEquals(-1, router.getBucket(makeBean(spi, "K0")));
+    }
+
+    private static EventBean makeBean(EPRuntimeSPI spi, String key) {
+        return spi.getServicesContext().getEventBeanTypedEventFactory().adapterForTypedBean(new SupportBean(key, 0), spi.getEventTypeService().getEventTypePreconfigured("SupportBean"));
+    }
+
+    private static class MyThreadCapturingListener implements UpdateListener {
+        private final List<Object[]> received = new ArrayList<>();
+
+        public synchronized void update(EventBean[] newEvents, EventBean[] oldEvents, EPStatement statement, EPRuntime runtime) {
+            for (EventBean event : newEvents) {
+                if (statement.getName().equals("s0")) {
+                    received.add(new Object[]{event.get("cpid"), event.get("key"), event.get("cnt"), event.get("total"), Thread.currentThread()});
+                } else {
+                    received.add(new Object[]{null, null, null, null, Thread.currentThread()});
+                }
+            }
+        }
+
+        synchronized void waitFor(int numEvents) {
+            long deadline = System.currentTimeMillis() + 10000;
+            while (received.size() < numEvents) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    fail("Received " + received.size() + " events, expected " + numEvents);
+                }
+                try {
+                    wait(10);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            assertEquals(numEvents, received.size());
+        }
+
+        synchronized void assertSingleThreadPerPartition() {
+            Map<Object, Thread> threads = new HashMap<>();
+            for (Object[] row : received) {
+                Thread thread = threads.get(row[0]);
+                if (thread == null) {
+                    threads.put(row[0], (Thread) row[4]);
+                } else {
+                    assertSame(thread, row[4]);
+                }
+            }
+        }
+
+        synchronized Map<Object, Object[]> getLastPerKey() {
+            Map<Object, Object[]> last = new HashMap<>();
+            for (Object[] row : received) {
+                Object[] previous = last.get(row[1]);
+                long count = previous == null ? 1 : (Long) previous[0] + 1;
+                assertEquals(count, row[2]);
+                last.put(row[1], new Object[]{row[2], row[3]});
+            }
+            return last;
+        }
+
+        synchronized Set<Thread> getThreads() {
+            Set<Thread> threads = new HashSet<>();
+            for (Object[] row : received) {
+                threads.add((Thread) row[4]);
+            }
+            return threads;
+        }
+    }
+}
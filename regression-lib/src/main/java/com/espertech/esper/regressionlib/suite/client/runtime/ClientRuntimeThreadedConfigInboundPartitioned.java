@@ -0,0 +1,142 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventSender;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.metric.InboundLaneMetric;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.regressionlib.framework.RegressionFlag;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.UpdateListener;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import com.espertech.esper.runtime.internal.kernel.thread.ThreadingService;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ClientRuntimeThreadedConfigInboundPartitioned implements RegressionExecutionWithConfigure {
+    private final static int NUM_KEYS = 8;
+    private final static int NUM_EVENTS_PER_KEY = 1000;
+
+    public void configure(Configuration configuration) {
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getRuntime().getThreading().setThreadPoolInbound(true);
+        configuration.getRuntime().getThreading().setThreadPoolInboundNumThreads(4);
+        configuration.getRuntime().getThreading().setThreadPoolInboundCapacity(100);
+        configuration.getRuntime().getThreading().setThreadPoolInboundPartitionProperty("theString");
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+        configuration.getCommon().addEventType("MyMap", Collections.singletonMap("id", Integer.class));
+    }
+
+    public EnumSet<RegressionFlag> flags() {
+        return EnumSet.of(RegressionFlag.RUNTIMEOPS, RegressionFlag.MULTITHREADED);
+    }
+
+    public void run(RegressionEnvironment env) {
+        MyThreadCapturingListener listenerBean = new MyThreadCapturingListener();
+        MyThreadCapturingListener listenerMap = new MyThreadCapturingListener();
+        env.compileDeploy("@name('s0') select theString as key, intPrimitive as seq from SupportBean").statement("s0").addListener(listenerBean);
+        env.compileDeploy("@name('s1') select 'map' as key, id as seq from MyMap").statement("s1").addListener(listenerMap);
+
+        // alternate keys so that each lane receives interleaved submissions
+        EventSender senderBean = env.eventService().getEventSender("SupportBean");
+        for (int i = 0; i < NUM_EVENTS_PER_KEY; i++) {
+            for (int key = 0; key < NUM_KEYS; key++) {
+                if (key % 2 == 0) {
+                    env.sendEventBean(new SupportBean("K" + key, i));
+                } else {
+                    senderBean.sendEvent(new SupportBean("K" + key, i));
+                }
+            }
+            // the map type has no partition property and is assigned by event type name
+            env.sendEventMap(Collections.singletonMap("id", i), "MyMap");
+        }
+
+        listenerBean.waitFor(NUM_KEYS * NUM_EVENTS_PER_KEY);
+        listenerMap.waitFor(NUM_EVENTS_PER_KEY);
+        listenerBean.assertOrderedAndSingleThreadPerKey(NUM_KEYS, NUM_EVENTS_PER_KEY);
+        listenerMap.assertOrderedAndSingleThreadPerKey(1, NUM_EVENTS_PER_KEY);
+
+        EPRuntimeSPI spi = (EPRuntimeSPI) env.runtime();
+        ThreadingService threadingService = spi.getServicesContext().getThreadingService();
+        assertNull(threadingService.getInboundQueue());
+        assertNull(threadingService.getInboundThreadPool());
+        assertEquals(4, threadingService.getInboundLanes().length);
+
+        List<InboundLaneMetric> metrics = env.runtime().getMetricsService().getInboundLaneMetrics();
+        assertEquals(4, metrics.size());
+        long total = 0;
+        for (int i = 0; i < metrics.size(); i++) {
+            InboundLaneMetric metric = metrics.get(i);
+            assertEquals(i, metric.getLaneNum());
+            assertEquals(128, metric.getCapacity());
+            assertEquals(0, metric.getQueueDepth());
+            assertTrue(metric.getLatencyNanosMax() * metric.getProcessedCount() >= metric.getLatencyNanosTotal());
+            total += metric.getProcessedCount();
+        }
+        assertEquals((NUM_KEYS + 1) * NUM_EVENTS_PER_KEY, total);
+
+        env.undeployAll();
+    }
+
+    private static class MyThreadCapturingListener implements UpdateListener {
+        private final List<Object[]> received = new ArrayList<>();
+
+        public synchronized void update(EventBean[] newEvents, EventBean[] oldEvents, EPStatement statement, EPRuntime runtime) {
+            for (EventBean event : newEvents) {
+                received.add(new Object[]{event.get("key"), event.get("seq"), Thread.currentThread()});
+            }
+        }
+
+        synchronized void waitFor(int numEvents) {
+            long deadline = System.currentTimeMillis() + 10000;
+            while (received.size() < numEvents) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    fail("Received " + received.size() + " events, expected " + numEvents);
+                }
+                try {
+                    wait(10);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            assertEquals(numEvents, received.size());
+        }
+
+        synchronized void assertOrderedAndSingleThreadPerKey(int numKeys, int numEventsPerKey) {
+            Map<Object, Integer> lastSeq = new HashMap<>();
+            Map<Object, Thread> threads = new HashMap<>();
+            for (Object[] row : received) {
+                Integer last = lastSeq.get(row[0]);
+                assertEquals(last == null ? 0 : last + 1, row[1]);
+                lastSeq.put(row[0], (Integer) row[1]);
+
+                Thread thread = threads.get(row[0]);
+                if (thread == null) {
+                    threads.put(row[0], (Thread) row[2]);
+                } else {
+                    assertSame(thread, row[2]);
+                }
+            }
+            assertEquals(numKeys, lastSeq.size());
+            for (Integer last : lastSeq.values()) {
+                assertEquals(numEventsPerKey - 1, (int) last);
+            }
+        }
+    }
+}
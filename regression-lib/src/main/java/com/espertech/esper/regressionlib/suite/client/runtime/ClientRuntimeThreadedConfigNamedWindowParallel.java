@@ -0,0 +1,117 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.metric.NamedWindowDispatchMetric;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.regressionlib.framework.RegressionFlag;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+public class ClientRuntimeThreadedConfigNamedWindowParallel implements RegressionExecutionWithConfigure {
+    private final static int PARALLELISM = 4;
+    private final static int NUM_CONSUMERS = 6;
+    private final static int NUM_EVENTS = 100;
+    private final static Set<String> CONSUMER_THREADS = ConcurrentHashMap.newKeySet();
+
+    public void configure(Configuration configuration) {
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getRuntime().getThreading().setNamedWindowConsumerDispatchParallelism(PARALLELISM);
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+        configuration.getCommon().addImport(ClientRuntimeThreadedConfigNamedWindowParallel.class);
+    }
+
+    @Override
+    public boolean enableHATest() {
+        return false;
+    }
+
+    public void run(RegressionEnvironment env) {
+        CONSUMER_THREADS.clear();
+        RegressionPath path = new RegressionPath();
+        env.compileDeploy("@public create window MyWindow#keepall as SupportBean;\n" +
+            "insert into MyWindow select * from SupportBean;\n" +
+            "@public create window OtherWindow#keepall (c0 string, c1 int);\n", path);
+        for (int i = 0; i < NUM_CONSUMERS; i++) {
+            env.compileDeploy("@name('c" + i + "') select theString as c0, intPrimitive as c1, " +
+                "ClientRuntimeThreadedConfigNamedWindowParallel.recordThread(theString) as c2 from MyWindow", path).addListener("c" + i);
+        }
+
+        // consumers that route events and that dispatch to a further named window
+        env.compileDeploy("insert into MyStream select theString as c0, intPrimitive as c1 from MyWindow;\n" +
+            "@name('route') select * from MyStream;\n" +
+            "on MyWindow as mw merge OtherWindow as ow where mw.theString = ow.c0 when not matched then insert select theString as c0, intPrimitive as c1;\n" +
+            "@name('other') select * from OtherWindow;\n", path).addListener("route").addListener("other");
+
+        Set<Thread> listenerThreads = ConcurrentHashMap.newKeySet();
+        env.compileDeploy("@name('thread') select * from MyWindow", path);
+        env.statement("thread").addListener((newEvents, oldEvents, statement, runtime) -> listenerThreads.add(Thread.currentThread()));
+
+        for (int i = 0; i < NUM_EVENTS; i++) {
+            env.sendEventBean(new SupportBean("E" + i, i));
+        }
+
+        // each consumer receives the results in order, and listener dispatch remains with the sending thread
+        for (int i = 0; i < NUM_CONSUMERS; i++) {
+            assertReceived(env, "c" + i);
+        }
+        assertReceived(env, "route");
+        assertReceived(env, "other");
+        assertEquals(1, listenerThreads.size());
+        assertSame(Thread.currentThread(), listenerThreads.iterator().next());
+
+        // consumers other than the first consumer process on the fork-join pool
+        assertTrue(CONSUMER_THREADS.contains(Thread.currentThread().getName()));
+        boolean pooled = false;
+        for (String name : CONSUMER_THREADS) {
+            pooled |= name.startsWith("com.espertech.esper.NamedWindowDispatch-");
+        }
+        assertTrue(CONSUMER_THREADS.toString(), pooled);
+
+        // consumers of MyWindow are the select statements, the insert-into statement and the on-merge statement
+        NamedWindowDispatchMetric metric = env.runtime().getMetricsService().getNamedWindowDispatchMetric();
+        assertEquals(PARALLELISM, metric.getParallelism());
+        assertEquals(NUM_EVENTS, metric.getFanOutCount());
+        assertEquals(NUM_EVENTS * (NUM_CONSUMERS + 3), metric.getStatementCount());
+        assertTrue(metric.getLatencyNanosMax() > 0);
+        assertTrue(metric.getLatencyNanosTotal() >= metric.getLatencyNanosMax());
+
+        env.undeployAll();
+    }
+
+    public EnumSet<RegressionFlag> flags() {
+        return EnumSet.of(RegressionFlag.RUNTIMEOPS);
+    }
+
+    public static String recordThread(String value) {
+        CONSUMER_THREADS.add(Thread.currentThread().getName());
+        return value;
+    }
+
+    private static void assertReceived(RegressionEnvironment env, String statementName) {
+        EventBean[] events = env.listener(statementName).getNewDataListFlattened();
+        assertEquals(statementName, NUM_EVENTS, events.length);
+        for (int i = 0; i < NUM_EVENTS; i++) {
+            assertEquals("E" + i, events[i].get("c0"));
+            assertEquals(i, events[i].get("c1"));
+        }
+        env.listener(statementName).reset();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.regressionlib.framework.RegressionFlag;
+import com.espertech.esper.regressionlib.support.util.SupportListenerSleeping;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import com.espertech.esper.runtime.internal.kernel.thread.ThreadingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumSet;
+
+import static org.junit.Assert.*;
+
+public class ClientRuntimeThreadedConfigOutboundVirtual implements RegressionExecutionWithConfigure {
+    private static final Logger log = LoggerFactory.getLogger(ClientRuntimeThreadedConfigOutboundVirtual.class);
+
+    private final static int MAX_CONCURRENCY = 200;
+    private final static int NUM_EVENTS = 1000;
+    private final static long LISTENER_SLEEP_MSEC = 50;
+
+    public void configure(Configuration configuration) {
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getRuntime().getThreading().setListenerDispatchPreserveOrder(false);
+        configuration.getRuntime().getThreading().setThreadPoolOutbound(true);
+        configuration.getRuntime().getThreading().setThreadPoolOutboundNumThreads(MAX_CONCURRENCY);
+        configuration.getRuntime().getThreading().setThreadPoolOutboundVirtualThreads(true);
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+    }
+
+    public void run(RegressionEnvironment env) {
+        EPRuntimeSPI spi = (EPRuntimeSPI) env.runtime();
+        ThreadingService threadingService = spi.getServicesContext().getThreadingService();
+        assertNull(threadingService.getOutboundQueue());
+        assertNull(threadingService.getOutboundThreadPool());
+        assertEquals(MAX_CONCURRENCY, threadingService.getOutboundVirtualExecutor().getMaxConcurrency());
+
+        // listener-bound throughput: each delivery blocks, so throughput is bounded by the number of concurrent deliveries
+        SupportListenerSleeping listener = new SupportListenerSleeping(LISTENER_SLEEP_MSEC);
+        env.compileDeploy("@name('s0') select * from SupportBean").statement("s0").addListener(listener);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < NUM_EVENTS; i++) {
+            env.sendEventBean(new SupportBean());
+        }
+        long deadline = System.currentTimeMillis() + 20000;
+        while (listener.getNewEvents().size() < NUM_EVENTS || threadingService.getOutboundVirtualExecutor().getActiveCount() > 0) {
+            assertTrue("Received " + listener.getNewEvents().size(), System.currentTimeMillis() < deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        long deltaMSec = (System.nanoTime() - start) / 1000000;
+        assertEquals(NUM_EVENTS, listener.getNewEvents().size());
+
+        // a pool of the default 2 platform threads would take NUM_EVENTS * LISTENER_SLEEP_MSEC / 2 milliseconds
+        long sequentialMSec = NUM_EVENTS * LISTENER_SLEEP_MSEC;
+        log.info("Delivered " + NUM_EVENTS + " events to a listener blocking " + LISTENER_SLEEP_MSEC + " msec in " + deltaMSec + " msec, " +
+            (NUM_EVENTS * 1000L / Math.max(1, deltaMSec)) + " events/sec, virtual=" + threadingService.getOutboundVirtualExecutor().isVirtual() +
+            ", sequential delivery would take " + sequentialMSec + " msec");
+        assertTrue("Delta is " + deltaMSec, deltaMSec < sequentialMSec / 10);
+
+        env.undeployAll();
+    }
+
+    public EnumSet<RegressionFlag> flags() {
+        return EnumSet.of(RegressionFlag.RUNTIMEOPS, RegressionFlag.PERFORMANCE);
+    }
+}
@@ -21,6 +21,7 @@ import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
 import com.espertech.esper.regressionlib.framework.RegressionExecution;
 import com.espertech.esper.regressionlib.framework.RegressionFlag;
 import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.regressionlib.support.epl.SupportStaticMethodInvocations;
 import com.espertech.esper.regressionlib.support.epl.SupportStaticMethodLib;
 import com.espertech.esper.runtime.client.scopetest.SupportListener;
 
@@ -57,9 +58,31 @@ public class EPLFromClauseMethod {
         execs.add(new EPLFromClauseMethodEventBeanArray());
         execs.add(new EPLFromClauseMethodUDFAndScriptReturningEvents());
         execs.add(new EPLFromClauseMethod2JoinEventItselfProvidesMethod());
+        execs.add(new EPLFromClauseMethodPollPerRowNoCache());
         return execs;
     }
 
+    private static class EPLFromClauseMethodPollPerRowNoCache implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('s0') select s1.theString as theString, s0.p00 as p00 from " +
+                "SupportBean#length_batch(5) as s1, " +
+                "method:" + SupportStaticMethodInvocations.class.getName() + ".fetchObjectLog(theString, intPrimitive) as s0";
+            env.compileDeploy(epl).addListener("s0");
+            SupportStaticMethodInvocations.getInvocationSizeReset();
+
+            // without cache, each row of the batch polls, including rows that have the same key
+            String[] keys = new String[]{"E1", "E2", "E1", "E3", "E2"};
+            for (String key : keys) {
+                env.sendEventBean(new SupportBean(key, 1));
+            }
+            env.assertPropsPerRowLastNewAnyOrder("s0", "theString,p00".split(","),
+                new Object[][]{{"E1", "|E1|"}, {"E2", "|E2|"}, {"E1", "|E1|"}, {"E3", "|E3|"}, {"E2", "|E2|"}});
+            env.assertThat(() -> assertEquals(5, SupportStaticMethodInvocations.getInvocationSizeReset()));
+
+            env.undeployAll();
+        }
+    }
+
     private static class EPLFromClauseMethod2JoinEventItselfProvidesMethod implements RegressionExecution {
         public void run(RegressionEnvironment env) {
             String epl = "import " + SupportEventWithStaticMethod.class.getName() + ";\n" +
@@ -0,0 +1,121 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.epl.fromclausemethod;
+
+import com.espertech.esper.common.client.metric.HistoricalDataCacheMetric;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.support.epl.SupportStaticMethodInvocations;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EPLFromClauseMethodCacheRefreshAhead implements RegressionExecution {
+
+    public void run(RegressionEnvironment env) {
+        String joinStatement = "@name('s0') select id, p00, theString from " +
+            "SupportBean#length(100) as s1, " +
+            " method:SupportStaticMethodInvocations.fetchObjectLog(theString, intPrimitive)";
+        env.compileDeploy(joinStatement).addListener("s0");
+        SupportStaticMethodInvocations.getInvocationSizeReset();
+
+        // not cached
+        sendTimer(env, 1000);
+        sendBeanAssert(env, "E1", 1, 1);
+
+        // cached
+        sendTimer(env, 1500);
+        sendBeanAssert(env, "E1", 1, 0);
+
+        // cached and past the refresh age, returns the cached rows and reloads on the refresh thread
+        sendTimer(env, 2100);
+        sendBean(env, "E1", 1);
+        awaitLoadCount(env, 2);
+        env.assertThat(() -> assertEquals(1, SupportStaticMethodInvocations.getInvocationSizeReset()));
+
+        // cached as reloaded
+        sendTimer(env, 2200);
+        sendBeanAssert(env, "E1", 1, 0);
+
+        // past the maximum age, not cached
+        sendTimer(env, 4200);
+        sendBeanAssert(env, "E1", 1, 1);
+
+        // each entry of one row weighs 2 and the maximum weight is 5, evicting the least-recently-used entry
+        sendBeanAssert(env, "E2", 2, 1);
+        sendBeanAssert(env, "E3", 3, 1);
+        sendBeanAssert(env, "E1", 1, 1);
+        sendBeanAssert(env, "E3", 3, 0);
+
+        env.assertThat(() -> {
+            List<HistoricalDataCacheMetric> metrics = env.runtime().getMetricsService().getHistoricalDataCacheMetrics();
+            assertEquals(1, metrics.size());
+            HistoricalDataCacheMetric metric = metrics.get(0);
+            assertEquals(env.deploymentId("s0"), metric.getDeploymentId());
+            assertEquals("s0", metric.getStatementName());
+            assertEquals(1, metric.getStreamNumber());
+            assertEquals(2, metric.getSize());
+            assertEquals(4, metric.getWeight());
+            assertEquals(4, metric.getHitCount());
+            assertEquals(5, metric.getMissCount());
+            assertEquals(6, metric.getLoadCount());
+            assertTrue(metric.getLoadNanosTotal() > 0);
+            assertEquals(1, metric.getRefreshCount());
+            assertEquals(2, metric.getEvictionCount());
+        });
+
+        env.undeployAll();
+        env.assertThat(() -> assertTrue(env.runtime().getMetricsService().getHistoricalDataCacheMetrics().isEmpty()));
+    }
+
+    private static void sendTimer(RegressionEnvironment env, long timeInMSec) {
+        env.advanceTime(timeInMSec);
+    }
+
+    private static void sendBeanAssert(RegressionEnvironment env, String theString, int intPrimitive, int expectedInvocations) {
+        sendBean(env, theString, intPrimitive);
+        env.assertThat(() -> assertEquals(expectedInvocations, SupportStaticMethodInvocations.getInvocationSizeReset()));
+    }
+
+    private static void sendBean(RegressionEnvironment env, String theString, int intPrimitive) {
+        SupportBean bean = new SupportBean();
+        bean.setTheString(theString);
+        bean.setIntPrimitive(intPrimitive);
+        env.sendEventBean(bean);
+        env.assertPropsNew("s0", new String[]{"id", "p00", "theString"}, new Object[]{intPrimitive, "|" + theString + "|", theString});
+    }
+
+    private static void awaitLoadCount(RegressionEnvironment env, long count) {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (getLoadCount(env) < count) {
+            assertTrue("Reload did not complete", System.currentTimeMillis() < deadline);
+            sleep(10);
+        }
+        // the refresh thread puts the reloaded rows after the poll completes
+        sleep(100);
+    }
+
+    private static long getLoadCount(RegressionEnvironment env) {
+        List<HistoricalDataCacheMetric> metrics = env.runtime().getMetricsService().getHistoricalDataCacheMetrics();
+        return metrics.isEmpty() ? 0 : metrics.get(0).getLoadCount();
+    }
+
+    private static void sleep(long msec) {
+        try {
+            Thread.sleep(msec);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
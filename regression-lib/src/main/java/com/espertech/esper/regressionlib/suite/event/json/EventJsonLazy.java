@@ -0,0 +1,198 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.event.json;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.json.util.EventSenderJson;
+import com.espertech.esper.common.internal.event.json.core.JsonEventBeanLazy;
+import com.espertech.esper.common.internal.event.json.core.JsonEventType;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionFlag;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class EventJsonLazy {
+    private final static String LAZY_SCHEMA = "@public @buseventtype @JsonSchema(lazy=true) create json schema MyEvent(s string, b boolean, i int, l long, d double, f float);\n";
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new EventJsonLazyDecodeOnRead());
+        execs.add(new EventJsonLazySameAsEager());
+        execs.add(new EventJsonLazySend());
+        execs.add(new EventJsonLazyMalformed());
+        execs.add(new EventJsonLazyInvalid());
+        return execs;
+    }
+
+    private static class EventJsonLazyDecodeOnRead implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy(LAZY_SCHEMA + "@name('s0') select * from MyEvent(s = 'E1' and i > 0);\n").addListener("s0");
+            JsonEventType eventType = (JsonEventType) env.runtime().getEventTypeService().getBusEventType("MyEvent");
+            assertTrue(eventType.getDetail().isLazy());
+
+            env.sendEventJson("{\"l\": 10, \"d\": 1.5, \"s\": \"E1\", \"f\": 2, \"i\": 1, \"b\": true}", "MyEvent");
+            EventBean event = env.listener("s0").assertOneGetNewAndReset();
+            JsonEventBeanLazy lazy = (JsonEventBeanLazy) event;
+            assertTrue(lazy.isDecoded(number(eventType, "s")));
+            assertTrue(lazy.isDecoded(number(eventType, "i")));
+            assertFalse(lazy.isDecoded(number(eventType, "l")));
+            assertFalse(lazy.isDecoded(number(eventType, "d")));
+            assertFalse(lazy.isDecoded(number(eventType, "b")));
+            assertFalse(lazy.isComplete());
+
+            assertEquals(1.5d, event.get("d"));
+            assertTrue(lazy.isDecoded(number(eventType, "d")));
+            assertFalse(lazy.isDecoded(number(eventType, "b")));
+
+            Map<String, Object> underlying = (Map<String, Object>) event.getUnderlying();
+            assertTrue(lazy.isComplete());
+            assertEquals(10L, underlying.get("l"));
+            assertEquals(2f, underlying.get("f"));
+            assertEquals(true, underlying.get("b"));
+
+            env.sendEventJson("{\"s\": \"E2\", \"i\": 1}", "MyEvent");
+            env.sendEventJson("{\"s\": \"E1\", \"i\": -1}", "MyEvent");
+            env.sendEventJson("{\"i\": 1}", "MyEvent");
+            env.assertListenerNotInvoked("s0");
+
+            env.undeployAll();
+        }
+
+        public EnumSet<RegressionFlag> flags() {
+            return EnumSet.of(RegressionFlag.RUNTIMEOPS);
+        }
+    }
+
+    private static class EventJsonLazySameAsEager implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = LAZY_SCHEMA +
+                "@public @buseventtype create json schema MyEventEager(s string, b boolean, i int, l long, d double, f float);\n" +
+                "@name('s0') select s, b, i, l, d, f from MyEvent;\n" +
+                "@name('s1') select s, b, i, l, d, f from MyEventEager;\n";
+            env.compileDeploy(epl).addListener("s0").addListener("s1");
+            String[] fields = "s,b,i,l,d,f".split(",");
+
+            String[] documents = new String[]{
+                "{}",
+                "{\"s\": \"abc\", \"b\": true, \"i\": 1, \"l\": 2, \"d\": 3, \"f\": 4}",
+                "{\"f\": -0.001, \"d\": 0.30000000000000004, \"l\": 123456789012345678, \"i\": -2147483648, \"b\": false, \"s\": \"\"}",
+                "{\"s\": \"quote \\\" unicode \\u00e9\\u4e2d\", \"\\u0069\": 5}",
+                "{\"s\": null, \"b\": null, \"i\": null, \"d\": null}",
+                "{\"s\": 10, \"i\": \"11\", \"d\": \"13.5\", \"b\": \"true\"}",
+                "{\"unknown\": {\"a\": [1, 2.5e10, {\"b\": null}], \"c\": \"x\\\"y\"}, \"i\": 1, \"other\": [true, false, null, \"\"]}",
+            };
+            for (String document : documents) {
+                env.sendEventJson(document, "MyEvent");
+                env.sendEventJson(document, "MyEventEager");
+                EventBean lazy = env.listener("s0").assertOneGetNewAndReset();
+                EventBean eager = env.listener("s1").assertOneGetNewAndReset();
+                for (String field : fields) {
+                    assertEquals(document, eager.get(field), lazy.get(field));
+                }
+            }
+
+            // duplicate members: the last occurrence is retained, same as when parsing eagerly
+            String duplicate = "{\"i\": 1, \"s\": \"a\", \"i\": 2, \"s\": null, \"l\": 3, \"i\": 4}";
+            env.sendEventJson(duplicate, "MyEvent");
+            env.sendEventJson(duplicate, "MyEventEager");
+            EventBean lazy = env.listener("s0").assertOneGetNewAndReset();
+            EventBean eager = env.listener("s1").assertOneGetNewAndReset();
+            assertEquals(4, lazy.get("i"));
+            for (String field : fields) {
+                assertEquals(field, eager.get(field), lazy.get(field));
+            }
+
+            env.undeployAll();
+        }
+    }
+
+    private static class EventJsonLazySend implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy(LAZY_SCHEMA + "@name('s0') select s, i from MyEvent;\n").addListener("s0");
+            String[] fields = "s,i".split(",");
+
+            byte[] bytes = "xx{\"s\": \"E1\", \"i\": 1}".getBytes(StandardCharsets.UTF_8);
+            env.runtime().getEventService().sendEventJson(bytes, 2, bytes.length - 2, "MyEvent");
+            Arrays.fill(bytes, (byte) ' ');
+            env.assertPropsNew("s0", fields, new Object[]{"E1", 1});
+
+            EventSenderJson sender = (EventSenderJson) env.runtime().getEventService().getEventSender("MyEvent");
+            sender.sendEvent("{\"s\": \"E2\", \"i\": 2}");
+            env.assertPropsNew("s0", fields, new Object[]{"E2", 2});
+
+            byte[] document = "{\"s\": \"E3\", \"i\": 3}".getBytes(StandardCharsets.UTF_8);
+            sender.sendEvent(document);
+            Arrays.fill(document, (byte) ' ');
+            env.assertPropsNew("s0", fields, new Object[]{"E3", 3});
+
+            Map<String, Object> parsed = (Map<String, Object>) sender.parse("{\"s\": \"E4\"}");
+            assertEquals("E4", parsed.get("s"));
+
+            env.undeployAll();
+        }
+
+        public EnumSet<RegressionFlag> flags() {
+            return EnumSet.of(RegressionFlag.RUNTIMEOPS);
+        }
+    }
+
+    private static class EventJsonLazyMalformed implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy(LAZY_SCHEMA + "@name('s0') select * from MyEvent;\n").addListener("s0");
+
+            // the document is not parsed until a property is read, and the complete document is scanned for the property
+            env.sendEventJson("{\"s\": \"E1\", \"i\": 1,", "MyEvent");
+            EventBean event = env.listener("s0").assertOneGetNewAndReset();
+            try {
+                event.get("s");
+                fail();
+            } catch (EPException ex) {
+                assertTrue(ex.getMessage(), ex.getMessage().startsWith("Failed to parse Json: "));
+            }
+
+            env.sendEventJson("{\"i\": 1x}", "MyEvent");
+            event = env.listener("s0").assertOneGetNewAndReset();
+            try {
+                event.get("i");
+                fail();
+            } catch (EPException ex) {
+                assertTrue(ex.getMessage(), ex.getMessage().startsWith("Failed to parse Json: "));
+            }
+
+            env.undeployAll();
+        }
+
+        public EnumSet<RegressionFlag> flags() {
+            return EnumSet.of(RegressionFlag.RUNTIMEOPS);
+        }
+    }
+
+    private static class EventJsonLazyInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.tryInvalidCompile("@JsonSchema(lazy=true) create json schema MyEvent(p string, numbers int[])",
+                "The lazy flag requires that all properties are of string, boolean or numeric type but property 'numbers' has type 'Integer[]'");
+            env.tryInvalidCompile("@JsonSchema(lazy=true, dynamic=true) create json schema MyEvent(p string)",
+                "The lazy flag is not supported when used with the dynamic flag");
+            env.tryInvalidCompile("create json schema Base(p string);\n" +
+                    "@JsonSchema(lazy=true) create json schema MyEvent(q string) inherits Base",
+                "The lazy flag is not supported when specifying a supertype");
+        }
+    }
+
+    private static int number(JsonEventType eventType, String propertyName) {
+        return eventType.getDetail().getFieldDescriptors().get(propertyName).getPropertyNumber();
+    }
+}
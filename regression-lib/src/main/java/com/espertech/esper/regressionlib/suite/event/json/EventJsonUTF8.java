@@ -0,0 +1,171 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.event.json;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.json.util.EventSenderJson;
+import com.espertech.esper.common.internal.event.json.core.JsonEventType;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionFlag;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class EventJsonUTF8 {
+    private final static String FLAT_SCHEMA = "@public @buseventtype create json schema MyEvent(s string, b boolean, i int, l long, d double, f float, sh short, bt byte);\n";
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new EventJsonUTF8ParseSameAsString());
+        execs.add(new EventJsonUTF8NonFlatType());
+        execs.add(new EventJsonUTF8Invalid());
+        execs.add(new EventJsonUTF8Send());
+        return execs;
+    }
+
+    private static class EventJsonUTF8ParseSameAsString implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy(FLAT_SCHEMA);
+            assertTrue(((JsonEventType) env.runtime().getEventTypeService().getBusEventType("MyEvent")).isDirectParse());
+            EventSenderJson sender = (EventSenderJson) env.runtime().getEventService().getEventSender("MyEvent");
+
+            String[] documents = new String[]{
+                "{}",
+                " { } ",
+                "{\"s\": \"abc\", \"b\": true, \"i\": 1, \"l\": 2, \"d\": 3, \"f\": 4, \"sh\": 5, \"bt\": 6}",
+                "{\"s\":\"\",\"b\":false,\"i\":-2147483648,\"l\":-9223372036854775808,\"d\":-0,\"f\":-0,\"sh\":-32768,\"bt\":-128}",
+                "{\"i\": 2147483647, \"l\": 9223372036854775807, \"sh\": 32767, \"bt\": 127}",
+                "{\"d\": 0.1, \"f\": 0.1}",
+                "{\"d\": 1.7976931348623157E308, \"f\": 3.4028235E38}",
+                "{\"d\": 4.9E-324, \"f\": 1.4E-45}",
+                "{\"d\": 123456789.123456789, \"f\": 1234567.891}",
+                "{\"d\": 0.30000000000000004, \"f\": 2.5e-3}",
+                "{\"d\": -12.5, \"f\": -0.001, \"l\": 123456789012345678}",
+                "{\"s\": \"quote \\\" backslash \\\\ slash \\/ controls \\b\\f\\n\\r\\t unicode \\u00e9\\u4e2d\"}",
+                "{\"s\": \"utf8 \u00e9\u4e2d\u6587 \ud83d\ude00\"}",
+                "{\"\\u0073\": \"escaped name\"}",
+                "{\"s\": null, \"b\": null, \"i\": null, \"d\": null}",
+                "{\"s\": 10, \"i\": \"11\", \"l\": \"12\", \"d\": \"13.5\", \"b\": \"true\"}",
+                "{\"s\": true, \"s\": \"last wins\"}",
+                "{\"unknown\": {\"a\": [1, 2.5e10, {\"b\": null}], \"c\": \"x\\\"y\"}, \"i\": 1, \"other\": [true, false, null, \"\"]}",
+                "\n\t{\r\n\t\"i\" :\t7 ,\n\"s\"\n:\n\"x\"\n}\n",
+            };
+
+            for (String document : documents) {
+                Map<String, Object> expected = new HashMap<>((Map<String, Object>) sender.parse(document));
+                byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+                Map<String, Object> actual = new HashMap<>((Map<String, Object>) sender.parse(bytes, 0, bytes.length));
+                assertEquals(document, expected, actual);
+
+                // document within a larger array
+                byte[] padded = new byte[bytes.length + 6];
+                Arrays.fill(padded, (byte) '}');
+                System.arraycopy(bytes, 0, padded, 3, bytes.length);
+                actual = new HashMap<>((Map<String, Object>) sender.parse(padded, 3, bytes.length));
+                assertEquals(document, expected, actual);
+            }
+
+            // numbers that do not fit the type are reported the same as for string parsing
+            for (String document : new String[]{"{\"i\": 2147483648}", "{\"i\": 1.5}", "{\"bt\": 128}", "{\"l\": 1e3}", "{\"b\": 1}", "{\"i\": true}"}) {
+                byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+                String expected = tryParseMessage(() -> sender.parse(document));
+                String actual = tryParseMessage(() -> sender.parse(bytes, 0, bytes.length));
+                assertNotNull(document, expected);
+                assertEquals(document, expected, actual);
+            }
+
+            env.undeployAll();
+        }
+    }
+
+    private static class EventJsonUTF8NonFlatType implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@public @buseventtype create json schema Nested(n int);\n" +
+                "@public @buseventtype create json schema MyEvent(p string, nested Nested, numbers int[]);\n" +
+                "@public @buseventtype @JsonSchema(dynamic=true) create json schema MyEventDynamic(p string);\n";
+            env.compileDeploy(epl);
+            assertFalse(((JsonEventType) env.runtime().getEventTypeService().getBusEventType("MyEvent")).isDirectParse());
+            assertFalse(((JsonEventType) env.runtime().getEventTypeService().getBusEventType("MyEventDynamic")).isDirectParse());
+
+            EventSenderJson sender = (EventSenderJson) env.runtime().getEventService().getEventSender("MyEvent");
+            String document = "{\"p\": \"x\", \"nested\": {\"n\": 1}, \"numbers\": [1, 2]}";
+            byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+            assertEquals(sender.parse(document).toString(), sender.parse(bytes, 0, bytes.length).toString());
+
+            env.undeployAll();
+        }
+    }
+
+    private static class EventJsonUTF8Invalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy(FLAT_SCHEMA);
+            EventSenderJson sender = (EventSenderJson) env.runtime().getEventService().getEventSender("MyEvent");
+
+            for (String document : new String[]{"", "[]", "{", "{\"s\"}", "{\"s\": }", "{\"s\": \"abc}", "{\"i\": 01}", "{\"i\": -}", "{\"i\": 1.}",
+                "{\"b\": tru}", "{\"i\": 1,}", "{\"i\": 1} x", "{\"s\": \"\\x\"}", "{\"s\": \"\\u12g4\"}", "{\"u\": [1, }", "{\"s\": \"a\nb\"}"}) {
+                byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+                try {
+                    sender.parse(bytes, 0, bytes.length);
+                    fail(document);
+                } catch (EPException ex) {
+                    assertTrue(document + ": " + ex.getMessage(), ex.getMessage().startsWith("Failed to parse Json: "));
+                }
+            }
+
+            env.undeployAll();
+        }
+    }
+
+    private static class EventJsonUTF8Send implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy(FLAT_SCHEMA + "@name('s0') select s, i, d from MyEvent;\n").addListener("s0");
+
+            byte[] bytes = "xx{\"s\": \"E1\", \"i\": 1, \"d\": 1.5}".getBytes(StandardCharsets.UTF_8);
+            env.runtime().getEventService().sendEventJson(bytes, 2, bytes.length - 2, "MyEvent");
+            env.assertPropsNew("s0", "s,i,d".split(","), new Object[]{"E1", 1, 1.5});
+
+            ByteBuffer heap = ByteBuffer.wrap("{\"s\": \"E2\", \"i\": 2}".getBytes(StandardCharsets.UTF_8));
+            env.runtime().getEventService().sendEventJson(heap, "MyEvent");
+            env.assertPropsNew("s0", "s,i,d".split(","), new Object[]{"E2", 2, null});
+            assertEquals(0, heap.position());
+
+            byte[] content = "{\"s\": \"E3\", \"d\": -2}".getBytes(StandardCharsets.UTF_8);
+            ByteBuffer direct = ByteBuffer.allocateDirect(content.length);
+            direct.put(content).flip();
+            env.runtime().getEventService().sendEventJson(direct, "MyEvent");
+            env.assertPropsNew("s0", "s,i,d".split(","), new Object[]{"E3", null, -2d});
+            assertEquals(0, direct.position());
+
+            EventSenderJson sender = (EventSenderJson) env.runtime().getEventService().getEventSender("MyEvent");
+            sender.sendEvent("{\"s\": \"E4\"}".getBytes(StandardCharsets.UTF_8));
+            env.assertPropsNew("s0", "s,i,d".split(","), new Object[]{"E4", null, null});
+
+            env.undeployAll();
+        }
+
+        public EnumSet<RegressionFlag> flags() {
+            return EnumSet.of(RegressionFlag.RUNTIMEOPS);
+        }
+    }
+
+    private static String tryParseMessage(Runnable runnable) {
+        try {
+            runnable.run();
+            return null;
+        } catch (EPException ex) {
+            return ex.getMessage();
+        }
+    }
+}
@@ -15,10 +15,12 @@ import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.meta.EventTypeTypeClass;
 import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
 import com.espertech.esper.common.client.util.NameAccessModifier;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayColumnarEventBean;
 import com.espertech.esper.common.internal.event.bean.core.BeanEventType;
 import com.espertech.esper.common.internal.support.EventRepresentationChoice;
 import com.espertech.esper.common.internal.support.SupportBean;
 import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.common.internal.support.SupportBean_S1;
 import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
 import com.espertech.esper.regressionlib.framework.RegressionExecution;
 import com.espertech.esper.regressionlib.framework.RegressionFlag;
@@ -103,9 +105,74 @@ public class InfraNamedWindowViews {
         execs.add(new InfraSelectGroupedViewLateStartVariableIterate());
         execs.add(new InfraOnInsertPremptiveTwoWindow());
         execs.add(new InfraNamedWindowTimeToLiveDelete());
+        execs.add(new InfraColumnarStore());
         return execs;
     }
 
+    private static class InfraColumnarStore implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String[] fields = "name,cnt,total,price".split(",");
+            RegressionPath path = new RegressionPath();
+            String epl = "@public @buseventtype create objectarray schema MyOAEvent(name string, cnt int, total long, price double);\n" +
+                "@Hint('columnar_store') @name('create') @public create window MyWindow#keepall as MyOAEvent;\n" +
+                "insert into MyWindow select * from MyOAEvent;\n" +
+                "on SupportBean_S0 delete from MyWindow where name = p00;\n" +
+                "on SupportBean_S1 update MyWindow set cnt = cnt + 1 where name = p10;\n" +
+                "@name('s0') select irstream name, cnt, total, price from MyWindow;\n";
+            env.compileDeploy(epl, path).addListener("s0");
+
+            env.sendEventObjectArray(new Object[]{"E1", 10, 100L, 1.5d}, "MyOAEvent");
+            env.sendEventObjectArray(new Object[]{"E2", 20, 200L, null}, "MyOAEvent");
+            env.sendEventObjectArray(new Object[]{"E3", null, 300L, 3.5d}, "MyOAEvent");
+            env.assertPropsPerRowLastNew("s0", fields, new Object[][]{{"E3", null, 300L, 3.5d}});
+            env.assertIterator("create", iterator -> assertTrue(iterator.next() instanceof ObjectArrayColumnarEventBean));
+
+            env.milestone(0);
+
+            env.sendEventBean(new SupportBean_S0(1, "E1"));
+            env.assertPropsOld("s0", fields, new Object[]{"E1", 10, 100L, 1.5d});
+
+            env.sendEventBean(new SupportBean_S1(2, "E2"));
+            env.assertPropsIRPair("s0", fields, new Object[]{"E2", 21, 200L, null}, new Object[]{"E2", 20, 200L, null});
+            env.assertPropsPerRowIteratorAnyOrder("create", fields, new Object[][]{{"E2", 21, 200L, null}, {"E3", null, 300L, 3.5d}});
+
+            // the slot of the deleted row is reused
+            env.sendEventObjectArray(new Object[]{"E4", 40, 400L, 4.5d}, "MyOAEvent");
+            env.assertPropsNew("s0", fields, new Object[]{"E4", 40, 400L, 4.5d});
+            env.assertPropsPerRowIteratorAnyOrder("create", fields, new Object[][]{{"E2", 21, 200L, null}, {"E3", null, 300L, 3.5d}, {"E4", 40, 400L, 4.5d}});
+
+            env.milestone(1);
+
+            env.assertThat(() -> {
+                EventBean[] rows = env.compileExecuteFAF("select sum(total) as st, count(*) as c from MyWindow", path).getArray();
+                EPAssertionUtil.assertProps(rows[0], "st,c".split(","), new Object[]{900L, 3L});
+                rows = env.compileExecuteFAF("select name from MyWindow where cnt > 30", path).getArray();
+                EPAssertionUtil.assertPropsPerRow(rows, "name".split(","), new Object[][]{{"E4"}});
+            });
+
+            env.undeployAll();
+
+            // events that the data window does not keep
+            epl = "@public @buseventtype create objectarray schema MyOAEvent(name string, cnt int);\n" +
+                "@Hint('columnar_store') @name('create') create window MyWindow#firstevent as MyOAEvent;\n" +
+                "insert into MyWindow select * from MyOAEvent;\n" +
+                "@Hint('columnar_store') @name('createLen') create window MyWindowLen#length(2) as MyOAEvent;\n" +
+                "insert into MyWindowLen select * from MyOAEvent;\n" +
+                "@name('s1') select irstream name, cnt from MyWindowLen;\n";
+            env.compileDeploy(epl).addListener("s1");
+
+            env.sendEventObjectArray(new Object[]{"E0", 0}, "MyOAEvent");
+            env.sendEventObjectArray(new Object[]{"E1", 1}, "MyOAEvent");
+            env.listenerReset("s1");
+            env.sendEventObjectArray(new Object[]{"E2", 2}, "MyOAEvent");
+            env.assertPropsIRPair("s1", "name,cnt".split(","), new Object[]{"E2", 2}, new Object[]{"E0", 0});
+            env.assertPropsPerRowIterator("create", "name,cnt".split(","), new Object[][]{{"E0", 0}});
+            env.assertPropsPerRowIterator("createLen", "name,cnt".split(","), new Object[][]{{"E1", 1}, {"E2", 2}});
+
+            env.undeployAll();
+        }
+    }
+
     private static class InfraNamedWindowTimeToLiveDelete implements RegressionExecution {
         public void run(RegressionEnvironment env) {
             String epl = "@name('win') create window MyWindow#timetolive(current_timestamp() + longPrimitive) as SupportBean;\n" +
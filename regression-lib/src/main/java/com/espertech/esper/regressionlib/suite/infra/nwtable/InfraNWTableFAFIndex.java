@@ -49,9 +49,80 @@ public class InfraNWTableFAFIndex implements IndexBackingTableInfo {
         execs.add(new InfraSelectIndexMultikeyWArrayCompositeArray(false));
         execs.add(new InfraSelectIndexMultikeyWArrayCompositeTwoArray(true));
         execs.add(new InfraSelectIndexMultikeyWArrayCompositeTwoArray(false));
+        execs.add(new InfraSelectIndexBitmap());
         return execs;
     }
 
+    private static class InfraSelectIndexBitmap implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            Object[] preloadedEvents = new Object[]{new SupportSimpleBeanOne("E1", 10, 11, 12), new SupportSimpleBeanOne("E2", 20, 21, 22),
+                new SupportSimpleBeanOne("E3", 10, 31, 22), new SupportSimpleBeanOne("E4", 30, 41, 12)};
+
+            // bitmap index only
+            String[] indexBitmap = new String[]{"create index MyBitmap on MyInfra((s1, i1, l1) bitmap)"};
+            assertIndexChoice(env, true, indexBitmap, preloadedEvents, "win:keepall()",
+                new IndexAssertion[]{
+                    new IndexAssertion(null, "i1 = 10", "MyBitmap", BACKING_BITMAP, assertFAFIds("E1", "E3")),
+                    new IndexAssertion(null, "i1 = 10 and l1 = 22", "MyBitmap", BACKING_BITMAP, assertFAFIds("E3")),
+                    new IndexAssertion(null, "i1 in (10, 20) and l1 = 22", "MyBitmap", BACKING_BITMAP, assertFAFIds("E2", "E3")),
+                    new IndexAssertion(null, "s1 in ('E1', 'E3', 'E4') and i1 in (10, 30) and l1 in (12, 99)", "MyBitmap", BACKING_BITMAP, assertFAFIds("E1", "E4")),
+                    new IndexAssertion(null, "i1 = 10 and l1 = 22 and d1 = 99", "MyBitmap", BACKING_BITMAP, assertFAFIds()),
+                    new IndexAssertion(null, "i1 = 99 and l1 = 22", "MyBitmap", BACKING_BITMAP, assertFAFIds()),
+                    new IndexAssertion(null, "d1 = 11", null, null, assertFAFIds("E1")),
+                });
+
+            // bitmap index and hash index, the bitmap index is used when it covers more predicates
+            String[] indexBitmapAndHash = new String[]{
+                "create index One on MyInfra (i1)",
+                "create index MyBitmap on MyInfra((i1, l1) bitmap)"};
+            assertIndexChoice(env, true, indexBitmapAndHash, preloadedEvents, "win:keepall()",
+                new IndexAssertion[]{
+                    new IndexAssertion(null, "i1 = 10", "One", BACKING_SINGLE_DUPS, assertFAFIds("E1", "E3")),
+                    new IndexAssertion(null, "i1 = 10 and l1 = 22", "MyBitmap", BACKING_BITMAP, assertFAFIds("E3")),
+                    new IndexAssertion("@Hint('index(One)')", "i1 = 10 and l1 = 22", "One", BACKING_SINGLE_DUPS, assertFAFIds("E3")),
+                });
+
+            // removed events are no longer returned
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("@public create window MyInfra#keepall as SupportSimpleBeanOne;\n" +
+                "insert into MyInfra select * from SupportSimpleBeanOne;\n" +
+                "on SupportSimpleBeanTwo delete from MyInfra where s1 = s2;\n" +
+                "create index MyBitmap on MyInfra((i1, l1) bitmap);\n", path);
+            for (Object event : preloadedEvents) {
+                env.sendEventBean(event);
+            }
+            env.sendEventBean(new SupportSimpleBeanTwo("E3", 0, 0, 0));
+            env.sendEventBean(new SupportSimpleBeanOne("E5", 10, 51, 22));
+            assertFAFIds("E5").run(env.compileExecuteFAF("select * from MyInfra where i1 = 10 and l1 = 22", path));
+
+            env.tryInvalidCompile(path, "create index MyBitmapInvalid on MyInfra((i1, l1 + 1) bitmap)",
+                "Index of type 'bitmap' requires event properties as index columns but received '");
+            env.tryInvalidCompile(path, "create index MyBitmapInvalid on MyInfra((i1, l1) bitmap(1))",
+                "Index of type 'bitmap' does not accept parameters but received 1");
+
+            env.undeployAll();
+        }
+
+        private static IndexAssertionFAF assertFAFIds(String... ids) {
+            return result -> EPAssertionUtil.assertPropsPerRowAnyOrder(result.getArray(), new String[]{"s1"}, toRows(ids));
+        }
+
+        private static Object[][] toRows(String[] ids) {
+            if (ids.length == 0) {
+                return null;
+            }
+            Object[][] rows = new Object[ids.length][];
+            for (int i = 0; i < ids.length; i++) {
+                rows[i] = new Object[]{ids[i]};
+            }
+            return rows;
+        }
+
+        public EnumSet<RegressionFlag> flags() {
+            return EnumSet.of(RegressionFlag.FIREANDFORGET);
+        }
+    }
+
     private static class InfraSelectIndexMultikeyWArrayCompositeTwoArray implements RegressionExecution {
         private final boolean namedWindow;
 
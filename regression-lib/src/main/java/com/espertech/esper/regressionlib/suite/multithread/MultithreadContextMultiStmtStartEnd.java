@@ -36,6 +36,7 @@ public class MultithreadContextMultiStmtStartEnd implements RegressionExecutionP
     public void run() {
         runAssertion(FilterServiceProfile.READMOSTLY, configuration);
         runAssertion(FilterServiceProfile.READWRITE, configuration);
+        runAssertion(FilterServiceProfile.LOCKFREE, configuration);
     }
 
     private void runAssertion(FilterServiceProfile profile, Configuration configuration) {
@@ -0,0 +1,160 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.multithread;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.regressionlib.framework.RegressionFlag;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.regressionlib.support.client.SupportCompileDeployUtil;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.scopetest.SupportListener;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Named window with concurrent hash and btree indexes:
+ * create window MyWindow#keepall as SupportBean
+ * <p>
+ * - N writers insert into the named window, each event having a unique key and the writer's sequence number as int value.
+ * - A reader runs subqueries that probe the hash index and the btree index for events that writer zero inserted already.
+ */
+public class MultithreadNamedWindowConcurrentIndex implements RegressionExecutionWithConfigure {
+    private final static int NUM_WRITERS = 4;
+    private final static int NUM_EVENTS_PER_WRITER = 20000;
+
+    @Override
+    public EnumSet<RegressionFlag> flags() {
+        return EnumSet.of(RegressionFlag.EXCLUDEWHENINSTRUMENTED, RegressionFlag.MULTITHREADED);
+    }
+
+    public void configure(Configuration configuration) {
+        configuration.getRuntime().getExecution().setConcurrentIndexes(true);
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+        configuration.getCommon().addEventType("SupportBean_S0", SupportBean_S0.class);
+    }
+
+    public void run(RegressionEnvironment env) {
+        RegressionPath path = new RegressionPath();
+        env.compileDeploy("@name('create') @public create window MyWindow#keepall as SupportBean", path);
+        env.compileDeploy("create unique index MyHashIndex on MyWindow(theString hash)", path);
+        env.compileDeploy("create index MyBTreeIndex on MyWindow(intPrimitive btree)", path);
+        env.compileDeploy("insert into MyWindow select * from SupportBean", path);
+        env.compileDeploy("@name('s0') select " +
+            "(select intPrimitive from MyWindow as mw where mw.theString = s0.p00) as val, " +
+            "(select count(*) from MyWindow as mw where mw.intPrimitive between 0 and s0.id) as cnt " +
+            "from SupportBean_S0 as s0", path).addListener("s0");
+
+        List<Thread> threads = new ArrayList<>();
+        List<WriteRunnable> writers = new ArrayList<>();
+        for (int i = 0; i < NUM_WRITERS; i++) {
+            WriteRunnable writer = new WriteRunnable(env.runtime(), i);
+            writers.add(writer);
+            threads.add(new Thread(writer, MultithreadNamedWindowConcurrentIndex.class.getSimpleName() + "-write" + i));
+        }
+        ReadRunnable reader = new ReadRunnable(env, writers.get(0).numSent);
+        Thread readerThread = new Thread(reader, MultithreadNamedWindowConcurrentIndex.class.getSimpleName() + "-read");
+
+        readerThread.start();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            SupportCompileDeployUtil.threadJoin(thread);
+        }
+        reader.setShutdown(true);
+        SupportCompileDeployUtil.threadJoin(readerThread);
+
+        for (WriteRunnable writer : writers) {
+            assertNull(writer.exception);
+        }
+        assertNull(reader.exception);
+        assertTrue(reader.numQueries > 0);
+
+        // all events are found by each index
+        env.sendEventBean(new SupportBean_S0(NUM_EVENTS_PER_WRITER - 1, "W1_" + (NUM_EVENTS_PER_WRITER - 1)));
+        EventBean event = env.listener("s0").assertOneGetNewAndReset();
+        assertEquals(NUM_EVENTS_PER_WRITER - 1, event.get("val"));
+        assertEquals((long) NUM_WRITERS * NUM_EVENTS_PER_WRITER, event.get("cnt"));
+
+        env.undeployAll();
+    }
+
+    private static class WriteRunnable implements Runnable {
+        private final EPRuntime runtime;
+        private final int writerNum;
+        private final AtomicInteger numSent = new AtomicInteger();
+        private RuntimeException exception;
+
+        public WriteRunnable(EPRuntime runtime, int writerNum) {
+            this.runtime = runtime;
+            this.writerNum = writerNum;
+        }
+
+        public void run() {
+            try {
+                for (int i = 0; i < NUM_EVENTS_PER_WRITER; i++) {
+                    runtime.getEventService().sendEventBean(new SupportBean("W" + writerNum + "_" + i, i), "SupportBean");
+                    numSent.set(i + 1);
+                }
+            } catch (RuntimeException ex) {
+                exception = ex;
+            }
+        }
+    }
+
+    private static class ReadRunnable implements Runnable {
+        private final RegressionEnvironment env;
+        private final AtomicInteger numSentWriterZero;
+        private volatile boolean shutdown;
+        private Throwable exception;
+        private int numQueries;
+
+        public ReadRunnable(RegressionEnvironment env, AtomicInteger numSentWriterZero) {
+            this.env = env;
+            this.numSentWriterZero = numSentWriterZero;
+        }
+
+        public void setShutdown(boolean shutdown) {
+            this.shutdown = shutdown;
+        }
+
+        public void run() {
+            try {
+                SupportListener listener = env.listener("s0");
+                while (!shutdown) {
+                    int numSent = numSentWriterZero.get();
+                    if (numSent == 0) {
+                        Thread.yield();
+                        continue;
+                    }
+                    int last = numSent - 1;
+                    env.sendEventBean(new SupportBean_S0(last, "W0_" + last));
+                    EventBean event = listener.assertOneGetNewAndReset();
+                    assertEquals(last, event.get("val"));
+                    assertTrue((Long) event.get("cnt") >= numSent);
+                    numQueries++;
+                }
+            } catch (Throwable ex) {
+                exception = ex;
+            }
+        }
+    }
+}
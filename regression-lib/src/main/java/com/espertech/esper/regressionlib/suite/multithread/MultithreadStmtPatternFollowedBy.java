@@ -33,10 +33,12 @@ public class MultithreadStmtPatternFollowedBy implements RegressionExecutionPreC
     public void run() {
         runAssertionPatternFollowedBy(FilterServiceProfile.READMOSTLY, configuration);
         runAssertionPatternFollowedBy(FilterServiceProfile.READWRITE, configuration);
+        runAssertionPatternFollowedBy(FilterServiceProfile.LOCKFREE, configuration);
     }
 
     private static void runAssertionPatternFollowedBy(FilterServiceProfile profile, Configuration config) {
 
+        config.getRuntime().getExecution().setFilterServiceProfile(profile);
         config.getCommon().addEventType("S0", SupportBean_S0.class);
         String runtimeURI = MultithreadStmtPatternFollowedBy.class.getSimpleName() + "_" + profile;
         EPRuntime runtime = EPRuntimeProvider.getRuntime(runtimeURI, config);
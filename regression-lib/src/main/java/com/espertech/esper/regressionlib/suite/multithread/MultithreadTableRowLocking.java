@@ -0,0 +1,177 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.multithread;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryResult;
+import com.espertech.esper.common.internal.epl.table.core.TableInstanceGrouped;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.regressionlib.framework.RegressionFlag;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.regressionlib.support.client.SupportCompileDeployUtil;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.scopetest.SupportListener;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Table with row-level locking:
+ * create table Counters (key string primary key, cnt count(*), total sum(int))
+ * <p>
+ * - N writers aggregate into the table, each event having an int value of 1, for a set of keys.
+ *   Each writer sends to its own into-table statement since the statement lock serializes the events of a statement.
+ * - A reader reads rows by key and checks that the count and the total of each row are consistent.
+ * - The reader also runs fire-and-forget queries that check that the sum of the counts and totals of all rows are consistent.
+ */
+public class MultithreadTableRowLocking implements RegressionExecutionWithConfigure {
+    private final static int NUM_STRIPES = 16;
+    private final static int NUM_WRITERS = 8;
+    private final static int NUM_KEYS = 1000;
+    private final static int NUM_EVENTS_PER_WRITER = 20000;
+
+    @Override
+    public EnumSet<RegressionFlag> flags() {
+        return EnumSet.of(RegressionFlag.EXCLUDEWHENINSTRUMENTED, RegressionFlag.MULTITHREADED);
+    }
+
+    public void configure(Configuration configuration) {
+        configuration.getRuntime().getExecution().setTableLockStripes(NUM_STRIPES);
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+        configuration.getCommon().addEventType("SupportBean_S0", SupportBean_S0.class);
+    }
+
+    public void run(RegressionEnvironment env) {
+        RegressionPath path = new RegressionPath();
+        env.compileDeploy("@name('create') @public create table Counters (key string primary key, cnt count(*), total sum(int))", path);
+        for (int i = 0; i < NUM_WRITERS; i++) {
+            env.compileDeploy("into table Counters select count(*) as cnt, sum(intPrimitive) as total from SupportBean(intBoxed = " + i + ") group by theString", path);
+        }
+        env.compileDeploy("@name('s0') select Counters[p00] as row from SupportBean_S0", path).addListener("s0");
+        EPCompiled faf = env.compileFAF("select sum(cnt) as c, sum(total) as t from Counters", path);
+
+        TableInstanceGrouped instance = (TableInstanceGrouped) ((EPRuntimeSPI) env.runtime()).getServicesContext().getTableManagementService()
+            .getTable(env.deploymentId("create"), "Counters").getTableInstanceNoContext();
+        assertEquals(NUM_STRIPES, instance.getRowStripedLock().getNumStripes());
+
+        List<Thread> threads = new ArrayList<>();
+        List<WriteRunnable> writers = new ArrayList<>();
+        for (int i = 0; i < NUM_WRITERS; i++) {
+            WriteRunnable writer = new WriteRunnable(env.runtime(), i);
+            writers.add(writer);
+            Thread thread = new Thread(writer, MultithreadTableRowLocking.class.getSimpleName() + "-write" + i);
+            threads.add(thread);
+        }
+        ReadRunnable reader = new ReadRunnable(env, faf);
+        Thread readerThread = new Thread(reader, MultithreadTableRowLocking.class.getSimpleName() + "-read");
+
+        readerThread.start();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            SupportCompileDeployUtil.threadJoin(thread);
+        }
+        reader.setShutdown(true);
+        SupportCompileDeployUtil.threadJoin(readerThread);
+
+        for (WriteRunnable writer : writers) {
+            assertNull(writer.exception);
+        }
+        assertNull(reader.exception);
+        assertTrue(reader.numQueries > 0);
+
+        // each key received the same number of events
+        long expected = (long) NUM_WRITERS * NUM_EVENTS_PER_WRITER / NUM_KEYS;
+        assertEquals(NUM_KEYS, instance.size());
+        for (Iterator<EventBean> it = env.iterator("create"); it.hasNext(); ) {
+            EventBean row = it.next();
+            assertEquals(expected, row.get("cnt"));
+            assertEquals((int) expected, row.get("total"));
+        }
+        EventBean totals = env.runtime().getFireAndForgetService().executeQuery(faf).getArray()[0];
+        assertEquals((long) NUM_WRITERS * NUM_EVENTS_PER_WRITER, totals.get("c"));
+
+        env.undeployAll();
+    }
+
+    private static class WriteRunnable implements Runnable {
+        private final EPRuntime runtime;
+        private final int writerNum;
+        private RuntimeException exception;
+
+        public WriteRunnable(EPRuntime runtime, int writerNum) {
+            this.runtime = runtime;
+            this.writerNum = writerNum;
+        }
+
+        public void run() {
+            try {
+                for (int i = 0; i < NUM_EVENTS_PER_WRITER; i++) {
+                    String key = "K" + ((i + writerNum) % NUM_KEYS);
+                    SupportBean bean = new SupportBean(key, 1);
+                    bean.setIntBoxed(writerNum);
+                    runtime.getEventService().sendEventBean(bean, "SupportBean");
+                }
+            } catch (RuntimeException ex) {
+                exception = ex;
+            }
+        }
+    }
+
+    private static class ReadRunnable implements Runnable {
+        private final RegressionEnvironment env;
+        private final EPCompiled faf;
+        private volatile boolean shutdown;
+        private Throwable exception;
+        private int numQueries;
+
+        public ReadRunnable(RegressionEnvironment env, EPCompiled faf) {
+            this.env = env;
+            this.faf = faf;
+        }
+
+        public void setShutdown(boolean shutdown) {
+            this.shutdown = shutdown;
+        }
+
+        public void run() {
+            try {
+                SupportListener listener = env.listener("s0");
+                while (!shutdown) {
+                    env.sendEventBean(new SupportBean_S0(numQueries, "K" + (numQueries % NUM_KEYS)));
+                    Map row = (Map) listener.assertOneGetNewAndReset().get("row");
+                    if (row != null) {
+                        assertEquals(((Long) row.get("cnt")).intValue(), row.get("total"));
+                    }
+
+                    if (numQueries % 100 == 0) {
+                        EPFireAndForgetQueryResult result = env.runtime().getFireAndForgetService().executeQuery(faf);
+                        EventBean totals = result.getArray()[0];
+                        if (totals.get("c") != null) {
+                            assertEquals(((Long) totals.get("c")).intValue(), totals.get("t"));
+                        }
+                    }
+                    numQueries++;
+                }
+            } catch (Throwable ex) {
+                exception = ex;
+            }
+        }
+    }
+}
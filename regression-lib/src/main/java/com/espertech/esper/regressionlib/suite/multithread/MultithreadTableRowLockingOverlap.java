@@ -0,0 +1,130 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.multithread;
+
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.regressionlib.framework.RegressionFlag;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.regressionlib.support.client.SupportCompileDeployUtil;
+import com.espertech.esper.runtime.client.EPRuntime;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Table with row-level locking, writers overlap:
+ * create table Totals (key string primary key, total sum(int))
+ * <p>
+ * - Rows are created upfront since creating a row obtains exclusive access to the table.
+ * - Two writers each send to their own into-table statement, for keys of different lock stripes.
+ * - The aggregated expression waits at a barrier for the other writer, while the writer holds its row lock.
+ * The barrier only trips when both writers are within their row operation at the same time.
+ */
+public class MultithreadTableRowLockingOverlap implements RegressionExecutionWithConfigure {
+    private final static int NUM_EVENTS_PER_WRITER = 100;
+    private final static CyclicBarrier BARRIER = new CyclicBarrier(2);
+    private static volatile Throwable barrierException;
+
+    @Override
+    public EnumSet<RegressionFlag> flags() {
+        return EnumSet.of(RegressionFlag.EXCLUDEWHENINSTRUMENTED, RegressionFlag.MULTITHREADED);
+    }
+
+    public void configure(Configuration configuration) {
+        configuration.getRuntime().getExecution().setTableLockStripes(16);
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+        configuration.getCommon().addImport(MultithreadTableRowLockingOverlap.class);
+    }
+
+    public void run(RegressionEnvironment env) {
+        BARRIER.reset();
+        barrierException = null;
+
+        RegressionPath path = new RegressionPath();
+        env.compileDeploy("@name('create') @public create table Totals (key string primary key, total sum(int))", path);
+        for (int i = 0; i < 2; i++) {
+            env.compileDeploy("into table Totals select sum(MultithreadTableRowLockingOverlap.awaitOtherWriter(intPrimitive)) as total " +
+                "from SupportBean(intBoxed = " + i + ") group by theString", path);
+        }
+        env.compileDeploy("into table Totals select sum(intPrimitive) as total from SupportBean(intBoxed = 2) group by theString", path);
+        for (String key : new String[]{"K0", "K1"}) {
+            SupportBean bean = new SupportBean(key, 0);
+            bean.setIntBoxed(2);
+            env.sendEventBean(bean);
+        }
+
+        // keys "K0" and "K1" have hash codes that differ in the low bits and thus map to different stripes
+        WriteRunnable[] writers = new WriteRunnable[]{new WriteRunnable(env.runtime(), 0, "K0"), new WriteRunnable(env.runtime(), 1, "K1")};
+        Thread[] threads = new Thread[writers.length];
+        for (int i = 0; i < writers.length; i++) {
+            threads[i] = new Thread(writers[i], MultithreadTableRowLockingOverlap.class.getSimpleName() + "-write" + i);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            SupportCompileDeployUtil.threadJoin(thread);
+        }
+
+        for (WriteRunnable writer : writers) {
+            assertNull(writer.exception);
+        }
+        assertNull(barrierException);
+        Map<String, Object> totals = new HashMap<>();
+        env.iterator("create").forEachRemaining(row -> totals.put((String) row.get("key"), row.get("total")));
+        assertEquals(NUM_EVENTS_PER_WRITER, totals.get("K0"));
+        assertEquals(NUM_EVENTS_PER_WRITER, totals.get("K1"));
+
+        env.undeployAll();
+    }
+
+    public static int awaitOtherWriter(int value) {
+        if (barrierException == null) {
+            try {
+                BARRIER.await(10, TimeUnit.SECONDS);
+            } catch (Throwable t) {
+                barrierException = t;
+            }
+        }
+        return value;
+    }
+
+    private static class WriteRunnable implements Runnable {
+        private final EPRuntime runtime;
+        private final int writerNum;
+        private final String key;
+        private RuntimeException exception;
+
+        public WriteRunnable(EPRuntime runtime, int writerNum, String key) {
+            this.runtime = runtime;
+            this.writerNum = writerNum;
+            this.key = key;
+        }
+
+        public void run() {
+            try {
+                for (int i = 0; i < NUM_EVENTS_PER_WRITER; i++) {
+                    SupportBean bean = new SupportBean(key, 1);
+                    bean.setIntBoxed(writerNum);
+                    runtime.getEventService().sendEventBean(bean, "SupportBean");
+                }
+            } catch (RuntimeException ex) {
+                exception = ex;
+            }
+        }
+    }
+}
@@ -12,13 +12,17 @@ package com.espertech.esper.regressionlib.suite.view;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
 import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
 import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
 import com.espertech.esper.regressionlib.support.bean.SupportBeanComplexProps;
 import com.espertech.esper.regressionlib.support.bean.SupportMarketDataBean;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 
@@ -30,6 +34,7 @@ public class ViewLengthWin {
         execs.add(new ViewLengthWindowWPrevPrior());
         execs.add(new ViewLengthWinWPropertyDetail());
         execs.add(new ViewLengthWindowIterator());
+        execs.add(new ViewLengthWindowCompact());
         return execs;
     }
 
@@ -176,6 +181,69 @@ public class ViewLengthWin {
         }
     }
 
+    private static class ViewLengthWindowCompact implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String[] fields = "theString".split(",");
+            RegressionPath path = new RegressionPath();
+            String epl = "@Hint('compact_window') @name('create') @public create window MyWindow#length(3) as SupportBean;\n" +
+                "insert into MyWindow select * from SupportBean;\n" +
+                "on SupportBean_S0 delete from MyWindow where theString = p00;\n";
+            env.compileDeploy(epl, path);
+            env.compileDeploy("@name('s0') select irstream * from MyWindow", path).addListener("s0");
+
+            sendSupportBean(env, "E1");
+            sendSupportBean(env, "E2");
+            sendSupportBean(env, "E3");
+            env.listenerReset("s0");
+
+            env.sendEventBean(new SupportBean_S0(1, "E2"));
+            env.assertPropsOld("s0", fields, new Object[]{"E2"});
+            env.assertPropsPerRowIterator("create", fields, new Object[][]{{"E1"}, {"E3"}});
+
+            env.milestone(1);
+
+            sendSupportBean(env, "E4");
+            env.assertPropsNew("s0", fields, new Object[]{"E4"});
+            sendSupportBean(env, "E5");
+            env.assertPropsIRPair("s0", fields, new Object[]{"E5"}, new Object[]{"E1"});
+            env.assertPropsPerRowIterator("create", fields, new Object[][]{{"E3"}, {"E4"}, {"E5"}});
+
+            env.undeployAll();
+
+            // window spanning multiple chunks, with events removed
+            path = new RegressionPath();
+            epl = "@Hint('compact_window') @name('create') @public create window MyWindow#length(1500) as SupportBean;\n" +
+                "insert into MyWindow select * from SupportBean;\n" +
+                "on SupportBean_S0 delete from MyWindow where theString = p00;\n";
+            env.compileDeploy(epl, path);
+
+            ArrayDeque<Integer> expected = new ArrayDeque<>();
+            for (int i = 0; i < 5000; i++) {
+                env.sendEventBean(new SupportBean("E" + i, i));
+                expected.add(i);
+                if (expected.size() > 1500) {
+                    expected.removeFirst();
+                }
+                if (i % 7 == 0) {
+                    env.sendEventBean(new SupportBean_S0(i, "E" + (i / 2)));
+                    expected.remove(i / 2);
+                }
+            }
+
+            env.milestone(2);
+
+            List<Integer> values = new ArrayList<>();
+            env.assertIterator("create", it -> {
+                while (it.hasNext()) {
+                    values.add((Integer) it.next().get("intPrimitive"));
+                }
+                assertEquals(new ArrayList<>(expected), values);
+            });
+
+            env.undeployAll();
+        }
+    }
+
     private static SupportMarketDataBean makeMarketDataEvent(String symbol) {
         return new SupportMarketDataBean(symbol, 0, 0L, null);
     }
@@ -14,8 +14,10 @@ import com.espertech.esper.common.client.EPCompiled;
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.util.DateTime;
 import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
 import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
 import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
 import com.espertech.esper.regressionlib.support.bean.SupportMarketDataBean;
 import com.espertech.esper.regressionlib.support.client.SupportPortableDeployStatementName;
 import com.espertech.esper.regressionlib.support.client.SupportPortableDeploySubstitutionParams;
@@ -28,6 +30,7 @@ import java.util.Collection;
 
 import static com.espertech.esper.regressionlib.support.schedule.SupportDateTimeUtil.timePlusMonth;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 
 public class ViewTimeWin {
@@ -49,6 +52,7 @@ public class ViewTimeWin {
         execs.add(new ViewTimeWindowTimePeriod());
         execs.add(new ViewTimeWindowVariableTimePeriodStmt());
         execs.add(new ViewTimeWindowTimePeriodParams());
+        execs.add(new ViewTimeWindowCompact());
         execs.add(new ViewTimeWindowFlipTimer(0, "1", 1000));
         execs.add(new ViewTimeWindowFlipTimer(123456789, "10", 123456789 + 10 * 1000));
         execs.add(new ViewTimeWindowFlipTimer(0, "1 months 10 milliseconds", timePlusMonth(0, 1) + 10));
@@ -493,6 +497,56 @@ public class ViewTimeWin {
         }
     }
 
+    private static class ViewTimeWindowCompact implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String[] fields = "theString".split(",");
+            env.advanceTime(0);
+
+            RegressionPath path = new RegressionPath();
+            String epl = "@Hint('compact_window') @name('win') create window MyWindow#time(10 sec) as SupportBean;\n" +
+                "insert into MyWindow select * from SupportBean;\n" +
+                "on SupportBean_S0 delete from MyWindow where theString = p00;\n" +
+                "@name('s0') select irstream theString from MyWindow;\n";
+            env.compileDeploy(epl, path).addListener("s0");
+
+            for (int i = 0; i < 3000; i++) {
+                env.advanceTime(i);
+                sendEvent(env, "E" + i);
+            }
+            env.listenerReset("s0");
+
+            // removal leaves the window ordered, expiry skips removed events
+            env.sendEventBean(new SupportBean_S0(1, "E1"));
+            env.assertPropsOld("s0", fields, new Object[]{"E1"});
+            env.sendEventBean(new SupportBean_S0(2, "E2000"));
+            env.assertPropsOld("s0", fields, new Object[]{"E2000"});
+
+            env.milestone(0);
+
+            env.advanceTime(10000);
+            env.assertPropsOld("s0", fields, new Object[]{"E0"});
+
+            env.advanceTime(10002);
+            env.assertPropsOld("s0", fields, new Object[]{"E2"});
+
+            env.advanceTime(13000);
+            env.assertListener("s0", listener -> {
+                assertEquals(2996, listener.getOldDataListFlattened().length);
+                listener.reset();
+            });
+            env.assertIterator("win", iterator -> assertFalse(iterator.hasNext()));
+
+            env.advanceTime(13001);
+            sendEvent(env, "X1");
+            env.listenerReset("s0");
+            env.assertPropsPerRowIterator("win", fields, new Object[][]{{"X1"}});
+            env.advanceTime(23001);
+            env.assertPropsOld("s0", fields, new Object[]{"X1"});
+
+            env.undeployAll();
+        }
+    }
+
     public static class ViewTimeWindowFlipTimer implements RegressionExecution {
 
         private final long startTime;
@@ -13,10 +13,12 @@ package com.espertech.esper.regressionlib.support.epl;
 import com.espertech.esper.common.internal.support.SupportBean_S0;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class SupportStaticMethodInvocations {
-    private static List<String> invocations = new ArrayList<String>();
+    // refresh-ahead reloads invoke on a separate thread
+    private static List<String> invocations = Collections.synchronizedList(new ArrayList<String>());
 
     public static int getInvocationSizeReset() {
         int size = invocations.size();
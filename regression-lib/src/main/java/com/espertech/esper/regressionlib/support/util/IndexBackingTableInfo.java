@@ -11,6 +11,7 @@
 package com.espertech.esper.regressionlib.support.util;
 
 import com.espertech.esper.common.client.annotation.HookType;
+import com.espertech.esper.common.internal.epl.index.advanced.index.bitmap.EventTableBitmap;
 import com.espertech.esper.common.internal.epl.index.composite.PropertyCompositeEventTable;
 import com.espertech.esper.common.internal.epl.index.hash.PropertyHashedEventTable;
 import com.espertech.esper.common.internal.epl.index.hash.PropertyHashedEventTableUnique;
@@ -27,4 +28,5 @@ public interface IndexBackingTableInfo {
     public final static String BACKING_MULTI_DUPS = PropertyHashedEventTable.class.getSimpleName();
     public final static String BACKING_SORTED = PropertySortedEventTable.class.getSimpleName();
     public final static String BACKING_COMPOSITE = PropertyCompositeEventTable.class.getSimpleName();
+    public final static String BACKING_BITMAP = EventTableBitmap.class.getSimpleName();
 }
@@ -69,10 +69,30 @@ public class TestSuiteClientRuntimeWConfig extends TestCase {
         RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigInboundFastShutdown());
     }
 
+    public void testClientRuntimeThreadedConfigInboundPartitioned() {
+        RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigInboundPartitioned());
+    }
+
+    public void testClientRuntimeThreadedConfigInboundContext() {
+        RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigInboundContext());
+    }
+
     public void testClientRuntimeThreadedConfigOutbound() {
         RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigOutbound());
     }
 
+    public void testClientRuntimeThreadedConfigHistoricalAsync() {
+        RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigHistoricalAsync());
+    }
+
+    public void testClientRuntimeThreadedConfigOutboundVirtual() {
+        RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigOutboundVirtual());
+    }
+
+    public void testClientRuntimeThreadedConfigNamedWindowParallel() {
+        RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigNamedWindowParallel());
+    }
+
     public void testClientRuntimeThreadedConfigRoute() {
         RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigRoute());
     }
@@ -85,6 +105,10 @@ public class TestSuiteClientRuntimeWConfig extends TestCase {
         new ClientRuntimeTimeControlClockType().run(SupportConfigFactory.getConfiguration());
     }
 
+    public void testClientRuntimeShardedRuntime() {
+        new ClientRuntimeShardedRuntime().run(SupportConfigFactory.getConfiguration());
+    }
+
     public void testClientSubscriberDisallowed() {
         RegressionSession session = RegressionRunner.session();
         session.getConfiguration().getCommon().addEventType(SupportBean.class);
@@ -95,4 +119,8 @@ public class TestSuiteClientRuntimeWConfig extends TestCase {
     public void testClientRuntimeLockLogging() {
         RegressionRunner.runConfigurable(new ClientRuntimeLockLogging());
     }
+
+    public void testClientRuntimeEventWireSerde() {
+        RegressionRunner.runConfigurable(new ClientRuntimeEventWireSerde());
+    }
 }
@@ -55,6 +55,20 @@ public class TestSuiteEPLFromClauseMethodWConfig extends TestCase {
         session.destroy();
     }
 
+    public void testEPLFromClauseMethodCacheRefreshAhead() {
+        RegressionSession session = RegressionRunner.session();
+
+        ConfigurationCommonMethodRef methodConfig = new ConfigurationCommonMethodRef();
+        methodConfig.setRefreshAheadCache(2, 1, 5);
+        session.getConfiguration().getCommon().addMethodRef(SupportStaticMethodInvocations.class.getName(), methodConfig);
+        session.getConfiguration().getCommon().addImport(SupportStaticMethodInvocations.class.getPackage().getName() + ".*");
+        session.getConfiguration().getCommon().addEventType(SupportBean.class);
+
+        RegressionRunner.run(session, new EPLFromClauseMethodCacheRefreshAhead());
+
+        session.destroy();
+    }
+
     public void testEPLFromClauseMethodJoinPerformance() {
         RegressionSession session = RegressionRunner.session();
 
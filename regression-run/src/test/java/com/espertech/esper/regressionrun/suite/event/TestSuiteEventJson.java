@@ -57,6 +57,14 @@ public class TestSuiteEventJson extends TestCase {
         RegressionRunner.run(session, EventJsonEventSender.executions());
     }
 
+    public void testEventJsonUTF8() {
+        RegressionRunner.run(session, EventJsonUTF8.executions());
+    }
+
+    public void testEventJsonLazy() {
+        RegressionRunner.run(session, EventJsonLazy.executions());
+    }
+
     public void testEventJsonParserLaxness() {
         RegressionRunner.run(session, EventJsonParserLaxness.executions());
     }
@@ -87,4 +87,16 @@ public class TestSuiteMultithreadWConfig extends TestCase {
     public void testMultithreadContextStartedBySameEvent() {
         RegressionRunner.runConfigurable(new MultithreadContextStartedBySameEvent());
     }
+
+    public void testMultithreadTableRowLocking() {
+        RegressionRunner.runConfigurable(new MultithreadTableRowLocking());
+    }
+
+    public void testMultithreadTableRowLockingOverlap() {
+        RegressionRunner.runConfigurable(new MultithreadTableRowLockingOverlap());
+    }
+
+    public void testMultithreadNamedWindowConcurrentIndex() {
+        RegressionRunner.runConfigurable(new MultithreadNamedWindowConcurrentIndex());
+    }
 }
@@ -12,6 +12,7 @@ package com.espertech.esper.runtime.client;
 
 import com.espertech.esper.common.client.EventSender;
 import com.espertech.esper.common.client.EventTypeException;
+import com.espertech.esper.common.client.serde.EventWireSerde;
 
 /**
  * Service for processing events and advancing time.
@@ -47,6 +48,18 @@ public interface EPEventService extends EPEventServiceSendEvent, EPEventServiceR
      */
     EventSender getEventSender(String eventTypeName) throws EventTypeException;
 
+    /**
+     * Returns the binary serde for exchanging events of the given event type between runtimes.
+     * <p>
+     * The compiler generates the serde for event types declared by create-schema when the compiler configuration
+     * enables event wire serdes. Runtimes exchanging events must have the same schema for the event type.
+     *
+     * @param eventTypeName is the name of the event type
+     * @return wire serde
+     * @throws EventTypeException thrown to indicate that the name does not exist or that there is no wire serde for the event type
+     */
+    EventWireSerde getEventWireSerde(String eventTypeName) throws EventTypeException;
+
     /**
      * Sets a listener to receive events that are unmatched by any statement.
      * <p>
@@ -13,6 +13,8 @@ package com.espertech.esper.runtime.client;
 import com.espertech.esper.common.client.EPException;
 import org.w3c.dom.Node;
 
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -102,4 +104,133 @@ public interface EPEventServiceSendEvent {
      * @throws EPException is thrown when the processing of the event lead to an error, including for Json parsing problems
      */
     void sendEventJson(String json, String jsonEventTypeName);
+
+    /**
+     * Send an event represented by a UTF-8 encoded JSON document to the runtime.
+     * <p>
+     * Equivalent to {@link #sendEventJson(String, String)}, however for event types that have only string, boolean and number properties
+     * the runtime parses the document directly from the bytes, without first decoding the document into a string.
+     * The runtime does not retain the array and the caller may reuse the array after the method returns.
+     *
+     * @param json              UTF-8 encoded document
+     * @param offset            offset of the document in the array
+     * @param length            length of the document in bytes
+     * @param jsonEventTypeName event type name
+     * @throws EPException is thrown when the processing of the event lead to an error, including for Json parsing problems
+     */
+    void sendEventJson(byte[] json, int offset, int length, String jsonEventTypeName);
+
+    /**
+     * Send an event represented by a UTF-8 encoded JSON document to the runtime, the document being the remaining bytes of the buffer.
+     * <p>
+     * See {@link #sendEventJson(byte[], int, int, String)}. The method does not change the position of the buffer.
+     * Heap buffers are parsed in place, the remaining bytes of direct buffers are copied first.
+     *
+     * @param json              UTF-8 encoded document
+     * @param jsonEventTypeName event type name
+     * @throws EPException is thrown when the processing of the event lead to an error, including for Json parsing problems
+     */
+    default void sendEventJson(ByteBuffer json, String jsonEventTypeName) {
+        if (json.hasArray()) {
+            sendEventJson(json.array(), json.arrayOffset() + json.position(), json.remaining(), jsonEventTypeName);
+        } else {
+            byte[] bytes = new byte[json.remaining()];
+            json.duplicate().get(bytes);
+            sendEventJson(bytes, 0, bytes.length, jsonEventTypeName);
+        }
+    }
+
+    /**
+     * Send a batch of object arrays containing event property values to the runtime, in the order provided by the collection.
+     * <p>
+     * Equivalent to calling {@link #sendEventObjectArray(Object[], String)} for each event, however the runtime amortizes
+     * the per-event cost of obtaining thread-local state and the event processing lock, and dispatches listener and
+     * subscriber output once for consecutive events of the batch. Listeners may therefore receive the output for multiple
+     * events of the batch in a single invocation. Events routed via insert-into or by listeners are processed
+     * before the next event of the batch.
+     *
+     * @param events        - arrays that contain event property values
+     * @param eventTypeName - event type name
+     * @throws EPException - when the processing of an event leads to an error
+     */
+    default void sendEventObjectArrayBatch(Collection<Object[]> events, String eventTypeName) {
+        for (Object[] event : events) {
+            sendEventObjectArray(event, eventTypeName);
+        }
+    }
+
+    /**
+     * Send a batch of events represented by objects to the runtime, in the order provided by the collection.
+     * <p>
+     * See {@link #sendEventObjectArrayBatch(Collection, String)} for the batch semantics.
+     *
+     * @param events        events to sent to the runtime
+     * @param eventTypeName event type name
+     * @throws EPException is thrown when the processing of an event lead to an error
+     */
+    default void sendEventBeanBatch(Collection<?> events, String eventTypeName) {
+        for (Object event : events) {
+            sendEventBean(event, eventTypeName);
+        }
+    }
+
+    /**
+     * Send a batch of maps containing event property values to the runtime, in the order provided by the collection.
+     * <p>
+     * See {@link #sendEventObjectArrayBatch(Collection, String)} for the batch semantics.
+     *
+     * @param events        - maps that contain event property values
+     * @param eventTypeName - event type name
+     * @throws EPException - when the processing of an event leads to an error
+     */
+    default void sendEventMapBatch(Collection<Map<String, Object>> events, String eventTypeName) {
+        for (Map<String, Object> event : events) {
+            sendEventMap(event, eventTypeName);
+        }
+    }
+
+    /**
+     * Send a batch of events represented by DOM nodes to the runtime, in the order provided by the collection.
+     * <p>
+     * See {@link #sendEventObjectArrayBatch(Collection, String)} for the batch semantics.
+     *
+     * @param nodes         DOM nodes as events
+     * @param eventTypeName event type name
+     * @throws EPException is thrown when the processing of an event lead to an error
+     */
+    default void sendEventXMLDOMBatch(Collection<Node> nodes, String eventTypeName) {
+        for (Node node : nodes) {
+            sendEventXMLDOM(node, eventTypeName);
+        }
+    }
+
+    /**
+     * Send a batch of events represented by Avro GenericData.Record to the runtime, in the order provided by the collection.
+     * <p>
+     * See {@link #sendEventObjectArrayBatch(Collection, String)} for the batch semantics.
+     *
+     * @param avroGenericDataDotRecords events to sent to the runtime
+     * @param avroEventTypeName         event type name
+     * @throws EPException is thrown when the processing of an event lead to an error
+     */
+    default void sendEventAvroBatch(Collection<?> avroGenericDataDotRecords, String avroEventTypeName) {
+        for (Object record : avroGenericDataDotRecords) {
+            sendEventAvro(record, avroEventTypeName);
+        }
+    }
+
+    /**
+     * Send a batch of events represented by String JSON to the runtime, in the order provided by the collection.
+     * <p>
+     * See {@link #sendEventObjectArrayBatch(Collection, String)} for the batch semantics.
+     *
+     * @param jsons             events to sent to the runtime
+     * @param jsonEventTypeName event type name
+     * @throws EPException is thrown when the processing of an event lead to an error, including for Json parsing problems
+     */
+    default void sendEventJsonBatch(Collection<String> jsons, String jsonEventTypeName) {
+        for (String json : jsons) {
+            sendEventJson(json, jsonEventTypeName);
+        }
+    }
 }
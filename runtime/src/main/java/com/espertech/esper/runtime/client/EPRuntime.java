@@ -107,6 +107,14 @@ public interface EPRuntime {
      */
     EPStageService getStageService() throws EPRuntimeDestroyedException;
 
+    /**
+     * Returns the snapshot service, for writing named window and table rows to a snapshot file and for loading rows from a snapshot file
+     *
+     * @return snapshot service
+     * @throws EPRuntimeDestroyedException thrown when the runtime has been destroyed
+     */
+    EPSnapshotService getSnapshotService() throws EPRuntimeDestroyedException;
+
     /**
      * Returns true if the runtime is in destroyed state, or false if not.
      *
@@ -0,0 +1,63 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.client;
+
+import com.espertech.esper.common.client.EPException;
+
+import java.io.File;
+
+/**
+ * Service for writing the rows of named windows and tables to a snapshot file and for loading rows from a snapshot file,
+ * so that after a restart the named windows and tables of a deployment can be populated without replaying input.
+ * <p>
+ *     A snapshot holds, for each named window and table of a deployment, the event type properties followed by the rows.
+ *     The snapshot file is written and read sequentially through memory-mapped regions.
+ * </p>
+ * <p>
+ *     Loading rows into a named window or table adds the rows to the data window and to all indexes, including explicit indexes.
+ *     Loading does not produce statement output and does not dispatch the rows to consuming statements.
+ * </p>
+ * <p>
+ *     Named windows and tables that are associated to a context are not supported.
+ *     Named window rows must be object-array, map or bean (serializable underlying) events.
+ *     Property values must be of a built-in type or serializable.
+ *     The aggregation state of tables is only part of the snapshot when the compiler provides serdes for table aggregations,
+ *     otherwise rows are loaded with initial aggregation state.
+ * </p>
+ */
+public interface EPSnapshotService {
+    /**
+     * Writes the rows of all named windows and tables of the deployment to the file, replacing the file if it exists.
+     * <p>
+     *     Takes the runtime-instance-wide write lock, so that the snapshot is consistent across named windows and tables.
+     * </p>
+     *
+     * @param deploymentId deployment id of the deployment
+     * @param file         snapshot file
+     * @return number of rows written
+     * @throws EPException when the deployment is not found, a named window or table is not supported, or the file cannot be written
+     */
+    long snapshot(String deploymentId, File file) throws EPException;
+
+    /**
+     * Loads the rows from the file into the named windows and tables of the deployment, matching named windows and tables by name.
+     * <p>
+     *     The named windows and tables must be empty and must have the same properties as when the snapshot was taken.
+     *     Takes the runtime-instance-wide write lock.
+     * </p>
+     *
+     * @param deploymentId deployment id of the deployment
+     * @param file         snapshot file
+     * @return number of rows loaded
+     * @throws EPException when the deployment, a named window or a table is not found, is not empty or has different properties, or the file cannot be read
+     */
+    long restore(String deploymentId, File file) throws EPException;
+}
@@ -0,0 +1,186 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.client.shard;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.EventTypeException;
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryResult;
+import com.espertech.esper.runtime.client.EPDeployException;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.EPUndeployException;
+import com.espertech.esper.runtime.client.UpdateListener;
+
+import java.util.Map;
+
+/**
+ * A sharded runtime runs the same compiled modules on a number of runtimes (shards) in the same JVM.
+ * <p>
+ * Each shard has its own filter service, schedule service and event processing lock. Events of an event type that has a shard key
+ * are routed to a single shard by hashing the value of the shard key property, using the same hash functions as the hash segmented context.
+ * Events of event types that do not have a shard key, as well as time advancing, go to all shards.
+ * </p>
+ * <p>
+ * Events are processed by the thread that sends the event, so that events for different shards sent by different threads
+ * are processed concurrently. Use inbound threading in the runtime configuration to process events sent by a single thread concurrently.
+ * </p>
+ * <p>
+ * State is not shared between shards. The sharded runtime is therefore suited for statements that are keyed by the shard key, such as
+ * statements with a partitioned context or a group-by on the shard key. Statements that aggregate over all keys produce
+ * an output per shard.
+ * </p>
+ */
+public interface EPShardedRuntime {
+    /**
+     * Returns the runtime URI of the sharded runtime, which is also the prefix of the runtime URI of each shard.
+     *
+     * @return uri
+     */
+    String getURI();
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return shard count
+     */
+    int getNumShards();
+
+    /**
+     * Returns the runtime for the shard.
+     *
+     * @param shard shard number starting at zero
+     * @return runtime
+     */
+    EPRuntime getShard(int shard);
+
+    /**
+     * Declares the shard key for an event type, using the "consistent_hash_crc32" hash function.
+     *
+     * @param eventTypeName event type name
+     * @param propertyName  name of the property that provides the shard key
+     */
+    void addShardKey(String eventTypeName, String propertyName);
+
+    /**
+     * Declares the shard key for an event type.
+     *
+     * @param eventTypeName event type name
+     * @param propertyName  name of the property that provides the shard key
+     * @param hashFunction  hash function name, either "consistent_hash_crc32" or "hash_code"
+     * @throws IllegalArgumentException for an unrecognized hash function name
+     */
+    void addShardKey(String eventTypeName, String propertyName, String hashFunction) throws IllegalArgumentException;
+
+    /**
+     * Deploys the compiled module to each shard, using the same deployment id for each shard.
+     * If deployment fails for any shard the deployment is undeployed from the shards that it was deployed to.
+     *
+     * @param compiled compiled module
+     * @return deployment id
+     * @throws EPDeployException when the deployment failed
+     */
+    String deploy(EPCompiled compiled) throws EPDeployException;
+
+    /**
+     * Undeploys the deployment from each shard.
+     *
+     * @param deploymentId deployment id
+     * @throws EPUndeployException when the undeployment failed
+     */
+    void undeploy(String deploymentId) throws EPUndeployException;
+
+    /**
+     * Returns the statements of the given name of the deployment, one for each shard.
+     *
+     * @param deploymentId  deployment id
+     * @param statementName statement name
+     * @return statement per shard, or null if not found
+     */
+    EPStatement[] getStatements(String deploymentId, String statementName);
+
+    /**
+     * Adds a listener to the statement of each shard. The listener receives the output of all shards
+     * and is not invoked by multiple shards concurrently.
+     *
+     * @param deploymentId  deployment id
+     * @param statementName statement name
+     * @param listener      listener
+     * @throws IllegalArgumentException if the statement cannot be found
+     */
+    void addListener(String deploymentId, String statementName, UpdateListener listener) throws IllegalArgumentException;
+
+    /**
+     * Send an event represented by a plain Java object to the shard for the event.
+     *
+     * @param event         event to send
+     * @param eventTypeName event type name
+     * @throws EventTypeException if the event type could not be found
+     */
+    void sendEventBean(Object event, String eventTypeName) throws EventTypeException;
+
+    /**
+     * Send a map containing event property values to the shard for the event.
+     *
+     * @param map           event to send
+     * @param eventTypeName event type name
+     * @throws EventTypeException if the event type could not be found
+     */
+    void sendEventMap(Map<String, Object> map, String eventTypeName) throws EventTypeException;
+
+    /**
+     * Send an object array containing event property values to the shard for the event.
+     *
+     * @param objectarray   event to send
+     * @param eventTypeName event type name
+     * @throws EventTypeException if the event type could not be found
+     */
+    void sendEventObjectArray(Object[] objectarray, String eventTypeName) throws EventTypeException;
+
+    /**
+     * Send an event represented by a JSON string to the shard for the event.
+     *
+     * @param json          event to send
+     * @param eventTypeName event type name
+     * @throws EventTypeException if the event type could not be found
+     */
+    void sendEventJson(String json, String eventTypeName) throws EventTypeException;
+
+    /**
+     * Returns the shard that an event is routed to.
+     *
+     * @param underlying    event underlying object, which is the JSON string for JSON event types
+     * @param eventTypeName event type name
+     * @return shard number, or -1 if the event type does not have a shard key and events are sent to all shards
+     * @throws EventTypeException if the event type could not be found
+     */
+    int getShardForEvent(Object underlying, String eventTypeName) throws EventTypeException;
+
+    /**
+     * Advance time for all shards.
+     *
+     * @param time time
+     */
+    void advanceTime(long time);
+
+    /**
+     * Executes the fire-and-forget query on all shards concurrently and returns the rows of all shards.
+     * Rows are ordered by shard. Aggregation, ordering and row limits apply per shard and are not merged.
+     *
+     * @param compiled compiled fire-and-forget query
+     * @return query result
+     */
+    EPFireAndForgetQueryResult executeQuery(EPCompiled compiled);
+
+    /**
+     * Destroys all shards.
+     */
+    void destroy();
+}
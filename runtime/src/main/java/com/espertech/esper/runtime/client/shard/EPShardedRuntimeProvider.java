@@ -0,0 +1,52 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.client.shard;
+
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.configuration.ConfigurationException;
+import com.espertech.esper.runtime.client.EPRuntimeProvider;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import com.espertech.esper.runtime.internal.kernel.shard.EPShardedRuntimeImpl;
+
+/**
+ * Factory for obtaining a sharded runtime.
+ */
+public final class EPShardedRuntimeProvider {
+
+    private EPShardedRuntimeProvider() {
+    }
+
+    /**
+     * Returns a new sharded runtime.
+     * <p>
+     * The runtime URI of each shard is the URI of the sharded runtime followed by "-shard-" and the shard number.
+     * Each shard receives the same configuration.
+     * </p>
+     *
+     * @param uri           the runtime URI of the sharded runtime
+     * @param configuration the configuration for each shard
+     * @param numShards     number of shards
+     * @return sharded runtime
+     * @throws ConfigurationException to indicate a configuration problem
+     * @throws IllegalArgumentException for an invalid number of shards
+     */
+    public static EPShardedRuntime getShardedRuntime(String uri, Configuration configuration, int numShards) throws ConfigurationException, IllegalArgumentException {
+        if (numShards < 1) {
+            throw new IllegalArgumentException("Invalid number of shards " + numShards + ", expecting a positive number");
+        }
+        String uriNonNull = uri == null ? EPRuntimeProvider.DEFAULT_RUNTIME_URI : uri;
+        EPRuntimeSPI[] shards = new EPRuntimeSPI[numShards];
+        for (int i = 0; i < numShards; i++) {
+            shards[i] = (EPRuntimeSPI) EPRuntimeProvider.getRuntime(uriNonNull + "-shard-" + i, configuration);
+        }
+        return new EPShardedRuntimeImpl(uriNonNull, shards);
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+
+/**
+ * <p>
+ * Sharded runtime: Runs the same compiled EPL on multiple runtimes, routing events by key.
+ * </p>
+ */
+package com.espertech.esper.runtime.client.shard;
@@ -17,6 +17,7 @@ import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorCont
 import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
@@ -26,14 +27,15 @@ import java.util.concurrent.locks.ReadWriteLock;
  * This class evaluates events for the purpose of filtering by (1) looking up the event's {@link EventType}
  * and (2) asking the subtree for this event type to evaluate the event.
  * <p>
- * The class performs all the locking required for multithreaded access.
+ * The class performs all the locking required for multithreaded access. When the lock factory provides lock-free reads
+ * the mapping is a concurrent map and the lock obtained is a no-op lock.
  */
 public class EventTypeIndex implements EventEvaluator {
     private Map<EventType, FilterHandleSetNode> eventTypes;
     private ReadWriteLock eventTypesRWLock;
 
     public EventTypeIndex(FilterServiceGranularLockFactory lockFactory) {
-        eventTypes = new HashMap<EventType, FilterHandleSetNode>();
+        eventTypes = lockFactory.isLockFreeRead() ? new ConcurrentHashMap<EventType, FilterHandleSetNode>() : new HashMap<EventType, FilterHandleSetNode>();
         eventTypesRWLock = lockFactory.obtainNew();
     }
 
@@ -72,7 +72,7 @@ public class EventTypeIndexBuilder {
             try {
                 rootNode = eventTypeIndex.get(eventType);
                 if (rootNode == null) {
-                    rootNode = new FilterHandleSetNode(lockFactory.obtainNew());
+                    rootNode = new FilterHandleSetNode(lockFactory.obtainNew(), lockFactory.isLockFreeRead());
                     eventTypeIndex.add(eventType, rootNode);
                 }
             } finally {
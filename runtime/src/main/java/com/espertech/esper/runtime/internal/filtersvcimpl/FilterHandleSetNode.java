@@ -27,14 +27,23 @@ import java.util.concurrent.locks.ReadWriteLock;
  * but can also be non-leaf (some indizes exist) in a filter evaluation tree.
  * Events are evaluated by asking each of the indizes to evaluate the event and by
  * adding any filter callbacks in this node to the "matches" list of callbacks.
+ * <p>
+ * For lock-free reads the callback set and the list of indizes are copy-on-write: changes replace the collection
+ * and evaluation iterates the collection that was current when it started.
  */
 public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSize {
     private final ReadWriteLock nodeRWLock;
-    private final Set<FilterHandle> callbackSet;
-    private List<FilterParamIndexBase> indizes;
+    private final boolean copyOnWrite;
+    private volatile Set<FilterHandle> callbackSet;
+    private volatile List<FilterParamIndexBase> indizes;
 
     public FilterHandleSetNode(ReadWriteLock nodeRWLock) {
+        this(nodeRWLock, false);
+    }
+
+    public FilterHandleSetNode(ReadWriteLock nodeRWLock, boolean copyOnWrite) {
         this.nodeRWLock = nodeRWLock;
+        this.copyOnWrite = copyOnWrite;
         callbackSet = new LinkedHashSet<>(CollectionUtil.capacityHashMap(4));
         indizes = Collections.emptyList();
     }
@@ -90,6 +99,7 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
         nodeRWLock.readLock().lock();
         try {
+            List<FilterParamIndexBase> indizes = this.indizes;
             if (InstrumentationHelper.ENABLED) {
                 if (!indizes.isEmpty()) {
                     InstrumentationHelper.get().qFilterHandleSetIndexes(indizes);
@@ -136,6 +146,13 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
      * @param index - index to add
      */
     public final void add(FilterParamIndexBase index) {
+        if (copyOnWrite) {
+            List<FilterParamIndexBase> copy = new ArrayList<>(indizes.size() + 1);
+            copy.addAll(indizes);
+            copy.add(index);
+            indizes = copy;
+            return;
+        }
         checkIndizesIsModifyable();
         indizes.add(index);
     }
@@ -149,6 +166,14 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
      * @return true if found, false if not existing
      */
     public final boolean remove(FilterParamIndexBase index) {
+        if (copyOnWrite) {
+            List<FilterParamIndexBase> copy = new ArrayList<>(indizes);
+            if (!copy.remove(index)) {
+                return false;
+            }
+            indizes = copy.isEmpty() ? Collections.emptyList() : copy;
+            return true;
+        }
         checkIndizesIsModifyable();
         return indizes.remove(index);
     }
@@ -162,6 +187,16 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
      * @param filterCallback is the callback to add
      */
     public final void add(FilterHandle filterCallback) {
+        if (copyOnWrite) {
+            if (callbackSet.contains(filterCallback)) {
+                return;
+            }
+            Set<FilterHandle> copy = new LinkedHashSet<>(CollectionUtil.capacityHashMap(callbackSet.size() + 1));
+            copy.addAll(callbackSet);
+            copy.add(filterCallback);
+            callbackSet = copy;
+            return;
+        }
         callbackSet.add(filterCallback);
     }
 
@@ -174,6 +209,15 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
      * @return true if found, false if not existing
      */
     public final boolean remove(FilterHandle filterCallback) {
+        if (copyOnWrite) {
+            if (!callbackSet.contains(filterCallback)) {
+                return false;
+            }
+            Set<FilterHandle> copy = new LinkedHashSet<>(callbackSet);
+            copy.remove(filterCallback);
+            callbackSet = copy;
+            return true;
+        }
         return callbackSet.remove(filterCallback);
     }
 
@@ -20,25 +20,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Index for filter parameter constants for the comparison operators (less, greater, etc).
- * The implementation is based on the SortedMap implementation of TreeMap.
+ * The implementation is based on the SortedMap implementation of TreeMap, or ConcurrentSkipListMap for lock-free reads.
  * The index only accepts numeric constants. It keeps a lower and upper bounds of all constants in the index
  * for fast range checking, since the assumption is that frequently values fall within a range.
  */
 public final class FilterParamIndexCompare extends FilterParamIndexLookupableBase {
-    private final TreeMap<Object, EventEvaluator> constantsMap;
+    private final NavigableMap<Object, EventEvaluator> constantsMap;
     private final ReadWriteLock constantsMapRWLock;
 
-    private Double lowerBounds;
-    private Double upperBounds;
+    private volatile Double lowerBounds;
+    private volatile Double upperBounds;
 
-    public FilterParamIndexCompare(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+    public FilterParamIndexCompare(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean lockFreeRead) {
         super(filterOperator, lookupable);
 
-        constantsMap = new TreeMap<Object, EventEvaluator>();
+        constantsMap = lockFreeRead ? new ConcurrentSkipListMap<Object, EventEvaluator>() : new TreeMap<Object, EventEvaluator>();
         constantsMapRWLock = readWriteLock;
 
         if ((filterOperator != FilterOperator.GREATER) &&
@@ -99,7 +100,9 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
         }
 
         // A undefine lower bound indicates an empty index
-        if (lowerBounds == null) {
+        Double lowerBounds = this.lowerBounds;
+        Double upperBounds = this.upperBounds;
+        if (lowerBounds == null || upperBounds == null) {
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aFilterReverseIndex(false);
             }
@@ -144,23 +147,12 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
                 // At the head of the map are those with a lower numeric constants
                 subMap = constantsMap.headMap(propertyValue);
             } else {
-                subMap = constantsMap.tailMap(propertyValue);
-            }
-
-            // All entries in the subMap are elgibile, with an exception
-            EventEvaluator exactEquals = null;
-            if (filterOperator == FilterOperator.LESS) {
-                exactEquals = constantsMap.get(propertyValue);
+                // For the LESS comparison type we ignore the exactly equal case
+                subMap = constantsMap.tailMap(propertyValue, filterOperator == FilterOperator.LESS_OR_EQUAL);
             }
 
+            // All entries in the subMap are elgibile
             for (EventEvaluator matcher : subMap.values()) {
-                // For the LESS comparison type we ignore the exactly equal case
-                // The subMap is sorted ascending, thus the exactly equals case is the first
-                if (exactEquals != null) {
-                    exactEquals = null;
-                    continue;
-                }
-
                 matcher.matchEvent(theEvent, matches, ctx);
             }
 
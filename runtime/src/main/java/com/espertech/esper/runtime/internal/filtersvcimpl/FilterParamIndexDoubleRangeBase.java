@@ -16,26 +16,28 @@ import com.espertech.esper.common.internal.filterspec.FilterOperator;
 
 import java.util.ArrayDeque;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Index for filter parameter constants for the range operators (range open/closed/half).
  * The implementation is based on the SortedMap implementation of TreeMap and stores only expression
- * parameter values of type DoubleRange.
+ * parameter values of type DoubleRange. For lock-free reads the implementation is based on ConcurrentSkipListMap.
  */
 public abstract class FilterParamIndexDoubleRangeBase extends FilterParamIndexLookupableBase {
-    protected final TreeMap<DoubleRange, EventEvaluator> ranges;
-    protected EventEvaluator rangesNullEndpoints;
+    protected final NavigableMap<DoubleRange, EventEvaluator> ranges;
+    protected volatile EventEvaluator rangesNullEndpoints;
     private final ReadWriteLock rangesRWLock;
 
-    protected double largestRangeValueDouble = Double.MIN_VALUE;
+    protected volatile double largestRangeValueDouble = Double.MIN_VALUE;
 
-    protected FilterParamIndexDoubleRangeBase(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+    protected FilterParamIndexDoubleRangeBase(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean lockFreeRead) {
         super(filterOperator, lookupable);
 
-        ranges = new TreeMap<>(DoubleRangeComparator.INSTANCE);
+        ranges = lockFreeRead ? new ConcurrentSkipListMap<>(DoubleRangeComparator.INSTANCE) : new TreeMap<>(DoubleRangeComparator.INSTANCE);
         rangesRWLock = readWriteLock;
     }
 
@@ -28,8 +28,8 @@ import java.util.concurrent.locks.ReadWriteLock;
  * parameter values of type DoubleRange.
  */
 public final class FilterParamIndexDoubleRangeInverted extends FilterParamIndexDoubleRangeBase {
-    public FilterParamIndexDoubleRangeInverted(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
-        super(lookupable, readWriteLock, filterOperator);
+    public FilterParamIndexDoubleRangeInverted(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean lockFreeRead) {
+        super(lookupable, readWriteLock, filterOperator, lockFreeRead);
         if (!(filterOperator.isInvertedRangeOperator())) {
             throw new IllegalArgumentException("Invalid filter operator " + filterOperator);
         }
@@ -82,8 +82,9 @@ public final class FilterParamIndexDoubleRangeInverted extends FilterParamIndexD
             throw new IllegalStateException("Invalid filter operator " + this.getFilterOperator());
         }
 
-        if (rangesNullEndpoints != null) {
-            rangesNullEndpoints.matchEvent(theEvent, matches, ctx);
+        EventEvaluator nullEndpoints = rangesNullEndpoints;
+        if (nullEndpoints != null) {
+            nullEndpoints.matchEvent(theEvent, matches, ctx);
         }
 
         if (InstrumentationHelper.ENABLED) {
@@ -25,8 +25,8 @@ import java.util.concurrent.locks.ReadWriteLock;
  * The implementation is based on a regular HashMap.
  */
 public final class FilterParamIndexEquals extends FilterParamIndexEqualsBase {
-    public FilterParamIndexEquals(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
-        super(lookupable, readWriteLock, FilterOperator.EQUAL);
+    public FilterParamIndexEquals(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean lockFreeRead) {
+        super(lookupable, readWriteLock, FilterOperator.EQUAL, lockFreeRead);
     }
 
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
@@ -25,8 +25,8 @@ import java.util.concurrent.locks.ReadWriteLock;
  * The implementation is based on a regular HashMap.
  */
 public final class FilterParamIndexEqualsIs extends FilterParamIndexEqualsBase {
-    public FilterParamIndexEqualsIs(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
-        super(lookupable, readWriteLock, FilterOperator.IS);
+    public FilterParamIndexEqualsIs(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean lockFreeRead) {
+        super(lookupable, readWriteLock, FilterOperator.IS, lockFreeRead);
     }
 
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
@@ -38,7 +38,7 @@ public final class FilterParamIndexEqualsIs extends FilterParamIndexEqualsBase {
         EventEvaluator evaluator = null;
         constantsMapRWLock.readLock().lock();
         try {
-            evaluator = constantsMap.get(attributeValue);
+            evaluator = constantsMap.get(toKey(attributeValue));
         } finally {
             constantsMapRWLock.readLock().unlock();
         }
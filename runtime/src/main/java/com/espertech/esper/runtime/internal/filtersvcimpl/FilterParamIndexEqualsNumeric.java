@@ -0,0 +1,181 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.LongHashMap;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
+import com.espertech.esper.common.internal.filterspec.FilterOperator;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Index for filter parameter constants to match using the equals (=) operator, for numeric event properties.
+ * <p>
+ * Constants of the property's boxed type are kept in a primitive-long-keyed open-addressing map, so that
+ * lookups do not hash or compare boxed keys. Key equality is the same as for the boxed type: integral types
+ * compare by value and floating-point types compare by their bit representation.
+ * <p>
+ * Constants of any other type, including null, are kept in a regular HashMap.
+ */
+public final class FilterParamIndexEqualsNumeric extends FilterParamIndexLookupableBase {
+    private final Class keyType;
+    private final LongHashMap<EventEvaluator> constantsMap;
+    private final Map<Object, EventEvaluator> otherConstantsMap;
+    private final ReadWriteLock constantsMapRWLock;
+
+    public FilterParamIndexEqualsNumeric(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, Class keyType) {
+        super(FilterOperator.EQUAL, lookupable);
+        if (!isSupportedKeyType(keyType)) {
+            throw new IllegalArgumentException("Unsupported key type " + keyType);
+        }
+        this.keyType = keyType;
+        this.constantsMap = new LongHashMap<>();
+        this.otherConstantsMap = new HashMap<>();
+        this.constantsMapRWLock = readWriteLock;
+    }
+
+    /**
+     * Returns indicator whether the boxed type can be keyed by the index.
+     *
+     * @param boxedType boxed property type
+     * @return indicator
+     */
+    public static boolean isSupportedKeyType(Class boxedType) {
+        return boxedType == Integer.class || boxedType == Long.class || boxedType == Short.class || boxedType == Byte.class ||
+            boxedType == Double.class || boxedType == Float.class;
+    }
+
+    public EventEvaluator get(Object filterConstant) {
+        if (filterConstant != null && filterConstant.getClass() == keyType) {
+            return constantsMap.get(toPrimitiveKey((Number) filterConstant));
+        }
+        return otherConstantsMap.get(filterConstant);
+    }
+
+    public void put(Object filterConstant, EventEvaluator evaluator) {
+        if (filterConstant != null && filterConstant.getClass() == keyType) {
+            constantsMap.put(toPrimitiveKey((Number) filterConstant), evaluator);
+        } else {
+            otherConstantsMap.put(filterConstant, evaluator);
+        }
+    }
+
+    public void remove(Object filterConstant) {
+        if (filterConstant != null && filterConstant.getClass() == keyType) {
+            constantsMap.remove(toPrimitiveKey((Number) filterConstant));
+        } else {
+            otherConstantsMap.remove(filterConstant);
+        }
+    }
+
+    public int sizeExpensive() {
+        return constantsMap.size() + otherConstantsMap.size();
+    }
+
+    public boolean isEmpty() {
+        return constantsMap.isEmpty() && otherConstantsMap.isEmpty();
+    }
+
+    public ReadWriteLock getReadWriteLock() {
+        return constantsMapRWLock;
+    }
+
+    public void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
+        Object attributeValue = lookupable.getEval().eval(theEvent, ctx);
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qFilterReverseIndex(this, attributeValue);
+        }
+
+        if (attributeValue == null) {   //  null cannot match, not even null: requires use of "is"
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().aFilterReverseIndex(false);
+            }
+            return;
+        }
+
+        // Look up in primitive hashtable
+        EventEvaluator evaluator;
+        constantsMapRWLock.readLock().lock();
+        try {
+            if (attributeValue.getClass() == keyType) {
+                evaluator = constantsMap.get(toPrimitiveKey((Number) attributeValue));
+            } else {
+                evaluator = otherConstantsMap.isEmpty() ? null : otherConstantsMap.get(attributeValue);
+            }
+        } finally {
+            constantsMapRWLock.readLock().unlock();
+        }
+
+        // No listener found for the value, return
+        if (evaluator == null) {
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().aFilterReverseIndex(false);
+            }
+            return;
+        }
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aFilterReverseIndex(true);
+        }
+        evaluator.matchEvent(theEvent, matches, ctx);
+    }
+
+    public void getTraverseStatement(EventTypeIndexTraverse traverse, Set<Integer> statementIds, ArrayDeque<FilterItem> evaluatorStack) {
+        constantsMap.visit((key, evaluator) -> {
+            evaluatorStack.add(new FilterItem(lookupable.getExpression(), getFilterOperator(), fromPrimitiveKey(key), this));
+            evaluator.getTraverseStatement(traverse, statementIds, evaluatorStack);
+            evaluatorStack.removeLast();
+        });
+        for (Map.Entry<Object, EventEvaluator> entry : otherConstantsMap.entrySet()) {
+            evaluatorStack.add(new FilterItem(lookupable.getExpression(), getFilterOperator(), entry.getKey(), this));
+            entry.getValue().getTraverseStatement(traverse, statementIds, evaluatorStack);
+            evaluatorStack.removeLast();
+        }
+    }
+
+    private long toPrimitiveKey(Number value) {
+        if (keyType == Double.class) {
+            return Double.doubleToLongBits(value.doubleValue());
+        }
+        if (keyType == Float.class) {
+            return Float.floatToIntBits(value.floatValue());
+        }
+        return value.longValue();
+    }
+
+    private Object fromPrimitiveKey(long key) {
+        if (keyType == Integer.class) {
+            return (int) key;
+        }
+        if (keyType == Long.class) {
+            return key;
+        }
+        if (keyType == Double.class) {
+            return Double.longBitsToDouble(key);
+        }
+        if (keyType == Float.class) {
+            return Float.intBitsToFloat((int) key);
+        }
+        if (keyType == Short.class) {
+            return (short) key;
+        }
+        return (byte) key;
+    }
+}
@@ -21,24 +21,34 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Index for filter parameter constants to match using the 'in' operator to match against a supplied set of values
  * (i.e. multiple possible exact matches).
- * The implementation is based on a regular HashMap.
+ * The implementation is based on a regular HashMap. For lock-free reads the implementation is based on ConcurrentHashMap
+ * and copy-on-write lists of evaluators.
  */
 public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
     private final Map<Object, List<EventEvaluator>> constantsMap;
     private final Map<HashableMultiKey, EventEvaluator> evaluatorsMap;
     private final ReadWriteLock constantsMapRWLock;
+    private final boolean lockFreeRead;
 
-    public FilterParamIndexIn(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
+    public FilterParamIndexIn(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean lockFreeRead) {
         super(FilterOperator.IN_LIST_OF_VALUES, lookupable);
 
-        constantsMap = new HashMap<Object, List<EventEvaluator>>();
-        evaluatorsMap = new HashMap<HashableMultiKey, EventEvaluator>();
+        if (lockFreeRead) {
+            constantsMap = new ConcurrentHashMap<Object, List<EventEvaluator>>();
+            evaluatorsMap = new ConcurrentHashMap<HashableMultiKey, EventEvaluator>();
+        } else {
+            constantsMap = new HashMap<Object, List<EventEvaluator>>();
+            evaluatorsMap = new HashMap<HashableMultiKey, EventEvaluator>();
+        }
         constantsMapRWLock = readWriteLock;
+        this.lockFreeRead = lockFreeRead;
     }
 
     public final EventEvaluator get(Object filterConstant) {
@@ -56,12 +66,18 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
         // Store each value to match against in Map with it's evaluator as a list
         Object[] keyValues = keys.getKeys();
         for (int i = 0; i < keyValues.length; i++) {
-            List<EventEvaluator> evaluators = constantsMap.get(keyValues[i]);
+            List<EventEvaluator> evaluators = constantsMap.get(toKey(keyValues[i]));
             if (evaluators == null) {
-                evaluators = new LinkedList<EventEvaluator>();
-                constantsMap.put(keyValues[i], evaluators);
+                evaluators = lockFreeRead ? new CopyOnWriteArrayList<EventEvaluator>() : new LinkedList<EventEvaluator>();
+                constantsMap.put(toKey(keyValues[i]), evaluators);
             } else {
                 if (oldEvaluator != null) {
+                    // replace in place so that a concurrent lock-free read finds either evaluator
+                    int index = lockFreeRead ? evaluators.indexOf(oldEvaluator) : -1;
+                    if (index != -1) {
+                        evaluators.set(index, evaluator);
+                        continue;
+                    }
                     evaluators.remove(oldEvaluator);
                 }
             }
@@ -77,12 +93,12 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
 
         Object[] keyValues = keys.getKeys();
         for (int i = 0; i < keyValues.length; i++) {
-            List<EventEvaluator> evaluators = constantsMap.get(keyValues[i]);
+            List<EventEvaluator> evaluators = constantsMap.get(toKey(keyValues[i]));
             if (evaluators != null) {
                 // could be removed already as same-value constants existed
                 evaluators.remove(eval);
                 if (evaluators.isEmpty()) {
-                    constantsMap.remove(keyValues[i]);
+                    constantsMap.remove(toKey(keyValues[i]));
                 }
             }
         }
@@ -26,6 +26,11 @@ import java.util.concurrent.locks.ReadWriteLock;
  * Implementations make sure that the type of the Object constant in get and put calls matches the event property type.
  */
 public abstract class FilterParamIndexLookupableBase extends FilterParamIndexBase {
+    /**
+     * Marker key for the null constant, for use with maps that do not allow null keys.
+     */
+    protected static final Object NULL_KEY = new Object();
+
     protected final ExprFilterSpecLookupable lookupable;
 
     /**
@@ -93,4 +98,12 @@ public abstract class FilterParamIndexLookupableBase extends FilterParamIndexBas
     public ExprFilterSpecLookupable getLookupable() {
         return lookupable;
     }
+
+    protected static Object toKey(Object filterConstant) {
+        return filterConstant == null ? NULL_KEY : filterConstant;
+    }
+
+    protected static Object fromKey(Object key) {
+        return key == NULL_KEY ? null : key;
+    }
 }
@@ -26,8 +26,8 @@ import java.util.concurrent.locks.ReadWriteLock;
  * The implementation is based on a regular HashMap.
  */
 public final class FilterParamIndexNotEquals extends FilterParamIndexNotEqualsBase {
-    public FilterParamIndexNotEquals(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
-        super(lookupable, readWriteLock, FilterOperator.NOT_EQUAL);
+    public FilterParamIndexNotEquals(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean lockFreeRead) {
+        super(lookupable, readWriteLock, FilterOperator.NOT_EQUAL, lockFreeRead);
     }
 
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
@@ -47,7 +47,7 @@ public final class FilterParamIndexNotEquals extends FilterParamIndexNotEqualsBa
         constantsMapRWLock.readLock().lock();
         try {
             for (Map.Entry<Object, EventEvaluator> entry : constantsMap.entrySet()) {
-                if (entry.getKey() == null) {
+                if (entry.getKey() == NULL_KEY) {
                     continue;   // null-value cannot match, not even null (use "is" or "is not", i.e. null != null returns null)
                 }
 
@@ -17,33 +17,34 @@ import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Index for filter parameter constants to match using the equals (=) operator.
- * The implementation is based on a regular HashMap.
+ * The implementation is based on a regular HashMap, or a ConcurrentHashMap for lock-free reads.
  */
 public abstract class FilterParamIndexNotEqualsBase extends FilterParamIndexLookupableBase {
     protected final Map<Object, EventEvaluator> constantsMap;
     protected final ReadWriteLock constantsMapRWLock;
 
-    protected FilterParamIndexNotEqualsBase(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+    protected FilterParamIndexNotEqualsBase(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean lockFreeRead) {
         super(filterOperator, lookupable);
 
-        constantsMap = new HashMap<Object, EventEvaluator>();
+        constantsMap = lockFreeRead ? new ConcurrentHashMap<Object, EventEvaluator>() : new HashMap<Object, EventEvaluator>();
         constantsMapRWLock = readWriteLock;
     }
 
     public final EventEvaluator get(Object filterConstant) {
-        return constantsMap.get(filterConstant);
+        return constantsMap.get(toKey(filterConstant));
     }
 
     public final void put(Object filterConstant, EventEvaluator evaluator) {
-        constantsMap.put(filterConstant, evaluator);
+        constantsMap.put(toKey(filterConstant), evaluator);
     }
 
     public final void remove(Object filterConstant) {
-        constantsMap.remove(filterConstant);
+        constantsMap.remove(toKey(filterConstant));
     }
 
     public final int sizeExpensive() {
@@ -26,8 +26,8 @@ import java.util.concurrent.locks.ReadWriteLock;
  * The implementation is based on a regular HashMap.
  */
 public final class FilterParamIndexNotEqualsIs extends FilterParamIndexNotEqualsBase {
-    public FilterParamIndexNotEqualsIs(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
-        super(lookupable, readWriteLock, FilterOperator.IS_NOT);
+    public FilterParamIndexNotEqualsIs(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean lockFreeRead) {
+        super(lookupable, readWriteLock, FilterOperator.IS_NOT, lockFreeRead);
     }
 
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
@@ -40,7 +40,7 @@ public final class FilterParamIndexNotEqualsIs extends FilterParamIndexNotEquals
         constantsMapRWLock.readLock().lock();
         try {
             for (Map.Entry<Object, EventEvaluator> entry : constantsMap.entrySet()) {
-                if (entry.getKey() == null) {
+                if (entry.getKey() == NULL_KEY) {
                     if (attributeValue != null) {
                         entry.getValue().matchEvent(theEvent, matches, ctx);
                     }
@@ -19,25 +19,36 @@ import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Index for filter parameter constants to match using the 'not in' operator to match against a
  * all other values then the supplied set of values.
+ * For lock-free reads the implementation is based on ConcurrentHashMap and concurrent sets, and
+ * each evaluator is matched against its own values so that an evaluator being replaced or removed does not match any of its values.
  */
 public final class FilterParamIndexNotIn extends FilterParamIndexLookupableBase {
     private final Map<Object, Set<EventEvaluator>> constantsMap;
     private final Map<HashableMultiKey, EventEvaluator> filterValueEvaluators;
-    private final Set<EventEvaluator> evaluatorsSet;
+    private final Map<EventEvaluator, Set<Object>> evaluatorsMap;
     private final ReadWriteLock constantsMapRWLock;
+    private final boolean lockFreeRead;
 
-    public FilterParamIndexNotIn(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
+    public FilterParamIndexNotIn(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean lockFreeRead) {
         super(FilterOperator.NOT_IN_LIST_OF_VALUES, lookupable);
 
-        constantsMap = new HashMap<Object, Set<EventEvaluator>>();
-        filterValueEvaluators = new HashMap<HashableMultiKey, EventEvaluator>();
-        evaluatorsSet = new HashSet<EventEvaluator>();
+        if (lockFreeRead) {
+            constantsMap = new ConcurrentHashMap<Object, Set<EventEvaluator>>();
+            filterValueEvaluators = new ConcurrentHashMap<HashableMultiKey, EventEvaluator>();
+            evaluatorsMap = new ConcurrentHashMap<EventEvaluator, Set<Object>>();
+        } else {
+            constantsMap = new HashMap<Object, Set<EventEvaluator>>();
+            filterValueEvaluators = new HashMap<HashableMultiKey, EventEvaluator>();
+            evaluatorsMap = new HashMap<EventEvaluator, Set<Object>>();
+        }
         constantsMapRWLock = readWriteLock;
+        this.lockFreeRead = lockFreeRead;
     }
 
     public final EventEvaluator get(Object filterConstant) {
@@ -48,19 +59,38 @@ public final class FilterParamIndexNotIn extends FilterParamIndexLookupableBase
     public final void put(Object filterConstant, EventEvaluator evaluator) {
         // Store evaluator keyed to set of values
         HashableMultiKey keys = (HashableMultiKey) filterConstant;
-        filterValueEvaluators.put(keys, evaluator);
-        evaluatorsSet.add(evaluator);
+        EventEvaluator oldEvaluator = filterValueEvaluators.put(keys, evaluator);
+
+        // for lock-free reads a put replaces the evaluator, as the index cannot remove and then put
+        if (!lockFreeRead || oldEvaluator == evaluator) {
+            oldEvaluator = null;
+        }
 
         // Store each value to match against in Map with it's evaluator as a list
+        // The values are stored before the evaluator becomes visible to lock-free reads, so that no value is matched that should not be.
         Object[] keyValues = keys.getKeys();
+        Set<Object> values = new HashSet<Object>();
         for (Object keyValue : keyValues) {
-            Set<EventEvaluator> evaluators = constantsMap.get(keyValue);
+            values.add(toKey(keyValue));
+            Set<EventEvaluator> evaluators = constantsMap.get(toKey(keyValue));
             if (evaluators == null) {
-                evaluators = new HashSet<EventEvaluator>();
-                constantsMap.put(keyValue, evaluators);
+                evaluators = lockFreeRead ? ConcurrentHashMap.newKeySet() : new HashSet<EventEvaluator>();
+                constantsMap.put(toKey(keyValue), evaluators);
             }
             evaluators.add(evaluator);
         }
+
+        // A replaced evaluator is no longer visible to reads before its values are removed
+        if (oldEvaluator != null) {
+            evaluatorsMap.remove(oldEvaluator);
+            for (Object keyValue : keyValues) {
+                Set<EventEvaluator> evaluators = constantsMap.get(toKey(keyValue));
+                if (evaluators != null) {
+                    evaluators.remove(oldEvaluator);
+                }
+            }
+        }
+        evaluatorsMap.put(evaluator, values);
     }
 
     public final void remove(Object filterConstant) {
@@ -68,16 +98,16 @@ public final class FilterParamIndexNotIn extends FilterParamIndexLookupableBase
 
         // remove the mapping of value set to evaluator
         EventEvaluator eval = filterValueEvaluators.remove(keys);
-        evaluatorsSet.remove(eval);
+        evaluatorsMap.remove(eval);
 
         Object[] keyValues = keys.getKeys();
         for (Object keyValue : keyValues) {
-            Set<EventEvaluator> evaluators = constantsMap.get(keyValue);
+            Set<EventEvaluator> evaluators = constantsMap.get(toKey(keyValue));
             if (evaluators != null) {
                 // could already be removed as constants may be the same
                 evaluators.remove(eval);
                 if (evaluators.isEmpty()) {
-                    constantsMap.remove(keyValue);
+                    constantsMap.remove(toKey(keyValue));
                 }
             }
         }
@@ -108,6 +138,21 @@ public final class FilterParamIndexNotIn extends FilterParamIndexLookupableBase
             return;
         }
 
+        // For lock-free reads match each evaluator against its own values
+        if (lockFreeRead) {
+            boolean matched = false;
+            for (Map.Entry<EventEvaluator, Set<Object>> entry : evaluatorsMap.entrySet()) {
+                if (!entry.getValue().contains(attributeValue)) {
+                    entry.getKey().matchEvent(theEvent, matches, ctx);
+                    matched = true;
+                }
+            }
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().aFilterReverseIndex(matched);
+            }
+            return;
+        }
+
         // Look up in hashtable the set of not-in evaluators
         constantsMapRWLock.readLock().lock();
         Set<EventEvaluator> evalNotMatching = constantsMap.get(attributeValue);
@@ -115,7 +160,7 @@ public final class FilterParamIndexNotIn extends FilterParamIndexLookupableBase
         // if all known evaluators are matching, invoke all
         if (evalNotMatching == null) {
             try {
-                for (EventEvaluator eval : evaluatorsSet) {
+                for (EventEvaluator eval : evaluatorsMap.keySet()) {
                     eval.matchEvent(theEvent, matches, ctx);
                 }
             } finally {
@@ -128,7 +173,7 @@ public final class FilterParamIndexNotIn extends FilterParamIndexLookupableBase
         }
 
         // if none are matching, we are done
-        if (evalNotMatching.size() == evaluatorsSet.size()) {
+        if (evalNotMatching.size() == evaluatorsMap.size()) {
             constantsMapRWLock.readLock().unlock();
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aFilterReverseIndex(false);
@@ -138,7 +183,7 @@ public final class FilterParamIndexNotIn extends FilterParamIndexLookupableBase
 
         // handle partial matches: loop through all evaluators and see which one should not be matching, match all else
         try {
-            for (EventEvaluator eval : evaluatorsSet) {
+            for (EventEvaluator eval : evaluatorsMap.keySet()) {
                 if (!(evalNotMatching.contains(eval))) {
                     eval.matchEvent(theEvent, matches, ctx);
                 }
@@ -57,7 +57,12 @@ public class FilterParamIndexQuadTreePointRegion extends FilterParamIndexLookupa
         double y = ((Number) advancedIndex.getY().get(theEvent)).doubleValue();
         double width = ((Number) advancedIndex.getWidth().get(theEvent)).doubleValue();
         double height = ((Number) advancedIndex.getHeight().get(theEvent)).doubleValue();
-        PointRegionQuadTreeFilterIndexCollect.collectRange(quadTree, x, y, width, height, theEvent, matches, COLLECTOR, ctx);
+        readWriteLock.readLock().lock();
+        try {
+            PointRegionQuadTreeFilterIndexCollect.collectRange(quadTree, x, y, width, height, theEvent, matches, COLLECTOR, ctx);
+        } finally {
+            readWriteLock.readLock().unlock();
+        }
 
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().aFilterReverseIndex(null);
@@ -27,7 +27,7 @@ import java.util.concurrent.locks.ReadWriteLock;
  * The implementation is based on a regular HashMap.
  */
 public class FilterParamIndexReboolNoValue extends FilterParamIndexLookupableBase {
-    protected EventEvaluator eventEvaluator;
+    protected volatile EventEvaluator eventEvaluator;
     protected final ReadWriteLock constantsMapRWLock;
 
     protected FilterParamIndexReboolNoValue(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
@@ -68,6 +68,7 @@ public class FilterParamIndexReboolNoValue extends FilterParamIndexLookupableBas
     }
 
     public void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
+        EventEvaluator eventEvaluator = this.eventEvaluator;
         if (eventEvaluator == null) {
             return;
         }
@@ -22,16 +22,16 @@ import java.util.Map;
 import java.util.concurrent.locks.ReadWriteLock;
 
 public final class FilterParamIndexReboolWithValue extends FilterParamIndexEqualsBase {
-    public FilterParamIndexReboolWithValue(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
-        super(lookupable, readWriteLock, FilterOperator.REBOOL);
+    public FilterParamIndexReboolWithValue(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean lockFreeRead) {
+        super(lookupable, readWriteLock, FilterOperator.REBOOL, lockFreeRead);
     }
 
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
         EventBean[] events = new EventBean[] {theEvent};
         for (Map.Entry<Object, EventEvaluator> entry : constantsMap.entrySet()) {
-            ctx.setFilterReboolConstant(entry.getKey());
+            ctx.setFilterReboolConstant(fromKey(entry.getKey()));
             if (InstrumentationHelper.ENABLED) {
-                InstrumentationHelper.get().qFilterReverseIndex(this, entry.getKey());
+                InstrumentationHelper.get().qFilterReverseIndex(this, fromKey(entry.getKey()));
             }
             Boolean result = (Boolean) lookupable.getExpr().evaluate(events, true, ctx);
             if (result != null && result) {
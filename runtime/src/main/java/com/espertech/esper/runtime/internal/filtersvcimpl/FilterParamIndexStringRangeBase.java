@@ -17,19 +17,21 @@ import com.espertech.esper.common.internal.filterspec.StringRange;
 
 import java.util.ArrayDeque;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 public abstract class FilterParamIndexStringRangeBase extends FilterParamIndexLookupableBase {
-    protected final TreeMap<StringRange, EventEvaluator> ranges;
-    protected EventEvaluator rangesNullEndpoints;
+    protected final NavigableMap<StringRange, EventEvaluator> ranges;
+    protected volatile EventEvaluator rangesNullEndpoints;
     private final ReadWriteLock rangesRWLock;
 
-    protected FilterParamIndexStringRangeBase(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+    protected FilterParamIndexStringRangeBase(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean lockFreeRead) {
         super(filterOperator, lookupable);
 
-        ranges = new TreeMap<>(StringRangeComparator.INSTANCE);
+        ranges = lockFreeRead ? new ConcurrentSkipListMap<>(StringRangeComparator.INSTANCE) : new TreeMap<>(StringRangeComparator.INSTANCE);
         rangesRWLock = readWriteLock;
     }
 
@@ -30,8 +30,8 @@ import java.util.concurrent.locks.ReadWriteLock;
  * parameter values of type StringRange.
  */
 public final class FilterParamIndexStringRangeInverted extends FilterParamIndexStringRangeBase {
-    public FilterParamIndexStringRangeInverted(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
-        super(lookupable, readWriteLock, filterOperator);
+    public FilterParamIndexStringRangeInverted(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean lockFreeRead) {
+        super(lookupable, readWriteLock, filterOperator, lockFreeRead);
         if (!(filterOperator.isInvertedRangeOperator())) {
             throw new IllegalArgumentException("Invalid filter operator " + filterOperator);
         }
@@ -83,8 +83,9 @@ public final class FilterParamIndexStringRangeInverted extends FilterParamIndexS
             throw new IllegalStateException("Invalid filter operator " + this.getFilterOperator());
         }
 
-        if (rangesNullEndpoints != null) {
-            rangesNullEndpoints.matchEvent(theEvent, matches, ctx);
+        EventEvaluator nullEndpoints = rangesNullEndpoints;
+        if (nullEndpoints != null) {
+            nullEndpoints.matchEvent(theEvent, matches, ctx);
         }
 
         if (InstrumentationHelper.ENABLED) {
@@ -14,4 +14,12 @@ import java.util.concurrent.locks.ReadWriteLock;
 
 public interface FilterServiceGranularLockFactory {
     public ReadWriteLock obtainNew();
+
+    /**
+     * Returns indicator whether event evaluation does not lock and index structures must therefore
+     * allow reads that are concurrent with filter add and remove.
+     *
+     * @return true for lock-free reads
+     */
+    public boolean isLockFreeRead();
 }
@@ -0,0 +1,32 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Granular lock factory for lock-free event evaluation: filter add and remove are serialized by the filter service
+ * and index structures are concurrent or copy-on-write, therefore granular locks are not required.
+ */
+public class FilterServiceGranularLockFactoryLockFree implements FilterServiceGranularLockFactory {
+    public static final FilterServiceGranularLockFactoryLockFree INSTANCE = new FilterServiceGranularLockFactoryLockFree();
+
+    private FilterServiceGranularLockFactoryLockFree() {
+    }
+
+    public ReadWriteLock obtainNew() {
+        return FilterServiceGranularLockFactoryNone.INSTANCE.obtainNew();
+    }
+
+    public boolean isLockFreeRead() {
+        return true;
+    }
+}
@@ -16,6 +16,10 @@ import com.espertech.esper.common.internal.epl.index.advanced.index.quadtree.Set
 import com.espertech.esper.common.internal.epl.index.advanced.index.quadtree.SettingsApplicationDotMethodRectangeIntersectsRectangle;
 import com.espertech.esper.common.internal.filterspec.FilterOperator;
 import com.espertech.esper.common.internal.filterspec.FilterSpecLookupableAdvancedIndex;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Factory for {@link FilterParamIndexBase} instances based on event property name and filter operator type.
@@ -34,26 +38,32 @@ public class IndexFactory {
     public static FilterParamIndexBase createIndex(ExprFilterSpecLookupable lookupable, FilterServiceGranularLockFactory lockFactory, FilterOperator filterOperator) {
         FilterParamIndexBase index;
         EPTypeClass returnValueType = lookupable.getReturnType();
+        boolean lockFreeRead = lockFactory.isLockFreeRead();
 
         // Handle all EQUAL comparisons
         if (filterOperator == FilterOperator.EQUAL) {
-            index = new FilterParamIndexEquals(lookupable, lockFactory.obtainNew());
+            // numeric properties use primitive keys unless lock-free reads require a concurrent map
+            Class boxedType = returnValueType == null ? null : JavaClassHelper.getBoxedType(returnValueType.getType());
+            if (!lockFreeRead && FilterParamIndexEqualsNumeric.isSupportedKeyType(boxedType)) {
+                return new FilterParamIndexEqualsNumeric(lookupable, lockFactory.obtainNew(), boxedType);
+            }
+            index = new FilterParamIndexEquals(lookupable, lockFactory.obtainNew(), lockFreeRead);
             return index;
         }
 
         // Handle all NOT-EQUAL comparisons
         if (filterOperator == FilterOperator.NOT_EQUAL) {
-            index = new FilterParamIndexNotEquals(lookupable, lockFactory.obtainNew());
+            index = new FilterParamIndexNotEquals(lookupable, lockFactory.obtainNew(), lockFreeRead);
             return index;
         }
 
         if (filterOperator == FilterOperator.IS) {
-            index = new FilterParamIndexEqualsIs(lookupable, lockFactory.obtainNew());
+            index = new FilterParamIndexEqualsIs(lookupable, lockFactory.obtainNew(), lockFreeRead);
             return index;
         }
 
         if (filterOperator == FilterOperator.IS_NOT) {
-            index = new FilterParamIndexNotEqualsIs(lookupable, lockFactory.obtainNew());
+            index = new FilterParamIndexNotEqualsIs(lookupable, lockFactory.obtainNew(), lockFreeRead);
             return index;
         }
 
@@ -63,9 +73,9 @@ public class IndexFactory {
                 (filterOperator == FilterOperator.LESS) ||
                 (filterOperator == FilterOperator.LESS_OR_EQUAL)) {
             if (returnValueType.getType() != String.class) {
-                index = new FilterParamIndexCompare(lookupable, lockFactory.obtainNew(), filterOperator);
+                index = new FilterParamIndexCompare(lookupable, lockFactory.obtainNew(), filterOperator, lockFreeRead);
             } else {
-                index = new FilterParamIndexCompareString(lookupable, lockFactory.obtainNew(), filterOperator);
+                index = new FilterParamIndexCompareString(lookupable, lockFactory.obtainNew(), filterOperator, lockFreeRead);
             }
             return index;
         }
@@ -73,26 +83,26 @@ public class IndexFactory {
         // Handle all normal and inverted RANGE comparisons
         if (filterOperator.isRangeOperator()) {
             if (returnValueType.getType() != String.class) {
-                index = new FilterParamIndexDoubleRange(lookupable, lockFactory.obtainNew(), filterOperator);
+                index = new FilterParamIndexDoubleRange(lookupable, lockFactory.obtainNew(), filterOperator, lockFreeRead);
             } else {
-                index = new FilterParamIndexStringRange(lookupable, lockFactory.obtainNew(), filterOperator);
+                index = new FilterParamIndexStringRange(lookupable, lockFactory.obtainNew(), filterOperator, lockFreeRead);
             }
             return index;
         }
         if (filterOperator.isInvertedRangeOperator()) {
             if (returnValueType.getType() != String.class) {
-                return new FilterParamIndexDoubleRangeInverted(lookupable, lockFactory.obtainNew(), filterOperator);
+                return new FilterParamIndexDoubleRangeInverted(lookupable, lockFactory.obtainNew(), filterOperator, lockFreeRead);
             } else {
-                return new FilterParamIndexStringRangeInverted(lookupable, lockFactory.obtainNew(), filterOperator);
+                return new FilterParamIndexStringRangeInverted(lookupable, lockFactory.obtainNew(), filterOperator, lockFreeRead);
             }
         }
 
         // Handle all IN and NOT IN comparisons
         if (filterOperator == FilterOperator.IN_LIST_OF_VALUES) {
-            return new FilterParamIndexIn(lookupable, lockFactory.obtainNew());
+            return new FilterParamIndexIn(lookupable, lockFactory.obtainNew(), lockFreeRead);
         }
         if (filterOperator == FilterOperator.NOT_IN_LIST_OF_VALUES) {
-            return new FilterParamIndexNotIn(lookupable, lockFactory.obtainNew());
+            return new FilterParamIndexNotIn(lookupable, lockFactory.obtainNew(), lockFreeRead);
         }
 
         // Handle re-usable boolean expression
@@ -100,26 +110,39 @@ public class IndexFactory {
             if (lookupable.getReturnType() == null) {
                 return new FilterParamIndexReboolNoValue(lookupable, lockFactory.obtainNew());
             }
-            return new FilterParamIndexReboolWithValue(lookupable, lockFactory.obtainNew());
+            return new FilterParamIndexReboolWithValue(lookupable, lockFactory.obtainNew(), lockFreeRead);
         }
 
         // Handle all boolean expression
         if (filterOperator == FilterOperator.BOOLEAN_EXPRESSION) {
-            return new FilterParamIndexBooleanExpr(lockFactory.obtainNew());
+            return new FilterParamIndexBooleanExpr(obtainStructureLock(lockFactory));
         }
 
         // Handle advanced-index
         if (filterOperator == FilterOperator.ADVANCED_INDEX) {
             FilterSpecLookupableAdvancedIndex advLookable = (FilterSpecLookupableAdvancedIndex) lookupable;
             if (advLookable.getIndexType().equals(SettingsApplicationDotMethodPointInsideRectange.INDEXTYPE_NAME)) {
-                return new FilterParamIndexQuadTreePointRegion(lockFactory.obtainNew(), lookupable);
+                return new FilterParamIndexQuadTreePointRegion(obtainStructureLock(lockFactory), lookupable);
             } else if (advLookable.getIndexType().equals(SettingsApplicationDotMethodRectangeIntersectsRectangle.INDEXTYPE_NAME)) {
-                return new FilterParamIndexQuadTreeMXCIF(lockFactory.obtainNew(), lookupable);
+                return new FilterParamIndexQuadTreeMXCIF(obtainStructureLock(lockFactory), lookupable);
             } else {
                 throw new IllegalStateException("Unrecognized index type " + advLookable.getIndexType());
             }
         }
         throw new IllegalArgumentException("Cannot create filter index instance for filter operator " + filterOperator);
     }
-}
 
+    /**
+     * Boolean-expression and advanced indexes are not concurrent structures and always require a lock
+     * when evaluation is lock-free.
+     *
+     * @param lockFactory lock factory
+     * @return lock
+     */
+    private static ReadWriteLock obtainStructureLock(FilterServiceGranularLockFactory lockFactory) {
+        if (lockFactory.isLockFreeRead()) {
+            return new ReentrantReadWriteLock();
+        }
+        return lockFactory.obtainNew();
+    }
+}
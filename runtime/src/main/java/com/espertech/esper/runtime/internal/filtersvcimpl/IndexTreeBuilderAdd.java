@@ -165,9 +165,12 @@ public final class IndexTreeBuilderAdd {
 
                 // The found eventEvaluator must be converted to a new FilterHandleSetNode
                 FilterParamIndexBase nextIndex = (FilterParamIndexBase) eventEvaluator;
-                FilterHandleSetNode newNode = new FilterHandleSetNode(lockFactory.obtainNew());
+                FilterHandleSetNode newNode = new FilterHandleSetNode(lockFactory.obtainNew(), lockFactory.isLockFreeRead());
                 newNode.add(nextIndex);
-                index.remove(filterForValue);
+                // lock-free evaluation may read the index concurrently, replace without removing first
+                if (!lockFactory.isLockFreeRead()) {
+                    index.remove(filterForValue);
+                }
                 index.put(filterForValue, newNode);
                 addToNode(remainingParameters, filterCallback, newNode, lockFactory);
 
@@ -177,7 +180,7 @@ public final class IndexTreeBuilderAdd {
             // The index does not currently have this filterCallback value,
             // if there are no remaining parameters, create a node
             if (remainingParameters.isEmpty()) {
-                FilterHandleSetNode node = new FilterHandleSetNode(lockFactory.obtainNew());
+                FilterHandleSetNode node = new FilterHandleSetNode(lockFactory.obtainNew(), lockFactory.isLockFreeRead());
                 addToNode(remainingParameters, filterCallback, node, lockFactory);
                 index.put(filterForValue, node);
                 return;
@@ -13,9 +13,13 @@ package com.espertech.esper.runtime.internal.kernel.service;
 import com.espertech.esper.common.client.*;
 import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntime;
 import com.espertech.esper.common.client.hook.exception.ExceptionHandlerExceptionType;
+import com.espertech.esper.common.client.serde.DataInputOutputSerde;
+import com.espertech.esper.common.client.serde.EventWireSerde;
 import com.espertech.esper.common.internal.collection.ArrayBackedCollection;
 import com.espertech.esper.common.internal.context.util.*;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.epl.namedwindow.consume.NamedWindowDispatchService;
+import com.espertech.esper.common.internal.epl.namedwindow.consume.NamedWindowDispatchThreadWork;
 import com.espertech.esper.common.internal.event.arr.EventSenderObjectArray;
 import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
 import com.espertech.esper.common.internal.event.avro.AvroSchemaEventType;
@@ -34,6 +38,7 @@ import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 import com.espertech.esper.common.internal.filtersvc.FilterHandleCallback;
 import com.espertech.esper.common.internal.schedule.ScheduleHandle;
 import com.espertech.esper.common.internal.schedule.ScheduleHandleCallback;
+import com.espertech.esper.common.internal.serde.runtime.event.EventWireSerdeImpl;
 import com.espertech.esper.common.internal.statement.insertintolatch.InsertIntoLatchSpin;
 import com.espertech.esper.common.internal.statement.insertintolatch.InsertIntoLatchWait;
 import com.espertech.esper.common.internal.util.DeploymentIdNamePair;
@@ -54,6 +59,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Node;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -64,7 +70,7 @@ import static com.espertech.esper.runtime.internal.kernel.service.EPEventService
  * Implements runtime interface. Also accepts timer callbacks for synchronizing time events with regular events
  * sent in.
  */
-public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRouteDest, TimerCallback, EPRuntimeEventProcessWrapped, EPEventServiceQueueProcessor {
+public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRouteDest, TimerCallback, EPRuntimeEventProcessWrapped, EPEventServiceQueueProcessor, NamedWindowDispatchThreadWork {
     protected static final Logger log = LoggerFactory.getLogger(EPEventServiceImpl.class);
     public static final int MAX_FILTER_FAULT_COUNT = 10;
 
@@ -100,6 +106,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         initThreadLocals();
 
         services.getThreadingService().initThreading(getRuntimeURI(), services);
+        services.getThreadingService().initInboundContextRouting(services.getContextManagementService());
     }
 
     public EPServicesContext getServices() {
@@ -169,6 +176,24 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
     }
 
+    public void sendEventJson(byte[] json, int offset, int length, String jsonEventTypeName) {
+        if (json == null) {
+            throw new IllegalArgumentException("Invalid null event object");
+        }
+
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+            log.debug(".sendEventJson Processing event of " + length + " bytes");
+        }
+
+        if (inboundThreading) {
+            // the caller may reuse the array, the work unit keeps the decoded document
+            services.getThreadingService().submitInbound(new InboundUnitSendJson(new String(json, offset, length, StandardCharsets.UTF_8), jsonEventTypeName, this, services));
+        } else {
+            EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForJson(json, offset, length, jsonEventTypeName);
+            processWrappedEvent(eventBean);
+        }
+    }
+
     public void sendEventBean(Object theEvent, String eventTypeName) {
         if (theEvent == null) {
             log.error(".sendEvent Null object supplied");
@@ -313,6 +338,106 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
     }
 
+    public void sendEventObjectArrayBatch(Collection<Object[]> events, String eventTypeName) {
+        if (inboundThreading) {
+            EPEventServiceSPI.super.sendEventObjectArrayBatch(events, eventTypeName);
+            return;
+        }
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Object[] propertyValues : events) {
+            if (propertyValues == null) {
+                throw new IllegalArgumentException("Invalid null event object");
+            }
+            eventBeans[count++] = wrapEventObjectArray(propertyValues, eventTypeName);
+        }
+        processWrappedEvents(eventBeans);
+    }
+
+    public void sendEventBeanBatch(Collection<?> events, String eventTypeName) {
+        if (inboundThreading) {
+            EPEventServiceSPI.super.sendEventBeanBatch(events, eventTypeName);
+            return;
+        }
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Object theEvent : events) {
+            if (theEvent == null) {
+                log.error(".sendEventBeanBatch Null object supplied");
+                continue;
+            }
+            eventBeans[count++] = services.getEventTypeResolvingBeanFactory().adapterForBean(theEvent, eventTypeName);
+        }
+        if (count < eventBeans.length) {
+            eventBeans = Arrays.copyOf(eventBeans, count);
+        }
+        processWrappedEvents(eventBeans);
+    }
+
+    public void sendEventMapBatch(Collection<Map<String, Object>> events, String mapEventTypeName) {
+        if (inboundThreading) {
+            EPEventServiceSPI.super.sendEventMapBatch(events, mapEventTypeName);
+            return;
+        }
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Map<String, Object> map : events) {
+            if (map == null) {
+                throw new IllegalArgumentException("Invalid null event object");
+            }
+            eventBeans[count++] = wrapEventMap(map, mapEventTypeName);
+        }
+        processWrappedEvents(eventBeans);
+    }
+
+    public void sendEventXMLDOMBatch(Collection<Node> nodes, String eventTypeName) {
+        if (inboundThreading) {
+            EPEventServiceSPI.super.sendEventXMLDOMBatch(nodes, eventTypeName);
+            return;
+        }
+        EventBean[] eventBeans = new EventBean[nodes.size()];
+        int count = 0;
+        for (Node node : nodes) {
+            if (node == null) {
+                throw new IllegalArgumentException("Invalid null event object");
+            }
+            eventBeans[count++] = wrapEventBeanXMLDOM(node, eventTypeName);
+        }
+        processWrappedEvents(eventBeans);
+    }
+
+    public void sendEventAvroBatch(Collection<?> avroGenericDataDotRecords, String avroEventTypeName) {
+        if (inboundThreading) {
+            EPEventServiceSPI.super.sendEventAvroBatch(avroGenericDataDotRecords, avroEventTypeName);
+            return;
+        }
+        EventBean[] eventBeans = new EventBean[avroGenericDataDotRecords.size()];
+        int count = 0;
+        for (Object record : avroGenericDataDotRecords) {
+            if (record == null) {
+                throw new IllegalArgumentException("Invalid null event object");
+            }
+            eventBeans[count++] = wrapEventAvro(record, avroEventTypeName);
+        }
+        processWrappedEvents(eventBeans);
+    }
+
+    public void sendEventJsonBatch(Collection<String> jsons, String jsonEventTypeName) {
+        if (inboundThreading) {
+            EPEventServiceSPI.super.sendEventJsonBatch(jsons, jsonEventTypeName);
+            return;
+        }
+        EventBean[] eventBeans = new EventBean[jsons.size()];
+        int count = 0;
+        for (String json : jsons) {
+            if (json == null) {
+                throw new IllegalArgumentException("Invalid null event object");
+            }
+            eventBeans[count++] = wrapEventJson(json, jsonEventTypeName);
+        }
+        processWrappedEvents(eventBeans);
+    }
+
     public void routeEventBean(EventBean theEvent) {
         threadLocals.get().getWorkQueue().add(theEvent);
     }
@@ -355,7 +480,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
         services.getEventProcessingRWLock().acquireReadLock();
         try {
-            processMatches(eventBean);
+            processMatches(eventBean, tlEntry);
         } catch (RuntimeException ex) {
             tlEntry.getMatchesArrayThreadLocal().clear();
             throw new EPException(ex);
@@ -378,6 +503,45 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
     }
 
+    public void processWrappedEvents(EventBean[] eventBeans) {
+        // preprocessing and instrumentation use the per-event path
+        if (internalEventRouter.isHasPreprocessing() || InstrumentationHelper.ENABLED) {
+            for (EventBean eventBean : eventBeans) {
+                processWrappedEvent(eventBean);
+            }
+            return;
+        }
+
+        EPEventServiceThreadLocalEntry tlEntry = threadLocals.get();
+        WorkQueue workQueue = tlEntry.getWorkQueue();
+        NamedWindowDispatchService namedWindowDispatchService = services.getNamedWindowDispatchService();
+        int index = 0;
+        while (index < eventBeans.length) {
+            // Keep the main processing lock for consecutive events until an event routes events or
+            // produces named window output, as these must be processed before the next event
+            services.getEventProcessingRWLock().acquireReadLock();
+            try {
+                while (index < eventBeans.length) {
+                    processMatches(eventBeans[index++], tlEntry);
+                    if (!workQueue.isEmpty() || namedWindowDispatchService.hasDispatches()) {
+                        break;
+                    }
+                }
+            } catch (RuntimeException ex) {
+                tlEntry.getMatchesArrayThreadLocal().clear();
+                throw new EPException(ex);
+            } finally {
+                services.getEventProcessingRWLock().releaseReadLock();
+            }
+
+            // Dispatch results to listeners, done outside of the read-lock
+            dispatch();
+
+            // Work off the event queue if any events accumulated in there via a route() or insert-into
+            processThreadWorkQueue();
+        }
+    }
+
     /**
      * Works off the thread's work queue.
      */
@@ -385,7 +549,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         WorkQueue queues = threadLocals.get().getWorkQueue();
 
         if (queues.isFrontEmpty()) {
-            boolean haveDispatched = services.getNamedWindowDispatchService().dispatch();
+            boolean haveDispatched = services.getNamedWindowDispatchService().dispatch(this);
             if (haveDispatched) {
                 // Dispatch results to listeners
                 dispatch();
@@ -399,7 +563,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
 
         while (queues.processBack(this)) {
-            boolean haveDispatched = services.getNamedWindowDispatchService().dispatch();
+            boolean haveDispatched = services.getNamedWindowDispatchService().dispatch(this);
             if (haveDispatched) {
                 dispatch();
             }
@@ -412,7 +576,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
 
     private void processThreadWorkQueueFront(WorkQueue queues) {
         while (queues.processFront(this)) {
-            boolean haveDispatched = services.getNamedWindowDispatchService().dispatch();
+            boolean haveDispatched = services.getNamedWindowDispatchService().dispatch(this);
             if (haveDispatched) {
                 dispatch();
             }
@@ -495,8 +659,11 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
     }
 
     protected void processMatches(EventBean theEvent) {
+        processMatches(theEvent, threadLocals.get());
+    }
+
+    private void processMatches(EventBean theEvent, EPEventServiceThreadLocalEntry tlEntry) {
         // get matching filters
-        EPEventServiceThreadLocalEntry tlEntry = threadLocals.get();
         ArrayBackedCollection<FilterHandle> matches = tlEntry.getMatchesArrayThreadLocal();
         ExprEvaluatorContext ctx = tlEntry.getExprEvaluatorContext();
         long version = services.getFilterService().evaluate(theEvent, matches, ctx);
@@ -770,6 +937,14 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
     }
 
+    public Object removeThreadWork() {
+        return EPEventServiceThreadWork.remove(services.getDispatchService(), threadLocals.get().getWorkQueue());
+    }
+
+    public void addThreadWork(Object work) {
+        ((EPEventServiceThreadWork) work).addTo(services.getDispatchService(), threadLocals.get().getWorkQueue());
+    }
+
     public boolean isExternalClockingEnabled() {
         return isUsingExternalClocking;
     }
@@ -1048,6 +1223,18 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         throw new EventTypeException("An event sender for event type named '" + eventTypeName + "' could not be created as the type is not known");
     }
 
+    public EventWireSerde getEventWireSerde(String eventTypeName) throws EventTypeException {
+        EventType eventType = services.getEventTypeRepositoryBus().getTypeByName(eventTypeName);
+        if (eventType == null) {
+            throw new EventTypeException("Event type named '" + eventTypeName + "' could not be found");
+        }
+        DataInputOutputSerde serde = services.getEventTypeSerdeRepository().getUnderlyingSerde(eventType);
+        if (serde == null) {
+            throw new EventTypeException("A wire serde for event type named '" + eventTypeName + "' is not available, the event type must be declared by create-schema and compiled with event wire serdes enabled");
+        }
+        return new EventWireSerdeImpl(eventType, serde);
+    }
+
     public Map<DeploymentIdNamePair, Long> getStatementNearestSchedules() {
         return getStatementNearestSchedulesInternal(services.getSchedulingService(), services.getStatementLifecycleService());
     }
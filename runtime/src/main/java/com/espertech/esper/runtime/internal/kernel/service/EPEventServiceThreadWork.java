@@ -0,0 +1,95 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.service;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.UniformPair;
+import com.espertech.esper.common.internal.context.util.StatementDispatchTLEntry;
+import com.espertech.esper.common.internal.statement.dispatch.DispatchService;
+import com.espertech.esper.common.internal.statement.dispatch.Dispatchable;
+import com.espertech.esper.runtime.internal.kernel.updatedispatch.UpdateDispatchViewBase;
+
+import java.util.ArrayDeque;
+
+/**
+ * Thread work removed from a thread that processed named window consumers in parallel: the statement results that
+ * wait for listener dispatch, along with their dispatchables, and the events routed by insert-into.
+ */
+public class EPEventServiceThreadWork {
+    private final Dispatchable[] dispatchables;
+    private final ArrayDeque<UniformPair<EventBean[]>>[] results;
+    private final WorkQueue routes;
+
+    private EPEventServiceThreadWork(Dispatchable[] dispatchables, ArrayDeque<UniformPair<EventBean[]>>[] results, WorkQueue routes) {
+        this.dispatchables = dispatchables;
+        this.results = results;
+        this.routes = routes;
+    }
+
+    /**
+     * Removes the thread work of the current thread.
+     *
+     * @param dispatchService dispatch service
+     * @param workQueue       work queue of the current thread
+     * @return work or null if there is no work
+     */
+    public static EPEventServiceThreadWork remove(DispatchService dispatchService, WorkQueue workQueue) {
+        ArrayDeque<Dispatchable> queue = dispatchService.getDispatchStateThreadLocal().get();
+        if (queue.isEmpty() && workQueue.isEmpty()) {
+            return null;
+        }
+
+        Dispatchable[] dispatchables = new Dispatchable[queue.size()];
+        ArrayDeque<UniformPair<EventBean[]>>[] results = new ArrayDeque[queue.size()];
+        int count = 0;
+        Dispatchable dispatchable;
+        while ((dispatchable = queue.poll()) != null) {
+            StatementDispatchTLEntry entry = getEntry(dispatchable);
+            dispatchables[count] = dispatchable;
+            results[count] = new ArrayDeque<>(entry.getResults());
+            entry.getResults().clear();
+            entry.setDispatchWaiting(false);
+            count++;
+        }
+
+        WorkQueue routes = workQueue.isEmpty() ? null : workQueue.removeAll();
+        return new EPEventServiceThreadWork(dispatchables, results, routes);
+    }
+
+    /**
+     * Adds the thread work to the current thread.
+     *
+     * @param dispatchService dispatch service
+     * @param workQueue       work queue of the current thread
+     */
+    public void addTo(DispatchService dispatchService, WorkQueue workQueue) {
+        for (int i = 0; i < dispatchables.length; i++) {
+            Dispatchable dispatchable = dispatchables[i];
+            StatementDispatchTLEntry entry = getEntry(dispatchable);
+            entry.getResults().addAll(results[i]);
+            if (!entry.isDispatchWaiting()) {
+                dispatchService.addExternal(dispatchable);
+                entry.setDispatchWaiting(true);
+            } else if (dispatchable != dispatchable.getView()) {
+                // a dispatch of the statement is already waiting and delivers the results, the future is not needed
+                dispatchable.cancelled();
+            }
+        }
+        if (routes != null) {
+            workQueue.addAll(routes);
+        }
+    }
+
+    private static StatementDispatchTLEntry getEntry(Dispatchable dispatchable) {
+        UpdateDispatchViewBase view = (UpdateDispatchViewBase) dispatchable.getView();
+        return view.getStatementResultService().getDispatchTL().get();
+    }
+}
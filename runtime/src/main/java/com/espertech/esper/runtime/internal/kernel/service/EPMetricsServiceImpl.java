@@ -13,8 +13,12 @@ package com.espertech.esper.runtime.internal.kernel.service;
 import com.espertech.esper.common.client.configuration.ConfigurationException;
 import com.espertech.esper.common.client.metric.EPMetricsStatementGroup;
 import com.espertech.esper.common.client.metric.EPMetricsService;
+import com.espertech.esper.common.client.metric.HistoricalDataCacheMetric;
+import com.espertech.esper.common.client.metric.InboundLaneMetric;
+import com.espertech.esper.common.client.metric.NamedWindowDispatchMetric;
 import com.espertech.esper.common.client.metric.RuntimeMetric;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 public class EPMetricsServiceImpl implements EPMetricsService {
@@ -73,4 +77,16 @@ public class EPMetricsServiceImpl implements EPMetricsService {
         long schedDepth = services.getSchedulingService().getScheduleHandleCount();
         return new RuntimeMetric(services.getRuntimeURI(), services.getSchedulingService().getTime(), inputCount, 0, schedDepth);
     }
+
+    public List<InboundLaneMetric> getInboundLaneMetrics() {
+        return services.getThreadingService().getInboundLaneMetrics();
+    }
+
+    public NamedWindowDispatchMetric getNamedWindowDispatchMetric() {
+        return services.getNamedWindowDispatchService().getMetric();
+    }
+
+    public List<HistoricalDataCacheMetric> getHistoricalDataCacheMetrics() {
+        return services.getHistoricalDataCacheFactory().getRefreshAheadMetrics(services.getRuntimeURI());
+    }
 }
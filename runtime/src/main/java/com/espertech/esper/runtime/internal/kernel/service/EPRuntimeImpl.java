@@ -357,9 +357,10 @@ public class EPRuntimeImpl implements EPRuntimeSPI {
         EPMetricsService metricsService = new EPMetricsServiceImpl(services);
         EPFireAndForgetService fireAndForgetService = new EPFireAndForgetServiceImpl(services, serviceStatusProvider);
         EPStageServiceSPI stageService = new EPStageServiceImpl(services, serviceStatusProvider);
+        EPSnapshotService snapshotService = new EPSnapshotServiceImpl(services);
 
         // Build runtime environment
-        runtimeEnvironment = new EPRuntimeEnv(services, eventService, deploymentService, eventTypeService, contextPartitionService, variableService, metricsService, fireAndForgetService, stageService);
+        runtimeEnvironment = new EPRuntimeEnv(services, eventService, deploymentService, eventTypeService, contextPartitionService, variableService, metricsService, fireAndForgetService, stageService, snapshotService);
 
         // Stage Recovery
         Iterator<Map.Entry<String, Integer>> stageIterator = services.getStageRecoveryService().stagesIterate();
@@ -691,6 +692,13 @@ public class EPRuntimeImpl implements EPRuntimeSPI {
         return runtimeEnvironment.getServices().getEventRenderer();
     }
 
+    public EPSnapshotService getSnapshotService() {
+        if (runtimeEnvironment == null) {
+            throw new EPRuntimeDestroyedException(runtimeURI);
+        }
+        return runtimeEnvironment.getSnapshotService();
+    }
+
     public EPFireAndForgetService getFireAndForgetService() {
         if (runtimeEnvironment == null) {
             throw new EPRuntimeDestroyedException(runtimeURI);
@@ -253,6 +253,7 @@ public class EPServicesContext implements EPServicesEvaluation, EPServicesPath {
         if (epServicesHA != null) {
             epServicesHA.destroy();
         }
+        historicalDataCacheFactory.destroy();
     }
 
     public void initialize() {
@@ -307,6 +308,7 @@ public class EPServicesContext implements EPServicesEvaluation, EPServicesPath {
                 filterSharedBoolExprRepository,
                 filterSharedLookupableRepository,
                 historicalDataCacheFactory,
+                threadingService.getHistoricalPollAsyncService(),
                 internalEventRouter,
                 metricReportingService,
                 namedWindowConsumerManagementService,
@@ -336,6 +338,7 @@ public class EPServicesContext implements EPServicesEvaluation, EPServicesPath {
                 eventBeanTypedEventFactory,
                 eventTypeRepositoryBus,
                 eventTypeResolvingBeanFactory,
+                eventTypeSerdeRepository,
                 exceptionHandlingService,
                 namedWindowDispatchService,
                 runtimeURI,
@@ -504,6 +507,10 @@ public class EPServicesContext implements EPServicesEvaluation, EPServicesPath {
         return filterSharedLookupableRepository;
     }
 
+    public HistoricalDataCacheFactory getHistoricalDataCacheFactory() {
+        return historicalDataCacheFactory;
+    }
+
     public InternalEventRouterImpl getInternalEventRouter() {
         return internalEventRouter;
     }
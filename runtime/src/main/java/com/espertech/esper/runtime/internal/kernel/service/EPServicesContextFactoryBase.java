@@ -163,7 +163,7 @@ public abstract class EPServicesContextFactoryBase implements EPServicesContextF
 
     protected abstract EventBeanTypedEventFactory makeEventBeanTypedEventFactory(EventTypeAvroHandler eventTypeAvroHandler);
 
-    protected abstract EventTableIndexService makeEventTableIndexService(RuntimeExtensionServices ext);
+    protected abstract EventTableIndexService makeEventTableIndexService(RuntimeExtensionServices ext, Configuration configs);
 
     protected abstract ResultSetProcessorHelperFactory makeResultSetProcessorHelperFactory(RuntimeExtensionServices ext);
 
@@ -277,7 +277,7 @@ public abstract class EPServicesContextFactoryBase implements EPServicesContextF
 
         StatementAgentInstanceLockFactory statementAgentInstanceLockFactory = new StatementAgentInstanceLockFactoryImpl(configs.getRuntime().getExecution().isFairlock(), configs.getRuntime().getExecution().isDisableLocking(), configs.getRuntime().getLogging().isEnableLockActivity());
 
-        EventTableIndexService eventTableIndexService = makeEventTableIndexService(epServicesHA.getRuntimeExtensionServices());
+        EventTableIndexService eventTableIndexService = makeEventTableIndexService(epServicesHA.getRuntimeExtensionServices(), configs);
         ExpressionResultCacheService expressionResultCacheSharable = new ExpressionResultCacheService(configs.getRuntime().getExecution().getDeclaredExprValueCacheSize());
 
         ResultSetProcessorHelperFactory resultSetProcessorHelperFactory = makeResultSetProcessorHelperFactory(epServicesHA.getRuntimeExtensionServices());
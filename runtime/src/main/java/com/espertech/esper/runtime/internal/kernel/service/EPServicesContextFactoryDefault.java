@@ -13,6 +13,9 @@ package com.espertech.esper.runtime.internal.kernel.service;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.configuration.Configuration;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonEventTypeMeta;
+import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeExecution;
+import com.espertech.esper.common.client.util.FilterServiceProfile;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
 import com.espertech.esper.common.internal.collection.PathRegistry;
 import com.espertech.esper.common.internal.context.activator.ViewableActivatorFactory;
 import com.espertech.esper.common.internal.context.activator.ViewableActivatorFactoryImpl;
@@ -73,6 +76,7 @@ import com.espertech.esper.runtime.internal.deploymentlifesvc.DeploymentRecovery
 import com.espertech.esper.runtime.internal.deploymentlifesvc.ListenerRecoveryServiceImpl;
 import com.espertech.esper.runtime.internal.deploymentlifesvc.StatementIdRecoveryServiceImpl;
 import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceLockCoarse;
+import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceLockFree;
 import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceSPI;
 import com.espertech.esper.runtime.internal.kernel.stage.StageRecoveryService;
 import com.espertech.esper.runtime.internal.kernel.stage.StageRecoveryServiceImpl;
@@ -82,6 +86,7 @@ import com.espertech.esper.runtime.internal.kernel.thread.ThreadingService;
 import com.espertech.esper.runtime.internal.kernel.thread.ThreadingServiceImpl;
 import com.espertech.esper.runtime.internal.namedwindow.NamedWindowDispatchServiceImpl;
 import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceImpl;
+import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceTimingWheelImpl;
 import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceSPI;
 import com.espertech.esper.runtime.internal.statementlifesvc.StatementLifecycleServiceImpl;
 
@@ -103,6 +108,9 @@ public class EPServicesContextFactoryDefault extends EPServicesContextFactoryBas
     }
 
     protected FilterServiceSPI makeFilterService(RuntimeExtensionServices runtimeExt, EventTypeRepository eventTypeRepository, StatementLifecycleServiceImpl statementLifecycleService, RuntimeSettingsService runtimeSettingsService, EventTypeIdResolver eventTypeIdResolver, FilterSharedLookupableRepository filterSharedLookupableRepository) {
+        if (runtimeSettingsService.getConfigurationRuntime().getExecution().getFilterServiceProfile() == FilterServiceProfile.LOCKFREE) {
+            return new FilterServiceLockFree(-1);
+        }
         return new FilterServiceLockCoarse(-1);
     }
 
@@ -139,6 +147,9 @@ public class EPServicesContextFactoryDefault extends EPServicesContextFactoryBas
     }
 
     protected SchedulingServiceSPI makeSchedulingService(EPServicesHA epServicesHA, TimeSourceService timeSourceService, RuntimeExtensionServices runtimeExt, RuntimeSettingsService runtimeSettingsService, StatementContextResolver statementContextResolver, ZoneId zoneId) {
+        if (runtimeSettingsService.getConfigurationRuntime().getExecution().getSchedulingServiceProfile() == SchedulingServiceProfile.TIMINGWHEEL) {
+            return new SchedulingServiceTimingWheelImpl(-1, timeSourceService, zoneId);
+        }
         return new SchedulingServiceImpl(-1, timeSourceService, zoneId);
     }
 
@@ -168,10 +179,17 @@ public class EPServicesContextFactoryDefault extends EPServicesContextFactoryBas
     }
 
     protected EventTypeSerdeRepository makeEventTypeSerdeRepository(EventTypeRepository preconfigureds, PathRegistry<String, EventType> eventTypePathRegistry) {
-        return EventTypeSerdeRepositoryDefault.INSTANCE;
+        return new EventTypeSerdeRepositoryDefault();
     }
 
-    protected EventTableIndexService makeEventTableIndexService(RuntimeExtensionServices runtimeExtensionServices) {
+    protected EventTableIndexService makeEventTableIndexService(RuntimeExtensionServices runtimeExtensionServices, Configuration configs) {
+        ConfigurationRuntimeExecution execution = configs.getRuntime().getExecution();
+        if (execution.isCompactIndexes()) {
+            return new EventTableIndexServiceImpl(execution.isConcurrentIndexes(), true);
+        }
+        if (execution.isConcurrentIndexes()) {
+            return EventTableIndexServiceImpl.INSTANCE_CONCURRENT;
+        }
         return EventTableIndexServiceImpl.INSTANCE;
     }
 
@@ -180,7 +198,8 @@ public class EPServicesContextFactoryDefault extends EPServicesContextFactoryBas
     }
 
     protected NamedWindowDispatchService makeNamedWindowDispatchService(SchedulingServiceSPI schedulingService, Configuration configurationSnapshot, ManagedReadWriteLock eventProcessingRWLock, ExceptionHandlingService exceptionHandlingService, VariableManagementService variableManagementService, TableManagementService tableManagementService, MetricReportingService metricReportingService) {
-        return new NamedWindowDispatchServiceImpl(schedulingService, variableManagementService, tableManagementService, configurationSnapshot.getRuntime().getExecution().isPrioritized(), eventProcessingRWLock, exceptionHandlingService, metricReportingService);
+        return new NamedWindowDispatchServiceImpl(schedulingService, variableManagementService, tableManagementService, configurationSnapshot.getRuntime().getExecution().isPrioritized(), eventProcessingRWLock, exceptionHandlingService, metricReportingService,
+            configurationSnapshot.getRuntime().getThreading().getNamedWindowConsumerDispatchParallelism());
     }
 
     protected NamedWindowConsumerManagementService makeNamedWindowConsumerManagementService(NamedWindowManagementService namedWindowManagementService) {
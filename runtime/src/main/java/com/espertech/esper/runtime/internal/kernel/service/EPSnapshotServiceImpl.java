@@ -0,0 +1,321 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.service;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.serde.DataInputOutputSerde;
+import com.espertech.esper.common.internal.context.aifactory.createtable.StatementAgentInstanceFactoryCreateTable;
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.epl.namedwindow.core.NamedWindow;
+import com.espertech.esper.common.internal.epl.namedwindow.core.NamedWindowInstance;
+import com.espertech.esper.common.internal.epl.table.core.Table;
+import com.espertech.esper.common.internal.epl.table.core.TableInstance;
+import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
+import com.espertech.esper.runtime.client.EPSnapshotService;
+import com.espertech.esper.runtime.internal.kernel.snapshot.MappedFileDataInput;
+import com.espertech.esper.runtime.internal.kernel.snapshot.MappedFileDataOutput;
+import com.espertech.esper.runtime.internal.kernel.snapshot.SnapshotEventSerde;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+public class EPSnapshotServiceImpl implements EPSnapshotService {
+    private final static int MAGIC = 0x45534e50;
+    private final static int VERSION = 1;
+    private final static byte SECTION_END = 0;
+    private final static byte SECTION_NAMEDWINDOW = 1;
+    private final static byte SECTION_TABLE = 2;
+    private final static byte ROW_END = 0;
+    private final static byte ROW = 1;
+    private final static int LOAD_BATCH_SIZE = 1024;
+
+    private final EPServicesContext services;
+
+    public EPSnapshotServiceImpl(EPServicesContext services) {
+        this.services = services;
+    }
+
+    public long snapshot(String deploymentId, File file) throws EPException {
+        validateDeployment(deploymentId);
+        List<NamedWindow> namedWindows = new ArrayList<>();
+        services.getNamedWindowManagementService().traverseNamedWindows((id, namedWindow) -> {
+            if (id.equals(deploymentId)) {
+                namedWindows.add(namedWindow);
+            }
+        });
+        List<Table> tables = new ArrayList<>();
+        services.getTableManagementService().traverseTables((id, table) -> {
+            if (id.equals(deploymentId)) {
+                tables.add(table);
+            }
+        });
+
+        services.getEventProcessingRWLock().acquireWriteLock();
+        try (MappedFileDataOutput output = new MappedFileDataOutput(file)) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            long rows = 0;
+            for (NamedWindow namedWindow : namedWindows) {
+                rows += writeNamedWindow(namedWindow, output);
+            }
+            for (Table table : tables) {
+                rows += writeTable(table, output);
+            }
+            output.writeByte(SECTION_END);
+            return rows;
+        } catch (IOException ex) {
+            throw new EPException("Failed to write snapshot file '" + file + "': " + ex.getMessage(), ex);
+        } finally {
+            services.getEventProcessingRWLock().releaseWriteLock();
+        }
+    }
+
+    public long restore(String deploymentId, File file) throws EPException {
+        validateDeployment(deploymentId);
+        services.getEventProcessingRWLock().acquireWriteLock();
+        try (MappedFileDataInput input = new MappedFileDataInput(file)) {
+            if (input.readInt() != MAGIC) {
+                throw new EPException("File '" + file + "' is not a snapshot file");
+            }
+            int version = input.readInt();
+            if (version != VERSION) {
+                throw new EPException("Snapshot file '" + file + "' has unsupported version " + version);
+            }
+            long rows = 0;
+            while (true) {
+                byte section = input.readByte();
+                if (section == SECTION_END) {
+                    break;
+                }
+                String name = input.readUTF();
+                if (section == SECTION_NAMEDWINDOW) {
+                    NamedWindow namedWindow = services.getNamedWindowManagementService().getNamedWindow(deploymentId, name);
+                    if (namedWindow == null) {
+                        throw new EPException("Named window '" + name + "' of the snapshot is not found in deployment '" + deploymentId + "'");
+                    }
+                    rows += readNamedWindow(namedWindow, input);
+                } else if (section == SECTION_TABLE) {
+                    Table table = services.getTableManagementService().getTable(deploymentId, name);
+                    if (table == null) {
+                        throw new EPException("Table '" + name + "' of the snapshot is not found in deployment '" + deploymentId + "'");
+                    }
+                    rows += readTable(table, input);
+                } else {
+                    throw new EPException("Snapshot file '" + file + "' has an unrecognized section " + section);
+                }
+            }
+            return rows;
+        } catch (IOException ex) {
+            throw new EPException("Failed to read snapshot file '" + file + "': " + ex.getMessage(), ex);
+        } finally {
+            services.getEventProcessingRWLock().releaseWriteLock();
+        }
+    }
+
+    private long writeNamedWindow(NamedWindow namedWindow, DataOutput output) throws IOException {
+        NamedWindowInstance instance = getInstance(namedWindow);
+        SnapshotEventSerde serde = SnapshotEventSerde.forEventType(namedWindow.getRootView().getEventType(), namedWindow.getName());
+        output.writeByte(SECTION_NAMEDWINDOW);
+        output.writeUTF(namedWindow.getName());
+        serde.writeHeader(output);
+
+        long rows = 0;
+        AgentInstanceContext agentInstanceContext = instance.getRootViewInstance().getAgentInstanceContext();
+        agentInstanceContext.getEpStatementAgentInstanceHandle().getStatementAgentInstanceLock().acquireReadLock();
+        try {
+            Iterator<EventBean> it = instance.getTailViewInstance().getParent().iterator();
+            while (it.hasNext()) {
+                output.writeByte(ROW);
+                serde.write(it.next(), output);
+                rows++;
+            }
+        } finally {
+            agentInstanceContext.getEpStatementAgentInstanceHandle().getStatementAgentInstanceLock().releaseReadLock();
+        }
+        output.writeByte(ROW_END);
+        return rows;
+    }
+
+    private long readNamedWindow(NamedWindow namedWindow, DataInput input) throws IOException {
+        NamedWindowInstance instance = getInstance(namedWindow);
+        SnapshotEventSerde serde = SnapshotEventSerde.forEventType(namedWindow.getRootView().getEventType(), namedWindow.getName());
+        serde.readValidateHeader(input, namedWindow.getName());
+
+        long rows = 0;
+        AgentInstanceContext agentInstanceContext = instance.getRootViewInstance().getAgentInstanceContext();
+        agentInstanceContext.getEpStatementAgentInstanceHandle().getStatementAgentInstanceLock().acquireWriteLock();
+        try {
+            if (instance.getCountDataWindow() != 0) {
+                throw new EPException("Named window '" + namedWindow.getName() + "' is not empty");
+            }
+            EventBean[] batch = new EventBean[LOAD_BATCH_SIZE];
+            int count = 0;
+            while (input.readByte() == ROW) {
+                batch[count++] = serde.read(input, agentInstanceContext.getEventBeanTypedEventFactory());
+                if (count == batch.length) {
+                    instance.load(batch);
+                    batch = new EventBean[LOAD_BATCH_SIZE];
+                    rows += count;
+                    count = 0;
+                }
+            }
+            if (count > 0) {
+                instance.load(Arrays.copyOf(batch, count));
+                rows += count;
+            }
+        } finally {
+            agentInstanceContext.getEpStatementAgentInstanceHandle().getStatementAgentInstanceLock().releaseWriteLock();
+        }
+        return rows;
+    }
+
+    private long writeTable(Table table, DataOutput output) throws IOException {
+        TableInstance instance = getInstance(table);
+        EventType internalType = table.getMetaData().getInternalEventType();
+        String[] columnNames = getTableColumnNames(internalType);
+        DataInputOutputSerde[] serdes = getTableColumnSerdes(internalType, columnNames);
+        DataInputOutputSerde aggregationSerde = getAggregationSerde(table);
+        output.writeByte(SECTION_TABLE);
+        output.writeUTF(table.getName());
+        output.writeInt(columnNames.length);
+        for (String columnName : columnNames) {
+            output.writeUTF(columnName);
+        }
+        output.writeBoolean(aggregationSerde != null);
+
+        long rows = 0;
+        instance.getTableLevelRWLock().readLock().lock();
+        try {
+            for (EventBean event : instance.getEventCollection()) {
+                Object[] values = ((ObjectArrayBackedEventBean) event).getProperties();
+                output.writeByte(ROW);
+                for (int i = 0; i < serdes.length; i++) {
+                    serdes[i].write(values[i + 1], output, null, null);
+                }
+                if (aggregationSerde != null) {
+                    aggregationSerde.write(values[0], output, null, null);
+                }
+                rows++;
+            }
+        } finally {
+            instance.getTableLevelRWLock().readLock().unlock();
+        }
+        output.writeByte(ROW_END);
+        return rows;
+    }
+
+    private long readTable(Table table, DataInput input) throws IOException {
+        TableInstance instance = getInstance(table);
+        EventType internalType = table.getMetaData().getInternalEventType();
+        String[] columnNames = getTableColumnNames(internalType);
+        DataInputOutputSerde[] serdes = getTableColumnSerdes(internalType, columnNames);
+        String[] columnNamesRead = new String[input.readInt()];
+        for (int i = 0; i < columnNamesRead.length; i++) {
+            columnNamesRead[i] = input.readUTF();
+        }
+        if (!Arrays.equals(columnNames, columnNamesRead)) {
+            throw new EPException("Snapshot of '" + table.getName() + "' has columns " + Arrays.toString(columnNamesRead) + " that do not match the columns " + Arrays.toString(columnNames) + " of the table");
+        }
+        boolean hasAggregationState = input.readBoolean();
+        DataInputOutputSerde aggregationSerde = getAggregationSerde(table);
+        if (hasAggregationState && aggregationSerde == null) {
+            throw new EPException("Snapshot of '" + table.getName() + "' has aggregation state but the table does not provide an aggregation serde");
+        }
+
+        long rows = 0;
+        AgentInstanceContext agentInstanceContext = instance.getAgentInstanceContext();
+        instance.getTableLevelRWLock().writeLock().lock();
+        try {
+            if (instance.size() != 0) {
+                throw new EPException("Table '" + table.getName() + "' is not empty");
+            }
+            while (input.readByte() == ROW) {
+                Object[] values = new Object[columnNames.length + 1];
+                for (int i = 0; i < serdes.length; i++) {
+                    values[i + 1] = serdes[i].read(input, null);
+                }
+                EventBean event = agentInstanceContext.getEventBeanTypedEventFactory().adapterForTypedObjectArray(values, internalType);
+                if (hasAggregationState) {
+                    values[0] = aggregationSerde.read(input, null);
+                    instance.addEvent(event);
+                } else {
+                    instance.addEventUnadorned(event);
+                }
+                rows++;
+            }
+        } finally {
+            instance.getTableLevelRWLock().writeLock().unlock();
+        }
+        return rows;
+    }
+
+    private void validateDeployment(String deploymentId) {
+        if (services.getDeploymentLifecycleService().getDeploymentById(deploymentId) == null) {
+            throw new EPException("Deployment '" + deploymentId + "' not found");
+        }
+    }
+
+    private static NamedWindowInstance getInstance(NamedWindow namedWindow) {
+        if (namedWindow.getRootView().getContextName() != null) {
+            throw new EPException("Snapshot of named window '" + namedWindow.getName() + "' is not supported as the named window is associated to a context");
+        }
+        if (namedWindow.getRootView().isVirtualDataWindow()) {
+            throw new EPException("Snapshot of named window '" + namedWindow.getName() + "' is not supported as the named window is a virtual data window");
+        }
+        NamedWindowInstance instance = namedWindow.getNamedWindowInstanceNoContext();
+        if (instance == null) {
+            throw new EPException("Named window '" + namedWindow.getName() + "' has no instance");
+        }
+        return instance;
+    }
+
+    private static TableInstance getInstance(Table table) {
+        if (table.getMetaData().getOptionalContextName() != null) {
+            throw new EPException("Snapshot of table '" + table.getName() + "' is not supported as the table is associated to a context");
+        }
+        TableInstance instance = table.getTableInstanceNoContext();
+        if (instance == null) {
+            throw new EPException("Table '" + table.getName() + "' has no instance");
+        }
+        return instance;
+    }
+
+    private static String[] getTableColumnNames(EventType internalType) {
+        // the first property of the internal event type holds the aggregation row
+        String[] propertyNames = internalType.getPropertyNames();
+        return Arrays.copyOfRange(propertyNames, 1, propertyNames.length);
+    }
+
+    private static DataInputOutputSerde[] getTableColumnSerdes(EventType internalType, String[] columnNames) {
+        DataInputOutputSerde[] serdes = new DataInputOutputSerde[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            serdes[i] = SnapshotEventSerde.serdeForType(internalType.getPropertyEPType(columnNames[i]));
+        }
+        return serdes;
+    }
+
+    private static DataInputOutputSerde getAggregationSerde(Table table) {
+        // the aggregation serde is implemented only when the module was compiled for HA
+        StatementAgentInstanceFactoryCreateTable factory = (StatementAgentInstanceFactoryCreateTable) table.getStatementContextCreateTable().getStatementAIFactoryProvider().getFactory();
+        if (!factory.isTargetHA() || table.getTableSerdes() == null) {
+            return null;
+        }
+        return table.getTableSerdes().getAggregations();
+    }
+}
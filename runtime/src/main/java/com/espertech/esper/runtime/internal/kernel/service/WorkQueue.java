@@ -17,6 +17,21 @@ public interface WorkQueue {
     void add(EventBean theEvent, EPStatementHandle epStatementHandle, boolean addToFront, int precedence);
     void add(EventBean theEvent);
     boolean isFrontEmpty();
+    boolean isEmpty();
     boolean processFront(EPEventServiceQueueProcessor epEventService);
     boolean processBack(EPEventServiceQueueProcessor epEventService);
+
+    /**
+     * Removes all work items and returns a work queue of the same kind holding the items.
+     *
+     * @return removed items
+     */
+    WorkQueue removeAll();
+
+    /**
+     * Adds all work items of the work queue, which must be of the same kind, after the work items of this queue.
+     *
+     * @param queue items to add
+     */
+    void addAll(WorkQueue queue);
 }
@@ -40,6 +40,10 @@ public class WorkQueueNoPrecedenceMayLatch implements WorkQueue {
         return front.isEmpty();
     }
 
+    public boolean isEmpty() {
+        return front.isEmpty() && back.isEmpty();
+    }
+
     public boolean processFront(EPEventServiceQueueProcessor epEventService) {
         return process(front, epEventService);
     }
@@ -48,6 +52,21 @@ public class WorkQueueNoPrecedenceMayLatch implements WorkQueue {
         return process(back, epEventService);
     }
 
+    public WorkQueue removeAll() {
+        WorkQueueNoPrecedenceMayLatch removed = new WorkQueueNoPrecedenceMayLatch();
+        removed.front.addAll(front);
+        removed.back.addAll(back);
+        front.clear();
+        back.clear();
+        return removed;
+    }
+
+    public void addAll(WorkQueue queue) {
+        WorkQueueNoPrecedenceMayLatch other = (WorkQueueNoPrecedenceMayLatch) queue;
+        front.addAll(other.front);
+        back.addAll(other.back);
+    }
+
     private static boolean process(ArrayDeque<Object> queue, EPEventServiceQueueProcessor epEventService) {
         Object item = queue.poll();
         if (item == null) {
@@ -36,6 +36,10 @@ public class WorkQueueNoPrecedenceNoLatch implements WorkQueue {
         return front.isEmpty();
     }
 
+    public boolean isEmpty() {
+        return front.isEmpty() && back.isEmpty();
+    }
+
     public boolean processFront(EPEventServiceQueueProcessor epEventService) {
         return process(front, epEventService);
     }
@@ -44,6 +48,21 @@ public class WorkQueueNoPrecedenceNoLatch implements WorkQueue {
         return process(back, epEventService);
     }
 
+    public WorkQueue removeAll() {
+        WorkQueueNoPrecedenceNoLatch removed = new WorkQueueNoPrecedenceNoLatch();
+        removed.front.addAll(front);
+        removed.back.addAll(back);
+        front.clear();
+        back.clear();
+        return removed;
+    }
+
+    public void addAll(WorkQueue queue) {
+        WorkQueueNoPrecedenceNoLatch other = (WorkQueueNoPrecedenceNoLatch) queue;
+        front.addAll(other.front);
+        back.addAll(other.back);
+    }
+
     private static boolean process(ArrayDeque<EventBean> queue, EPEventServiceQueueProcessor epEventService) {
         EventBean item = queue.poll();
         if (item == null) {
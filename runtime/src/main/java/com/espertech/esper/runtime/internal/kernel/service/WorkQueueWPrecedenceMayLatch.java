@@ -44,6 +44,10 @@ public class WorkQueueWPrecedenceMayLatch implements WorkQueue {
         return front.isEmpty();
     }
 
+    public boolean isEmpty() {
+        return front.isEmpty() && back.isEmpty();
+    }
+
     public boolean processFront(EPEventServiceQueueProcessor epEventService) {
         return process(front, epEventService);
     }
@@ -52,6 +56,25 @@ public class WorkQueueWPrecedenceMayLatch implements WorkQueue {
         return process(back, epEventService);
     }
 
+    public WorkQueue removeAll() {
+        WorkQueueWPrecedenceMayLatch removed = new WorkQueueWPrecedenceMayLatch();
+        removed.front.addAll(front);
+        removed.back.addAll(back);
+        front.clear();
+        back.clear();
+        return removed;
+    }
+
+    public void addAll(WorkQueue queue) {
+        WorkQueueWPrecedenceMayLatch other = (WorkQueueWPrecedenceMayLatch) queue;
+        for (WorkQueueItemPrecedenced item : other.front) {
+            insert(item, front);
+        }
+        for (WorkQueueItemPrecedenced item : other.back) {
+            insert(item, back);
+        }
+    }
+
     private static boolean process(ArrayList<WorkQueueItemPrecedenced> queue, EPEventServiceQueueProcessor epEventService) {
         if (queue.isEmpty()) {
             return false;
@@ -37,6 +37,10 @@ public class WorkQueueWPrecedenceNoLatch implements WorkQueue {
         return front.isEmpty();
     }
 
+    public boolean isEmpty() {
+        return front.isEmpty() && back.isEmpty();
+    }
+
     public boolean processFront(EPEventServiceQueueProcessor epEventService) {
         return process(front, epEventService);
     }
@@ -45,6 +49,25 @@ public class WorkQueueWPrecedenceNoLatch implements WorkQueue {
         return process(back, epEventService);
     }
 
+    public WorkQueue removeAll() {
+        WorkQueueWPrecedenceNoLatch removed = new WorkQueueWPrecedenceNoLatch();
+        removed.front.addAll(front);
+        removed.back.addAll(back);
+        front.clear();
+        back.clear();
+        return removed;
+    }
+
+    public void addAll(WorkQueue queue) {
+        WorkQueueWPrecedenceNoLatch other = (WorkQueueWPrecedenceNoLatch) queue;
+        for (WorkQueueItemPrecedenced item : other.front) {
+            insert(item, front);
+        }
+        for (WorkQueueItemPrecedenced item : other.back) {
+            insert(item, back);
+        }
+    }
+
     private static void insert(WorkQueueItemPrecedenced item, ArrayList<WorkQueueItemPrecedenced> queue) {
         WorkQueueUtil.insert(item, queue);
     }
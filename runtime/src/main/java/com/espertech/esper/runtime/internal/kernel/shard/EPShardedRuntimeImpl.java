@@ -0,0 +1,398 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.shard;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyGetter;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.EventPropertyDescriptor;
+import com.espertech.esper.common.client.EventTypeException;
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryResult;
+import com.espertech.esper.common.client.json.minimaljson.JsonHandler;
+import com.espertech.esper.common.client.json.minimaljson.JsonParser;
+import com.espertech.esper.common.internal.context.controller.hash.ContextControllerHashedGetterCRC32SingleForge;
+import com.espertech.esper.common.internal.context.controller.hash.ContextControllerHashedGetterHashSingleForge;
+import com.espertech.esper.common.internal.context.controller.hash.HashFunctionEnum;
+import com.espertech.esper.common.internal.epl.fafquery.querymethod.EPPreparedQueryResult;
+import com.espertech.esper.common.internal.event.json.core.JsonEventType;
+import com.espertech.esper.common.internal.util.SimpleTypeParser;
+import com.espertech.esper.common.internal.util.SimpleTypeParserFactory;
+import com.espertech.esper.runtime.client.DeploymentOptions;
+import com.espertech.esper.runtime.client.EPDeployException;
+import com.espertech.esper.runtime.client.EPDeployment;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.EPUndeployException;
+import com.espertech.esper.runtime.client.UpdateListener;
+import com.espertech.esper.runtime.client.shard.EPShardedRuntime;
+import com.espertech.esper.runtime.internal.kernel.faf.EPQueryResultImpl;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import com.espertech.esper.runtime.internal.kernel.thread.EngineThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Sharded runtime that routes events to shards by the hash of the shard key.
+ */
+public class EPShardedRuntimeImpl implements EPShardedRuntime {
+    private static final Logger log = LoggerFactory.getLogger(EPShardedRuntimeImpl.class);
+
+    private final String uri;
+    private final EPRuntimeSPI[] shards;
+    private final Map<String, ShardKey> shardKeys = new ConcurrentHashMap<>();
+    private final ExecutorService queryExecutor;
+
+    /**
+     * Ctor.
+     *
+     * @param uri    uri of the sharded runtime
+     * @param shards runtime per shard
+     */
+    public EPShardedRuntimeImpl(String uri, EPRuntimeSPI[] shards) {
+        this.uri = uri;
+        this.shards = shards;
+        ThreadGroup threadGroup = new ThreadGroup("com.espertech.esper." + uri + "-ShardQuery");
+        this.queryExecutor = Executors.newFixedThreadPool(shards.length, new EngineThreadFactory(uri, "ShardQuery", threadGroup, Thread.NORM_PRIORITY));
+    }
+
+    public String getURI() {
+        return uri;
+    }
+
+    public int getNumShards() {
+        return shards.length;
+    }
+
+    public EPRuntime getShard(int shard) {
+        return shards[shard];
+    }
+
+    public void addShardKey(String eventTypeName, String propertyName) {
+        addShardKey(eventTypeName, propertyName, HashFunctionEnum.CONSISTENT_HASH_CRC32.name());
+    }
+
+    public void addShardKey(String eventTypeName, String propertyName, String hashFunction) throws IllegalArgumentException {
+        HashFunctionEnum hashFunctionEnum = HashFunctionEnum.determine(null, hashFunction);
+        if (hashFunctionEnum == null) {
+            throw new IllegalArgumentException("Invalid hash function '" + hashFunction + "', expecting any of the following: " + HashFunctionEnum.getStringList());
+        }
+        shardKeys.put(eventTypeName, new ShardKey(propertyName, hashFunctionEnum));
+    }
+
+    public String deploy(EPCompiled compiled) throws EPDeployException {
+        EPDeployment first = shards[0].getDeploymentService().deploy(compiled);
+        String deploymentId = first.getDeploymentId();
+        for (int i = 1; i < shards.length; i++) {
+            try {
+                shards[i].getDeploymentService().deploy(compiled, new DeploymentOptions().setDeploymentId(deploymentId));
+            } catch (EPDeployException ex) {
+                for (int j = 0; j < i; j++) {
+                    try {
+                        shards[j].getDeploymentService().undeploy(deploymentId);
+                    } catch (EPUndeployException undeployEx) {
+                        log.error("Failed to undeploy deployment '" + deploymentId + "' from shard " + j + ": " + undeployEx.getMessage(), undeployEx);
+                    }
+                }
+                throw ex;
+            }
+        }
+        return deploymentId;
+    }
+
+    public void undeploy(String deploymentId) throws EPUndeployException {
+        EPUndeployException first = null;
+        for (EPRuntimeSPI shard : shards) {
+            try {
+                shard.getDeploymentService().undeploy(deploymentId);
+            } catch (EPUndeployException ex) {
+                if (first == null) {
+                    first = ex;
+                }
+            }
+        }
+        if (first != null) {
+            throw first;
+        }
+    }
+
+    public EPStatement[] getStatements(String deploymentId, String statementName) {
+        EPStatement[] statements = new EPStatement[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            statements[i] = shards[i].getDeploymentService().getStatement(deploymentId, statementName);
+            if (statements[i] == null) {
+                return null;
+            }
+        }
+        return statements;
+    }
+
+    public void addListener(String deploymentId, String statementName, UpdateListener listener) throws IllegalArgumentException {
+        EPStatement[] statements = getStatements(deploymentId, statementName);
+        if (statements == null) {
+            throw new IllegalArgumentException("Statement named '" + statementName + "' of deployment '" + deploymentId + "' could not be found");
+        }
+        ShardMergedUpdateListener merged = new ShardMergedUpdateListener(listener);
+        for (EPStatement statement : statements) {
+            statement.addListener(merged);
+        }
+    }
+
+    public void sendEventBean(Object event, String eventTypeName) throws EventTypeException {
+        int shard = getShardForEvent(event, eventTypeName);
+        if (shard != -1) {
+            shards[shard].getEventService().sendEventBean(event, eventTypeName);
+            return;
+        }
+        for (EPRuntimeSPI runtime : shards) {
+            runtime.getEventService().sendEventBean(event, eventTypeName);
+        }
+    }
+
+    public void sendEventMap(Map<String, Object> map, String eventTypeName) throws EventTypeException {
+        int shard = getShardForEvent(map, eventTypeName);
+        if (shard != -1) {
+            shards[shard].getEventService().sendEventMap(map, eventTypeName);
+            return;
+        }
+        for (EPRuntimeSPI runtime : shards) {
+            runtime.getEventService().sendEventMap(map, eventTypeName);
+        }
+    }
+
+    public void sendEventObjectArray(Object[] objectarray, String eventTypeName) throws EventTypeException {
+        int shard = getShardForEvent(objectarray, eventTypeName);
+        if (shard != -1) {
+            shards[shard].getEventService().sendEventObjectArray(objectarray, eventTypeName);
+            return;
+        }
+        for (EPRuntimeSPI runtime : shards) {
+            runtime.getEventService().sendEventObjectArray(objectarray, eventTypeName);
+        }
+    }
+
+    public void sendEventJson(String json, String eventTypeName) throws EventTypeException {
+        int shard = getShardForEvent(json, eventTypeName);
+        if (shard != -1) {
+            shards[shard].getEventService().sendEventJson(json, eventTypeName);
+            return;
+        }
+        for (EPRuntimeSPI runtime : shards) {
+            runtime.getEventService().sendEventJson(json, eventTypeName);
+        }
+    }
+
+    public int getShardForEvent(Object underlying, String eventTypeName) throws EventTypeException {
+        ShardKey shardKey = shardKeys.get(eventTypeName);
+        if (shardKey == null) {
+            return -1;
+        }
+
+        // shard zero provides the event type, each shard has the same event types
+        EventType eventType = shards[0].getEventTypeService().getBusEventType(eventTypeName);
+        if (eventType == null) {
+            throw new EventTypeException("Event type named '" + eventTypeName + "' could not be found");
+        }
+        ShardKeyGetter getter = shardKey.getGetter(eventType);
+
+        Object key;
+        if (eventType instanceof JsonEventType) {
+            key = getJsonKey((String) underlying, (JsonEventType) eventType, shardKey, getter);
+        } else {
+            EventBean event = shards[0].getServicesContext().getEventBeanTypedEventFactory().adapterForGivenType(underlying, eventType);
+            key = getter.getter.get(event);
+        }
+
+        if (shardKey.hashFunction == HashFunctionEnum.CONSISTENT_HASH_CRC32) {
+            return ContextControllerHashedGetterCRC32SingleForge.stringToCRC32Hash(key == null ? null : key.toString(), shards.length);
+        }
+        return ContextControllerHashedGetterHashSingleForge.objectToNativeHash(key, shards.length);
+    }
+
+    private Object getJsonKey(String json, JsonEventType eventType, ShardKey shardKey, ShardKeyGetter getter) {
+        // the target shard parses the document, only the key is extracted here unless the key property is nested or not of a simple type
+        if (getter.jsonKeyParser == null) {
+            Object parsed = eventType.parse(json);
+            EventBean event = shards[0].getServicesContext().getEventBeanTypedEventFactory().adapterForTypedJson(parsed, eventType);
+            return getter.getter.get(event);
+        }
+        JsonShardKeyHandler handler = new JsonShardKeyHandler(shardKey.propertyName);
+        try {
+            new JsonParser(handler).parse(json);
+        } catch (RuntimeException ex) {
+            throw new EPException("Failed to parse Json: " + ex.getMessage(), ex);
+        }
+        return handler.value == null ? null : getter.jsonKeyParser.parse(handler.value);
+    }
+
+    public void advanceTime(long time) {
+        for (EPRuntimeSPI runtime : shards) {
+            runtime.getEventService().advanceTime(time);
+        }
+    }
+
+    public EPFireAndForgetQueryResult executeQuery(EPCompiled compiled) {
+        List<Future<EPFireAndForgetQueryResult>> futures = new ArrayList<>(shards.length);
+        for (EPRuntimeSPI runtime : shards) {
+            futures.add(queryExecutor.submit(() -> runtime.getFireAndForgetService().executeQuery(compiled)));
+        }
+
+        EventType eventType = null;
+        List<EventBean> rows = new ArrayList<>();
+        for (Future<EPFireAndForgetQueryResult> future : futures) {
+            EPFireAndForgetQueryResult result;
+            try {
+                result = future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new EPException("Interrupted executing query: " + ex.getMessage(), ex);
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ex.getCause();
+                }
+                throw new EPException("Failed to execute query: " + ex.getCause().getMessage(), ex.getCause());
+            }
+            if (eventType == null) {
+                eventType = result.getEventType();
+            }
+            EventBean[] array = result.getArray();
+            if (array != null) {
+                for (EventBean row : array) {
+                    rows.add(row);
+                }
+            }
+        }
+        return new EPQueryResultImpl(new EPPreparedQueryResult(eventType, rows.toArray(new EventBean[0])));
+    }
+
+    public void destroy() {
+        queryExecutor.shutdownNow();
+        for (EPRuntimeSPI runtime : shards) {
+            runtime.destroy();
+        }
+    }
+
+    private static class ShardKey {
+        private final String propertyName;
+        private final HashFunctionEnum hashFunction;
+        private volatile ShardKeyGetter getter;
+
+        private ShardKey(String propertyName, HashFunctionEnum hashFunction) {
+            this.propertyName = propertyName;
+            this.hashFunction = hashFunction;
+        }
+
+        private ShardKeyGetter getGetter(EventType type) throws EventTypeException {
+            ShardKeyGetter current = getter;
+            if (current != null && current.eventType == type) {
+                return current;
+            }
+            EventPropertyGetter propertyGetter = type.getGetter(propertyName);
+            if (propertyGetter == null) {
+                throw new EventTypeException("Shard key property named '" + propertyName + "' is not a valid property of event type '" + type.getName() + "'");
+            }
+            SimpleTypeParser jsonKeyParser = null;
+            if (type instanceof JsonEventType) {
+                EventPropertyDescriptor desc = type.getPropertyDescriptor(propertyName);
+                if (desc != null && desc.getPropertyType() != null) {
+                    jsonKeyParser = SimpleTypeParserFactory.getParser(desc.getPropertyType());
+                }
+            }
+            current = new ShardKeyGetter(type, propertyGetter, jsonKeyParser);
+            getter = current;
+            return current;
+        }
+    }
+
+    private static class ShardKeyGetter {
+        private final EventType eventType;
+        private final EventPropertyGetter getter;
+        private final SimpleTypeParser jsonKeyParser;
+
+        private ShardKeyGetter(EventType eventType, EventPropertyGetter getter, SimpleTypeParser jsonKeyParser) {
+            this.eventType = eventType;
+            this.getter = getter;
+            this.jsonKeyParser = jsonKeyParser;
+        }
+    }
+
+    /**
+     * Captures the text of the top-level member value of the shard key property, without building the underlying.
+     */
+    private static class JsonShardKeyHandler extends JsonHandler<Object, Object> {
+        private final String propertyName;
+        private int depth;
+        private boolean keyMember;
+        private String value;
+
+        private JsonShardKeyHandler(String propertyName) {
+            this.propertyName = propertyName;
+        }
+
+        public Object startArray() {
+            depth++;
+            return null;
+        }
+
+        public void endArray(Object array) {
+            depth--;
+        }
+
+        public Object startObject() {
+            depth++;
+            return null;
+        }
+
+        public void endObject(Object object) {
+            depth--;
+        }
+
+        public void startObjectValue(Object object, String name) {
+            keyMember = depth == 1 && propertyName.equals(name);
+            if (keyMember) {
+                // for duplicate member names the last member wins, same as when parsing the event
+                value = null;
+            }
+        }
+
+        public void endNull() {
+            found(null);
+        }
+
+        public void endBoolean(boolean value) {
+            found(Boolean.toString(value));
+        }
+
+        public void endString(String string) {
+            found(string);
+        }
+
+        public void endNumber(String string) {
+            found(string);
+        }
+
+        private void found(String text) {
+            if (keyMember && depth == 1) {
+                value = text;
+            }
+        }
+    }
+}
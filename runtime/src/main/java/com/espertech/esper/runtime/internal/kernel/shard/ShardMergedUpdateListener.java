@@ -0,0 +1,45 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.shard;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.UpdateListener;
+
+/**
+ * Listener added to the statement of each shard, invoking the application listener for one shard at a time.
+ */
+public class ShardMergedUpdateListener implements UpdateListener {
+    private final UpdateListener listener;
+
+    /**
+     * Ctor.
+     *
+     * @param listener application listener
+     */
+    public ShardMergedUpdateListener(UpdateListener listener) {
+        this.listener = listener;
+    }
+
+    public synchronized void update(EventBean[] newEvents, EventBean[] oldEvents, EPStatement statement, EPRuntime runtime) {
+        listener.update(newEvents, oldEvents, statement, runtime);
+    }
+
+    /**
+     * Returns the application listener.
+     *
+     * @return listener
+     */
+    public UpdateListener getListener() {
+        return listener;
+    }
+}
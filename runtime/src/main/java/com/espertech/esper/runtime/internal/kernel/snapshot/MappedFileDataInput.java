@@ -0,0 +1,178 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.snapshot;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Data input that reads sequentially from a file through consecutive read-only memory-mapped regions.
+ */
+public class MappedFileDataInput implements DataInput, Closeable {
+    private final FileChannel channel;
+    private final long size;
+    private final int regionSize;
+    private MappedByteBuffer buffer;
+    private long regionStart;
+
+    /**
+     * Ctor.
+     *
+     * @param file file
+     * @throws IOException when the file cannot be opened
+     */
+    public MappedFileDataInput(File file) throws IOException {
+        this(file, MappedFileDataOutput.DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param file       file
+     * @param regionSize size of a mapped region
+     * @throws IOException when the file cannot be opened
+     */
+    public MappedFileDataInput(File file, int regionSize) throws IOException {
+        if (regionSize < 8) {
+            throw new IllegalArgumentException("Invalid region size " + regionSize);
+        }
+        this.regionSize = regionSize;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.size = channel.size();
+        this.buffer = map(0);
+    }
+
+    /**
+     * Returns the number of bytes read.
+     *
+     * @return position
+     */
+    public long getPosition() {
+        return regionStart + buffer.position();
+    }
+
+    public void readFully(byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ensureRemaining();
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    public int skipBytes(int n) throws IOException {
+        int skipped = 0;
+        while (skipped < n && getPosition() < size) {
+            ensureRemaining();
+            int count = Math.min(n - skipped, buffer.remaining());
+            buffer.position(buffer.position() + count);
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readUnsignedByte() != 0;
+    }
+
+    public byte readByte() throws IOException {
+        ensureRemaining();
+        return buffer.get();
+    }
+
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xff;
+    }
+
+    public short readShort() throws IOException {
+        if (buffer.remaining() >= 2) {
+            return buffer.getShort();
+        }
+        return (short) readBigEndian(2);
+    }
+
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xffff;
+    }
+
+    public char readChar() throws IOException {
+        if (buffer.remaining() >= 2) {
+            return buffer.getChar();
+        }
+        return (char) readBigEndian(2);
+    }
+
+    public int readInt() throws IOException {
+        if (buffer.remaining() >= 4) {
+            return buffer.getInt();
+        }
+        return (int) readBigEndian(4);
+    }
+
+    public long readLong() throws IOException {
+        if (buffer.remaining() >= 8) {
+            return buffer.getLong();
+        }
+        return readBigEndian(8);
+    }
+
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    public String readLine() {
+        throw new UnsupportedOperationException("Read-line is not supported");
+    }
+
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+
+    public void close() throws IOException {
+        buffer = null;
+        channel.close();
+    }
+
+    private long readBigEndian(int numBytes) throws IOException {
+        long value = 0;
+        for (int i = 0; i < numBytes; i++) {
+            value = (value << 8) | readUnsignedByte();
+        }
+        return value;
+    }
+
+    private void ensureRemaining() throws IOException {
+        if (buffer.hasRemaining()) {
+            return;
+        }
+        long next = regionStart + buffer.position();
+        if (next >= size) {
+            throw new EOFException("End of file reached at position " + next);
+        }
+        regionStart = next;
+        buffer = map(next);
+    }
+
+    private MappedByteBuffer map(long position) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(regionSize, size - position));
+    }
+}
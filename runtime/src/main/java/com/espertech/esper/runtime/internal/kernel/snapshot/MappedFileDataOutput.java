@@ -0,0 +1,179 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.snapshot;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Data output that writes sequentially to a file through consecutive memory-mapped regions.
+ * Upon close the file is truncated to the number of bytes written.
+ */
+public class MappedFileDataOutput implements DataOutput, Closeable {
+    /**
+     * Default size of a mapped region.
+     */
+    public final static int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final int regionSize;
+    private MappedByteBuffer buffer;
+    private long regionStart;
+
+    /**
+     * Ctor.
+     *
+     * @param file file, replaced if it exists
+     * @throws IOException when the file cannot be opened
+     */
+    public MappedFileDataOutput(File file) throws IOException {
+        this(file, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param file       file, replaced if it exists
+     * @param regionSize size of a mapped region
+     * @throws IOException when the file cannot be opened
+     */
+    public MappedFileDataOutput(File file, int regionSize) throws IOException {
+        if (regionSize < 8) {
+            throw new IllegalArgumentException("Invalid region size " + regionSize);
+        }
+        this.regionSize = regionSize;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, regionSize);
+    }
+
+    /**
+     * Returns the number of bytes written.
+     *
+     * @return position
+     */
+    public long getPosition() {
+        return regionStart + buffer.position();
+    }
+
+    public void write(int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            nextRegion();
+        }
+        buffer.put((byte) b);
+    }
+
+    public void write(byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!buffer.hasRemaining()) {
+                nextRegion();
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.put(b, off, count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    public void writeBoolean(boolean v) throws IOException {
+        write(v ? 1 : 0);
+    }
+
+    public void writeByte(int v) throws IOException {
+        write(v);
+    }
+
+    public void writeShort(int v) throws IOException {
+        if (buffer.remaining() >= 2) {
+            buffer.putShort((short) v);
+        } else {
+            writeBigEndian(v, 2);
+        }
+    }
+
+    public void writeChar(int v) throws IOException {
+        if (buffer.remaining() >= 2) {
+            buffer.putChar((char) v);
+        } else {
+            writeBigEndian(v, 2);
+        }
+    }
+
+    public void writeInt(int v) throws IOException {
+        if (buffer.remaining() >= 4) {
+            buffer.putInt(v);
+        } else {
+            writeBigEndian(v, 4);
+        }
+    }
+
+    public void writeLong(long v) throws IOException {
+        if (buffer.remaining() >= 8) {
+            buffer.putLong(v);
+        } else {
+            writeBigEndian(v, 8);
+        }
+    }
+
+    public void writeFloat(float v) throws IOException {
+        writeInt(Float.floatToIntBits(v));
+    }
+
+    public void writeDouble(double v) throws IOException {
+        writeLong(Double.doubleToLongBits(v));
+    }
+
+    public void writeBytes(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            write(s.charAt(i));
+        }
+    }
+
+    public void writeChars(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            writeChar(s.charAt(i));
+        }
+    }
+
+    public void writeUTF(String s) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(s.length() + 2);
+        new DataOutputStream(bytes).writeUTF(s);
+        write(bytes.toByteArray());
+    }
+
+    public void close() throws IOException {
+        long size = getPosition();
+        buffer.force();
+        buffer = null;
+        try {
+            channel.truncate(size);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeBigEndian(long v, int numBytes) throws IOException {
+        for (int i = numBytes - 1; i >= 0; i--) {
+            write((int) (v >>> (i * 8)));
+        }
+    }
+
+    private void nextRegion() throws IOException {
+        buffer.force();
+        regionStart += buffer.position();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionSize);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.snapshot;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.serde.DataInputOutputSerde;
+import com.espertech.esper.common.client.type.EPType;
+import com.espertech.esper.common.client.type.EPTypeClass;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
+import com.espertech.esper.common.internal.event.bean.core.BeanEventType;
+import com.espertech.esper.common.internal.event.core.EventBeanTypedEventFactory;
+import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
+import com.espertech.esper.common.internal.event.map.MapEventType;
+import com.espertech.esper.common.internal.serde.compiletime.resolve.VMBasicBuiltinSerdeFactory;
+import com.espertech.esper.common.internal.serde.serdeset.builtin.DIOSerializableObjectSerde;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes and reads the events of an object-array, map or bean event type for a snapshot.
+ * Object-array and map events are written property-by-property using the built-in serde for the property type,
+ * or Java serialization when there is no built-in serde. Bean events are written using Java serialization of the underlying.
+ */
+public class SnapshotEventSerde {
+    private final static byte KIND_OBJECTARRAY = 1;
+    private final static byte KIND_MAP = 2;
+    private final static byte KIND_BEAN = 3;
+
+    private final EventType eventType;
+    private final byte kind;
+    private final String[] propertyNames;
+    private final DataInputOutputSerde[] serdes;
+
+    private SnapshotEventSerde(EventType eventType, byte kind, String[] propertyNames, DataInputOutputSerde[] serdes) {
+        this.eventType = eventType;
+        this.kind = kind;
+        this.propertyNames = propertyNames;
+        this.serdes = serdes;
+    }
+
+    /**
+     * Returns the serde for an event type.
+     *
+     * @param eventType event type
+     * @param name      named window or table name, for use in messages
+     * @return serde
+     * @throws EPException when the event type is not supported
+     */
+    public static SnapshotEventSerde forEventType(EventType eventType, String name) throws EPException {
+        if (eventType instanceof ObjectArrayEventType) {
+            Map<String, Integer> indexes = ((ObjectArrayEventType) eventType).getPropertiesIndexes();
+            String[] names = new String[indexes.size()];
+            for (Map.Entry<String, Integer> entry : indexes.entrySet()) {
+                names[entry.getValue()] = entry.getKey();
+            }
+            return new SnapshotEventSerde(eventType, KIND_OBJECTARRAY, names, serdesForProperties(eventType, names));
+        }
+        if (eventType instanceof MapEventType) {
+            String[] names = eventType.getPropertyNames();
+            return new SnapshotEventSerde(eventType, KIND_MAP, names, serdesForProperties(eventType, names));
+        }
+        if (eventType instanceof BeanEventType) {
+            if (!Serializable.class.isAssignableFrom(eventType.getUnderlyingType())) {
+                throw new EPException("Snapshot of '" + name + "' requires a serializable underlying class but class '" + eventType.getUnderlyingType().getName() + "' is not serializable");
+            }
+            return new SnapshotEventSerde(eventType, KIND_BEAN, new String[0], new DataInputOutputSerde[0]);
+        }
+        throw new EPException("Snapshot of '" + name + "' requires an object-array, map or bean event type but event type '" + eventType.getName() + "' is not supported");
+    }
+
+    /**
+     * Returns the serde for a property type, which is the built-in serde if there is one or the serializable-object serde.
+     *
+     * @param type property type
+     * @return serde
+     */
+    public static DataInputOutputSerde serdeForType(EPType type) {
+        if (type instanceof EPTypeClass) {
+            EPTypeClass boxed = JavaClassHelper.getBoxedType((EPTypeClass) type);
+            DataInputOutputSerde serde = VMBasicBuiltinSerdeFactory.getSerde(JavaClassHelper.getClassNameNormalized(boxed));
+            if (serde != null) {
+                return serde;
+            }
+        }
+        return DIOSerializableObjectSerde.INSTANCE;
+    }
+
+    /**
+     * Writes the event type description.
+     *
+     * @param output output
+     * @throws IOException when the write failed
+     */
+    public void writeHeader(DataOutput output) throws IOException {
+        output.writeByte(kind);
+        output.writeUTF(eventType.getUnderlyingType().getName());
+        output.writeInt(propertyNames.length);
+        for (String propertyName : propertyNames) {
+            output.writeUTF(propertyName);
+        }
+    }
+
+    /**
+     * Reads the event type description and validates that it matches the event type.
+     *
+     * @param input input
+     * @param name  named window or table name, for use in messages
+     * @throws IOException when the read failed
+     * @throws EPException when the description does not match
+     */
+    public void readValidateHeader(DataInput input, String name) throws IOException, EPException {
+        byte kindRead = input.readByte();
+        String underlyingRead = input.readUTF();
+        int numProperties = input.readInt();
+        String[] namesRead = new String[numProperties];
+        for (int i = 0; i < numProperties; i++) {
+            namesRead[i] = input.readUTF();
+        }
+        if (kindRead != kind || !underlyingRead.equals(eventType.getUnderlyingType().getName())) {
+            throw new EPException("Snapshot of '" + name + "' has underlying '" + underlyingRead + "' that does not match the underlying '" + eventType.getUnderlyingType().getName() + "' of event type '" + eventType.getName() + "'");
+        }
+        if (!Arrays.equals(namesRead, propertyNames)) {
+            throw new EPException("Snapshot of '" + name + "' has properties " + Arrays.toString(namesRead) + " that do not match the properties " + Arrays.toString(propertyNames) + " of event type '" + eventType.getName() + "'");
+        }
+    }
+
+    /**
+     * Writes an event.
+     *
+     * @param event  event
+     * @param output output
+     * @throws IOException when the write failed
+     */
+    public void write(EventBean event, DataOutput output) throws IOException {
+        if (kind == KIND_OBJECTARRAY) {
+            Object[] values = ((ObjectArrayBackedEventBean) event).getProperties();
+            for (int i = 0; i < serdes.length; i++) {
+                serdes[i].write(values[i], output, null, null);
+            }
+        } else if (kind == KIND_MAP) {
+            Map<String, Object> values = (Map<String, Object>) event.getUnderlying();
+            for (int i = 0; i < serdes.length; i++) {
+                serdes[i].write(values.get(propertyNames[i]), output, null, null);
+            }
+        } else {
+            DIOSerializableObjectSerde.INSTANCE.write(event.getUnderlying(), output, null, null);
+        }
+    }
+
+    /**
+     * Reads an event.
+     *
+     * @param input        input
+     * @param eventFactory event factory
+     * @return event
+     * @throws IOException when the read failed
+     */
+    public EventBean read(DataInput input, EventBeanTypedEventFactory eventFactory) throws IOException {
+        if (kind == KIND_OBJECTARRAY) {
+            Object[] values = new Object[serdes.length];
+            for (int i = 0; i < serdes.length; i++) {
+                values[i] = serdes[i].read(input, null);
+            }
+            return eventFactory.adapterForTypedObjectArray(values, eventType);
+        } else if (kind == KIND_MAP) {
+            Map<String, Object> values = new HashMap<>(serdes.length * 2);
+            for (int i = 0; i < serdes.length; i++) {
+                values.put(propertyNames[i], serdes[i].read(input, null));
+            }
+            return eventFactory.adapterForTypedMap(values, eventType);
+        }
+        return eventFactory.adapterForTypedBean(DIOSerializableObjectSerde.INSTANCE.read(input, null), eventType);
+    }
+
+    private static DataInputOutputSerde[] serdesForProperties(EventType eventType, String[] propertyNames) {
+        DataInputOutputSerde[] serdes = new DataInputOutputSerde[propertyNames.length];
+        for (int i = 0; i < propertyNames.length; i++) {
+            serdes[i] = serdeForType(eventType.getPropertyEPType(propertyNames[i]));
+        }
+        return serdes;
+    }
+}
@@ -12,8 +12,11 @@ package com.espertech.esper.runtime.internal.kernel.stage;
 
 import com.espertech.esper.common.client.*;
 import com.espertech.esper.common.client.hook.exception.ExceptionHandlerExceptionType;
+import com.espertech.esper.common.client.serde.DataInputOutputSerde;
+import com.espertech.esper.common.client.serde.EventWireSerde;
 import com.espertech.esper.common.internal.collection.ArrayBackedCollection;
 import com.espertech.esper.common.internal.context.util.*;
+import com.espertech.esper.common.internal.epl.namedwindow.consume.NamedWindowDispatchThreadWork;
 import com.espertech.esper.common.internal.event.arr.EventSenderObjectArray;
 import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
 import com.espertech.esper.common.internal.event.avro.AvroSchemaEventType;
@@ -32,6 +35,7 @@ import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 import com.espertech.esper.common.internal.filtersvc.FilterHandleCallback;
 import com.espertech.esper.common.internal.schedule.ScheduleHandle;
 import com.espertech.esper.common.internal.schedule.ScheduleHandleCallback;
+import com.espertech.esper.common.internal.serde.runtime.event.EventWireSerdeImpl;
 import com.espertech.esper.common.internal.statement.insertintolatch.InsertIntoLatchSpin;
 import com.espertech.esper.common.internal.statement.insertintolatch.InsertIntoLatchWait;
 import com.espertech.esper.common.internal.util.DeploymentIdNamePair;
@@ -40,6 +44,7 @@ import com.espertech.esper.common.internal.util.MetricUtil;
 import com.espertech.esper.common.internal.util.ThreadLogUtil;
 import com.espertech.esper.runtime.client.UnmatchedListener;
 import com.espertech.esper.runtime.internal.kernel.service.EPEventServiceQueueProcessor;
+import com.espertech.esper.runtime.internal.kernel.service.EPEventServiceThreadWork;
 import com.espertech.esper.runtime.internal.kernel.service.EPEventServiceThreadLocalEntry;
 import com.espertech.esper.runtime.internal.kernel.service.EPStatementAgentInstanceHandleComparator;
 import com.espertech.esper.runtime.internal.kernel.service.WorkQueue;
@@ -55,13 +60,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Node;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static com.espertech.esper.runtime.internal.kernel.service.EPEventServiceHelper.*;
 import static com.espertech.esper.runtime.internal.kernel.service.EPEventServiceImpl.MAX_FILTER_FAULT_COUNT;
 
-public class EPStageEventServiceImpl implements EPStageEventServiceSPI, InternalEventRouteDest, EPRuntimeEventProcessWrapped, EPEventServiceQueueProcessor {
+public class EPStageEventServiceImpl implements EPStageEventServiceSPI, InternalEventRouteDest, EPRuntimeEventProcessWrapped, EPEventServiceQueueProcessor, NamedWindowDispatchThreadWork {
     protected static final Logger log = LoggerFactory.getLogger(EPStageEventServiceImpl.class);
 
     protected StageSpecificServices specificServices;
@@ -153,6 +159,24 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
     }
 
+    public void sendEventJson(byte[] json, int offset, int length, String jsonEventTypeName) {
+        if (json == null) {
+            throw new IllegalArgumentException("Invalid null event object");
+        }
+
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+            log.debug(".sendEventJson Processing event of " + length + " bytes");
+        }
+
+        if (inboundThreading) {
+            // the caller may reuse the array, the work unit keeps the decoded document
+            specificServices.getThreadingService().submitInbound(new InboundUnitSendJson(new String(json, offset, length, StandardCharsets.UTF_8), jsonEventTypeName, this, specificServices));
+        } else {
+            EventBean eventBean = runtimeServices.getEventTypeResolvingBeanFactory().adapterForJson(json, offset, length, jsonEventTypeName);
+            processWrappedEvent(eventBean);
+        }
+    }
+
     public void sendEventBean(Object theEvent, String eventTypeName) {
         if (theEvent == null) {
             log.error(".sendEvent Null object supplied");
@@ -319,6 +343,12 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
     }
 
+    public void processWrappedEvents(EventBean[] eventBeans) {
+        for (EventBean eventBean : eventBeans) {
+            processWrappedEvent(eventBean);
+        }
+    }
+
     public void processWrappedEvent(EventBean eventBean) {
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().qStimulantEvent(eventBean, stageUri);
@@ -368,7 +398,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         WorkQueue queues = threadLocals.get().getWorkQueue();
 
         if (queues.isFrontEmpty()) {
-            boolean haveDispatched = runtimeServices.getNamedWindowDispatchService().dispatch();
+            boolean haveDispatched = runtimeServices.getNamedWindowDispatchService().dispatch(this);
             if (haveDispatched) {
                 // Dispatch results to listeners
                 dispatch();
@@ -382,7 +412,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
 
         while (queues.processBack(this)) {
-            boolean haveDispatched = runtimeServices.getNamedWindowDispatchService().dispatch();
+            boolean haveDispatched = runtimeServices.getNamedWindowDispatchService().dispatch(this);
             if (haveDispatched) {
                 dispatch();
             }
@@ -395,7 +425,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
 
     private void processThreadWorkQueueFront(WorkQueue queues) {
         while (queues.processFront(this)) {
-            boolean haveDispatched = runtimeServices.getNamedWindowDispatchService().dispatch();
+            boolean haveDispatched = runtimeServices.getNamedWindowDispatchService().dispatch(this);
             if (haveDispatched) {
                 dispatch();
             }
@@ -752,6 +782,14 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
     }
 
+    public Object removeThreadWork() {
+        return EPEventServiceThreadWork.remove(runtimeServices.getDispatchService(), threadLocals.get().getWorkQueue());
+    }
+
+    public void addThreadWork(Object work) {
+        ((EPEventServiceThreadWork) work).addTo(runtimeServices.getDispatchService(), threadLocals.get().getWorkQueue());
+    }
+
     public boolean isExternalClockingEnabled() {
         return isUsingExternalClocking;
     }
@@ -1029,6 +1067,18 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         throw new EventTypeException("An event sender for event type named '" + eventTypeName + "' could not be created as the type is not known");
     }
 
+    public EventWireSerde getEventWireSerde(String eventTypeName) throws EventTypeException {
+        EventType eventType = runtimeServices.getEventTypeRepositoryBus().getTypeByName(eventTypeName);
+        if (eventType == null) {
+            throw new EventTypeException("Event type named '" + eventTypeName + "' could not be found");
+        }
+        DataInputOutputSerde serde = runtimeServices.getEventTypeSerdeRepository().getUnderlyingSerde(eventType);
+        if (serde == null) {
+            throw new EventTypeException("A wire serde for event type named '" + eventTypeName + "' is not available, the event type must be declared by create-schema and compiled with event wire serdes enabled");
+        }
+        return new EventWireSerdeImpl(eventType, serde);
+    }
+
     public Map<DeploymentIdNamePair, Long> getStatementNearestSchedules() {
         return getStatementNearestSchedulesInternal(specificServices.getSchedulingService(), runtimeServices.getStatementLifecycleService());
     }
@@ -18,6 +18,7 @@ import com.espertech.esper.common.internal.epl.variable.core.VariableManagementS
 import com.espertech.esper.common.internal.event.core.EventBeanTypedEventFactory;
 import com.espertech.esper.common.internal.event.core.EventTypeResolvingBeanFactory;
 import com.espertech.esper.common.internal.event.eventtyperepo.EventTypeRepository;
+import com.espertech.esper.common.internal.serde.runtime.eventtype.EventTypeSerdeRepository;
 import com.espertech.esper.common.internal.settings.ClasspathImportServiceRuntime;
 import com.espertech.esper.common.internal.settings.ExceptionHandlingService;
 import com.espertech.esper.common.internal.settings.RuntimeSettingsService;
@@ -33,6 +34,7 @@ public class StageRuntimeServices {
     private final EventBeanTypedEventFactory eventBeanTypedEventFactory;
     private final EventTypeRepository eventTypeRepositoryBus;
     private final EventTypeResolvingBeanFactory eventTypeResolvingBeanFactory;
+    private final EventTypeSerdeRepository eventTypeSerdeRepository;
     private final ExceptionHandlingService exceptionHandlingService;
     private final NamedWindowDispatchService namedWindowDispatchService;
     private final String runtimeURI;
@@ -42,7 +44,7 @@ public class StageRuntimeServices {
     private final ThreadingService threadingService;
     private final VariableManagementService variableManagementService;
 
-    public StageRuntimeServices(ClasspathImportServiceRuntime classpathImportServiceRuntime, Configuration configSnapshot, DispatchService dispatchService, EventBeanService eventBeanService, EventBeanTypedEventFactory eventBeanTypedEventFactory, EventTypeRepository eventTypeRepositoryBus, EventTypeResolvingBeanFactory eventTypeResolvingBeanFactory, ExceptionHandlingService exceptionHandlingService, NamedWindowDispatchService namedWindowDispatchService, String runtimeURI, RuntimeSettingsService runtimeSettingsService, StatementLifecycleService statementLifecycleService, TableExprEvaluatorContext tableExprEvaluatorContext, ThreadingService threadingService, VariableManagementService variableManagementService) {
+    public StageRuntimeServices(ClasspathImportServiceRuntime classpathImportServiceRuntime, Configuration configSnapshot, DispatchService dispatchService, EventBeanService eventBeanService, EventBeanTypedEventFactory eventBeanTypedEventFactory, EventTypeRepository eventTypeRepositoryBus, EventTypeResolvingBeanFactory eventTypeResolvingBeanFactory, EventTypeSerdeRepository eventTypeSerdeRepository, ExceptionHandlingService exceptionHandlingService, NamedWindowDispatchService namedWindowDispatchService, String runtimeURI, RuntimeSettingsService runtimeSettingsService, StatementLifecycleService statementLifecycleService, TableExprEvaluatorContext tableExprEvaluatorContext, ThreadingService threadingService, VariableManagementService variableManagementService) {
         this.classpathImportServiceRuntime = classpathImportServiceRuntime;
         this.configSnapshot = configSnapshot;
         this.dispatchService = dispatchService;
@@ -50,6 +52,7 @@ public class StageRuntimeServices {
         this.eventBeanTypedEventFactory = eventBeanTypedEventFactory;
         this.eventTypeRepositoryBus = eventTypeRepositoryBus;
         this.eventTypeResolvingBeanFactory = eventTypeResolvingBeanFactory;
+        this.eventTypeSerdeRepository = eventTypeSerdeRepository;
         this.exceptionHandlingService = exceptionHandlingService;
         this.namedWindowDispatchService = namedWindowDispatchService;
         this.runtimeURI = runtimeURI;
@@ -88,6 +91,10 @@ public class StageRuntimeServices {
         return eventTypeResolvingBeanFactory;
     }
 
+    public EventTypeSerdeRepository getEventTypeSerdeRepository() {
+        return eventTypeSerdeRepository;
+    }
+
     public ExceptionHandlingService getExceptionHandlingService() {
         return exceptionHandlingService;
     }
@@ -0,0 +1,186 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.hook.exception.ExceptionHandlerExceptionType;
+import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
+import com.espertech.esper.common.internal.context.util.InternalEventRouteDest;
+import com.espertech.esper.common.internal.context.util.StatementAgentInstanceLock;
+import com.espertech.esper.common.internal.epl.historical.execstrategy.HistoricalPollAsyncService;
+import com.espertech.esper.common.internal.epl.historical.execstrategy.HistoricalPollAsyncWork;
+import com.espertech.esper.runtime.internal.kernel.service.EPServicesEvaluation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Polls historical data on a thread pool. The work completes on the pool thread that returns the poll result
+ * or, when the poll does not return in time, on the timeout thread after cancelling the poll.
+ */
+public class HistoricalPollAsyncServiceImpl implements HistoricalPollAsyncService {
+    private static final Logger log = LoggerFactory.getLogger(HistoricalPollAsyncServiceImpl.class);
+
+    private final EPServicesEvaluation services;
+    private final ThreadPoolExecutor pollThreadPool;
+    private final ScheduledThreadPoolExecutor timeoutExecutor;
+    private final int maxInFlight;
+    private final long timeoutMSec;
+
+    /**
+     * Ctor.
+     *
+     * @param runtimeURI     runtime URI
+     * @param services       services
+     * @param pollThreadPool pool executing polls
+     * @param maxInFlight    maximum number of keys outstanding per statement
+     * @param timeoutMSec    poll timeout in milliseconds
+     */
+    public HistoricalPollAsyncServiceImpl(String runtimeURI, EPServicesEvaluation services, ThreadPoolExecutor pollThreadPool, int maxInFlight, long timeoutMSec) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Invalid maximum in-flight " + maxInFlight);
+        }
+        if (timeoutMSec <= 0) {
+            throw new IllegalArgumentException("Invalid timeout " + timeoutMSec);
+        }
+        this.services = services;
+        this.pollThreadPool = pollThreadPool;
+        this.maxInFlight = maxInFlight;
+        this.timeoutMSec = timeoutMSec;
+        String uri = runtimeURI == null ? "default" : runtimeURI;
+        ThreadGroup threadGroup = new ThreadGroup("com.espertech.esper." + uri + "-HistoricalTimeout");
+        this.timeoutExecutor = new ScheduledThreadPoolExecutor(1, new EngineThreadFactory(uri, "HistoricalTimeout", threadGroup, Thread.NORM_PRIORITY));
+        this.timeoutExecutor.setRemoveOnCancelPolicy(true);
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public long getTimeoutMSec() {
+        return timeoutMSec;
+    }
+
+    /**
+     * Returns the pool executing polls.
+     *
+     * @return pool
+     */
+    public ThreadPoolExecutor getPollThreadPool() {
+        return pollThreadPool;
+    }
+
+    public void submit(EPStatementAgentInstanceHandle agentInstanceHandle, HistoricalPollAsyncWork work) {
+        PollUnit unit = new PollUnit(agentInstanceHandle, work);
+        unit.timeoutFuture = timeoutExecutor.schedule(unit::timeout, timeoutMSec, TimeUnit.MILLISECONDS);
+        try {
+            pollThreadPool.execute(unit);
+        } catch (RejectedExecutionException ex) {
+            // the work queue is full or the runtime is being destroyed, the caller polls instead
+            unit.timeoutFuture.cancel(false);
+            throw ex;
+        }
+    }
+
+    /**
+     * Stops the timeout thread, the poll thread pool is stopped by the threading service.
+     */
+    public void destroy() {
+        timeoutExecutor.shutdownNow();
+    }
+
+    private void complete(EPStatementAgentInstanceHandle handle, HistoricalPollAsyncWork work, List<List<EventBean>> results) {
+        services.getEventProcessingRWLock().acquireReadLock();
+        try {
+            StatementAgentInstanceLock statementLock = handle.getStatementAgentInstanceLock();
+            statementLock.acquireWriteLock();
+            try {
+                if (!handle.isDestroyed()) {
+                    if (handle.isHasVariables()) {
+                        services.getVariableManagementService().setLocalVersion();
+                    }
+                    work.completed(results);
+                    handle.internalDispatch();
+                }
+            } catch (RuntimeException ex) {
+                services.getExceptionHandlingService().handleException(ex, handle, ExceptionHandlerExceptionType.PROCESS, null);
+            } finally {
+                if (handle.isHasTableAccess()) {
+                    services.getTableExprEvaluatorContext().releaseAcquiredLocks();
+                }
+                statementLock.releaseWriteLock();
+            }
+        } finally {
+            services.getEventProcessingRWLock().releaseReadLock();
+        }
+
+        InternalEventRouteDest routeDest = services.getInternalEventRouteDest();
+        routeDest.dispatch();
+        routeDest.processThreadWorkQueue();
+    }
+
+    private class PollUnit implements Runnable {
+        private final EPStatementAgentInstanceHandle handle;
+        private final HistoricalPollAsyncWork work;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile ScheduledFuture<?> timeoutFuture;
+
+        PollUnit(EPStatementAgentInstanceHandle handle, HistoricalPollAsyncWork work) {
+            this.handle = handle;
+            this.work = work;
+        }
+
+        public void run() {
+            List<List<EventBean>> results = null;
+            RuntimeException failure = null;
+            try {
+                results = work.poll();
+            } catch (RuntimeException ex) {
+                failure = ex;
+            }
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            ScheduledFuture<?> future = timeoutFuture;
+            if (future != null) {
+                future.cancel(false);
+            }
+            finish(failure, results);
+        }
+
+        void timeout() {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                work.cancel();
+            } catch (RuntimeException ex) {
+                log.warn("Failed to cancel historical poll: " + ex.getMessage(), ex);
+            }
+            finish(new EPException("Historical data poll did not complete within " + timeoutMSec + " milliseconds"), null);
+        }
+
+        private void finish(RuntimeException failure, List<List<EventBean>> results) {
+            try {
+                if (failure != null) {
+                    services.getExceptionHandlingService().handleException(failure, handle, ExceptionHandlerExceptionType.PROCESS, null);
+                }
+                complete(handle, work, failure == null ? results : null);
+            } catch (RuntimeException ex) {
+                log.error("Unexpected error completing historical poll: " + ex.getMessage(), ex);
+            }
+        }
+    }
+}
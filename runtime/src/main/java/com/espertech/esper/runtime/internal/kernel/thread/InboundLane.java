@@ -0,0 +1,196 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.metric.InboundLaneMetric;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lane for partitioned inbound threading: a bounded lock-free ring buffer that any number of threads submit to
+ * and that a single dedicated thread drains.
+ * <p>
+ * Each slot carries a sequence number. A submitting thread claims a position by compare-and-set of the tail,
+ * writes the unit and then publishes the slot by advancing its sequence. The lane thread takes units in position
+ * order, thereby preserving submission order, and parks when the lane is empty.
+ */
+public class InboundLane implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(InboundLane.class);
+    private static final long FULL_PARK_NANOS = 1000;
+
+    private final int laneNum;
+    private final int capacity;
+    private final int mask;
+    private final Runnable[] units;
+    private final long[] submitNanos;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    private volatile long head;
+    private volatile boolean waiting;
+    private volatile boolean running = true;
+    private volatile long processedCount;
+    private volatile long latencyNanosTotal;
+    private volatile long latencyNanosMax;
+    private Thread thread;
+
+    /**
+     * Ctor.
+     *
+     * @param laneNum  lane number
+     * @param capacity minimum capacity, rounded up to a power of two
+     */
+    public InboundLane(int laneNum, int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity);
+        }
+        this.laneNum = laneNum;
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.units = new Runnable[this.capacity];
+        this.submitNanos = new long[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Sets the thread draining the lane, to be called before the thread starts.
+     *
+     * @param thread lane thread
+     */
+    public void setThread(Thread thread) {
+        this.thread = thread;
+    }
+
+    /**
+     * Adds a unit, waiting while the lane is full.
+     *
+     * @param unit unit of work
+     * @throws InterruptedException when interrupted while waiting
+     */
+    public void put(Runnable unit) throws InterruptedException {
+        while (!offer(unit)) {
+            if (!running) {
+                return;
+            }
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Adds a unit unless the lane is full.
+     *
+     * @param unit unit of work
+     * @return false when the lane is full
+     */
+    public boolean offer(Runnable unit) {
+        while (true) {
+            long pos = tail.get();
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    units[index] = unit;
+                    submitNanos[index] = System.nanoTime();
+                    sequences.set(index, pos + 1);
+                    if (waiting) {
+                        LockSupport.unpark(thread);
+                    }
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Removes the next unit, to be called by the lane thread only.
+     *
+     * @return unit or null when the lane is empty
+     */
+    Runnable poll() {
+        long pos = head;
+        int index = (int) pos & mask;
+        if (sequences.get(index) != pos + 1) {
+            return null;
+        }
+        Runnable unit = units[index];
+        units[index] = null;
+        long latency = System.nanoTime() - submitNanos[index];
+        sequences.set(index, pos + capacity);
+        head = pos + 1;
+
+        processedCount = processedCount + 1;
+        latencyNanosTotal = latencyNanosTotal + latency;
+        if (latency > latencyNanosMax) {
+            latencyNanosMax = latency;
+        }
+        return unit;
+    }
+
+    public void run() {
+        while (running) {
+            Runnable unit = poll();
+            if (unit == null) {
+                waiting = true;
+                if (isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                waiting = false;
+                continue;
+            }
+            try {
+                unit.run();
+            } catch (Throwable t) {
+                log.error("Unexpected error processing inbound unit: " + t.getMessage(), t);
+            }
+        }
+    }
+
+    /**
+     * Stops the lane thread, discarding units not yet taken.
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    public boolean isEmpty() {
+        long pos = head;
+        return sequences.get((int) pos & mask) != pos + 1;
+    }
+
+    public long getQueueDepth() {
+        return Math.max(0, tail.get() - head);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Thread getThread() {
+        return thread;
+    }
+
+    public InboundLaneMetric getMetric(String runtimeURI) {
+        return new InboundLaneMetric(runtimeURI, laneNum, capacity, getQueueDepth(), processedCount, latencyNanosTotal, latencyNanosMax);
+    }
+}
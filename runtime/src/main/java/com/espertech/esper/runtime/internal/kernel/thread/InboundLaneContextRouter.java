@@ -0,0 +1,140 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.context.ContextStateEventContextCreated;
+import com.espertech.esper.common.client.context.ContextStateEventContextDestroyed;
+import com.espertech.esper.common.client.context.ContextStateListener;
+import com.espertech.esper.common.internal.context.controller.core.ContextControllerFactory;
+import com.espertech.esper.common.internal.context.controller.hash.ContextControllerDetailHashItem;
+import com.espertech.esper.common.internal.context.controller.hash.ContextControllerHashFactory;
+import com.espertech.esper.common.internal.context.mgr.ContextManagementService;
+import com.espertech.esper.common.internal.context.mgr.ContextManager;
+import com.espertech.esper.common.internal.context.mgr.ContextManagerResident;
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.statement.resource.StatementResourceHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns inbound events to lanes by the hash bucket that a hash-segmented context computes for the event,
+ * so that each bucket of the context is owned by a single lane thread.
+ * <p>
+ * Tracks creation and destruction of the context by name. Events of event types that the context does not
+ * declare a hash function for, and events sent while the context does not exist, are not assigned.
+ */
+public class InboundLaneContextRouter implements ContextStateListener {
+    private static final Logger log = LoggerFactory.getLogger(InboundLaneContextRouter.class);
+
+    private final String contextName;
+    private final ContextManagementService contextManagementService;
+    private volatile Routing routing;
+
+    /**
+     * Ctor.
+     *
+     * @param contextName              name of the hash-segmented context
+     * @param contextManagementService context management
+     */
+    public InboundLaneContextRouter(String contextName, ContextManagementService contextManagementService) {
+        this.contextName = contextName;
+        this.contextManagementService = contextManagementService;
+    }
+
+    /**
+     * Returns the hash bucket for the event.
+     *
+     * @param event event
+     * @return non-negative bucket or -1 when the event is not assigned
+     */
+    public int getBucket(EventBean event) {
+        Routing current = routing;
+        if (current == null) {
+            return -1;
+        }
+        ContextControllerDetailHashItem item = current.items.get(event.getEventType());
+        if (item == null) {
+            return -1;
+        }
+        // evaluate the hash function with the agent instance context of the create-context statement, as the context controller does
+        AgentInstanceContext agentInstanceContext = current.getAgentInstanceContextCreate();
+        if (agentInstanceContext == null) {
+            return -1;
+        }
+        try {
+            Object bucket = item.getLookupable().getEval().eval(event, agentInstanceContext);
+            return bucket instanceof Integer ? (Integer) bucket : -1;
+        } catch (RuntimeException ex) {
+            log.debug("Failed to compute hash for context '" + contextName + "': " + ex.getMessage(), ex);
+            return -1;
+        }
+    }
+
+    public void onContextCreated(ContextStateEventContextCreated event) {
+        if (!contextName.equals(event.getContextName())) {
+            return;
+        }
+        ContextManager manager = contextManagementService.getContextManager(event.getContextDeploymentId(), contextName);
+        if (!(manager instanceof ContextManagerResident)) {
+            return;
+        }
+        for (ContextControllerFactory factory : ((ContextManagerResident) manager).getContextDefinition().getControllerFactories()) {
+            if (factory instanceof ContextControllerHashFactory) {
+                Map<EventType, ContextControllerDetailHashItem> items = new HashMap<>();
+                for (ContextControllerDetailHashItem item : ((ContextControllerHashFactory) factory).getHashSpec().getItems()) {
+                    items.put(item.getFilterSpecActivatable().getFilterForEventType(), item);
+                }
+                routing = new Routing(event.getContextDeploymentId(), (ContextManagerResident) manager, items);
+                return;
+            }
+        }
+        log.warn("Context '" + contextName + "' is not a hash-segmented context, inbound events are not assigned by context");
+    }
+
+    public void onContextDestroyed(ContextStateEventContextDestroyed event) {
+        Routing current = routing;
+        if (current != null && contextName.equals(event.getContextName()) && current.deploymentId.equals(event.getContextDeploymentId())) {
+            routing = null;
+        }
+    }
+
+    private static class Routing {
+        private final String deploymentId;
+        private final ContextManagerResident manager;
+        private final Map<EventType, ContextControllerDetailHashItem> items;
+        private volatile AgentInstanceContext agentInstanceContextCreate;
+
+        private Routing(String deploymentId, ContextManagerResident manager, Map<EventType, ContextControllerDetailHashItem> items) {
+            this.deploymentId = deploymentId;
+            this.manager = manager;
+            this.items = items;
+        }
+
+        private AgentInstanceContext getAgentInstanceContextCreate() {
+            AgentInstanceContext agentInstanceContext = agentInstanceContextCreate;
+            if (agentInstanceContext == null) {
+                // the create-context statement starts after the context is created, its resources are looked up without allocating them
+                StatementResourceHolder holder = manager.getStatementContextCreate().getStatementCPCacheService().getStatementResourceService().getResourcesUnpartitioned();
+                if (holder == null) {
+                    return null;
+                }
+                agentInstanceContext = holder.getAgentInstanceContext();
+                agentInstanceContextCreate = agentInstanceContext;
+            }
+            return agentInstanceContext;
+        }
+    }
+}
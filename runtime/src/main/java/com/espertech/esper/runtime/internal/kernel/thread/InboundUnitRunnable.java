@@ -10,8 +10,17 @@
  */
 package com.espertech.esper.runtime.internal.kernel.thread;
 
+import com.espertech.esper.common.client.EventBean;
+
 /**
  * Interface for inbound runnables.
  */
 public interface InboundUnitRunnable extends Runnable {
+    /**
+     * Returns the event for assigning the unit to an inbound lane. Wraps the underlying event on the submitting thread
+     * and retains it for processing by the unit.
+     *
+     * @return event, or null when the event cannot be wrapped in which case the error is reported when the unit runs
+     */
+    EventBean wrapEvent();
 }
@@ -25,6 +25,7 @@ public class InboundUnitSendAvro implements InboundUnitRunnable {
     private final String eventTypeName;
     private final EPRuntimeEventProcessWrapped runtime;
     private final EPServicesEvaluation services;
+    private EventBean eventBean;
 
     /**
      * Ctor.
@@ -41,9 +42,20 @@ public class InboundUnitSendAvro implements InboundUnitRunnable {
         this.services = services;
     }
 
+    public EventBean wrapEvent() {
+        if (eventBean == null) {
+            try {
+                eventBean = services.getEventTypeResolvingBeanFactory().adapterForAvro(genericRecordDotData, eventTypeName);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForAvro(genericRecordDotData, eventTypeName);
+            EventBean eventBean = this.eventBean != null ? this.eventBean : services.getEventTypeResolvingBeanFactory().adapterForAvro(genericRecordDotData, eventTypeName);
             runtime.processWrappedEvent(eventBean);
         } catch (RuntimeException e) {
             services.getExceptionHandlingService().handleInboundPoolException(runtime.getURI(), e, genericRecordDotData);
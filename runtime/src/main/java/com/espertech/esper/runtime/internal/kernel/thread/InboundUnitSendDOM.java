@@ -27,6 +27,7 @@ public class InboundUnitSendDOM implements InboundUnitRunnable {
     private final String eventTypeName;
     private final EPRuntimeEventProcessWrapped runtime;
     private final EPServicesEvaluation services;
+    private EventBean eventBean;
 
     public InboundUnitSendDOM(Node theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         this.theEvent = theEvent;
@@ -35,9 +36,20 @@ public class InboundUnitSendDOM implements InboundUnitRunnable {
         this.services = services;
     }
 
+    public EventBean wrapEvent() {
+        if (eventBean == null) {
+            try {
+                eventBean = services.getEventTypeResolvingBeanFactory().adapterForXMLDOM(theEvent, eventTypeName);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForXMLDOM(theEvent, eventTypeName);
+            EventBean eventBean = this.eventBean != null ? this.eventBean : services.getEventTypeResolvingBeanFactory().adapterForXMLDOM(theEvent, eventTypeName);
             runtime.processWrappedEvent(eventBean);
         } catch (RuntimeException e) {
             services.getExceptionHandlingService().handleInboundPoolException(runtime.getURI(), e, theEvent);
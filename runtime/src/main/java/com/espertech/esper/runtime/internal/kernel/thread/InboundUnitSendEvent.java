@@ -25,6 +25,7 @@ public class InboundUnitSendEvent implements InboundUnitRunnable {
     private final String eventTypeName;
     private final EPRuntimeEventProcessWrapped runtime;
     private final EPServicesEvaluation services;
+    private EventBean eventBean;
 
     public InboundUnitSendEvent(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         this.theEvent = theEvent;
@@ -33,9 +34,20 @@ public class InboundUnitSendEvent implements InboundUnitRunnable {
         this.services = services;
     }
 
+    public EventBean wrapEvent() {
+        if (eventBean == null) {
+            try {
+                eventBean = services.getEventTypeResolvingBeanFactory().adapterForBean(theEvent, eventTypeName);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForBean(theEvent, eventTypeName);
+            EventBean eventBean = this.eventBean != null ? this.eventBean : services.getEventTypeResolvingBeanFactory().adapterForBean(theEvent, eventTypeName);
             runtime.processWrappedEvent(eventBean);
         } catch (Throwable t) {
             services.getExceptionHandlingService().handleInboundPoolException(runtime.getURI(), t, theEvent);
@@ -25,6 +25,7 @@ public class InboundUnitSendJson implements InboundUnitRunnable {
     private final String eventTypeName;
     private final EPRuntimeEventProcessWrapped runtime;
     private final EPServicesEvaluation services;
+    private EventBean eventBean;
 
     public InboundUnitSendJson(String json, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         this.json = json;
@@ -33,9 +34,20 @@ public class InboundUnitSendJson implements InboundUnitRunnable {
         this.services = services;
     }
 
+    public EventBean wrapEvent() {
+        if (eventBean == null) {
+            try {
+                eventBean = services.getEventTypeResolvingBeanFactory().adapterForJson(json, eventTypeName);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForJson(json, eventTypeName);
+            EventBean eventBean = this.eventBean != null ? this.eventBean : services.getEventTypeResolvingBeanFactory().adapterForJson(json, eventTypeName);
             runtime.processWrappedEvent(eventBean);
         } catch (RuntimeException e) {
             services.getExceptionHandlingService().handleInboundPoolException(runtime.getURI(), e, json);
@@ -27,6 +27,7 @@ public class InboundUnitSendMap implements InboundUnitRunnable {
     private final String eventTypeName;
     private final EPRuntimeEventProcessWrapped runtime;
     private final EPServicesEvaluation services;
+    private EventBean eventBean;
 
     public InboundUnitSendMap(Map map, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         this.map = map;
@@ -35,9 +36,20 @@ public class InboundUnitSendMap implements InboundUnitRunnable {
         this.services = services;
     }
 
+    public EventBean wrapEvent() {
+        if (eventBean == null) {
+            try {
+                eventBean = services.getEventTypeResolvingBeanFactory().adapterForMap(map, eventTypeName);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForMap(map, eventTypeName);
+            EventBean eventBean = this.eventBean != null ? this.eventBean : services.getEventTypeResolvingBeanFactory().adapterForMap(map, eventTypeName);
             runtime.processWrappedEvent(eventBean);
         } catch (RuntimeException e) {
             services.getExceptionHandlingService().handleInboundPoolException(runtime.getURI(), e, map);
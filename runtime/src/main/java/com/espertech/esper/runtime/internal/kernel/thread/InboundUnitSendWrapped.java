@@ -31,6 +31,10 @@ public class InboundUnitSendWrapped implements InboundUnitRunnable {
         this.services = services;
     }
 
+    public EventBean wrapEvent() {
+        return eventBean;
+    }
+
     public void run() {
         try {
             runtime.processWrappedEvent(eventBean);
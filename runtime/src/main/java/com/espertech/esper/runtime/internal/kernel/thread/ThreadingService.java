@@ -10,9 +10,12 @@
  */
 package com.espertech.esper.runtime.internal.kernel.thread;
 
+import com.espertech.esper.common.client.metric.InboundLaneMetric;
+import com.espertech.esper.common.internal.context.mgr.ContextManagementService;
 import com.espertech.esper.common.internal.statement.thread.ThreadingCommon;
 import com.espertech.esper.runtime.internal.kernel.service.EPServicesEvaluation;
 
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -33,6 +36,20 @@ public interface ThreadingService extends ThreadingCommon {
      */
     public void initThreading(String uri, EPServicesEvaluation services);
 
+    /**
+     * Initialize assignment of inbound events to inbound lanes by the hash-segmented context, if configured.
+     *
+     * @param contextManagementService context management
+     */
+    public void initInboundContextRouting(ContextManagementService contextManagementService);
+
+    /**
+     * Returns the router assigning inbound events to lanes by hash-segmented context, or null unless configured.
+     *
+     * @return router
+     */
+    public InboundLaneContextRouter getInboundLaneContextRouter();
+
     /**
      * Returns true for timer execution threading enabled.
      *
@@ -90,14 +107,14 @@ public interface ThreadingService extends ThreadingCommon {
     public void submitOutbound(OutboundUnitRunnable unit);
 
     /**
-     * Returns the outbound queue.
+     * Returns the outbound queue, or null when outbound threading uses virtual threads.
      *
      * @return queue
      */
     public BlockingQueue<Runnable> getOutboundQueue();
 
     /**
-     * Returns the outbound thread pool
+     * Returns the outbound thread pool, or null when outbound threading uses virtual threads.
      *
      * @return thread pool
      */
@@ -132,18 +149,53 @@ public interface ThreadingService extends ThreadingCommon {
     public ThreadPoolExecutor getTimerThreadPool();
 
     /**
-     * Returns the inbound queue.
+     * Returns the inbound queue, or null when inbound threading is partitioned or uses virtual threads.
      *
      * @return queue
      */
     public BlockingQueue<Runnable> getInboundQueue();
 
     /**
-     * Returns the inbound thread pool
+     * Returns the inbound thread pool, or null when inbound threading is partitioned or uses virtual threads.
      *
      * @return thread pool
      */
     public ThreadPoolExecutor getInboundThreadPool();
 
+    /**
+     * Returns the inbound virtual-thread executor, or null unless inbound threading uses virtual threads.
+     *
+     * @return executor
+     */
+    public VirtualThreadExecutor getInboundVirtualExecutor();
+
+    /**
+     * Returns the outbound virtual-thread executor, or null unless outbound threading uses virtual threads.
+     *
+     * @return executor
+     */
+    public VirtualThreadExecutor getOutboundVirtualExecutor();
+
+    /**
+     * Returns the service polling historical data asynchronously, or null unless historical threading is enabled.
+     *
+     * @return service
+     */
+    public HistoricalPollAsyncServiceImpl getHistoricalPollAsyncService();
+
+    /**
+     * Returns the inbound lanes, or null unless inbound threading is partitioned.
+     *
+     * @return lanes
+     */
+    public InboundLane[] getInboundLanes();
+
+    /**
+     * Returns the metrics for each inbound lane, or an empty list unless inbound threading is partitioned.
+     *
+     * @return lane metrics
+     */
+    public List<InboundLaneMetric> getInboundLaneMetrics();
+
     public Thread makeEventSourceThread(String runtimeURI, String sourceName, Runnable runnable);
 }
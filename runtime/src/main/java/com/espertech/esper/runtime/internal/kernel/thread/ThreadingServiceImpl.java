@@ -11,12 +11,20 @@
 package com.espertech.esper.runtime.internal.kernel.thread;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyValueGetter;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.PropertyAccessException;
 import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeThreading;
+import com.espertech.esper.common.client.metric.InboundLaneMetric;
+import com.espertech.esper.common.internal.context.mgr.ContextManagementService;
 import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
 import com.espertech.esper.runtime.internal.kernel.service.EPServicesEvaluation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.*;
 
 /**
@@ -24,12 +32,17 @@ import java.util.concurrent.*;
  */
 public class ThreadingServiceImpl implements ThreadingService {
     private static final Logger log = LoggerFactory.getLogger(ThreadingServiceImpl.class);
+    private static final int INBOUND_LANE_CAPACITY_DEFAULT = 65536;
+    private static final EventPropertyValueGetter EVENT_TYPE_NAME_GETTER = eventBean -> eventBean.getEventType().getName();
 
     private final ConfigurationRuntimeThreading config;
     private final boolean isTimerThreading;
     private final boolean isInboundThreading;
     private final boolean isRouteThreading;
     private final boolean isOutboundThreading;
+    private final String inboundPartitionProperty;
+    private final String inboundPartitionContext;
+    private final ConcurrentHashMap<EventType, EventPropertyValueGetter> inboundLaneGetters = new ConcurrentHashMap<>();
 
     private BlockingQueue<Runnable> timerQueue;
     private BlockingQueue<Runnable> inboundQueue;
@@ -40,8 +53,17 @@ public class ThreadingServiceImpl implements ThreadingService {
     private ThreadPoolExecutor inboundThreadPool;
     private ThreadPoolExecutor routeThreadPool;
     private ThreadPoolExecutor outboundThreadPool;
+    private InboundLane[] inboundLanes;
+    private InboundLaneContextRouter inboundLaneContextRouter;
+    private ContextManagementService contextManagementService;
+    private VirtualThreadExecutor inboundVirtualExecutor;
+    private VirtualThreadExecutor outboundVirtualExecutor;
+    private BlockingQueue<Runnable> historicalQueue;
+    private ThreadPoolExecutor historicalThreadPool;
+    private HistoricalPollAsyncServiceImpl historicalPollAsyncService;
 
     private EPServicesEvaluation services;
+    private String runtimeURI;
 
     /**
      * Ctor.
@@ -54,6 +76,8 @@ public class ThreadingServiceImpl implements ThreadingService {
         isInboundThreading = threadingConfig.isThreadPoolInbound();
         isRouteThreading = threadingConfig.isThreadPoolRouteExec();
         isOutboundThreading = threadingConfig.isThreadPoolOutbound();
+        inboundPartitionProperty = threadingConfig.getThreadPoolInboundPartitionProperty();
+        inboundPartitionContext = threadingConfig.getThreadPoolInboundPartitionContext();
     }
 
     public boolean isRouteThreading() {
@@ -74,9 +98,16 @@ public class ThreadingServiceImpl implements ThreadingService {
 
     public void initThreading(String uri, EPServicesEvaluation services) {
         this.services = services;
+        this.runtimeURI = uri;
         if (isInboundThreading) {
-            inboundQueue = makeQueue(config.getThreadPoolInboundCapacity());
-            inboundThreadPool = getThreadPool(uri, "Inbound", inboundQueue, config.getThreadPoolInboundNumThreads());
+            if (isInboundPartitioned()) {
+                inboundLanes = getLanes(uri, "InboundLane", config.getThreadPoolInboundCapacity(), config.getThreadPoolInboundNumThreads());
+            } else if (config.isThreadPoolInboundVirtualThreads()) {
+                inboundVirtualExecutor = getVirtualThreadExecutor(uri, "InboundVirtual", config.getThreadPoolInboundNumThreads());
+            } else {
+                inboundQueue = makeQueue(config.getThreadPoolInboundCapacity());
+                inboundThreadPool = getThreadPool(uri, "Inbound", inboundQueue, config.getThreadPoolInboundNumThreads());
+            }
         }
 
         if (isTimerThreading) {
@@ -90,8 +121,18 @@ public class ThreadingServiceImpl implements ThreadingService {
         }
 
         if (isOutboundThreading) {
-            outboundQueue = makeQueue(config.getThreadPoolOutboundCapacity());
-            outboundThreadPool = getThreadPool(uri, "Outbound", outboundQueue, config.getThreadPoolOutboundNumThreads());
+            if (config.isThreadPoolOutboundVirtualThreads()) {
+                outboundVirtualExecutor = getVirtualThreadExecutor(uri, "OutboundVirtual", config.getThreadPoolOutboundNumThreads());
+            } else {
+                outboundQueue = makeQueue(config.getThreadPoolOutboundCapacity());
+                outboundThreadPool = getThreadPool(uri, "Outbound", outboundQueue, config.getThreadPoolOutboundNumThreads());
+            }
+        }
+
+        if (config.isThreadPoolHistorical()) {
+            historicalQueue = makeQueue(config.getThreadPoolHistoricalCapacity());
+            historicalThreadPool = getThreadPool(uri, "HistoricalPoll", historicalQueue, config.getThreadPoolHistoricalNumThreads());
+            historicalPollAsyncService = new HistoricalPollAsyncServiceImpl(uri, services, historicalThreadPool, config.getThreadPoolHistoricalMaxInFlight(), config.getThreadPoolHistoricalTimeout());
         }
     }
 
@@ -105,6 +146,19 @@ public class ThreadingServiceImpl implements ThreadingService {
         }
     }
 
+    public void initInboundContextRouting(ContextManagementService contextManagementService) {
+        if (!isInboundThreading || inboundPartitionContext == null) {
+            return;
+        }
+        this.contextManagementService = contextManagementService;
+        inboundLaneContextRouter = new InboundLaneContextRouter(inboundPartitionContext, contextManagementService);
+        contextManagementService.getInternalListeners().add(inboundLaneContextRouter);
+    }
+
+    public InboundLaneContextRouter getInboundLaneContextRouter() {
+        return inboundLaneContextRouter;
+    }
+
     public void submitRoute(RouteUnitRunnable unit) {
         try {
             routeQueue.put(unit);
@@ -115,6 +169,17 @@ public class ThreadingServiceImpl implements ThreadingService {
 
     public void submitInbound(InboundUnitRunnable unit) {
         try {
+            if (isInboundPartitioned()) {
+                InboundLane[] lanes = inboundLanes;
+                if (lanes != null) {
+                    lanes[getLaneNum(lanes, unit.wrapEvent())].put(unit);
+                }
+                return;
+            }
+            if (inboundVirtualExecutor != null) {
+                inboundVirtualExecutor.submit(unit);
+                return;
+            }
             inboundQueue.put(unit);
         } catch (InterruptedException e) {
             log.info("Submit interrupted:" + e);
@@ -123,6 +188,10 @@ public class ThreadingServiceImpl implements ThreadingService {
 
     public void submitOutbound(OutboundUnitRunnable unit) {
         try {
+            if (outboundVirtualExecutor != null) {
+                outboundVirtualExecutor.submit(unit);
+                return;
+            }
             outboundQueue.put(unit);
         } catch (InterruptedException e) {
             log.info("Submit interrupted:" + e);
@@ -169,6 +238,34 @@ public class ThreadingServiceImpl implements ThreadingService {
         return inboundThreadPool;
     }
 
+    public VirtualThreadExecutor getInboundVirtualExecutor() {
+        return inboundVirtualExecutor;
+    }
+
+    public VirtualThreadExecutor getOutboundVirtualExecutor() {
+        return outboundVirtualExecutor;
+    }
+
+    public HistoricalPollAsyncServiceImpl getHistoricalPollAsyncService() {
+        return historicalPollAsyncService;
+    }
+
+    public InboundLane[] getInboundLanes() {
+        return inboundLanes;
+    }
+
+    public List<InboundLaneMetric> getInboundLaneMetrics() {
+        InboundLane[] lanes = inboundLanes;
+        if (lanes == null) {
+            return Collections.emptyList();
+        }
+        List<InboundLaneMetric> metrics = new ArrayList<>(lanes.length);
+        for (InboundLane lane : lanes) {
+            metrics.add(lane.getMetric(runtimeURI));
+        }
+        return metrics;
+    }
+
     public synchronized void destroy() {
         if (timerThreadPool != null) {
             stopPool(timerThreadPool, timerQueue, "TimerExec");
@@ -182,11 +279,36 @@ public class ThreadingServiceImpl implements ThreadingService {
         if (inboundThreadPool != null) {
             stopPool(inboundThreadPool, inboundQueue, "Inbound");
         }
+        if (inboundLanes != null) {
+            stopLanes(inboundLanes, "InboundLane");
+        }
+        if (inboundLaneContextRouter != null) {
+            contextManagementService.getInternalListeners().remove(inboundLaneContextRouter);
+        }
+        if (historicalPollAsyncService != null) {
+            historicalPollAsyncService.destroy();
+        }
+        if (historicalThreadPool != null) {
+            stopPool(historicalThreadPool, historicalQueue, "HistoricalPoll");
+        }
+        if (outboundVirtualExecutor != null) {
+            outboundVirtualExecutor.shutdown();
+        }
+        if (inboundVirtualExecutor != null) {
+            inboundVirtualExecutor.shutdown();
+        }
 
         timerThreadPool = null;
         routeThreadPool = null;
         outboundThreadPool = null;
         inboundThreadPool = null;
+        inboundLanes = null;
+        inboundLaneContextRouter = null;
+        contextManagementService = null;
+        outboundVirtualExecutor = null;
+        inboundVirtualExecutor = null;
+        historicalThreadPool = null;
+        historicalPollAsyncService = null;
     }
 
     public Thread makeEventSourceThread(String runtimeURI, String sourceName, Runnable runnable) {
@@ -218,6 +340,100 @@ public class ThreadingServiceImpl implements ThreadingService {
         }
     }
 
+    private int getLaneNum(InboundLane[] lanes, EventBean event) {
+        if (event == null || lanes.length == 1) {
+            return 0;
+        }
+        InboundLaneContextRouter router = inboundLaneContextRouter;
+        if (router != null) {
+            int bucket = router.getBucket(event);
+            if (bucket >= 0) {
+                return bucket % lanes.length;
+            }
+        }
+        EventPropertyValueGetter getter = inboundLaneGetters.get(event.getEventType());
+        if (getter == null) {
+            getter = inboundPartitionProperty == null ? null : event.getEventType().getGetter(inboundPartitionProperty);
+            if (getter == null) {
+                getter = EVENT_TYPE_NAME_GETTER;
+            }
+            inboundLaneGetters.put(event.getEventType(), getter);
+        }
+
+        Object key;
+        try {
+            key = getter.get(event);
+        } catch (PropertyAccessException ex) {
+            key = null;
+        }
+        if (key == null) {
+            return 0;
+        }
+        int hash = key.hashCode();
+        hash = hash ^ (hash >>> 16);
+        return (hash & Integer.MAX_VALUE) % lanes.length;
+    }
+
+    private boolean isInboundPartitioned() {
+        return inboundPartitionProperty != null || inboundPartitionContext != null;
+    }
+
+    private void stopLanes(InboundLane[] lanes, String name) {
+        if (log.isInfoEnabled()) {
+            log.info("Shutting down lanes " + name);
+        }
+
+        for (InboundLane lane : lanes) {
+            lane.stop();
+        }
+        for (InboundLane lane : lanes) {
+            if (lane.getThread() == Thread.currentThread()) {
+                continue;
+            }
+            try {
+                lane.getThread().join(10000);
+            } catch (InterruptedException e) {
+                log.error("Interruped awaiting termination", e);
+            }
+        }
+    }
+
+    private InboundLane[] getLanes(String runtimeURI, String name, Integer capacity, int numThreads) {
+        if (log.isInfoEnabled()) {
+            String partitionedBy = inboundPartitionContext != null ? "context '" + inboundPartitionContext + "'" : "property '" + inboundPartitionProperty + "'";
+            log.info("Starting lanes " + name + " with " + numThreads + " threads partitioned by " + partitionedBy);
+        }
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads " + numThreads);
+        }
+
+        if (runtimeURI == null) {
+            runtimeURI = "default";
+        }
+
+        int laneCapacity = capacity == null || capacity <= 0 ? INBOUND_LANE_CAPACITY_DEFAULT : Math.min(capacity, 1 << 30);
+        String threadGroupName = "com.espertech.esper." + runtimeURI + "-" + name;
+        ThreadGroup threadGroup = new ThreadGroup(threadGroupName);
+        EngineThreadFactory threadFactory = new EngineThreadFactory(runtimeURI, name, threadGroup, Thread.NORM_PRIORITY);
+        InboundLane[] lanes = new InboundLane[numThreads];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new InboundLane(i, laneCapacity);
+            lanes[i].setThread(threadFactory.newThread(lanes[i]));
+        }
+        for (InboundLane lane : lanes) {
+            lane.getThread().start();
+        }
+        return lanes;
+    }
+
+    private VirtualThreadExecutor getVirtualThreadExecutor(String runtimeURI, String name, int maxConcurrency) {
+        VirtualThreadExecutor executor = new VirtualThreadExecutor(runtimeURI, name, maxConcurrency);
+        if (log.isInfoEnabled()) {
+            log.info("Starting executor " + name + " with maximum concurrency " + maxConcurrency + (executor.isVirtual() ? " on virtual threads" : " on platform threads"));
+        }
+        return executor;
+    }
+
     private ThreadPoolExecutor getThreadPool(String runtimeURI, String name, BlockingQueue<Runnable> queue, int numThreads) {
         if (log.isInfoEnabled()) {
             log.info("Starting pool " + name + " with " + numThreads + " threads");
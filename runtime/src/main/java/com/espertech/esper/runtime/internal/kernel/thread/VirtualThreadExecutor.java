@@ -0,0 +1,146 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes each unit of work on a new virtual thread, limiting the number of concurrently executing units by means
+ * of a semaphore. A submitting thread waits for a permit when the limit is reached, so the limit takes the place
+ * of queue capacity.
+ * <p>
+ * Virtual threads are obtained by reflection as the runtime is compiled for Java 8. When the JVM does not
+ * provide virtual threads, each unit executes on a new platform daemon thread instead.
+ */
+public class VirtualThreadExecutor {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadExecutor.class);
+
+    private final String name;
+    private final int maxConcurrency;
+    private final Semaphore permits;
+    private final ThreadFactory threadFactory;
+    private final boolean virtual;
+    private volatile boolean shutdown;
+
+    /**
+     * Ctor.
+     *
+     * @param runtimeURI     runtime URI
+     * @param name           name used as thread name prefix
+     * @param maxConcurrency maximum number of concurrently executing units
+     */
+    public VirtualThreadExecutor(String runtimeURI, String name, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Invalid maximum concurrency " + maxConcurrency);
+        }
+        if (runtimeURI == null) {
+            runtimeURI = "default";
+        }
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency);
+
+        String prefix = "com.espertech.esper." + name + "-" + runtimeURI + "-";
+        ThreadFactory virtualFactory = makeVirtualThreadFactory(prefix);
+        if (virtualFactory != null) {
+            this.threadFactory = virtualFactory;
+            this.virtual = true;
+        } else {
+            log.warn("Virtual threads are not available in this JVM, using platform threads for " + name);
+            ThreadGroup threadGroup = new ThreadGroup("com.espertech.esper." + runtimeURI + "-" + name);
+            this.threadFactory = new EngineThreadFactory(runtimeURI, name, threadGroup, Thread.NORM_PRIORITY);
+            this.virtual = false;
+        }
+    }
+
+    /**
+     * Executes the unit on a new thread, waiting for a permit if the maximum concurrency is reached.
+     *
+     * @param unit unit of work
+     * @throws InterruptedException when interrupted while waiting
+     */
+    public void submit(Runnable unit) throws InterruptedException {
+        permits.acquire();
+        if (shutdown) {
+            permits.release();
+            return;
+        }
+        try {
+            threadFactory.newThread(() -> {
+                try {
+                    unit.run();
+                } finally {
+                    permits.release();
+                }
+            }).start();
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Stops accepting units and waits for executing units to complete.
+     */
+    public void shutdown() {
+        if (log.isInfoEnabled()) {
+            log.info("Shutting down executor " + name);
+        }
+        shutdown = true;
+        try {
+            if (permits.tryAcquire(maxConcurrency, 10, TimeUnit.SECONDS)) {
+                permits.release(maxConcurrency);
+            }
+        } catch (InterruptedException e) {
+            log.error("Interruped awaiting termination", e);
+        }
+    }
+
+    /**
+     * Returns the number of units currently executing.
+     *
+     * @return active count
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Returns indicator whether units execute on virtual threads.
+     *
+     * @return true for virtual threads, false for platform threads
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    private static ThreadFactory makeVirtualThreadFactory(String prefix) {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Object builder = ofVirtual.invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
+    }
+}
@@ -13,6 +13,7 @@ package com.espertech.esper.runtime.internal.namedwindow;
 import com.espertech.esper.common.client.EPException;
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.hook.exception.ExceptionHandlerExceptionType;
+import com.espertech.esper.common.client.metric.NamedWindowDispatchMetric;
 import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
 import com.espertech.esper.common.internal.epl.namedwindow.consume.*;
 import com.espertech.esper.common.internal.epl.table.core.TableManagementService;
@@ -25,10 +26,21 @@ import com.espertech.esper.common.internal.util.MetricUtil;
 import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * This service hold for each named window a dedicated processor and a lock to the named window.
  * This lock is shrared between the named window and on-delete statements.
+ * <p>
+ * When configured with a parallelism, a dispatch to multiple consumer statements processes consumer statements
+ * on a fork-join pool, one task per consumer statement, with the first consumer statement processed by
+ * the dispatching thread. The dispatching thread waits for all tasks and then takes over the thread work of
+ * each task, such as results for listener dispatch, routed events and further named window dispatches, in
+ * the order of consumer statements.
  */
 public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchService {
     private final SchedulingService schedulingService;
@@ -38,6 +50,12 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
     private final boolean isPrioritized;
     private final ManagedReadWriteLock eventProcessingRWLock;
     private final MetricReportingService metricReportingService;
+    private final int parallelism;
+    private final ForkJoinPool parallelPool;
+    private final LongAdder fanOutCount = new LongAdder();
+    private final LongAdder fanOutStatementCount = new LongAdder();
+    private final LongAdder fanOutLatencyNanosTotal = new LongAdder();
+    private final AtomicLong fanOutLatencyNanosMax = new AtomicLong();
 
     private ThreadLocal<DispatchesTL> threadLocal = new ThreadLocal<DispatchesTL>() {
         protected synchronized DispatchesTL initialValue() {
@@ -51,7 +69,8 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
                                           boolean isPrioritized,
                                           ManagedReadWriteLock eventProcessingRWLock,
                                           ExceptionHandlingService exceptionHandlingService,
-                                          MetricReportingService metricReportingService) {
+                                          MetricReportingService metricReportingService,
+                                          int parallelism) {
         this.schedulingService = schedulingService;
         this.variableService = variableService;
         this.tableManagementService = tableManagementService;
@@ -59,10 +78,23 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         this.eventProcessingRWLock = eventProcessingRWLock;
         this.exceptionHandlingService = exceptionHandlingService;
         this.metricReportingService = metricReportingService;
+        this.parallelism = parallelism;
+        this.parallelPool = parallelism > 0 ? makePool(exceptionHandlingService.getRuntimeURI(), parallelism) : null;
     }
 
     public void destroy() {
         threadLocal.remove();
+        if (parallelPool != null) {
+            parallelPool.shutdownNow();
+        }
+    }
+
+    public NamedWindowDispatchMetric getMetric() {
+        if (parallelPool == null) {
+            return null;
+        }
+        return new NamedWindowDispatchMetric(exceptionHandlingService.getRuntimeURI(), parallelism, fanOutCount.sum(), fanOutStatementCount.sum(),
+            fanOutLatencyNanosTotal.sum(), fanOutLatencyNanosMax.get());
     }
 
     public void addDispatch(NamedWindowConsumerLatchFactory latchFactory, NamedWindowDeltaData delta, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> consumers) {
@@ -70,7 +102,7 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         threadLocal.get().getDispatches().add(latch);
     }
 
-    public boolean dispatch() {
+    public boolean dispatch(NamedWindowDispatchThreadWork threadWork) {
         DispatchesTL dispatchesTL = threadLocal.get();
         if (dispatchesTL.getDispatches().isEmpty()) {
             return false;
@@ -87,7 +119,7 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
                 // since dispatches can cause dispatches, copy the contents
                 dispatchesTL.getCurrent().addAll(dispatchesTL.getDispatches());
                 dispatchesTL.getDispatches().clear();
-                processDispatches(dispatchesTL.getCurrent(), dispatchesTL.getWork(), dispatchesTL.getDispatchesPerStmt());
+                processDispatches(dispatchesTL.getCurrent(), dispatchesTL.getWork(), dispatchesTL.getDispatchesPerStmt(), threadWork);
             } catch (RuntimeException ex) {
                 throw new EPException(ex);
             } finally {
@@ -102,7 +134,11 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         return true;
     }
 
-    private void processDispatches(ArrayDeque<NamedWindowConsumerLatch> dispatches, ArrayDeque<NamedWindowConsumerLatch> work, Map<EPStatementAgentInstanceHandle, Object> dispatchesPerStmt) {
+    public boolean hasDispatches() {
+        return !threadLocal.get().getDispatches().isEmpty();
+    }
+
+    private void processDispatches(ArrayDeque<NamedWindowConsumerLatch> dispatches, ArrayDeque<NamedWindowConsumerLatch> work, Map<EPStatementAgentInstanceHandle, Object> dispatchesPerStmt, NamedWindowDispatchThreadWork threadWork) {
 
         if (dispatches.size() == 1) {
             NamedWindowConsumerLatch latch = dispatches.getFirst();
@@ -111,7 +147,14 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
                 EventBean[] newData = latch.getDeltaData().getNewData();
                 EventBean[] oldData = latch.getDeltaData().getOldData();
 
-                if (metricReportingService.isMetricsReportingEnabled()) {
+                if (isParallel(latch.getDispatchTo().size())) {
+                    ConsumerTask[] tasks = new ConsumerTask[latch.getDispatchTo().size()];
+                    int count = 0;
+                    for (Map.Entry<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> entry : latch.getDispatchTo().entrySet()) {
+                        tasks[count++] = new ConsumerTask(entry.getKey(), entry.getValue(), newData, oldData, null, threadWork);
+                    }
+                    processParallel(tasks, threadWork);
+                } else if (metricReportingService.isMetricsReportingEnabled()) {
                     for (Map.Entry<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> entry : latch.getDispatchTo().entrySet()) {
                         EPStatementAgentInstanceHandle handle = entry.getKey();
                         if (handle.getStatementHandle().getMetricsHandle().isEnabled()) {
@@ -177,11 +220,11 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
                 }
             }
 
-            processDispatches(work, dispatchesPerStmt);
+            processDispatches(work, dispatchesPerStmt, threadWork);
         }
     }
 
-    private void processDispatches(ArrayDeque<NamedWindowConsumerLatch> dispatches, Map<EPStatementAgentInstanceHandle, Object> dispatchesPerStmt) {
+    private void processDispatches(ArrayDeque<NamedWindowConsumerLatch> dispatches, Map<EPStatementAgentInstanceHandle, Object> dispatchesPerStmt, NamedWindowDispatchThreadWork threadWork) {
 
         try {
             for (NamedWindowConsumerLatch latch : dispatches) {
@@ -204,8 +247,24 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
                 }
             }
 
-            // Dispatch - with or without metrics reporting
-            if (metricReportingService.isMetricsReportingEnabled()) {
+            // Dispatch - in parallel, or with or without metrics reporting
+            if (isParallel(dispatchesPerStmt.size())) {
+                List<ConsumerTask> tasks = new ArrayList<>(dispatchesPerStmt.size());
+                for (Map.Entry<EPStatementAgentInstanceHandle, Object> entry : dispatchesPerStmt.entrySet()) {
+                    EPStatementAgentInstanceHandle handle = entry.getKey();
+                    Object perStmtObj = entry.getValue();
+                    if (perStmtObj instanceof NamedWindowConsumerLatch) {
+                        NamedWindowConsumerLatch unit = (NamedWindowConsumerLatch) perStmtObj;
+                        List<NamedWindowConsumerView> items = unit.getDispatchTo().get(handle);
+                        if (items != null) {
+                            tasks.add(new ConsumerTask(handle, items, unit.getDeltaData().getNewData(), unit.getDeltaData().getOldData(), null, threadWork));
+                        }
+                    } else {
+                        tasks.add(new ConsumerTask(handle, null, null, null, getDeltaPerConsumer(perStmtObj, handle), threadWork));
+                    }
+                }
+                processParallel(tasks.toArray(new ConsumerTask[0]), threadWork);
+            } else if (metricReportingService.isMetricsReportingEnabled()) {
                 for (Map.Entry<EPStatementAgentInstanceHandle, Object> entry : dispatchesPerStmt.entrySet()) {
                     EPStatementAgentInstanceHandle handle = entry.getKey();
                     Object perStmtObj = entry.getValue();
@@ -379,6 +438,126 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         return deltaPerConsumer;
     }
 
+    private boolean isParallel(int numStatements) {
+        return parallelPool != null && numStatements > 1 && !isPrioritized;
+    }
+
+    private void processParallel(ConsumerTask[] tasks, NamedWindowDispatchThreadWork threadWork) {
+        if (tasks.length == 0) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        for (int i = 1; i < tasks.length; i++) {
+            parallelPool.execute(tasks[i]);
+        }
+
+        // the dispatching thread processes the first consumer statement, its thread work remains with the dispatching thread
+        RuntimeException exception = null;
+        try {
+            tasks[0].process();
+        } catch (RuntimeException ex) {
+            exception = ex;
+        }
+
+        // wait for each further consumer statement and take over its thread work, in the order of consumer statements
+        for (int i = 1; i < tasks.length; i++) {
+            try {
+                tasks[i].join();
+            } catch (RuntimeException ex) {
+                if (exception == null) {
+                    exception = ex;
+                }
+            }
+            tasks[i].transferTo(threadLocal.get());
+        }
+
+        long deltaNanos = System.nanoTime() - startNanos;
+        fanOutCount.increment();
+        fanOutStatementCount.add(tasks.length);
+        fanOutLatencyNanosTotal.add(deltaNanos);
+        fanOutLatencyNanosMax.accumulateAndGet(deltaNanos, Math::max);
+
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private static ForkJoinPool makePool(String runtimeURI, int parallelism) {
+        final String name = "com.espertech.esper.NamedWindowDispatch-" + (runtimeURI == null ? "default" : runtimeURI) + "-";
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(name + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ForkJoinPool(parallelism, factory, null, false);
+    }
+
+    /**
+     * Processes one consumer statement, on the dispatching thread or on a thread of the fork-join pool.
+     * When on a thread of the pool, the task removes the thread work that processing produced so that the
+     * dispatching thread can take it over.
+     */
+    private class ConsumerTask extends RecursiveAction {
+        private final EPStatementAgentInstanceHandle handle;
+        private final List<NamedWindowConsumerView> views;
+        private final EventBean[] newData;
+        private final EventBean[] oldData;
+        private final Map<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer;
+        private final NamedWindowDispatchThreadWork threadWork;
+        private Object removedWork;
+        private List<NamedWindowConsumerLatch> removedDispatches;
+
+        ConsumerTask(EPStatementAgentInstanceHandle handle, List<NamedWindowConsumerView> views, EventBean[] newData, EventBean[] oldData, Map<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer, NamedWindowDispatchThreadWork threadWork) {
+            this.handle = handle;
+            this.views = views;
+            this.newData = newData;
+            this.oldData = oldData;
+            this.deltaPerConsumer = deltaPerConsumer;
+            this.threadWork = threadWork;
+        }
+
+        protected void compute() {
+            try {
+                process();
+            } finally {
+                removedWork = threadWork.removeThreadWork();
+                ArrayDeque<NamedWindowConsumerLatch> dispatches = threadLocal.get().getDispatches();
+                if (!dispatches.isEmpty()) {
+                    removedDispatches = new ArrayList<>(dispatches);
+                    dispatches.clear();
+                }
+            }
+        }
+
+        void process() {
+            boolean metrics = metricReportingService.isMetricsReportingEnabled() && handle.getStatementHandle().getMetricsHandle().isEnabled();
+            long cpuTimeBefore = metrics ? MetricUtil.getCPUCurrentThread() : 0;
+            long wallTimeBefore = metrics ? MetricUtil.getWall() : 0;
+
+            if (deltaPerConsumer == null) {
+                processHandle(handle, views, newData, oldData);
+            } else {
+                processHandleMultiple(handle, deltaPerConsumer);
+            }
+
+            if (metrics) {
+                long wallTimeAfter = MetricUtil.getWall();
+                long cpuTimeAfter = MetricUtil.getCPUCurrentThread();
+                metricReportingService.accountTime(handle.getStatementHandle().getMetricsHandle(), cpuTimeAfter - cpuTimeBefore, wallTimeAfter - wallTimeBefore, 1);
+            }
+        }
+
+        void transferTo(DispatchesTL dispatchesTL) {
+            if (removedWork != null) {
+                threadWork.addThreadWork(removedWork);
+            }
+            if (removedDispatches != null) {
+                dispatchesTL.getDispatches().addAll(removedDispatches);
+            }
+        }
+    }
+
     private static class DispatchesTL {
         private final ArrayDeque<NamedWindowConsumerLatch> dispatches = new ArrayDeque<>();
         private final ArrayDeque<NamedWindowConsumerLatch> current = new ArrayDeque<>();
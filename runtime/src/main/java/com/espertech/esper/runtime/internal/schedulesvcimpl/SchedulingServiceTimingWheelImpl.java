@@ -0,0 +1,419 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.schedulesvcimpl;
+
+import com.espertech.esper.common.client.util.DateTime;
+import com.espertech.esper.common.internal.schedule.ScheduleHandle;
+import com.espertech.esper.common.internal.schedule.ScheduleServiceException;
+import com.espertech.esper.common.internal.schedule.TimeSourceService;
+import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.runtime.internal.metrics.jmx.JmxGetter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Implements the schedule service as a hierarchical timing wheel.
+ * <p>
+ * Each level of the wheel has 64 buckets of doubly-linked entries. An entry is placed at the level
+ * of the highest 6-bit digit in which its trigger time differs from the wheel cursor, making add and remove
+ * constant-time. When the cursor advances into a higher-level bucket the bucket cascades to the lower levels,
+ * so each entry moves at most once per level. Per-level occupancy bitmaps skip empty buckets
+ * so that large time jumps do not advance millisecond-by-millisecond.
+ * <p>
+ * Handles that trigger at the same time are returned ordered by slot, same as {@link SchedulingServiceImpl}.
+ * <p>
+ * Synchronized since statement creation and event evaluation by multiple (event send) threads
+ * can lead to callbacks added/removed asynchronously.
+ */
+public final class SchedulingServiceTimingWheelImpl implements SchedulingServiceSPI {
+    private static final int BITS_PER_LEVEL = 6;
+    private static final int BUCKETS_PER_LEVEL = 1 << BITS_PER_LEVEL;
+    private static final int BUCKET_MASK = BUCKETS_PER_LEVEL - 1;
+    private static final int NUM_LEVELS = (Long.SIZE + BITS_PER_LEVEL - 1) / BITS_PER_LEVEL;
+
+    private static final Comparator<WheelEntry> ENTRY_COMPARATOR = new Comparator<WheelEntry>() {
+        public int compare(WheelEntry o1, WheelEntry o2) {
+            int result = Long.compare(o1.triggerTime, o2.triggerTime);
+            if (result != 0) {
+                return result;
+            }
+            return Long.compare(o1.slot, o2.slot);
+        }
+    };
+
+    private final int stageId;
+    private final DateTimeFormatter defaultDateTimeFormatter;
+
+    // Bucket list heads and occupancy bitmap, per level
+    private final WheelEntry[][] buckets;
+    private final long[] occupied;
+
+    // Map of handle and entry for constant-time removal
+    private final Map<ScheduleHandle, WheelEntry> handleEntryMap;
+
+    // Buffer for ordering the entries of a bucket
+    private final ArrayList<WheelEntry> drainBuffer;
+
+    // Current time - used for evaluation as well as for adding new handles
+    private volatile long currentTime;
+
+    // Wheel position (as unsigned key), all buckets before the cursor have been evaluated
+    private long cursor;
+
+    /**
+     * Constructor.
+     *
+     * @param timeSourceService time source provider
+     * @param stageId stage id or -1 when not applicable
+     * @param defaultFormatterTimeZone time zone for audit formatter
+     */
+    public SchedulingServiceTimingWheelImpl(int stageId, TimeSourceService timeSourceService, ZoneId defaultFormatterTimeZone) {
+        this.stageId = stageId;
+        this.defaultDateTimeFormatter = DateTimeFormatter.ofPattern(DateTime.DEFAULT_XMLLIKE_DATE_FORMAT).withZone(defaultFormatterTimeZone);
+        this.buckets = new WheelEntry[NUM_LEVELS][BUCKETS_PER_LEVEL];
+        this.occupied = new long[NUM_LEVELS];
+        this.handleEntryMap = new HashMap<>();
+        this.drainBuffer = new ArrayList<>();
+        // initialize time to just before now as there is a check for duplicate external time events
+        this.currentTime = timeSourceService.getTimeMillis() - 1;
+        this.cursor = toKey(currentTime);
+    }
+
+    public synchronized void destroy() {
+        log.debug("Destroying scheduling service");
+        handleEntryMap.clear();
+        clearWheel();
+    }
+
+    public long getTime() {
+        // note that this.currentTime is volatile
+        return this.currentTime;
+    }
+
+    public synchronized final void setTime(long currentTime) {
+        this.currentTime = currentTime;
+        long key = toKey(currentTime);
+        if (Long.compareUnsigned(key, cursor) < 0) {
+            rebase(key);
+        }
+    }
+
+    public synchronized final void add(long afterTime, ScheduleHandle handle, long slot)
+            throws ScheduleServiceException {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleAdd(currentTime, afterTime, handle, slot);
+        }
+
+        if (handleEntryMap.containsKey(handle)) {
+            remove(handle, slot);
+        }
+
+        WheelEntry entry = new WheelEntry(handle, slot, currentTime + afterTime);
+        handleEntryMap.put(handle, entry);
+        place(entry);
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleAdd();
+        }
+    }
+
+    public synchronized final void remove(ScheduleHandle handle, long slot) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleRemove(handle, slot);
+        }
+
+        WheelEntry entry = handleEntryMap.remove(handle);
+        if (entry == null) {
+            // If it already has been removed then that's fine;
+            // Such could be the case when 2 timers fireStatementStopped at the same time, and one stops the other
+            return;
+        }
+        unlink(entry);
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleRemove();
+        }
+    }
+
+    public synchronized final void evaluate(Collection<ScheduleHandle> handles) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleEval(currentTime);
+        }
+
+        long target = toKey(currentTime);
+        while (true) {
+            // Drain the level-zero buckets of the current block up to the target time
+            boolean sameBlock = ((cursor ^ target) >>> BITS_PER_LEVEL) == 0;
+            int from = (int) (cursor & BUCKET_MASK);
+            int to = sameBlock ? (int) (target & BUCKET_MASK) : BUCKET_MASK;
+            drainLevelZero(from, to, handles);
+            if (sameBlock) {
+                break;
+            }
+
+            // The next block to visit is the lowest occupied bucket of the lowest occupied level
+            int level = 1;
+            while (level < NUM_LEVELS && occupied[level] == 0) {
+                level++;
+            }
+            if (level == NUM_LEVELS) {
+                break;
+            }
+            int bucket = Long.numberOfTrailingZeros(occupied[level]);
+            long blockStart = (cursor & highMask(level)) | ((long) bucket << (level * BITS_PER_LEVEL));
+            if (Long.compareUnsigned(blockStart, target) > 0) {
+                break;
+            }
+            cursor = blockStart;
+            cascade(level, bucket);
+        }
+        cursor = target;
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleEval(handles);
+        }
+    }
+
+    public void transfer(Set<Integer> statementIds, SchedulingServiceSPI schedulingService) {
+        long currentTime = getTime();
+        long targetTime = schedulingService.getTime();
+        List<WheelEntry> transfers = new ArrayList<>();
+        synchronized (this) {
+            for (WheelEntry entry : handleEntryMap.values()) {
+                if (statementIds.contains(entry.handle.getStatementId())) {
+                    transfers.add(entry);
+                }
+            }
+        }
+        for (WheelEntry entry : transfers) {
+            long relative = ScheduleTransferHelper.computeTransferTime(currentTime, targetTime, entry.triggerTime);
+            remove(entry.handle, entry.slot);
+            schedulingService.add(relative, entry.handle, entry.slot);
+        }
+    }
+
+    public void init() {
+        // no action required
+    }
+
+    @JmxGetter(name = "TimeHandleCount", description = "Number of outstanding time evaluations")
+    public synchronized int getTimeHandleCount() {
+        // computed on demand as the wheel does not group handles by time
+        Set<Long> times = new HashSet<>();
+        for (WheelEntry entry : handleEntryMap.values()) {
+            times.add(entry.triggerTime);
+        }
+        return times.size();
+    }
+
+    @JmxGetter(name = "FurthestTimeHandle", description = "Furthest outstanding time evaluation")
+    public String getFurthestTimeHandleDate() {
+        Long handle = getFurthestTimeHandle();
+        if (handle != null) {
+            return DateTime.print(handle);
+        }
+        return null;
+    }
+
+    @JmxGetter(name = "NearestTimeHandle", description = "Nearest outstanding time evaluation")
+    public String getNearestTimeHandleDate() {
+        Long handle = getNearestTimeHandle();
+        if (handle != null) {
+            return DateTime.print(handle);
+        }
+        return null;
+    }
+
+    public synchronized Long getFurthestTimeHandle() {
+        for (int level = NUM_LEVELS - 1; level >= 0; level--) {
+            if (occupied[level] != 0) {
+                int bucket = BUCKET_MASK - Long.numberOfLeadingZeros(occupied[level]);
+                long max = Long.MIN_VALUE;
+                for (WheelEntry entry = buckets[level][bucket]; entry != null; entry = entry.next) {
+                    max = Math.max(max, entry.triggerTime);
+                }
+                return max;
+            }
+        }
+        return null;
+    }
+
+    public int getScheduleHandleCount() {
+        return handleEntryMap.size();
+    }
+
+    public boolean isScheduled(ScheduleHandle handle) {
+        return handleEntryMap.containsKey(handle);
+    }
+
+    @Override
+    public synchronized Long getNearestTimeHandle() {
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            if (occupied[level] != 0) {
+                int bucket = Long.numberOfTrailingZeros(occupied[level]);
+                long min = Long.MAX_VALUE;
+                for (WheelEntry entry = buckets[level][bucket]; entry != null; entry = entry.next) {
+                    min = Math.min(min, entry.triggerTime);
+                }
+                return min;
+            }
+        }
+        return null;
+    }
+
+    public void visitSchedules(ScheduleVisitor visitor) {
+        List<WheelEntry> entries;
+        synchronized (this) {
+            entries = new ArrayList<>(handleEntryMap.values());
+        }
+        entries.sort(ENTRY_COMPARATOR);
+
+        ScheduleVisit visit = new ScheduleVisit();
+        for (WheelEntry entry : entries) {
+            visit.setTimestamp(entry.triggerTime);
+            visit.setStatementId(entry.handle.getStatementId());
+            visit.setAgentInstanceId(entry.handle.getAgentInstanceId());
+            visitor.visit(visit);
+        }
+    }
+
+    public DateTimeFormatter getDefaultFormatter() {
+        return defaultDateTimeFormatter;
+    }
+
+    private void place(WheelEntry entry) {
+        long key = toKey(entry.triggerTime);
+        int level;
+        int bucket;
+        if (Long.compareUnsigned(key, cursor) <= 0) {
+            // due or overdue: evaluated with the cursor bucket
+            level = 0;
+            bucket = (int) (cursor & BUCKET_MASK);
+        } else {
+            long diff = key ^ cursor;
+            level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(diff)) / BITS_PER_LEVEL;
+            bucket = (int) ((key >>> (level * BITS_PER_LEVEL)) & BUCKET_MASK);
+        }
+
+        WheelEntry head = buckets[level][bucket];
+        entry.level = level;
+        entry.bucket = bucket;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        buckets[level][bucket] = entry;
+        occupied[level] |= 1L << bucket;
+    }
+
+    private void unlink(WheelEntry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            buckets[entry.level][entry.bucket] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        if (buckets[entry.level][entry.bucket] == null) {
+            occupied[entry.level] &= ~(1L << entry.bucket);
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private void cascade(int level, int bucket) {
+        WheelEntry entry = buckets[level][bucket];
+        buckets[level][bucket] = null;
+        occupied[level] &= ~(1L << bucket);
+        while (entry != null) {
+            WheelEntry next = entry.next;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    private void drainLevelZero(int from, int to, Collection<ScheduleHandle> handles) {
+        long candidates = occupied[0] & (-1L << from) & (-1L >>> (BUCKET_MASK - to));
+        while (candidates != 0) {
+            int bucket = Long.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+
+            WheelEntry entry = buckets[0][bucket];
+            buckets[0][bucket] = null;
+            occupied[0] &= ~(1L << bucket);
+
+            if (entry.next == null) {
+                handleEntryMap.remove(entry.handle);
+                handles.add(entry.handle);
+                continue;
+            }
+
+            for (; entry != null; entry = entry.next) {
+                drainBuffer.add(entry);
+            }
+            drainBuffer.sort(ENTRY_COMPARATOR);
+            for (WheelEntry drained : drainBuffer) {
+                handleEntryMap.remove(drained.handle);
+                handles.add(drained.handle);
+            }
+            drainBuffer.clear();
+        }
+    }
+
+    private void rebase(long key) {
+        clearWheel();
+        cursor = key;
+        for (WheelEntry entry : handleEntryMap.values()) {
+            place(entry);
+        }
+    }
+
+    private void clearWheel() {
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            Arrays.fill(buckets[level], null);
+            occupied[level] = 0;
+        }
+    }
+
+    private static long highMask(int level) {
+        int shift = (level + 1) * BITS_PER_LEVEL;
+        return shift >= Long.SIZE ? 0 : -1L << shift;
+    }
+
+    // flip the sign bit so that unsigned key order is the same as signed time order
+    private static long toKey(long time) {
+        return time ^ Long.MIN_VALUE;
+    }
+
+    private static final class WheelEntry {
+        private final ScheduleHandle handle;
+        private final long slot;
+        private final long triggerTime;
+        private int level;
+        private int bucket;
+        private WheelEntry prev;
+        private WheelEntry next;
+
+        WheelEntry(ScheduleHandle handle, long slot, long triggerTime) {
+            this.handle = handle;
+            this.slot = slot;
+            this.triggerTime = triggerTime;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulingServiceTimingWheelImpl.class);
+}
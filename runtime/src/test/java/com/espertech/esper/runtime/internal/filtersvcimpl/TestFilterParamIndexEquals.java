@@ -113,7 +113,7 @@ public class TestFilterParamIndexEquals extends TestCase {
     }
 
     private FilterParamIndexEquals makeOne(String property, EventType testEventType) {
-        return new FilterParamIndexEquals(makeLookupable(property), new ReentrantReadWriteLock());
+        return new FilterParamIndexEquals(makeLookupable(property), new ReentrantReadWriteLock(), false);
     }
 
     private ExprFilterSpecLookupable makeLookupable(String fieldName) {
@@ -0,0 +1,191 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.type.EPTypeClass;
+import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
+import com.espertech.esper.common.internal.filterspec.FilterOperator;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.runtime.internal.support.SupportEventBeanFactory;
+import com.espertech.esper.runtime.internal.support.SupportExprEventEvaluator;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class TestFilterParamIndexEqualsNumeric extends TestCase {
+    private SupportEventEvaluator testEvaluator;
+    private SupportBean testBean;
+    private EventBean testEventBean;
+    private EventType testEventType;
+    private List<FilterHandle> matchesList;
+
+    public void setUp() {
+        testEvaluator = new SupportEventEvaluator();
+        testBean = new SupportBean();
+        testEventBean = SupportEventBeanFactory.createObject(testBean);
+        testEventType = testEventBean.getEventType();
+        matchesList = new LinkedList<FilterHandle>();
+    }
+
+    public void testInt() {
+        FilterParamIndexEqualsNumeric index = makeOne("intPrimitive", Integer.class);
+
+        index.put(1, testEvaluator);
+        index.put(-20, testEvaluator);
+        index.put(Integer.MIN_VALUE, testEvaluator);
+
+        verifyIntPrimitive(index, 10, 0);
+        verifyIntPrimitive(index, 1, 1);
+        verifyIntPrimitive(index, -20, 1);
+        verifyIntPrimitive(index, Integer.MIN_VALUE, 1);
+        assertEquals(3, index.sizeExpensive());
+
+        assertEquals(testEvaluator, index.get(1));
+        index.remove(1);
+        index.remove(1);
+        assertNull(index.get(1));
+        verifyIntPrimitive(index, 1, 0);
+        assertFalse(index.isEmpty());
+    }
+
+    public void testShortBoxed() {
+        FilterParamIndexEqualsNumeric index = makeOne("shortBoxed", Short.class);
+
+        index.put((short) 1, testEvaluator);
+        index.put(null, testEvaluator);
+
+        verifyShortBoxed(index, (short) 1, 1);
+        verifyShortBoxed(index, (short) 2, 0);
+        verifyShortBoxed(index, null, 0);
+        assertEquals(testEvaluator, index.get(null));
+        assertEquals(2, index.sizeExpensive());
+    }
+
+    public void testDouble() {
+        FilterParamIndexEqualsNumeric index = makeOne("doublePrimitive", Double.class);
+
+        index.put(1.5d, testEvaluator);
+        index.put(0d, testEvaluator);
+        index.put(Double.NaN, testEvaluator);
+
+        verifyDoublePrimitive(index, 1.5d, 1);
+        verifyDoublePrimitive(index, 1.6d, 0);
+        verifyDoublePrimitive(index, 0d, 1);
+        // same as Double#equals
+        verifyDoublePrimitive(index, -0d, 0);
+        verifyDoublePrimitive(index, Double.NaN, 1);
+    }
+
+    public void testConstantOtherType() {
+        FilterParamIndexEqualsNumeric index = makeOne("intPrimitive", Integer.class);
+
+        // same as a HashMap, a Long constant does not equal an Integer value
+        index.put(5L, testEvaluator);
+        verifyIntPrimitive(index, 5, 0);
+        assertEquals(testEvaluator, index.get(5L));
+        assertNull(index.get(5));
+
+        index.remove(5L);
+        assertTrue(index.isEmpty());
+    }
+
+    public void testIndexFactory() {
+        FilterServiceGranularLockFactory lockFactory = new FilterServiceGranularLockFactoryReentrant();
+        assertTrue(IndexFactory.createIndex(makeLookupable("intPrimitive"), lockFactory, FilterOperator.EQUAL) instanceof FilterParamIndexEqualsNumeric);
+        assertTrue(IndexFactory.createIndex(makeLookupable("longBoxed"), lockFactory, FilterOperator.EQUAL) instanceof FilterParamIndexEqualsNumeric);
+        assertTrue(IndexFactory.createIndex(makeLookupable("theString"), lockFactory, FilterOperator.EQUAL) instanceof FilterParamIndexEquals);
+        assertTrue(IndexFactory.createIndex(makeLookupable("bigDecimal"), lockFactory, FilterOperator.EQUAL) instanceof FilterParamIndexEquals);
+        assertTrue(IndexFactory.createIndex(makeLookupable("intPrimitive"), FilterServiceGranularLockFactoryLockFree.INSTANCE, FilterOperator.EQUAL) instanceof FilterParamIndexEquals);
+    }
+
+    public void testPerformanceCompare() {
+        int numFilters = 100000;
+        int numEvents = 1000000;
+
+        FilterParamIndexEquals boxed = new FilterParamIndexEquals(makeLookupable("intPrimitive"), new ReentrantReadWriteLock(), false);
+        FilterParamIndexEqualsNumeric primitive = makeOne("intPrimitive", Integer.class);
+        for (int i = 0; i < numFilters; i++) {
+            boxed.put(i * 7, testEvaluator);
+            primitive.put(i * 7, testEvaluator);
+        }
+        long deltaBoxed = runPerformance(boxed, numEvents, numFilters);
+        long deltaPrimitive = runPerformance(primitive, numEvents, numFilters);
+
+        // end-to-end through the event type index
+        FilterServiceLockCoarse service = new FilterServiceLockCoarse(-1);
+        for (int i = 0; i < numFilters; i++) {
+            FilterValueSetParam[][] params = SupportFilterSpecBuilder.build(testEventType, new Object[]{"intPrimitive", FilterOperator.EQUAL, i * 7}).getValueSet(null, null, null, null);
+            service.add(testEventType, params, new SupportFilterHandle());
+        }
+        List<FilterHandle> matches = new ArrayList<>();
+        int numMatches = 0;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < numEvents; i++) {
+            testBean.setIntPrimitive(i);
+            service.evaluate(testEventBean, matches, null);
+            numMatches += matches.size();
+            matches.clear();
+        }
+        long deltaService = System.currentTimeMillis() - start;
+        assertEquals(numFilters, numMatches);
+
+        log.info(".testPerformanceCompare boxed delta=" + deltaBoxed + " primitive delta=" + deltaPrimitive + " service delta=" + deltaService);
+    }
+
+    private long runPerformance(FilterParamIndexBase index, int numEvents, int numExpected) {
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < numEvents; i++) {
+            testBean.setIntPrimitive(i);
+            index.matchEvent(testEventBean, matchesList, null);
+        }
+        long delta = System.currentTimeMillis() - start;
+        assertEquals(numExpected, testEvaluator.getAndResetCountInvoked());
+        return delta;
+    }
+
+    private void verifyIntPrimitive(FilterParamIndexBase index, int testValue, int numExpected) {
+        testBean.setIntPrimitive(testValue);
+        index.matchEvent(testEventBean, matchesList, null);
+        assertEquals(numExpected, testEvaluator.getAndResetCountInvoked());
+    }
+
+    private void verifyShortBoxed(FilterParamIndexBase index, Short testValue, int numExpected) {
+        testBean.setShortBoxed(testValue);
+        index.matchEvent(testEventBean, matchesList, null);
+        assertEquals(numExpected, testEvaluator.getAndResetCountInvoked());
+    }
+
+    private void verifyDoublePrimitive(FilterParamIndexBase index, double testValue, int numExpected) {
+        testBean.setDoublePrimitive(testValue);
+        index.matchEvent(testEventBean, matchesList, null);
+        assertEquals(numExpected, testEvaluator.getAndResetCountInvoked());
+    }
+
+    private FilterParamIndexEqualsNumeric makeOne(String property, Class keyType) {
+        return new FilterParamIndexEqualsNumeric(makeLookupable(property), new ReentrantReadWriteLock(), keyType);
+    }
+
+    private ExprFilterSpecLookupable makeLookupable(String fieldName) {
+        SupportExprEventEvaluator eval = new SupportExprEventEvaluator(testEventType.getGetter(fieldName));
+        return new ExprFilterSpecLookupable(fieldName, eval, null, (EPTypeClass) testEventType.getPropertyEPType(fieldName), false, null);
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(TestFilterParamIndexEqualsNumeric.class);
+}
@@ -15,6 +15,7 @@ import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.type.EPTypeClass;
 import com.espertech.esper.common.client.util.HashableMultiKey;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
 import com.espertech.esper.common.internal.filterspec.FilterOperator;
 import com.espertech.esper.common.internal.filtersvc.FilterHandle;
@@ -23,8 +24,18 @@ import com.espertech.esper.runtime.internal.support.SupportEventBeanFactory;
 import com.espertech.esper.runtime.internal.support.SupportExprEventEvaluator;
 import junit.framework.TestCase;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class TestFilterParamIndexNotIn extends TestCase {
@@ -47,7 +58,7 @@ public class TestFilterParamIndexNotIn extends TestCase {
     }
 
     public void testIndex() {
-        FilterParamIndexNotIn index = new FilterParamIndexNotIn(makeLookupable("longBoxed"), new ReentrantReadWriteLock());
+        FilterParamIndexNotIn index = new FilterParamIndexNotIn(makeLookupable("longBoxed"), new ReentrantReadWriteLock(), false);
         assertEquals(FilterOperator.NOT_IN_LIST_OF_VALUES, index.getFilterOperator());
 
         index.put(new HashableMultiKey(new Object[]{2L, 5L}), testEvaluators[0]);
@@ -87,6 +98,46 @@ public class TestFilterParamIndexNotIn extends TestCase {
         }
     }
 
+    public void testLockFreeAddRemoveWhileMatching() throws Exception {
+        final FilterParamIndexNotIn index = new FilterParamIndexNotIn(makeLookupable("longBoxed"), new ReentrantReadWriteLock(), true);
+        final CountingEvaluator stable = new CountingEvaluator();
+        index.put(new HashableMultiKey(new Object[]{5L}), stable);
+
+        // evaluators come and go, and get replaced, with values {5, 7}
+        final AtomicBoolean done = new AtomicBoolean();
+        final CountingEvaluator[] churn = new CountingEvaluator[]{new CountingEvaluator(), new CountingEvaluator()};
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> writer = executor.submit(new Runnable() {
+            public void run() {
+                HashableMultiKey keys = new HashableMultiKey(new Object[]{5L, 7L});
+                while (!done.get()) {
+                    index.put(keys, churn[0]);
+                    index.put(keys, churn[1]);
+                    index.remove(keys);
+                }
+            }
+        });
+
+        // the value 5 is not-in for all evaluators and must never match, the value 7 must always match the stable evaluator
+        EventBean eventFive = SupportEventBeanFactory.createObject(makeBean(5L));
+        EventBean eventSeven = SupportEventBeanFactory.createObject(makeBean(7L));
+        List<FilterHandle> matches = new ArrayList<FilterHandle>();
+        try {
+            for (int i = 0; i < 200000; i++) {
+                index.matchEvent(eventFive, matches, null);
+                assertEquals(0, stable.count.get() + churn[0].count.get() + churn[1].count.get());
+
+                index.matchEvent(eventSeven, matches, null);
+                assertEquals(1, stable.count.getAndSet(0));
+                assertEquals(0, churn[0].count.get() + churn[1].count.get());
+            }
+        } finally {
+            done.set(true);
+            writer.get(10, TimeUnit.SECONDS);
+            executor.shutdownNow();
+        }
+    }
+
     private void verify(FilterParamIndexBase index, Long testValue, boolean[] expected) {
         testBean.setLongBoxed(testValue);
         index.matchEvent(testEventBean, matchesList, null);
@@ -99,4 +150,22 @@ public class TestFilterParamIndexNotIn extends TestCase {
         SupportExprEventEvaluator eval = new SupportExprEventEvaluator(testEventType.getGetter(fieldName));
         return new ExprFilterSpecLookupable(fieldName, eval, null, (EPTypeClass) testEventType.getPropertyEPType(fieldName), false, null);
     }
+
+    private static SupportBean makeBean(Long longBoxed) {
+        SupportBean bean = new SupportBean();
+        bean.setLongBoxed(longBoxed);
+        return bean;
+    }
+
+    private static class CountingEvaluator implements EventEvaluator {
+        private final AtomicInteger count = new AtomicInteger();
+
+        public void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
+            count.incrementAndGet();
+        }
+
+        public void getTraverseStatement(EventTypeIndexTraverse traverse, Set<Integer> statementIds, ArrayDeque<FilterItem> evaluatorStack) {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
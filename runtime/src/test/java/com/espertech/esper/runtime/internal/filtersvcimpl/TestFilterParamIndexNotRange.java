@@ -115,7 +115,7 @@ public class TestFilterParamIndexNotRange extends TestCase {
     }
 
     private FilterParamIndexDoubleRangeInverted makeOne(String field, FilterOperator notRangeHalfClosed, EventType testEventType) {
-        return new FilterParamIndexDoubleRangeInverted(makeLookupable(field), new ReentrantReadWriteLock(), notRangeHalfClosed);
+        return new FilterParamIndexDoubleRangeInverted(makeLookupable(field), new ReentrantReadWriteLock(), notRangeHalfClosed, false);
     }
 
     private void verify(FilterParamIndexBase index, Long testValue, boolean[] expected) {
@@ -10,17 +10,23 @@
  */
 package com.espertech.esper.runtime.internal.filtersvcimpl;
 
+import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
 import com.espertech.esper.common.internal.filterspec.FilterOperator;
 import com.espertech.esper.common.internal.filterspec.FilterSpecActivatable;
 import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 import com.espertech.esper.common.internal.filtersvc.FilterService;
 import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.runtime.internal.support.SupportEventBeanFactory;
 import com.espertech.esper.runtime.internal.support.SupportEventTypeFactory;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Test for multithread-safety for manageing statements, i.e. creating and stopping statements
@@ -29,6 +35,81 @@ public class TestFilterServiceMT extends TestCase {
     public void testFilterService() throws Exception {
         runAssertionAddRemoveFilter(new FilterServiceLockCoarse(-1));
         runAssertionAddRemoveFilter(new FilterServiceLockFine(-1));
+        runAssertionAddRemoveFilter(new FilterServiceLockFree(-1));
+    }
+
+    public void testFilterServiceLockFreeEvaluate() throws Exception {
+        final FilterServiceLockFree service = new FilterServiceLockFree(-1);
+        final EventType eventType = SupportEventTypeFactory.createBeanType(SupportBean.class);
+        final EventBean theEvent = SupportEventBeanFactory.createObject(new SupportBean("HELLO", 50));
+
+        // a filter that remains registered must be matched by every evaluation while other filters come and go
+        final SupportFilterHandle stableHandle = new SupportFilterHandle();
+        service.add(eventType, build(eventType, "theString", FilterOperator.EQUAL, "HELLO", "intPrimitive", FilterOperator.RANGE_CLOSED, 0, 100), stableHandle);
+
+        final Object[][] churnFilters = new Object[][]{
+            {"theString", FilterOperator.EQUAL, "HELLO"},
+            {"theString", FilterOperator.EQUAL, "HELLO", "intPrimitive", FilterOperator.GREATER, 10},
+            {"theString", FilterOperator.NOT_EQUAL, "WORLD"},
+            {"intPrimitive", FilterOperator.RANGE_CLOSED, 40, 60},
+            {"intPrimitive", FilterOperator.LESS, 50},
+            {"theString", FilterOperator.EQUAL, "WORLD", "intPrimitive", FilterOperator.RANGE_CLOSED, 0, 100},
+        };
+        final AtomicBoolean done = new AtomicBoolean();
+
+        Callable[] callables = new Callable[5];
+        for (int i = 0; i < 2; i++) {
+            callables[i] = new Callable() {
+                public Object call() throws Exception {
+                    try {
+                        for (int loop = 0; loop < 2000; loop++) {
+                            SupportFilterHandle[] handles = new SupportFilterHandle[churnFilters.length];
+                            FilterValueSetParam[][][] values = new FilterValueSetParam[churnFilters.length][][];
+                            for (int j = 0; j < churnFilters.length; j++) {
+                                handles[j] = new SupportFilterHandle();
+                                values[j] = build(eventType, churnFilters[j]);
+                                service.add(eventType, values[j], handles[j]);
+                            }
+                            for (int j = 0; j < churnFilters.length; j++) {
+                                service.remove(handles[j], eventType, values[j]);
+                            }
+                        }
+                    } finally {
+                        done.set(true);
+                    }
+                    return true;
+                }
+            };
+        }
+        for (int i = 2; i < callables.length; i++) {
+            callables[i] = new Callable() {
+                public Object call() throws Exception {
+                    List<FilterHandle> matches = new ArrayList<>();
+                    while (!done.get()) {
+                        service.evaluate(theEvent, matches, null);
+                        int count = 0;
+                        for (FilterHandle match : matches) {
+                            if (match == stableHandle) {
+                                count++;
+                            }
+                        }
+                        if (count != 1) {
+                            return false;
+                        }
+                        matches.clear();
+                    }
+                    return true;
+                }
+            };
+        }
+
+        Object[] result = tryMT(callables);
+        EPAssertionUtil.assertAllBooleanTrue(result);
+
+        List<FilterHandle> matches = new ArrayList<>();
+        service.evaluate(theEvent, matches, null);
+        assertEquals(1, matches.size());
+        assertSame(stableHandle, matches.get(0));
     }
 
     private void runAssertionAddRemoveFilter(final FilterService service) throws Exception {
@@ -54,6 +135,10 @@ public class TestFilterServiceMT extends TestCase {
         EPAssertionUtil.assertAllBooleanTrue(result);
     }
 
+    private static FilterValueSetParam[][] build(EventType eventType, Object... objects) {
+        return SupportFilterSpecBuilder.build(eventType, objects).getValueSet(null, null, null, null);
+    }
+
     private Object[] tryMT(Callable[] callables) throws Exception {
         ExecutorService threadPool = Executors.newFixedThreadPool(callables.length);
 
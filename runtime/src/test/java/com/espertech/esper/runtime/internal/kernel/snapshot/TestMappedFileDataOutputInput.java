@@ -0,0 +1,92 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.snapshot;
+
+import junit.framework.TestCase;
+
+import java.io.EOFException;
+import java.io.File;
+
+public class TestMappedFileDataOutputInput extends TestCase {
+
+    public void testWriteReadAcrossRegions() throws Exception {
+        File file = File.createTempFile("esper-snapshot", ".bin");
+        try {
+            // a small region size so that values straddle region boundaries
+            int regionSize = 13;
+            byte[] bytes = new byte[100];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) i;
+            }
+            try (MappedFileDataOutput output = new MappedFileDataOutput(file, regionSize)) {
+                for (int i = 0; i < 50; i++) {
+                    output.writeInt(i);
+                    output.writeLong(Long.MAX_VALUE - i);
+                    output.writeShort(-i);
+                    output.writeChar('a' + i);
+                    output.writeDouble(i * 1.5d);
+                    output.writeFloat(i * 2.5f);
+                    output.writeBoolean(i % 2 == 0);
+                    output.writeByte(-i);
+                    output.writeUTF("value-" + i);
+                }
+                output.write(bytes);
+                assertEquals(50 * (4 + 8 + 2 + 2 + 8 + 4 + 1 + 1) + 50 * 2 + 50 * 7 + 40 * 1 + 100, output.getPosition());
+            }
+            assertEquals(50 * (4 + 8 + 2 + 2 + 8 + 4 + 1 + 1) + 50 * 2 + 50 * 7 + 40 * 1 + 100, file.length());
+
+            try (MappedFileDataInput input = new MappedFileDataInput(file, regionSize)) {
+                for (int i = 0; i < 50; i++) {
+                    assertEquals(i, input.readInt());
+                    assertEquals(Long.MAX_VALUE - i, input.readLong());
+                    assertEquals((short) -i, input.readShort());
+                    assertEquals((char) ('a' + i), input.readChar());
+                    assertEquals(i * 1.5d, input.readDouble());
+                    assertEquals(i * 2.5f, input.readFloat());
+                    assertEquals(i % 2 == 0, input.readBoolean());
+                    assertEquals((byte) -i, input.readByte());
+                    assertEquals("value-" + i, input.readUTF());
+                }
+                byte[] read = new byte[bytes.length];
+                input.readFully(read);
+                for (int i = 0; i < bytes.length; i++) {
+                    assertEquals(bytes[i], read[i]);
+                }
+                try {
+                    input.readByte();
+                    fail();
+                } catch (EOFException ex) {
+                    // expected
+                }
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    public void testEmpty() throws Exception {
+        File file = File.createTempFile("esper-snapshot", ".bin");
+        try {
+            new MappedFileDataOutput(file).close();
+            assertEquals(0, file.length());
+            try (MappedFileDataInput input = new MappedFileDataInput(file)) {
+                try {
+                    input.readInt();
+                    fail();
+                } catch (EOFException ex) {
+                    // expected
+                }
+            }
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.metric.InboundLaneMetric;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TestInboundLane extends TestCase {
+
+    public void testOfferPoll() {
+        assertEquals(1, new InboundLane(0, 1).getCapacity());
+        assertEquals(8, new InboundLane(0, 5).getCapacity());
+        assertEquals(8, new InboundLane(0, 8).getCapacity());
+
+        InboundLane lane = new InboundLane(0, 4);
+        assertTrue(lane.isEmpty());
+        assertNull(lane.poll());
+
+        List<Runnable> units = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Runnable unit = () -> { };
+            units.add(unit);
+            assertTrue(lane.offer(unit));
+        }
+        assertFalse(lane.offer(() -> { }));
+        assertEquals(4, lane.getQueueDepth());
+
+        assertSame(units.get(0), lane.poll());
+        assertTrue(lane.offer(units.get(0)));
+        for (int i = 1; i < 4; i++) {
+            assertSame(units.get(i), lane.poll());
+        }
+        assertSame(units.get(0), lane.poll());
+        assertNull(lane.poll());
+        assertTrue(lane.isEmpty());
+
+        InboundLaneMetric metric = lane.getMetric("uri");
+        assertEquals(5, metric.getProcessedCount());
+        assertEquals(0, metric.getQueueDepth());
+        assertEquals(4, metric.getCapacity());
+    }
+
+    public void testMultiProducerOrder() throws Exception {
+        final int numProducers = 4;
+        final int numUnits = 20000;
+        final int[] lastSeen = new int[numProducers];
+        final boolean[] outOfOrder = new boolean[1];
+        final CountDownLatch done = new CountDownLatch(numProducers * numUnits);
+
+        // small capacity so that producers frequently wait for the lane thread
+        InboundLane lane = new InboundLane(0, 16);
+        Thread laneThread = new Thread(lane);
+        lane.setThread(laneThread);
+        laneThread.start();
+
+        Thread[] producers = new Thread[numProducers];
+        for (int p = 0; p < numProducers; p++) {
+            final int producer = p;
+            producers[p] = new Thread(() -> {
+                for (int i = 1; i <= numUnits; i++) {
+                    final int seq = i;
+                    try {
+                        lane.put(() -> {
+                            if (lastSeen[producer] != seq - 1) {
+                                outOfOrder[0] = true;
+                            }
+                            lastSeen[producer] = seq;
+                            done.countDown();
+                        });
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+            producers[p].start();
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        lane.stop();
+        laneThread.join(10000);
+        assertFalse(laneThread.isAlive());
+
+        assertFalse(outOfOrder[0]);
+        for (int p = 0; p < numProducers; p++) {
+            assertEquals(numUnits, lastSeen[p]);
+        }
+        assertEquals(numProducers * numUnits, lane.getMetric("uri").getProcessedCount());
+    }
+}
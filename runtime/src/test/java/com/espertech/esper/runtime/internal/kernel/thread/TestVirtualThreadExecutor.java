@@ -0,0 +1,77 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import junit.framework.TestCase;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestVirtualThreadExecutor extends TestCase {
+
+    public void testBoundedConcurrency() throws Exception {
+        final int maxConcurrency = 10;
+        final int numUnits = 200;
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(numUnits);
+
+        VirtualThreadExecutor executor = new VirtualThreadExecutor("uri", "Test", maxConcurrency);
+        for (int i = 0; i < numUnits; i++) {
+            executor.submit(() -> {
+                int now = active.incrementAndGet();
+                maxActive.accumulateAndGet(now, Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                active.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(maxActive.get() <= maxConcurrency);
+        assertTrue(maxActive.get() > 1);
+
+        executor.shutdown();
+        assertEquals(0, executor.getActiveCount());
+
+        // units submitted after shutdown are not executed
+        final AtomicInteger count = new AtomicInteger();
+        executor.submit(count::incrementAndGet);
+        Thread.sleep(10);
+        assertEquals(0, count.get());
+        assertEquals(0, executor.getActiveCount());
+    }
+
+    public void testExceptionReleasesPermit() throws Exception {
+        VirtualThreadExecutor executor = new VirtualThreadExecutor(null, "Test", 1);
+        final CountDownLatch done = new CountDownLatch(1);
+        executor.submit(() -> {
+            throw new RuntimeException("Intended for testing");
+        });
+        executor.submit(done::countDown);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    public void testInvalid() {
+        try {
+            new VirtualThreadExecutor("uri", "Test", 0);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+}
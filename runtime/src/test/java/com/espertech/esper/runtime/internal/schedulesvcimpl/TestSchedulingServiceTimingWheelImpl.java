@@ -0,0 +1,231 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.schedulesvcimpl;
+
+import com.espertech.esper.common.internal.schedule.ScheduleHandle;
+import com.espertech.esper.common.internal.schedule.TimeSourceService;
+import com.espertech.esper.runtime.internal.timer.TimeSourceServiceImpl;
+import junit.framework.TestCase;
+
+import java.time.ZoneId;
+import java.util.*;
+
+public class TestSchedulingServiceTimingWheelImpl extends TestCase {
+    private SchedulingServiceTimingWheelImpl service;
+
+    public void setUp() {
+        service = new SchedulingServiceTimingWheelImpl(-1, new TimeSourceServiceImpl(), ZoneId.systemDefault());
+    }
+
+    public void testTriggerOrderBySlot() {
+        SupportHandle[] handles = makeHandles(4);
+        service.setTime(0);
+
+        service.add(20, handles[3], 3);
+        service.add(20, handles[2], 2);
+        service.add(20, handles[1], 1);
+        service.add(21, handles[0], 0);
+        assertEquals(20L, (long) service.getNearestTimeHandle());
+        assertEquals(21L, (long) service.getFurthestTimeHandle());
+        assertEquals(2, service.getTimeHandleCount());
+        assertEquals(4, service.getScheduleHandleCount());
+
+        service.setTime(19);
+        assertEvaluate(service);
+
+        service.setTime(20);
+        assertEvaluate(service, handles[1], handles[2], handles[3]);
+        assertFalse(service.isScheduled(handles[3]));
+        assertTrue(service.isScheduled(handles[0]));
+
+        service.setTime(21);
+        assertEvaluate(service, handles[0]);
+        assertNull(service.getNearestTimeHandle());
+
+        // re-adding moves the handle
+        service.add(10, handles[0], 0);
+        service.add(5, handles[0], 0);
+        service.add(3, handles[1], 1);
+        service.remove(handles[1], 1);
+        service.remove(handles[1], 1);
+        assertEquals(1, service.getScheduleHandleCount());
+
+        service.setTime(21 + (long) Integer.MAX_VALUE);
+        assertEvaluate(service, handles[0]);
+    }
+
+    public void testLargeJumps() {
+        SupportHandle[] handles = makeHandles(5);
+        service.setTime(1000);
+
+        service.add(1L << 40, handles[0], 0);
+        service.add(63, handles[1], 1);
+        service.add(64, handles[2], 2);
+        service.add(4096, handles[3], 3);
+        service.add(0, handles[4], 4);
+
+        service.setTime(1000);
+        assertEvaluate(service, handles[4]);
+
+        service.setTime(1000 + 64);
+        assertEvaluate(service, handles[1], handles[2]);
+
+        service.setTime(1000 + 4095);
+        assertEvaluate(service);
+
+        service.setTime(1000 + (1L << 40) + 1);
+        assertEvaluate(service, handles[3], handles[0]);
+        assertEquals(0, service.getScheduleHandleCount());
+    }
+
+    public void testTimeMovesBackward() {
+        SupportHandle[] handles = makeHandles(2);
+        service.setTime(10000);
+        service.add(100, handles[0], 0);
+
+        service.setTime(50);
+        service.add(100, handles[1], 1);
+        assertEquals(150L, (long) service.getNearestTimeHandle());
+
+        service.setTime(150);
+        assertEvaluate(service, handles[1]);
+
+        service.setTime(10100);
+        assertEvaluate(service, handles[0]);
+    }
+
+    public void testTransfer() {
+        SupportHandle[] handles = makeHandles(3);
+        handles[1].statementId = 2;
+        service.setTime(1000);
+        service.add(100, handles[0], 0);
+        service.add(200, handles[1], 1);
+        service.add(300, handles[2], 2);
+
+        SchedulingServiceImpl target = new SchedulingServiceImpl(1, new SupportTimeSource(500), ZoneId.systemDefault());
+        service.transfer(Collections.singleton(2), target);
+
+        assertFalse(service.isScheduled(handles[1]));
+        assertTrue(target.isScheduled(handles[1]));
+        assertEquals(1200L, (long) target.getNearestTimeHandle());
+        assertEquals(2, service.getScheduleHandleCount());
+    }
+
+    public void testVisit() {
+        SupportHandle[] handles = makeHandles(3);
+        service.setTime(0);
+        service.add(5000, handles[0], 0);
+        service.add(10, handles[1], 1);
+        service.add(10, handles[2], 2);
+
+        final List<Long> timestamps = new ArrayList<>();
+        service.visitSchedules(new ScheduleVisitor() {
+            public void visit(ScheduleVisit visit) {
+                timestamps.add(visit.getTimestamp());
+            }
+        });
+        assertEquals(Arrays.asList(10L, 10L, 5000L), timestamps);
+    }
+
+    public void testCompareSortedMap() {
+        Random random = new Random(1000);
+        long start = 1600000000000L;
+        SchedulingServiceImpl expected = new SchedulingServiceImpl(-1, new SupportTimeSource(start), ZoneId.systemDefault());
+        SchedulingServiceTimingWheelImpl actual = new SchedulingServiceTimingWheelImpl(-1, new SupportTimeSource(start), ZoneId.systemDefault());
+        SupportHandle[] handles = makeHandles(500);
+
+        long time = start;
+        for (int i = 0; i < 20000; i++) {
+            int op = random.nextInt(10);
+            if (op < 5) {
+                int index = random.nextInt(handles.length);
+                long after = randomDelta(random);
+                expected.add(after, handles[index], index);
+                actual.add(after, handles[index], index);
+            } else if (op < 7) {
+                int index = random.nextInt(handles.length);
+                expected.remove(handles[index], index);
+                actual.remove(handles[index], index);
+            } else {
+                time += randomDelta(random);
+                expected.setTime(time);
+                actual.setTime(time);
+                List<ScheduleHandle> expectedHandles = new ArrayList<>();
+                List<ScheduleHandle> actualHandles = new ArrayList<>();
+                expected.evaluate(expectedHandles);
+                actual.evaluate(actualHandles);
+                assertEquals(expectedHandles, actualHandles);
+            }
+            assertEquals(expected.getScheduleHandleCount(), actual.getScheduleHandleCount());
+            assertEquals(expected.getNearestTimeHandle(), actual.getNearestTimeHandle());
+        }
+    }
+
+    private static long randomDelta(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return random.nextInt(3);
+            case 1:
+                return random.nextInt(100);
+            case 2:
+                return random.nextInt(100000);
+            default:
+                return (long) random.nextInt(Integer.MAX_VALUE) * random.nextInt(100);
+        }
+    }
+
+    private static void assertEvaluate(SchedulingServiceSPI service, ScheduleHandle... expected) {
+        List<ScheduleHandle> handles = new ArrayList<>();
+        service.evaluate(handles);
+        assertEquals(Arrays.asList(expected), handles);
+    }
+
+    private static SupportHandle[] makeHandles(int count) {
+        SupportHandle[] handles = new SupportHandle[count];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = new SupportHandle(i);
+        }
+        return handles;
+    }
+
+    private static class SupportHandle implements ScheduleHandle {
+        private final int id;
+        private int statementId = 1;
+
+        SupportHandle(int id) {
+            this.id = id;
+        }
+
+        public int getStatementId() {
+            return statementId;
+        }
+
+        public int getAgentInstanceId() {
+            return 0;
+        }
+
+        public String toString() {
+            return "SupportHandle{id=" + id + "}";
+        }
+    }
+
+    private static class SupportTimeSource implements TimeSourceService {
+        private final long time;
+
+        SupportTimeSource(long time) {
+            this.time = time;
+        }
+
+        public long getTimeMillis() {
+            return time;
+        }
+    }
+}